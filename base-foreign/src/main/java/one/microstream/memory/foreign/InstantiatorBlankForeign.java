@@ -0,0 +1,109 @@
+package one.microstream.memory.foreign;
+
+/*-
+ * #%L
+ * microstream-base-foreign
+ * %%
+ * Copyright (C) 2019 - 2022 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ * 
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ * 
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+import java.lang.reflect.Constructor;
+
+import one.microstream.exceptions.InstantiationRuntimeException;
+import one.microstream.exceptions.NoSuchMethodRuntimeException;
+import one.microstream.functional.DefaultInstantiator;
+import sun.reflect.ReflectionFactory;
+
+
+/**
+ * {@link DefaultInstantiator} that creates instances without executing any of their class' constructor logic,
+ * like deserialization does, without requiring {@code sun.misc.Unsafe}.
+ * <p>
+ * The constructors are created via {@link ReflectionFactory#newConstructorForSerialization(Class, Constructor)}
+ * and cached per class.
+ */
+public final class InstantiatorBlankForeign implements DefaultInstantiator
+{
+	///////////////////////////////////////////////////////////////////////////
+	// static methods //
+	///////////////////
+	
+	public static final InstantiatorBlankForeign New()
+	{
+		return new InstantiatorBlankForeign();
+	}
+	
+	
+	
+	///////////////////////////////////////////////////////////////////////////
+	// instance fields //
+	////////////////////
+	
+	private final ClassValue<Constructor<?>> constructors = new ClassValue<>()
+	{
+		@Override
+		protected Constructor<?> computeValue(final Class<?> type)
+		{
+			try
+			{
+				return ReflectionFactory.getReflectionFactory().newConstructorForSerialization(
+					type,
+					Object.class.getDeclaredConstructor()
+				);
+			}
+			catch(final NoSuchMethodException e)
+			{
+				// can never happen
+				throw new NoSuchMethodRuntimeException(e);
+			}
+		}
+	};
+	
+	
+	
+	///////////////////////////////////////////////////////////////////////////
+	// constructors //
+	/////////////////
+	
+	InstantiatorBlankForeign()
+	{
+		super();
+	}
+	
+	
+	
+	///////////////////////////////////////////////////////////////////////////
+	// methods //
+	////////////
+	
+	@Override
+	public final <T> T instantiate(final Class<T> type) throws InstantiationRuntimeException
+	{
+		try
+		{
+			return type.cast(this.constructors.get(type).newInstance());
+		}
+		catch(final InstantiationException e)
+		{
+			throw new InstantiationRuntimeException(e);
+		}
+		catch(final ReflectiveOperationException e)
+		{
+			throw new RuntimeException(e);
+		}
+	}
+		
+}
@@ -0,0 +1,1093 @@
+package one.microstream.memory.foreign;
+
+/*-
+ * #%L
+ * microstream-base-foreign
+ * %%
+ * Copyright (C) 2019 - 2022 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ * 
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ * 
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+import static java.lang.foreign.ValueLayout.ADDRESS;
+import static java.lang.foreign.ValueLayout.JAVA_BOOLEAN;
+import static java.lang.foreign.ValueLayout.JAVA_BYTE;
+import static java.lang.foreign.ValueLayout.JAVA_CHAR_UNALIGNED;
+import static java.lang.foreign.ValueLayout.JAVA_DOUBLE_UNALIGNED;
+import static java.lang.foreign.ValueLayout.JAVA_FLOAT_UNALIGNED;
+import static java.lang.foreign.ValueLayout.JAVA_INT_UNALIGNED;
+import static java.lang.foreign.ValueLayout.JAVA_LONG;
+import static java.lang.foreign.ValueLayout.JAVA_LONG_UNALIGNED;
+import static java.lang.foreign.ValueLayout.JAVA_SHORT_UNALIGNED;
+import static one.microstream.X.notNull;
+
+import java.lang.foreign.FunctionDescriptor;
+import java.lang.foreign.Linker;
+import java.lang.foreign.MemorySegment;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.invoke.VarHandle;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryUsage;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+import one.microstream.collections.HashTable;
+import one.microstream.exceptions.InstantiationRuntimeException;
+import one.microstream.exceptions.MemoryException;
+import one.microstream.functional.DefaultInstantiator;
+import one.microstream.memory.DirectBufferDeallocator;
+import one.microstream.memory.MemoryAccessor;
+import one.microstream.memory.MemoryStatistics;
+import one.microstream.reflect.XReflect;
+import one.microstream.typing.XTypes;
+
+
+/**
+ * {@link MemoryAccessor} implementation based on the Foreign Function and Memory API instead of
+ * {@code sun.misc.Unsafe}.
+ * <p>
+ * Native memory is accessed via a {@link MemorySegment} spanning the whole address space, so addresses are plain
+ * native addresses, just like for the JDK internals based implementation. Memory is allocated with the platform's
+ * {@code malloc}, {@code realloc} and {@code free}, since single allocations have to be freed and reallocated
+ * individually, which an {@link java.lang.foreign.Arena} does not provide.
+ * <p>
+ * The "offset" of an object field is the index of the field's access handles, see
+ * {@link #objectFieldOffset(Field)}. Accessing a field requires its declaring class to be accessible
+ * via reflection, i.e. packages of named modules must be opened to this module.
+ * <p>
+ * The restricted methods of the Foreign Function and Memory API require native access to be enabled for this module,
+ * e.g. {@code --enable-native-access=microstream.base.foreign} or {@code --enable-native-access=ALL-UNNAMED} on the
+ * class path. Otherwise, the JVM issues a warning.
+ * <p>
+ * Requires Java 22 or later, since the Foreign Function and Memory API is only a preview API before.
+ * Accordingly, this module is only built by the {@code from_java_22} profile.
+ */
+public final class MemoryAccessorForeign implements MemoryAccessor
+{
+	///////////////////////////////////////////////////////////////////////////
+	// constants //
+	//////////////
+	
+	// the whole address space. Accessing it with an address is the equivalent of Unsafe's address-based access.
+	static final MemorySegment MEMORY = MemorySegment.NULL.reinterpret(Long.MAX_VALUE);
+	
+	// size_t is assumed to be 64 bit, like the long addresses of the whole memory accessing logic.
+	static final MethodHandle
+		MALLOC  = downcallHandle("malloc" , FunctionDescriptor.of(ADDRESS, JAVA_LONG)         ),
+		REALLOC = downcallHandle("realloc", FunctionDescriptor.of(ADDRESS, ADDRESS, JAVA_LONG)),
+		FREE    = downcallHandle("free"   , FunctionDescriptor.ofVoid(ADDRESS)                )
+	;
+	
+	static final VarHandle
+		BYTES_SHORT  = MethodHandles.byteArrayViewVarHandle(short[] .class, ByteOrder.nativeOrder()),
+		BYTES_CHAR   = MethodHandles.byteArrayViewVarHandle(char[]  .class, ByteOrder.nativeOrder()),
+		BYTES_INT    = MethodHandles.byteArrayViewVarHandle(int[]   .class, ByteOrder.nativeOrder()),
+		BYTES_FLOAT  = MethodHandles.byteArrayViewVarHandle(float[] .class, ByteOrder.nativeOrder()),
+		BYTES_LONG   = MethodHandles.byteArrayViewVarHandle(long[]  .class, ByteOrder.nativeOrder()),
+		BYTES_DOUBLE = MethodHandles.byteArrayViewVarHandle(double[].class, ByteOrder.nativeOrder())
+	;
+	
+	private static MethodHandle downcallHandle(final String name, final FunctionDescriptor descriptor)
+	{
+		final Linker linker = Linker.nativeLinker();
+		
+		return linker.downcallHandle(
+			linker.defaultLookup().find(name).orElseThrow(
+				() -> new MemoryException("Native function not found: " + name)
+			),
+			descriptor
+		);
+	}
+	
+	
+	
+	///////////////////////////////////////////////////////////////////////////
+	// static methods //
+	///////////////////
+	
+	public static MemoryAccessorForeign New()
+	{
+		return New(
+			InstantiatorBlankForeign.New()
+		);
+	}
+	
+	public static MemoryAccessorForeign New(
+		final DefaultInstantiator defaultInstantiator
+	)
+	{
+		return New(
+			notNull(defaultInstantiator),
+			DirectBufferDeallocator.NoOp()
+		);
+	}
+	
+	public static MemoryAccessorForeign New(
+		final DefaultInstantiator     defaultInstantiator    ,
+		final DirectBufferDeallocator directBufferDeallocator
+	)
+	{
+		return new MemoryAccessorForeign(
+			notNull(defaultInstantiator),
+			notNull(directBufferDeallocator)
+		);
+	}
+	
+	
+	
+	///////////////////////////////////////////////////////////////////////////
+	// instance fields //
+	////////////////////
+	
+	private final DefaultInstantiator     defaultInstantiator    ;
+	private final DirectBufferDeallocator directBufferDeallocator;
+	
+	// registration is synchronized, access only reads the current array.
+	private final    HashTable<Field, FieldHandles> fieldHandlesRegistry = HashTable.New();
+	private volatile FieldHandles[]                 fieldHandles         = new FieldHandles[0];
+	
+	
+	
+	///////////////////////////////////////////////////////////////////////////
+	// constructors //
+	/////////////////
+	
+	MemoryAccessorForeign(
+		final DefaultInstantiator     defaultInstantiator    ,
+		final DirectBufferDeallocator directBufferDeallocator
+	)
+	{
+		super();
+		this.defaultInstantiator     = defaultInstantiator    ;
+		this.directBufferDeallocator = directBufferDeallocator;
+	}
+	
+	
+	
+	///////////////////////////////////////////////////////////////////////////
+	// methods //
+	////////////
+	
+	@Override
+	public final void guaranteeUsability()
+	{
+		final long address = this.allocateMemory(Long.BYTES);
+		try
+		{
+			this.set_long(address, Long.MIN_VALUE);
+			if(this.get_long(address) != Long.MIN_VALUE)
+			{
+				throw new MemoryException("Inconsistent native memory access.");
+			}
+		}
+		finally
+		{
+			this.freeMemory(address);
+		}
+	}
+	
+	
+	
+	// direct byte buffer handling //
+	
+	@Override
+	public final long getDirectByteBufferAddress(final ByteBuffer directBuffer)
+	{
+		// the address of the buffer's memory, independent of its position and limit.
+		return MemorySegment.ofBuffer(
+			XTypes.guaranteeDirectByteBuffer(directBuffer).duplicate().clear()
+		).address();
+	}
+
+	@Override
+	public final boolean deallocateDirectByteBuffer(final ByteBuffer directBuffer)
+	{
+		if(directBuffer == null)
+		{
+			return false;
+		}
+		
+		return this.directBufferDeallocator.deallocateDirectBuffer(XTypes.guaranteeDirectByteBuffer(directBuffer));
+	}
+
+	@Override
+	public final boolean isDirectByteBuffer(final ByteBuffer byteBuffer)
+	{
+		return XTypes.isDirectByteBuffer(byteBuffer);
+	}
+
+	@Override
+	public final ByteBuffer guaranteeDirectByteBuffer(final ByteBuffer directBuffer)
+	{
+		return XTypes.guaranteeDirectByteBuffer(directBuffer);
+	}
+	
+	
+	
+	// memory allocation //
+	
+	private static long validateAllocated(final MemorySegment allocated, final long bytes)
+	{
+		if(allocated.address() == 0)
+		{
+			throw new OutOfMemoryError("Unable to allocate " + bytes + " bytes");
+		}
+		
+		return allocated.address();
+	}
+	
+	@Override
+	public final long allocateMemory(final long bytes)
+	{
+		if(bytes == 0)
+		{
+			// consistent with Unsafe: no allocation, null address.
+			return 0;
+		}
+		
+		try
+		{
+			return validateAllocated((MemorySegment)MALLOC.invokeExact(bytes), bytes);
+		}
+		catch(final Throwable t)
+		{
+			throw failure(t);
+		}
+	}
+
+	@Override
+	public final long reallocateMemory(final long address, final long bytes)
+	{
+		if(bytes == 0)
+		{
+			this.freeMemory(address);
+			return 0;
+		}
+		
+		try
+		{
+			return validateAllocated(
+				(MemorySegment)REALLOC.invokeExact(MemorySegment.ofAddress(address), bytes),
+				bytes
+			);
+		}
+		catch(final Throwable t)
+		{
+			throw failure(t);
+		}
+	}
+
+	@Override
+	public final void freeMemory(final long address)
+	{
+		if(address == 0)
+		{
+			return;
+		}
+		
+		try
+		{
+			FREE.invokeExact(MemorySegment.ofAddress(address));
+		}
+		catch(final Throwable t)
+		{
+			throw failure(t);
+		}
+	}
+
+	@Override
+	public final void fillMemory(final long targetAddress, final long length, final byte value)
+	{
+		MEMORY.asSlice(targetAddress, length).fill(value);
+	}
+	
+	private static RuntimeException failure(final Throwable t)
+	{
+		if(t instanceof Error)
+		{
+			throw (Error)t;
+		}
+		if(t instanceof RuntimeException)
+		{
+			return (RuntimeException)t;
+		}
+		
+		return new MemoryException(t);
+	}
+	
+	
+	
+	// address-based getters for primitive values //
+	
+	@Override
+	public final byte get_byte(final long address)
+	{
+		return MEMORY.get(JAVA_BYTE, address);
+	}
+
+	@Override
+	public final boolean get_boolean(final long address)
+	{
+		return MEMORY.get(JAVA_BOOLEAN, address);
+	}
+
+	@Override
+	public final short get_short(final long address)
+	{
+		return MEMORY.get(JAVA_SHORT_UNALIGNED, address);
+	}
+
+	@Override
+	public final char get_char(final long address)
+	{
+		return MEMORY.get(JAVA_CHAR_UNALIGNED, address);
+	}
+
+	@Override
+	public final int get_int(final long address)
+	{
+		return MEMORY.get(JAVA_INT_UNALIGNED, address);
+	}
+
+	@Override
+	public final float get_float(final long address)
+	{
+		return MEMORY.get(JAVA_FLOAT_UNALIGNED, address);
+	}
+
+	@Override
+	public final long get_long(final long address)
+	{
+		return MEMORY.get(JAVA_LONG_UNALIGNED, address);
+	}
+
+	@Override
+	public final double get_double(final long address)
+	{
+		return MEMORY.get(JAVA_DOUBLE_UNALIGNED, address);
+	}
+	
+	
+	
+	// object-based getters for primitive values and references //
+	
+	@Override
+	public final byte get_byte(final Object instance, final long offset)
+	{
+		try
+		{
+			return (byte)this.fieldHandles(offset).getter.invokeExact(instance);
+		}
+		catch(final Throwable t)
+		{
+			throw failure(t);
+		}
+	}
+
+	@Override
+	public final boolean get_boolean(final Object instance, final long offset)
+	{
+		try
+		{
+			return (boolean)this.fieldHandles(offset).getter.invokeExact(instance);
+		}
+		catch(final Throwable t)
+		{
+			throw failure(t);
+		}
+	}
+
+	@Override
+	public final short get_short(final Object instance, final long offset)
+	{
+		try
+		{
+			return (short)this.fieldHandles(offset).getter.invokeExact(instance);
+		}
+		catch(final Throwable t)
+		{
+			throw failure(t);
+		}
+	}
+
+	@Override
+	public final char get_char(final Object instance, final long offset)
+	{
+		try
+		{
+			return (char)this.fieldHandles(offset).getter.invokeExact(instance);
+		}
+		catch(final Throwable t)
+		{
+			throw failure(t);
+		}
+	}
+
+	@Override
+	public final int get_int(final Object instance, final long offset)
+	{
+		try
+		{
+			return (int)this.fieldHandles(offset).getter.invokeExact(instance);
+		}
+		catch(final Throwable t)
+		{
+			throw failure(t);
+		}
+	}
+
+	@Override
+	public final float get_float(final Object instance, final long offset)
+	{
+		try
+		{
+			return (float)this.fieldHandles(offset).getter.invokeExact(instance);
+		}
+		catch(final Throwable t)
+		{
+			throw failure(t);
+		}
+	}
+
+	@Override
+	public final long get_long(final Object instance, final long offset)
+	{
+		try
+		{
+			return (long)this.fieldHandles(offset).getter.invokeExact(instance);
+		}
+		catch(final Throwable t)
+		{
+			throw failure(t);
+		}
+	}
+
+	@Override
+	public final double get_double(final Object instance, final long offset)
+	{
+		try
+		{
+			return (double)this.fieldHandles(offset).getter.invokeExact(instance);
+		}
+		catch(final Throwable t)
+		{
+			throw failure(t);
+		}
+	}
+
+	@Override
+	public final Object getObject(final Object instance, final long offset)
+	{
+		try
+		{
+			return (Object)this.fieldHandles(offset).getter.invokeExact(instance);
+		}
+		catch(final Throwable t)
+		{
+			throw failure(t);
+		}
+	}
+	
+	
+	
+	// address-based setters for primitive values //
+	
+	@Override
+	public final void set_byte(final long address, final byte value)
+	{
+		MEMORY.set(JAVA_BYTE, address, value);
+	}
+
+	@Override
+	public final void set_boolean(final long address, final boolean value)
+	{
+		MEMORY.set(JAVA_BOOLEAN, address, value);
+	}
+
+	@Override
+	public final void set_short(final long address, final short value)
+	{
+		MEMORY.set(JAVA_SHORT_UNALIGNED, address, value);
+	}
+
+	@Override
+	public final void set_char(final long address, final char value)
+	{
+		MEMORY.set(JAVA_CHAR_UNALIGNED, address, value);
+	}
+
+	@Override
+	public final void set_int(final long address, final int value)
+	{
+		MEMORY.set(JAVA_INT_UNALIGNED, address, value);
+	}
+
+	@Override
+	public final void set_float(final long address, final float value)
+	{
+		MEMORY.set(JAVA_FLOAT_UNALIGNED, address, value);
+	}
+
+	@Override
+	public final void set_long(final long address, final long value)
+	{
+		MEMORY.set(JAVA_LONG_UNALIGNED, address, value);
+	}
+
+	@Override
+	public final void set_double(final long address, final double value)
+	{
+		MEMORY.set(JAVA_DOUBLE_UNALIGNED, address, value);
+	}
+	
+	
+	
+	// object-based setters for primitive values and references //
+	
+	@Override
+	public final void set_byte(final Object instance, final long offset, final byte value)
+	{
+		try
+		{
+			this.fieldHandles(offset).setter.invokeExact(instance, value);
+		}
+		catch(final Throwable t)
+		{
+			throw failure(t);
+		}
+	}
+
+	@Override
+	public final void set_boolean(final Object instance, final long offset, final boolean value)
+	{
+		try
+		{
+			this.fieldHandles(offset).setter.invokeExact(instance, value);
+		}
+		catch(final Throwable t)
+		{
+			throw failure(t);
+		}
+	}
+
+	@Override
+	public final void set_short(final Object instance, final long offset, final short value)
+	{
+		try
+		{
+			this.fieldHandles(offset).setter.invokeExact(instance, value);
+		}
+		catch(final Throwable t)
+		{
+			throw failure(t);
+		}
+	}
+
+	@Override
+	public final void set_char(final Object instance, final long offset, final char value)
+	{
+		try
+		{
+			this.fieldHandles(offset).setter.invokeExact(instance, value);
+		}
+		catch(final Throwable t)
+		{
+			throw failure(t);
+		}
+	}
+
+	@Override
+	public final void set_int(final Object instance, final long offset, final int value)
+	{
+		try
+		{
+			this.fieldHandles(offset).setter.invokeExact(instance, value);
+		}
+		catch(final Throwable t)
+		{
+			throw failure(t);
+		}
+	}
+
+	@Override
+	public final void set_float(final Object instance, final long offset, final float value)
+	{
+		try
+		{
+			this.fieldHandles(offset).setter.invokeExact(instance, value);
+		}
+		catch(final Throwable t)
+		{
+			throw failure(t);
+		}
+	}
+
+	@Override
+	public final void set_long(final Object instance, final long offset, final long value)
+	{
+		try
+		{
+			this.fieldHandles(offset).setter.invokeExact(instance, value);
+		}
+		catch(final Throwable t)
+		{
+			throw failure(t);
+		}
+	}
+
+	@Override
+	public final void set_double(final Object instance, final long offset, final double value)
+	{
+		try
+		{
+			this.fieldHandles(offset).setter.invokeExact(instance, value);
+		}
+		catch(final Throwable t)
+		{
+			throw failure(t);
+		}
+	}
+
+	@Override
+	public final void setObject(final Object instance, final long offset, final Object value)
+	{
+		try
+		{
+			this.fieldHandles(offset).setter.invokeExact(instance, value);
+		}
+		catch(final Throwable t)
+		{
+			throw failure(t);
+		}
+	}
+	
+	
+	
+	// transformative byte array primitive value setters //
+	
+	@Override
+	public final void set_byteInBytes(final byte[] bytes, final int index, final byte value)
+	{
+		bytes[index] = value;
+	}
+
+	@Override
+	public final void set_booleanInBytes(final byte[] bytes, final int index, final boolean value)
+	{
+		bytes[index] = value ? (byte)1 : (byte)0;
+	}
+
+	@Override
+	public final void set_shortInBytes(final byte[] bytes, final int index, final short value)
+	{
+		BYTES_SHORT.set(bytes, index, value);
+	}
+
+	@Override
+	public final void set_charInBytes(final byte[] bytes, final int index, final char value)
+	{
+		BYTES_CHAR.set(bytes, index, value);
+	}
+
+	@Override
+	public final void set_intInBytes(final byte[] bytes, final int index, final int value)
+	{
+		BYTES_INT.set(bytes, index, value);
+	}
+
+	@Override
+	public final void set_floatInBytes(final byte[] bytes, final int index, final float value)
+	{
+		BYTES_FLOAT.set(bytes, index, value);
+	}
+
+	@Override
+	public final void set_longInBytes(final byte[] bytes, final int index, final long value)
+	{
+		BYTES_LONG.set(bytes, index, value);
+	}
+
+	@Override
+	public final void set_doubleInBytes(final byte[] bytes, final int index, final double value)
+	{
+		BYTES_DOUBLE.set(bytes, index, value);
+	}
+	
+	
+	
+	// generic variable-length range copying //
+	
+	@Override
+	public final void copyRange(final long sourceAddress, final long targetAddress, final long length)
+	{
+		MemorySegment.copy(MEMORY, sourceAddress, MEMORY, targetAddress, length);
+	}
+	
+	
+	
+	// address-to-array range copying //
+	
+	@Override
+	public final void copyRangeToArray(final long sourceAddress, final byte[] target)
+	{
+		MemorySegment.copy(MEMORY, JAVA_BYTE, sourceAddress, target, 0, target.length);
+	}
+
+	@Override
+	public final void copyRangeToArray(final long sourceAddress, final boolean[] target)
+	{
+		// there is no boolean array support in the Foreign Memory API.
+		for(int i = 0; i < target.length; i++)
+		{
+			target[i] = MEMORY.get(JAVA_BOOLEAN, sourceAddress + i);
+		}
+	}
+
+	@Override
+	public final void copyRangeToArray(final long sourceAddress, final short[] target)
+	{
+		MemorySegment.copy(MEMORY, JAVA_SHORT_UNALIGNED, sourceAddress, target, 0, target.length);
+	}
+
+	@Override
+	public final void copyRangeToArray(final long sourceAddress, final char[] target)
+	{
+		MemorySegment.copy(MEMORY, JAVA_CHAR_UNALIGNED, sourceAddress, target, 0, target.length);
+	}
+
+	@Override
+	public final void copyRangeToArray(final long sourceAddress, final int[] target)
+	{
+		MemorySegment.copy(MEMORY, JAVA_INT_UNALIGNED, sourceAddress, target, 0, target.length);
+	}
+
+	@Override
+	public final void copyRangeToArray(final long sourceAddress, final float[] target)
+	{
+		MemorySegment.copy(MEMORY, JAVA_FLOAT_UNALIGNED, sourceAddress, target, 0, target.length);
+	}
+
+	@Override
+	public final void copyRangeToArray(final long sourceAddress, final long[] target)
+	{
+		MemorySegment.copy(MEMORY, JAVA_LONG_UNALIGNED, sourceAddress, target, 0, target.length);
+	}
+
+	@Override
+	public final void copyRangeToArray(final long sourceAddress, final double[] target)
+	{
+		MemorySegment.copy(MEMORY, JAVA_DOUBLE_UNALIGNED, sourceAddress, target, 0, target.length);
+	}
+	
+	
+	
+	// array-to-address range copying //
+	
+	@Override
+	public final void copyArrayToAddress(final byte[] array, final long targetAddress)
+	{
+		MemorySegment.copy(array, 0, MEMORY, JAVA_BYTE, targetAddress, array.length);
+	}
+
+	@Override
+	public final void copyArrayToAddress(final boolean[] array, final long targetAddress)
+	{
+		// there is no boolean array support in the Foreign Memory API.
+		for(int i = 0; i < array.length; i++)
+		{
+			MEMORY.set(JAVA_BOOLEAN, targetAddress + i, array[i]);
+		}
+	}
+
+	@Override
+	public final void copyArrayToAddress(final short[] array, final long targetAddress)
+	{
+		MemorySegment.copy(array, 0, MEMORY, JAVA_SHORT_UNALIGNED, targetAddress, array.length);
+	}
+
+	@Override
+	public final void copyArrayToAddress(final char[] array, final long targetAddress)
+	{
+		MemorySegment.copy(array, 0, MEMORY, JAVA_CHAR_UNALIGNED, targetAddress, array.length);
+	}
+
+	@Override
+	public final void copyArrayToAddress(final int[] array, final long targetAddress)
+	{
+		MemorySegment.copy(array, 0, MEMORY, JAVA_INT_UNALIGNED, targetAddress, array.length);
+	}
+
+	@Override
+	public final void copyArrayToAddress(final float[] array, final long targetAddress)
+	{
+		MemorySegment.copy(array, 0, MEMORY, JAVA_FLOAT_UNALIGNED, targetAddress, array.length);
+	}
+
+	@Override
+	public final void copyArrayToAddress(final long[] array, final long targetAddress)
+	{
+		MemorySegment.copy(array, 0, MEMORY, JAVA_LONG_UNALIGNED, targetAddress, array.length);
+	}
+
+	@Override
+	public final void copyArrayToAddress(final double[] array, final long targetAddress)
+	{
+		MemorySegment.copy(array, 0, MEMORY, JAVA_DOUBLE_UNALIGNED, targetAddress, array.length);
+	}
+	
+	
+	
+	// field offset abstraction //
+	
+	/**
+	 * Returns the index of the passed {@link Field}'s access handles, registering them if necessary.
+	 * The index is the same for all classes of a class hierarchy, so it is valid for all instances
+	 * of the field's declaring class.
+	 * 
+	 * @param field the {@link Field} whose abstract offset shall be determined.
+	 * 
+	 * @return the passed {@link Field}'s abstract offset.
+	 */
+	@Override
+	public final long objectFieldOffset(final Field field)
+	{
+		if(Modifier.isStatic(field.getModifiers()))
+		{
+			throw new IllegalArgumentException("Not an object field: " + field);
+		}
+		
+		return this.ensureFieldHandles(field).index;
+	}
+
+	@Override
+	public final long[] objectFieldOffsets(final Field... fields)
+	{
+		final long[] offsets = new long[fields.length];
+		for(int i = 0; i < fields.length; i++)
+		{
+			offsets[i] = this.objectFieldOffset(fields[i]);
+		}
+		
+		return offsets;
+	}
+
+	@Override
+	public final long objectFieldOffset(final Class<?> objectClass, final Field field)
+	{
+		return this.objectFieldOffset(field);
+	}
+
+	@Override
+	public final long[] objectFieldOffsets(final Class<?> objectClass, final Field... fields)
+	{
+		return this.objectFieldOffsets(fields);
+	}
+	
+	private synchronized FieldHandles ensureFieldHandles(final Field field)
+	{
+		final FieldHandles registered = this.fieldHandlesRegistry.get(field);
+		if(registered != null)
+		{
+			return registered;
+		}
+		
+		final FieldHandles[] current = this.fieldHandles;
+		final FieldHandles[] updated = new FieldHandles[current.length + 1];
+		System.arraycopy(current, 0, updated, 0, current.length);
+		
+		final FieldHandles fieldHandles = FieldHandles.New(field, current.length);
+		updated[fieldHandles.index] = fieldHandles;
+		this.fieldHandlesRegistry.add(field, fieldHandles);
+		this.fieldHandles = updated;
+		
+		return fieldHandles;
+	}
+	
+	private FieldHandles fieldHandles(final long offset)
+	{
+		final FieldHandles[] fieldHandles = this.fieldHandles;
+		if(offset >= 0 && offset < fieldHandles.length)
+		{
+			return fieldHandles[(int)offset];
+		}
+		
+		throw new MemoryException("Unknown object field offset " + offset + ".");
+	}
+	
+	
+	
+	// special system methods, not really memory-related //
+	
+	@Override
+	public final void ensureClassInitialized(final Class<?> c)
+	{
+		try
+		{
+			Class.forName(c.getName(), true, c.getClassLoader());
+		}
+		catch(final ClassNotFoundException e)
+		{
+			throw new MemoryException(e);
+		}
+	}
+	
+	@Override
+	public final <T> T instantiateBlank(final Class<T> c) throws InstantiationRuntimeException
+	{
+		return this.defaultInstantiator.instantiate(c);
+	}
+	
+	
+	
+	// memory statistics creation //
+	
+	private static MemoryStatistics createMemoryStatistics(final MemoryUsage usage)
+	{
+		return MemoryStatistics.New(
+			usage.getMax()      ,
+			usage.getCommitted(),
+			usage.getUsed()
+		);
+	}
+	
+	@Override
+	public final MemoryStatistics createHeapMemoryStatistics()
+	{
+		return createMemoryStatistics(
+			ManagementFactory.getMemoryMXBean().getHeapMemoryUsage()
+		);
+	}
+	
+	@Override
+	public final MemoryStatistics createNonHeapMemoryStatistics()
+	{
+		return createMemoryStatistics(
+			ManagementFactory.getMemoryMXBean().getNonHeapMemoryUsage()
+		);
+	}
+	
+	
+	
+	/**
+	 * The access handles of an object field, adapted to {@link Object} as the instance type and to {@link Object}
+	 * as the value type for reference fields, so that they can be invoked exactly by the type-specific methods.
+	 * <p>
+	 * Field handles from {@link MethodHandles.Lookup#unreflectSetter(Field)} are used instead of
+	 * {@link VarHandle}s, since the latter are read-only for final fields, but persistence has to set them.
+	 */
+	static final class FieldHandles
+	{
+		///////////////////////////////////////////////////////////////////////////
+		// static methods //
+		///////////////////
+		
+		static FieldHandles New(final Field field, final int index)
+		{
+			final MethodHandles.Lookup lookup    = MethodHandles.lookup();
+			final Class<?>             valueType = field.getType().isPrimitive()
+				? field.getType()
+				: Object.class
+			;
+			
+			try
+			{
+				XReflect.setAccessible(field);
+				return new FieldHandles(
+					index,
+					lookup.unreflectGetter(field).asType(MethodType.methodType(valueType, Object.class)),
+					lookup.unreflectSetter(field).asType(MethodType.methodType(void.class, Object.class, valueType))
+				);
+			}
+			catch(final IllegalAccessException | RuntimeException e)
+			{
+				/*
+				 * Handlers determine the offsets of all fields of a type, even if no instance is ever handled,
+				 * e.g. for JDK types whose packages are not opened. So the failure is deferred to the access.
+				 */
+				return new FieldHandles(
+					index,
+					failing(field, e, valueType),
+					failing(field, e, void.class, valueType)
+				);
+			}
+		}
+		
+		static MemoryException accessFailure(final Field field, final Throwable cause)
+		{
+			return new MemoryException("Inaccessible field " + field, cause);
+		}
+		
+		private static MethodHandle failing(
+			final Field       field     ,
+			final Throwable   cause     ,
+			final Class<?>    returnType,
+			final Class<?>... valueType
+		)
+		{
+			try
+			{
+				final MethodHandle creator = MethodHandles.lookup().findStatic(
+					FieldHandles.class,
+					"accessFailure",
+					MethodType.methodType(MemoryException.class, Field.class, Throwable.class)
+				);
+				final MethodHandle thrower = MethodHandles.collectArguments(
+					MethodHandles.throwException(returnType, MemoryException.class),
+					0,
+					MethodHandles.insertArguments(creator, 0, field, cause)
+				);
+				
+				return MethodHandles.dropArguments(
+					MethodHandles.dropArguments(thrower, 0, valueType),
+					0,
+					Object.class
+				);
+			}
+			catch(final ReflectiveOperationException e)
+			{
+				throw new MemoryException(e);
+			}
+		}
+		
+		
+		
+		///////////////////////////////////////////////////////////////////////////
+		// instance fields //
+		////////////////////
+		
+		final int          index ;
+		final MethodHandle getter;
+		final MethodHandle setter;
+		
+		
+		
+		///////////////////////////////////////////////////////////////////////////
+		// constructors //
+		/////////////////
+		
+		FieldHandles(final int index, final MethodHandle getter, final MethodHandle setter)
+		{
+			super();
+			this.index  = index ;
+			this.getter = getter;
+			this.setter = setter;
+		}
+		
+	}
+
+}
@@ -0,0 +1,87 @@
+package one.microstream.memory.foreign;
+
+/*-
+ * #%L
+ * microstream-base-foreign
+ * %%
+ * Copyright (C) 2019 - 2022 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ * 
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ * 
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+import one.microstream.memory.MemoryAccessor;
+import one.microstream.memory.MemoryAccessorProvider;
+
+
+/**
+ * Provides a {@link MemoryAccessorForeign} to {@link one.microstream.memory.XMemory} if the Foreign Function and
+ * Memory API is usable in the current environment.
+ * <p>
+ * Registered via {@link java.util.ServiceLoader}, so having this module on the class or module path suffices
+ * to replace the default memory accessing logic based on JDK internals, provided that the package
+ * {@code java.util} is opened to this module (see {@link #isJdkAccessible()}).
+ */
+public final class MemoryAccessorProviderForeign implements MemoryAccessorProvider
+{
+	///////////////////////////////////////////////////////////////////////////
+	// constructors //
+	/////////////////
+	
+	public MemoryAccessorProviderForeign()
+	{
+		// public no-arg constructor as required by the ServiceLoader
+		super();
+	}
+	
+	
+	
+	///////////////////////////////////////////////////////////////////////////
+	// methods //
+	////////////
+	
+	/**
+	 * Without JDK internals, fields of JDK types can only be accessed if their packages are opened to this module,
+	 * e.g. {@code --add-opens java.base/java.util=microstream.base.foreign}. Since storage persists some of them
+	 * generically, the default implementation is kept if {@code java.util} is not opened.
+	 * 
+	 * @return whether the JDK types required for persistence are accessible.
+	 */
+	static boolean isJdkAccessible()
+	{
+		return Object.class.getModule().isOpen("java.util", MemoryAccessorProviderForeign.class.getModule());
+	}
+	
+	@Override
+	public final MemoryAccessor provideMemoryAccessor()
+	{
+		if(!isJdkAccessible())
+		{
+			return null;
+		}
+		
+		try
+		{
+			final MemoryAccessorForeign memoryAccessor = MemoryAccessorForeign.New();
+			memoryAccessor.guaranteeUsability();
+			
+			return memoryAccessor;
+		}
+		catch(final RuntimeException | LinkageError e)
+		{
+			// e.g. native access denied or no native linker for the platform
+			return null;
+		}
+	}
+	
+}
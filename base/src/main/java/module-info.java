@@ -50,12 +50,15 @@ module microstream.base
 	exports one.microstream.memory.sun;
 	exports one.microstream.collections.old;
 	exports one.microstream.collections.lazy;
+	exports one.microstream.collections.indexing;
 	exports one.microstream.meta;
 	exports one.microstream.exceptions;
 	exports one.microstream.math;
 	exports one.microstream.util.cql;
 	exports one.microstream.time;
 
+	uses one.microstream.memory.MemoryAccessorProvider;
+
 	requires java.compiler;
 	requires transitive java.management;
 	requires transitive jdk.unsupported;
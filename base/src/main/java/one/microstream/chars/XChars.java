@@ -790,6 +790,26 @@ public final class XChars
 		return s == null || s.isEmpty();
 	}
 
+	/**
+	 * Checks if all characters of the passed {@link String} are in the ISO-8859-1 (Latin-1) range,
+	 * meaning every character can be represented by a single byte.
+	 *
+	 * @param s the {@link String} to be checked.
+	 * @return whether the passed {@link String} consists of Latin-1 characters only.
+	 */
+	public static final boolean isLatin1(final String s)
+	{
+		for(int i = 0; i < s.length(); i++)
+		{
+			if(s.charAt(i) > 0xFF)
+			{
+				return false;
+			}
+		}
+
+		return true;
+	}
+
 	/**
 	 * This method does intentionally not use the pseudo-constructor naming pattern since it does not create
 	 * new instances of {@link String}. Instead, it returns a constant instance of an intrinsic look-up table.
@@ -0,0 +1,4928 @@
+package one.microstream.collections;
+
+/*-
+ * #%L
+ * microstream-base
+ * %%
+ * Copyright (C) 2019 - 2022 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+import static one.microstream.X.notNull;
+import static one.microstream.collections.HashSet_long.tableLength;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.ListIterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.function.IntPredicate;
+import java.util.function.Predicate;
+
+import one.microstream.X;
+import one.microstream.chars.VarString;
+import one.microstream.collections.interfaces.CapacityExtendable;
+import one.microstream.collections.interfaces.HashCollection;
+import one.microstream.collections.old.AbstractBridgeXSet;
+import one.microstream.collections.old.AbstractOldSettingList;
+import one.microstream.collections.types.XEnum;
+import one.microstream.collections.types.XGettingCollection;
+import one.microstream.collections.types.XGettingEnum;
+import one.microstream.collections.types.XGettingMap;
+import one.microstream.collections.types.XGettingSequence;
+import one.microstream.collections.types.XGettingTable;
+import one.microstream.collections.types.XImmutableList;
+import one.microstream.collections.types.XIterable;
+import one.microstream.collections.types.XList;
+import one.microstream.collections.types.XTable;
+import one.microstream.equality.Equalator;
+import one.microstream.exceptions.ArrayCapacityException;
+import one.microstream.exceptions.IndexBoundsException;
+import one.microstream.functional.IndexedAcceptor;
+import one.microstream.hashing.HashEqualator;
+import one.microstream.hashing.XHashing;
+import one.microstream.typing.Composition;
+import one.microstream.typing.KeyValue;
+import one.microstream.typing.XTypes;
+
+
+/**
+ * Collection of key-value-pairs that is ordered and does not allow duplicate keys,
+ * with the same {@link HashEqualator}-based logic as {@link EqHashTable}.
+ * <p>
+ * In contrast to {@link EqHashTable}, this implementation does not create an entry instance per key-value-pair.
+ * Keys, values and the keys' hash values are kept in insertion order in three parallel arrays, accompanied by
+ * an open addressing table of <code>int</code> positions into those arrays. This reduces the memory footprint per
+ * entry considerably, which matters most for huge tables that are kept in memory as a whole.
+ * <p>
+ * Entries passed out by this implementation (e.g. by {@link #lookup(Object)} or {@link #iterator()}) are
+ * snapshots of the key-value-pair at that time, not views on the table's internal state.
+ * <p>
+ * Removing an entry leaves a gap in the arrays that is closed lazily, i.e. before the next index-based operation
+ * or when the arrays would have to grow otherwise. Hence index-based operations right after removals as well as
+ * inserting, prepending and reordering are linear in the table's size.
+ * <p>
+ * The hash density is kept as a configuration value (e.g. for {@link #immure()} and for persisting),
+ * but the position table always keeps its load at 75% at most.
+ * <p>
+ * This implementation is <b>not</b> synchronized and thus should only be used by a
+ * single thread or in a thread-safe manner (i.e. read-only as soon as multiple threads access it).
+ *
+ * @param <K> type of contained keys
+ * @param <V> type of contained values
+ */
+public final class FlatEqHashTable<K, V> implements XTable<K, V>, HashCollection<K>, Composition
+{
+	///////////////////////////////////////////////////////////////////////////
+	// constants //
+	//////////////
+
+	// marks the position of a removed entry's key until the arrays get compacted.
+	private static final Object REMOVED = new Object();
+
+
+
+	///////////////////////////////////////////////////////////////////////////
+	// static methods //
+	///////////////////
+
+	public static final <K, V> FlatEqHashTable<K, V> New()
+	{
+		return new FlatEqHashTable<>(
+			DEFAULT_HASH_LENGTH,
+			DEFAULT_HASH_FACTOR,
+			XHashing.hashEqualityValue()
+		);
+	}
+
+	public static final <K, V> FlatEqHashTable<K, V> NewCustom(
+		final int initialCapacity
+	)
+	{
+		return new FlatEqHashTable<>(
+			initialCapacity,
+			DEFAULT_HASH_FACTOR,
+			XHashing.hashEqualityValue()
+		);
+	}
+
+	public static final <K, V> FlatEqHashTable<K, V> NewCustom(
+		final float hashDensity
+	)
+	{
+		return new FlatEqHashTable<>(
+			DEFAULT_HASH_LENGTH,
+			XHashing.validateHashDensity(hashDensity),
+			XHashing.hashEqualityValue()
+		);
+	}
+
+	public static final <K, V> FlatEqHashTable<K, V> NewCustom(
+		final int   initialCapacity,
+		final float hashDensity
+	)
+	{
+		return new FlatEqHashTable<>(
+			initialCapacity,
+			XHashing.validateHashDensity(hashDensity),
+			XHashing.hashEqualityValue()
+		);
+	}
+
+	public static final <K, V> FlatEqHashTable<K, V> New(
+		final XGettingCollection<? extends KeyValue<? extends K, ? extends V>> entries
+	)
+	{
+		return new FlatEqHashTable<K, V>(
+			X.checkArrayRange(entries.size()),
+			DEFAULT_HASH_FACTOR,
+			XHashing.hashEqualityValue()
+		).internalAddEntries(entries);
+	}
+
+	public static final <K, V> FlatEqHashTable<K, V> NewCustom(
+		final int   initialCapacity,
+		final float hashDensity    ,
+		final XGettingCollection<? extends KeyValue<? extends K, ? extends V>> entries
+	)
+	{
+		return new FlatEqHashTable<K, V>(
+			initialCapacity,
+			XHashing.validateHashDensity(hashDensity),
+			XHashing.hashEqualityValue()
+		).internalAddEntries(entries);
+	}
+
+	public static final <K, V> FlatEqHashTable<K, V> NewSingle(final K key, final V value)
+	{
+		final FlatEqHashTable<K, V> instance = New();
+		instance.add(key, value);
+		return instance;
+	}
+
+	@SafeVarargs
+	public static final <K, V> FlatEqHashTable<K, V> New(
+		final KeyValue<? extends K, ? extends V>... entries
+	)
+	{
+		return new FlatEqHashTable<K, V>(
+			entries.length,
+			DEFAULT_HASH_FACTOR,
+			XHashing.hashEqualityValue()
+		).internalAddEntries(new ArrayView<>(entries));
+	}
+
+	@SafeVarargs
+	public static final <K, V> FlatEqHashTable<K, V> NewCustom(
+		final int                                   initialCapacity,
+		final float                                 hashDensity    ,
+		final KeyValue<? extends K, ? extends V>... entries
+	)
+	{
+		return new FlatEqHashTable<K, V>(
+			initialCapacity,
+			XHashing.validateHashDensity(hashDensity),
+			XHashing.hashEqualityValue()
+		).internalAddEntries(new ArrayView<>(entries));
+	}
+
+	public static final <K, V> FlatEqHashTable<K, V> New(
+		final HashEqualator<? super K> hashEqualator
+	)
+	{
+		return new FlatEqHashTable<>(
+			DEFAULT_HASH_LENGTH,
+			DEFAULT_HASH_FACTOR,
+			notNull(hashEqualator)
+		);
+	}
+
+	public static final <K, V> FlatEqHashTable<K, V> NewCustom(
+		final HashEqualator<? super K> hashEqualator  ,
+		final int                      initialCapacity
+	)
+	{
+		return new FlatEqHashTable<>(
+			initialCapacity,
+			DEFAULT_HASH_FACTOR,
+			notNull(hashEqualator)
+		);
+	}
+
+	public static final <K, V> FlatEqHashTable<K, V> NewCustom(
+		final HashEqualator<? super K> hashEqualator,
+		final float                    hashDensity
+	)
+	{
+		return new FlatEqHashTable<>(
+			DEFAULT_HASH_LENGTH,
+			XHashing.validateHashDensity(hashDensity),
+			notNull(hashEqualator)
+		);
+	}
+
+	public static final <K, V> FlatEqHashTable<K, V> NewCustom(
+		final HashEqualator<? super K> hashEqualator  ,
+		final int                      initialCapacity,
+		final float                    hashDensity
+	)
+	{
+		return new FlatEqHashTable<>(
+			initialCapacity,
+			XHashing.validateHashDensity(hashDensity),
+			notNull(hashEqualator)
+		);
+	}
+
+	public static final <K, V> FlatEqHashTable<K, V> New(
+		final HashEqualator<? super K> hashEqualator,
+		final XGettingCollection<? extends KeyValue<? extends K, ? extends V>> entries
+	)
+	{
+		return new FlatEqHashTable<K, V>(
+			X.checkArrayRange(entries.size()),
+			DEFAULT_HASH_FACTOR,
+			notNull(hashEqualator)
+		).internalAddEntries(entries);
+	}
+
+	public static final <K, V> FlatEqHashTable<K, V> NewCustom(
+		final HashEqualator<? super K> hashEqualator  ,
+		final int                      initialCapacity,
+		final float                    hashDensity    ,
+		final XGettingCollection<? extends KeyValue<? extends K, ? extends V>> entries
+	)
+	{
+		return new FlatEqHashTable<K, V>(
+			initialCapacity,
+			XHashing.validateHashDensity(hashDensity),
+			notNull(hashEqualator)
+		).internalAddEntries(entries);
+	}
+
+	@SafeVarargs
+	public static final <K, V> FlatEqHashTable<K, V> New(
+		final HashEqualator<? super K>              hashEqualator,
+		final KeyValue<? extends K, ? extends V>... entries
+	)
+	{
+		return new FlatEqHashTable<K, V>(
+			entries.length,
+			DEFAULT_HASH_FACTOR,
+			notNull(hashEqualator)
+		).internalAddEntries(new ArrayView<>(entries));
+	}
+
+	@SafeVarargs
+	public static final <K, V> FlatEqHashTable<K, V> NewCustom(
+		final HashEqualator<? super K>              hashEqualator  ,
+		final int                                   initialCapacity,
+		final float                                 hashDensity    ,
+		final KeyValue<? extends K, ? extends V>... entries
+	)
+	{
+		return new FlatEqHashTable<K, V>(
+			initialCapacity,
+			XHashing.validateHashDensity(hashDensity),
+			notNull(hashEqualator)
+		).internalAddEntries(new ArrayView<>(entries));
+	}
+
+	public static final <K, VK, VV> Function<K, FlatEqHashTable<VK, VV>> supplier(final HashEqualator<VK> hashEqualator)
+	{
+		return key -> FlatEqHashTable.New(hashEqualator);
+	}
+
+	public static final <K, VK, VV> Function<K, FlatEqHashTable<VK, VV>> supplier()
+	{
+		return key -> FlatEqHashTable.New();
+	}
+
+
+
+	///////////////////////////////////////////////////////////////////////////
+	// instance fields //
+	////////////////////
+
+	// keys, values and key hash values in insertion order, removed keys are marked until the next compaction.
+	Object[] keyData  ;
+	Object[] valueData;
+	int[]    hashData ;
+	// positions of the contained entries, incremented by 1 to let 0 mark a free slot.
+	int[]    slots    ;
+	// bounds of the used positions, no entry is contained outside of them.
+	int      head     , end;
+
+	int      size     ;
+
+	// hashing
+	final HashEqualator<? super K> hashEqualator;
+	      float                    hashDensity  ;
+
+	// satellite instances
+	final Values values = new Values();
+	final Keys   keys   = new Keys()  ;
+
+
+
+	///////////////////////////////////////////////////////////////////////////
+	// constructors //
+	/////////////////
+
+	private FlatEqHashTable(
+		final int                      initialCapacity,
+		final float                    hashDensity    ,
+		final HashEqualator<? super K> hashEqualator
+	)
+	{
+		super();
+		final int capacity = FlatHashEnum.capacity(initialCapacity);
+		this.keyData       = new Object[capacity];
+		this.valueData     = new Object[capacity];
+		this.hashData      = new int[capacity];
+		this.slots         = new int[tableLength(capacity)];
+		this.hashDensity   = hashDensity;
+		this.hashEqualator = hashEqualator;
+	}
+
+	private FlatEqHashTable(final FlatEqHashTable<K, V> original)
+	{
+		super();
+		this.keyData       = original.keyData.clone();
+		this.valueData     = original.valueData.clone();
+		this.hashData      = original.hashData.clone();
+		this.slots         = original.slots.clone();
+		this.head          = original.head;
+		this.end           = original.end;
+		this.size          = original.size;
+		this.hashDensity   = original.hashDensity;
+		this.hashEqualator = original.hashEqualator;
+	}
+
+
+
+	///////////////////////////////////////////////////////////////////////////
+	// declared methods //
+	/////////////////////
+
+	@SuppressWarnings("unchecked")
+	final K key(final int position)
+	{
+		return (K)this.keyData[position];
+	}
+
+	@SuppressWarnings("unchecked")
+	final V value(final int position)
+	{
+		return (V)this.valueData[position];
+	}
+
+	final KeyValue<K, V> entry(final int position)
+	{
+		return X.KeyValue(this.key(position), this.value(position));
+	}
+
+	/**
+	 * Returns the slot of the passed key or the one's complement of the free slot it would occupy.
+	 */
+	private int lookup(final K key, final int hash)
+	{
+		final int[] hashes = this.hashData;
+		final int[] slots  = this.slots;
+		final int   mask   = slots.length - 1;
+
+		int i = FlatHashEnum.index(hash, mask);
+		for(int p; (p = slots[i]) != 0; i = i + 1 & mask)
+		{
+			if(hashes[p - 1] == hash && this.hashEqualator.equal(this.key(p - 1), key))
+			{
+				return i;
+			}
+		}
+		return ~i;
+	}
+
+	private int position(final K key)
+	{
+		final int slot;
+		return (slot = this.lookup(key, this.hashEqualator.hash(key))) >= 0 ? this.slots[slot] - 1 : -1;
+	}
+
+	/**
+	 * Returns the slot holding the passed position.
+	 */
+	private int slotOf(final int position)
+	{
+		final int[] slots = this.slots;
+		final int   mask  = slots.length - 1;
+
+		int i = FlatHashEnum.index(this.hashData[position], mask);
+		while(slots[i] != position + 1)
+		{
+			i = i + 1 & mask;
+		}
+		return i;
+	}
+
+	private void append(final int hash, final K key, final V value, final int freeSlot)
+	{
+		int slot = freeSlot;
+		if(this.end == this.keyData.length)
+		{
+			this.makeRoom();
+			slot = ~this.lookup(key, hash);
+		}
+		this.keyData[this.end]   = key;
+		this.valueData[this.end] = value;
+		this.hashData[this.end]  = hash;
+		this.slots[slot] = ++this.end;
+		this.size++;
+	}
+
+	private void makeRoom()
+	{
+		// reusing the positions of removed entries is preferred as long as it frees at least a quarter of them.
+		final int removedCount = this.end - this.size;
+		if(removedCount > 0 && removedCount >= this.keyData.length >> 2)
+		{
+			this.rebuild(this.keyData.length);
+		}
+		else
+		{
+			this.rebuild(FlatHashEnum.capacity(this.keyData.length + 1));
+		}
+	}
+
+	private void removeSlot(final int slot)
+	{
+		final Object[] keys     = this.keyData;
+		final int      position = this.slots[slot] - 1;
+
+		this.shiftSlots(slot);
+		keys[position] = REMOVED;
+		this.valueData[position] = null;
+
+		if(--this.size == 0)
+		{
+			Arrays.fill(keys, this.head, this.end, null);
+			this.head = this.end = 0;
+		}
+		else if(position == this.head)
+		{
+			while(keys[++this.head] == REMOVED)
+			{
+				// skip leading removed positions
+			}
+		}
+		else if(position == this.end - 1)
+		{
+			do
+			{
+				keys[--this.end] = null;
+			}
+			while(keys[this.end - 1] == REMOVED);
+		}
+	}
+
+	private KeyValue<K, V> removePosition(final int position)
+	{
+		final KeyValue<K, V> entry = this.entry(position);
+		this.removeSlot(this.slotOf(position));
+		return entry;
+	}
+
+	/**
+	 * Closes the gap at the passed slot by moving back following positions of the same probe sequence.
+	 */
+	private void shiftSlots(final int slot)
+	{
+		final int[] hashes = this.hashData;
+		final int[] slots  = this.slots;
+		final int   mask   = slots.length - 1;
+		for(int last = slot, i;;)
+		{
+			for(i = last + 1 & mask;; i = i + 1 & mask)
+			{
+				final int p;
+				if((p = slots[i]) == 0)
+				{
+					slots[last] = 0;
+					return;
+				}
+				// the position may only move back if its home slot is not between the gap and its slot.
+				final int home = FlatHashEnum.index(hashes[p - 1], mask);
+				if(last <= i ? last >= home || home > i : last >= home && home > i)
+				{
+					break;
+				}
+			}
+			slots[last] = slots[i];
+			last = i;
+		}
+	}
+
+	/**
+	 * Moves all contained entries to the start of arrays of the passed capacity
+	 * and rebuilds the position table accordingly.
+	 */
+	private void rebuild(final int capacity)
+	{
+		final Object[] keys      = this.keyData;
+		final Object[] values    = this.valueData;
+		final int[]    hashes    = this.hashData;
+		final boolean  inPlace   = capacity == keys.length;
+		final Object[] newKeys   = inPlace ? keys   : new Object[capacity];
+		final Object[] newValues = inPlace ? values : new Object[capacity];
+		final int[]    newHashes = inPlace ? hashes : new int[capacity];
+
+		int n = 0;
+		for(int p = this.head; p < this.end; p++)
+		{
+			if(keys[p] != REMOVED)
+			{
+				newKeys[n]   = keys[p];
+				newValues[n] = values[p];
+				newHashes[n] = hashes[p];
+				n++;
+			}
+		}
+		if(inPlace)
+		{
+			Arrays.fill(keys, n, this.end, null);
+			Arrays.fill(values, n, this.end, null);
+		}
+
+		this.keyData   = newKeys;
+		this.valueData = newValues;
+		this.hashData  = newHashes;
+		this.head      = 0;
+		this.end       = n;
+
+		final int tableLength = tableLength(capacity);
+		if(this.slots.length == tableLength)
+		{
+			Arrays.fill(this.slots, 0);
+		}
+		else
+		{
+			this.slots = new int[tableLength];
+		}
+		this.hashPositions();
+	}
+
+	/**
+	 * Enters all positions of the compacted arrays into the empty position table.
+	 */
+	private void hashPositions()
+	{
+		final int[] hashes = this.hashData;
+		final int[] slots  = this.slots;
+		final int   mask   = slots.length - 1;
+		for(int p = 0; p < this.end; p++)
+		{
+			int i = FlatHashEnum.index(hashes[p], mask);
+			while(slots[i] != 0)
+			{
+				i = i + 1 & mask;
+			}
+			slots[i] = p + 1;
+		}
+	}
+
+	/**
+	 * Rebuilds the position table after the compacted arrays have been reordered.
+	 */
+	private void reindex()
+	{
+		Arrays.fill(this.slots, 0);
+		this.hashPositions();
+	}
+
+	/**
+	 * Recalculates all hash values of the compacted key array and rebuilds the position table,
+	 * removing all but the first entry of keys that are contained more than once.
+	 */
+	private int rehashPositions()
+	{
+		final Object[] keys   = this.keyData;
+		final int[]    hashes = this.hashData;
+		final int[]    slots  = this.slots;
+		final int      mask   = slots.length - 1;
+
+		Arrays.fill(slots, 0);
+		int removedCount = 0;
+		positions:
+		for(int p = 0; p < this.end; p++)
+		{
+			final int hash = hashes[p] = this.hashEqualator.hash(this.key(p));
+			int i = FlatHashEnum.index(hash, mask);
+			for(int q; (q = slots[i]) != 0; i = i + 1 & mask)
+			{
+				if(hashes[q - 1] == hash && this.hashEqualator.equal(this.key(q - 1), this.key(p)))
+				{
+					keys[p] = REMOVED;
+					this.valueData[p] = null;
+					removedCount++;
+					continue positions;
+				}
+			}
+			slots[i] = p + 1;
+		}
+
+		if(removedCount != 0)
+		{
+			this.size -= removedCount;
+			this.rebuild(keys.length);
+		}
+		return removedCount;
+	}
+
+	private void compact()
+	{
+		if(this.size != this.end)
+		{
+			this.rebuild(this.keyData.length);
+		}
+	}
+
+	/**
+	 * Returns the key array without any removed positions, so that positions equal indices.
+	 */
+	@SuppressWarnings("unchecked")
+	final K[] compactedKeys()
+	{
+		this.compact();
+		return (K[])this.keyData;
+	}
+
+	/**
+	 * Returns the value array without any removed positions, so that positions equal indices.
+	 */
+	@SuppressWarnings("unchecked")
+	final V[] compactedValues()
+	{
+		this.compact();
+		return (V[])this.valueData;
+	}
+
+	/**
+	 * Returns snapshots of all entries in order.
+	 */
+	@SuppressWarnings("unchecked")
+	final KeyValue<K, V>[] entries()
+	{
+		this.compact();
+		final KeyValue<K, V>[] entries = new KeyValue[this.size];
+		for(int p = 0; p < entries.length; p++)
+		{
+			entries[p] = this.entry(p);
+		}
+		return entries;
+	}
+
+	/**
+	 * Removes all entries whose index is accepted by the passed predicate and returns their number.
+	 * The predicate is evaluated exactly once per index in ascending order.
+	 */
+	final int removeIndices(final IntPredicate predicate)
+	{
+		this.compact();
+		final Object[] keys   = this.keyData;
+		final Object[] values = this.valueData;
+		final int[]    hashes = this.hashData;
+		final int      size   = this.size;
+
+		int n = 0, p = 0;
+		try
+		{
+			for(; p < size; p++)
+			{
+				if(!predicate.test(p))
+				{
+					keys[n]   = keys[p];
+					values[n] = values[p];
+					hashes[n] = hashes[p];
+					n++;
+				}
+			}
+		}
+		finally
+		{
+			if(n != p)
+			{
+				// entries not tested because of an exception are kept.
+				System.arraycopy(keys  , p, keys  , n, size - p);
+				System.arraycopy(values, p, values, n, size - p);
+				System.arraycopy(hashes, p, hashes, n, size - p);
+				n += size - p;
+				Arrays.fill(keys  , n, size, null);
+				Arrays.fill(values, n, size, null);
+				this.size = this.end = n;
+				this.reindex();
+			}
+		}
+		return size - n;
+	}
+
+	final int removeIndexSelection(final long... indices)
+	{
+		final boolean[] selected = new boolean[this.size];
+		for(final long index : indices)
+		{
+			AbstractExtendedCollection.validateIndex(this.size, index);
+			selected[(int)index] = true;
+		}
+		return this.removeIndices(p -> selected[p]);
+	}
+
+	final int removeIndexRange(final long startIndex, final long length)
+	{
+		final int start = this.validateRange(startIndex, length);
+		final int bound = start + (int)length;
+		return this.removeIndices(p -> p >= start && p < bound);
+	}
+
+	final int retainIndexRange(final long startIndex, final long length)
+	{
+		final int start = this.validateRange(startIndex, length);
+		final int bound = start + (int)length;
+		return this.removeIndices(p -> p < start || p >= bound);
+	}
+
+	final int validateRange(final long startIndex, final long length)
+	{
+		final long bound = startIndex + length;
+		if(startIndex < 0 || length < 0 || bound > this.size)
+		{
+			throw new IndexExceededException(this.size, startIndex < 0 || length < 0 ? startIndex : bound);
+		}
+		return (int)startIndex;
+	}
+
+	/**
+	 * Returns the positions of the compacted arrays in order, to be rearranged and passed to {@link #reorder}.
+	 */
+	final Integer[] positions()
+	{
+		this.compact();
+		final Integer[] positions = new Integer[this.size];
+		for(int p = 0; p < positions.length; p++)
+		{
+			positions[p] = p;
+		}
+		return positions;
+	}
+
+	/**
+	 * Rearranges the compacted arrays so that the entry at position <code>order[i]</code> moves to position i.
+	 */
+	final void reorder(final Integer[] order)
+	{
+		final Object[] keys      = this.keyData;
+		final Object[] values    = this.valueData;
+		final int[]    hashes    = this.hashData;
+		final Object[] oldKeys   = Arrays.copyOf(keys, order.length);
+		final Object[] oldValues = Arrays.copyOf(values, order.length);
+		final int[]    oldHashes = Arrays.copyOf(hashes, order.length);
+		for(int i = 0; i < order.length; i++)
+		{
+			keys[i]   = oldKeys[order[i]];
+			values[i] = oldValues[order[i]];
+			hashes[i] = oldHashes[order[i]];
+		}
+		this.reindex();
+	}
+
+	final void sortPositions(final Comparator<? super Integer> comparator)
+	{
+		final Integer[] order = this.positions();
+		XSort.mergesort(order, 0, order.length, comparator);
+		this.reorder(order);
+	}
+
+	final void reversePositions()
+	{
+		final Integer[] order = this.positions();
+		AbstractArrayStorage.reverse(order, order.length);
+		this.reorder(order);
+	}
+
+	final void shiftPositions(final long sourceIndex, final long targetIndex, final long length)
+	{
+		final int source = this.validateRange(sourceIndex, length);
+		final int target = this.validateRange(targetIndex, length);
+		if(source == target || length == 0)
+		{
+			return;
+		}
+
+		final Integer[] order      = this.positions();
+		final Integer[] shiftlings = Arrays.copyOfRange(order, source, source + (int)length);
+		if(source < target)
+		{
+			System.arraycopy(order, source + (int)length, order, source, target - source);
+		}
+		else
+		{
+			System.arraycopy(order, target, order, target + (int)length, source - target);
+		}
+		System.arraycopy(shiftlings, 0, order, target, (int)length);
+		this.reorder(order);
+	}
+
+	final void swapPositions(final long indexA, final long indexB)
+	{
+		AbstractExtendedCollection.validateIndex(this.size, indexA);
+		AbstractExtendedCollection.validateIndex(this.size, indexB);
+		final Integer[] order = this.positions();
+		AbstractArrayStorage.swap(order, order.length, (int)indexA, (int)indexB);
+		this.reorder(order);
+	}
+
+	final void swapPositions(final long indexA, final long indexB, final long length)
+	{
+		final Integer[] order = this.positions();
+		AbstractArrayStorage.swap(
+			order,
+			order.length,
+			X.checkArrayRange(indexA),
+			X.checkArrayRange(indexB),
+			X.checkArrayRange(length)
+		);
+		this.reorder(order);
+	}
+
+	/**
+	 * Inserts the passed entry at the passed index if its key is not contained yet. Otherwise, putting replaces
+	 * the contained entry's key and value in place, while adding leaves it unchanged.
+	 */
+	final boolean internalInsert(final long index, final K key, final V value, final boolean put)
+	{
+		if(index < 0 || index > this.size)
+		{
+			throw new IndexExceededException(this.size, index);
+		}
+		final int hash, slot;
+		if((slot = this.lookup(key, hash = this.hashEqualator.hash(key))) >= 0)
+		{
+			if(put)
+			{
+				final int position = this.slots[slot] - 1;
+				this.keyData[position]   = key;
+				this.valueData[position] = value;
+			}
+			return false;
+		}
+		if(this.end == this.keyData.length)
+		{
+			this.makeRoom();
+		}
+		this.compact();
+
+		final int i = (int)index;
+		System.arraycopy(this.keyData  , i, this.keyData  , i + 1, this.size - i);
+		System.arraycopy(this.valueData, i, this.valueData, i + 1, this.size - i);
+		System.arraycopy(this.hashData , i, this.hashData , i + 1, this.size - i);
+		this.keyData[i]   = key;
+		this.valueData[i] = value;
+		this.hashData[i]  = hash;
+		this.end = ++this.size;
+		this.reindex();
+		return true;
+	}
+
+	final long internalInsertAll(
+		final long             index  ,
+		final KeyValue<K, V>[] entries,
+		final int              offset ,
+		final int              length ,
+		final boolean          put
+	)
+	{
+		final int d;
+		if((d = XArrays.validateArrayRange(entries, offset, length)) == 0)
+		{
+			return 0;
+		}
+
+		long i = index;
+		final int bound = offset + length;
+		for(int e = offset; e != bound; e += d)
+		{
+			if(this.internalInsert(i, entries[e].key(), entries[e].value(), put))
+			{
+				i++;
+			}
+		}
+		return i - index;
+	}
+
+	/**
+	 * Moves the entry of the passed key to the start and returns whether it is contained at all.
+	 */
+	final boolean moveToStart(final K key)
+	{
+		if(!this.containsKey(key))
+		{
+			return false;
+		}
+		// positions change by compacting, so the position has to be looked up afterwards.
+		this.compact();
+		this.shiftPositions(this.position(key), 0, 1);
+		return true;
+	}
+
+	/**
+	 * Replaces the key of the entry at the passed index and, if so specified, its value,
+	 * unless the key is contained at another index.
+	 */
+	final boolean internalSet(final long index, final K key, final V value, final boolean setValue)
+	{
+		final int position = this.validateRange(index, 1);
+		this.compact();
+
+		final int hash, slot;
+		if((slot = this.lookup(key, hash = this.hashEqualator.hash(key))) >= 0)
+		{
+			if(this.slots[slot] - 1 != position)
+			{
+				return false;
+			}
+		}
+		else
+		{
+			this.shiftSlots(this.slotOf(position));
+			this.hashData[position] = hash;
+			this.slots[~this.lookup(key, hash)] = position + 1;
+		}
+
+		this.keyData[position] = key;
+		if(setValue)
+		{
+			this.valueData[position] = value;
+		}
+		return true;
+	}
+
+	static IllegalArgumentException keyContainedElsewhere(final long index)
+	{
+		return new IllegalArgumentException("Key to be set at index " + index + " is contained at another index.");
+	}
+
+	final boolean internalAddOnlyKey(final K key)
+	{
+		final int hash, slot;
+		if((slot = this.lookup(key, hash = this.hashEqualator.hash(key))) >= 0)
+		{
+			return false; // already contained
+		}
+		this.append(hash, key, null, ~slot);
+		return true;
+	}
+
+	final boolean internalPutOnlyKey(final K key)
+	{
+		final int hash, slot;
+		if((slot = this.lookup(key, hash = this.hashEqualator.hash(key))) >= 0)
+		{
+			this.keyData[this.slots[slot] - 1] = key;
+			return false;
+		}
+		this.append(hash, key, null, ~slot);
+		return true;
+	}
+
+	final K internalPutGetKey(final K key)
+	{
+		final int hash, slot;
+		if((slot = this.lookup(key, hash = this.hashEqualator.hash(key))) >= 0)
+		{
+			return this.setKey(this.slots[slot] - 1, key);
+		}
+		this.append(hash, key, null, ~slot);
+		return null;
+	}
+
+	final K internalAddGetKey(final K key)
+	{
+		final int hash, slot;
+		if((slot = this.lookup(key, hash = this.hashEqualator.hash(key))) >= 0)
+		{
+			return this.key(this.slots[slot] - 1);
+		}
+		this.append(hash, key, null, ~slot);
+		return null;
+	}
+
+	final K internalReplaceKey(final K key)
+	{
+		final int slot;
+		if((slot = this.lookup(key, this.hashEqualator.hash(key))) >= 0)
+		{
+			return this.setKey(this.slots[slot] - 1, key);
+		}
+		return null;
+	}
+
+	private K setKey(final int position, final K key)
+	{
+		final K oldKey = this.key(position);
+		this.keyData[position] = key;
+		return oldKey;
+	}
+
+	private V setValue(final int position, final V value)
+	{
+		final V oldValue = this.value(position);
+		this.valueData[position] = value;
+		return oldValue;
+	}
+
+	final FlatEqHashTable<K, V> internalAddEntries(
+		final XGettingCollection<? extends KeyValue<? extends K, ? extends V>> entries
+	)
+	{
+		entries.iterate(e -> this.add(e.key(), e.value()));
+		return this;
+	}
+
+	// only used for backwards compatibility with old collections
+	final V oldPutGet(final K key, final V value)
+	{
+		final int hash, slot;
+		if((slot = this.lookup(key, hash = this.hashEqualator.hash(key))) >= 0)
+		{
+			// set only value, not key, according to inconsistent nonsense behavior in old collections
+			return this.setValue(this.slots[slot] - 1, value);
+		}
+		this.append(hash, key, value, ~slot);
+		return null;
+	}
+
+	final boolean containsKey(final K key)
+	{
+		return this.lookup(key, this.hashEqualator.hash(key)) >= 0;
+	}
+
+	final int removeKey(final K key)
+	{
+		final int slot;
+		if((slot = this.lookup(key, this.hashEqualator.hash(key))) >= 0)
+		{
+			this.removeSlot(slot);
+			return 1;
+		}
+		return 0;
+	}
+
+	/**
+	 * Appends the passed entry without hashing it, see {@link #rehash()}.
+	 */
+	final void internalCollectUnhashed(final K key, final V value)
+	{
+		if(this.end == this.keyData.length)
+		{
+			// no need to keep the position table, it is rebuilt by rehashing anyway
+			final int capacity = FlatHashEnum.capacity(this.keyData.length + 1);
+			this.keyData   = Arrays.copyOf(this.keyData, capacity);
+			this.valueData = Arrays.copyOf(this.valueData, capacity);
+			this.hashData  = Arrays.copyOf(this.hashData, capacity);
+			this.slots     = new int[tableLength(capacity)];
+		}
+		this.keyData[this.end]   = key;
+		this.valueData[this.end] = value;
+		this.end++;
+		this.size++;
+	}
+
+	final boolean nullKeyPut()
+	{
+		return this.internalPutOnlyKey(null);
+	}
+
+	final boolean nullKeyAdd()
+	{
+		return this.internalAddOnlyKey(null);
+	}
+
+	public final Consumer<KeyValue<K, V>> procedureRemoveEntry()
+	{
+		return entry ->
+		{
+			this.removeKey(entry.key());
+		};
+	}
+
+	public final Predicate<KeyValue<K, V>> predicateContainsEntry()
+	{
+		return entry ->
+		{
+			final int position;
+			if((position = this.position(entry.key())) < 0)
+			{
+				return false;
+			}
+
+			// equality of values is architectural restricted to simple referential equality
+			return this.value(position) == entry.value();
+		};
+	}
+
+
+
+	///////////////////////////////////////////////////////////////////////////
+	// inheriteted ExtendedCollection methods //
+	///////////////////////////////////////////
+
+	@Override
+	public final long size()
+	{
+		return this.size;
+	}
+
+	@Override
+	public final boolean isEmpty()
+	{
+		return this.size == 0;
+	}
+
+	@Override
+	public final void clear()
+	{
+		Arrays.fill(this.keyData, 0, this.end, null);
+		Arrays.fill(this.valueData, 0, this.end, null);
+		Arrays.fill(this.slots, 0);
+		this.head = this.end = this.size = 0;
+	}
+
+	@Override
+	public final void truncate()
+	{
+		this.keyData   = new Object[DEFAULT_HASH_LENGTH];
+		this.valueData = new Object[DEFAULT_HASH_LENGTH];
+		this.hashData  = new int[DEFAULT_HASH_LENGTH];
+		this.slots     = new int[tableLength(DEFAULT_HASH_LENGTH)];
+		this.head      = this.end = this.size = 0;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * In a {@link FlatEqHashTable} this closes the gaps left by removed entries and returns their number.
+	 */
+	@Override
+	public final long consolidate()
+	{
+		final int removedCount = this.end - this.head - this.size;
+		this.compact();
+		return removedCount;
+	}
+
+	@Override
+	public final CapacityExtendable ensureCapacity(final long minimalCapacity)
+	{
+		if(this.keyData.length < minimalCapacity)
+		{
+			this.rebuild(FlatHashEnum.capacity(X.checkArrayRange(minimalCapacity)));
+		}
+		return this;
+	}
+
+	@Override
+	public final CapacityExtendable ensureFreeCapacity(final long requiredFreeCapacity)
+	{
+		if(this.keyData.length - this.end >= requiredFreeCapacity)
+		{
+			return this; // already enough free capacity
+		}
+		// overflow-safe check for unreachable capacity
+		if(Integer.MAX_VALUE - this.size < requiredFreeCapacity)
+		{
+			throw new ArrayCapacityException(requiredFreeCapacity + this.size);
+		}
+		this.rebuild(FlatHashEnum.capacity(Math.max(this.keyData.length, this.size + (int)requiredFreeCapacity)));
+		return this;
+	}
+
+	@Override
+	public final long optimize()
+	{
+		final int capacity = FlatHashEnum.capacity(Math.max(this.size, DEFAULT_HASH_LENGTH));
+		if(capacity != this.keyData.length || this.size != this.end)
+		{
+			this.rebuild(capacity);
+		}
+		return this.keyData.length;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * As in {@link EqHashTable}, entries with keys that have become equal to a preceding entry's key
+	 * are removed.
+	 */
+	@Override
+	public final int rehash()
+	{
+		this.compact();
+		this.rehashPositions();
+		return this.size;
+	}
+
+	@Override
+	public final FlatEqHashTable<K, V> copy()
+	{
+		return new FlatEqHashTable<>(this);
+	}
+
+	@Override
+	public final EqConstHashTable<K, V> immure()
+	{
+		return EqConstHashTable.NewCustom(this.hashEqualator, this.size, this.hashDensity, this);
+	}
+
+	@Override
+	public final XGettingTable<K, V> view()
+	{
+		return new TableView<>(this);
+	}
+
+	@Override
+	public final void setHashDensity(final float hashDensity)
+	{
+		this.hashDensity = XHashing.validateHashDensity(hashDensity);
+	}
+
+	@Override
+	public final boolean hasVolatileElements()
+	{
+		return false;
+	}
+
+	@Override
+	public final boolean nullAllowed()
+	{
+		return true;
+	}
+
+	@Override
+	public final boolean nullKeyAllowed()
+	{
+		return true;
+	}
+
+	@Override
+	public final boolean nullValuesAllowed()
+	{
+		return true;
+	}
+
+	@Override
+	public final V get(final K key)
+	{
+		final int position;
+		return (position = this.position(key)) >= 0 ? this.value(position) : null;
+	}
+
+	@Override
+	public final V ensure(final K key, final Function<? super K, V> valueProvider)
+	{
+		V value = this.get(key);
+		if(value == null)
+		{
+			this.add(key, value = valueProvider.apply(key));
+		}
+		return value;
+	}
+
+	@Override
+	public final KeyValue<K, V> lookup(final K key)
+	{
+		final int position;
+		return (position = this.position(key)) >= 0 ? this.entry(position) : null;
+	}
+
+	@Override
+	public final Keys keys()
+	{
+		return this.keys;
+	}
+
+	@Override
+	public final Values values()
+	{
+		return this.values;
+	}
+
+	@Override
+	public final XTable.EntriesBridge<K, V> old()
+	{
+		return new OldEntries();
+	}
+
+	@Override
+	public final XTable.Bridge<K, V> oldMap()
+	{
+		return new OldVarMap();
+	}
+
+	@Override
+	public final V searchValue(final Predicate<? super K> keyPredicate)
+	{
+		final int index = AbstractArrayStorage.forwardConditionalIndexOf(this.compactedKeys(), 0, this.size, keyPredicate);
+		return index >= 0 ? this.value(index) : null;
+	}
+
+	@Override
+	public final <C extends Consumer<? super V>> C query(final XIterable<? extends K> keys, final C collector)
+	{
+		keys.iterate(key -> collector.accept(this.get(key)));
+		return collector;
+	}
+
+	@Override
+	public final long currentCapacity()
+	{
+		return this.keyData.length;
+	}
+
+	@Override
+	public final long maximumCapacity()
+	{
+		return FlatHashEnum.MAXIMUM_CAPACITY;
+	}
+
+	@Override
+	public final boolean isFull()
+	{
+		return this.size >= FlatHashEnum.MAXIMUM_CAPACITY;
+	}
+
+	@Override
+	public final boolean hasVolatileValues()
+	{
+		return false;
+	}
+
+	@Override
+	public final KeyValue<K, V> addGet(final K key, final V value)
+	{
+		final int hash, slot;
+		if((slot = this.lookup(key, hash = this.hashEqualator.hash(key))) >= 0)
+		{
+			return this.entry(this.slots[slot] - 1);
+		}
+		this.append(hash, key, value, ~slot);
+		return null;
+	}
+
+	@Override
+	public final KeyValue<K, V> substitute(final K key, final V value)
+	{
+		final int hash, slot;
+		if((slot = this.lookup(key, hash = this.hashEqualator.hash(key))) >= 0)
+		{
+			return this.entry(this.slots[slot] - 1);
+		}
+		this.append(hash, key, value, ~slot);
+		return X.KeyValue(key, value);
+	}
+
+	@Override
+	public final KeyValue<K, V> deduplicate(final KeyValue<K, V> entry)
+	{
+		// can't delegate because the passed instance shall be returned, not a newly created one
+		final int hash, slot;
+		if((slot = this.lookup(entry.key(), hash = this.hashEqualator.hash(entry.key()))) >= 0)
+		{
+			return this.entry(this.slots[slot] - 1);
+		}
+		this.append(hash, entry.key(), entry.value(), ~slot);
+		return entry;
+	}
+
+	@Override
+	public final KeyValue<K, V> putGet(final K key, final V value)
+	{
+		final int hash, slot;
+		if((slot = this.lookup(key, hash = this.hashEqualator.hash(key))) >= 0)
+		{
+			final int position = this.slots[slot] - 1;
+			return X.KeyValue(this.setKey(position, key), this.setValue(position, value));
+		}
+		this.append(hash, key, value, ~slot);
+		return null;
+	}
+
+	@Override
+	public final KeyValue<K, V> replace(final K key, final V value)
+	{
+		return this.setGet(key, value);
+	}
+
+	@Override
+	public final KeyValue<K, V> replace(final KeyValue<K, V> entry)
+	{
+		return this.replace(entry.key(), entry.value());
+	}
+
+	@Override
+	public final KeyValue<K, V> setGet(final K key, final V value)
+	{
+		final int slot;
+		if((slot = this.lookup(key, this.hashEqualator.hash(key))) >= 0)
+		{
+			final int position = this.slots[slot] - 1;
+			return X.KeyValue(this.setKey(position, key), this.setValue(position, value));
+		}
+		return null;
+	}
+
+	@Override
+	public final boolean add(final K key, final V value)
+	{
+		final int hash, slot;
+		if((slot = this.lookup(key, hash = this.hashEqualator.hash(key))) >= 0)
+		{
+			return false; // already contained
+		}
+		this.append(hash, key, value, ~slot);
+		return true;
+	}
+
+	@Override
+	public final boolean put(final K key, final V value)
+	{
+		final int hash, slot;
+		if((slot = this.lookup(key, hash = this.hashEqualator.hash(key))) >= 0)
+		{
+			// intentionally no moving to end here to cleanly separate concerns
+			final int position = this.slots[slot] - 1;
+			this.keyData[position]   = key;
+			this.valueData[position] = value;
+			return false;
+		}
+		this.append(hash, key, value, ~slot);
+		return true;
+	}
+
+	@Override
+	public final boolean set(final K key, final V value)
+	{
+		final int slot;
+		if((slot = this.lookup(key, this.hashEqualator.hash(key))) >= 0)
+		{
+			final int position = this.slots[slot] - 1;
+			this.keyData[position]   = key;
+			this.valueData[position] = value;
+			return true;
+		}
+		return false;
+	}
+
+	@Override
+	public final boolean valuePut(final K key, final V value)
+	{
+		final int hash, slot;
+		if((slot = this.lookup(key, hash = this.hashEqualator.hash(key))) >= 0)
+		{
+			this.valueData[this.slots[slot] - 1] = value;
+			return false;
+		}
+		this.append(hash, key, value, ~slot);
+		return true;
+	}
+
+	@Override
+	public final boolean valueSet(final K key, final V value)
+	{
+		final int slot;
+		if((slot = this.lookup(key, this.hashEqualator.hash(key))) >= 0)
+		{
+			this.valueData[this.slots[slot] - 1] = value;
+			return true;
+		}
+		return false;
+	}
+
+	@Override
+	public final V valuePutGet(final K key, final V value)
+	{
+		final int hash, slot;
+		if((slot = this.lookup(key, hash = this.hashEqualator.hash(key))) >= 0)
+		{
+			return this.setValue(this.slots[slot] - 1, value);
+		}
+		this.append(hash, key, value, ~slot);
+		return null;
+	}
+
+	@Override
+	public final V valueSetGet(final K key, final V value)
+	{
+		final int slot;
+		if((slot = this.lookup(key, this.hashEqualator.hash(key))) >= 0)
+		{
+			return this.setValue(this.slots[slot] - 1, value);
+		}
+		return null;
+	}
+
+	@Override
+	public final V removeFor(final K key)
+	{
+		final int slot;
+		if((slot = this.lookup(key, this.hashEqualator.hash(key))) < 0)
+		{
+			return null;
+		}
+		final V value = this.value(this.slots[slot] - 1);
+		this.removeSlot(slot);
+		return value;
+	}
+
+	@Override
+	public final HashCollection.Analysis<FlatEqHashTable<K, V>> analyze()
+	{
+		final int[] hashes = this.hashData;
+		final int   mask   = this.slots.length - 1;
+		return FlatHashEnum.analyzeSlots(this, this.slots, p -> FlatHashEnum.index(hashes[p], mask));
+	}
+
+	@Override
+	public final int hashDistributionRange()
+	{
+		return this.slots.length;
+	}
+
+	@Override
+	public final HashEqualator<? super K> hashEquality()
+	{
+		return this.hashEqualator;
+	}
+
+	@Override
+	public final float hashDensity()
+	{
+		return this.hashDensity;
+	}
+
+	@Override
+	public final boolean hasVolatileHashElements()
+	{
+		return false;
+	}
+
+	@Override
+	public final String toString()
+	{
+		final VarString vs = VarString.New(this.size * 8 + 2).append('{');
+		for(int p = this.head; p < this.end; p++)
+		{
+			if(this.keyData[p] != REMOVED)
+			{
+				vs.add(this.entry(p)).add(',');
+			}
+		}
+		return vs.deleteLast(this.size == 0 ? 0 : 1).append('}').toString();
+	}
+
+	@Override
+	public final FlatEqHashTable<K, V> sort(final Comparator<? super KeyValue<K, V>> comparator)
+	{
+		final KeyValue<K, V>[] entries = this.entries();
+		this.sortPositions((a, b) -> comparator.compare(entries[a], entries[b]));
+		return this;
+	}
+
+	@Override
+	public final long substitute(final Function<? super KeyValue<K, V>, ? extends KeyValue<K, V>> mapper)
+	{
+		final K[] keys   = this.compactedKeys();
+		final V[] values = this.compactedValues();
+
+		long replacedCount = 0;
+		for(int p = 0; p < this.size; p++)
+		{
+			final KeyValue<K, V> entry = mapper.apply(this.entry(p));
+			if(entry.key() != keys[p] || entry.value() != values[p])
+			{
+				keys[p]   = entry.key();
+				values[p] = entry.value();
+				replacedCount++;
+			}
+		}
+		if(replacedCount != 0)
+		{
+			this.rehashPositions();
+		}
+
+		return replacedCount;
+	}
+
+
+
+	///////////////////////////////////////////////////////////////////////////
+	// getting methods //
+	////////////////////
+
+	@Override
+	public final XEnum<KeyValue<K, V>> range(final long lowIndex, final long highIndex)
+	{
+		throw new one.microstream.meta.NotImplementedYetError(); // FIXME FlatEqHashTable#range()
+	}
+
+	@Override
+	public final XGettingEnum<KeyValue<K, V>> view(final long lowIndex, final long highIndex)
+	{
+		throw new one.microstream.meta.NotImplementedYetError(); // FIXME FlatEqHashTable#view()
+	}
+
+	@Override
+	public final KeyValue<K, V>[] toArray(final Class<KeyValue<K, V>> type)
+	{
+		final KeyValue<K, V>[] array;
+		System.arraycopy(this.entries(), 0, array = X.Array(type, this.size), 0, this.size);
+		return array;
+	}
+
+	@Override
+	public final Object[] toArray()
+	{
+		return Arrays.copyOf(this.entries(), this.size, Object[].class);
+	}
+
+	// executing //
+
+	@Override
+	public final <P extends Consumer<? super KeyValue<K, V>>> P iterate(final P procedure)
+	{
+		final Object[] keys = this.keyData;
+		for(int p = this.head; p < this.end; p++)
+		{
+			if(keys[p] != REMOVED)
+			{
+				procedure.accept(this.entry(p));
+			}
+		}
+		return procedure;
+	}
+
+	@Override
+	public final <A> A join(final BiConsumer<? super KeyValue<K, V>, ? super A> joiner, final A aggregate)
+	{
+		this.iterate(e -> joiner.accept(e, aggregate));
+		return aggregate;
+	}
+
+	@Override
+	public final long count(final KeyValue<K, V> entry)
+	{
+		return this.containsKey(entry.key()) ? 1 : 0;
+	}
+
+	@Override
+	public final long countBy(final Predicate<? super KeyValue<K, V>> predicate)
+	{
+		return AbstractArrayStorage.forwardConditionalCount(this.entries(), 0, this.size, predicate);
+	}
+
+	// element querying //
+
+	@Override
+	public final KeyValue<K, V> search(final Predicate<? super KeyValue<K, V>> predicate)
+	{
+		final long index;
+		return (index = this.indexBy(predicate)) >= 0 ? this.entry((int)index) : null;
+	}
+
+	@Override
+	public final KeyValue<K, V> max(final Comparator<? super KeyValue<K, V>> comparator)
+	{
+		return AbstractArrayStorage.max(this.entries(), this.size, comparator);
+	}
+
+	@Override
+	public final KeyValue<K, V> min(final Comparator<? super KeyValue<K, V>> comparator)
+	{
+		return AbstractArrayStorage.min(this.entries(), this.size, comparator);
+	}
+
+	// boolean querying - applies //
+
+	@Override
+	public final boolean containsSearched(final Predicate<? super KeyValue<K, V>> predicate)
+	{
+		return this.indexBy(predicate) >= 0;
+	}
+
+	@Override
+	public final boolean applies(final Predicate<? super KeyValue<K, V>> predicate)
+	{
+		return this.indexBy(predicate.negate()) < 0;
+	}
+
+	// boolean querying - contains //
+
+	@Override
+	public final boolean nullContained()
+	{
+		return false;
+	}
+
+	@Override
+	public final boolean containsId(final KeyValue<K, V> entry)
+	{
+		final int position;
+		return (position = this.position(entry.key())) >= 0 && this.keyData[position] == entry.key();
+	}
+
+	@Override
+	public final boolean contains(final KeyValue<K, V> entry)
+	{
+		return this.containsKey(entry.key());
+	}
+
+	@Override
+	public final KeyValue<K, V> seek(final KeyValue<K, V> sample)
+	{
+		if(sample == null)
+		{
+			// null special case
+			return null;
+		}
+		return this.lookup(sample.key());
+	}
+
+	@Override
+	public final boolean containsAll(final XGettingCollection<? extends KeyValue<K, V>> elements)
+	{
+		return elements.applies(this.predicateContainsEntry());
+	}
+
+	// boolean querying - equality //
+
+	@Override
+	public final boolean equals(
+		final XGettingCollection<? extends KeyValue<K, V>> samples  ,
+		final Equalator<? super KeyValue<K, V>>            equalator
+	)
+	{
+		if(samples == null || !(samples instanceof FlatEqHashTable<?, ?>))
+		{
+			return false;
+		}
+		if(samples == this)
+		{
+			return true;
+		}
+		return this.equalsContent(samples, equalator);
+	}
+
+	@Override
+	public final boolean equalsContent(
+		final XGettingCollection<? extends KeyValue<K, V>> samples  ,
+		final Equalator<? super KeyValue<K, V>>            equalator
+	)
+	{
+		if(samples == null || XTypes.to_int(samples.size()) != this.size)
+		{
+			return false;
+		}
+		if(samples == this)
+		{
+			return true;
+		}
+		return AbstractArrayStorage.equalsContent(this.entries(), this.size, samples, equalator);
+	}
+
+	// data set procedures //
+
+	@Override
+	public final <C extends Consumer<? super KeyValue<K, V>>> C intersect(
+		final XGettingCollection<? extends KeyValue<K, V>> other,
+		final Equalator<? super KeyValue<K, V>> equalator,
+		final C target
+	)
+	{
+		return AbstractArrayStorage.intersect(this.entries(), this.size, other, equalator, target);
+	}
+
+	@Override
+	public final <C extends Consumer<? super KeyValue<K, V>>> C except(
+		final XGettingCollection<? extends KeyValue<K, V>> other,
+		final Equalator<? super KeyValue<K, V>> equalator,
+		final C target
+	)
+	{
+		return AbstractArrayStorage.except(this.entries(), this.size, other, equalator, target);
+	}
+
+	@Override
+	public final <C extends Consumer<? super KeyValue<K, V>>> C union(
+		final XGettingCollection<? extends KeyValue<K, V>> other,
+		final Equalator<? super KeyValue<K, V>> equalator,
+		final C target
+	)
+	{
+		return AbstractArrayStorage.union(this.entries(), this.size, other, equalator, target);
+	}
+
+	@Override
+	public final <C extends Consumer<? super KeyValue<K, V>>> C copyTo(final C target)
+	{
+		if(target == this)
+		{
+			return target; // copying a set logic collection to itself would be a no-op, so spare the effort
+		}
+		return this.iterate(target);
+	}
+
+	@Override
+	public final <C extends Consumer<? super KeyValue<K, V>>> C filterTo(
+		final C                                  target   ,
+		final Predicate<? super KeyValue<K, V>> predicate
+	)
+	{
+		this.iterate(e ->
+		{
+			if(predicate.test(e))
+			{
+				target.accept(e);
+			}
+		});
+		return target;
+	}
+
+	@Override
+	public final <C extends Consumer<? super KeyValue<K, V>>> C distinct(final C target)
+	{
+		return this.distinct(target, this.equality());
+	}
+
+	@Override
+	public final <C extends Consumer<? super KeyValue<K, V>>> C distinct(
+		final C                                 target   ,
+		final Equalator<? super KeyValue<K, V>> equalator
+	)
+	{
+		return AbstractArrayStorage.distinct(this.entries(), this.size, target, equalator);
+	}
+
+
+
+	///////////////////////////////////////////////////////////////////////////
+	// adding //
+	///////////
+
+	@Override
+	public final boolean nullAdd()
+	{
+		return this.nullKeyAdd();
+	}
+
+	@Override
+	public final boolean add(final KeyValue<K, V> entry)
+	{
+		return this.add(entry.key(), entry.value());
+	}
+
+	@SafeVarargs
+	@Override
+	public final FlatEqHashTable<K, V> addAll(final KeyValue<K, V>... elements)
+	{
+		for(int i = 0, len = elements.length; i < len; i++)
+		{
+			this.add(elements[i].key(), elements[i].value());
+		}
+		return this;
+	}
+
+	@Override
+	public final FlatEqHashTable<K, V> addAll(final KeyValue<K, V>[] elements, final int srcIndex, final int srcLength)
+	{
+		final int d;
+		if((d = XArrays.validateArrayRange(elements, srcIndex, srcLength)) == 0)
+		{
+			return this;
+		}
+
+		final int bound = srcIndex + srcLength;
+		for(int i = srcIndex; i != bound; i += d)
+		{
+			this.add(elements[i].key(), elements[i].value());
+		}
+
+		return this;
+	}
+
+	@Override
+	public final FlatEqHashTable<K, V> addAll(final XGettingCollection<? extends KeyValue<K, V>> elements)
+	{
+		elements.iterate(e -> this.add(e.key(), e.value()));
+		return this;
+	}
+
+	@Override
+	public final boolean nullPut()
+	{
+		return this.nullKeyPut();
+	}
+
+	@Override
+	public final void accept(final KeyValue<K, V> entry)
+	{
+		this.put(entry.key(), entry.value());
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * In this implementation it overwrites the equal, already contained entry.
+	 * A return value indicates a new entry.
+	 */
+	@Override
+	public final boolean put(final KeyValue<K, V> entry)
+	{
+		return this.put(entry.key(), entry.value());
+	}
+
+	@Override
+	public final KeyValue<K, V> putGet(final KeyValue<K, V> entry)
+	{
+		return this.putGet(entry.key(), entry.value());
+	}
+
+	@Override
+	public final KeyValue<K, V> addGet(final KeyValue<K, V> entry)
+	{
+		return this.addGet(entry.key(), entry.value());
+	}
+
+	@SafeVarargs
+	@Override
+	public final FlatEqHashTable<K, V> putAll(final KeyValue<K, V>... elements)
+	{
+		for(int i = 0, len = elements.length; i < len; i++)
+		{
+			this.put(elements[i].key(), elements[i].value());
+		}
+		return this;
+	}
+
+	@Override
+	public final FlatEqHashTable<K, V> putAll(final KeyValue<K, V>[] elements, final int srcIndex, final int srcLength)
+	{
+		final int d;
+		if((d = XArrays.validateArrayRange(elements, srcIndex, srcLength)) == 0)
+		{
+			return this;
+		}
+
+		final int bound = srcIndex + srcLength;
+		for(int i = srcIndex; i != bound; i += d)
+		{
+			this.put(elements[i].key(), elements[i].value());
+		}
+
+		return this;
+	}
+
+	@Override
+	public final FlatEqHashTable<K, V> putAll(final XGettingCollection<? extends KeyValue<K, V>> elements)
+	{
+		elements.iterate(this);
+		return this;
+	}
+
+
+
+	///////////////////////////////////////////////////////////////////////////
+	// removing //
+	/////////////
+
+	@Override
+	public final long remove(final KeyValue<K, V> entry)
+	{
+		return this.removeKey(entry.key());
+	}
+
+	@Override
+	public final long nullRemove()
+	{
+		return 0; // cannot remove a null entry because it can never be contained (only null key or null values)
+	}
+
+	// reducing //
+
+	@Override
+	public final long removeBy(final Predicate<? super KeyValue<K, V>> predicate)
+	{
+		return this.removeIndices(p -> predicate.test(this.entry(p)));
+	}
+
+	// retaining //
+
+	@Override
+	public final long retainAll(final XGettingCollection<? extends KeyValue<K, V>> elements)
+	{
+		final Equalator<? super KeyValue<K, V>> equalator = this.equality();
+		return this.removeIndices(p ->
+		{
+			final KeyValue<K, V> entry = this.entry(p);
+			return !elements.containsSearched(e -> equalator.equal(e, entry));
+		});
+	}
+
+	@Override
+	public final <P extends Consumer<? super KeyValue<K, V>>> P process(final P procedure)
+	{
+		this.removeIndices(p ->
+		{
+			procedure.accept(this.entry(p));
+			return true;
+		});
+		return procedure;
+	}
+
+	@Override
+	public final <C extends Consumer<? super KeyValue<K, V>>> C moveTo(
+		final C                                  target   ,
+		final Predicate<? super KeyValue<K, V>> predicate
+	)
+	{
+		this.removeIndices(p ->
+		{
+			final KeyValue<K, V> entry = this.entry(p);
+			if(!predicate.test(entry))
+			{
+				return false;
+			}
+			target.accept(entry);
+			return true;
+		});
+		return target;
+	}
+
+	// removing - all //
+
+	@Override
+	public final long removeAll(final XGettingCollection<? extends KeyValue<K, V>> elements)
+	{
+		final int oldSize = this.size;
+		elements.iterate(this.procedureRemoveEntry());
+		return oldSize - this.size;
+	}
+
+	// removing - duplicates //
+
+	@Override
+	public final long removeDuplicates()
+	{
+		return 0;
+	}
+
+	@Override
+	public final long removeDuplicates(final Equalator<? super KeyValue<K, V>> equalator)
+	{
+		final KeyValue<K, V>[] entries = this.entries();
+		return this.removeIndices(p ->
+		{
+			for(int q = 0; q < p; q++)
+			{
+				if(entries[q] != null && equalator.equal(entries[q], entries[p]))
+				{
+					entries[p] = null; // removed entries must not be compared again
+					return true;
+				}
+			}
+			return false;
+		});
+	}
+
+	@Override
+	public final FlatEqHashTable<K, V> toReversed()
+	{
+		return this.copy().reverse();
+	}
+
+	@Override
+	public final <T extends Consumer<? super KeyValue<K, V>>> T copySelection(final T target, final long... indices)
+	{
+		return AbstractArrayStorage.copySelection(this.entries(), this.size, indices, target);
+	}
+
+	@Override
+	public final <P extends IndexedAcceptor<? super KeyValue<K, V>>> P iterateIndexed(final P procedure)
+	{
+		this.compact();
+		for(int p = 0; p < this.size; p++)
+		{
+			procedure.accept(this.entry(p), p);
+		}
+		return procedure;
+	}
+
+	@Override
+	public final KeyValue<K, V> at(final long index)
+	{
+		AbstractExtendedCollection.validateIndex(this.size, index);
+		this.compact();
+		return this.entry((int)index);
+	}
+
+	@Override
+	public final KeyValue<K, V> get()
+	{
+		if(this.size == 0)
+		{
+			throw new NoSuchElementException();
+		}
+		return this.entry(this.head);
+	}
+
+	@Override
+	public final KeyValue<K, V> first()
+	{
+		if(this.size == 0)
+		{
+			throw new IndexBoundsException(0, 0);
+		}
+		return this.entry(this.head);
+	}
+
+	@Override
+	public final KeyValue<K, V> last()
+	{
+		if(this.size == 0)
+		{
+			throw new IndexBoundsException(0, 0);
+		}
+		return this.entry(this.end - 1);
+	}
+
+	@Override
+	public final KeyValue<K, V> poll()
+	{
+		return this.size == 0 ? null : this.entry(this.head);
+	}
+
+	@Override
+	public final KeyValue<K, V> peek()
+	{
+		return this.size == 0 ? null : this.entry(this.end - 1);
+	}
+
+	@Override
+	public final long indexOf(final KeyValue<K, V> entry)
+	{
+		return this.keys.indexOf(entry.key());
+	}
+
+	@Override
+	public final long indexBy(final Predicate<? super KeyValue<K, V>> predicate)
+	{
+		this.compact();
+		for(int p = 0; p < this.size; p++)
+		{
+			if(predicate.test(this.entry(p)))
+			{
+				return p;
+			}
+		}
+		return -1;
+	}
+
+	@Override
+	public final boolean isSorted(final Comparator<? super KeyValue<K, V>> comparator)
+	{
+		return AbstractArrayStorage.isSorted(this.entries(), this.size, comparator);
+	}
+
+	@Override
+	public final long lastIndexOf(final KeyValue<K, V> entry)
+	{
+		// keys are unique, so the first index is the last index
+		return this.indexOf(entry);
+	}
+
+	@Override
+	public final long lastIndexBy(final Predicate<? super KeyValue<K, V>> predicate)
+	{
+		this.compact();
+		for(int p = this.size; p-- > 0;)
+		{
+			if(predicate.test(this.entry(p)))
+			{
+				return p;
+			}
+		}
+		return -1;
+	}
+
+	@Override
+	public final long maxIndex(final Comparator<? super KeyValue<K, V>> comparator)
+	{
+		return AbstractArrayStorage.maxIndex(this.entries(), this.size, comparator);
+	}
+
+	@Override
+	public final long minIndex(final Comparator<? super KeyValue<K, V>> comparator)
+	{
+		return AbstractArrayStorage.minIndex(this.entries(), this.size, comparator);
+	}
+
+	@Override
+	public final long scan(final Predicate<? super KeyValue<K, V>> predicate)
+	{
+		return AbstractArrayStorage.forwardScan(this.entries(), 0, this.size, predicate);
+	}
+
+	@Override
+	public final <C extends Consumer<? super KeyValue<K, V>>> C moveSelection(final C target, final long... indices)
+	{
+		this.copySelection(target, indices);
+		this.removeIndexSelection(indices);
+		return target;
+	}
+
+	@Override
+	public final KeyValue<K, V> removeAt(final long index)
+	{
+		AbstractExtendedCollection.validateIndex(this.size, index);
+		this.compact();
+		return this.removePosition((int)index);
+	}
+
+	@Override
+	public final KeyValue<K, V> fetch()
+	{
+		if(this.size == 0)
+		{
+			throw new IndexBoundsException(0, 0);
+		}
+		return this.removePosition(this.head);
+	}
+
+	@Override
+	public final KeyValue<K, V> pop()
+	{
+		if(this.size == 0)
+		{
+			throw new IndexBoundsException(0, 0);
+		}
+		return this.removePosition(this.end - 1);
+	}
+
+	@Override
+	public final KeyValue<K, V> pinch()
+	{
+		return this.size == 0 ? null : this.removePosition(this.head);
+	}
+
+	@Override
+	public final KeyValue<K, V> pick()
+	{
+		return this.size == 0 ? null : this.removePosition(this.end - 1);
+	}
+
+	@Override
+	public final KeyValue<K, V> retrieve(final KeyValue<K, V> entry)
+	{
+		final int position;
+		return (position = this.position(entry.key())) >= 0 ? this.removePosition(position) : null;
+	}
+
+	@Override
+	public final KeyValue<K, V> retrieveBy(final Predicate<? super KeyValue<K, V>> predicate)
+	{
+		final long index;
+		return (index = this.indexBy(predicate)) >= 0 ? this.removePosition((int)index) : null;
+	}
+
+	@Override
+	public final boolean removeOne(final KeyValue<K, V> entry)
+	{
+		return this.removeKey(entry.key()) != 0;
+	}
+
+	@Override
+	public final FlatEqHashTable<K, V> removeRange(final long startIndex, final long length)
+	{
+		this.removeIndexRange(startIndex, length);
+		return this;
+	}
+
+	@Override
+	public final FlatEqHashTable<K, V> retainRange(final long startIndex, final long length)
+	{
+		this.retainIndexRange(startIndex, length);
+		return this;
+	}
+
+	@Override
+	public final long removeSelection(final long[] indices)
+	{
+		return this.removeIndexSelection(indices);
+	}
+
+	@Override
+	public final Iterator<KeyValue<K, V>> iterator()
+	{
+		return new Itr<>(this::entry);
+	}
+
+	@Override
+	public final FlatEqHashTable<K, V> reverse()
+	{
+		this.reversePositions();
+		return this;
+	}
+
+	@Override
+	public final FlatEqHashTable<K, V> shiftTo(final long sourceIndex, final long targetIndex)
+	{
+		this.shiftPositions(sourceIndex, targetIndex, 1);
+		return this;
+	}
+
+	@Override
+	public final FlatEqHashTable<K, V> shiftTo(final long sourceIndex, final long targetIndex, final long length)
+	{
+		this.shiftPositions(sourceIndex, targetIndex, length);
+		return this;
+	}
+
+	@Override
+	public final FlatEqHashTable<K, V> shiftBy(final long sourceIndex, final long distance)
+	{
+		this.shiftPositions(sourceIndex, sourceIndex + distance, 1);
+		return this;
+	}
+
+	@Override
+	public final FlatEqHashTable<K, V> shiftBy(final long sourceIndex, final long distance, final long length)
+	{
+		this.shiftPositions(sourceIndex, sourceIndex + distance, length);
+		return this;
+	}
+
+	@Override
+	public final FlatEqHashTable<K, V> swap(final long indexA, final long indexB)
+	{
+		this.swapPositions(indexA, indexB);
+		return this;
+	}
+
+	@Override
+	public final FlatEqHashTable<K, V> swap(final long indexA, final long indexB, final long length)
+	{
+		this.swapPositions(indexA, indexB, length);
+		return this;
+	}
+
+	@Override
+	public final HashEqualator<KeyValue<K, V>> equality()
+	{
+		return XHashing.<K, V>wrapAsKeyValue(this.hashEqualator);
+	}
+
+
+	@Override
+	public final boolean input(final long index, final KeyValue<K, V> element)
+	{
+		return this.internalInsert(index, element.key(), element.value(), true);
+	}
+
+	@SafeVarargs
+	@Override
+	public final long inputAll(final long index, final KeyValue<K, V>... elements)
+	{
+		return this.internalInsertAll(index, elements, 0, elements.length, true);
+	}
+
+	@Override
+	public final long inputAll(final long index, final KeyValue<K, V>[] elements, final int offset, final int length)
+	{
+		return this.internalInsertAll(index, elements, offset, length, true);
+	}
+
+	@Override
+	public final long inputAll(final long index, final XGettingCollection<? extends KeyValue<K, V>> elements)
+	{
+		@SuppressWarnings("unchecked")
+		final KeyValue<K, V>[] array = (KeyValue<K, V>[])elements.toArray();
+		return this.internalInsertAll(index, array, 0, array.length, true);
+	}
+
+	@Override
+	public final boolean insert(final long index, final KeyValue<K, V> element)
+	{
+		return this.internalInsert(index, element.key(), element.value(), false);
+	}
+
+	@SafeVarargs
+	@Override
+	public final long insertAll(final long index, final KeyValue<K, V>... elements)
+	{
+		return this.internalInsertAll(index, elements, 0, elements.length, false);
+	}
+
+	@Override
+	public final long insertAll(final long index, final KeyValue<K, V>[] elements, final int offset, final int length)
+	{
+		return this.internalInsertAll(index, elements, offset, length, false);
+	}
+
+	@Override
+	public final long insertAll(final long index, final XGettingCollection<? extends KeyValue<K, V>> elements)
+	{
+		@SuppressWarnings("unchecked")
+		final KeyValue<K, V>[] array = (KeyValue<K, V>[])elements.toArray();
+		return this.internalInsertAll(index, array, 0, array.length, false);
+	}
+
+	@Override
+	public final boolean prepend(final KeyValue<K, V> element)
+	{
+		if(this.moveToStart(element.key()))
+		{
+			return false;
+		}
+		return this.internalInsert(0, element.key(), element.value(), false);
+	}
+
+	@Override
+	public final boolean preput(final KeyValue<K, V> element)
+	{
+		if(this.moveToStart(element.key()))
+		{
+			this.keyData[0]   = element.key();
+			this.valueData[0] = element.value();
+			return false;
+		}
+		return this.internalInsert(0, element.key(), element.value(), false);
+	}
+
+	@Override
+	public final boolean nullInput(final long index)
+	{
+		return this.internalInsert(index, null, null, true);
+	}
+
+	@Override
+	public final boolean nullInsert(final long index)
+	{
+		return this.internalInsert(index, null, null, false);
+	}
+
+	@Override
+	public final boolean nullPrepend()
+	{
+		return this.prepend(X.KeyValue(null, null));
+	}
+
+	@SafeVarargs
+	@Override
+	public final FlatEqHashTable<K, V> prependAll(final KeyValue<K, V>... elements)
+	{
+		this.internalInsertAll(0, elements, 0, elements.length, false);
+		return this;
+	}
+
+	@Override
+	public final FlatEqHashTable<K, V> prependAll(final KeyValue<K, V>[] elements, final int srcStartIndex, final int srcLength)
+	{
+		this.internalInsertAll(0, elements, srcStartIndex, srcLength, false);
+		return this;
+	}
+
+	@Override
+	public final FlatEqHashTable<K, V> prependAll(final XGettingCollection<? extends KeyValue<K, V>> elements)
+	{
+		this.insertAll(0, elements);
+		return this;
+	}
+
+	@Override
+	public final boolean nullPreput()
+	{
+		return this.preput(X.KeyValue(null, null));
+	}
+
+	@SafeVarargs
+	@Override
+	public final FlatEqHashTable<K, V> preputAll(final KeyValue<K, V>... elements)
+	{
+		this.internalInsertAll(0, elements, 0, elements.length, true);
+		return this;
+	}
+
+	@Override
+	public final FlatEqHashTable<K, V> preputAll(final KeyValue<K, V>[] elements, final int offset, final int length)
+	{
+		this.internalInsertAll(0, elements, offset, length, true);
+		return this;
+	}
+
+	@Override
+	public final FlatEqHashTable<K, V> preputAll(final XGettingCollection<? extends KeyValue<K, V>> elements)
+	{
+		this.inputAll(0, elements);
+		return this;
+	}
+
+	@Override
+	public final boolean set(final long index, final KeyValue<K, V> element)
+	{
+		return this.internalSet(index, element.key(), element.value(), true);
+	}
+
+	@Override
+	public final KeyValue<K, V> setGet(final long index, final KeyValue<K, V> element)
+	{
+		final KeyValue<K, V> old = this.at(index);
+		if(!this.internalSet(index, element.key(), element.value(), true))
+		{
+			throw keyContainedElsewhere(index);
+		}
+		return old;
+	}
+
+	@Override
+	public final void setFirst(final KeyValue<K, V> element)
+	{
+		this.setGet(0, element);
+	}
+
+	@Override
+	public final void setLast(final KeyValue<K, V> element)
+	{
+		this.setGet(this.size - 1, element);
+	}
+
+	@SafeVarargs
+	@Override
+	public final FlatEqHashTable<K, V> setAll(final long index, final KeyValue<K, V>... elements)
+	{
+		return this.set(index, elements, 0, elements.length);
+	}
+
+	@Override
+	public final FlatEqHashTable<K, V> set(final long index, final KeyValue<K, V>[] elements, final int offset, final int length)
+	{
+		final int d;
+		if((d = XArrays.validateArrayRange(elements, offset, length)) == 0)
+		{
+			return this;
+		}
+		final int start = this.validateRange(index, d * length);
+		this.compact();
+
+		// keys contained more than once afterwards are only kept in their first entry.
+		final int bound = offset + length;
+		for(int i = offset, p = start; i != bound; i += d, p++)
+		{
+			this.keyData[p]   = elements[i].key();
+			this.valueData[p] = elements[i].value();
+		}
+		this.rehashPositions();
+		return this;
+	}
+
+	@Override
+	public final FlatEqHashTable<K, V> set(final long index, final XGettingSequence<? extends KeyValue<K, V>> elements, final long offset, final long length)
+	{
+		@SuppressWarnings("unchecked")
+		final KeyValue<K, V>[] array = (KeyValue<K, V>[])elements.toArray();
+		return this.set(index, array, X.checkArrayRange(offset), X.checkArrayRange(length));
+	}
+
+
+
+	final class Itr<E> implements Iterator<E>
+	{
+		///////////////////////////////////////////////////////////////////////////
+		// instance fields //
+		////////////////////
+
+		private final IntFunction<E> getter;
+
+		// removing via the iterator only marks positions, so they stay valid during the iteration.
+		private int position = FlatEqHashTable.this.head, lastPosition = -1;
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// constructors //
+		/////////////////
+
+		Itr(final IntFunction<E> getter)
+		{
+			super();
+			this.getter = getter;
+		}
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// methods //
+		////////////
+
+		@Override
+		public boolean hasNext()
+		{
+			final Object[] keys = FlatEqHashTable.this.keyData;
+			while(this.position < FlatEqHashTable.this.end && keys[this.position] == REMOVED)
+			{
+				this.position++;
+			}
+			return this.position < FlatEqHashTable.this.end;
+		}
+
+		@Override
+		public E next()
+		{
+			if(!this.hasNext())
+			{
+				throw new NoSuchElementException();
+			}
+			return this.getter.apply(this.lastPosition = this.position++);
+		}
+
+		@Override
+		public void remove()
+		{
+			if(this.lastPosition < 0)
+			{
+				throw new IllegalStateException();
+			}
+			FlatEqHashTable.this.removeSlot(FlatEqHashTable.this.slotOf(this.lastPosition));
+			this.lastPosition = -1;
+		}
+
+	}
+
+
+
+	public final class Keys implements XTable.Keys<K, V>, HashCollection<K>
+	{
+		///////////////////////////////////////////////////////////////////////////
+		// methods //
+		////////////
+
+		@Override
+		public final int hashDistributionRange()
+		{
+			return FlatEqHashTable.this.slots.length;
+		}
+
+		@Override
+		public final boolean hasVolatileHashElements()
+		{
+			return false;
+		}
+
+		@Override
+		public final void setHashDensity(final float hashDensity)
+		{
+			FlatEqHashTable.this.setHashDensity(hashDensity);
+		}
+
+		@Override
+		public final HashCollection.Analysis<Keys> analyze()
+		{
+			final int[] hashes = FlatEqHashTable.this.hashData;
+			final int   mask   = FlatEqHashTable.this.slots.length - 1;
+			return FlatHashEnum.analyzeSlots(this, FlatEqHashTable.this.slots, p -> FlatHashEnum.index(hashes[p], mask));
+		}
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// getting methods //
+		////////////////////
+
+		@Override
+		public final Equalator<? super K> equality()
+		{
+			return FlatEqHashTable.this.hashEquality();
+		}
+
+		@Override
+		public final Keys copy()
+		{
+			return FlatEqHashTable.this.copy().keys();
+		}
+
+		@Override
+		public final EqConstHashEnum<K> immure()
+		{
+			return EqConstHashEnum.New(
+				FlatEqHashTable.this.hashEquality(),
+				FlatEqHashTable.this.hashDensity,
+				this
+			);
+		}
+
+		@Override
+		public final XGettingEnum<K> view()
+		{
+			return new EnumView<>(this);
+		}
+
+		@Override
+		public final XEnum<K> range(final long lowIndex, final long highIndex)
+		{
+			throw new one.microstream.meta.NotImplementedYetError(); // FIXME FlatEqHashTable.Keys#range()
+		}
+
+		@Override
+		public final XGettingEnum<K> view(final long lowIndex, final long highIndex)
+		{
+			throw new one.microstream.meta.NotImplementedYetError(); // FIXME FlatEqHashTable.Keys#view()
+		}
+
+		@Override
+		public final K[] toArray(final Class<K> type)
+		{
+			final K[] array;
+			System.arraycopy(FlatEqHashTable.this.compactedKeys(), 0, array = X.Array(type, this.intSize()), 0, this.intSize());
+			return array;
+		}
+
+		@Override
+		public final Object[] toArray()
+		{
+			return Arrays.copyOf(FlatEqHashTable.this.compactedKeys(), this.intSize(), Object[].class);
+		}
+
+		@Override
+		public final int intSize()
+		{
+			return FlatEqHashTable.this.size;
+		}
+
+		// executing //
+
+		@Override
+		public final <P extends Consumer<? super K>> P iterate(final P procedure)
+		{
+			final Object[] keys = FlatEqHashTable.this.keyData;
+			for(int p = FlatEqHashTable.this.head; p < FlatEqHashTable.this.end; p++)
+			{
+				if(keys[p] != REMOVED)
+				{
+					procedure.accept(FlatEqHashTable.this.key(p));
+				}
+			}
+			return procedure;
+		}
+
+		@Override
+		public final <A> A join(final BiConsumer<? super K, ? super A> joiner, final A aggregate)
+		{
+			AbstractArrayStorage.join(FlatEqHashTable.this.compactedKeys(), this.intSize(), joiner, aggregate);
+			return aggregate;
+		}
+
+		@Override
+		public final long count(final K element)
+		{
+			return this.contains(element) ? 1 : 0;
+		}
+
+		@Override
+		public final long countBy(final Predicate<? super K> predicate)
+		{
+			return AbstractArrayStorage.forwardConditionalCount(FlatEqHashTable.this.compactedKeys(), 0, this.intSize(), predicate);
+		}
+
+		// element querying //
+
+		@Override
+		public final K seek(final K sample)
+		{
+			final int position;
+			return (position = FlatEqHashTable.this.position(sample)) >= 0 ? FlatEqHashTable.this.key(position) : null;
+		}
+
+		@Override
+		public final K search(final Predicate<? super K> predicate)
+		{
+			return AbstractArrayStorage.forwardSearchElement(FlatEqHashTable.this.compactedKeys(), 0, this.intSize(), predicate, null);
+		}
+
+		@Override
+		public final K max(final Comparator<? super K> comparator)
+		{
+			return AbstractArrayStorage.max(FlatEqHashTable.this.compactedKeys(), this.intSize(), comparator);
+		}
+
+		@Override
+		public final K min(final Comparator<? super K> comparator)
+		{
+			return AbstractArrayStorage.min(FlatEqHashTable.this.compactedKeys(), this.intSize(), comparator);
+		}
+
+		// boolean querying //
+
+		@Override
+		public final boolean hasVolatileElements()
+		{
+			return false;
+		}
+
+		@Override
+		public final boolean nullAllowed()
+		{
+			return true;
+		}
+
+		// boolean querying - applies //
+
+		@Override
+		public final boolean containsSearched(final Predicate<? super K> predicate)
+		{
+			return AbstractArrayStorage.forwardContains(FlatEqHashTable.this.compactedKeys(), 0, this.intSize(), predicate);
+		}
+
+		@Override
+		public final boolean applies(final Predicate<? super K> predicate)
+		{
+			return AbstractArrayStorage.forwardApplies(FlatEqHashTable.this.compactedKeys(), 0, this.intSize(), predicate);
+		}
+
+		// boolean querying - contains //
+
+		@Override
+		public final boolean nullContained()
+		{
+			return this.contains((K)null);
+		}
+
+		@Override
+		public final boolean containsId(final K element)
+		{
+			final int position;
+			return (position = FlatEqHashTable.this.position(element)) >= 0
+				&& FlatEqHashTable.this.keyData[position] == element
+			;
+		}
+
+		@Override
+		public final boolean contains(final K element)
+		{
+			return FlatEqHashTable.this.containsKey(element);
+		}
+
+		@Override
+		public final boolean containsAll(final XGettingCollection<? extends K> elements)
+		{
+			return elements.applies(this::contains);
+		}
+
+		// boolean querying - equality //
+
+		@Override
+		public final boolean equals(final XGettingCollection<? extends K> samples, final Equalator<? super K> equalator)
+		{
+			if(samples == null || !(samples instanceof FlatEqHashTable<?, ?>.Keys))
+			{
+				return false;
+			}
+			if(samples == this)
+			{
+				return true;
+			}
+			return this.equalsContent(samples, equalator);
+		}
+
+		@Override
+		public final boolean equalsContent(final XGettingCollection<? extends K> samples, final Equalator<? super K> equalator)
+		{
+			if(samples == null || XTypes.to_int(samples.size()) != this.intSize())
+			{
+				return false;
+			}
+			return AbstractArrayStorage.equalsContent(FlatEqHashTable.this.compactedKeys(), this.intSize(), samples, equalator);
+		}
+
+		// data set procedures //
+
+		@Override
+		public final <C extends Consumer<? super K>> C intersect(
+			final XGettingCollection<? extends K> other,
+			final Equalator<? super K> equalator,
+			final C target
+		)
+		{
+			return AbstractArrayStorage.intersect(FlatEqHashTable.this.compactedKeys(), this.intSize(), other, equalator, target);
+		}
+
+		@Override
+		public final <C extends Consumer<? super K>> C except(
+			final XGettingCollection<? extends K> other,
+			final Equalator<? super K> equalator,
+			final C target
+		)
+		{
+			return AbstractArrayStorage.except(FlatEqHashTable.this.compactedKeys(), this.intSize(), other, equalator, target);
+		}
+
+		@Override
+		public final <C extends Consumer<? super K>> C union(
+			final XGettingCollection<? extends K> other,
+			final Equalator<? super K> equalator,
+			final C target
+		)
+		{
+			return AbstractArrayStorage.union(FlatEqHashTable.this.compactedKeys(), this.intSize(), other, equalator, target);
+		}
+
+		@Override
+		public final <C extends Consumer<? super K>> C copyTo(final C target)
+		{
+			if(target == this)
+			{
+				return target; // copying a set logic collection to itself would be a no-op, so spare the effort
+			}
+			return this.iterate(target);
+		}
+
+		@Override
+		public final <C extends Consumer<? super K>> C filterTo(final C target, final Predicate<? super K> predicate)
+		{
+			return AbstractArrayStorage.forwardCopyTo(FlatEqHashTable.this.compactedKeys(), 0, this.intSize(), target, predicate);
+		}
+
+		@Override
+		public final <C extends Consumer<? super K>> C distinct(final C target)
+		{
+			// all keys are distinct by definition
+			return this.copyTo(target);
+		}
+
+		@Override
+		public final <C extends Consumer<? super K>> C distinct(final C target, final Equalator<? super K> equalator)
+		{
+			return AbstractArrayStorage.distinct(FlatEqHashTable.this.compactedKeys(), this.intSize(), target, equalator);
+		}
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// adding //
+		///////////
+
+		@Override
+		public final long currentCapacity()
+		{
+			return FlatEqHashTable.this.currentCapacity();
+		}
+
+		@Override
+		public final long maximumCapacity()
+		{
+			return FlatEqHashTable.this.maximumCapacity();
+		}
+
+		@Override
+		public final boolean isFull()
+		{
+			return FlatEqHashTable.this.isFull();
+		}
+
+		@Override
+		public final long optimize()
+		{
+			return FlatEqHashTable.this.optimize();
+		}
+
+		@Override
+		public final int rehash()
+		{
+			return FlatEqHashTable.this.rehash();
+		}
+
+		@Override
+		public final Keys ensureFreeCapacity(final long requiredFreeCapacity)
+		{
+			FlatEqHashTable.this.ensureFreeCapacity(requiredFreeCapacity);
+			return this;
+		}
+
+		@Override
+		public final Keys ensureCapacity(final long minimalCapacity)
+		{
+			FlatEqHashTable.this.ensureCapacity(minimalCapacity);
+			return this;
+		}
+
+		@Override
+		public final boolean nullAdd()
+		{
+			return FlatEqHashTable.this.nullKeyAdd();
+		}
+
+		@Override
+		public final boolean add(final K element)
+		{
+			return FlatEqHashTable.this.internalAddOnlyKey(element);
+		}
+
+		@SafeVarargs
+		@Override
+		public final Keys addAll(final K... elements)
+		{
+			final FlatEqHashTable<K, V> parent = FlatEqHashTable.this;
+			for(int i = 0, len = elements.length; i < len; i++)
+			{
+				parent.internalAddOnlyKey(elements[i]);
+			}
+			return this;
+		}
+
+		@Override
+		public final Keys addAll(final K[] elements, final int srcIndex, final int srcLength)
+		{
+			final int d;
+			if((d = XArrays.validateArrayRange(elements, srcIndex, srcLength)) == 0)
+			{
+				return this;
+			}
+
+			final int bound = srcIndex + srcLength;
+			final FlatEqHashTable<K, V> parent = FlatEqHashTable.this;
+			for(int i = srcIndex; i != bound; i += d)
+			{
+				parent.internalAddOnlyKey(elements[i]);
+			}
+
+			return this;
+		}
+
+		@Override
+		public final Keys addAll(final XGettingCollection<? extends K> elements)
+		{
+			elements.iterate(FlatEqHashTable.this::internalAddOnlyKey);
+			return this;
+		}
+
+		@Override
+		public final boolean nullPut()
+		{
+			return FlatEqHashTable.this.nullKeyPut();
+		}
+
+		@Override
+		public final void accept(final K element)
+		{
+			FlatEqHashTable.this.internalPutOnlyKey(element);
+		}
+
+		@Override
+		public final boolean put(final K element)
+		{
+			return FlatEqHashTable.this.internalPutOnlyKey(element);
+		}
+
+		@Override
+		public final K addGet(final K element)
+		{
+			return FlatEqHashTable.this.internalAddGetKey(element);
+		}
+
+		@Override
+		public final K deduplicate(final K element)
+		{
+			return FlatEqHashTable.this.internalAddGetKey(element);
+		}
+
+		@Override
+		public final K putGet(final K element)
+		{
+			return FlatEqHashTable.this.internalPutGetKey(element);
+		}
+
+		@Override
+		public final K replace(final K element)
+		{
+			return FlatEqHashTable.this.internalReplaceKey(element);
+		}
+
+		@SafeVarargs
+		@Override
+		public final Keys putAll(final K... elements)
+		{
+			final FlatEqHashTable<K, V> parent = FlatEqHashTable.this;
+			for(int i = 0, len = elements.length; i < len; i++)
+			{
+				parent.internalPutOnlyKey(elements[i]);
+			}
+			return this;
+		}
+
+		@Override
+		public final Keys putAll(final K[] elements, final int srcIndex, final int srcLength)
+		{
+			final int d;
+			if((d = XArrays.validateArrayRange(elements, srcIndex, srcLength)) == 0)
+			{
+				return this;
+			}
+
+			final int bound = srcIndex + srcLength;
+			final FlatEqHashTable<K, V> parent = FlatEqHashTable.this;
+			for(int i = srcIndex; i != bound; i += d)
+			{
+				parent.internalPutOnlyKey(elements[i]);
+			}
+
+			return this;
+		}
+
+		@Override
+		public final Keys putAll(final XGettingCollection<? extends K> elements)
+		{
+			elements.iterate(FlatEqHashTable.this::internalPutOnlyKey);
+			return this;
+		}
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// removing //
+		/////////////
+
+		@Override
+		public final void truncate()
+		{
+			FlatEqHashTable.this.truncate();
+		}
+
+		@Override
+		public final long consolidate()
+		{
+			return FlatEqHashTable.this.consolidate();
+		}
+
+		// removing //
+
+		@Override
+		public final long remove(final K element)
+		{
+			return FlatEqHashTable.this.removeKey(element);
+		}
+
+		@Override
+		public final long nullRemove()
+		{
+			return FlatEqHashTable.this.removeKey(null);
+		}
+
+		// reducing //
+
+		@Override
+		public final long removeBy(final Predicate<? super K> predicate)
+		{
+			return FlatEqHashTable.this.removeIndices(p -> predicate.test(FlatEqHashTable.this.key(p)));
+		}
+
+		// retaining //
+
+		@Override
+		public final long retainAll(final XGettingCollection<? extends K> elements)
+		{
+			final Equalator<? super K> equalator = this.equality();
+			return FlatEqHashTable.this.removeIndices(p ->
+			{
+				final K key = FlatEqHashTable.this.key(p);
+				return !elements.containsSearched(e -> equalator.equal(e, key));
+			});
+		}
+
+		@Override
+		public final <P extends Consumer<? super K>> P process(final P procedure)
+		{
+			FlatEqHashTable.this.removeIndices(p ->
+			{
+				procedure.accept(FlatEqHashTable.this.key(p));
+				return true;
+			});
+			return procedure;
+		}
+
+		@Override
+		public final <C extends Consumer<? super K>> C moveTo(final C target, final Predicate<? super K> predicate)
+		{
+			FlatEqHashTable.this.removeIndices(p ->
+			{
+				final K key = FlatEqHashTable.this.key(p);
+				if(!predicate.test(key))
+				{
+					return false;
+				}
+				target.accept(key);
+				return true;
+			});
+			return target;
+		}
+
+		// removing - all //
+
+		@Override
+		public final long removeAll(final XGettingCollection<? extends K> elements)
+		{
+			final int oldSize = FlatEqHashTable.this.size;
+			elements.iterate(FlatEqHashTable.this::removeKey);
+			return oldSize - FlatEqHashTable.this.size;
+		}
+
+		// removing - duplicates //
+
+		@Override
+		public final long removeDuplicates()
+		{
+			return 0;
+		}
+
+		@Override
+		public final long removeDuplicates(final Equalator<? super K> equalator)
+		{
+			// the key array is compacted while testing, so the tested keys are compared on a copy.
+			final K[]       keys    = Arrays.copyOf(FlatEqHashTable.this.compactedKeys(), this.intSize());
+			final boolean[] removed = new boolean[keys.length];
+			return FlatEqHashTable.this.removeIndices(p ->
+			{
+				for(int q = 0; q < p; q++)
+				{
+					if(!removed[q] && equalator.equal(keys[q], keys[p]))
+					{
+						return removed[p] = true;
+					}
+				}
+				return false;
+			});
+		}
+
+		@Override
+		public final Keys toReversed()
+		{
+			return FlatEqHashTable.this.toReversed().keys();
+		}
+
+		@Override
+		public final <T extends Consumer<? super K>> T copySelection(final T target, final long... indices)
+		{
+			return AbstractArrayStorage.copySelection(FlatEqHashTable.this.compactedKeys(), this.intSize(), indices, target);
+		}
+
+		@Override
+		public final <P extends IndexedAcceptor<? super K>> P iterateIndexed(final P procedure)
+		{
+			AbstractArrayStorage.iterate(FlatEqHashTable.this.compactedKeys(), this.intSize(), procedure);
+			return procedure;
+		}
+
+		@Override
+		public final K at(final long index)
+		{
+			AbstractExtendedCollection.validateIndex(this.intSize(), index);
+			return FlatEqHashTable.this.compactedKeys()[(int)index];
+		}
+
+		@Override
+		public final K get()
+		{
+			return FlatEqHashTable.this.get().key();
+		}
+
+		@Override
+		public final K first()
+		{
+			return FlatEqHashTable.this.first().key();
+		}
+
+		@Override
+		public final K last()
+		{
+			return FlatEqHashTable.this.last().key();
+		}
+
+		@Override
+		public final K poll()
+		{
+			return this.intSize() == 0 ? null : FlatEqHashTable.this.key(FlatEqHashTable.this.head);
+		}
+
+		@Override
+		public final K peek()
+		{
+			return this.intSize() == 0 ? null : FlatEqHashTable.this.key(FlatEqHashTable.this.end - 1);
+		}
+
+		@Override
+		public final long indexOf(final K element)
+		{
+			if(!FlatEqHashTable.this.containsKey(element))
+			{
+				return -1;
+			}
+			// positions change by compacting, so the position has to be looked up afterwards.
+			FlatEqHashTable.this.compact();
+			return FlatEqHashTable.this.position(element);
+		}
+
+		@Override
+		public final long indexBy(final Predicate<? super K> predicate)
+		{
+			return AbstractArrayStorage.forwardConditionalIndexOf(FlatEqHashTable.this.compactedKeys(), 0, this.intSize(), predicate);
+		}
+
+		@Override
+		public final boolean isSorted(final Comparator<? super K> comparator)
+		{
+			return AbstractArrayStorage.isSorted(FlatEqHashTable.this.compactedKeys(), this.intSize(), comparator);
+		}
+
+		@Override
+		public final long lastIndexOf(final K element)
+		{
+			// keys are unique, so the first index is the last index
+			return this.indexOf(element);
+		}
+
+		@Override
+		public final long lastIndexBy(final Predicate<? super K> predicate)
+		{
+			return AbstractArrayStorage.lastIndexOf(FlatEqHashTable.this.compactedKeys(), this.intSize(), predicate);
+		}
+
+		@Override
+		public final long maxIndex(final Comparator<? super K> comparator)
+		{
+			return AbstractArrayStorage.maxIndex(FlatEqHashTable.this.compactedKeys(), this.intSize(), comparator);
+		}
+
+		@Override
+		public final long minIndex(final Comparator<? super K> comparator)
+		{
+			return AbstractArrayStorage.minIndex(FlatEqHashTable.this.compactedKeys(), this.intSize(), comparator);
+		}
+
+		@Override
+		public final long scan(final Predicate<? super K> predicate)
+		{
+			return AbstractArrayStorage.forwardScan(FlatEqHashTable.this.compactedKeys(), 0, this.intSize(), predicate);
+		}
+
+		@Override
+		public final <C extends Consumer<? super K>> C moveSelection(final C target, final long... indices)
+		{
+			this.copySelection(target, indices);
+			FlatEqHashTable.this.removeIndexSelection(indices);
+			return target;
+		}
+
+		@Override
+		public final K removeAt(final long index)
+		{
+			return FlatEqHashTable.this.removeAt(index).key();
+		}
+
+		@Override
+		public final K fetch()
+		{
+			return FlatEqHashTable.this.fetch().key();
+		}
+
+		@Override
+		public final K pop()
+		{
+			return FlatEqHashTable.this.pop().key();
+		}
+
+		@Override
+		public final K pinch()
+		{
+			final KeyValue<K, V> entry;
+			return (entry = FlatEqHashTable.this.pinch()) == null ? null : entry.key();
+		}
+
+		@Override
+		public final K pick()
+		{
+			final KeyValue<K, V> entry;
+			return (entry = FlatEqHashTable.this.pick()) == null ? null : entry.key();
+		}
+
+		@Override
+		public final K retrieve(final K element)
+		{
+			final int position;
+			return (position = FlatEqHashTable.this.position(element)) >= 0
+				? FlatEqHashTable.this.removePosition(position).key()
+				: null
+			;
+		}
+
+		@Override
+		public final K retrieveBy(final Predicate<? super K> predicate)
+		{
+			final long index;
+			return (index = this.indexBy(predicate)) >= 0 ? this.removeAt(index) : null;
+		}
+
+		@Override
+		public final boolean removeOne(final K element)
+		{
+			return FlatEqHashTable.this.removeKey(element) != 0;
+		}
+
+		@Override
+		public final Keys removeRange(final long startIndex, final long length)
+		{
+			FlatEqHashTable.this.removeIndexRange(startIndex, length);
+			return this;
+		}
+
+		@Override
+		public final Keys retainRange(final long startIndex, final long length)
+		{
+			FlatEqHashTable.this.retainIndexRange(startIndex, length);
+			return this;
+		}
+
+		@Override
+		public final long removeSelection(final long[] indices)
+		{
+			return FlatEqHashTable.this.removeIndexSelection(indices);
+		}
+
+		@Override
+		public final boolean isEmpty()
+		{
+			return FlatEqHashTable.this.isEmpty();
+		}
+
+		@Override
+		public final Iterator<K> iterator()
+		{
+			return new Itr<>(FlatEqHashTable.this::key);
+		}
+
+		@Override
+		public final long size()
+		{
+			return FlatEqHashTable.this.size();
+		}
+
+		@Override
+		public final String toString()
+		{
+			return AbstractArrayStorage.toString(FlatEqHashTable.this.compactedKeys(), this.intSize());
+		}
+
+		@Override
+		public final void clear()
+		{
+			FlatEqHashTable.this.clear();
+		}
+
+		@Override
+		public final Keys reverse()
+		{
+			FlatEqHashTable.this.reversePositions();
+			return this;
+		}
+
+		@Override
+		public final Keys sort(final Comparator<? super K> comparator)
+		{
+			FlatEqHashTable.this.sortPositions((a, b) ->
+				comparator.compare(FlatEqHashTable.this.key(a), FlatEqHashTable.this.key(b))
+			);
+			return this;
+		}
+
+		@Override
+		public final Keys shiftTo(final long sourceIndex, final long targetIndex)
+		{
+			FlatEqHashTable.this.shiftPositions(sourceIndex, targetIndex, 1);
+			return this;
+		}
+
+		@Override
+		public final Keys shiftTo(final long sourceIndex, final long targetIndex, final long length)
+		{
+			FlatEqHashTable.this.shiftPositions(sourceIndex, targetIndex, length);
+			return this;
+		}
+
+		@Override
+		public final Keys shiftBy(final long sourceIndex, final long distance)
+		{
+			FlatEqHashTable.this.shiftPositions(sourceIndex, sourceIndex + distance, 1);
+			return this;
+		}
+
+		@Override
+		public final Keys shiftBy(final long sourceIndex, final long distance, final long length)
+		{
+			FlatEqHashTable.this.shiftPositions(sourceIndex, sourceIndex + distance, length);
+			return this;
+		}
+
+		@Override
+		public final Keys swap(final long indexA, final long indexB)
+		{
+			FlatEqHashTable.this.swapPositions(indexA, indexB);
+			return this;
+		}
+
+		@Override
+		public final Keys swap(final long indexA, final long indexB, final long length)
+		{
+			FlatEqHashTable.this.swapPositions(indexA, indexB, length);
+			return this;
+		}
+
+		@Override
+		public final OldKeys old()
+		{
+			return new OldKeys();
+		}
+
+		@Override
+		public final FlatEqHashTable<K, V> parent()
+		{
+			return FlatEqHashTable.this;
+		}
+
+		@Override
+		public final HashEqualator<? super K> hashEquality()
+		{
+			return FlatEqHashTable.this.hashEqualator;
+		}
+
+		@Override
+		public final float hashDensity()
+		{
+			return FlatEqHashTable.this.hashDensity;
+		}
+
+		public final class OldKeys extends AbstractBridgeXSet<K>
+		{
+			protected OldKeys()
+			{
+				super(Keys.this);
+			}
+
+			@Override
+			public final Keys parent()
+			{
+				return (Keys)super.parent();
+			}
+
+		}
+
+		@Override
+		public long substitute(final Function<? super K, ? extends K> mapper)
+		{
+			final K[] keys = FlatEqHashTable.this.compactedKeys();
+
+			long replacedCount = 0;
+			for(int p = 0; p < this.intSize(); p++)
+			{
+				final K key = mapper.apply(keys[p]);
+				if(key != keys[p])
+				{
+					keys[p] = key;
+					replacedCount++;
+				}
+			}
+			if(replacedCount != 0)
+			{
+				FlatEqHashTable.this.rehashPositions();
+			}
+
+			return replacedCount;
+		}
+
+		private long internalInsertAll(
+			final long    index   ,
+			final K[]     elements,
+			final int     offset  ,
+			final int     length  ,
+			final boolean put
+		)
+		{
+			final int d;
+			if((d = XArrays.validateArrayRange(elements, offset, length)) == 0)
+			{
+				return 0;
+			}
+
+			long i = index;
+			final int bound = offset + length;
+			for(int e = offset; e != bound; e += d)
+			{
+				if(put ? this.input(i, elements[e]) : this.insert(i, elements[e]))
+				{
+					i++;
+				}
+			}
+			return i - index;
+		}
+
+		@Override
+		public final boolean input(final long index, final K element)
+		{
+			if(FlatEqHashTable.this.internalInsert(index, element, null, false))
+			{
+				return true;
+			}
+			FlatEqHashTable.this.internalReplaceKey(element);
+			return false;
+		}
+
+		@SafeVarargs
+		@Override
+		public final long inputAll(final long index, final K... elements)
+		{
+			return this.internalInsertAll(index, elements, 0, elements.length, true);
+		}
+
+		@Override
+		public final long inputAll(final long index, final K[] elements, final int offset, final int length)
+		{
+			return this.internalInsertAll(index, elements, offset, length, true);
+		}
+
+		@Override
+		public final long inputAll(final long index, final XGettingCollection<? extends K> elements)
+		{
+			@SuppressWarnings("unchecked")
+			final K[] array = (K[])elements.toArray();
+			return this.internalInsertAll(index, array, 0, array.length, true);
+		}
+
+		@Override
+		public final boolean insert(final long index, final K element)
+		{
+			return FlatEqHashTable.this.internalInsert(index, element, null, false);
+		}
+
+		@SafeVarargs
+		@Override
+		public final long insertAll(final long index, final K... elements)
+		{
+			return this.internalInsertAll(index, elements, 0, elements.length, false);
+		}
+
+		@Override
+		public final long insertAll(final long index, final K[] elements, final int offset, final int length)
+		{
+			return this.internalInsertAll(index, elements, offset, length, false);
+		}
+
+		@Override
+		public final long insertAll(final long index, final XGettingCollection<? extends K> elements)
+		{
+			@SuppressWarnings("unchecked")
+			final K[] array = (K[])elements.toArray();
+			return this.internalInsertAll(index, array, 0, array.length, false);
+		}
+
+		@Override
+		public final boolean prepend(final K element)
+		{
+			if(FlatEqHashTable.this.moveToStart(element))
+			{
+				return false;
+			}
+			return FlatEqHashTable.this.internalInsert(0, element, null, false);
+		}
+
+		@Override
+		public final boolean preput(final K element)
+		{
+			if(FlatEqHashTable.this.moveToStart(element))
+			{
+				FlatEqHashTable.this.keyData[0] = element;
+				return false;
+			}
+			return FlatEqHashTable.this.internalInsert(0, element, null, false);
+		}
+
+		@Override
+		public final boolean nullInput(final long index)
+		{
+			return this.input(index, null);
+		}
+
+		@Override
+		public final boolean nullInsert(final long index)
+		{
+			return this.insert(index, null);
+		}
+
+		@Override
+		public final boolean nullPrepend()
+		{
+			return this.prepend(null);
+		}
+
+		@Override
+		public final Keys prependAll(@SuppressWarnings("unchecked") final K... elements)
+		{
+			this.internalInsertAll(0, elements, 0, elements.length, false);
+			return this;
+		}
+
+		@Override
+		public final Keys prependAll(final K[] elements, final int srcStartIndex, final int srcLength)
+		{
+			this.internalInsertAll(0, elements, srcStartIndex, srcLength, false);
+			return this;
+		}
+
+		@Override
+		public final Keys prependAll(final XGettingCollection<? extends K> elements)
+		{
+			this.insertAll(0, elements);
+			return this;
+		}
+
+		@Override
+		public final boolean nullPreput()
+		{
+			return this.preput(null);
+		}
+
+		@SafeVarargs
+		@Override
+		public final Keys preputAll(final K... elements)
+		{
+			this.internalInsertAll(0, elements, 0, elements.length, true);
+			return this;
+		}
+
+		@Override
+		public final Keys preputAll(final K[] elements, final int offset, final int length)
+		{
+			this.internalInsertAll(0, elements, offset, length, true);
+			return this;
+		}
+
+		@Override
+		public final Keys preputAll(final XGettingCollection<? extends K> elements)
+		{
+			this.inputAll(0, elements);
+			return this;
+		}
+
+		@Override
+		public final boolean set(final long index, final K element)
+		{
+			return FlatEqHashTable.this.internalSet(index, element, null, false);
+		}
+
+		@Override
+		public final K setGet(final long index, final K element)
+		{
+			final K old = this.at(index);
+			if(!FlatEqHashTable.this.internalSet(index, element, null, false))
+			{
+				throw keyContainedElsewhere(index);
+			}
+			return old;
+		}
+
+		@Override
+		public final void setFirst(final K element)
+		{
+			this.setGet(0, element);
+		}
+
+		@Override
+		public final void setLast(final K element)
+		{
+			this.setGet(FlatEqHashTable.this.size - 1, element);
+		}
+
+		@SafeVarargs
+		@Override
+		public final Keys setAll(final long index, final K... elements)
+		{
+			return this.set(index, elements, 0, elements.length);
+		}
+
+		@Override
+		public final Keys set(final long index, final K[] elements, final int offset, final int length)
+		{
+			final int d;
+			if((d = XArrays.validateArrayRange(elements, offset, length)) == 0)
+			{
+				return this;
+			}
+			final int start = FlatEqHashTable.this.validateRange(index, d * length);
+			final K[] keys  = FlatEqHashTable.this.compactedKeys();
+
+			// keys contained more than once afterwards are only kept in their first entry.
+			final int bound = offset + length;
+			for(int i = offset, p = start; i != bound; i += d, p++)
+			{
+				keys[p] = elements[i];
+			}
+			FlatEqHashTable.this.rehashPositions();
+			return this;
+		}
+
+		@Override
+		public final Keys set(final long index, final XGettingSequence<? extends K> elements, final long offset, final long length)
+		{
+			@SuppressWarnings("unchecked")
+			final K[] array = (K[])elements.toArray();
+			return this.set(index, array, X.checkArrayRange(offset), X.checkArrayRange(length));
+		}
+
+	}
+
+
+
+	public final class Values implements XTable.Values<K, V>
+	{
+		@Override
+		public final int intSize()
+		{
+			return FlatEqHashTable.this.size;
+		}
+
+		private V[] data()
+		{
+			return FlatEqHashTable.this.compactedValues();
+		}
+
+		@Override
+		public final Equalator<? super V> equality()
+		{
+			return Equalator.identity();
+		}
+
+		@Override
+		public final XList<V> copy()
+		{
+			return new BulkList<V>(this.intSize()).addAll(this);
+		}
+
+		@Override
+		public final <P extends Consumer<? super V>> P iterate(final P procedure)
+		{
+			final Object[] keys = FlatEqHashTable.this.keyData;
+			for(int p = FlatEqHashTable.this.head; p < FlatEqHashTable.this.end; p++)
+			{
+				if(keys[p] != REMOVED)
+				{
+					procedure.accept(FlatEqHashTable.this.value(p));
+				}
+			}
+			return procedure;
+		}
+
+		@Override
+		public final <A> A join(final BiConsumer<? super V, ? super A> joiner, final A aggregate)
+		{
+			AbstractArrayStorage.join(this.data(), this.intSize(), joiner, aggregate);
+			return aggregate;
+		}
+
+		@Override
+		public final <P extends IndexedAcceptor<? super V>> P iterateIndexed(final P procedure)
+		{
+			AbstractArrayStorage.iterate(this.data(), this.intSize(), procedure);
+			return procedure;
+		}
+
+		@Override
+		public final Values toReversed()
+		{
+			return FlatEqHashTable.this.toReversed().values();
+		}
+
+		@Override
+		public final boolean containsSearched(final Predicate<? super V> predicate)
+		{
+			return AbstractArrayStorage.forwardContains(this.data(), 0, this.intSize(), predicate);
+		}
+
+		@Override
+		public final boolean applies(final Predicate<? super V> predicate)
+		{
+			return AbstractArrayStorage.forwardApplies(this.data(), 0, this.intSize(), predicate);
+		}
+
+		@Override
+		public final boolean contains(final V value)
+		{
+			return AbstractArrayStorage.forwardContainsSame(this.data(), 0, this.intSize(), value);
+		}
+
+		@Override
+		public final boolean containsAll(final XGettingCollection<? extends V> values)
+		{
+			return values.applies(this::contains);
+		}
+
+		@Override
+		public final boolean containsId(final V value)
+		{
+			return this.contains(value);
+		}
+
+		@Override
+		public final <T extends Consumer<? super V>> T copyTo(final T target)
+		{
+			return this.iterate(target);
+		}
+
+		@Override
+		public final <T extends Consumer<? super V>> T filterTo(final T target, final Predicate<? super V> predicate)
+		{
+			return AbstractArrayStorage.forwardCopyTo(this.data(), 0, this.intSize(), target, predicate);
+		}
+
+		@Override
+		public final long count(final V value)
+		{
+			return AbstractArrayStorage.forwardCount(this.data(), 0, this.intSize(), value);
+		}
+
+		@Override
+		public final long countBy(final Predicate<? super V> predicate)
+		{
+			return AbstractArrayStorage.forwardConditionalCount(this.data(), 0, this.intSize(), predicate);
+		}
+
+		@Override
+		public final <T extends Consumer<? super V>> T distinct(final T target)
+		{
+			return AbstractArrayStorage.distinct(this.data(), this.intSize(), target);
+		}
+
+		@Override
+		public final <T extends Consumer<? super V>> T distinct(final T target, final Equalator<? super V> equalator)
+		{
+			return AbstractArrayStorage.distinct(this.data(), this.intSize(), target, equalator);
+		}
+
+		@Override
+		public final boolean equals(final XGettingCollection<? extends V> samples, final Equalator<? super V> equalator)
+		{
+			if(samples == null || !(samples instanceof FlatEqHashTable<?, ?>.Values))
+			{
+				return false;
+			}
+			if(samples == this)
+			{
+				return true;
+			}
+			return this.equalsContent(samples, equalator);
+		}
+
+		@Override
+		public final boolean equalsContent(final XGettingCollection<? extends V> samples, final Equalator<? super V> equalator)
+		{
+			if(samples == null || XTypes.to_int(samples.size()) != this.intSize())
+			{
+				return false;
+			}
+			return AbstractArrayStorage.equalsContent(this.data(), this.intSize(), samples, equalator);
+		}
+
+		@Override
+		public final <T extends Consumer<? super V>> T except(
+			final XGettingCollection<? extends V> other,
+			final Equalator<? super V> equalator,
+			final T target
+		)
+		{
+			return AbstractArrayStorage.except(this.data(), this.intSize(), other, equalator, target);
+		}
+
+		@Override
+		public final boolean hasVolatileElements()
+		{
+			return false;
+		}
+
+		@Override
+		public final <T extends Consumer<? super V>> T intersect(
+			final XGettingCollection<? extends V> other,
+			final Equalator<? super V> equalator,
+			final T target
+		)
+		{
+			return AbstractArrayStorage.intersect(this.data(), this.intSize(), other, equalator, target);
+		}
+
+		@Override
+		public final boolean isEmpty()
+		{
+			return FlatEqHashTable.this.isEmpty();
+		}
+
+		@Override
+		public final Iterator<V> iterator()
+		{
+			return new Itr<>(FlatEqHashTable.this::value);
+		}
+
+		@Override
+		public final V max(final Comparator<? super V> comparator)
+		{
+			return AbstractArrayStorage.max(this.data(), this.intSize(), comparator);
+		}
+
+		@Override
+		public final V min(final Comparator<? super V> comparator)
+		{
+			return AbstractArrayStorage.min(this.data(), this.intSize(), comparator);
+		}
+
+		@Override
+		public final boolean nullAllowed()
+		{
+			return true;
+		}
+
+		@Override
+		public final boolean nullContained()
+		{
+			return AbstractArrayStorage.forwardNullContained(this.data(), 0, this.intSize());
+		}
+
+		@Override
+		public final OldValues old()
+		{
+			return new OldValues();
+		}
+
+		@Override
+		public final V seek(final V sample)
+		{
+			return this.contains(sample) ? sample : null;
+		}
+
+		@Override
+		public final V search(final Predicate<? super V> predicate)
+		{
+			return AbstractArrayStorage.forwardSearchElement(this.data(), 0, this.intSize(), predicate, null);
+		}
+
+		@Override
+		public final long size()
+		{
+			return FlatEqHashTable.this.size();
+		}
+
+		@Override
+		public final long maximumCapacity()
+		{
+			return this.intSize();
+		}
+
+		@Override
+		public final boolean isFull()
+		{
+			return FlatEqHashTable.this.isFull();
+		}
+
+		@Override
+		public final long remainingCapacity()
+		{
+			return FlatEqHashTable.this.remainingCapacity();
+		}
+
+		@Override
+		public final String toString()
+		{
+			return AbstractArrayStorage.toString(this.data(), this.intSize());
+		}
+
+		@Override
+		public final Object[] toArray()
+		{
+			return Arrays.copyOf(this.data(), this.intSize(), Object[].class);
+		}
+
+		@Override
+		public final V[] toArray(final Class<V> type)
+		{
+			final V[] array;
+			System.arraycopy(this.data(), 0, array = X.Array(type, this.intSize()), 0, this.intSize());
+			return array;
+		}
+
+		@Override
+		public final <T extends Consumer<? super V>> T union(
+			final XGettingCollection<? extends V> other,
+			final Equalator<? super V> equalator,
+			final T target
+		)
+		{
+			return AbstractArrayStorage.union(this.data(), this.intSize(), other, equalator, target);
+		}
+
+		@Override
+		public final FlatEqHashTable<K, V> parent()
+		{
+			return FlatEqHashTable.this;
+		}
+
+		@Override
+		public final SubListView<V> view(final long fromIndex, final long toIndex)
+		{
+			return new SubListView<>(this, fromIndex, toIndex);
+		}
+
+		@Override
+		public final ListIterator<V> listIterator()
+		{
+			return new ValuesItr(0);
+		}
+
+		@Override
+		public final ListIterator<V> listIterator(final long index)
+		{
+			AbstractExtendedCollection.validateIndex(this.intSize() + 1, index);
+			return new ValuesItr((int)index);
+		}
+
+		@Override
+		public final SubListProcessor<V> range(final long fromIndex, final long toIndex)
+		{
+			return new SubListProcessor<>(this, fromIndex, toIndex);
+		}
+
+		@Override
+		public final XImmutableList<V> immure()
+		{
+			return ConstList.New(this);
+		}
+
+		@Override
+		public final ListView<V> view()
+		{
+			return new ListView<>(this);
+		}
+
+		@Override
+		public final <T extends Consumer<? super V>> T copySelection(final T target, final long... indices)
+		{
+			return AbstractArrayStorage.copySelection(this.data(), this.intSize(), indices, target);
+		}
+
+		@Override
+		public final V at(final long index)
+		{
+			AbstractExtendedCollection.validateIndex(this.intSize(), index);
+			return this.data()[(int)index];
+		}
+
+		@Override
+		public final V get()
+		{
+			return FlatEqHashTable.this.get().value();
+		}
+
+		@Override
+		public final V first()
+		{
+			return FlatEqHashTable.this.first().value();
+		}
+
+		@Override
+		public final V last()
+		{
+			return FlatEqHashTable.this.last().value();
+		}
+
+		@Override
+		public final V poll()
+		{
+			return this.intSize() == 0 ? null : FlatEqHashTable.this.value(FlatEqHashTable.this.head);
+		}
+
+		@Override
+		public final V peek()
+		{
+			return this.intSize() == 0 ? null : FlatEqHashTable.this.value(FlatEqHashTable.this.end - 1);
+		}
+
+		@Override
+		public final long indexOf(final V value)
+		{
+			return AbstractArrayStorage.forwardIndexOf(this.data(), 0, this.intSize(), value);
+		}
+
+		@Override
+		public final long indexBy(final Predicate<? super V> predicate)
+		{
+			return AbstractArrayStorage.forwardConditionalIndexOf(this.data(), 0, this.intSize(), predicate);
+		}
+
+		@Override
+		public final boolean isSorted(final Comparator<? super V> comparator)
+		{
+			return AbstractArrayStorage.isSorted(this.data(), this.intSize(), comparator);
+		}
+
+		@Override
+		public final long lastIndexOf(final V value)
+		{
+			return AbstractArrayStorage.reverseIndexOf(this.data(), this.intSize() - 1, 0, value);
+		}
+
+		@Override
+		public final long lastIndexBy(final Predicate<? super V> predicate)
+		{
+			return AbstractArrayStorage.lastIndexOf(this.data(), this.intSize(), predicate);
+		}
+
+		@Override
+		public final long maxIndex(final Comparator<? super V> comparator)
+		{
+			return AbstractArrayStorage.maxIndex(this.data(), this.intSize(), comparator);
+		}
+
+		@Override
+		public final long minIndex(final Comparator<? super V> comparator)
+		{
+			return AbstractArrayStorage.minIndex(this.data(), this.intSize(), comparator);
+		}
+
+		@Override
+		public final long scan(final Predicate<? super V> predicate)
+		{
+			return AbstractArrayStorage.forwardScan(this.data(), 0, this.intSize(), predicate);
+		}
+
+		@Override
+		public final <C extends Consumer<? super V>> C moveSelection(final C target, final long... indices)
+		{
+			this.copySelection(target, indices);
+			FlatEqHashTable.this.removeIndexSelection(indices);
+			return target;
+		}
+
+		@Override
+		public final V removeAt(final long index)
+		{
+			return FlatEqHashTable.this.removeAt(index).value();
+		}
+
+		@Override
+		public final V fetch()
+		{
+			return FlatEqHashTable.this.fetch().value();
+		}
+
+		@Override
+		public final V pop()
+		{
+			return FlatEqHashTable.this.pop().value();
+		}
+
+		@Override
+		public final V pinch()
+		{
+			final KeyValue<K, V> entry;
+			return (entry = FlatEqHashTable.this.pinch()) == null ? null : entry.value();
+		}
+
+		@Override
+		public final V pick()
+		{
+			final KeyValue<K, V> entry;
+			return (entry = FlatEqHashTable.this.pick()) == null ? null : entry.value();
+		}
+
+		@Override
+		public final V retrieve(final V value)
+		{
+			final long index;
+			return (index = this.indexOf(value)) >= 0 ? this.removeAt(index) : null;
+		}
+
+		@Override
+		public final V retrieveBy(final Predicate<? super V> predicate)
+		{
+			final long index;
+			return (index = this.indexBy(predicate)) >= 0 ? this.removeAt(index) : null;
+		}
+
+		@Override
+		public final boolean removeOne(final V element)
+		{
+			final long index;
+			if((index = this.indexOf(element)) < 0)
+			{
+				return false;
+			}
+			this.removeAt(index);
+			return true;
+		}
+
+		@Override
+		public final Values removeRange(final long startIndex, final long length)
+		{
+			FlatEqHashTable.this.removeIndexRange(startIndex, length);
+			return this;
+		}
+
+		@Override
+		public final Values retainRange(final long startIndex, final long length)
+		{
+			FlatEqHashTable.this.retainIndexRange(startIndex, length);
+			return this;
+		}
+
+		@Override
+		public final long removeSelection(final long[] indices)
+		{
+			return FlatEqHashTable.this.removeIndexSelection(indices);
+		}
+
+		@Override
+		public final void clear()
+		{
+			FlatEqHashTable.this.clear();
+		}
+
+		@Override
+		public final long consolidate()
+		{
+			return FlatEqHashTable.this.consolidate();
+		}
+
+		@Override
+		public final <C extends Consumer<? super V>> C moveTo(final C target, final Predicate<? super V> predicate)
+		{
+			FlatEqHashTable.this.removeIndices(p ->
+			{
+				final V value = FlatEqHashTable.this.value(p);
+				if(!predicate.test(value))
+				{
+					return false;
+				}
+				target.accept(value);
+				return true;
+			});
+			return target;
+		}
+
+		@Override
+		public final long nullRemove()
+		{
+			return this.remove(null);
+		}
+
+		@Override
+		public final long optimize()
+		{
+			return FlatEqHashTable.this.optimize();
+		}
+
+		@Override
+		public final <P extends Consumer<? super V>> P process(final P procedure)
+		{
+			FlatEqHashTable.this.removeIndices(p ->
+			{
+				procedure.accept(FlatEqHashTable.this.value(p));
+				return true;
+			});
+			return procedure;
+		}
+
+		@Override
+		public final long removeBy(final Predicate<? super V> predicate)
+		{
+			return FlatEqHashTable.this.removeIndices(p -> predicate.test(FlatEqHashTable.this.value(p)));
+		}
+
+		@Override
+		public final long remove(final V value)
+		{
+			return FlatEqHashTable.this.removeIndices(p -> FlatEqHashTable.this.valueData[p] == value);
+		}
+
+		@Override
+		public final long removeAll(final XGettingCollection<? extends V> values)
+		{
+			return FlatEqHashTable.this.removeIndices(p ->
+				values.containsSearched(v -> v == FlatEqHashTable.this.valueData[p])
+			);
+		}
+
+		@Override
+		public final long removeDuplicates()
+		{
+			return this.removeDuplicates(Equalator.identity());
+		}
+
+		@Override
+		public final long removeDuplicates(final Equalator<? super V> equalator)
+		{
+			// the value array is compacted while testing, so the tested values are compared on a copy.
+			final V[]       values  = Arrays.copyOf(this.data(), this.intSize());
+			final boolean[] removed = new boolean[values.length];
+			return FlatEqHashTable.this.removeIndices(p ->
+			{
+				for(int q = 0; q < p; q++)
+				{
+					if(!removed[q] && equalator.equal(values[q], values[p]))
+					{
+						return removed[p] = true;
+					}
+				}
+				return false;
+			});
+		}
+
+		@Override
+		public final long retainAll(final XGettingCollection<? extends V> values)
+		{
+			return FlatEqHashTable.this.removeIndices(p ->
+				!values.containsSearched(v -> v == FlatEqHashTable.this.valueData[p])
+			);
+		}
+
+		@Override
+		public final void truncate()
+		{
+			FlatEqHashTable.this.truncate();
+		}
+
+		@Override
+		public final Values fill(final long offset, final long length, final V value)
+		{
+			AbstractArrayStorage.fill(
+				this.data(),
+				this.intSize(),
+				X.checkArrayRange(offset),
+				X.checkArrayRange(length),
+				value
+			);
+			return this;
+		}
+
+		@Override
+		public final long replace(final V value, final V replacement)
+		{
+			return AbstractArrayStorage.replace(this.data(), this.intSize(), value, replacement);
+		}
+
+		@Override
+		public final long replaceAll(final XGettingCollection<? extends V> values, final V replacement)
+		{
+			return AbstractArrayStorage.replaceAll(
+				this.data(),
+				this.intSize(),
+				values,
+				replacement,
+				AbstractArrayCollection.<V>marker()
+			);
+		}
+
+		@Override
+		public final long substitute(final Function<? super V, ? extends V> mapper)
+		{
+			return AbstractArrayStorage.substitute(this.data(), this.intSize(), mapper);
+		}
+
+		@Override
+		public final long substitute(final Predicate<? super V> predicate, final Function<V, V> mapper)
+		{
+			return AbstractArrayStorage.substitute(this.data(), this.intSize(), predicate, mapper);
+		}
+
+		@Override
+		public final boolean replaceOne(final V value, final V replacement)
+		{
+			return AbstractArrayStorage.replaceOne(this.data(), this.intSize(), value, replacement);
+		}
+
+		@Override
+		public final Values reverse()
+		{
+			FlatEqHashTable.this.reversePositions();
+			return this;
+		}
+
+		@Override
+		public final boolean set(final long index, final V value)
+		{
+			return this.setGet(index, value) == value;
+		}
+
+		@Override
+		public final V setGet(final long index, final V value)
+		{
+			AbstractExtendedCollection.validateIndex(this.intSize(), index);
+			final V[] data = this.data();
+			final V   old  = data[(int)index];
+			data[(int)index] = value;
+			return old;
+		}
+
+		@Override
+		public final Values setAll(final long offset, @SuppressWarnings("unchecked") final V... values)
+		{
+			AbstractExtendedCollection.validateIndex(this.intSize(), offset);
+			AbstractExtendedCollection.validateIndex(this.intSize(), offset + values.length - 1);
+			System.arraycopy(values, 0, this.data(), (int)offset, values.length);
+			return this;
+		}
+
+		@Override
+		public final Values set(final long offset, final V[] src, final int srcIndex, final int srcLength)
+		{
+			AbstractArrayStorage.set(this.data(), this.intSize(), X.checkArrayRange(offset), src, srcIndex, srcLength);
+			return this;
+		}
+
+		@Override
+		public final Values set(
+			final long                          offset      ,
+			final XGettingSequence<? extends V> values      ,
+			final long                          valuesOffset,
+			final long                          valuesLength
+		)
+		{
+			@SuppressWarnings("unchecked")
+			final V[] array = (V[])values.toArray();
+			return this.set(offset, array, X.checkArrayRange(valuesOffset), X.checkArrayRange(valuesLength));
+		}
+
+		@Override
+		public final void setFirst(final V value)
+		{
+			this.setGet(0, value);
+		}
+
+		@Override
+		public final void setLast(final V value)
+		{
+			this.setGet(this.intSize() - 1, value);
+		}
+
+		@Override
+		public final Values sort(final Comparator<? super V> comparator)
+		{
+			FlatEqHashTable.this.sortPositions((a, b) ->
+				comparator.compare(FlatEqHashTable.this.value(a), FlatEqHashTable.this.value(b))
+			);
+			return this;
+		}
+
+		@Override
+		public final long replace(final Predicate<? super V> predicate, final V substitute)
+		{
+			return AbstractArrayStorage.substitute(this.data(), this.intSize(), predicate, substitute);
+		}
+
+		@Override
+		public final boolean replaceOne(final Predicate<? super V> predicate, final V substitute)
+		{
+			return AbstractArrayStorage.substituteOne(this.data(), this.intSize(), predicate, substitute);
+		}
+
+		@Override
+		public final Values shiftTo(final long sourceIndex, final long targetIndex)
+		{
+			FlatEqHashTable.this.shiftPositions(sourceIndex, targetIndex, 1);
+			return this;
+		}
+
+		@Override
+		public final Values shiftTo(final long sourceIndex, final long targetIndex, final long length)
+		{
+			FlatEqHashTable.this.shiftPositions(sourceIndex, targetIndex, length);
+			return this;
+		}
+
+		@Override
+		public final Values shiftBy(final long sourceIndex, final long distance)
+		{
+			FlatEqHashTable.this.shiftPositions(sourceIndex, sourceIndex + distance, 1);
+			return this;
+		}
+
+		@Override
+		public final Values shiftBy(final long sourceIndex, final long distance, final long length)
+		{
+			FlatEqHashTable.this.shiftPositions(sourceIndex, sourceIndex + distance, length);
+			return this;
+		}
+
+		@Override
+		public final Values swap(final long indexA, final long indexB)
+		{
+			FlatEqHashTable.this.swapPositions(indexA, indexB);
+			return this;
+		}
+
+		@Override
+		public final Values swap(final long indexA, final long indexB, final long length)
+		{
+			FlatEqHashTable.this.swapPositions(indexA, indexB, length);
+			return this;
+		}
+
+		final class ValuesItr implements ListIterator<V>
+		{
+			///////////////////////////////////////////////////////////////////////////
+			// instance fields //
+			////////////////////
+
+			private int index, lastIndex = -1;
+
+
+
+			///////////////////////////////////////////////////////////////////////////
+			// constructors //
+			/////////////////
+
+			ValuesItr(final int index)
+			{
+				super();
+				this.index = index;
+			}
+
+
+
+			///////////////////////////////////////////////////////////////////////////
+			// methods //
+			////////////
+
+			@Override
+			public boolean hasNext()
+			{
+				return this.index < Values.this.intSize();
+			}
+
+			@Override
+			public V next()
+			{
+				if(!this.hasNext())
+				{
+					throw new NoSuchElementException();
+				}
+				return Values.this.data()[this.lastIndex = this.index++];
+			}
+
+			@Override
+			public boolean hasPrevious()
+			{
+				return this.index > 0;
+			}
+
+			@Override
+			public V previous()
+			{
+				if(!this.hasPrevious())
+				{
+					throw new NoSuchElementException();
+				}
+				return Values.this.data()[this.lastIndex = --this.index];
+			}
+
+			@Override
+			public int nextIndex()
+			{
+				return this.index;
+			}
+
+			@Override
+			public int previousIndex()
+			{
+				return this.index - 1;
+			}
+
+			@Override
+			public void remove()
+			{
+				if(this.lastIndex < 0)
+				{
+					throw new IllegalStateException();
+				}
+				Values.this.removeAt(this.lastIndex);
+				this.index = this.lastIndex;
+				this.lastIndex = -1;
+			}
+
+			@Override
+			public void set(final V value)
+			{
+				if(this.lastIndex < 0)
+				{
+					throw new IllegalStateException();
+				}
+				Values.this.setGet(this.lastIndex, value);
+			}
+
+			@Override
+			public void add(final V value)
+			{
+				// a value cannot be added without a key
+				throw new UnsupportedOperationException();
+			}
+
+		}
+
+		public final class OldValues extends AbstractOldSettingList<V>
+		{
+			protected OldValues()
+			{
+				super(Values.this);
+			}
+
+			@Override
+			public final Values parent()
+			{
+				return (Values)super.parent();
+			}
+
+		}
+
+	}
+
+
+
+	public final class OldEntries extends AbstractBridgeXSet<KeyValue<K, V>> implements XTable.EntriesBridge<K, V>
+	{
+		OldEntries()
+		{
+			super(FlatEqHashTable.this);
+		}
+
+		@Override
+		public final FlatEqHashTable<K, V> parent()
+		{
+			return FlatEqHashTable.this;
+		}
+
+	}
+
+
+
+	public final class OldVarMap implements XTable.Bridge<K, V>
+	{
+		@Override
+		public final void clear()
+		{
+			FlatEqHashTable.this.clear();
+		}
+
+		@SuppressWarnings("unchecked")
+		@Override
+		public final boolean containsKey(final Object key)
+		{
+			try
+			{
+				return FlatEqHashTable.this.containsKey((K)key);
+			}
+			catch(final Exception e)
+			{
+				// see EqHashTable.OldVarMap: an invalid key type cannot be safely detected otherwise.
+				return false;
+			}
+		}
+
+		@SuppressWarnings("unchecked")
+		@Override
+		public final boolean containsValue(final Object value)
+		{
+			try
+			{
+				return FlatEqHashTable.this.values.contains((V)value);
+			}
+			catch(final Exception e)
+			{
+				return false;
+			}
+		}
+
+		@SuppressWarnings("unchecked")
+		@Override
+		public final Set<java.util.Map.Entry<K, V>> entrySet()
+		{
+			// same generics workaround as in EqHashTable.OldVarMap#entrySet()
+			return (Set<java.util.Map.Entry<K, V>>)(Set<?>)FlatEqHashTable.this.old();
+		}
+
+		@SuppressWarnings("unchecked")
+		@Override
+		public final V get(final Object key)
+		{
+			try
+			{
+				return FlatEqHashTable.this.get((K)key);
+			}
+			catch(final Exception e)
+			{
+				return null;
+			}
+		}
+
+		@Override
+		public final boolean isEmpty()
+		{
+			return FlatEqHashTable.this.isEmpty();
+		}
+
+		@Override
+		public final Set<K> keySet()
+		{
+			return FlatEqHashTable.this.keys().old();
+		}
+
+		@Override
+		public final V put(final K key, final V value)
+		{
+			return FlatEqHashTable.this.oldPutGet(key, value);
+		}
+
+		@SuppressWarnings("unchecked")
+		@Override
+		public final void putAll(final Map<? extends K, ? extends V> m)
+		{
+			if(m instanceof XGettingMap.Bridge<?, ?>)
+			{
+				FlatEqHashTable.this.addAll(((XGettingMap.Bridge<K, V>)m).parent());
+				return;
+			}
+
+			final FlatEqHashTable<K, V> parent = FlatEqHashTable.this;
+			for(final Map.Entry<? extends K, ? extends V> entry : m.entrySet())
+			{
+				parent.put(entry.getKey(), entry.getValue());
+			}
+		}
+
+		@SuppressWarnings("unchecked")
+		@Override
+		public final V remove(final Object key)
+		{
+			try
+			{
+				return FlatEqHashTable.this.removeFor((K)key);
+			}
+			catch(final Exception e)
+			{
+				return null;
+			}
+		}
+
+		@Override
+		public final int size()
+		{
+			return FlatEqHashTable.this.size;
+		}
+
+		@Override
+		public final Collection<V> values()
+		{
+			return FlatEqHashTable.this.values.old();
+		}
+
+		@Override
+		public final FlatEqHashTable<K, V> parent()
+		{
+			return FlatEqHashTable.this;
+		}
+
+	}
+
+}
@@ -0,0 +1,1850 @@
+package one.microstream.collections;
+
+/*-
+ * #%L
+ * microstream-base
+ * %%
+ * Copyright (C) 2019 - 2022 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+import static one.microstream.collections.HashSet_long.tableLength;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.IntUnaryOperator;
+import java.util.function.Predicate;
+
+import one.microstream.X;
+import one.microstream.collections.interfaces.CapacityExtendable;
+import one.microstream.collections.interfaces.HashCollection;
+import one.microstream.collections.old.AbstractBridgeXSet;
+import one.microstream.collections.types.XEnum;
+import one.microstream.collections.types.XGettingCollection;
+import one.microstream.collections.types.XGettingSequence;
+import one.microstream.equality.Equalator;
+import one.microstream.equality.IdentityEqualityLogic;
+import one.microstream.exceptions.ArrayCapacityException;
+import one.microstream.exceptions.IndexBoundsException;
+import one.microstream.functional.IndexedAcceptor;
+import one.microstream.hashing.HashEqualator;
+import one.microstream.hashing.XHashing;
+import one.microstream.typing.Composition;
+import one.microstream.typing.KeyValue;
+import one.microstream.typing.XTypes;
+
+
+/**
+ * Collection that is ordered and does not allow duplicates, with the same identity-based logic as {@link HashEnum}.
+ * <p>
+ * In contrast to {@link HashEnum}, this implementation does not create an entry instance per element.
+ * The elements are kept in insertion order in a plain array, accompanied by an open addressing table of
+ * <code>int</code> positions into that array. This reduces the memory footprint per element considerably and
+ * lets iterations run over contiguous memory.
+ * <p>
+ * Removing an element leaves a gap in the element array that is closed lazily, i.e. before the next
+ * index-based operation or when the array would have to grow otherwise. Hence index-based operations right after
+ * removals as well as inserting, prepending and reordering are linear in the enum's size.
+ * <p>
+ * The hash density is kept as a configuration value (e.g. for {@link #immure()} and for persisting),
+ * but the position table always keeps its load at 75% at most.
+ * <p>
+ * This implementation is <b>not</b> synchronized and thus should only be used by a
+ * single thread or in a thread-safe manner (i.e. read-only as soon as multiple threads access it).
+ *
+ * @param <E> type of contained elements
+ */
+public final class FlatHashEnum<E> implements XEnum<E>, HashCollection<E>, Composition, IdentityEqualityLogic
+{
+	///////////////////////////////////////////////////////////////////////////
+	// constants //
+	//////////////
+
+	// marks the position of a removed element until the element array gets compacted.
+	private static final Object REMOVED = new Object();
+
+	// the position table must stay addressable by an int power of 2.
+	static final int MAXIMUM_CAPACITY = 1 << 29;
+
+
+
+	///////////////////////////////////////////////////////////////////////////
+	// static methods //
+	///////////////////
+
+	public static final <E> FlatHashEnum<E> New()
+	{
+		return new FlatHashEnum<>(DEFAULT_HASH_LENGTH, DEFAULT_HASH_FACTOR);
+	}
+
+	public static final <E> FlatHashEnum<E> NewCustom(final long initialCapacity)
+	{
+		return new FlatHashEnum<>(X.checkArrayRange(initialCapacity), DEFAULT_HASH_FACTOR);
+	}
+
+	public static final <E> FlatHashEnum<E> NewCustom(final float hashDensity)
+	{
+		return new FlatHashEnum<>(DEFAULT_HASH_LENGTH, XHashing.validateHashDensity(hashDensity));
+	}
+
+	public static final <E> FlatHashEnum<E> NewCustom(final long initialCapacity, final float hashDensity)
+	{
+		return new FlatHashEnum<>(X.checkArrayRange(initialCapacity), XHashing.validateHashDensity(hashDensity));
+	}
+
+	@SafeVarargs
+	public static final <E> FlatHashEnum<E> New(final E... elements)
+	{
+		return new FlatHashEnum<E>(elements.length, DEFAULT_HASH_FACTOR).addAll(elements);
+	}
+
+	public static final <E> FlatHashEnum<E> New(final XGettingCollection<? extends E> elements)
+	{
+		return new FlatHashEnum<E>(
+			X.checkArrayRange(elements.size()),
+			DEFAULT_HASH_FACTOR
+		).addAll(elements);
+	}
+
+	static int capacity(final int requiredCapacity)
+	{
+		if(requiredCapacity > MAXIMUM_CAPACITY)
+		{
+			throw new ArrayCapacityException(requiredCapacity);
+		}
+		int capacity = 1;
+		while(capacity < requiredCapacity)
+		{
+			capacity <<= 1;
+		}
+		return capacity;
+	}
+
+	/**
+	 * Returns the table index of the passed hash value, spreading it so that all of its bits affect the index.
+	 */
+	static int index(final int hash, final int mask)
+	{
+		final int spread = hash * 0x9E3779B9;
+		return (spread ^ spread >>> 16) & mask;
+	}
+
+	/**
+	 * Analyzes the probe sequence lengths of the passed position table as the open addressing equivalent of
+	 * hash chain lengths. The passed function has to return the table index of the element at a given position.
+	 */
+	static <C extends HashCollection<?>> HashCollection.Analysis<C> analyzeSlots(
+		final C                hashCollection,
+		final int[]            slots         ,
+		final IntUnaryOperator homeIndex
+	)
+	{
+		final int   mask         = slots.length - 1;
+		final int[] distribution = new int[slots.length + 1];
+
+		for(int i = 0; i < slots.length; i++)
+		{
+			// empty slots are counted as probe length 0
+			distribution[slots[i] == 0 ? 0 : (i - homeIndex.applyAsInt(slots[i] - 1) & mask) + 1]++;
+		}
+
+		final BulkList<KeyValue<Integer, Integer>> result = BulkList.New();
+
+		int shortestProbeLength = Integer.MAX_VALUE;
+		int longestProbeLength  = 0;
+		for(int length = 0; length < distribution.length; length++)
+		{
+			if(distribution[length] == 0)
+			{
+				continue;
+			}
+			if(length > 0)
+			{
+				shortestProbeLength = Math.min(shortestProbeLength, length);
+				longestProbeLength  = Math.max(longestProbeLength , length);
+			}
+			result.add(X.KeyValue(length, distribution[length]));
+		}
+
+		return new HashCollection.Analysis<>(
+			hashCollection,
+			XTypes.to_int(hashCollection.size()),
+			hashCollection.hashDensity(),
+			slots.length,
+			shortestProbeLength,
+			longestProbeLength,
+			XTypes.to_int(result.size()),
+			result.immure()
+		);
+	}
+
+
+
+	///////////////////////////////////////////////////////////////////////////
+	// instance fields //
+	////////////////////
+
+	// elements in insertion order, removed elements are marked until the next compaction.
+	Object[] data ;
+	// positions of the contained elements in data, incremented by 1 to let 0 mark a free slot.
+	int[]    slots;
+	// bounds of the used positions, no element is contained outside of them.
+	int      head , end;
+
+	int      size ;
+
+	// hashing
+	float    hashDensity;
+
+
+
+	///////////////////////////////////////////////////////////////////////////
+	// constructors //
+	/////////////////
+
+	private FlatHashEnum(final int initialCapacity, final float hashDensity)
+	{
+		super();
+		final int capacity = capacity(initialCapacity);
+		this.data        = new Object[capacity];
+		this.slots       = new int[tableLength(capacity)];
+		this.hashDensity = hashDensity;
+	}
+
+	private FlatHashEnum(final FlatHashEnum<E> original)
+	{
+		super();
+		this.data        = original.data.clone();
+		this.slots       = original.slots.clone();
+		this.head        = original.head;
+		this.end         = original.end;
+		this.size        = original.size;
+		this.hashDensity = original.hashDensity;
+	}
+
+
+
+	///////////////////////////////////////////////////////////////////////////
+	// declared methods //
+	/////////////////////
+
+	private static int index(final Object element, final int mask)
+	{
+		return index(System.identityHashCode(element), mask);
+	}
+
+	/**
+	 * Returns the slot of the passed element or the one's complement of the free slot it would occupy.
+	 */
+	private int lookup(final Object element)
+	{
+		final Object[] data  = this.data ;
+		final int[]    slots = this.slots;
+		final int      mask  = slots.length - 1;
+
+		int i = index(element, mask);
+		for(int p; (p = slots[i]) != 0; i = i + 1 & mask)
+		{
+			if(data[p - 1] == element)
+			{
+				return i;
+			}
+		}
+		return ~i;
+	}
+
+	private void append(final Object element, final int freeSlot)
+	{
+		int slot = freeSlot;
+		if(this.end == this.data.length)
+		{
+			this.makeRoom();
+			slot = ~this.lookup(element);
+		}
+		this.data[this.end] = element;
+		this.slots[slot] = ++this.end;
+		this.size++;
+	}
+
+	private void makeRoom()
+	{
+		// reusing the positions of removed elements is preferred as long as it frees at least a quarter of them.
+		final int removedCount = this.end - this.size;
+		if(removedCount > 0 && removedCount >= this.data.length >> 2)
+		{
+			this.rebuild(this.data.length);
+		}
+		else
+		{
+			this.rebuild(capacity(this.data.length + 1));
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private E removeSlot(final int slot)
+	{
+		final Object[] data     = this.data;
+		final int      position = this.slots[slot] - 1;
+		final E        element  = (E)data[position];
+
+		this.shiftSlots(slot);
+		data[position] = REMOVED;
+
+		if(--this.size == 0)
+		{
+			Arrays.fill(data, this.head, this.end, null);
+			this.head = this.end = 0;
+		}
+		else if(position == this.head)
+		{
+			while(data[++this.head] == REMOVED)
+			{
+				// skip leading removed positions
+			}
+		}
+		else if(position == this.end - 1)
+		{
+			do
+			{
+				data[--this.end] = null;
+			}
+			while(data[this.end - 1] == REMOVED);
+		}
+
+		return element;
+	}
+
+	/**
+	 * Closes the gap at the passed slot by moving back following positions of the same probe sequence.
+	 */
+	private void shiftSlots(final int slot)
+	{
+		final Object[] data  = this.data ;
+		final int[]    slots = this.slots;
+		final int      mask  = slots.length - 1;
+		for(int last = slot, i;;)
+		{
+			for(i = last + 1 & mask;; i = i + 1 & mask)
+			{
+				final int p;
+				if((p = slots[i]) == 0)
+				{
+					slots[last] = 0;
+					return;
+				}
+				// the position may only move back if its home slot is not between the gap and its slot.
+				final int home = index(data[p - 1], mask);
+				if(last <= i ? last >= home || home > i : last >= home && home > i)
+				{
+					break;
+				}
+			}
+			slots[last] = slots[i];
+			last = i;
+		}
+	}
+
+	/**
+	 * Moves all contained elements to the start of an element array of the passed capacity
+	 * and rebuilds the position table accordingly.
+	 */
+	private void rebuild(final int capacity)
+	{
+		final Object[] data    = this.data;
+		final Object[] newData = capacity == data.length ? data : new Object[capacity];
+
+		int n = 0;
+		for(int p = this.head; p < this.end; p++)
+		{
+			if(data[p] != REMOVED)
+			{
+				newData[n++] = data[p];
+			}
+		}
+		if(newData == data)
+		{
+			Arrays.fill(data, n, this.end, null);
+		}
+
+		this.data = newData;
+		this.head = 0;
+		this.end  = n;
+
+		final int tableLength = tableLength(capacity);
+		if(this.slots.length == tableLength)
+		{
+			Arrays.fill(this.slots, 0);
+		}
+		else
+		{
+			this.slots = new int[tableLength];
+		}
+		this.hashPositions();
+	}
+
+	/**
+	 * Enters all positions of the compacted element array into the empty position table.
+	 */
+	private void hashPositions()
+	{
+		final Object[] data  = this.data ;
+		final int[]    slots = this.slots;
+		final int      mask  = slots.length - 1;
+		for(int p = 0; p < this.end; p++)
+		{
+			int i = index(data[p], mask);
+			while(slots[i] != 0)
+			{
+				i = i + 1 & mask;
+			}
+			slots[i] = p + 1;
+		}
+	}
+
+	/**
+	 * Rebuilds the position table after the compacted element array has been reordered.
+	 */
+	private void reindex()
+	{
+		Arrays.fill(this.slots, 0);
+		this.hashPositions();
+	}
+
+	/**
+	 * Rebuilds the position table after elements of the compacted element array have been replaced,
+	 * removing all but the first occurrence of elements that are contained more than once.
+	 */
+	private int rehashPositions()
+	{
+		final Object[] data  = this.data ;
+		final int[]    slots = this.slots;
+		final int      mask  = slots.length - 1;
+
+		Arrays.fill(slots, 0);
+		int removedCount = 0;
+		positions:
+		for(int p = 0; p < this.end; p++)
+		{
+			int i = index(data[p], mask);
+			for(int q; (q = slots[i]) != 0; i = i + 1 & mask)
+			{
+				if(data[q - 1] == data[p])
+				{
+					data[p] = REMOVED;
+					removedCount++;
+					continue positions;
+				}
+			}
+			slots[i] = p + 1;
+		}
+
+		if(removedCount != 0)
+		{
+			this.size -= removedCount;
+			this.rebuild(this.data.length);
+		}
+		return removedCount;
+	}
+
+	private void compact()
+	{
+		if(this.size != this.end)
+		{
+			this.rebuild(this.data.length);
+		}
+	}
+
+	/**
+	 * Returns the element array without any removed positions, so that positions equal indices.
+	 */
+	@SuppressWarnings("unchecked")
+	private E[] compacted()
+	{
+		this.compact();
+		return (E[])this.data;
+	}
+
+	/**
+	 * Updates the state after the passed number of elements has been removed from the compacted element array.
+	 */
+	private int removed(final int removedCount)
+	{
+		if(removedCount != 0)
+		{
+			this.size -= removedCount;
+			this.end   = this.size;
+			this.reindex();
+		}
+		return removedCount;
+	}
+
+	private int validateRange(final long startIndex, final long length)
+	{
+		final long bound = startIndex + length;
+		if(startIndex < 0 || length < 0 || bound > this.size)
+		{
+			throw new IndexExceededException(this.size, startIndex < 0 || length < 0 ? startIndex : bound);
+		}
+		return (int)startIndex;
+	}
+
+	private boolean internalInsert(final long index, final E element)
+	{
+		if(index < 0 || index > this.size)
+		{
+			throw new IndexExceededException(this.size, index);
+		}
+		if(this.lookup(element) >= 0)
+		{
+			return false;
+		}
+		if(this.end == this.data.length)
+		{
+			this.makeRoom();
+		}
+		final Object[] data = this.compacted();
+		System.arraycopy(data, (int)index, data, (int)index + 1, this.size - (int)index);
+		data[(int)index] = element;
+		this.end = ++this.size;
+		this.reindex();
+		return true;
+	}
+
+	private long internalInsertAll(final long index, final E[] elements, final int offset, final int length)
+	{
+		final int d;
+		if((d = XArrays.validateArrayRange(elements, offset, length)) == 0)
+		{
+			return 0;
+		}
+
+		long i = index;
+		final int bound = offset + length;
+		for(int e = offset; e != bound; e += d)
+		{
+			if(this.internalInsert(i, elements[e]))
+			{
+				i++;
+			}
+		}
+		return i - index;
+	}
+
+	private boolean moveToStart(final E element)
+	{
+		final int slot = this.lookup(element);
+		if(slot < 0)
+		{
+			return this.internalInsert(0, element);
+		}
+		// positions change by compacting, so the slot has to be looked up again.
+		this.compact();
+		this.shiftTo(this.slots[this.lookup(element)] - 1, 0);
+		return false;
+	}
+
+	/**
+	 * Replaces the element at the passed index, unless the passed element is contained at another index.
+	 */
+	private boolean internalSet(final long index, final E element)
+	{
+		final int      position = this.validateRange(index, 1);
+		final Object[] data     = this.compacted();
+
+		final int slot;
+		if((slot = this.lookup(element)) >= 0)
+		{
+			return this.slots[slot] - 1 == position;
+		}
+		this.shiftSlots(this.lookup(data[position]));
+		data[position] = element;
+		this.slots[~this.lookup(element)] = position + 1;
+		return true;
+	}
+
+	static IllegalArgumentException elementContainedElsewhere(final long index)
+	{
+		return new IllegalArgumentException("Element to be set at index " + index + " is contained at another index.");
+	}
+
+
+
+	///////////////////////////////////////////////////////////////////////////
+	// inheriteted ExtendedCollection methods //
+	///////////////////////////////////////////
+
+	@Override
+	public final boolean nullAllowed()
+	{
+		return true;
+	}
+
+	@Override
+	public final long size()
+	{
+		return this.size;
+	}
+
+	@Override
+	public final int rehash()
+	{
+		/* As the object header's identity hash value of any instance can never change, this method does
+		 * nothing more than optimizing the storage.
+		 */
+		this.optimize();
+		return this.size;
+	}
+
+	@Override
+	public final boolean isEmpty()
+	{
+		return this.size == 0;
+	}
+
+	@Override
+	public final void clear()
+	{
+		Arrays.fill(this.data, 0, this.end, null);
+		Arrays.fill(this.slots, 0);
+		this.head = this.end = this.size = 0;
+	}
+
+	@Override
+	public final void truncate()
+	{
+		this.data  = new Object[DEFAULT_HASH_LENGTH];
+		this.slots = new int[tableLength(DEFAULT_HASH_LENGTH)];
+		this.head  = this.end = this.size = 0;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * In a {@link FlatHashEnum} this closes the gaps left by removed elements and returns their number.
+	 */
+	@Override
+	public final long consolidate()
+	{
+		final int removedCount = this.end - this.head - this.size;
+		this.compact();
+		return removedCount;
+	}
+
+	@Override
+	public final CapacityExtendable ensureCapacity(final long minimalCapacity)
+	{
+		if(this.data.length < minimalCapacity)
+		{
+			this.rebuild(capacity(X.checkArrayRange(minimalCapacity)));
+		}
+		return this;
+	}
+
+	@Override
+	public final CapacityExtendable ensureFreeCapacity(final long requiredFreeCapacity)
+	{
+		if(this.data.length - this.end >= requiredFreeCapacity)
+		{
+			return this; // already enough free capacity
+		}
+		// overflow-safe check for unreachable capacity
+		if(Integer.MAX_VALUE - this.size < requiredFreeCapacity)
+		{
+			throw new ArrayCapacityException(requiredFreeCapacity + this.size);
+		}
+		this.rebuild(capacity(Math.max(this.data.length, this.size + (int)requiredFreeCapacity)));
+		return this;
+	}
+
+	@Override
+	public final long optimize()
+	{
+		final int capacity = capacity(Math.max(this.size, DEFAULT_HASH_LENGTH));
+		if(capacity != this.data.length || this.size != this.end)
+		{
+			this.rebuild(capacity);
+		}
+		return this.data.length;
+	}
+
+	@Override
+	public final FlatHashEnum<E> copy()
+	{
+		return new FlatHashEnum<>(this);
+	}
+
+	@Override
+	public final ConstHashEnum<E> immure()
+	{
+		return ConstHashEnum.NewCustom(this.hashDensity, this);
+	}
+
+	@Override
+	public final EnumView<E> view()
+	{
+		return new EnumView<>(this);
+	}
+
+	@Override
+	public final void setHashDensity(final float hashDensity)
+	{
+		this.hashDensity = XHashing.validateHashDensity(hashDensity);
+	}
+
+	@Override
+	public final boolean hasVolatileElements()
+	{
+		return false;
+	}
+
+	@Override
+	public final OldFlatHashEnum<E> old()
+	{
+		return new OldFlatHashEnum<>(this);
+	}
+
+	@Override
+	public final long currentCapacity()
+	{
+		return this.data.length;
+	}
+
+	@Override
+	public final long maximumCapacity()
+	{
+		return MAXIMUM_CAPACITY;
+	}
+
+	@Override
+	public final boolean isFull()
+	{
+		return this.size >= MAXIMUM_CAPACITY;
+	}
+
+	@Override
+	public final E addGet(final E element)
+	{
+		final int slot;
+		if((slot = this.lookup(element)) >= 0)
+		{
+			return element;
+		}
+		this.append(element, ~slot);
+		return null;
+	}
+
+	@Override
+	public final E deduplicate(final E element)
+	{
+		final int slot;
+		if((slot = this.lookup(element)) < 0)
+		{
+			this.append(element, ~slot);
+		}
+		// no need to replace a reference to the same instance.
+		return element;
+	}
+
+	@Override
+	public final E putGet(final E element)
+	{
+		final int slot;
+		if((slot = this.lookup(element)) >= 0)
+		{
+			// put is effectively a no-op in a reference-equality collection
+			return element;
+		}
+		this.append(element, ~slot);
+		return null;
+	}
+
+	@Override
+	public final E replace(final E element)
+	{
+		// no need to replace a reference to the same instance.
+		return this.lookup(element) >= 0 ? element : null;
+	}
+
+	/**
+	 * Adds the passed element if it is not yet contained. Return value indicates new entry.
+	 */
+	@Override
+	public final boolean add(final E element)
+	{
+		final int slot;
+		if((slot = this.lookup(element)) >= 0)
+		{
+			return false; // already contained
+		}
+		this.append(element, ~slot);
+		return true;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * In this implementation it overwrites equal, already contained elements.
+	 */
+	@Override
+	public final boolean put(final E element)
+	{
+		// put is effectively an add in a reference-equality collection
+		return this.add(element);
+	}
+
+	@Override
+	public final HashCollection.Analysis<FlatHashEnum<E>> analyze()
+	{
+		final Object[] data = this.data;
+		final int      mask = this.slots.length - 1;
+		return analyzeSlots(this, this.slots, p -> index(data[p], mask));
+	}
+
+	@Override
+	public final int hashDistributionRange()
+	{
+		return this.slots.length;
+	}
+
+	@Override
+	public final HashEqualator<E> hashEquality()
+	{
+		return XHashing.hashEqualityIdentity();
+	}
+
+	@Override
+	public final float hashDensity()
+	{
+		return this.hashDensity;
+	}
+
+	@Override
+	public final boolean hasVolatileHashElements()
+	{
+		return false;
+	}
+
+	@Override
+	public final String toString()
+	{
+		return AbstractArrayStorage.toString(this.compacted(), this.size);
+	}
+
+	@Override
+	public final FlatHashEnum<E> sort(final Comparator<? super E> comparator)
+	{
+		XSort.mergesort(this.compacted(), 0, this.size, comparator);
+		this.reindex();
+		return this;
+	}
+
+
+
+	///////////////////////////////////////////////////////////////////////////
+	// getting methods //
+	////////////////////
+
+	@Override
+	public final XEnum<E> range(final long lowIndex, final long highIndex)
+	{
+		throw new one.microstream.meta.NotImplementedYetError(); // FIXME FlatHashEnum#range()
+	}
+
+	@Override
+	public final EnumView<E> view(final long lowIndex, final long highIndex)
+	{
+		throw new one.microstream.meta.NotImplementedYetError(); // FIXME FlatHashEnum#view()
+	}
+
+	@Override
+	public final Object[] toArray()
+	{
+		return Arrays.copyOf(this.compacted(), this.size, Object[].class);
+	}
+
+	@Override
+	public final E[] toArray(final Class<E> type)
+	{
+		final E[] array;
+		System.arraycopy(this.compacted(), 0, array = X.Array(type, this.size), 0, this.size);
+		return array;
+	}
+
+	// executing //
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public final <P extends Consumer<? super E>> P iterate(final P procedure)
+	{
+		final Object[] data = this.data;
+		for(int p = this.head; p < this.end; p++)
+		{
+			if(data[p] != REMOVED)
+			{
+				procedure.accept((E)data[p]);
+			}
+		}
+		return procedure;
+	}
+
+	@Override
+	public final <A> A join(final BiConsumer<? super E, ? super A> joiner, final A aggregate)
+	{
+		AbstractArrayStorage.join(this.compacted(), this.size, joiner, aggregate);
+		return aggregate;
+	}
+
+	@Override
+	public final long count(final E element)
+	{
+		return this.lookup(element) >= 0 ? 1 : 0;
+	}
+
+	@Override
+	public final long countBy(final Predicate<? super E> predicate)
+	{
+		return AbstractArrayStorage.forwardConditionalCount(this.compacted(), 0, this.size, predicate);
+	}
+
+	// element querying //
+
+	@Override
+	public final E search(final Predicate<? super E> predicate)
+	{
+		return AbstractArrayStorage.forwardSearchElement(this.compacted(), 0, this.size, predicate, null);
+	}
+
+	@Override
+	public final E max(final Comparator<? super E> comparator)
+	{
+		return AbstractArrayStorage.max(this.compacted(), this.size, comparator);
+	}
+
+	@Override
+	public final E min(final Comparator<? super E> comparator)
+	{
+		return AbstractArrayStorage.min(this.compacted(), this.size, comparator);
+	}
+
+	// boolean querying - applies //
+
+	@Override
+	public final boolean containsSearched(final Predicate<? super E> predicate)
+	{
+		return AbstractArrayStorage.forwardContains(this.compacted(), 0, this.size, predicate);
+	}
+
+	@Override
+	public final boolean applies(final Predicate<? super E> predicate)
+	{
+		return AbstractArrayStorage.forwardApplies(this.compacted(), 0, this.size, predicate);
+	}
+
+	// boolean querying - contains //
+
+	@Override
+	public final boolean nullContained()
+	{
+		return this.lookup(null) >= 0;
+	}
+
+	@Override
+	public final boolean containsId(final E element)
+	{
+		return this.lookup(element) >= 0;
+	}
+
+	@Override
+	public final boolean contains(final E element)
+	{
+		return this.lookup(element) >= 0;
+	}
+
+	@Override
+	public final E seek(final E sample)
+	{
+		return this.lookup(sample) >= 0 ? sample : null;
+	}
+
+	// boolean querying - equality //
+
+	@Override
+	public final boolean equals(final XGettingCollection<? extends E> samples, final Equalator<? super E> equalator)
+	{
+		if(samples == null || !(samples instanceof FlatHashEnum<?>))
+		{
+			return false;
+		}
+		if(samples == this)
+		{
+			return true;
+		}
+		return this.equalsContent(samples, equalator);
+	}
+
+	@Override
+	public final boolean equalsContent(final XGettingCollection<? extends E> samples, final Equalator<? super E> equalator)
+	{
+		if(samples == null || XTypes.to_int(samples.size()) != this.size)
+		{
+			return false;
+		}
+		if(samples == this)
+		{
+			return true;
+		}
+		return AbstractArrayStorage.equalsContent(this.compacted(), this.size, samples, equalator);
+	}
+
+	// data set procedures //
+
+	@Override
+	public final <C extends Consumer<? super E>> C intersect(
+		final XGettingCollection<? extends E> other,
+		final Equalator<? super E> equalator,
+		final C target
+	)
+	{
+		return AbstractArrayStorage.intersect(this.compacted(), this.size, other, equalator, target);
+	}
+
+	@Override
+	public final <C extends Consumer<? super E>> C except(
+		final XGettingCollection<? extends E> other,
+		final Equalator<? super E> equalator,
+		final C target
+	)
+	{
+		return AbstractArrayStorage.except(this.compacted(), this.size, other, equalator, target);
+	}
+
+	@Override
+	public final <C extends Consumer<? super E>> C union(
+		final XGettingCollection<? extends E> other,
+		final Equalator<? super E> equalator,
+		final C target
+	)
+	{
+		return AbstractArrayStorage.union(this.compacted(), this.size, other, equalator, target);
+	}
+
+	@Override
+	public final <C extends Consumer<? super E>> C copyTo(final C target)
+	{
+		if(target == this)
+		{
+			return target; // copying a set logic collection to itself would be a no-op, so spare the effort
+		}
+		return AbstractArrayStorage.forwardCopyTo(this.compacted(), 0, this.size, target);
+	}
+
+	@Override
+	public final <C extends Consumer<? super E>> C filterTo(final C target, final Predicate<? super E> predicate)
+	{
+		return AbstractArrayStorage.forwardCopyTo(this.compacted(), 0, this.size, target, predicate);
+	}
+
+	@Override
+	public final <C extends Consumer<? super E>> C distinct(final C target)
+	{
+		// all elements are distinct by definition
+		return this.copyTo(target);
+	}
+
+	@Override
+	public final <C extends Consumer<? super E>> C distinct(final C target, final Equalator<? super E> equalator)
+	{
+		return AbstractArrayStorage.distinct(this.compacted(), this.size, target, equalator);
+	}
+
+
+
+	///////////////////////////////////////////////////////////////////////////
+	// adding //
+	///////////
+
+	@Override
+	public final boolean nullAdd()
+	{
+		return this.add(null);
+	}
+
+	@SafeVarargs
+	@Override
+	public final FlatHashEnum<E> addAll(final E... elements)
+	{
+		for(int i = 0, len = elements.length; i < len; i++)
+		{
+			this.add(elements[i]);
+		}
+		return this;
+	}
+
+	@Override
+	public final FlatHashEnum<E> addAll(final E[] elements, final int srcIndex, final int srcLength)
+	{
+		final int d;
+		if((d = XArrays.validateArrayRange(elements, srcIndex, srcLength)) == 0)
+		{
+			return this;
+		}
+
+		final int bound = srcIndex + srcLength;
+		for(int i = srcIndex; i != bound; i += d)
+		{
+			this.add(elements[i]);
+		}
+
+		return this;
+	}
+
+	@Override
+	public final FlatHashEnum<E> addAll(final XGettingCollection<? extends E> elements)
+	{
+		elements.iterate(this::add);
+		return this;
+	}
+
+	@Override
+	public final boolean nullPut()
+	{
+		return this.put(null);
+	}
+
+	@Override
+	public final void accept(final E element)
+	{
+		this.put(element);
+	}
+
+	@SafeVarargs
+	@Override
+	public final FlatHashEnum<E> putAll(final E... elements)
+	{
+		return this.addAll(elements);
+	}
+
+	@Override
+	public final FlatHashEnum<E> putAll(final E[] elements, final int srcIndex, final int srcLength)
+	{
+		return this.addAll(elements, srcIndex, srcLength);
+	}
+
+	@Override
+	public final FlatHashEnum<E> putAll(final XGettingCollection<? extends E> elements)
+	{
+		return this.addAll(elements);
+	}
+
+
+
+	///////////////////////////////////////////////////////////////////////////
+	// removing //
+	/////////////
+
+	@Override
+	public final long remove(final E element)
+	{
+		return this.removeOne(element) ? 1 : 0;
+	}
+
+	@Override
+	public final long substitute(final Function<? super E, ? extends E> mapper)
+	{
+		final E[] data = this.compacted();
+
+		long replacedCount = 0;
+		for(int p = 0; p < this.size; p++)
+		{
+			final E element = mapper.apply(data[p]);
+			if(element != data[p])
+			{
+				data[p] = element;
+				replacedCount++;
+			}
+		}
+		if(replacedCount != 0)
+		{
+			this.rehashPositions();
+		}
+
+		return replacedCount;
+	}
+
+	@Override
+	public final long nullRemove()
+	{
+		return this.remove(null);
+	}
+
+	// reducing //
+
+	@Override
+	public final long removeBy(final Predicate<? super E> predicate)
+	{
+		return this.removed(AbstractArrayStorage.reduce(
+			this.compacted(), this.size, predicate, AbstractArrayCollection.<E>marker()
+		));
+	}
+
+	// retaining //
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public final long retainAll(final XGettingCollection<? extends E> elements)
+	{
+		return this.removed(AbstractArrayStorage.retainAll(
+			this.compacted(), this.size, (XGettingCollection<E>)elements, AbstractArrayCollection.<E>marker()
+		));
+	}
+
+	@Override
+	public final <P extends Consumer<? super E>> P process(final P procedure)
+	{
+		this.removed(AbstractArrayStorage.process(
+			this.compacted(), this.size, procedure, AbstractArrayCollection.<E>marker()
+		));
+		return procedure;
+	}
+
+	@Override
+	public final <C extends Consumer<? super E>> C moveTo(final C target, final Predicate<? super E> predicate)
+	{
+		this.removed(AbstractArrayStorage.moveTo(
+			this.compacted(), this.size, target, predicate, AbstractArrayCollection.<E>marker()
+		));
+		return target;
+	}
+
+	// removing - all //
+
+	@Override
+	public final long removeAll(final XGettingCollection<? extends E> elements)
+	{
+		final int oldSize = this.size;
+		elements.iterate(this::removeOne);
+		return oldSize - this.size;
+	}
+
+	// removing - duplicates //
+
+	@Override
+	public final long removeDuplicates()
+	{
+		return 0;
+	}
+
+	@Override
+	public final long removeDuplicates(final Equalator<? super E> equalator)
+	{
+		return this.removed(AbstractArrayStorage.removeDuplicates(
+			this.compacted(), this.size, equalator, AbstractArrayCollection.<E>marker()
+		));
+	}
+
+	@Override
+	public final FlatHashEnum<E> toReversed()
+	{
+		return this.copy().reverse();
+	}
+
+	@Override
+	public final <T extends Consumer<? super E>> T copySelection(final T target, final long... indices)
+	{
+		return AbstractArrayStorage.copySelection(this.compacted(), this.size, indices, target);
+	}
+
+	@Override
+	public final <P extends IndexedAcceptor<? super E>> P iterateIndexed(final P procedure)
+	{
+		AbstractArrayStorage.iterate(this.compacted(), this.size, procedure);
+		return procedure;
+	}
+
+	@Override
+	public final E at(final long index)
+	{
+		AbstractExtendedCollection.validateIndex(this.size, index);
+		return this.compacted()[(int)index];
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public final E get()
+	{
+		if(this.size == 0)
+		{
+			throw new NoSuchElementException();
+		}
+		return (E)this.data[this.head];
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public final E first()
+	{
+		if(this.size == 0)
+		{
+			throw new IndexBoundsException(0, 0);
+		}
+		return (E)this.data[this.head];
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public final E last()
+	{
+		if(this.size == 0)
+		{
+			throw new IndexBoundsException(0, 0);
+		}
+		return (E)this.data[this.end - 1];
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public final E poll()
+	{
+		return this.size == 0 ? null : (E)this.data[this.head];
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public final E peek()
+	{
+		return this.size == 0 ? null : (E)this.data[this.end - 1];
+	}
+
+	@Override
+	public final long indexOf(final E element)
+	{
+		if(this.lookup(element) < 0)
+		{
+			return -1;
+		}
+		// positions change by compacting, so the slot has to be looked up again.
+		this.compact();
+		return this.slots[this.lookup(element)] - 1;
+	}
+
+	@Override
+	public final long indexBy(final Predicate<? super E> predicate)
+	{
+		return AbstractArrayStorage.forwardConditionalIndexOf(this.compacted(), 0, this.size, predicate);
+	}
+
+	@Override
+	public final boolean isSorted(final Comparator<? super E> comparator)
+	{
+		return AbstractArrayStorage.isSorted(this.compacted(), this.size, comparator);
+	}
+
+	@Override
+	public final long lastIndexOf(final E element)
+	{
+		// elements are unique, so the first index is the last index
+		return this.indexOf(element);
+	}
+
+	@Override
+	public final long lastIndexBy(final Predicate<? super E> predicate)
+	{
+		return AbstractArrayStorage.lastIndexOf(this.compacted(), this.size, predicate);
+	}
+
+	@Override
+	public final long maxIndex(final Comparator<? super E> comparator)
+	{
+		return AbstractArrayStorage.maxIndex(this.compacted(), this.size, comparator);
+	}
+
+	@Override
+	public final long minIndex(final Comparator<? super E> comparator)
+	{
+		return AbstractArrayStorage.minIndex(this.compacted(), this.size, comparator);
+	}
+
+	@Override
+	public final long scan(final Predicate<? super E> predicate)
+	{
+		return AbstractArrayStorage.forwardScan(this.compacted(), 0, this.size, predicate);
+	}
+
+	@Override
+	public final <C extends Consumer<? super E>> C moveSelection(final C target, final long... indices)
+	{
+		this.removed(AbstractArrayStorage.moveSelection(
+			this.compacted(), this.size, indices, target, AbstractArrayCollection.<E>marker()
+		));
+		return target;
+	}
+
+	@Override
+	public final E removeAt(final long index)
+	{
+		AbstractExtendedCollection.validateIndex(this.size, index);
+		return this.removeSlot(this.lookup(this.compacted()[(int)index]));
+	}
+
+	@Override
+	public final E fetch()
+	{
+		if(this.size == 0)
+		{
+			throw new IndexBoundsException(0, 0);
+		}
+		return this.removeSlot(this.lookup(this.data[this.head]));
+	}
+
+	@Override
+	public final E pop()
+	{
+		if(this.size == 0)
+		{
+			throw new IndexBoundsException(0, 0);
+		}
+		return this.removeSlot(this.lookup(this.data[this.end - 1]));
+	}
+
+	@Override
+	public final E pinch()
+	{
+		return this.size == 0 ? null : this.removeSlot(this.lookup(this.data[this.head]));
+	}
+
+	@Override
+	public final E pick()
+	{
+		return this.size == 0 ? null : this.removeSlot(this.lookup(this.data[this.end - 1]));
+	}
+
+	@Override
+	public final E retrieve(final E element)
+	{
+		final int slot;
+		return (slot = this.lookup(element)) >= 0 ? this.removeSlot(slot) : null;
+	}
+
+	@Override
+	public final E retrieveBy(final Predicate<? super E> predicate)
+	{
+		final long index;
+		return (index = this.indexBy(predicate)) >= 0 ? this.removeAt(index) : null;
+	}
+
+	@Override
+	public final boolean removeOne(final E element)
+	{
+		final int slot;
+		if((slot = this.lookup(element)) >= 0)
+		{
+			this.removeSlot(slot);
+			return true;
+		}
+		return false;
+	}
+
+	@Override
+	public final FlatHashEnum<E> removeRange(final long startIndex, final long length)
+	{
+		this.removed(AbstractArrayStorage.removeRange(
+			this.compacted(),
+			this.size,
+			X.checkArrayRange(startIndex),
+			X.checkArrayRange(length)
+		));
+		return this;
+	}
+
+	@Override
+	public final FlatHashEnum<E> retainRange(final long startIndex, final long length)
+	{
+		AbstractArrayStorage.retainRange(
+			this.compacted(),
+			this.size,
+			X.checkArrayRange(startIndex),
+			X.checkArrayRange(length)
+		);
+		this.removed(this.size - (int)length);
+		return this;
+	}
+
+	@Override
+	public final long removeSelection(final long[] indices)
+	{
+		return this.removed(AbstractArrayStorage.removeSelection(
+			this.compacted(), this.size, indices, AbstractArrayCollection.<E>marker()
+		));
+	}
+
+	@Override
+	public final Iterator<E> iterator()
+	{
+		return new Itr();
+	}
+
+	@Override
+	public final FlatHashEnum<E> reverse()
+	{
+		AbstractArrayStorage.reverse(this.compacted(), this.size);
+		this.reindex();
+		return this;
+	}
+
+	@Override
+	public final FlatHashEnum<E> shiftTo(final long sourceIndex, final long targetIndex)
+	{
+		return this.shiftTo(sourceIndex, targetIndex, 1);
+	}
+
+	@Override
+	public final FlatHashEnum<E> shiftTo(final long sourceIndex, final long targetIndex, final long length)
+	{
+		final int source = this.validateRange(sourceIndex, length);
+		final int target = this.validateRange(targetIndex, length);
+		if(source == target || length == 0)
+		{
+			return this;
+		}
+
+		final E[] data = this.compacted();
+		final Object[] shiftlings = Arrays.copyOfRange(data, source, source + (int)length);
+		if(source < target)
+		{
+			System.arraycopy(data, source + (int)length, data, source, target - source);
+		}
+		else
+		{
+			System.arraycopy(data, target, data, target + (int)length, source - target);
+		}
+		System.arraycopy(shiftlings, 0, data, target, (int)length);
+		this.reindex();
+
+		return this;
+	}
+
+	@Override
+	public final FlatHashEnum<E> shiftBy(final long sourceIndex, final long distance)
+	{
+		return this.shiftTo(sourceIndex, sourceIndex + distance);
+	}
+
+	@Override
+	public final FlatHashEnum<E> shiftBy(final long sourceIndex, final long distance, final long length)
+	{
+		return this.shiftTo(sourceIndex, sourceIndex + distance, length);
+	}
+
+	@Override
+	public final FlatHashEnum<E> swap(final long indexA, final long indexB)
+	{
+		AbstractExtendedCollection.validateIndex(this.size, indexA);
+		AbstractExtendedCollection.validateIndex(this.size, indexB);
+		AbstractArrayStorage.swap(this.compacted(), this.size, (int)indexA, (int)indexB);
+		this.reindex();
+		return this;
+	}
+
+	@Override
+	public final FlatHashEnum<E> swap(final long indexA, final long indexB, final long length)
+	{
+		AbstractArrayStorage.swap(
+			this.compacted(),
+			this.size,
+			X.checkArrayRange(indexA),
+			X.checkArrayRange(indexB),
+			X.checkArrayRange(length)
+		);
+		this.reindex();
+		return this;
+	}
+
+	@Override
+	public final HashEqualator<E> equality()
+	{
+		return this.hashEquality();
+	}
+
+
+
+	///////////////////////////////////////////////////////////////////////////
+	// inserting //
+	//////////////
+
+	@Override
+	public final boolean input(final long index, final E element)
+	{
+		// put is effectively an add in a reference-equality collection
+		return this.internalInsert(index, element);
+	}
+
+	@SafeVarargs
+	@Override
+	public final long inputAll(final long index, final E... elements)
+	{
+		return this.internalInsertAll(index, elements, 0, elements.length);
+	}
+
+	@Override
+	public final long inputAll(final long index, final E[] elements, final int offset, final int length)
+	{
+		return this.internalInsertAll(index, elements, offset, length);
+	}
+
+	@Override
+	public final long inputAll(final long index, final XGettingCollection<? extends E> elements)
+	{
+		return this.insertAll(index, elements);
+	}
+
+	@Override
+	public final boolean insert(final long index, final E element)
+	{
+		return this.internalInsert(index, element);
+	}
+
+	@SafeVarargs
+	@Override
+	public final long insertAll(final long index, final E... elements)
+	{
+		return this.internalInsertAll(index, elements, 0, elements.length);
+	}
+
+	@Override
+	public final long insertAll(final long index, final E[] elements, final int offset, final int length)
+	{
+		return this.internalInsertAll(index, elements, offset, length);
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public final long insertAll(final long index, final XGettingCollection<? extends E> elements)
+	{
+		final Object[] array = elements.toArray();
+		return this.internalInsertAll(index, (E[])array, 0, array.length);
+	}
+
+	@Override
+	public final boolean prepend(final E element)
+	{
+		return this.moveToStart(element);
+	}
+
+	@Override
+	public final boolean preput(final E element)
+	{
+		// put is effectively an add in a reference-equality collection
+		return this.moveToStart(element);
+	}
+
+	@Override
+	public final boolean nullInput(final long index)
+	{
+		return this.input(index, null);
+	}
+
+	@Override
+	public final boolean nullInsert(final long index)
+	{
+		return this.insert(index, null);
+	}
+
+	@Override
+	public final boolean nullPrepend()
+	{
+		return this.prepend(null);
+	}
+
+	@SafeVarargs
+	@Override
+	public final FlatHashEnum<E> prependAll(final E... elements)
+	{
+		this.internalInsertAll(0, elements, 0, elements.length);
+		return this;
+	}
+
+	@Override
+	public final FlatHashEnum<E> prependAll(final E[] elements, final int srcStartIndex, final int srcLength)
+	{
+		this.internalInsertAll(0, elements, srcStartIndex, srcLength);
+		return this;
+	}
+
+	@Override
+	public final FlatHashEnum<E> prependAll(final XGettingCollection<? extends E> elements)
+	{
+		this.insertAll(0, elements);
+		return this;
+	}
+
+	@Override
+	public final boolean nullPreput()
+	{
+		return this.preput(null);
+	}
+
+	@SafeVarargs
+	@Override
+	public final FlatHashEnum<E> preputAll(final E... elements)
+	{
+		return this.prependAll(elements);
+	}
+
+	@Override
+	public final FlatHashEnum<E> preputAll(final E[] elements, final int offset, final int length)
+	{
+		return this.prependAll(elements, offset, length);
+	}
+
+	@Override
+	public final FlatHashEnum<E> preputAll(final XGettingCollection<? extends E> elements)
+	{
+		return this.prependAll(elements);
+	}
+
+
+
+	///////////////////////////////////////////////////////////////////////////
+	// setting //
+	////////////
+
+	@Override
+	public final boolean set(final long index, final E element)
+	{
+		return this.internalSet(index, element);
+	}
+
+	@Override
+	public final E setGet(final long index, final E element)
+	{
+		final E old = this.at(index);
+		if(!this.internalSet(index, element))
+		{
+			throw elementContainedElsewhere(index);
+		}
+		return old;
+	}
+
+	@Override
+	public final void setFirst(final E element)
+	{
+		this.setGet(0, element);
+	}
+
+	@Override
+	public final void setLast(final E element)
+	{
+		this.setGet(this.size - 1, element);
+	}
+
+	@SafeVarargs
+	@Override
+	public final FlatHashEnum<E> setAll(final long index, final E... elements)
+	{
+		return this.set(index, elements, 0, elements.length);
+	}
+
+	@Override
+	public final FlatHashEnum<E> set(final long index, final E[] elements, final int offset, final int length)
+	{
+		// elements contained more than once afterwards are only kept at their first index.
+		AbstractArrayStorage.set(this.compacted(), this.size, X.checkArrayRange(index), elements, offset, length);
+		this.rehashPositions();
+		return this;
+	}
+
+	@Override
+	public final FlatHashEnum<E> set(final long index, final XGettingSequence<? extends E> elements, final long offset, final long length)
+	{
+		@SuppressWarnings("unchecked")
+		final E[] array = (E[])elements.toArray();
+		return this.set(index, array, X.checkArrayRange(offset), X.checkArrayRange(length));
+	}
+
+
+
+	final class Itr implements Iterator<E>
+	{
+		///////////////////////////////////////////////////////////////////////////
+		// instance fields //
+		////////////////////
+
+		// removing via the iterator only marks positions, so they stay valid during the iteration.
+		private int position = FlatHashEnum.this.head, lastPosition = -1;
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// methods //
+		////////////
+
+		@Override
+		public boolean hasNext()
+		{
+			final Object[] data = FlatHashEnum.this.data;
+			while(this.position < FlatHashEnum.this.end && data[this.position] == REMOVED)
+			{
+				this.position++;
+			}
+			return this.position < FlatHashEnum.this.end;
+		}
+
+		@SuppressWarnings("unchecked")
+		@Override
+		public E next()
+		{
+			if(!this.hasNext())
+			{
+				throw new NoSuchElementException();
+			}
+			return (E)FlatHashEnum.this.data[this.lastPosition = this.position++];
+		}
+
+		@Override
+		public void remove()
+		{
+			if(this.lastPosition < 0)
+			{
+				throw new IllegalStateException();
+			}
+			FlatHashEnum.this.removeSlot(FlatHashEnum.this.lookup(FlatHashEnum.this.data[this.lastPosition]));
+			this.lastPosition = -1;
+		}
+
+	}
+
+
+
+	public static final class OldFlatHashEnum<E> extends AbstractBridgeXSet<E>
+	{
+		OldFlatHashEnum(final FlatHashEnum<E> set)
+		{
+			super(set);
+		}
+
+		@Override
+		public FlatHashEnum<E> parent()
+		{
+			return (FlatHashEnum<E>)super.parent();
+		}
+
+	}
+
+}
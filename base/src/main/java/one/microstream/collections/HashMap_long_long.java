@@ -0,0 +1,354 @@
+package one.microstream.collections;
+
+/*-
+ * #%L
+ * microstream-base
+ * %%
+ * Copyright (C) 2019 - 2022 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+import static one.microstream.collections.HashSet_long.index;
+import static one.microstream.collections.HashSet_long.tableLength;
+
+import java.util.Arrays;
+
+import one.microstream.chars.VarString;
+import one.microstream.functional._longLongProcedure;
+import one.microstream.typing.Composition;
+
+
+/**
+ * Hash map of primitive <code>long</code> keys to primitive <code>long</code> values,
+ * meant to be persisted as a domain collection.
+ * <p>
+ * Keys and values are kept in two parallel open addressing tables without any entry instances or boxing.
+ * The binary type handler stores all keys and all values as two contiguous <code>long</code> arrays.
+ */
+public final class HashMap_long_long implements Composition
+{
+	///////////////////////////////////////////////////////////////////////////
+	// static methods //
+	///////////////////
+
+	public static HashMap_long_long New()
+	{
+		return new HashMap_long_long(0);
+	}
+
+	public static HashMap_long_long New(final int initialCapacity)
+	{
+		return new HashMap_long_long(initialCapacity);
+	}
+
+
+
+	///////////////////////////////////////////////////////////////////////////
+	// instance fields //
+	////////////////////
+
+	// key 0 marks a free slot, the mapping for key 0 is kept separately.
+	private long[]  keys     ;
+	private long[]  values   ;
+	private int     size     ;
+	private boolean hasZero  ;
+	private long    zeroValue;
+
+
+
+	///////////////////////////////////////////////////////////////////////////
+	// constructors //
+	/////////////////
+
+	HashMap_long_long(final int initialCapacity)
+	{
+		super();
+		final int tableLength = tableLength(initialCapacity);
+		this.keys   = new long[tableLength];
+		this.values = new long[tableLength];
+	}
+
+
+
+	///////////////////////////////////////////////////////////////////////////
+	// methods //
+	////////////
+
+	public int size()
+	{
+		return this.size;
+	}
+
+	public boolean isEmpty()
+	{
+		return this.size == 0;
+	}
+
+	private int slot(final long key)
+	{
+		final long[] keys = this.keys;
+		final int    mask = keys.length - 1;
+		for(int i = index(key, mask); keys[i] != 0; i = i + 1 & mask)
+		{
+			if(keys[i] == key)
+			{
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	public boolean containsKey(final long key)
+	{
+		return key == 0 ? this.hasZero : this.slot(key) >= 0;
+	}
+
+	/**
+	 * Returns the value mapped to the passed key or the passed default value if there is no such mapping.
+	 */
+	public long get(final long key, final long defaultValue)
+	{
+		if(key == 0)
+		{
+			return this.hasZero ? this.zeroValue : defaultValue;
+		}
+		final int slot = this.slot(key);
+		return slot >= 0 ? this.values[slot] : defaultValue;
+	}
+
+	/**
+	 * Maps the passed value to the passed key and returns the previously mapped value
+	 * or the passed default value if there was none.
+	 */
+	public long put(final long key, final long value, final long defaultValue)
+	{
+		if(key == 0)
+		{
+			final long old = this.hasZero ? this.zeroValue : defaultValue;
+			if(!this.hasZero)
+			{
+				this.hasZero = true;
+				this.size++;
+			}
+			this.zeroValue = value;
+			return old;
+		}
+
+		final int mask = this.keys.length - 1;
+		int i = index(key, mask);
+		for(long k; (k = this.keys[i]) != 0; i = i + 1 & mask)
+		{
+			if(k == key)
+			{
+				final long old = this.values[i];
+				this.values[i] = value;
+				return old;
+			}
+		}
+		this.keys[i]   = key;
+		this.values[i] = value;
+		if(++this.size > this.keys.length - (this.keys.length >> 2))
+		{
+			this.rebuild(this.keys.length << 1);
+		}
+		return defaultValue;
+	}
+
+	public void put(final long key, final long value)
+	{
+		this.put(key, value, 0);
+	}
+
+	/**
+	 * Puts all mappings from the two passed arrays, where keys and values are associated by their index.
+	 */
+	public HashMap_long_long putAll(final long[] keys, final long[] values)
+	{
+		if(keys.length != values.length)
+		{
+			throw new IllegalArgumentException("Key count " + keys.length + " != value count " + values.length);
+		}
+		this.ensureCapacity(this.size + keys.length);
+		for(int i = 0; i < keys.length; i++)
+		{
+			this.put(keys[i], values[i], 0);
+		}
+		return this;
+	}
+
+	/**
+	 * Removes the mapping for the passed key and returns its value or the passed default value if there was none.
+	 */
+	public long remove(final long key, final long defaultValue)
+	{
+		if(key == 0)
+		{
+			if(!this.hasZero)
+			{
+				return defaultValue;
+			}
+			this.hasZero = false;
+			this.size--;
+			return this.zeroValue;
+		}
+
+		final int slot = this.slot(key);
+		if(slot < 0)
+		{
+			return defaultValue;
+		}
+		final long old = this.values[slot];
+		this.shiftEntries(slot);
+		this.size--;
+		return old;
+	}
+
+	/**
+	 * Closes the gap at the passed slot by moving back following entries of the same probe sequence.
+	 */
+	private void shiftEntries(final int slot)
+	{
+		final long[] keys = this.keys;
+		final int    mask = keys.length - 1;
+		for(int last = slot, i;;)
+		{
+			for(i = last + 1 & mask;; i = i + 1 & mask)
+			{
+				final long key;
+				if((key = keys[i]) == 0)
+				{
+					keys[last] = 0;
+					return;
+				}
+				// the entry may only move back if its home slot is not between the gap and its position.
+				final int home = index(key, mask);
+				if(last <= i ? last >= home || home > i : last >= home && home > i)
+				{
+					break;
+				}
+			}
+			keys[last] = keys[i];
+			this.values[last] = this.values[i];
+			last = i;
+		}
+	}
+
+	public HashMap_long_long ensureCapacity(final int entryCount)
+	{
+		final int tableLength = tableLength(entryCount);
+		if(tableLength > this.keys.length)
+		{
+			this.rebuild(tableLength);
+		}
+		return this;
+	}
+
+	private void rebuild(final int tableLength)
+	{
+		final long[] oldKeys   = this.keys  ;
+		final long[] oldValues = this.values;
+		final long[] newKeys   = new long[tableLength];
+		final long[] newValues = new long[tableLength];
+		final int    mask      = tableLength - 1;
+		for(int s = 0; s < oldKeys.length; s++)
+		{
+			if(oldKeys[s] != 0)
+			{
+				int i = index(oldKeys[s], mask);
+				while(newKeys[i] != 0)
+				{
+					i = i + 1 & mask;
+				}
+				newKeys[i]   = oldKeys[s];
+				newValues[i] = oldValues[s];
+			}
+		}
+		this.keys   = newKeys  ;
+		this.values = newValues;
+	}
+
+	public HashMap_long_long iterate(final _longLongProcedure procedure)
+	{
+		if(this.hasZero)
+		{
+			procedure.accept(0, this.zeroValue);
+		}
+		final long[] keys = this.keys;
+		for(int i = 0; i < keys.length; i++)
+		{
+			if(keys[i] != 0)
+			{
+				procedure.accept(keys[i], this.values[i]);
+			}
+		}
+		return this;
+	}
+
+	/**
+	 * Returns all keys in the same order as {@link #toValueArray()} returns their values.
+	 */
+	public long[] toKeyArray()
+	{
+		final long[] array = new long[this.size];
+		int i = this.hasZero ? 1 : 0;
+		for(final long key : this.keys)
+		{
+			if(key != 0)
+			{
+				array[i++] = key;
+			}
+		}
+		return array;
+	}
+
+	/**
+	 * Returns all values in the same order as {@link #toKeyArray()} returns their keys.
+	 */
+	public long[] toValueArray()
+	{
+		final long[] array = new long[this.size];
+		int i = 0;
+		if(this.hasZero)
+		{
+			array[i++] = this.zeroValue;
+		}
+		final long[] keys = this.keys;
+		for(int s = 0; s < keys.length; s++)
+		{
+			if(keys[s] != 0)
+			{
+				array[i++] = this.values[s];
+			}
+		}
+		return array;
+	}
+
+	public void clear()
+	{
+		Arrays.fill(this.keys, 0);
+		this.hasZero   = false;
+		this.zeroValue = 0;
+		this.size      = 0;
+	}
+
+	@Override
+	public String toString()
+	{
+		final VarString vs = VarString.New().add('[');
+		this.iterate((k, v) -> vs.add(k).add('=').add(v).add(',', ' '));
+		return vs.deleteLast(this.isEmpty() ? 0 : 2).add(']').toString();
+	}
+
+}
@@ -0,0 +1,302 @@
+package one.microstream.collections;
+
+/*-
+ * #%L
+ * microstream-base
+ * %%
+ * Copyright (C) 2019 - 2022 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+import java.util.Arrays;
+
+import one.microstream.functional._longProcedure;
+import one.microstream.math.XMath;
+import one.microstream.typing.Composition;
+
+
+/**
+ * Hash set of primitive <code>long</code> values, meant to be persisted as a domain collection.
+ * <p>
+ * The values are kept in a single open addressing table without any entry instances or boxing.
+ * The binary type handler stores all values as one contiguous <code>long</code> array.
+ */
+public final class HashSet_long implements Composition
+{
+	///////////////////////////////////////////////////////////////////////////
+	// static methods //
+	///////////////////
+
+	public static HashSet_long New()
+	{
+		return new HashSet_long(0);
+	}
+
+	public static HashSet_long New(final int initialCapacity)
+	{
+		return new HashSet_long(initialCapacity);
+	}
+
+	public static HashSet_long New(final long... elements)
+	{
+		return new HashSet_long(elements.length).addAll(elements);
+	}
+
+	/**
+	 * Returns the table length required to hold the passed number of elements below the maximum load of 75%.
+	 */
+	static int tableLength(final int elementCount)
+	{
+		// at least 4 slots, so that the load limit always leaves a free slot to terminate probing.
+		return Math.max(XMath.pow2BoundMaxed(elementCount + (elementCount + 2) / 3), 4);
+	}
+
+	/**
+	 * Returns the table index of the passed key, spreading consecutive keys over the whole table.
+	 */
+	static int index(final long key, final int mask)
+	{
+		final long hash = key * 0x9E3779B97F4A7C15L;
+		return (int)(hash ^ hash >>> 32) & mask;
+	}
+
+
+
+	///////////////////////////////////////////////////////////////////////////
+	// instance fields //
+	////////////////////
+
+	// 0 marks a free slot, the element 0 is kept as a flag.
+	private long[]  keys   ;
+	private int     size   ;
+	private boolean hasZero;
+
+
+
+	///////////////////////////////////////////////////////////////////////////
+	// constructors //
+	/////////////////
+
+	HashSet_long(final int initialCapacity)
+	{
+		super();
+		this.keys = new long[tableLength(initialCapacity)];
+	}
+
+
+
+	///////////////////////////////////////////////////////////////////////////
+	// methods //
+	////////////
+
+	public int size()
+	{
+		return this.size;
+	}
+
+	public boolean isEmpty()
+	{
+		return this.size == 0;
+	}
+
+	public boolean contains(final long element)
+	{
+		if(element == 0)
+		{
+			return this.hasZero;
+		}
+
+		final long[] keys = this.keys;
+		final int    mask = keys.length - 1;
+		for(int i = index(element, mask); keys[i] != 0; i = i + 1 & mask)
+		{
+			if(keys[i] == element)
+			{
+				return true;
+			}
+		}
+		return false;
+	}
+
+	public boolean add(final long element)
+	{
+		if(element == 0)
+		{
+			if(this.hasZero)
+			{
+				return false;
+			}
+			this.hasZero = true;
+			this.size++;
+			return true;
+		}
+
+		final int mask = this.keys.length - 1;
+		int i = index(element, mask);
+		for(long k; (k = this.keys[i]) != 0; i = i + 1 & mask)
+		{
+			if(k == element)
+			{
+				return false;
+			}
+		}
+		this.keys[i] = element;
+		if(++this.size > this.keys.length - (this.keys.length >> 2))
+		{
+			this.rebuild(this.keys.length << 1);
+		}
+		return true;
+	}
+
+	public HashSet_long addAll(final long... elements)
+	{
+		this.ensureCapacity(this.size + elements.length);
+		for(final long element : elements)
+		{
+			this.add(element);
+		}
+		return this;
+	}
+
+	public boolean remove(final long element)
+	{
+		if(element == 0)
+		{
+			if(!this.hasZero)
+			{
+				return false;
+			}
+			this.hasZero = false;
+			this.size--;
+			return true;
+		}
+
+		final long[] keys = this.keys;
+		final int    mask = keys.length - 1;
+		for(int i = index(element, mask); keys[i] != 0; i = i + 1 & mask)
+		{
+			if(keys[i] == element)
+			{
+				this.shiftKeys(i);
+				this.size--;
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Closes the gap at the passed slot by moving back following keys of the same probe sequence.
+	 */
+	private void shiftKeys(final int slot)
+	{
+		final long[] keys = this.keys;
+		final int    mask = keys.length - 1;
+		for(int last = slot, i;;)
+		{
+			for(i = last + 1 & mask;; i = i + 1 & mask)
+			{
+				final long key;
+				if((key = keys[i]) == 0)
+				{
+					keys[last] = 0;
+					return;
+				}
+				// the key may only move back if its home slot is not between the gap and its position.
+				final int home = index(key, mask);
+				if(last <= i ? last >= home || home > i : last >= home && home > i)
+				{
+					break;
+				}
+			}
+			keys[last] = keys[i];
+			last = i;
+		}
+	}
+
+	public HashSet_long ensureCapacity(final int elementCount)
+	{
+		final int tableLength = tableLength(elementCount);
+		if(tableLength > this.keys.length)
+		{
+			this.rebuild(tableLength);
+		}
+		return this;
+	}
+
+	private void rebuild(final int tableLength)
+	{
+		final long[] oldKeys = this.keys;
+		final long[] newKeys = new long[tableLength];
+		final int    mask    = tableLength - 1;
+		for(final long key : oldKeys)
+		{
+			if(key != 0)
+			{
+				int i = index(key, mask);
+				while(newKeys[i] != 0)
+				{
+					i = i + 1 & mask;
+				}
+				newKeys[i] = key;
+			}
+		}
+		this.keys = newKeys;
+	}
+
+	public HashSet_long iterate(final _longProcedure procedure)
+	{
+		if(this.hasZero)
+		{
+			procedure.accept(0);
+		}
+		for(final long key : this.keys)
+		{
+			if(key != 0)
+			{
+				procedure.accept(key);
+			}
+		}
+		return this;
+	}
+
+	public long[] toArray()
+	{
+		final long[] array = new long[this.size];
+		int i = this.hasZero ? 1 : 0;
+		for(final long key : this.keys)
+		{
+			if(key != 0)
+			{
+				array[i++] = key;
+			}
+		}
+		return array;
+	}
+
+	public void clear()
+	{
+		Arrays.fill(this.keys, 0);
+		this.hasZero = false;
+		this.size    = 0;
+	}
+
+	@Override
+	public String toString()
+	{
+		return Arrays.toString(this.toArray());
+	}
+
+}
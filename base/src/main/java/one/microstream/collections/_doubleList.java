@@ -0,0 +1,271 @@
+package one.microstream.collections;
+
+/*-
+ * #%L
+ * microstream-base
+ * %%
+ * Copyright (C) 2019 - 2022 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+import java.util.Arrays;
+
+import one.microstream.exceptions.ArrayCapacityException;
+import one.microstream.exceptions.IndexBoundsException;
+import one.microstream.functional._doubleProcedure;
+import one.microstream.math.XMath;
+import one.microstream.typing.Composition;
+
+
+/**
+ * Array-backed list of primitive <code>double</code> values, meant to be persisted as a domain collection.
+ * <p>
+ * Other than a list of {@link Double} instances, no element is boxed. The binary type handler stores
+ * all elements as one contiguous <code>double</code> array.
+ */
+public final class _doubleList implements Composition
+{
+	///////////////////////////////////////////////////////////////////////////
+	// static methods //
+	///////////////////
+
+	public static _doubleList New()
+	{
+		return new _doubleList(new double[1], 0);
+	}
+
+	public static _doubleList New(final int initialCapacity)
+	{
+		return new _doubleList(new double[XMath.pow2BoundMaxed(initialCapacity)], 0);
+	}
+
+	public static _doubleList New(final double... elements)
+	{
+		final double[] data = new double[XMath.pow2BoundMaxed(elements.length)];
+		System.arraycopy(elements, 0, data, 0, elements.length);
+
+		return new _doubleList(data, elements.length);
+	}
+
+
+
+	///////////////////////////////////////////////////////////////////////////
+	// instance fields //
+	////////////////////
+
+	private double[] data; // the storage array containing the elements
+	private int    size; // the current element count (logical size)
+
+
+
+	///////////////////////////////////////////////////////////////////////////
+	// constructors //
+	/////////////////
+
+	_doubleList(final double[] data, final int size)
+	{
+		super();
+		this.data = data;
+		this.size = size;
+	}
+
+
+
+	///////////////////////////////////////////////////////////////////////////
+	// methods //
+	////////////
+
+	private void ensureFreeCapacity(final int requiredFreeCapacity)
+	{
+		if(this.data.length - this.size >= requiredFreeCapacity)
+		{
+			return;
+		}
+		// overflow-safe check for unreachable capacity
+		if(Integer.MAX_VALUE - this.size < requiredFreeCapacity)
+		{
+			throw new ArrayCapacityException((long)requiredFreeCapacity + this.size);
+		}
+		this.data = Arrays.copyOf(this.data, XMath.pow2BoundMaxed(this.size + requiredFreeCapacity));
+	}
+
+	private void validateIndex(final int index)
+	{
+		if(index < 0 || index >= this.size)
+		{
+			throw new IndexBoundsException(this.size, index);
+		}
+	}
+
+	public int size()
+	{
+		return this.size;
+	}
+
+	public boolean isEmpty()
+	{
+		return this.size == 0;
+	}
+
+	public int currentCapacity()
+	{
+		return this.data.length;
+	}
+
+	public _doubleList ensureCapacity(final int minCapacity)
+	{
+		if(minCapacity > this.data.length)
+		{
+			this.data = Arrays.copyOf(this.data, XMath.pow2BoundMaxed(minCapacity));
+		}
+		return this;
+	}
+
+	public double get(final int index)
+	{
+		this.validateIndex(index);
+		return this.data[index];
+	}
+
+	public double set(final int index, final double element)
+	{
+		this.validateIndex(index);
+		final double old = this.data[index];
+		this.data[index] = element;
+		return old;
+	}
+
+	public void add(final double element)
+	{
+		this.ensureFreeCapacity(1);
+		this.data[this.size++] = element;
+	}
+
+	public _doubleList addAll(final double... elements)
+	{
+		return this.addAll(elements, 0, elements.length);
+	}
+
+	public _doubleList addAll(final double[] elements, final int offset, final int length)
+	{
+		this.ensureFreeCapacity(length);
+		System.arraycopy(elements, offset, this.data, this.size, length);
+		this.size += length;
+		return this;
+	}
+
+	public _doubleList addAll(final _doubleList elements)
+	{
+		return this.addAll(elements.data, 0, elements.size);
+	}
+
+	public void insert(final int index, final double element)
+	{
+		if(index < 0 || index > this.size)
+		{
+			throw new IndexBoundsException(this.size, index);
+		}
+		this.ensureFreeCapacity(1);
+		System.arraycopy(this.data, index, this.data, index + 1, this.size - index);
+		this.data[index] = element;
+		this.size++;
+	}
+
+	public double removeAt(final int index)
+	{
+		this.validateIndex(index);
+		final double element = this.data[index];
+		System.arraycopy(this.data, index + 1, this.data, index, --this.size - index);
+		return element;
+	}
+
+	public boolean removeOne(final double element)
+	{
+		final int index = this.indexOf(element);
+		if(index < 0)
+		{
+			return false;
+		}
+		this.removeAt(index);
+		return true;
+	}
+
+	public int indexOf(final double element)
+	{
+		final double[] data = this.data;
+		for(int i = 0; i < this.size; i++)
+		{
+			// bitwise equality like Double#equals, so that NaN is found and 0.0 and -0.0 are distinguished.
+			if(Double.doubleToLongBits(data[i]) == Double.doubleToLongBits(element))
+			{
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	public boolean contains(final double element)
+	{
+		return this.indexOf(element) >= 0;
+	}
+
+	public _doubleList iterate(final _doubleProcedure procedure)
+	{
+		final double[] data = this.data;
+		for(int i = 0; i < this.size; i++)
+		{
+			procedure.accept(data[i]);
+		}
+		return this;
+	}
+
+	public _doubleList sort()
+	{
+		Arrays.sort(this.data, 0, this.size);
+		return this;
+	}
+
+	public double[] toArray()
+	{
+		return Arrays.copyOf(this.data, this.size);
+	}
+
+	public _doubleList copy()
+	{
+		return new _doubleList(this.data.clone(), this.size);
+	}
+
+	public void clear()
+	{
+		// remaining values are irrelevant as long as size is used correctly
+		this.size = 0;
+	}
+
+	public int optimize()
+	{
+		if(this.data.length > 1 && this.size < this.data.length >> 1)
+		{
+			this.data = Arrays.copyOf(this.data, XMath.pow2BoundMaxed(this.size));
+		}
+		return this.data.length;
+	}
+
+	@Override
+	public String toString()
+	{
+		return Arrays.toString(this.toArray());
+	}
+
+}
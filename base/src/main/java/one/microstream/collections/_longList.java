@@ -0,0 +1,270 @@
+package one.microstream.collections;
+
+/*-
+ * #%L
+ * microstream-base
+ * %%
+ * Copyright (C) 2019 - 2022 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+import java.util.Arrays;
+
+import one.microstream.exceptions.ArrayCapacityException;
+import one.microstream.exceptions.IndexBoundsException;
+import one.microstream.functional._longProcedure;
+import one.microstream.math.XMath;
+import one.microstream.typing.Composition;
+
+
+/**
+ * Array-backed list of primitive <code>long</code> values, meant to be persisted as a domain collection.
+ * <p>
+ * Other than a list of {@link Long} instances, no element is boxed. The binary type handler stores
+ * all elements as one contiguous <code>long</code> array.
+ */
+public final class _longList implements Composition
+{
+	///////////////////////////////////////////////////////////////////////////
+	// static methods //
+	///////////////////
+
+	public static _longList New()
+	{
+		return new _longList(new long[1], 0);
+	}
+
+	public static _longList New(final int initialCapacity)
+	{
+		return new _longList(new long[XMath.pow2BoundMaxed(initialCapacity)], 0);
+	}
+
+	public static _longList New(final long... elements)
+	{
+		final long[] data = new long[XMath.pow2BoundMaxed(elements.length)];
+		System.arraycopy(elements, 0, data, 0, elements.length);
+
+		return new _longList(data, elements.length);
+	}
+
+
+
+	///////////////////////////////////////////////////////////////////////////
+	// instance fields //
+	////////////////////
+
+	private long[] data; // the storage array containing the elements
+	private int    size; // the current element count (logical size)
+
+
+
+	///////////////////////////////////////////////////////////////////////////
+	// constructors //
+	/////////////////
+
+	_longList(final long[] data, final int size)
+	{
+		super();
+		this.data = data;
+		this.size = size;
+	}
+
+
+
+	///////////////////////////////////////////////////////////////////////////
+	// methods //
+	////////////
+
+	private void ensureFreeCapacity(final int requiredFreeCapacity)
+	{
+		if(this.data.length - this.size >= requiredFreeCapacity)
+		{
+			return;
+		}
+		// overflow-safe check for unreachable capacity
+		if(Integer.MAX_VALUE - this.size < requiredFreeCapacity)
+		{
+			throw new ArrayCapacityException((long)requiredFreeCapacity + this.size);
+		}
+		this.data = Arrays.copyOf(this.data, XMath.pow2BoundMaxed(this.size + requiredFreeCapacity));
+	}
+
+	private void validateIndex(final int index)
+	{
+		if(index < 0 || index >= this.size)
+		{
+			throw new IndexBoundsException(this.size, index);
+		}
+	}
+
+	public int size()
+	{
+		return this.size;
+	}
+
+	public boolean isEmpty()
+	{
+		return this.size == 0;
+	}
+
+	public int currentCapacity()
+	{
+		return this.data.length;
+	}
+
+	public _longList ensureCapacity(final int minCapacity)
+	{
+		if(minCapacity > this.data.length)
+		{
+			this.data = Arrays.copyOf(this.data, XMath.pow2BoundMaxed(minCapacity));
+		}
+		return this;
+	}
+
+	public long get(final int index)
+	{
+		this.validateIndex(index);
+		return this.data[index];
+	}
+
+	public long set(final int index, final long element)
+	{
+		this.validateIndex(index);
+		final long old = this.data[index];
+		this.data[index] = element;
+		return old;
+	}
+
+	public void add(final long element)
+	{
+		this.ensureFreeCapacity(1);
+		this.data[this.size++] = element;
+	}
+
+	public _longList addAll(final long... elements)
+	{
+		return this.addAll(elements, 0, elements.length);
+	}
+
+	public _longList addAll(final long[] elements, final int offset, final int length)
+	{
+		this.ensureFreeCapacity(length);
+		System.arraycopy(elements, offset, this.data, this.size, length);
+		this.size += length;
+		return this;
+	}
+
+	public _longList addAll(final _longList elements)
+	{
+		return this.addAll(elements.data, 0, elements.size);
+	}
+
+	public void insert(final int index, final long element)
+	{
+		if(index < 0 || index > this.size)
+		{
+			throw new IndexBoundsException(this.size, index);
+		}
+		this.ensureFreeCapacity(1);
+		System.arraycopy(this.data, index, this.data, index + 1, this.size - index);
+		this.data[index] = element;
+		this.size++;
+	}
+
+	public long removeAt(final int index)
+	{
+		this.validateIndex(index);
+		final long element = this.data[index];
+		System.arraycopy(this.data, index + 1, this.data, index, --this.size - index);
+		return element;
+	}
+
+	public boolean removeOne(final long element)
+	{
+		final int index = this.indexOf(element);
+		if(index < 0)
+		{
+			return false;
+		}
+		this.removeAt(index);
+		return true;
+	}
+
+	public int indexOf(final long element)
+	{
+		final long[] data = this.data;
+		for(int i = 0; i < this.size; i++)
+		{
+			if(data[i] == element)
+			{
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	public boolean contains(final long element)
+	{
+		return this.indexOf(element) >= 0;
+	}
+
+	public _longList iterate(final _longProcedure procedure)
+	{
+		final long[] data = this.data;
+		for(int i = 0; i < this.size; i++)
+		{
+			procedure.accept(data[i]);
+		}
+		return this;
+	}
+
+	public _longList sort()
+	{
+		Arrays.sort(this.data, 0, this.size);
+		return this;
+	}
+
+	public long[] toArray()
+	{
+		return Arrays.copyOf(this.data, this.size);
+	}
+
+	public _longList copy()
+	{
+		return new _longList(this.data.clone(), this.size);
+	}
+
+	public void clear()
+	{
+		// remaining values are irrelevant as long as size is used correctly
+		this.size = 0;
+	}
+
+	public int optimize()
+	{
+		if(this.data.length > 1 && this.size < this.data.length >> 1)
+		{
+			this.data = Arrays.copyOf(this.data, XMath.pow2BoundMaxed(this.size));
+		}
+		return this.data.length;
+	}
+
+	@Override
+	public String toString()
+	{
+		return Arrays.toString(this.toArray());
+	}
+
+}
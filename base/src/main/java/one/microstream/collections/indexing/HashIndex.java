@@ -0,0 +1,330 @@
+package one.microstream.collections.indexing;
+
+/*-
+ * #%L
+ * microstream-base
+ * %%
+ * Copyright (C) 2019 - 2022 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+import static one.microstream.X.notNull;
+
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import one.microstream.X;
+import one.microstream.collections.BulkList;
+import one.microstream.collections.EqHashTable;
+import one.microstream.collections.types.XGettingSequence;
+import one.microstream.hashing.HashEqualator;
+import one.microstream.hashing.XHashing;
+import one.microstream.typing.KeyValue;
+
+
+/**
+ * {@link XIndex} hashing its elements by their key, answering equality lookups in constant time.
+ * <p>
+ * Elements with equal keys are kept in the order they have been added.
+ * The binary type handler only stores the key extractor and the key hash equality, the hash table is
+ * rebuilt by the owning {@link IndexedCollection} on loading.
+ *
+ * @param <K> the key type
+ * @param <E> the element type
+ */
+public final class HashIndex<K, E> implements XIndex<K, E>
+{
+	///////////////////////////////////////////////////////////////////////////
+	// static methods //
+	///////////////////
+
+	public static <K, E> HashIndex<K, E> New(final Function<? super E, ? extends K> keyExtractor)
+	{
+		return New(keyExtractor, XHashing.hashEqualityValue());
+	}
+
+	public static <K, E> HashIndex<K, E> New(
+		final Function<? super E, ? extends K> keyExtractor,
+		final HashEqualator<? super K>         hashEquality
+	)
+	{
+		return new HashIndex<>(
+			notNull(keyExtractor),
+			EqHashTable.New(notNull(hashEquality))
+		);
+	}
+
+
+
+	///////////////////////////////////////////////////////////////////////////
+	// instance fields //
+	////////////////////
+
+	private final Function<? super E, ? extends K> keyExtractor;
+
+	// value is either the sole element of a key or the Duplicates of all elements of a key.
+	private final EqHashTable<K, Object> table;
+
+	private long size;
+
+
+
+	///////////////////////////////////////////////////////////////////////////
+	// constructors //
+	/////////////////
+
+	HashIndex(final Function<? super E, ? extends K> keyExtractor, final EqHashTable<K, Object> table)
+	{
+		super();
+		this.keyExtractor = keyExtractor;
+		this.table        = table       ;
+	}
+
+
+
+	///////////////////////////////////////////////////////////////////////////
+	// methods //
+	////////////
+
+	@Override
+	public final Function<? super E, ? extends K> keyExtractor()
+	{
+		return this.keyExtractor;
+	}
+
+	public final HashEqualator<? super K> hashEquality()
+	{
+		return this.table.hashEquality();
+	}
+
+	@Override
+	public final long size()
+	{
+		return this.size;
+	}
+
+	/**
+	 * Returns the number of distinct keys of the indexed elements.
+	 *
+	 * @return the distinct key count
+	 */
+	public final long keyCount()
+	{
+		return this.table.size();
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public final XGettingSequence<E> lookup(final K key)
+	{
+		if(key == null)
+		{
+			return X.empty();
+		}
+
+		final Object value = this.table.get(key);
+		if(value == null)
+		{
+			return X.empty();
+		}
+
+		return value instanceof Duplicates
+			? ((Duplicates<E>)value).elements.view()
+			: X.Constant((E)value)
+		;
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public final <P extends Consumer<? super E>> P iterate(final P procedure)
+	{
+		// elements are iterated grouped by their key.
+		this.table.values().iterate(value ->
+		{
+			if(value instanceof Duplicates)
+			{
+				((Duplicates<E>)value).elements.iterate(procedure);
+			}
+			else
+			{
+				procedure.accept((E)value);
+			}
+		});
+		return procedure;
+	}
+
+	@Override
+	public final IndexPredicate<E> is(final K key)
+	{
+		return new Equal<>(this, notNull(key));
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public final void elementAdded(final E element)
+	{
+		final K key = this.keyOf(element);
+		if(key == null)
+		{
+			return;
+		}
+
+		final Object value = this.table.get(key);
+		if(value == null)
+		{
+			this.table.add(key, element);
+		}
+		else if(value instanceof Duplicates)
+		{
+			((Duplicates<E>)value).elements.add(element);
+		}
+		else
+		{
+			this.table.put(key, new Duplicates<>((E)value, element));
+		}
+		this.size++;
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public final void elementRemoved(final E element)
+	{
+		final K key = this.keyOf(element);
+		if(key != null && this.removeFor(key, element))
+		{
+			return;
+		}
+
+		// the element's key has changed since it was indexed, so its entry has to be searched.
+		final KeyValue<K, Object> entry = this.table.search(kv ->
+			kv.value() == element
+			|| kv.value() instanceof Duplicates && ((Duplicates<E>)kv.value()).elements.containsId(element)
+		);
+		if(entry != null)
+		{
+			this.removeFor(entry.key(), element);
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private boolean removeFor(final K key, final E element)
+	{
+		final Object value = this.table.get(key);
+		if(value == element)
+		{
+			this.table.removeFor(key);
+		}
+		else if(value instanceof Duplicates && ((Duplicates<E>)value).elements.removeOne(element))
+		{
+			final BulkList<E> elements = ((Duplicates<E>)value).elements;
+			if(elements.size() == 1)
+			{
+				this.table.put(key, elements.first());
+			}
+		}
+		else
+		{
+			return false;
+		}
+		this.size--;
+
+		return true;
+	}
+
+	@Override
+	public final void elementsCleared()
+	{
+		this.table.clear();
+		this.size = 0;
+	}
+
+	@Override
+	public final String toString()
+	{
+		return this.getClass().getSimpleName() + " (" + this.size + " elements, " + this.keyCount() + " keys)";
+	}
+
+
+
+	static final class Duplicates<E>
+	{
+		///////////////////////////////////////////////////////////////////////////
+		// instance fields //
+		////////////////////
+
+		final BulkList<E> elements;
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// constructors //
+		/////////////////
+
+		Duplicates(final E first, final E second)
+		{
+			super();
+			this.elements = BulkList.New(first, second);
+		}
+
+	}
+
+	public static final class Equal<K, E> extends XIndex.AbstractKeyPredicate<K, E>
+	{
+		///////////////////////////////////////////////////////////////////////////
+		// instance fields //
+		////////////////////
+
+		private final HashIndex<K, E> index;
+		private final K               key  ;
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// constructors //
+		/////////////////
+
+		Equal(final HashIndex<K, E> index, final K key)
+		{
+			super(index);
+			this.index = index;
+			this.key   = key  ;
+		}
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// methods //
+		////////////
+
+		public final K key()
+		{
+			return this.key;
+		}
+
+		@Override
+		protected final boolean testKey(final K key)
+		{
+			return this.index.hashEquality().equal(this.key, key);
+		}
+
+		@Override
+		public final XGettingSequence<E> lookup()
+		{
+			return this.index.lookup(this.key);
+		}
+
+	}
+
+}
@@ -0,0 +1,52 @@
+package one.microstream.collections.indexing;
+
+/*-
+ * #%L
+ * microstream-base
+ * %%
+ * Copyright (C) 2019 - 2022 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+/**
+ * Hook notified about every change of the elements of an indexed collection, used to keep
+ * an {@link XIndex} in sync with its backing collection.
+ *
+ * @param <E> the element type
+ *
+ * @see IndexedCollection
+ */
+public interface IndexChangeHook<E>
+{
+	/**
+	 * Notifies about the passed element having been added to the backing collection.
+	 *
+	 * @param element the added element
+	 */
+	public void elementAdded(E element);
+
+	/**
+	 * Notifies about the passed element having been removed from the backing collection.
+	 *
+	 * @param element the removed element
+	 */
+	public void elementRemoved(E element);
+
+	/**
+	 * Notifies about all elements having been removed from the backing collection.
+	 */
+	public void elementsCleared();
+
+}
@@ -0,0 +1,119 @@
+package one.microstream.collections.indexing;
+
+/*-
+ * #%L
+ * microstream-base
+ * %%
+ * Copyright (C) 2019 - 2022 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+import static one.microstream.X.notNull;
+
+import java.util.function.Predicate;
+
+import one.microstream.collections.types.XGettingSequence;
+
+
+/**
+ * {@link Predicate} that can be answered by an {@link XIndex}, allowing a query over the indexed
+ * collection to look up the matching elements instead of scanning all of them.
+ * <p>
+ * Combining an index predicate with any other predicate via {@link #and(Predicate)} keeps the index lookup
+ * and tests the other predicate only for the looked up elements.
+ *
+ * @param <E> the element type
+ */
+public interface IndexPredicate<E> extends Predicate<E>
+{
+	/**
+	 * The index this predicate can be answered by.
+	 *
+	 * @return the index of this predicate
+	 */
+	public XIndex<?, E> index();
+
+	/**
+	 * Looks up the elements of the index that satisfy this predicate. The elements are returned in the order
+	 * of the index, not in the order of the indexed collection.
+	 *
+	 * @return the matching elements
+	 */
+	public XGettingSequence<E> lookup();
+
+	@Override
+	public default IndexPredicate<E> and(final Predicate<? super E> other)
+	{
+		return new Conjunction<>(this, notNull(other));
+	}
+
+
+
+	/**
+	 * Conjunction of an index predicate driving the lookup and a residual predicate tested for
+	 * every looked up element.
+	 *
+	 * @param <E> the element type
+	 */
+	public final class Conjunction<E> implements IndexPredicate<E>
+	{
+		///////////////////////////////////////////////////////////////////////////
+		// instance fields //
+		////////////////////
+
+		private final IndexPredicate<E>    driver  ;
+		private final Predicate<? super E> residual;
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// constructors //
+		/////////////////
+
+		Conjunction(final IndexPredicate<E> driver, final Predicate<? super E> residual)
+		{
+			super();
+			this.driver   = driver  ;
+			this.residual = residual;
+		}
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// methods //
+		////////////
+
+		@Override
+		public final boolean test(final E element)
+		{
+			return this.driver.test(element) && this.residual.test(element);
+		}
+
+		@Override
+		public final XIndex<?, E> index()
+		{
+			return this.driver.index();
+		}
+
+		@Override
+		public final XGettingSequence<E> lookup()
+		{
+			// the lookup may yield more elements than the conjunction selects, the query tests them, anyway.
+			return this.driver.lookup();
+		}
+
+	}
+
+}
@@ -0,0 +1,297 @@
+package one.microstream.collections.indexing;
+
+/*-
+ * #%L
+ * microstream-base
+ * %%
+ * Copyright (C) 2019 - 2022 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+import static one.microstream.X.notNull;
+
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import one.microstream.collections.BulkList;
+import one.microstream.collections.interfaces.Sized;
+import one.microstream.collections.types.XGettingCollection;
+import one.microstream.collections.types.XGettingSequence;
+import one.microstream.collections.types.XIterable;
+import one.microstream.hashing.HashEqualator;
+
+
+/**
+ * Collection keeping any number of {@link XIndex} instances in sync with its elements.
+ * <p>
+ * The elements are held in a backing list that is not accessible from outside, so all changes of the elements
+ * are done through this collection, which notifies the indices as their {@link IndexChangeHook}.
+ * Changes of an element's state that affect its keys have to be done via {@link #update(Object, Consumer)}.
+ * Reading accesses can use the read-only {@link #view()}.
+ * <p>
+ * CQL queries over this collection that select with an {@link IndexPredicate} of one of its indices
+ * look up the matching elements in that index instead of scanning the whole backing collection, e.g.:
+ * <pre>{@code
+ * final HashIndex<String, Customer> byCity = customers.createHashIndex(Customer.City.INSTANCE);
+ * CQL.from(customers).select(byCity.is("Regensburg").and(c -> c.isActive())).execute();
+ * }</pre>
+ * The binary type handler only stores the indices' definitions, not their content. The indices are rebuilt
+ * from the elements on loading. The backing list is stored along with this collection if its elements have
+ * been changed since the last store.
+ *
+ * @param <E> the element type
+ */
+public final class IndexedCollection<E> implements XIterable<E>, Iterable<E>, Sized
+{
+	///////////////////////////////////////////////////////////////////////////
+	// static methods //
+	///////////////////
+
+	public static <E> IndexedCollection<E> New()
+	{
+		return new IndexedCollection<>(BulkList.New(), BulkList.New());
+	}
+
+	public static <E> IndexedCollection<E> New(final XGettingCollection<? extends E> elements)
+	{
+		return new IndexedCollection<>(BulkList.New(notNull(elements)), BulkList.New());
+	}
+
+
+
+	///////////////////////////////////////////////////////////////////////////
+	// instance fields //
+	////////////////////
+
+	private final BulkList<E>            elements;
+	private final BulkList<XIndex<?, E>> indices ;
+
+	// whether the elements have been changed since they have been stored the last time, see the type handler.
+	private boolean changed;
+
+
+
+	///////////////////////////////////////////////////////////////////////////
+	// constructors //
+	/////////////////
+
+	IndexedCollection(final BulkList<E> elements, final BulkList<XIndex<?, E>> indices)
+	{
+		super();
+		this.elements = elements;
+		this.indices  = indices ;
+		this.changed  = true    ;
+	}
+
+
+
+	///////////////////////////////////////////////////////////////////////////
+	// methods //
+	////////////
+
+	public final XGettingSequence<E> view()
+	{
+		return this.elements.view();
+	}
+
+	public final XGettingSequence<XIndex<?, E>> indices()
+	{
+		return this.indices.view();
+	}
+
+	public final boolean isIndexedBy(final XIndex<?, ?> index)
+	{
+		for(final XIndex<?, E> i : this.indices)
+		{
+			if(i == index)
+			{
+				return true;
+			}
+		}
+		return false;
+	}
+
+	@Override
+	public final long size()
+	{
+		return this.elements.size();
+	}
+
+	@Override
+	public final <P extends Consumer<? super E>> P iterate(final P procedure)
+	{
+		return this.elements.iterate(procedure);
+	}
+
+	@Override
+	public final Iterator<E> iterator()
+	{
+		return this.elements.iterator();
+	}
+
+	public final <I extends XIndex<?, E>> I addIndex(final I index)
+	{
+		if(!this.isIndexedBy(notNull(index)))
+		{
+			index.rebuild(this.elements);
+			this.indices.add(index);
+		}
+		return index;
+	}
+
+	public final boolean removeIndex(final XIndex<?, E> index)
+	{
+		return this.indices.removeOne(index);
+	}
+
+	public final <K> HashIndex<K, E> createHashIndex(final Function<? super E, ? extends K> keyExtractor)
+	{
+		return this.addIndex(HashIndex.New(keyExtractor));
+	}
+
+	public final <K> HashIndex<K, E> createHashIndex(
+		final Function<? super E, ? extends K> keyExtractor,
+		final HashEqualator<? super K>         hashEquality
+	)
+	{
+		return this.addIndex(HashIndex.New(keyExtractor, hashEquality));
+	}
+
+	public final <K extends Comparable<? super K>> SortedIndex<K, E> createSortedIndex(
+		final Function<? super E, ? extends K> keyExtractor
+	)
+	{
+		return this.addIndex(SortedIndex.New(keyExtractor));
+	}
+
+	public final <K> SortedIndex<K, E> createSortedIndex(
+		final Function<? super E, ? extends K> keyExtractor,
+		final Comparator<? super K>            order
+	)
+	{
+		return this.addIndex(SortedIndex.New(keyExtractor, order));
+	}
+
+	private void notifyAdded(final E element)
+	{
+		for(final XIndex<?, E> index : this.indices)
+		{
+			index.elementAdded(element);
+		}
+	}
+
+	private void notifyRemoved(final E element)
+	{
+		for(final XIndex<?, E> index : this.indices)
+		{
+			index.elementRemoved(element);
+		}
+	}
+
+	public final boolean add(final E element)
+	{
+		this.elements.add(element);
+		this.changed = true;
+		this.notifyAdded(element);
+		return true;
+	}
+
+	@SafeVarargs
+	public final IndexedCollection<E> addAll(final E... elements)
+	{
+		for(final E e : elements)
+		{
+			this.add(e);
+		}
+		return this;
+	}
+
+	public final IndexedCollection<E> addAll(final XGettingCollection<? extends E> elements)
+	{
+		elements.iterate(this::add);
+		return this;
+	}
+
+	public final boolean remove(final E element)
+	{
+		if(!this.elements.removeOne(element))
+		{
+			return false;
+		}
+		this.changed = true;
+		this.notifyRemoved(element);
+		return true;
+	}
+
+	public final long removeBy(final Predicate<? super E> predicate)
+	{
+		final long removedCount = this.elements.removeBy(e ->
+		{
+			if(!predicate.test(e))
+			{
+				return false;
+			}
+			this.notifyRemoved(e);
+			return true;
+		});
+		if(removedCount != 0)
+		{
+			this.changed = true;
+		}
+		return removedCount;
+	}
+
+	/**
+	 * Executes the passed logic to change the state of the passed element and updates the indices
+	 * to the element's keys afterwards.
+	 *
+	 * @param element the element to be changed
+	 * @param logic the logic changing the element's state
+	 * @return the passed element
+	 */
+	public final E update(final E element, final Consumer<? super E> logic)
+	{
+		this.notifyRemoved(element);
+		try
+		{
+			logic.accept(element);
+		}
+		finally
+		{
+			this.notifyAdded(element);
+		}
+		return element;
+	}
+
+	public final void clear()
+	{
+		this.elements.clear();
+		this.changed = true;
+		for(final XIndex<?, E> index : this.indices)
+		{
+			index.elementsCleared();
+		}
+	}
+
+	@Override
+	public final String toString()
+	{
+		return this.getClass().getSimpleName() + " " + this.indices + " of " + this.elements;
+	}
+
+}
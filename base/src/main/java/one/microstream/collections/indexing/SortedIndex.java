@@ -0,0 +1,446 @@
+package one.microstream.collections.indexing;
+
+/*-
+ * #%L
+ * microstream-base
+ * %%
+ * Copyright (C) 2019 - 2022 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+import static one.microstream.X.notNull;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import one.microstream.X;
+import one.microstream.collections.BulkList;
+import one.microstream.collections.types.XGettingSequence;
+
+
+/**
+ * {@link XIndex} keeping its elements sorted by their key, answering equality and range lookups
+ * in logarithmic time plus the number of found elements.
+ * <p>
+ * Keys and elements are kept in two parallel arrays, elements with equal keys in the order they have been
+ * added. Keys are compared by the index's comparator or, if there is none, by their natural order.
+ * The binary type handler only stores the key extractor and the comparator, keys and elements are
+ * rebuilt by the owning {@link IndexedCollection} on loading.
+ *
+ * @param <K> the key type
+ * @param <E> the element type
+ */
+public final class SortedIndex<K, E> implements XIndex<K, E>
+{
+	///////////////////////////////////////////////////////////////////////////
+	// constants //
+	//////////////
+
+	private static final int INITIAL_LENGTH = 16;
+
+
+
+	///////////////////////////////////////////////////////////////////////////
+	// static methods //
+	///////////////////
+
+	public static <K extends Comparable<? super K>, E> SortedIndex<K, E> New(
+		final Function<? super E, ? extends K> keyExtractor
+	)
+	{
+		return new SortedIndex<>(notNull(keyExtractor), null);
+	}
+
+	public static <K, E> SortedIndex<K, E> New(
+		final Function<? super E, ? extends K> keyExtractor,
+		final Comparator<? super K>            order
+	)
+	{
+		return new SortedIndex<>(notNull(keyExtractor), order);
+	}
+
+
+
+	///////////////////////////////////////////////////////////////////////////
+	// instance fields //
+	////////////////////
+
+	private final Function<? super E, ? extends K> keyExtractor;
+	private final Comparator<? super K>            order       ;
+
+	private Object[] keys    ;
+	private Object[] elements;
+	private int      size    ;
+
+
+
+	///////////////////////////////////////////////////////////////////////////
+	// constructors //
+	/////////////////
+
+	SortedIndex(final Function<? super E, ? extends K> keyExtractor, final Comparator<? super K> order)
+	{
+		super();
+		this.keyExtractor = keyExtractor;
+		this.order        = order       ;
+		this.keys         = new Object[INITIAL_LENGTH];
+		this.elements     = new Object[INITIAL_LENGTH];
+	}
+
+
+
+	///////////////////////////////////////////////////////////////////////////
+	// methods //
+	////////////
+
+	@Override
+	public final Function<? super E, ? extends K> keyExtractor()
+	{
+		return this.keyExtractor;
+	}
+
+	/**
+	 * The comparator the keys are sorted by or <code>null</code> if they are sorted by their natural order.
+	 *
+	 * @return the key order
+	 */
+	public final Comparator<? super K> order()
+	{
+		return this.order;
+	}
+
+	@Override
+	public final long size()
+	{
+		return this.size;
+	}
+
+	@SuppressWarnings("unchecked")
+	final int compare(final K key1, final K key2)
+	{
+		return this.order != null
+			? this.order.compare(key1, key2)
+			: ((Comparable<? super K>)key1).compareTo(key2)
+		;
+	}
+
+	/**
+	 * Returns the index of the first key that is greater than (or, if inclusive, equal to) the passed key.
+	 */
+	@SuppressWarnings("unchecked")
+	private int lowerBound(final K key, final boolean inclusive)
+	{
+		int low = 0, high = this.size;
+		while(low < high)
+		{
+			final int mid = low + high >>> 1;
+			final int c   = this.compare((K)this.keys[mid], key);
+			if(c < 0 || c == 0 && !inclusive)
+			{
+				low = mid + 1;
+			}
+			else
+			{
+				high = mid;
+			}
+		}
+		return low;
+	}
+
+	/**
+	 * Returns the index of the first key that is greater than (or, if not inclusive, equal to) the passed key.
+	 */
+	private int upperBound(final K key, final boolean inclusive)
+	{
+		return this.lowerBound(key, !inclusive);
+	}
+
+	@Override
+	public final XGettingSequence<E> lookup(final K key)
+	{
+		return key == null
+			? X.empty()
+			: this.range(key, true, key, true)
+		;
+	}
+
+	/**
+	 * Returns all indexed elements with a key within the passed bounds, in key order.
+	 *
+	 * @param low the lower bound or <code>null</code> for no lower bound
+	 * @param lowInclusive whether elements with a key equal to the lower bound are included
+	 * @param high the upper bound or <code>null</code> for no upper bound
+	 * @param highInclusive whether elements with a key equal to the upper bound are included
+	 * @return the elements within the passed bounds
+	 */
+	@SuppressWarnings("unchecked")
+	public final XGettingSequence<E> range(
+		final K       low          ,
+		final boolean lowInclusive ,
+		final K       high         ,
+		final boolean highInclusive
+	)
+	{
+		final int start = low  == null ? 0         : this.lowerBound(low, lowInclusive);
+		final int bound = high == null ? this.size : this.upperBound(high, highInclusive);
+
+		final BulkList<E> result = BulkList.New(Math.max(bound - start, 0));
+		for(int i = start; i < bound; i++)
+		{
+			result.add((E)this.elements[i]);
+		}
+		return result;
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public final <P extends Consumer<? super E>> P iterate(final P procedure)
+	{
+		for(int i = 0; i < this.size; i++)
+		{
+			procedure.accept((E)this.elements[i]);
+		}
+		return procedure;
+	}
+
+	@Override
+	public final IndexPredicate<E> is(final K key)
+	{
+		return this.predicate(notNull(key), true, key, true);
+	}
+
+	public final IndexPredicate<E> lessThan(final K key)
+	{
+		return this.predicate(null, false, notNull(key), false);
+	}
+
+	public final IndexPredicate<E> atMost(final K key)
+	{
+		return this.predicate(null, false, notNull(key), true);
+	}
+
+	public final IndexPredicate<E> greaterThan(final K key)
+	{
+		return this.predicate(notNull(key), false, null, false);
+	}
+
+	public final IndexPredicate<E> atLeast(final K key)
+	{
+		return this.predicate(notNull(key), true, null, false);
+	}
+
+	/**
+	 * Returns a predicate testing for elements with a key between the passed keys, both inclusive.
+	 *
+	 * @param low the inclusive lower bound
+	 * @param high the inclusive upper bound
+	 * @return an index predicate testing for the passed range
+	 */
+	public final IndexPredicate<E> between(final K low, final K high)
+	{
+		return this.predicate(notNull(low), true, notNull(high), true);
+	}
+
+	private Range<K, E> predicate(final K low, final boolean lowInclusive, final K high, final boolean highInclusive)
+	{
+		return new Range<>(this, low, lowInclusive, high, highInclusive);
+	}
+
+	@Override
+	public final void elementAdded(final E element)
+	{
+		final K key = this.keyOf(element);
+		if(key == null)
+		{
+			return;
+		}
+
+		// behind all equal keys to keep the order of addition.
+		final int index = this.upperBound(key, true);
+		if(this.size == this.keys.length)
+		{
+			this.keys     = Arrays.copyOf(this.keys    , this.size * 2);
+			this.elements = Arrays.copyOf(this.elements, this.size * 2);
+		}
+		System.arraycopy(this.keys    , index, this.keys    , index + 1, this.size - index);
+		System.arraycopy(this.elements, index, this.elements, index + 1, this.size - index);
+		this.keys[index]     = key    ;
+		this.elements[index] = element;
+		this.size++;
+	}
+
+	@Override
+	public final SortedIndex<K, E> rebuild(final Iterable<? extends E> elements)
+	{
+		final BulkList<E> indexed = BulkList.New();
+		for(final E e : elements)
+		{
+			if(this.keyOf(e) != null)
+			{
+				indexed.add(e);
+			}
+		}
+
+		// sorting all elements at once instead of inserting them one by one. Stable to keep equal keys' order.
+		indexed.sort((e1, e2) -> this.compare(this.keyOf(e1), this.keyOf(e2)));
+
+		this.size     = X.checkArrayRange(indexed.size());
+		this.elements = Arrays.copyOf(indexed.toArray(), Math.max(this.size, INITIAL_LENGTH));
+		this.keys     = new Object[this.elements.length];
+		for(int i = 0; i < this.size; i++)
+		{
+			this.keys[i] = this.keyOf(indexed.at(i));
+		}
+
+		return this;
+	}
+
+	@Override
+	public final void elementRemoved(final E element)
+	{
+		final K key = this.keyOf(element);
+		int index = -1;
+		if(key != null)
+		{
+			index = this.indexOf(element, this.lowerBound(key, true), this.upperBound(key, true));
+		}
+		if(index < 0)
+		{
+			// the element's key has changed since it was indexed, so its entry has to be searched.
+			index = this.indexOf(element, 0, this.size);
+		}
+		if(index < 0)
+		{
+			return;
+		}
+
+		System.arraycopy(this.keys    , index + 1, this.keys    , index, this.size - index - 1);
+		System.arraycopy(this.elements, index + 1, this.elements, index, this.size - index - 1);
+		this.size--;
+		this.keys[this.size]     = null;
+		this.elements[this.size] = null;
+	}
+
+	private int indexOf(final E element, final int start, final int bound)
+	{
+		for(int i = start; i < bound; i++)
+		{
+			if(this.elements[i] == element)
+			{
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	@Override
+	public final void elementsCleared()
+	{
+		this.keys     = new Object[INITIAL_LENGTH];
+		this.elements = new Object[INITIAL_LENGTH];
+		this.size     = 0;
+	}
+
+	/**
+	 * Returns all indexed elements in key order.
+	 *
+	 * @return the indexed elements
+	 */
+	public final XGettingSequence<E> elements()
+	{
+		return this.range(null, false, null, false);
+	}
+
+	@Override
+	public final String toString()
+	{
+		return this.getClass().getSimpleName() + " (" + this.size + " elements)";
+	}
+
+
+
+	public static final class Range<K, E> extends XIndex.AbstractKeyPredicate<K, E>
+	{
+		///////////////////////////////////////////////////////////////////////////
+		// instance fields //
+		////////////////////
+
+		private final SortedIndex<K, E> index        ;
+		private final K                 low          ;
+		private final boolean           lowInclusive ;
+		private final K                 high         ;
+		private final boolean           highInclusive;
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// constructors //
+		/////////////////
+
+		Range(
+			final SortedIndex<K, E> index        ,
+			final K                 low          ,
+			final boolean           lowInclusive ,
+			final K                 high         ,
+			final boolean           highInclusive
+		)
+		{
+			super(index);
+			this.index         = index        ;
+			this.low           = low          ;
+			this.lowInclusive  = lowInclusive ;
+			this.high          = high         ;
+			this.highInclusive = highInclusive;
+		}
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// methods //
+		////////////
+
+		@Override
+		protected final boolean testKey(final K key)
+		{
+			if(this.low != null)
+			{
+				final int c = this.index.compare(key, this.low);
+				if(c < 0 || c == 0 && !this.lowInclusive)
+				{
+					return false;
+				}
+			}
+			if(this.high != null)
+			{
+				final int c = this.index.compare(key, this.high);
+				if(c > 0 || c == 0 && !this.highInclusive)
+				{
+					return false;
+				}
+			}
+			return true;
+		}
+
+		@Override
+		public final XGettingSequence<E> lookup()
+		{
+			return this.index.range(this.low, this.lowInclusive, this.high, this.highInclusive);
+		}
+
+	}
+
+}
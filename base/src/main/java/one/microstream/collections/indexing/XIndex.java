@@ -0,0 +1,144 @@
+package one.microstream.collections.indexing;
+
+/*-
+ * #%L
+ * microstream-base
+ * %%
+ * Copyright (C) 2019 - 2022 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+import java.util.function.Function;
+
+import one.microstream.collections.interfaces.Sized;
+import one.microstream.collections.types.XGettingSequence;
+import one.microstream.collections.types.XIterable;
+
+
+/**
+ * Index of the elements of an {@link IndexedCollection} by the key their key extractor function yields.
+ * <p>
+ * Elements with a <code>null</code> key are not indexed, hence never found by a lookup or by a predicate
+ * of the index.
+ * <p>
+ * The key extractor is persisted as part of the index, so it has to be a persistable type (e.g. an enum
+ * constant or a stateless class), not a lambda.
+ *
+ * @param <K> the key type
+ * @param <E> the element type
+ */
+public interface XIndex<K, E> extends IndexChangeHook<E>, XIterable<E>, Sized
+{
+	public Function<? super E, ? extends K> keyExtractor();
+
+	/**
+	 * Returns the key of the passed element as it is used by this index.
+	 *
+	 * @param element the element to extract the key from
+	 * @return the key of the passed element
+	 */
+	public default K keyOf(final E element)
+	{
+		return this.keyExtractor().apply(element);
+	}
+
+	/**
+	 * Returns all indexed elements with a key equal to the passed key.
+	 *
+	 * @param key the key to look up
+	 * @return the elements with the passed key
+	 */
+	public XGettingSequence<E> lookup(K key);
+
+	/**
+	 * Returns a predicate testing for elements with a key equal to the passed key.
+	 * Queries over the indexed collection that use this predicate as their selector
+	 * are answered by a {@link #lookup(Object)} instead of a full scan.
+	 *
+	 * @param key the key to test for
+	 * @return an index predicate testing for the passed key
+	 */
+	public IndexPredicate<E> is(K key);
+
+	/**
+	 * Removes all indexed elements and indexes the passed elements.
+	 *
+	 * @param elements the elements to be indexed
+	 * @return this index
+	 */
+	public default XIndex<K, E> rebuild(final Iterable<? extends E> elements)
+	{
+		this.elementsCleared();
+		for(final E e : elements)
+		{
+			this.elementAdded(e);
+		}
+		return this;
+	}
+
+
+
+	/**
+	 * Simple {@link IndexPredicate} base that tests elements by their key.
+	 *
+	 * @param <K> the key type
+	 * @param <E> the element type
+	 */
+	public abstract class AbstractKeyPredicate<K, E> implements IndexPredicate<E>
+	{
+		///////////////////////////////////////////////////////////////////////////
+		// instance fields //
+		////////////////////
+
+		private final XIndex<K, E> index;
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// constructors //
+		/////////////////
+
+		protected AbstractKeyPredicate(final XIndex<K, E> index)
+		{
+			super();
+			this.index = index;
+		}
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// methods //
+		////////////
+
+		protected abstract boolean testKey(K key);
+
+		@Override
+		public final XIndex<K, E> index()
+		{
+			return this.index;
+		}
+
+		@Override
+		public final boolean test(final E element)
+		{
+			final K key = this.index.keyOf(element);
+
+			// elements without key are not indexed, so they must not be selected by a full scan, either.
+			return key != null && this.testKey(key);
+		}
+
+	}
+
+}
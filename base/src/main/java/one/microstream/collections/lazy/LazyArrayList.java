@@ -62,6 +62,7 @@ import one.microstream.reference.LazyClearController;
 public final class LazyArrayList<E> extends AbstractList<E> implements LazyList<E>, RandomAccess
 {
 	private static final int MAX_SEGMENT_SIZE_DEFAULT = 1000;
+	private static final int READ_AHEAD_COUNT_DEFAULT =    4;
 	
 	///////////////////////////////////////////////////////////////////////////
 	// instance fields //
@@ -72,6 +73,10 @@ public final class LazyArrayList<E> extends AbstractList<E> implements LazyList<
 	private int                       size          ;
 	private final LazySegmentUnloader unloader      ;
 	
+	// common size of all segments but the last one, 0 if unknown, -1 if the sizes differ.
+	private transient int             uniformSegmentSize;
+	private transient int             readAheadCount = READ_AHEAD_COUNT_DEFAULT;
+	
 	///////////////////////////////////////////////////////////////////////////
 	// constructors //
 	/////////////////
@@ -166,6 +171,34 @@ public final class LazyArrayList<E> extends AbstractList<E> implements LazyList<
 	{
 		return this.maxSegmentSize;
 	}
+	
+	/**
+	 * Returns the number of segments that are loaded along when an iterator or spliterator
+	 * reaches a segment that is not loaded.
+	 * 
+	 * @return the number of segments that are loaded ahead.
+	 */
+	public int getReadAheadCount()
+	{
+		return this.readAheadCount;
+	}
+	
+	/**
+	 * Sets the number of segments that are loaded along when an iterator or spliterator
+	 * reaches a segment that is not loaded. All of them are loaded in one batch, see {@link Lazy#getAll(Iterable)}.
+	 * <br>
+	 * The setting is not persisted, loaded lists use the default of 4.
+	 * 
+	 * @param readAheadCount the number of segments to be loaded ahead, 0 to disable the read-ahead.
+	 */
+	public void setReadAheadCount(final int readAheadCount)
+	{
+		if(readAheadCount < 0)
+		{
+			throw new IllegalArgumentException("Illegal readAheadCount: " + readAheadCount + ". Must be 0 or greater!");
+		}
+		this.readAheadCount = readAheadCount;
+	}
 
 	@Override
 	public int size()
@@ -244,6 +277,8 @@ public final class LazyArrayList<E> extends AbstractList<E> implements LazyList<
 	
 	private void copySegmentsToArray(final Object[] array)
 	{
+		// every segment is needed, so all missing ones are loaded at once instead of one after another.
+		this.loadSegments(0, this.segments.size());
 		for(final Segment segment : this.segments)
 		{
 			final Object[] segmentArray = segment.getData().toArray();
@@ -315,7 +350,8 @@ public final class LazyArrayList<E> extends AbstractList<E> implements LazyList<
 		validateIndex(this.size + 1, index);
 		this.modCount++;
 		
-		final Segment segment = this.segmentForIndex(index);
+		final int     segmentIndex = this.segmentIndexForIndex(index);
+		final Segment segment      = this.segments.get(segmentIndex);
 		if(segment.segmentSize < this.maxSegmentSize)
 		{
 			/*
@@ -335,9 +371,8 @@ public final class LazyArrayList<E> extends AbstractList<E> implements LazyList<
 				 * if there is no next or next has no space left
 				 * add a new segment
 				 */
-				final int newSegmentIndex = this.segments.indexOf(segment) + 1;
 				next = this.createSegment();
-				this.segments.add(newSegmentIndex, next);
+				this.segments.add(segmentIndex + 1, next);
 			}
 			/*
 			 * move last element to next segment, add
@@ -370,7 +405,8 @@ public final class LazyArrayList<E> extends AbstractList<E> implements LazyList<
 			return false;
 		}
 		
-		final Segment segment = this.segmentForIndex(index);
+		final int     segmentIndex = this.segmentIndexForIndex(index);
+		final Segment segment      = this.segments.get(segmentIndex);
 		if(segment.segmentSize + newElementsSize <= this.maxSegmentSize)
 		{
 			/*
@@ -405,7 +441,7 @@ public final class LazyArrayList<E> extends AbstractList<E> implements LazyList<
 				segment.add(iterator.next());
 			}
 			this.addSegments(
-				this.segments.indexOf(segment) + 1,
+				segmentIndex + 1,
 				iterator
 			);
 		}
@@ -510,6 +546,7 @@ public final class LazyArrayList<E> extends AbstractList<E> implements LazyList<
 			consolidatedSegments.addAll(this.segments.subList(0, firstSegmentWithGaps));
 		}
 		
+		this.loadSegments(firstSegmentWithGaps, segmentsSize);
 		Segment newSegment = null;
 		for(int i = firstSegmentWithGaps; i < segmentsSize; i++)
 		{
@@ -532,6 +569,29 @@ public final class LazyArrayList<E> extends AbstractList<E> implements LazyList<
 		return true;
 	}
 	
+	private void loadSegments(final int startIndex, final int boundIndex)
+	{
+		final ArrayList<Lazy<?>> lazyReferences = new ArrayList<>(boundIndex - startIndex);
+		for(int i = startIndex; i < boundIndex; i++)
+		{
+			lazyReferences.add(this.segments.get(i).data);
+		}
+		Lazy.getAll(lazyReferences);
+	}
+	
+	/**
+	 * Loads the segment at the supplied position if it is not loaded, together with up to
+	 * {@link #getReadAheadCount()} following segments below the bound, in one batch.
+	 */
+	private void readAhead(final int segmentIndex, final int boundSegmentIndex)
+	{
+		if(this.segments.get(segmentIndex).isLoaded())
+		{
+			return;
+		}
+		this.loadSegments(segmentIndex, Math.min(boundSegmentIndex, segmentIndex + 1 + this.readAheadCount));
+	}
+	
 	@Override
 	public <P extends Consumer<Lazy<?>>> P iterateLazyReferences(final P procedure)
 	{
@@ -566,6 +626,7 @@ public final class LazyArrayList<E> extends AbstractList<E> implements LazyList<
 		}
 		this.segments.clear();
 		this.size = 0;
+		this.uniformSegmentSize = 0;
 	}
 	
 	private boolean removeSegmentIfEmpty(final Segment segment)
@@ -694,28 +755,38 @@ public final class LazyArrayList<E> extends AbstractList<E> implements LazyList<
 	 */
 	private Segment segmentForIndex(final int index)
 	{
-		final int firstGuess = index / this.maxSegmentSize;
-		
-		if(this.segments.size() > firstGuess)
-		{
-			final Segment segment = this.segments.get(firstGuess);
-			
-			if(segment.containsIndex(index))
-			{
-				return segment;
-			}
+		final int segmentIndex = this.segmentIndexForIndex(index);
+		return segmentIndex < 0
+			? null
+			: this.segments.get(segmentIndex)
+		;
+	}
 	
-			if(index >= segment.offset + segment.segmentSize)
-			{
-				return this.segmentForIndex(index, firstGuess + 1, this.segments.size());
-			}
-			else if(index < segment.offset)
-			{
-				return this.segmentForIndex(index, 0, firstGuess -1);
-			}
+	/**
+	 * Search the position of the segment that contains the supplied index.
+	 * If all segments but the last one have the same size, the position is calculated directly.
+	 * Otherwise, a binary search is done.
+	 * <br><b>
+	 * The Index is not validated, this must be done before calling this method!
+	 * </b></br>
+	 * 
+	 * @param index index to be searched for.
+	 * @return position of the segment containing the index or -1.
+	 */
+	private int segmentIndexForIndex(final int index)
+	{
+		final int uniformSegmentSize = this.uniformSegmentSize();
+		if(uniformSegmentSize > 0)
+		{
+			// the last segment may be larger than the others
+			final int segmentIndex = Math.min(index / uniformSegmentSize, this.segments.size() - 1);
+			return this.segments.get(segmentIndex).containsIndex(index)
+				? segmentIndex
+				: -1
+			;
 		}
 		
-		throw new NoSuchElementException("Index " + index + "not found!");
+		return this.segmentIndexForIndex(index, 0, this.segments.size() - 1);
 	}
 	
 	/**
@@ -726,9 +797,9 @@ public final class LazyArrayList<E> extends AbstractList<E> implements LazyList<
 	 * @param index index to be searched for.
 	 * @param lowSegmentIndex lower limit to search within.
 	 * @param highSegmentIndex upper limit to search within.
-	 * @return Segment containing the index or null.
+	 * @return position of the segment containing the index or -1.
 	 */
-	private Segment segmentForIndex(final int index, final int lowSegmentIndex, final int highSegmentIndex)
+	private int segmentIndexForIndex(final int index, final int lowSegmentIndex, final int highSegmentIndex)
 	{
 		int hi = highSegmentIndex;
 		int lo = lowSegmentIndex;
@@ -748,10 +819,48 @@ public final class LazyArrayList<E> extends AbstractList<E> implements LazyList<
 			}
 			else
 			{
-				return midSegment;
+				return mid;
 			}
 		}
-		return null;
+		return -1;
+	}
+	
+	private int uniformSegmentSize()
+	{
+		if(this.uniformSegmentSize == 0)
+		{
+			this.uniformSegmentSize = this.determineUniformSegmentSize();
+		}
+		return this.uniformSegmentSize;
+	}
+	
+	/**
+	 * Determines the common size of all segments but the last one.
+	 * 
+	 * @return the common segment size, 0 if there are no segments or -1 if the sizes differ.
+	 */
+	private int determineUniformSegmentSize()
+	{
+		final int lastSegmentIndex = this.segments.size() - 1;
+		if(lastSegmentIndex <= 0)
+		{
+			// a single segment contains every index
+			return lastSegmentIndex < 0 ? 0 : this.maxSegmentSize;
+		}
+		
+		final int segmentSize = this.segments.get(0).segmentSize;
+		if(segmentSize == 0)
+		{
+			return -1;
+		}
+		for(int i = 1; i < lastSegmentIndex; i++)
+		{
+			if(this.segments.get(i).segmentSize != segmentSize)
+			{
+				return -1;
+			}
+		}
+		return segmentSize;
 	}
 	
 	private Segment ensureSlots()
@@ -769,6 +878,7 @@ public final class LazyArrayList<E> extends AbstractList<E> implements LazyList<
 				segment = this.createSegment();
 				segment.offset = this.size;
 				this.segments.add(segment);
+				this.uniformSegmentSize = 0;
 			}
 	}
 		return segment;
@@ -824,6 +934,7 @@ public final class LazyArrayList<E> extends AbstractList<E> implements LazyList<
 	
 	private void updateOffsets()
 	{
+		this.uniformSegmentSize = 0;
 		int offset = 0;
 		for(final Segment segment : this.segments)
 		{
@@ -854,7 +965,7 @@ public final class LazyArrayList<E> extends AbstractList<E> implements LazyList<
 	private void addSegment(final int segmentOffset, final int segmentSize, final Object data)
 	{
 		this.segments.add(new Segment(segmentOffset, segmentSize, (ControlledLazyReference<ArrayList<E>>)data));
-		
+		this.uniformSegmentSize = 0;
 	}
 	
 	private int modCount()
@@ -884,6 +995,18 @@ public final class LazyArrayList<E> extends AbstractList<E> implements LazyList<
 	}
 	
 	
+	/**
+	 * Creates a new {@link Iterator} in list order. Segments that are not loaded are
+	 * loaded in batches when the iterator reaches them, see {@link #getReadAheadCount()}.
+	 * 
+	 * @return a new iterator.
+	 */
+	@Override
+	public Iterator<E> iterator()
+	{
+		return new SequentialIterator();
+	}
+	
 	/**
 	 * Creates a new {@link Iterator} that will iterate all loaded entries first,
 	 * it does not define any other specific ordering.
@@ -897,7 +1020,88 @@ public final class LazyArrayList<E> extends AbstractList<E> implements LazyList<
 	
 
 	/**
-	 * An @link Iterator} that will iterate all loaded entries first,
+	 * An {@link Iterator} in list order that loads the segments ahead of its position in batches.
+	 */
+	private class SequentialIterator implements Iterator<E>
+	{
+		int     cursor           = 0;
+		int     lastRet          = -1;
+		int     segmentIndex     = -1;
+		Segment currentSegment   = null;
+		int     expectedModCount = LazyArrayList.this.modCount();
+		
+		@Override
+		public boolean hasNext()
+		{
+			return this.cursor < LazyArrayList.this.size();
+		}
+		
+		@Override
+		public E next()
+		{
+			if(LazyArrayList.this.modCount() != this.expectedModCount)
+			{
+				throw new ConcurrentModificationException();
+			}
+			if(!this.hasNext())
+			{
+				throw new NoSuchElementException();
+			}
+			
+			if(this.currentSegment == null || !this.currentSegment.containsIndex(this.cursor))
+			{
+				this.moveToSegment();
+			}
+			
+			final E next = this.currentSegment.getData().get(this.cursor - this.currentSegment.offset);
+			this.lastRet = this.cursor++;
+			
+			return next;
+		}
+		
+		private void moveToSegment()
+		{
+			if(this.currentSegment == null)
+			{
+				this.segmentIndex = LazyArrayList.this.segmentIndexForIndex(this.cursor);
+			}
+			else
+			{
+				do
+				{
+					this.segmentIndex++;
+				}
+				while(!LazyArrayList.this.segments.get(this.segmentIndex).containsIndex(this.cursor));
+			}
+			
+			this.currentSegment = LazyArrayList.this.segments.get(this.segmentIndex);
+			LazyArrayList.this.readAhead(this.segmentIndex, LazyArrayList.this.segments.size());
+		}
+		
+		@Override
+		public void remove()
+		{
+			if(this.lastRet < 0)
+			{
+				throw new IllegalStateException();
+			}
+			if(LazyArrayList.this.modCount() != this.expectedModCount)
+			{
+				throw new ConcurrentModificationException();
+			}
+			
+			LazyArrayList.this.remove(this.lastRet);
+			this.expectedModCount = LazyArrayList.this.modCount();
+			this.cursor  = this.lastRet;
+			this.lastRet = -1;
+			
+			// removing can remove the current segment, so it is searched again.
+			this.currentSegment = null;
+		}
+	}
+	
+	/**
+	 * An {@link Iterator} that will iterate all loaded entries first,
 	 * it does not guarantee any other specific ordering.
 	 *
 	 */
@@ -1009,11 +1213,33 @@ public final class LazyArrayList<E> extends AbstractList<E> implements LazyList<
 			
 			if(!this.unloadedSegments.empty())
 			{
+				this.readAhead();
 				return this.unloadedSegments.pop();
 			}
 			
 			return null;
 		}
+		
+		/**
+		 * Loads the next unloaded segment, if it is not loaded meanwhile,
+		 * together with the following ones up to the read-ahead count in one batch.
+		 */
+		private void readAhead()
+		{
+			final int top = this.unloadedSegments.size() - 1;
+			if(this.unloadedSegments.get(top).isLoaded())
+			{
+				return;
+			}
+			
+			final int                bound          = Math.max(-1, top - 1 - LazyArrayList.this.readAheadCount);
+			final ArrayList<Lazy<?>> lazyReferences = new ArrayList<>(top - bound);
+			for(int i = top; i > bound; i--)
+			{
+				lazyReferences.add(this.unloadedSegments.get(i).data);
+			}
+			Lazy.getAll(lazyReferences);
+		}
 	}
 	
 	public final class Segment implements LazyClearController, LazySegment<ArrayList<E>>
@@ -1261,6 +1487,10 @@ public final class LazyArrayList<E> extends AbstractList<E> implements LazyList<
 	 * A late-binding {@link Spliterator} that splits the LazyArrayList at the internal lazy loaded segments borders.
 	 * If all elements are in the same segment this Spliterator doesn't allow further splitting.
 	 * This implementation throws {@link ConcurrentModificationException} if a concurrent modification is detected.
+	 * <p>
+	 * When it reaches a segment that is not loaded, that segment and the following ones of its range
+	 * up to the read-ahead count are loaded in one batch, see {@link LazyArrayList#getReadAheadCount()}.
+	 * Since the splits never share a segment, a parallel stream loads and processes the segments concurrently.
 	 *	
 	 * <p>The Spliterator reports the characteristics {@link Spliterator#SIZED},
 	 *  {@link Spliterator#SUBSIZED}, and {@link Spliterator#ORDERED}.
@@ -1295,6 +1525,12 @@ public final class LazyArrayList<E> extends AbstractList<E> implements LazyList<
 			return hi;
 		}
 		
+		@SuppressWarnings("synthetic-access")
+		private int boundSegmentIndex(final int hi)
+		{
+			return LazyArrayList.this.segmentIndexForIndex(hi - 1) + 1;
+		}
+		
 		@SuppressWarnings("synthetic-access")
 		@Override
 		public boolean tryAdvance(final Consumer<? super E> action)
@@ -1309,20 +1545,19 @@ public final class LazyArrayList<E> extends AbstractList<E> implements LazyList<
 			{
 				this.index = i + 1;
 				
-				final LazyArrayList<E>.Segment nextSegment = LazyArrayList.this.segmentForIndex(i);
-				nextSegment.allowUnload(false);
-				
-				if(this.lastSegment != nextSegment)
+				if(this.lastSegment == null || !this.lastSegment.containsIndex(i))
 				{
 					if(this.lastSegment != null)
 					{
 						this.lastSegment.allowUnload(true);
 					}
-					this.lastSegment = nextSegment;
+					final int segmentIndex = LazyArrayList.this.segmentIndexForIndex(i);
+					LazyArrayList.this.readAhead(segmentIndex, this.boundSegmentIndex(hi));
+					this.lastSegment = LazyArrayList.this.segments.get(segmentIndex);
 					this.lastSegment.allowUnload(false);
 				}
 								
-				action.accept(LazyArrayList.this.get(i));
+				action.accept(this.lastSegment.getData().get(i - this.lastSegment.offset));
 				if (LazyArrayList.this.modCount != this.expectedModCount)
 				{
 					throw new ConcurrentModificationException();
@@ -1330,12 +1565,64 @@ public final class LazyArrayList<E> extends AbstractList<E> implements LazyList<
 				return true;
 			}
 					
+			this.releaseLastSegment();
+			
+			return false;
+		}
+		
+		@SuppressWarnings("synthetic-access")
+		@Override
+		public void forEachRemaining(final Consumer<? super E> action)
+		{
+			if (action == null)
+			{
+				throw new NullPointerException();
+			}
+			
+			final int hi = this.getFence();
+			int       i  = this.index;
+			this.index = hi;
+			this.releaseLastSegment();
+			if(i >= hi)
+			{
+				return;
+			}
+			
+			// the elements are processed segment by segment, without looking up the segment of each element.
+			final int boundSegmentIndex = this.boundSegmentIndex(hi);
+			for(int segmentIndex = LazyArrayList.this.segmentIndexForIndex(i); i < hi; segmentIndex++)
+			{
+				LazyArrayList.this.readAhead(segmentIndex, boundSegmentIndex);
+				final Segment segment = LazyArrayList.this.segments.get(segmentIndex);
+				segment.allowUnload(false);
+				try
+				{
+					final ArrayList<E> data = segment.getData();
+					final int          end  = Math.min(hi, segment.offset + segment.segmentSize);
+					for(; i < end; i++)
+					{
+						action.accept(data.get(i - segment.offset));
+					}
+				}
+				finally
+				{
+					segment.allowUnload(true);
+				}
+				
+				if (LazyArrayList.this.modCount != this.expectedModCount)
+				{
+					throw new ConcurrentModificationException();
+				}
+			}
+		}
+		
+		private void releaseLastSegment()
+		{
 			if(this.lastSegment != null)
 			{
 				this.lastSegment.allowUnload(true);
+				this.lastSegment = null;
 			}
-			
-			return false;
 		}
 
 		@Override
@@ -1343,30 +1630,41 @@ public final class LazyArrayList<E> extends AbstractList<E> implements LazyList<
 		{
 			final int hi = this.getFence();
 			final int lo = this.index;
+			if(lo >= hi)
+			{
+				return null;
+			}
+			
 			final int mid = lo + hi >>> 1;
 			
 			final Segment midSegment = LazyArrayList.this.segmentForIndex(mid);
+			final int     midStart   = midSegment.offset;
+			final int     midEnd     = midSegment.offset + midSegment.segmentSize;
 			
 			//return null if no more split possible
 			//because all elements are in same segment
-			if(hi <= midSegment.offset + midSegment.segmentSize &&
-			   lo >= midSegment.offset)
+			if(hi <= midEnd && lo >= midStart)
 			{
 				return null;
 			}
-							
-			final int dist_lo  = mid - midSegment.offset;
-			final int dist_hi  = midSegment.offset + midSegment.segmentSize - mid;
 			
 			//put midSegment to left or right?
-			int splitIndex;
-			if(dist_lo < dist_hi)
+			//both parts must not be empty.
+			final int splitIndex;
+			if(midStart <= lo)
+			{
+				splitIndex = midEnd;
+			}
+			else if(midEnd >= hi)
 			{
-				splitIndex = midSegment.offset;
+				splitIndex = midStart;
 			}
 			else
 			{
-				splitIndex = midSegment.offset + midSegment.segmentSize;
+				splitIndex = mid - midStart < midEnd - mid
+					? midStart
+					: midEnd
+				;
 			}
 			 
 			this.index = splitIndex;
@@ -20,6 +20,7 @@ package one.microstream.collections.lazy;
  * #L%
  */
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashSet;
 import java.util.Set;
@@ -45,6 +46,19 @@ public interface LazyCollection<E> extends Collection<E>
 	 */
 	public <P extends Consumer<Lazy<?>>> P iterateLazyReferences(P procedure);
 	
+	/**
+	 * Loads all internally used {@link Lazy} references which are not loaded yet
+	 * with as few loading calls as possible, see {@link Lazy#getAll(Iterable)}.
+	 * <p>
+	 * Note that the whole content of this collection is in memory afterwards, until it gets unloaded again.
+	 */
+	public default void loadAll()
+	{
+		final ArrayList<Lazy<?>> lazyReferences = new ArrayList<>();
+		this.iterateLazyReferences(lazyReferences::add);
+		Lazy.getAll(lazyReferences);
+	}
+	
 	/**
 	 * Optimizes the internal structure of this lazy collection.
 	 * Closes possible gaps and cleans up unused storage space.
@@ -50,6 +50,11 @@ import one.microstream.reference.ObjectSwizzling;
  * segment may exceed that desired maxSegmentSize. Key / value entries are sorted
  * ascending by the keys hash values.
  * <br><br>
+ * Segments are addressed directly by the leading bits of a hash (extendible hashing): segments are split at
+ * hash prefix boundaries and sparse neighboring segments are merged again. Each segment keeps a small
+ * bloom filter of its hashes that is persisted along with the map, so looking up an absent key
+ * hardly ever has to load a segment.
+ * <br><br>
  * This implementation requires an active microstream storage with specialized
  * type handlers. Without those handles a correct behavior is not guaranteed.
  * The required handlers are:
@@ -68,6 +73,14 @@ import one.microstream.reference.ObjectSwizzling;
 public final class LazyHashMap<K, V> implements Map<K, V>
 {
 	private static final int MAX_SEGMENT_SIZE_DEFAULT = 1000;
+	
+	// 8 bits per entry and 4 hash functions result in about 2% false positives for full segments.
+	private static final int FILTER_BITS_PER_ENTRY = 8;
+	private static final int FILTER_HASH_COUNT     = 4;
+	private static final int FILTER_MAX_BITS       = 1 << 24;
+	
+	// a directory slot per 2 segments at most, but no more than 1M slots.
+	private static final int MAX_DIRECTORY_DEPTH   = 20;
 
 	///////////////////////////////////////////////////////////////////////////
 	// instance fields //
@@ -79,6 +92,10 @@ public final class LazyHashMap<K, V> implements Map<K, V>
 	private int modCount;
 	private transient ObjectSwizzling loader;
 	private final LazySegmentUnloader unloader;
+	
+	// index of the first segment per hash prefix, rebuilt on demand after the segments changed.
+	private transient int[] directory;
+	private transient int directoryShift;
 
 	///////////////////////////////////////////////////////////////////////////
 	// constructors //
@@ -200,53 +217,99 @@ public final class LazyHashMap<K, V> implements Map<K, V>
 	}
 		
 	/**
-	 * Do a binary search for the segment that contains the supplied hash.
+	 * Looks up the segment that contains the supplied hash by the leading bits of the hash.
 	 *
-	 * @param hash index to be searched for.
-	 * @param lowSegmentIndex lower limit to search within.
-	 * @param highSegmentIndex upper limit to search within.
-	 * @return Segment containing the hash or null.
+	 * @param hash hash to be searched for.
+	 * @return Segment containing the hash or null if there are no segments.
 	 */
-	private Segment<Entry<K, V>> searchSegment(final int hash, final int lowSegmentIndex, final int highSegmentIndex)
+	private Segment<Entry<K, V>> searchSegment(final int hash)
 	{
-		if(this.segments.size() < 1)
+		if(this.segments.isEmpty())
 		{
 			return null;
 		}
 		
-		int hi = highSegmentIndex;
-		int lo = lowSegmentIndex;
+		final int[] directory = this.directory != null
+			? this.directory
+			: this.buildDirectory()
+		;
 		
-		while (lo <= hi)
+		// segment boundaries finer than the directory's resolution require skipping a few segments.
+		int index = directory[toDirectoryKey(hash) >>> this.directoryShift];
+		for(final int last = this.segments.size() - 1; index < last; index++)
 		{
-			final int mid = lo  + (hi - lo) / 2;
-			final Segment<Entry<K, V>> segment = this.segments.get(mid);
-			final int cmp = segment.compareHash(hash);
-			if(cmp == 0)
-			{
-				return segment;
-			}
-			else if(cmp < 0)
+			if(this.segments.get(index).compareHash(hash) <= 0)
 			{
-				hi = mid - 1;
+				break;
 			}
-			else
+		}
+		
+		return this.segments.get(index);
+	}
+	
+	private int[] buildDirectory()
+	{
+		// at least twice as many slots as segments, so that most slots point to their segment directly.
+		final int depth = Math.min(MAX_DIRECTORY_DEPTH, 33 - Integer.numberOfLeadingZeros(this.segments.size()));
+		final int shift = Integer.SIZE - depth;
+		final int last  = this.segments.size() - 1;
+		
+		final int[] directory = new int[1 << depth];
+		for(int slot = 0, index = 0; slot < directory.length; slot++)
+		{
+			final int slotFirstHash = fromDirectoryKey(slot << shift);
+			while(index < last && this.segments.get(index).compareHash(slotFirstHash) > 0)
 			{
-				lo = mid + 1;
+				index++;
 			}
+			directory[slot] = index;
 		}
-		//should not be reached as there should be at least one segment that covers the whole hash range
-		throw new NoSuchElementException("No segment found for hash " + hash);
+		this.directoryShift = shift;
+		
+		return this.directory = directory;
+	}
+	
+	/**
+	 * Maps the signed order of hashes to the unsigned order of directory keys.
+	 */
+	private static int toDirectoryKey(final int hash)
+	{
+		return hash ^ Integer.MIN_VALUE;
+	}
+	
+	private static int fromDirectoryKey(final int key)
+	{
+		return key ^ Integer.MIN_VALUE;
+	}
+	
+	/**
+	 * Returns the hash prefix boundary between the two supplied hashes with the shortest prefix,
+	 * so that segments are always split at hash prefix boundaries.
+	 */
+	private static int splitBoundary(final int lowHash, final int highHash)
+	{
+		final int highKey = toDirectoryKey(highHash);
+		final int bit     = Integer.highestOneBit(toDirectoryKey(lowHash) ^ highKey);
+		
+		return fromDirectoryKey(highKey & -bit);
+	}
+	
+	private int filterLength()
+	{
+		final long bits = Math.min(FILTER_MAX_BITS, Math.max(Long.SIZE, (long)this.maxSegmentSize * FILTER_BITS_PER_ENTRY));
+		
+		return Integer.highestOneBit((int)bits - 1) << 1 >>> 6;
 	}
 
 	private Entry<K, V> insert(final Entry<K, V> entry)
 	{
-		Segment<Entry<K, V>> segment = this.searchSegment(entry.hash, 0, this.segments.size());
+		Segment<Entry<K, V>> segment = this.searchSegment(entry.hash);
 		
 		if(segment == null)
 		{
 			segment = new Segment<>(this.maxSegmentSize);
 			this.segments.add(segment);
+			this.directory = null;
 		}
 		
 		final Entry<K, V> retVal = segment.insert(entry);
@@ -256,7 +319,12 @@ public final class LazyHashMap<K, V> implements Map<K, V>
 		{
 			final int smin = segment.getData().get(0).hash;
 			final int smax = segment.getData().get(segment.segmentSize - 1).hash;
-			final int mid = (int) (((long)smin + (long)smax) / 2);
+			if(smin == smax)
+			{
+				// all entries have the same hash, no split possible
+				return retVal;
+			}
+			final int mid = splitBoundary(smin, smax);
 
 			final int splitIndex = segment.findNextPosition(mid);
 
@@ -272,6 +340,7 @@ public final class LazyHashMap<K, V> implements Map<K, V>
 			segment.max = mid;
 
 			this.segments.add(this.segments.indexOf(segment) + 1, newSegment);
+			this.directory = null;
 		}
 
 		return retVal;
@@ -280,9 +349,9 @@ public final class LazyHashMap<K, V> implements Map<K, V>
 	private Entry<K, V> getByHash(final Object key)
 	{
 		final int hash = this.hash(key);
-		final LazyHashMap<K, V>.Segment<Entry<K, V>> segment = this.searchSegment(hash, 0, this.segments.size());
+		final LazyHashMap<K, V>.Segment<Entry<K, V>> segment = this.searchSegment(hash);
 		
-		if(segment == null)
+		if(segment == null || !segment.mayContain(hash))
 		{
 			return null;
 		}
@@ -359,7 +428,11 @@ public final class LazyHashMap<K, V> implements Map<K, V>
 			
 		final int hash = this.hash(key);
 
-		final LazyHashMap<K, V>.Segment<Entry<K, V>> s = this.searchSegment(hash, 0, this.segments.size());
+		final LazyHashMap<K, V>.Segment<Entry<K, V>> s = this.searchSegment(hash);
+		if(!s.mayContain(hash))
+		{
+			return null;
+		}
 		final Optional<V> removedValue = s.remove(key);
 		if (removedValue == null)
 		{
@@ -369,7 +442,10 @@ public final class LazyHashMap<K, V> implements Map<K, V>
 		this.size--;
 		this.modCount++;
 
-		this.removeSegmentIfEmpty(s);
+		if(!this.removeSegmentIfEmpty(s))
+		{
+			this.mergeSegmentIfSparse(s);
+		}
 		return removedValue.orElse(null);
 	}
 	
@@ -383,7 +459,11 @@ public final class LazyHashMap<K, V> implements Map<K, V>
 		
 		final int hash = this.hash(key);
 
-		final LazyHashMap<K, V>.Segment<Entry<K, V>> s = this.searchSegment(hash, 0, this.segments.size());
+		final LazyHashMap<K, V>.Segment<Entry<K, V>> s = this.searchSegment(hash);
+		if(!s.mayContain(hash))
+		{
+			return null;
+		}
 		final Optional<V> replacedValue = s.replace(hash, key, value);
 
 		if (replacedValue == null)
@@ -405,7 +485,11 @@ public final class LazyHashMap<K, V> implements Map<K, V>
 		
 		final int hash = this.hash(key);
 
-		final LazyHashMap<K, V>.Segment<Entry<K, V>> s = this.searchSegment(hash, 0, this.segments.size());
+		final LazyHashMap<K, V>.Segment<Entry<K, V>> s = this.searchSegment(hash);
+		if(!s.mayContain(hash))
+		{
+			return false;
+		}
 		final boolean replaced = s.replace(hash, key, oldValue, newValue);
 		
 		if (replaced)
@@ -442,11 +526,46 @@ public final class LazyHashMap<K, V> implements Map<K, V>
 			}
 			this.segments.remove(index);
 			this.unloader.remove(segment);
+			this.directory = null;
 			return true;
 		}
 		return false;
 	}
 	
+	/**
+	 * Merges the supplied segment into its smaller neighbor if both together are
+	 * at most half the maximum segment size.
+	 * 
+	 * @param segment segment to be checked.
+	 * @return true if segments have been merged, otherwise false.
+	 */
+	private boolean mergeSegmentIfSparse(final LazyHashMap<K, V>.Segment<Entry<K, V>> segment)
+	{
+		if(segment.segmentSize > this.maxSegmentSize >> 2 || this.segments.size() < 2)
+		{
+			return false;
+		}
+		
+		final int index = this.segments.indexOf(segment);
+		final int neighborIndex = index == 0
+			|| index < this.segments.size() - 1
+			&& this.segments.get(index + 1).segmentSize < this.segments.get(index - 1).segmentSize
+			? index + 1
+			: index - 1
+		;
+		if(segment.segmentSize + this.segments.get(neighborIndex).segmentSize > this.maxSegmentSize >> 1)
+		{
+			return false;
+		}
+		
+		final int lowerIndex = Math.min(index, neighborIndex);
+		this.segments.get(lowerIndex).merge(this.segments.get(lowerIndex + 1));
+		this.unloader.remove(this.segments.remove(lowerIndex + 1));
+		this.directory = null;
+		
+		return true;
+	}
+	
 	@Override
 	public void putAll(final Map<? extends K, ? extends V> m)
 	{
@@ -465,6 +584,7 @@ public final class LazyHashMap<K, V> implements Map<K, V>
 		this.segments.clear();
 		this.size = 0;
 		this.modCount++;
+		this.directory = null;
 	}
 
 	@Override
@@ -521,9 +641,10 @@ public final class LazyHashMap<K, V> implements Map<K, V>
 
 	//required by BinaryHandlerLazyHashMap
 	@SuppressWarnings({ "unchecked", "unused" })
-	private void addSegment(final int min, final int max, final int segmentSize, final Object data)
+	private void addSegment(final int min, final int max, final int segmentSize, final Object data, final long[] filter)
 	{
-		this.segments.add(new Segment<>(min, max, segmentSize, (ControlledLazyReference<LazyHashMapSegmentEntryList<K, V>>) data));
+		this.segments.add(new Segment<>(min, max, segmentSize, (ControlledLazyReference<LazyHashMapSegmentEntryList<K, V>>) data, filter));
+		this.directory = null;
 	}
 	
 	/**
@@ -620,6 +741,10 @@ public final class LazyHashMap<K, V> implements Map<K, V>
 		private int segmentSize;
 		private transient boolean modified;
 		private boolean allowUnloading = true;
+		
+		// bloom filter of the entries' hashes, null for segments stored without one until they are loaded.
+		private long[] filter;
+		private transient int filterRemovalCount;
 
 		
 		///////////////////////////////////////////////////////////////////////////
@@ -639,9 +764,16 @@ public final class LazyHashMap<K, V> implements Map<K, V>
 			this.min = Integer.MIN_VALUE;
 			this.max = Integer.MAX_VALUE;
 			this.modified = true;
+			this.filter = new long[LazyHashMap.this.filterLength()];
 		}
 
-		Segment(final int min, final int max, final int segmentSize, final ControlledLazyReference<LazyHashMapSegmentEntryList<K, V>> data)
+		Segment(
+			final int                                                        min        ,
+			final int                                                        max        ,
+			final int                                                        segmentSize,
+			final ControlledLazyReference<LazyHashMapSegmentEntryList<K, V>> data       ,
+			final long[]                                                     filter
+		)
 		{
 			super();
 			this.min = min;
@@ -649,6 +781,7 @@ public final class LazyHashMap<K, V> implements Map<K, V>
 			this.segmentSize = segmentSize;
 			this.data = data;
 			this.data.setLazyClearController(this);
+			this.filter = filter;
 		}
 		
 		///////////////////////////////////////////////////////////////////////////
@@ -694,11 +827,88 @@ public final class LazyHashMap<K, V> implements Map<K, V>
 			return this.data;
 		}
 		
+		//required by BinaryHandlerLazyHashMap
+		@SuppressWarnings("unused")
+		private long[] getFilter()
+		{
+			return this.filter;
+		}
+		
 		@Override
 		public LazyHashMapSegmentEntryList<K, V> getData()
 		{
 			LazyHashMap.this.unloader.unload(this);
-			return this.data.get();
+			final LazyHashMapSegmentEntryList<K, V> entries = this.data.get();
+			if(this.filter == null)
+			{
+				// segments stored without a filter get one as soon as they are loaded.
+				this.rebuildFilter(entries);
+			}
+			return entries;
+		}
+		
+		/**
+		 * Checks the segment's bloom filter for the supplied hash without loading the segment.
+		 * 
+		 * @param hash the key hash
+		 * @return false if the segment definitely contains no entry with the hash, otherwise true.
+		 */
+		public boolean mayContain(final int hash)
+		{
+			final long[] filter = this.filter;
+			if(filter == null)
+			{
+				return true;
+			}
+			
+			// double hashing: the bit positions are derived from two independent mixes of the hash.
+			final int mask = (filter.length << 6) - 1;
+			final int step = Integer.rotateLeft(hash, 16) * 0x85EBCA6B | 1;
+			for(int i = 0, h = hash * 0x9E3779B9; i < FILTER_HASH_COUNT; i++, h += step)
+			{
+				final int bit = (h ^ h >>> 16) & mask;
+				if((filter[bit >>> 6] & 1L << bit) == 0)
+				{
+					return false;
+				}
+			}
+			return true;
+		}
+		
+		private void addToFilter(final int hash)
+		{
+			final long[] filter = this.filter;
+			if(filter == null)
+			{
+				return;
+			}
+			
+			final int mask = (filter.length << 6) - 1;
+			final int step = Integer.rotateLeft(hash, 16) * 0x85EBCA6B | 1;
+			for(int i = 0, h = hash * 0x9E3779B9; i < FILTER_HASH_COUNT; i++, h += step)
+			{
+				final int bit = (h ^ h >>> 16) & mask;
+				filter[bit >>> 6] |= 1L << bit;
+			}
+		}
+		
+		private void rebuildFilter(final LazyHashMapSegmentEntryList<K, V> entries)
+		{
+			this.filter = new long[LazyHashMap.this.filterLength()];
+			this.filterRemovalCount = 0;
+			for(final Entry<K, V> entry : entries)
+			{
+				this.addToFilter(entry.hash);
+			}
+		}
+		
+		private void registerRemoval(final LazyHashMapSegmentEntryList<K, V> entries)
+		{
+			// removed hashes remain in the filter, it is rebuilt before they cause too many false positives.
+			if(++this.filterRemovalCount > this.segmentSize >> 1)
+			{
+				this.rebuildFilter(entries);
+			}
 		}
 		
 		//required by BinaryHandlerLazyArrayList
@@ -759,6 +969,7 @@ public final class LazyHashMap<K, V> implements Map<K, V>
 					entries.remove(entry);
 					this.modified = true;
 					this.segmentSize--;
+					this.registerRemoval(entries);
 					return Optional.ofNullable(entry.value);
 				}
 			}
@@ -770,13 +981,17 @@ public final class LazyHashMap<K, V> implements Map<K, V>
 		{
 			this.segmentSize--;
 			this.modified = true;
-			return this.getData().remove(i);
+			final LazyHashMapSegmentEntryList<K, V> entries = this.getData();
+			final Entry<K, V> removed = entries.remove(i);
+			this.registerRemoval(entries);
+			return removed;
 		}
 		
 		private  Entry<K, V> insert(final E entry)
 		{
 			final LazyHashMapSegmentEntryList<K, V> entries = this.getData();
 			final LazyHashMapSegmentEntryList<K, V> e = this.getData();
+			this.addToFilter(entry.hash);
 			
 			for (int i = 0; i < e.size(); i++)
 			{
@@ -872,9 +1087,26 @@ public final class LazyHashMap<K, V> implements Map<K, V>
 
 			e.removeAll(part);
 			this.segmentSize = e.size();
+			
+			this.rebuildFilter(e);
+			newSegment.rebuildFilter(newSegment.getData());
 
 			return newSegment;
 		}
+		
+		private void merge(final Segment<Entry<K, V>> upper)
+		{
+			// the upper segment's entries are fetched first, so that loading them can't unload this segment.
+			final LazyHashMapSegmentEntryList<K, V> upperEntries = upper.getData();
+			final LazyHashMapSegmentEntryList<K, V> e = this.getData();
+			this.modified = true;
+			
+			e.addAll(upperEntries);
+			this.segmentSize = e.size();
+			this.max = upper.max;
+			
+			this.rebuildFilter(e);
+		}
 
 		/**
 		 * Returns the string representation of this segment.
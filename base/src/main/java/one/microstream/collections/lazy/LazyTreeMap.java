@@ -0,0 +1,2289 @@
+package one.microstream.collections.lazy;
+
+/*-
+ * #%L
+ * MicroStream Base
+ * %%
+ * Copyright (C) 2019 - 2022 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+import java.util.AbstractCollection;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.SortedSet;
+import java.util.function.Consumer;
+
+import one.microstream.branching.ThrowBreak;
+import one.microstream.reference.ControlledLazyReference;
+import one.microstream.reference.Lazy;
+import one.microstream.reference.LazyClearController;
+import one.microstream.reference.ObjectSwizzling;
+
+/**
+ * This sorted map implementation is a B+-tree whose nodes are kept behind {@link Lazy} references,
+ * to enable automatic partial loading of it's content.
+ * <br><br>
+ * Inner nodes and leaf nodes are separate entities. The key / value pairs are kept in the leaves,
+ * the inner nodes only contain the first key of each but the first child node. Looking up a key or
+ * iterating a range of keys (see {@link #subMap(Object, boolean, Object, boolean)}, {@link #headMap(Object, boolean)}
+ * and {@link #tailMap(Object, boolean)}) only loads the nodes on the way to the required leaves.
+ * Loaded leaves are unloaded via a {@link LazySegmentUnloader}, inner nodes are cleared
+ * by the {@link one.microstream.reference.LazyReferenceManager} like any other lazy reference.
+ * <br><br>
+ * The maxNodeSize defines the maximum number of key / value pairs of a leaf and the maximum number
+ * of keys of an inner node. Nodes exceeding that size are split, sparse neighboring leaves are merged.
+ * Storing the map only stores the nodes that have been modified since they have been stored the last time.
+ * <br><br>
+ * Like {@link java.util.TreeMap}, keys are compared by the map's comparator or by their natural ordering
+ * if there is none. This map does not permit <code>null</code> keys.
+ * <br><br>
+ * This implementation requires an active microstream storage with specialized
+ * type handlers. Without those handles a correct behavior is not guaranteed.
+ * The required handlers are:
+ * BinaryHandlerLazyTreeMap
+ * BinaryHandlerLazyTreeMapLeaf
+ * BinaryHandlerLazyTreeMapInner
+ * BinaryHandlerControlledLazy
+ * <br><br>
+ * The Map gets bound to a specific storage instance at the first store.
+ * After the map has been persisted the first time it is no more possible to
+ * persist it to a different storage. In that case an IllegalStateException
+ * is thrown.
+ *
+ * @param <K> Type of keys.
+ * @param <V> Type of values.
+ */
+public final class LazyTreeMap<K, V> extends AbstractMap<K, V> implements NavigableMap<K, V>
+{
+	private static final int MAX_NODE_SIZE_DEFAULT = 1000;
+	private static final int MIN_NODE_SIZE         =    3;
+
+	///////////////////////////////////////////////////////////////////////////
+	// instance fields //
+	////////////////////
+
+	private final int maxNodeSize;
+	private final Comparator<? super K> comparator;
+	private final LazySegmentUnloader unloader;
+	private NodeReference root;
+	private int size;
+	private transient int modCount;
+	private transient ObjectSwizzling loader;
+
+	///////////////////////////////////////////////////////////////////////////
+	// constructors //
+	/////////////////
+
+	/**
+	 * Creates a new {@link LazyTreeMap} with a default maximum node size of 1000,
+	 * ordered by the natural ordering of its keys.
+	 */
+	public LazyTreeMap()
+	{
+		this(MAX_NODE_SIZE_DEFAULT, null);
+	}
+
+	/**
+	 * Creates a new {@link LazyTreeMap} with a default maximum node size of 1000,
+	 * ordered by the supplied comparator.
+	 *
+	 * @param comparator the comparator to order the keys or null for the natural ordering.
+	 */
+	public LazyTreeMap(final Comparator<? super K> comparator)
+	{
+		this(MAX_NODE_SIZE_DEFAULT, comparator);
+	}
+
+	/**
+	 * Creates a new {@link LazyTreeMap} with a maximum node size, ordered by the supplied comparator.
+	 *
+	 * @param maxNodeSize maximum node size, must be 3 or greater.
+	 * @param comparator the comparator to order the keys or null for the natural ordering.
+	 */
+	public LazyTreeMap(final int maxNodeSize, final Comparator<? super K> comparator)
+	{
+		this(maxNodeSize, comparator, new LazySegmentUnloader.Default(5));
+	}
+
+	/**
+	 * Creates a new {@link LazyTreeMap} with a maximum node size, ordered by the supplied comparator.
+	 *
+	 * @param maxNodeSize maximum node size, must be 3 or greater.
+	 * @param comparator the comparator to order the keys or null for the natural ordering.
+	 * @param lazySegmentUnloader LazySegmentUnloader instance to unload the leaves.
+	 */
+	public LazyTreeMap(
+		final int                   maxNodeSize        ,
+		final Comparator<? super K> comparator         ,
+		final LazySegmentUnloader   lazySegmentUnloader
+	)
+	{
+		super();
+
+		if(maxNodeSize < MIN_NODE_SIZE) {
+			throw new IllegalArgumentException("Illegal maxNodeSize: " + maxNodeSize + ". Must be " + MIN_NODE_SIZE + " or greater!");
+		}
+
+		this.maxNodeSize = maxNodeSize;
+		this.comparator  = comparator;
+		this.unloader    = lazySegmentUnloader;
+	}
+
+	/**
+	 * Creates a new copy from the supplied {@link LazyTreeMap}.
+	 * <br>
+	 * The key and value Objects of the source map will not be copied,
+	 * both maps will reference the same key and value object instances.
+	 *
+	 * @param map to be copied.
+	 */
+	public LazyTreeMap(final LazyTreeMap<K, ? extends V> map)
+	{
+		this(map.maxNodeSize, map.comparator, map.unloader.copy());
+		this.putAll(map);
+	}
+
+	///////////////////////////////////////////////////////////////////////////
+	// methods //
+	////////////
+
+	/**
+	 * Returns the maximum node size of this {@link LazyTreeMap}.
+	 *
+	 * @return the maximum node size of this {@link LazyTreeMap}
+	 */
+	public int getMaxNodeSize()
+	{
+		return this.maxNodeSize;
+	}
+
+	@SuppressWarnings("unchecked")
+	final int compare(final Object key1, final Object key2)
+	{
+		return this.comparator == null
+			? ((Comparable<Object>)key1).compareTo(key2)
+			: this.comparator.compare((K)key1, (K)key2)
+		;
+	}
+
+	/**
+	 * Binary search for the supplied key within the keys of the supplied node.
+	 *
+	 * @return the key's index if found, otherwise (-(insertion point) - 1).
+	 */
+	private int search(final Node node, final Object key)
+	{
+		int lo = 0;
+		int hi = node.size - 1;
+		while(lo <= hi)
+		{
+			final int mid = lo + hi >>> 1;
+			final int cmp = this.compare(node.keys[mid], key);
+			if(cmp < 0)
+			{
+				lo = mid + 1;
+			}
+			else if(cmp > 0)
+			{
+				hi = mid - 1;
+			}
+			else
+			{
+				return mid;
+			}
+		}
+		return -(lo + 1);
+	}
+
+	private int childIndex(final Inner inner, final Object key)
+	{
+		// a key equal to a separator belongs to the child right of it
+		final int index = this.search(inner, key);
+		return index >= 0 ? index + 1 : -(index + 1);
+	}
+
+	private Node load(final NodeReference reference)
+	{
+		final Node node = reference.data.get();
+		if(node instanceof Leaf)
+		{
+			this.unloader.unload(reference);
+		}
+		return node;
+	}
+
+	private Leaf findLeaf(final Object key)
+	{
+		if(this.root == null)
+		{
+			return null;
+		}
+
+		Node node = this.load(this.root);
+		while(node instanceof Inner)
+		{
+			final Inner inner = (Inner)node;
+			node = this.load(inner.children[this.childIndex(inner, key)]);
+		}
+		return (Leaf)node;
+	}
+
+	@Override
+	public int size()
+	{
+		return this.size;
+	}
+
+	@Override
+	public boolean isEmpty()
+	{
+		return this.size < 1;
+	}
+
+	@Override
+	public boolean containsKey(final Object key)
+	{
+		final Leaf leaf = this.findLeaf(key);
+		return leaf != null && this.search(leaf, key) >= 0;
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public V get(final Object key)
+	{
+		final Leaf leaf = this.findLeaf(key);
+		if(leaf == null)
+		{
+			return null;
+		}
+		final int index = this.search(leaf, key);
+		return index >= 0 ? (V)leaf.values[index] : null;
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public V put(final K key, final V value)
+	{
+		if(this.root == null)
+		{
+			// type and null check like TreeMap
+			this.compare(key, key);
+
+			final Leaf leaf = new Leaf(MIN_NODE_SIZE);
+			leaf.insert(0, key, value);
+			this.root = new NodeReference(leaf);
+			this.size = 1;
+			this.modCount++;
+			return null;
+		}
+
+		final Insertion insertion = new Insertion();
+		final NodeReference split = this.insert(this.load(this.root), key, value, insertion);
+		if(split != null)
+		{
+			final Inner newRoot = new Inner(MIN_NODE_SIZE);
+			newRoot.setFirstChild(this.root);
+			newRoot.insert(0, insertion.separator, split);
+			this.root = new NodeReference(newRoot);
+		}
+		if(insertion.replaced)
+		{
+			// replacing a value is no structural modification
+			return (V)insertion.oldValue;
+		}
+
+		this.size++;
+		this.modCount++;
+		return null;
+	}
+
+	/**
+	 * Inserts the key / value pair into the subtree of the supplied node.
+	 *
+	 * @return the new right sibling of the supplied node if it has been split, otherwise null.
+	 */
+	private NodeReference insert(final Node node, final Object key, final Object value, final Insertion insertion)
+	{
+		if(node instanceof Leaf)
+		{
+			final Leaf leaf = (Leaf)node;
+			final int index = this.search(leaf, key);
+			if(index >= 0)
+			{
+				insertion.replaced = true;
+				insertion.oldValue = leaf.values[index];
+				leaf.values[index] = value;
+				leaf.modified = true;
+				return null;
+			}
+
+			leaf.insert(-(index + 1), key, value);
+			if(leaf.size <= this.maxNodeSize)
+			{
+				return null;
+			}
+
+			final Leaf right = leaf.split();
+			insertion.separator = right.keys[0];
+			return new NodeReference(right);
+		}
+
+		final Inner inner = (Inner)node;
+		final int index = this.childIndex(inner, key);
+		final NodeReference childSplit = this.insert(this.load(inner.children[index]), key, value, insertion);
+		if(childSplit == null)
+		{
+			return null;
+		}
+
+		inner.insert(index, insertion.separator, childSplit);
+		if(inner.size <= this.maxNodeSize)
+		{
+			return null;
+		}
+
+		// the middle key moves up to the parent
+		insertion.separator = inner.keys[inner.size >> 1];
+		return new NodeReference(inner.split());
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public V remove(final Object key)
+	{
+		if(this.root == null)
+		{
+			return null;
+		}
+
+		final Insertion removal = new Insertion();
+		if(this.delete(this.load(this.root), key, removal))
+		{
+			this.unloader.remove(this.root);
+			this.root = null;
+		}
+		if(!removal.replaced)
+		{
+			return null;
+		}
+
+		// collapse inner nodes with a single child
+		for(Node node; this.root != null && (node = this.load(this.root)) instanceof Inner && node.size == 0;)
+		{
+			this.root = ((Inner)node).children[0];
+		}
+
+		this.size--;
+		this.modCount++;
+		return (V)removal.oldValue;
+	}
+
+	/**
+	 * Removes the key from the subtree of the supplied node.
+	 *
+	 * @return true if the supplied node became empty, otherwise false.
+	 */
+	private boolean delete(final Node node, final Object key, final Insertion removal)
+	{
+		if(node instanceof Leaf)
+		{
+			final Leaf leaf = (Leaf)node;
+			final int index = this.search(leaf, key);
+			if(index < 0)
+			{
+				return false;
+			}
+
+			removal.replaced = true;
+			removal.oldValue = leaf.values[index];
+			leaf.remove(index);
+			return leaf.size == 0;
+		}
+
+		final Inner inner = (Inner)node;
+		final int index = this.childIndex(inner, key);
+		final Node child = this.load(inner.children[index]);
+		if(!this.delete(child, key, removal))
+		{
+			if(child instanceof Leaf)
+			{
+				this.mergeLeafIfSparse(inner, index, (Leaf)child);
+			}
+			return false;
+		}
+
+		if(inner.size == 0)
+		{
+			// the only child is empty, so is this node
+			return true;
+		}
+		this.unloader.remove(inner.children[index]);
+		inner.removeChild(index);
+		return false;
+	}
+
+	/**
+	 * Merges the supplied leaf into its smaller sibling if both together are
+	 * at most half the maximum node size.
+	 */
+	private void mergeLeafIfSparse(final Inner parent, final int index, final Leaf leaf)
+	{
+		if(leaf.size > this.maxNodeSize >> 2 || parent.size == 0)
+		{
+			return;
+		}
+
+		final int siblingIndex = index == 0
+			|| index < parent.size
+			&& parent.children[index + 1].size() < parent.children[index - 1].size()
+			? index + 1
+			: index - 1
+		;
+		final int lowerIndex = Math.min(index, siblingIndex);
+
+		// the leaves are loaded right to left, so that loading the left one can't unload the right one.
+		final Leaf upper = (Leaf)this.load(parent.children[lowerIndex + 1]);
+		final Leaf lower = (Leaf)this.load(parent.children[lowerIndex]);
+		if(lower.size + upper.size > this.maxNodeSize >> 1)
+		{
+			return;
+		}
+
+		lower.appendAll(upper);
+		this.unloader.remove(parent.children[lowerIndex + 1]);
+		parent.removeChild(lowerIndex + 1);
+	}
+
+	@Override
+	public void clear()
+	{
+		if(this.root != null)
+		{
+			this.unloader.unload(true);
+		}
+		this.root = null;
+		this.size = 0;
+		this.modCount++;
+	}
+
+	@Override
+	public Comparator<? super K> comparator()
+	{
+		return this.comparator;
+	}
+
+	final Entry<K, V> exportEntry(final Cursor cursor, final boolean found)
+	{
+		return found
+			? new AbstractMap.SimpleImmutableEntry<>(cursor.key(), cursor.value())
+			: null
+		;
+	}
+
+	final Entry<K, V> ceilingEntry(final Object key, final boolean inclusive)
+	{
+		final Cursor cursor = new Cursor();
+		return this.exportEntry(cursor, cursor.seekCeiling(key, inclusive));
+	}
+
+	final Entry<K, V> floorEntry(final Object key, final boolean inclusive)
+	{
+		final Cursor cursor = new Cursor();
+		return this.exportEntry(cursor, cursor.seekFloor(key, inclusive));
+	}
+
+	@Override
+	public Entry<K, V> firstEntry()
+	{
+		final Cursor cursor = new Cursor();
+		return this.exportEntry(cursor, cursor.seekFirst());
+	}
+
+	@Override
+	public Entry<K, V> lastEntry()
+	{
+		final Cursor cursor = new Cursor();
+		return this.exportEntry(cursor, cursor.seekLast());
+	}
+
+	@Override
+	public Entry<K, V> lowerEntry(final K key)
+	{
+		return this.floorEntry(key, false);
+	}
+
+	@Override
+	public K lowerKey(final K key)
+	{
+		return keyOrNull(this.lowerEntry(key));
+	}
+
+	@Override
+	public Entry<K, V> floorEntry(final K key)
+	{
+		return this.floorEntry(key, true);
+	}
+
+	@Override
+	public K floorKey(final K key)
+	{
+		return keyOrNull(this.floorEntry(key));
+	}
+
+	@Override
+	public Entry<K, V> ceilingEntry(final K key)
+	{
+		return this.ceilingEntry(key, true);
+	}
+
+	@Override
+	public K ceilingKey(final K key)
+	{
+		return keyOrNull(this.ceilingEntry(key));
+	}
+
+	@Override
+	public Entry<K, V> higherEntry(final K key)
+	{
+		return this.ceilingEntry(key, false);
+	}
+
+	@Override
+	public K higherKey(final K key)
+	{
+		return keyOrNull(this.higherEntry(key));
+	}
+
+	@Override
+	public K firstKey()
+	{
+		return key(this.firstEntry());
+	}
+
+	@Override
+	public K lastKey()
+	{
+		return key(this.lastEntry());
+	}
+
+	@Override
+	public Entry<K, V> pollFirstEntry()
+	{
+		final Entry<K, V> entry = this.firstEntry();
+		if(entry != null)
+		{
+			this.remove(entry.getKey());
+		}
+		return entry;
+	}
+
+	@Override
+	public Entry<K, V> pollLastEntry()
+	{
+		final Entry<K, V> entry = this.lastEntry();
+		if(entry != null)
+		{
+			this.remove(entry.getKey());
+		}
+		return entry;
+	}
+
+	static <K> K keyOrNull(final Entry<K, ?> entry)
+	{
+		return entry == null ? null : entry.getKey();
+	}
+
+	static <K> K key(final Entry<K, ?> entry)
+	{
+		if(entry == null)
+		{
+			throw new NoSuchElementException();
+		}
+		return entry.getKey();
+	}
+
+	@Override
+	public NavigableMap<K, V> descendingMap()
+	{
+		return new SubMap(true, null, true, true, null, true, true);
+	}
+
+	@Override
+	public NavigableSet<K> navigableKeySet()
+	{
+		return new KeySet<>(this);
+	}
+
+	@Override
+	public NavigableSet<K> keySet()
+	{
+		return this.navigableKeySet();
+	}
+
+	@Override
+	public NavigableSet<K> descendingKeySet()
+	{
+		return this.descendingMap().navigableKeySet();
+	}
+
+	@Override
+	public LazyCollection<V> values()
+	{
+		return new Values();
+	}
+
+	@Override
+	public LazySet<Map.Entry<K, V>> entrySet()
+	{
+		return new EntrySet();
+	}
+
+	@Override
+	public NavigableMap<K, V> subMap(
+		final K       fromKey      ,
+		final boolean fromInclusive,
+		final K       toKey        ,
+		final boolean toInclusive
+	)
+	{
+		if(this.compare(fromKey, toKey) > 0)
+		{
+			throw new IllegalArgumentException("fromKey > toKey");
+		}
+		return new SubMap(false, fromKey, fromInclusive, false, toKey, toInclusive, false);
+	}
+
+	@Override
+	public NavigableMap<K, V> headMap(final K toKey, final boolean inclusive)
+	{
+		this.compare(toKey, toKey);
+		return new SubMap(true, null, true, false, toKey, inclusive, false);
+	}
+
+	@Override
+	public NavigableMap<K, V> tailMap(final K fromKey, final boolean inclusive)
+	{
+		this.compare(fromKey, fromKey);
+		return new SubMap(false, fromKey, inclusive, true, null, true, false);
+	}
+
+	@Override
+	public SortedMap<K, V> subMap(final K fromKey, final K toKey)
+	{
+		return this.subMap(fromKey, true, toKey, false);
+	}
+
+	@Override
+	public SortedMap<K, V> headMap(final K toKey)
+	{
+		return this.headMap(toKey, false);
+	}
+
+	@Override
+	public SortedMap<K, V> tailMap(final K fromKey)
+	{
+		return this.tailMap(fromKey, true);
+	}
+
+	/**
+	 * Iterates the lazy references of all loaded nodes, but doesn't load any nodes.
+	 *
+	 * @param <P> the procedure type
+	 * @param procedure the procedure to be applied to the lazy references.
+	 * @return the supplied procedure.
+	 */
+	public <P extends Consumer<Lazy<?>>> P iterateLazyReferences(final P procedure)
+	{
+		try
+		{
+			if(this.root != null)
+			{
+				iterateLazyReferences(this.root, procedure);
+			}
+		}
+		catch(final ThrowBreak b)
+		{
+			// abort iteration
+		}
+
+		return procedure;
+	}
+
+	private static void iterateLazyReferences(final NodeReference reference, final Consumer<Lazy<?>> procedure)
+	{
+		procedure.accept(reference.data);
+
+		final Node node = reference.data.peek();
+		if(node instanceof Inner)
+		{
+			final Inner inner = (Inner)node;
+			for(int i = 0; i <= inner.size; i++)
+			{
+				iterateLazyReferences(inner.children[i], procedure);
+			}
+		}
+	}
+
+	/**
+	 * Tries to unload the loaded leaves, see {@link LazySegmentUnloader#unload(boolean)}.
+	 *
+	 * @param unloadAll true to unload all leaves, false to keep the desired number of leaves loaded.
+	 */
+	public void tryUnload(final boolean unloadAll)
+	{
+		this.unloader.unload(unloadAll);
+	}
+
+	//required by BinaryHandlerLazyTreeMap
+	@SuppressWarnings("unused")
+	private void storeModifiedNodes(final Consumer<Object> storer)
+	{
+		if(this.root != null)
+		{
+			storeModifiedNodes(this.root, storer);
+		}
+	}
+
+	private static void storeModifiedNodes(final NodeReference reference, final Consumer<Object> storer)
+	{
+		final Node node = reference.data.peek();
+		if(node == null)
+		{
+			// unloaded nodes can't be modified and neither can their children
+			return;
+		}
+
+		if(node instanceof Inner)
+		{
+			// children first, so that new children are stored as a whole before their parent references them.
+			final Inner inner = (Inner)node;
+			for(int i = 0; i <= inner.size; i++)
+			{
+				storeModifiedNodes(inner.children[i], storer);
+			}
+		}
+		if(node.modified)
+		{
+			storer.accept(node);
+			node.modified = false;
+		}
+	}
+
+	//required by BinaryHandlerLazyTreeMap
+	@SuppressWarnings("unused")
+	private Lazy<?> getRoot()
+	{
+		return this.root == null ? null : this.root.data;
+	}
+
+	//required by BinaryHandlerLazyTreeMap
+	@SuppressWarnings("unused")
+	private void setRoot(final Object root)
+	{
+		this.root = root == null ? null : new NodeReference(root);
+		this.modCount++;
+	}
+
+	/**
+	 * Links the map to a {@link ObjectSwizzling} instance.
+	 *
+	 * @param objectLoader ObjectSwizzling instance.
+	 */
+	public void link(final ObjectSwizzling objectLoader)
+	{
+		if(this.loader != null)
+		{
+			return;
+		}
+		this.loader = objectLoader;
+	}
+
+	/**
+ 	 * Throws an IllegalStateException if the current loader is
+ 	 * not null and is not the provided one.
+ 	 *
+	 * @param objectLoader to be verified.
+	 */
+	public void verifyLoader(final ObjectSwizzling objectLoader)
+	{
+		if(this.loader != null && this.loader != objectLoader)
+		{
+			throw new IllegalStateException("Map already bound to an other storage!");
+		}
+	}
+
+	/**
+	 * Returns the string representation of this map.
+	 * Key-value pairs will be coded as 'key'='value'.
+	 * All nodes get loaded.
+	 *
+	 * @return a string representation of this map.
+	 */
+	@Override
+	public String toString()
+	{
+		return super.toString();
+	}
+
+
+	static final class Insertion
+	{
+		Object  separator;
+		Object  oldValue ;
+		boolean replaced ;
+	}
+
+
+	/**
+	 * Common part of the persisted nodes of a {@link LazyTreeMap}.
+	 */
+	public abstract static class Node
+	{
+		///////////////////////////////////////////////////////////////////////////
+		// instance fields //
+		////////////////////
+
+		Object[] keys;
+		int      size;
+		transient boolean modified;
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// constructors //
+		/////////////////
+
+		Node(final int initialCapacity)
+		{
+			super();
+			this.keys     = new Object[Math.max(initialCapacity, 1)];
+			this.modified = true;
+		}
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// methods //
+		////////////
+
+		/**
+		 * Returns the number of keys of this node.
+		 *
+		 * @return the number of keys of this node.
+		 */
+		public final int size()
+		{
+			return this.size;
+		}
+
+		public final Object keyAt(final int index)
+		{
+			return this.keys[index];
+		}
+
+		final int growCapacity()
+		{
+			return this.keys.length + (this.keys.length >> 1) + 1;
+		}
+	}
+
+	/**
+	 * Leaf node of a {@link LazyTreeMap}, contains the key / value pairs sorted ascending by their keys.
+	 */
+	public static final class Leaf extends Node
+	{
+		///////////////////////////////////////////////////////////////////////////
+		// instance fields //
+		////////////////////
+
+		Object[] values;
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// constructors //
+		/////////////////
+
+		public Leaf(final int initialCapacity)
+		{
+			super(initialCapacity);
+			this.values = new Object[this.keys.length];
+		}
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// methods //
+		////////////
+
+		public Object valueAt(final int index)
+		{
+			return this.values[index];
+		}
+
+		/**
+		 * Appends an entry, required to fill a loaded leaf.
+		 *
+		 * @param key the key, must be greater than the keys of all entries.
+		 * @param value the value.
+		 */
+		public void addEntry(final Object key, final Object value)
+		{
+			this.insert(this.size, key, value);
+		}
+
+		/**
+		 * Removes all entries, required to fill a loaded leaf.
+		 */
+		public void reset()
+		{
+			Arrays.fill(this.keys  , 0, this.size, null);
+			Arrays.fill(this.values, 0, this.size, null);
+			this.size = 0;
+		}
+
+		final void insert(final int index, final Object key, final Object value)
+		{
+			if(this.size == this.keys.length)
+			{
+				this.keys   = Arrays.copyOf(this.keys  , this.growCapacity());
+				this.values = Arrays.copyOf(this.values, this.keys.length);
+			}
+			System.arraycopy(this.keys  , index, this.keys  , index + 1, this.size - index);
+			System.arraycopy(this.values, index, this.values, index + 1, this.size - index);
+			this.keys[index]   = key;
+			this.values[index] = value;
+			this.size++;
+			this.modified = true;
+		}
+
+		final void remove(final int index)
+		{
+			final int moveCount = this.size - index - 1;
+			System.arraycopy(this.keys  , index + 1, this.keys  , index, moveCount);
+			System.arraycopy(this.values, index + 1, this.values, index, moveCount);
+			this.size--;
+			this.keys[this.size]   = null;
+			this.values[this.size] = null;
+			this.modified = true;
+		}
+
+		final Leaf split()
+		{
+			final int  mid   = this.size >> 1;
+			final Leaf right = new Leaf(this.keys.length);
+			right.size = this.size - mid;
+			System.arraycopy(this.keys  , mid, right.keys  , 0, right.size);
+			System.arraycopy(this.values, mid, right.values, 0, right.size);
+
+			Arrays.fill(this.keys  , mid, this.size, null);
+			Arrays.fill(this.values, mid, this.size, null);
+			this.size = mid;
+			this.modified = true;
+
+			return right;
+		}
+
+		final void appendAll(final Leaf other)
+		{
+			for(int i = 0; i < other.size; i++)
+			{
+				this.insert(this.size, other.keys[i], other.values[i]);
+			}
+		}
+	}
+
+	/**
+	 * Inner node of a {@link LazyTreeMap}, contains one child node more than keys.
+	 * The key at index i is the lowest key of the child at index i + 1.
+	 */
+	public static final class Inner extends Node
+	{
+		///////////////////////////////////////////////////////////////////////////
+		// instance fields //
+		////////////////////
+
+		NodeReference[] children;
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// constructors //
+		/////////////////
+
+		public Inner(final int initialCapacity)
+		{
+			super(initialCapacity);
+			this.children = new NodeReference[this.keys.length + 1];
+		}
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// methods //
+		////////////
+
+		public Lazy<?> childAt(final int index)
+		{
+			return this.children[index].data;
+		}
+
+		/**
+		 * Removes all children and sets the first one, required to fill a loaded inner node.
+		 *
+		 * @param child the lazy reference to the first child node.
+		 */
+		public void setFirstChild(final Object child)
+		{
+			Arrays.fill(this.keys, 0, this.size, null);
+			Arrays.fill(this.children, 0, this.size + 1, null);
+			this.size = 0;
+			this.children[0] = toReference(child);
+		}
+
+		/**
+		 * Appends a key and its child, required to fill a loaded inner node.
+		 *
+		 * @param key the lowest key of the child, must be greater than all other keys.
+		 * @param child the lazy reference to the child node.
+		 */
+		public void addChild(final Object key, final Object child)
+		{
+			this.insert(this.size, key, toReference(child));
+		}
+
+		private static NodeReference toReference(final Object child)
+		{
+			return child instanceof NodeReference
+				? (NodeReference)child
+				: new NodeReference(child)
+			;
+		}
+
+		/**
+		 * Inserts the key at the supplied index and the child right of it.
+		 */
+		final void insert(final int index, final Object key, final NodeReference child)
+		{
+			if(this.size == this.keys.length)
+			{
+				this.keys     = Arrays.copyOf(this.keys, this.growCapacity());
+				this.children = Arrays.copyOf(this.children, this.keys.length + 1);
+			}
+			System.arraycopy(this.keys    , index    , this.keys    , index + 1, this.size - index);
+			System.arraycopy(this.children, index + 1, this.children, index + 2, this.size - index);
+			this.keys[index]         = key;
+			this.children[index + 1] = child;
+			this.size++;
+			this.modified = true;
+		}
+
+		/**
+		 * Removes the child at the supplied index and the key left of it, or right of it for the first child.
+		 */
+		final void removeChild(final int index)
+		{
+			final int keyIndex = index == 0 ? 0 : index - 1;
+			System.arraycopy(this.keys    , keyIndex + 1, this.keys    , keyIndex, this.size - keyIndex - 1);
+			System.arraycopy(this.children, index    + 1, this.children, index   , this.size - index);
+			this.keys[this.size - 1]  = null;
+			this.children[this.size]  = null;
+			this.size--;
+			this.modified = true;
+		}
+
+		/**
+		 * Moves the keys right of the middle key and their children to a new node.
+		 * The middle key itself is removed.
+		 */
+		final Inner split()
+		{
+			final int   mid   = this.size >> 1;
+			final Inner right = new Inner(this.keys.length);
+			right.size = this.size - mid - 1;
+			System.arraycopy(this.keys    , mid + 1, right.keys    , 0, right.size    );
+			System.arraycopy(this.children, mid + 1, right.children, 0, right.size + 1);
+
+			Arrays.fill(this.keys    , mid    , this.size    , null);
+			Arrays.fill(this.children, mid + 1, this.size + 1, null);
+			this.size = mid;
+			this.modified = true;
+
+			return right;
+		}
+	}
+
+	/**
+	 * In-memory handle of a node's lazy reference that controls its clearing.
+	 */
+	static final class NodeReference implements LazyClearController, LazySegment<Node>
+	{
+		///////////////////////////////////////////////////////////////////////////
+		// instance fields //
+		////////////////////
+
+		final ControlledLazyReference<Node> data;
+		private boolean allowUnloading = true;
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// constructors //
+		/////////////////
+
+		NodeReference(final Node node)
+		{
+			super();
+			this.data = Lazy.register(new ControlledLazyReference.Default<>(node, this));
+		}
+
+		@SuppressWarnings("unchecked")
+		NodeReference(final Object data)
+		{
+			super();
+			this.data = (ControlledLazyReference<Node>)data;
+			this.data.setLazyClearController(this);
+		}
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// methods //
+		////////////
+
+		@Override
+		public int size()
+		{
+			final Node node = this.data.peek();
+			return node == null ? 0 : node.size;
+		}
+
+		@Override
+		public boolean isLoaded()
+		{
+			return this.data.isLoaded();
+		}
+
+		@Override
+		public boolean isModified()
+		{
+			final Node node = this.data.peek();
+			return node != null && node.modified;
+		}
+
+		@Override
+		public void unloadSegment()
+		{
+			this.data.clear();
+			this.allowUnloading = true;
+		}
+
+		@Override
+		public boolean unloadAllowed()
+		{
+			return this.allowUnloading;
+		}
+
+		@Override
+		public void allowUnload(final boolean allow)
+		{
+			this.allowUnloading = allow;
+		}
+
+		@Override
+		public Node getData()
+		{
+			return this.data.get();
+		}
+
+		@Override
+		public boolean allowClear()
+		{
+			final Node node = this.data.peek();
+			if(node == null)
+			{
+				return true;
+			}
+			if(node.modified)
+			{
+				return false;
+			}
+			if(node instanceof Inner)
+			{
+				// clearing an inner node would detach its loaded children, including modified ones.
+				final Inner inner = (Inner)node;
+				for(int i = 0; i <= inner.size; i++)
+				{
+					if(!inner.children[i].allowClear())
+					{
+						return false;
+					}
+				}
+			}
+			return true;
+		}
+	}
+
+	/**
+	 * Position within the leaves, keeps the path of inner nodes from the root,
+	 * so that moving to the neighboring leaves doesn't require sibling links.
+	 */
+	final class Cursor
+	{
+		///////////////////////////////////////////////////////////////////////////
+		// instance fields //
+		////////////////////
+
+		private Inner[] path    = new Inner[4];
+		private int[]   indices = new int[4];
+		private int     depth  ;
+		private Leaf    leaf   ;
+		private int     index  ;
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// methods //
+		////////////
+
+		@SuppressWarnings("unchecked")
+		final K key()
+		{
+			return (K)this.leaf.keys[this.index];
+		}
+
+		@SuppressWarnings("unchecked")
+		final V value()
+		{
+			return (V)this.leaf.values[this.index];
+		}
+
+		private void push(final Inner inner, final int childIndex)
+		{
+			if(this.depth == this.path.length)
+			{
+				this.path    = Arrays.copyOf(this.path   , this.depth << 1);
+				this.indices = Arrays.copyOf(this.indices, this.depth << 1);
+			}
+			this.path[this.depth]    = inner;
+			this.indices[this.depth] = childIndex;
+			this.depth++;
+		}
+
+		private void descend(final Node from, final boolean first)
+		{
+			Node node = from;
+			while(node instanceof Inner)
+			{
+				final Inner inner = (Inner)node;
+				final int   child = first ? 0 : inner.size;
+				this.push(inner, child);
+				node = LazyTreeMap.this.load(inner.children[child]);
+			}
+			this.leaf  = (Leaf)node;
+			this.index = first ? 0 : this.leaf.size - 1;
+		}
+
+		final boolean seekFirst()
+		{
+			this.depth = 0;
+			if(LazyTreeMap.this.root == null)
+			{
+				return false;
+			}
+			this.descend(LazyTreeMap.this.load(LazyTreeMap.this.root), true);
+			return true;
+		}
+
+		final boolean seekLast()
+		{
+			this.depth = 0;
+			if(LazyTreeMap.this.root == null)
+			{
+				return false;
+			}
+			this.descend(LazyTreeMap.this.load(LazyTreeMap.this.root), false);
+			return true;
+		}
+
+		/**
+		 * Positions the cursor at the lowest entry with a key greater than (or equal to) the supplied key.
+		 *
+		 * @return false if there is no such entry.
+		 */
+		final boolean seekCeiling(final Object key, final boolean inclusive)
+		{
+			this.depth = 0;
+			if(LazyTreeMap.this.root == null)
+			{
+				return false;
+			}
+
+			Node node = LazyTreeMap.this.load(LazyTreeMap.this.root);
+			while(node instanceof Inner)
+			{
+				final Inner inner = (Inner)node;
+				final int   child = LazyTreeMap.this.childIndex(inner, key);
+				this.push(inner, child);
+				node = LazyTreeMap.this.load(inner.children[child]);
+			}
+			this.leaf = (Leaf)node;
+
+			final int found = LazyTreeMap.this.search(this.leaf, key);
+			this.index = found < 0
+				? -(found + 1)
+				: inclusive ? found : found + 1
+			;
+
+			return this.index < this.leaf.size || this.nextLeaf();
+		}
+
+		/**
+		 * Positions the cursor at the highest entry with a key less than (or equal to) the supplied key.
+		 *
+		 * @return false if there is no such entry.
+		 */
+		final boolean seekFloor(final Object key, final boolean inclusive)
+		{
+			return this.seekCeiling(key, !inclusive)
+				? this.previous()
+				: this.seekLast()
+			;
+		}
+
+		final boolean next()
+		{
+			return ++this.index < this.leaf.size || this.nextLeaf();
+		}
+
+		final boolean previous()
+		{
+			return --this.index >= 0 || this.previousLeaf();
+		}
+
+		private boolean nextLeaf()
+		{
+			for(int d = this.depth; d-- > 0;)
+			{
+				if(this.indices[d] < this.path[d].size)
+				{
+					this.depth = d + 1;
+					this.descend(LazyTreeMap.this.load(this.path[d].children[++this.indices[d]]), true);
+					return true;
+				}
+			}
+			return false;
+		}
+
+		private boolean previousLeaf()
+		{
+			for(int d = this.depth; d-- > 0;)
+			{
+				if(this.indices[d] > 0)
+				{
+					this.depth = d + 1;
+					this.descend(LazyTreeMap.this.load(this.path[d].children[--this.indices[d]]), false);
+					return true;
+				}
+			}
+			return false;
+		}
+	}
+
+	/**
+	 * Iterates the entries between two bounds in ascending or descending order.
+	 * Only the leaves containing the iterated entries are loaded.
+	 */
+	abstract class RangeIterator<T> implements Iterator<T>
+	{
+		///////////////////////////////////////////////////////////////////////////
+		// instance fields //
+		////////////////////
+
+		private final Cursor  cursor = new Cursor();
+		private final Object  fence         ;
+		private final boolean fenceInclusive;
+		private final boolean unbounded     ;
+		private final boolean descending    ;
+		private       boolean hasNext       ;
+		private       K       lastKey       ;
+		private       int     expectedModCount;
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// constructors //
+		/////////////////
+
+		RangeIterator(final SubMap range)
+		{
+			super();
+			this.descending = range != null && range.descending;
+			this.expectedModCount = LazyTreeMap.this.modCount;
+
+			if(range == null)
+			{
+				this.fence          = null;
+				this.fenceInclusive = true;
+				this.unbounded      = true;
+				this.hasNext        = this.cursor.seekFirst();
+			}
+			else if(this.descending)
+			{
+				this.fence          = range.lo;
+				this.fenceInclusive = range.loInclusive;
+				this.unbounded      = range.fromStart;
+				this.hasNext        = range.toEnd
+					? this.cursor.seekLast()
+					: this.cursor.seekFloor(range.hi, range.hiInclusive)
+				;
+			}
+			else
+			{
+				this.fence          = range.hi;
+				this.fenceInclusive = range.hiInclusive;
+				this.unbounded      = range.toEnd;
+				this.hasNext        = range.fromStart
+					? this.cursor.seekFirst()
+					: this.cursor.seekCeiling(range.lo, range.loInclusive)
+				;
+			}
+			this.checkFence();
+		}
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// methods //
+		////////////
+
+		private void checkFence()
+		{
+			if(!this.hasNext || this.unbounded)
+			{
+				return;
+			}
+
+			final int cmp = LazyTreeMap.this.compare(this.cursor.key(), this.fence);
+			this.hasNext = this.descending
+				? cmp > 0 || cmp == 0 && this.fenceInclusive
+				: cmp < 0 || cmp == 0 && this.fenceInclusive
+			;
+		}
+
+		@Override
+		public final boolean hasNext()
+		{
+			return this.hasNext;
+		}
+
+		final Entry<K, V> nextEntry()
+		{
+			if(LazyTreeMap.this.modCount != this.expectedModCount)
+			{
+				throw new ConcurrentModificationException();
+			}
+			if(!this.hasNext)
+			{
+				throw new NoSuchElementException();
+			}
+
+			final Entry<K, V> entry = new MapEntry(this.cursor.key(), this.cursor.value());
+			this.lastKey = entry.getKey();
+
+			this.hasNext = this.descending
+				? this.cursor.previous()
+				: this.cursor.next()
+			;
+			this.checkFence();
+
+			return entry;
+		}
+
+		@Override
+		public final void remove()
+		{
+			if(this.lastKey == null)
+			{
+				throw new IllegalStateException();
+			}
+			if(LazyTreeMap.this.modCount != this.expectedModCount)
+			{
+				throw new ConcurrentModificationException();
+			}
+
+			LazyTreeMap.this.remove(this.lastKey);
+			this.expectedModCount = LazyTreeMap.this.modCount;
+
+			// removing can restructure the tree, so the cursor is positioned again
+			if(this.hasNext)
+			{
+				this.hasNext = this.descending
+					? this.cursor.seekFloor(this.lastKey, false)
+					: this.cursor.seekCeiling(this.lastKey, false)
+				;
+				this.checkFence();
+			}
+			this.lastKey = null;
+		}
+	}
+
+	final class EntryIterator extends RangeIterator<Map.Entry<K, V>>
+	{
+		EntryIterator(final SubMap range)
+		{
+			super(range);
+		}
+
+		@Override
+		public final Entry<K, V> next()
+		{
+			return this.nextEntry();
+		}
+	}
+
+	final class KeyIterator extends RangeIterator<K>
+	{
+		KeyIterator(final SubMap range)
+		{
+			super(range);
+		}
+
+		@Override
+		public final K next()
+		{
+			return this.nextEntry().getKey();
+		}
+	}
+
+	final class ValueIterator extends RangeIterator<V>
+	{
+		ValueIterator(final SubMap range)
+		{
+			super(range);
+		}
+
+		@Override
+		public final V next()
+		{
+			return this.nextEntry().getValue();
+		}
+	}
+
+	/**
+	 * Entry handed out by iterators, setting its value puts it into the map.
+	 */
+	final class MapEntry extends AbstractMap.SimpleEntry<K, V>
+	{
+		MapEntry(final K key, final V value)
+		{
+			super(key, value);
+		}
+
+		@Override
+		public V setValue(final V value)
+		{
+			LazyTreeMap.this.put(this.getKey(), value);
+			return super.setValue(value);
+		}
+	}
+
+	final class EntrySet extends AbstractSet<Map.Entry<K, V>> implements LazySet<Map.Entry<K, V>>
+	{
+		///////////////////////////////////////////////////////////////////////////
+		// methods //
+		////////////
+
+		@Override
+		public Iterator<Map.Entry<K, V>> iterator()
+		{
+			return new EntryIterator(null);
+		}
+
+		@Override
+		public int size()
+		{
+			return LazyTreeMap.this.size;
+		}
+
+		@Override
+		public void clear()
+		{
+			LazyTreeMap.this.clear();
+		}
+
+		@Override
+		public <P extends Consumer<Lazy<?>>> P iterateLazyReferences(final P procedure)
+		{
+			return LazyTreeMap.this.iterateLazyReferences(procedure);
+		}
+
+		@Override
+		public boolean consolidate()
+		{
+			return false;
+		}
+
+		@Override
+		public void tryUnload(final boolean unloadAll)
+		{
+			LazyTreeMap.this.tryUnload(unloadAll);
+		}
+	}
+
+	final class Values extends AbstractCollection<V> implements LazyCollection<V>
+	{
+		///////////////////////////////////////////////////////////////////////////
+		// methods //
+		////////////
+
+		@Override
+		public Iterator<V> iterator()
+		{
+			return new ValueIterator(null);
+		}
+
+		@Override
+		public int size()
+		{
+			return LazyTreeMap.this.size;
+		}
+
+		@Override
+		public void clear()
+		{
+			LazyTreeMap.this.clear();
+		}
+
+		@Override
+		public <P extends Consumer<Lazy<?>>> P iterateLazyReferences(final P procedure)
+		{
+			return LazyTreeMap.this.iterateLazyReferences(procedure);
+		}
+
+		@Override
+		public boolean consolidate()
+		{
+			return false;
+		}
+
+		@Override
+		public void tryUnload(final boolean unloadAll)
+		{
+			LazyTreeMap.this.tryUnload(unloadAll);
+		}
+	}
+
+	/**
+	 * Navigable key set of a {@link LazyTreeMap} or one of its views.
+	 */
+	static final class KeySet<K> extends AbstractSet<K> implements NavigableSet<K>
+	{
+		///////////////////////////////////////////////////////////////////////////
+		// instance fields //
+		////////////////////
+
+		private final NavigableMap<K, ?> map;
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// constructors //
+		/////////////////
+
+		KeySet(final NavigableMap<K, ?> map)
+		{
+			super();
+			this.map = map;
+		}
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// methods //
+		////////////
+
+		@SuppressWarnings("unchecked")
+		@Override
+		public Iterator<K> iterator()
+		{
+			if(this.map instanceof LazyTreeMap)
+			{
+				return ((LazyTreeMap<K, ?>)this.map).new KeyIterator(null);
+			}
+			return ((LazyTreeMap<K, ?>.SubMap)this.map).keyIterator();
+		}
+
+		@Override
+		public Iterator<K> descendingIterator()
+		{
+			return this.descendingSet().iterator();
+		}
+
+		@Override
+		public int size()
+		{
+			return this.map.size();
+		}
+
+		@Override
+		public boolean isEmpty()
+		{
+			return this.map.isEmpty();
+		}
+
+		@Override
+		public boolean contains(final Object o)
+		{
+			return this.map.containsKey(o);
+		}
+
+		@Override
+		public void clear()
+		{
+			this.map.clear();
+		}
+
+		@Override
+		public boolean remove(final Object o)
+		{
+			final int oldSize = this.size();
+			this.map.remove(o);
+			return this.size() != oldSize;
+		}
+
+		@Override
+		public K lower(final K e)
+		{
+			return this.map.lowerKey(e);
+		}
+
+		@Override
+		public K floor(final K e)
+		{
+			return this.map.floorKey(e);
+		}
+
+		@Override
+		public K ceiling(final K e)
+		{
+			return this.map.ceilingKey(e);
+		}
+
+		@Override
+		public K higher(final K e)
+		{
+			return this.map.higherKey(e);
+		}
+
+		@Override
+		public K first()
+		{
+			return this.map.firstKey();
+		}
+
+		@Override
+		public K last()
+		{
+			return this.map.lastKey();
+		}
+
+		@Override
+		public Comparator<? super K> comparator()
+		{
+			return this.map.comparator();
+		}
+
+		@Override
+		public K pollFirst()
+		{
+			return keyOrNull(this.map.pollFirstEntry());
+		}
+
+		@Override
+		public K pollLast()
+		{
+			return keyOrNull(this.map.pollLastEntry());
+		}
+
+		@Override
+		public NavigableSet<K> descendingSet()
+		{
+			return new KeySet<>(this.map.descendingMap());
+		}
+
+		@Override
+		public NavigableSet<K> subSet(
+			final K       fromElement  ,
+			final boolean fromInclusive,
+			final K       toElement    ,
+			final boolean toInclusive
+		)
+		{
+			return new KeySet<>(this.map.subMap(fromElement, fromInclusive, toElement, toInclusive));
+		}
+
+		@Override
+		public NavigableSet<K> headSet(final K toElement, final boolean inclusive)
+		{
+			return new KeySet<>(this.map.headMap(toElement, inclusive));
+		}
+
+		@Override
+		public NavigableSet<K> tailSet(final K fromElement, final boolean inclusive)
+		{
+			return new KeySet<>(this.map.tailMap(fromElement, inclusive));
+		}
+
+		@Override
+		public SortedSet<K> subSet(final K fromElement, final K toElement)
+		{
+			return this.subSet(fromElement, true, toElement, false);
+		}
+
+		@Override
+		public SortedSet<K> headSet(final K toElement)
+		{
+			return this.headSet(toElement, false);
+		}
+
+		@Override
+		public SortedSet<K> tailSet(final K fromElement)
+		{
+			return this.tailSet(fromElement, true);
+		}
+	}
+
+	/**
+	 * Range view of a {@link LazyTreeMap}, in ascending or descending order.
+	 * The bounds are always expressed in the ascending order of the backing map.
+	 */
+	final class SubMap extends AbstractMap<K, V> implements NavigableMap<K, V>
+	{
+		///////////////////////////////////////////////////////////////////////////
+		// instance fields //
+		////////////////////
+
+		final boolean fromStart  ;
+		final Object  lo         ;
+		final boolean loInclusive;
+		final boolean toEnd      ;
+		final Object  hi         ;
+		final boolean hiInclusive;
+		final boolean descending ;
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// constructors //
+		/////////////////
+
+		SubMap(
+			final boolean fromStart  ,
+			final Object  lo         ,
+			final boolean loInclusive,
+			final boolean toEnd      ,
+			final Object  hi         ,
+			final boolean hiInclusive,
+			final boolean descending
+		)
+		{
+			super();
+			this.fromStart   = fromStart  ;
+			this.lo          = lo         ;
+			this.loInclusive = loInclusive;
+			this.toEnd       = toEnd      ;
+			this.hi          = hi         ;
+			this.hiInclusive = hiInclusive;
+			this.descending  = descending ;
+		}
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// methods //
+		////////////
+
+		final boolean tooLow(final Object key)
+		{
+			if(this.fromStart)
+			{
+				return false;
+			}
+			final int cmp = LazyTreeMap.this.compare(key, this.lo);
+			return cmp < 0 || cmp == 0 && !this.loInclusive;
+		}
+
+		final boolean tooHigh(final Object key)
+		{
+			if(this.toEnd)
+			{
+				return false;
+			}
+			final int cmp = LazyTreeMap.this.compare(key, this.hi);
+			return cmp > 0 || cmp == 0 && !this.hiInclusive;
+		}
+
+		final boolean inRange(final Object key)
+		{
+			return !this.tooLow(key) && !this.tooHigh(key);
+		}
+
+		final boolean inRange(final Object key, final boolean inclusive)
+		{
+			if(inclusive)
+			{
+				return this.inRange(key);
+			}
+			// bounds of exclusive sub ranges may be equal to the bounds of this range
+			return (this.fromStart || LazyTreeMap.this.compare(key, this.lo) >= 0)
+				&& (this.toEnd     || LazyTreeMap.this.compare(this.hi, key) >= 0)
+			;
+		}
+
+		final Entry<K, V> absLowest()
+		{
+			final Entry<K, V> entry = this.fromStart
+				? LazyTreeMap.this.firstEntry()
+				: LazyTreeMap.this.ceilingEntry(this.lo, this.loInclusive)
+			;
+			return entry == null || this.tooHigh(entry.getKey()) ? null : entry;
+		}
+
+		final Entry<K, V> absHighest()
+		{
+			final Entry<K, V> entry = this.toEnd
+				? LazyTreeMap.this.lastEntry()
+				: LazyTreeMap.this.floorEntry(this.hi, this.hiInclusive)
+			;
+			return entry == null || this.tooLow(entry.getKey()) ? null : entry;
+		}
+
+		final Entry<K, V> absCeiling(final Object key, final boolean inclusive)
+		{
+			if(this.tooLow(key))
+			{
+				return this.absLowest();
+			}
+			final Entry<K, V> entry = LazyTreeMap.this.ceilingEntry(key, inclusive);
+			return entry == null || this.tooHigh(entry.getKey()) ? null : entry;
+		}
+
+		final Entry<K, V> absFloor(final Object key, final boolean inclusive)
+		{
+			if(this.tooHigh(key))
+			{
+				return this.absHighest();
+			}
+			final Entry<K, V> entry = LazyTreeMap.this.floorEntry(key, inclusive);
+			return entry == null || this.tooLow(entry.getKey()) ? null : entry;
+		}
+
+		final Iterator<K> keyIterator()
+		{
+			return new KeyIterator(this);
+		}
+
+		@Override
+		public boolean containsKey(final Object key)
+		{
+			return this.inRange(key) && LazyTreeMap.this.containsKey(key);
+		}
+
+		@Override
+		public V get(final Object key)
+		{
+			return this.inRange(key) ? LazyTreeMap.this.get(key) : null;
+		}
+
+		@Override
+		public V put(final K key, final V value)
+		{
+			if(!this.inRange(key))
+			{
+				throw new IllegalArgumentException("key out of range");
+			}
+			return LazyTreeMap.this.put(key, value);
+		}
+
+		@Override
+		public V remove(final Object key)
+		{
+			return this.inRange(key) ? LazyTreeMap.this.remove(key) : null;
+		}
+
+		@Override
+		public int size()
+		{
+			// like the sub maps of TreeMap, the size is counted, but only the leaves of the range are loaded.
+			if(this.fromStart && this.toEnd)
+			{
+				return LazyTreeMap.this.size;
+			}
+			int size = 0;
+			for(final Iterator<K> iterator = this.keyIterator(); iterator.hasNext(); iterator.next())
+			{
+				size++;
+			}
+			return size;
+		}
+
+		@Override
+		public boolean isEmpty()
+		{
+			return this.absLowest() == null;
+		}
+
+		@Override
+		public Set<Map.Entry<K, V>> entrySet()
+		{
+			return new AbstractSet<Map.Entry<K, V>>()
+			{
+				@Override
+				public Iterator<Map.Entry<K, V>> iterator()
+				{
+					return new EntryIterator(SubMap.this);
+				}
+
+				@Override
+				public int size()
+				{
+					return SubMap.this.size();
+				}
+
+				@Override
+				public boolean isEmpty()
+				{
+					return SubMap.this.isEmpty();
+				}
+			};
+		}
+
+		@Override
+		public Collection<V> values()
+		{
+			return new AbstractCollection<V>()
+			{
+				@Override
+				public Iterator<V> iterator()
+				{
+					return new ValueIterator(SubMap.this);
+				}
+
+				@Override
+				public int size()
+				{
+					return SubMap.this.size();
+				}
+			};
+		}
+
+		@Override
+		public Comparator<? super K> comparator()
+		{
+			return this.descending
+				? Collections.reverseOrder(LazyTreeMap.this.comparator)
+				: LazyTreeMap.this.comparator
+			;
+		}
+
+		@Override
+		public Entry<K, V> lowerEntry(final K key)
+		{
+			return this.descending ? this.absCeiling(key, false) : this.absFloor(key, false);
+		}
+
+		@Override
+		public K lowerKey(final K key)
+		{
+			return keyOrNull(this.lowerEntry(key));
+		}
+
+		@Override
+		public Entry<K, V> floorEntry(final K key)
+		{
+			return this.descending ? this.absCeiling(key, true) : this.absFloor(key, true);
+		}
+
+		@Override
+		public K floorKey(final K key)
+		{
+			return keyOrNull(this.floorEntry(key));
+		}
+
+		@Override
+		public Entry<K, V> ceilingEntry(final K key)
+		{
+			return this.descending ? this.absFloor(key, true) : this.absCeiling(key, true);
+		}
+
+		@Override
+		public K ceilingKey(final K key)
+		{
+			return keyOrNull(this.ceilingEntry(key));
+		}
+
+		@Override
+		public Entry<K, V> higherEntry(final K key)
+		{
+			return this.descending ? this.absFloor(key, false) : this.absCeiling(key, false);
+		}
+
+		@Override
+		public K higherKey(final K key)
+		{
+			return keyOrNull(this.higherEntry(key));
+		}
+
+		@Override
+		public Entry<K, V> firstEntry()
+		{
+			return this.descending ? this.absHighest() : this.absLowest();
+		}
+
+		@Override
+		public Entry<K, V> lastEntry()
+		{
+			return this.descending ? this.absLowest() : this.absHighest();
+		}
+
+		@Override
+		public K firstKey()
+		{
+			return key(this.firstEntry());
+		}
+
+		@Override
+		public K lastKey()
+		{
+			return key(this.lastEntry());
+		}
+
+		@Override
+		public Entry<K, V> pollFirstEntry()
+		{
+			final Entry<K, V> entry = this.firstEntry();
+			if(entry != null)
+			{
+				LazyTreeMap.this.remove(entry.getKey());
+			}
+			return entry;
+		}
+
+		@Override
+		public Entry<K, V> pollLastEntry()
+		{
+			final Entry<K, V> entry = this.lastEntry();
+			if(entry != null)
+			{
+				LazyTreeMap.this.remove(entry.getKey());
+			}
+			return entry;
+		}
+
+		@Override
+		public NavigableMap<K, V> descendingMap()
+		{
+			return new SubMap(
+				this.fromStart, this.lo, this.loInclusive,
+				this.toEnd    , this.hi, this.hiInclusive,
+				!this.descending
+			);
+		}
+
+		@Override
+		public NavigableSet<K> navigableKeySet()
+		{
+			return new KeySet<>(this);
+		}
+
+		@Override
+		public NavigableSet<K> keySet()
+		{
+			return this.navigableKeySet();
+		}
+
+		@Override
+		public NavigableSet<K> descendingKeySet()
+		{
+			return this.descendingMap().navigableKeySet();
+		}
+
+		@Override
+		public NavigableMap<K, V> subMap(
+			final K       fromKey      ,
+			final boolean fromInclusive,
+			final K       toKey        ,
+			final boolean toInclusive
+		)
+		{
+			if(!this.inRange(fromKey, fromInclusive))
+			{
+				throw new IllegalArgumentException("fromKey out of range");
+			}
+			if(!this.inRange(toKey, toInclusive))
+			{
+				throw new IllegalArgumentException("toKey out of range");
+			}
+			return this.descending
+				? new SubMap(false, toKey, toInclusive, false, fromKey, fromInclusive, true)
+				: new SubMap(false, fromKey, fromInclusive, false, toKey, toInclusive, false)
+			;
+		}
+
+		@Override
+		public NavigableMap<K, V> headMap(final K toKey, final boolean inclusive)
+		{
+			if(!this.inRange(toKey, inclusive))
+			{
+				throw new IllegalArgumentException("toKey out of range");
+			}
+			return this.descending
+				? new SubMap(false, toKey, inclusive, this.toEnd, this.hi, this.hiInclusive, true)
+				: new SubMap(this.fromStart, this.lo, this.loInclusive, false, toKey, inclusive, false)
+			;
+		}
+
+		@Override
+		public NavigableMap<K, V> tailMap(final K fromKey, final boolean inclusive)
+		{
+			if(!this.inRange(fromKey, inclusive))
+			{
+				throw new IllegalArgumentException("fromKey out of range");
+			}
+			return this.descending
+				? new SubMap(this.fromStart, this.lo, this.loInclusive, false, fromKey, inclusive, true)
+				: new SubMap(false, fromKey, inclusive, this.toEnd, this.hi, this.hiInclusive, false)
+			;
+		}
+
+		@Override
+		public SortedMap<K, V> subMap(final K fromKey, final K toKey)
+		{
+			return this.subMap(fromKey, true, toKey, false);
+		}
+
+		@Override
+		public SortedMap<K, V> headMap(final K toKey)
+		{
+			return this.headMap(toKey, false);
+		}
+
+		@Override
+		public SortedMap<K, V> tailMap(final K fromKey)
+		{
+			return this.tailMap(fromKey, true);
+		}
+	}
+
+}
@@ -0,0 +1,42 @@
+package one.microstream.memory;
+
+/*-
+ * #%L
+ * microstream-base
+ * %%
+ * Copyright (C) 2019 - 2022 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ * 
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ * 
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+/**
+ * Service provider interface for {@link MemoryAccessor} implementations that are not part of the base module,
+ * e.g. because they require a more recent Java version.
+ * <p>
+ * Implementations are registered via {@link java.util.ServiceLoader} and are queried once when {@link XMemory} is
+ * initialized, unless a platform-specific setup applies (e.g. Android). The first provider that provides a
+ * {@link MemoryAccessor} is used instead of the default implementation based on JDK internals.
+ * An explicitly set {@link MemoryAccessor} (see {@link XMemory#setMemoryAccessor(MemoryAccessor)}) always
+ * replaces the provided one.
+ */
+public interface MemoryAccessorProvider
+{
+	/**
+	 * Provides the {@link MemoryAccessor} to be used in the current environment.
+	 * 
+	 * @return the {@link MemoryAccessor} or {@code null} if it is not usable in the current environment.
+	 */
+	public MemoryAccessor provideMemoryAccessor();
+	
+}
@@ -25,6 +25,8 @@ import static one.microstream.X.notNull;
 import java.lang.reflect.Field;
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
 import java.util.function.Predicate;
 
 import one.microstream.X;
@@ -140,6 +142,13 @@ public final class XMemory
 			}
 		}
 
+		final MemoryAccessor providedMemoryAccessor = searchProvidedMemoryAccessor();
+		if(providedMemoryAccessor != null)
+		{
+			setMemoryAccessor(providedMemoryAccessor);
+			return;
+		}
+
 		/* (18.11.2019 TM)NOTE:
 		 * If no specific vm check applied, the default initialization is used, assuming a fully
 		 * JDK/-Unsafe-compatible JVM. It might not seem that way, but this is actually the normal case.
@@ -151,6 +160,27 @@ public final class XMemory
 		setMemoryHandling(JdkMemoryAccessor.New());
 	}
 
+	private static MemoryAccessor searchProvidedMemoryAccessor()
+	{
+		try
+		{
+			for(final MemoryAccessorProvider provider : ServiceLoader.load(MemoryAccessorProvider.class))
+			{
+				final MemoryAccessor memoryAccessor = provider.provideMemoryAccessor();
+				if(memoryAccessor != null)
+				{
+					return memoryAccessor;
+				}
+			}
+		}
+		catch(final ServiceConfigurationError | LinkageError e)
+		{
+			// e.g. a provider compiled for a more recent Java version. The default is used instead.
+		}
+
+		return null;
+	}
+
 	private static VmCheck VmCheckEquality(
 		final String      name                        ,
 		final Runnable    action                      ,
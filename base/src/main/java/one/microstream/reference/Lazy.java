@@ -24,10 +24,15 @@ import static one.microstream.X.mayNull;
 import static one.microstream.chars.XChars.systemString;
 import static one.microstream.util.logging.Logging.LazyArg;
 
+import java.util.concurrent.CompletableFuture;
+
 import org.slf4j.Logger;
 
+import one.microstream.X;
 import one.microstream.chars.VarString;
 import one.microstream.chars.XChars;
+import one.microstream.collections.BulkList;
+import one.microstream.collections.HashTable;
 import one.microstream.memory.MemoryStatistics;
 import one.microstream.memory.MemoryStatisticsProvider;
 import one.microstream.util.logging.Logging;
@@ -123,6 +128,46 @@ public interface Lazy<T> extends Referencing<T>
 	 */
 	public boolean clear(Lazy.ClearingEvaluator clearingEvaluator);
 	
+	/**
+	 * Returns a future of the original subject referenced by this reference instance.
+	 * If the subject has (lazily) not been loaded, it is loaded asynchronously by the current
+	 * {@link LazyPrefetcher} and linked to this reference instance, unless this reference instance is
+	 * cleared before the loading completes. Any exception occurring during the loading attempt completes
+	 * the returned future exceptionally.
+	 * <p>
+	 * The default implementation simply calls {@link #get()}.
+	 * 
+	 * @return a future of the originally referenced subject.
+	 * 
+	 * @see #get()
+	 * @see #prefetch()
+	 */
+	public default CompletableFuture<T> getAsync()
+	{
+		try
+		{
+			return CompletableFuture.completedFuture(this.get());
+		}
+		catch(final RuntimeException e)
+		{
+			return CompletableFuture.failedFuture(e);
+		}
+	}
+	
+	/**
+	 * Hints that the subject of this reference instance will be needed soon, so it can be loaded in the
+	 * background by the current {@link LazyPrefetcher}. Other than {@link #getAsync()}, the hint may be
+	 * dropped, e.g. if the loading queue is full.
+	 * <p>
+	 * The default implementation does nothing.
+	 * 
+	 * @see #getAsync()
+	 */
+	public default void prefetch()
+	{
+		// no-op by default
+	}
+	
 	
 	/**
 	 * Static helper method to call the {@link Lazy#get()} method of the given <code>reference</code> containing a null-check.
@@ -227,6 +272,27 @@ public interface Lazy<T> extends Referencing<T>
 	}
 
 	
+	/**
+	 * Static helper method to call the {@link Lazy#get()} method of all passed <code>references</code> at once.
+	 * <p>
+	 * All not yet loaded references are loaded with one loading call per loader (see
+	 * {@link ObjectSwizzling#getObjects(long...)}), typically meaning one storage round trip and one loading pass
+	 * for all of them instead of one per reference. <code>null</code> elements are skipped.
+	 * 
+	 * @param <I> the type of the passed references
+	 * @param references the lazy references to call the get method on
+	 * @return the passed references
+	 * 
+	 * @see Lazy#get()
+	 */
+	public static <I extends Iterable<? extends Lazy<?>>> I getAll(final I references)
+	{
+		Lazy.Default.getAll(references);
+		
+		return references;
+	}
+
+	
 	/**
 	 * Pseudo-constructor method to create an register a new lazy reference wrapping the given subject.
 	 * 
@@ -331,6 +397,12 @@ public interface Lazy<T> extends Referencing<T>
 		 * there is no "hard" contract on what the loader instance should specifically be.
 		 */
 		private transient ObjectSwizzling loader;
+		
+		/**
+		 * The future of a pending asynchronous loading, see {@link #getAsync()}.
+		 * Clearing the reference detaches the pending loading, so that its result will not be linked.
+		 */
+		private transient CompletableFuture<T> pending;
 
 
 
@@ -453,6 +525,7 @@ public interface Lazy<T> extends Referencing<T>
 			}
 			
 			this.subject = null;
+			this.pending = null;
 			this.touch();
 		}
 
@@ -533,6 +606,155 @@ public interface Lazy<T> extends Referencing<T>
 			);
 		}
 
+		@Override
+		public final synchronized CompletableFuture<T> getAsync()
+		{
+			final ObjectSwizzling loader;
+			if((loader = this.loaderIfUnloaded()) == null)
+			{
+				this.touch();
+				return CompletableFuture.completedFuture(this.subject);
+			}
+			if(this.pending != null)
+			{
+				return this.pending;
+			}
+			
+			CompletableFuture<Object> loading;
+			if((loading = LazyPrefetcher.get().request(loader, this.objectId)) == null)
+			{
+				// loading queue is full, so the requesting thread has to load on its own.
+				loading = new CompletableFuture<>();
+				try
+				{
+					loading.complete(loader.getObject(this.objectId));
+				}
+				catch(final RuntimeException e)
+				{
+					loading.completeExceptionally(e);
+				}
+			}
+			
+			return this.link(loading);
+		}
+		
+		@Override
+		public final synchronized void prefetch()
+		{
+			final ObjectSwizzling loader;
+			if(this.pending != null || (loader = this.loaderIfUnloaded()) == null)
+			{
+				return;
+			}
+			
+			final CompletableFuture<Object> loading;
+			if((loading = LazyPrefetcher.get().request(loader, this.objectId)) != null)
+			{
+				this.link(loading);
+			}
+		}
+		
+		private CompletableFuture<T> link(final CompletableFuture<Object> loading)
+		{
+			final long                 objectId = this.objectId           ;
+			final CompletableFuture<T> pending  = new CompletableFuture<>();
+			
+			// must be set before, since an already completed loading completes right away in this thread.
+			this.pending = pending;
+			loading.whenComplete((subject, failure) -> this.completeLoading(pending, objectId, subject, failure));
+			
+			return pending;
+		}
+		
+		@SuppressWarnings("unchecked") // safety of cast guaranteed by logic
+		private void completeLoading(
+			final CompletableFuture<T> pending ,
+			final long                 objectId,
+			final Object               subject ,
+			final Throwable            failure
+		)
+		{
+			synchronized(this)
+			{
+				// a pending loading that got detached by clearing may not be linked anymore.
+				if(this.pending == pending)
+				{
+					this.pending = null;
+					if(failure == null)
+					{
+						this.setLoaded(objectId, subject);
+					}
+				}
+			}
+			
+			// completing outside of the lock since dependent actions run in the completing thread.
+			if(failure == null)
+			{
+				pending.complete((T)subject);
+			}
+			else
+			{
+				pending.completeExceptionally(failure);
+			}
+		}
+		
+		/**
+		 * Returns the loader to be used for loading the subject if it has to be loaded, otherwise <code>null</code>.
+		 */
+		final synchronized ObjectSwizzling loaderIfUnloaded()
+		{
+			return this.subject == null && Swizzling.isProperId(this.objectId)
+				? this.loader
+				: null
+			;
+		}
+		
+		@SuppressWarnings("unchecked") // safety of cast guaranteed by logic
+		final synchronized void setLoaded(final long objectId, final Object subject)
+		{
+			// the reference might have been loaded by a concurrent get() in the meantime.
+			if(this.subject == null && this.objectId == objectId)
+			{
+				this.subject = (T)subject;
+			}
+			this.touch();
+		}
+		
+		static void getAll(final Iterable<? extends Lazy<?>> references)
+		{
+			// the not yet loaded references, grouped by their loader. Typically, there is only one.
+			final HashTable<ObjectSwizzling, BulkList<Lazy.Default<?>>> unloaded = HashTable.New();
+			for(final Lazy<?> reference : references)
+			{
+				final ObjectSwizzling loader;
+				if(reference instanceof Lazy.Default
+					&& (loader = ((Lazy.Default<?>)reference).loaderIfUnloaded()) != null
+				)
+				{
+					unloaded.ensure(loader, l -> BulkList.New()).add((Lazy.Default<?>)reference);
+				}
+				else if(reference != null)
+				{
+					// already loaded, nothing to load or a foreign implementation: just a normal get().
+					reference.get();
+				}
+			}
+			
+			unloaded.iterate(e -> load(e.key(), e.value()));
+		}
+		
+		private static void load(final ObjectSwizzling loader, final BulkList<Lazy.Default<?>> references)
+		{
+			final long[] objectIds = new long[X.checkArrayRange(references.size())];
+			references.iterateIndexed((r, i) -> objectIds[(int)i] = r.objectId);
+			
+			logger.debug("Lazy loading {} references", objectIds.length);
+			
+			// no lock is held while loading, just like a concurrent get() on any of the references.
+			final Object[] subjects = loader.getObjects(objectIds);
+			references.iterateIndexed((r, i) -> r.setLoaded(objectIds[(int)i], subjects[(int)i]));
+		}
+
 		final synchronized boolean clearIfTimedout(final long millisecondThreshold)
 		{
 			logger.trace(
@@ -0,0 +1,405 @@
+package one.microstream.reference;
+
+/*-
+ * #%L
+ * microstream-base
+ * %%
+ * Copyright (C) 2019 - 2022 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+import static one.microstream.X.notNull;
+import static one.microstream.math.XMath.positive;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+
+import one.microstream.X;
+import one.microstream.collections.BulkList;
+import one.microstream.collections.HashTable;
+import one.microstream.util.logging.Logging;
+
+
+/**
+ * Loads the subjects of lazy references asynchronously, see {@link Lazy#getAsync()} and {@link Lazy#prefetch()}.
+ * <p>
+ * Requests are queued up to a maximum count and loaded by a limited number of workers. Each worker takes all queued
+ * requests up to a batch size and loads them with one {@link ObjectSwizzling#getObjects(long...)} call per loader.
+ * Requests for an object id that is already queued or being loaded are coalesced into the pending one.
+ */
+public interface LazyPrefetcher
+{
+	/**
+	 * Queues loading the instance with the passed {@literal objectId} by the passed loader.
+	 *
+	 * @param loader the loader to load the instance with.
+	 * @param objectId the {@literal objectId} of the instance to be loaded.
+	 *
+	 * @return a future of the loaded instance or <code>null</code> if the queue is full.
+	 */
+	public CompletableFuture<Object> request(ObjectSwizzling loader, long objectId);
+
+
+
+	public static LazyPrefetcher set(final LazyPrefetcher prefetcher)
+	{
+		return Static.set(notNull(prefetcher));
+	}
+
+	public static LazyPrefetcher get()
+	{
+		return Static.get();
+	}
+
+
+	public final class Static
+	{
+		static LazyPrefetcher globalPrefetcher = LazyPrefetcher.New();
+
+		static synchronized LazyPrefetcher set(final LazyPrefetcher prefetcher)
+		{
+			final LazyPrefetcher old = globalPrefetcher;
+			globalPrefetcher = prefetcher;
+
+			return old;
+		}
+
+		static synchronized LazyPrefetcher get()
+		{
+			return globalPrefetcher;
+		}
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// constructors //
+		/////////////////
+
+		/**
+		 * Dummy constructor to prevent instantiation of this static-only utility class.
+		 *
+		 * @throws UnsupportedOperationException when called
+		 */
+		private Static()
+		{
+			// static only
+			throw new UnsupportedOperationException();
+		}
+
+	}
+
+
+
+	public interface Defaults
+	{
+		public static int defaultWorkerCount()
+		{
+			// loading is mostly waiting for I/O, but more workers than cores hardly pay off for the building part.
+			return Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors()));
+		}
+
+		public static int defaultMaxQueueSize()
+		{
+			return 10_000;
+		}
+
+		public static int defaultBatchSize()
+		{
+			return 1_000;
+		}
+
+		public static Executor defaultExecutor()
+		{
+			// idle threads terminate on their own, so the executor never has to be shut down.
+			final AtomicInteger threadNumber = new AtomicInteger();
+			return Executors.newCachedThreadPool(runnable ->
+			{
+				final Thread thread = new Thread(
+					runnable,
+					LazyPrefetcher.class.getSimpleName() + '-' + threadNumber.incrementAndGet()
+				);
+				thread.setDaemon(true);
+
+				return thread;
+			});
+		}
+	}
+
+
+
+	public static LazyPrefetcher New()
+	{
+		return New(Defaults.defaultWorkerCount());
+	}
+
+	public static LazyPrefetcher New(final int workerCount)
+	{
+		return New(
+			Defaults.defaultExecutor()    ,
+			workerCount                   ,
+			Defaults.defaultMaxQueueSize(),
+			Defaults.defaultBatchSize()
+		);
+	}
+
+	/**
+	 * Creates a new {@link LazyPrefetcher} instance.
+	 *
+	 * @param executor the executor to run the workers, it must be able to run <code>workerCount</code> tasks at once.
+	 * @param workerCount the maximum number of concurrently loading workers.
+	 * @param maxQueueSize the maximum number of queued requests.
+	 * @param batchSize the maximum number of requests loaded together.
+	 *
+	 * @return a new {@link LazyPrefetcher} instance.
+	 */
+	public static LazyPrefetcher New(
+		final Executor executor    ,
+		final int      workerCount ,
+		final int      maxQueueSize,
+		final int      batchSize
+	)
+	{
+		return new LazyPrefetcher.Default(
+			notNull(executor)     ,
+			positive(workerCount) ,
+			positive(maxQueueSize),
+			positive(batchSize)
+		);
+	}
+
+	public final class Default implements LazyPrefetcher
+	{
+		///////////////////////////////////////////////////////////////////////////
+		// constants //
+		//////////////
+
+		private final static Logger logger = Logging.getLogger(LazyPrefetcher.Default.class);
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// instance fields //
+		////////////////////
+
+		private final Executor                  executor    ;
+		private final int                       workerCount ;
+		private final int                       maxQueueSize;
+		private final int                       batchSize   ;
+		private final HashMap<Request, Request> pending      = new HashMap<>()   ;
+		private final ArrayDeque<Request>       queue        = new ArrayDeque<>();
+		private       int                       activeWorkerCount;
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// constructors //
+		/////////////////
+
+		Default(
+			final Executor executor    ,
+			final int      workerCount ,
+			final int      maxQueueSize,
+			final int      batchSize
+		)
+		{
+			super();
+			this.executor     = executor    ;
+			this.workerCount  = workerCount ;
+			this.maxQueueSize = maxQueueSize;
+			this.batchSize    = batchSize   ;
+		}
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// methods //
+		////////////
+
+		@Override
+		public final CompletableFuture<Object> request(final ObjectSwizzling loader, final long objectId)
+		{
+			final Request request = new Request(loader, objectId);
+			synchronized(this.pending)
+			{
+				final Request pendingRequest;
+				if((pendingRequest = this.pending.get(request)) != null)
+				{
+					return pendingRequest.future;
+				}
+				if(this.queue.size() >= this.maxQueueSize)
+				{
+					return null;
+				}
+				this.pending.put(request, request);
+				this.queue.add(request);
+
+				if(this.activeWorkerCount >= this.workerCount)
+				{
+					// the active workers will pick the request up.
+					return request.future;
+				}
+				this.activeWorkerCount++;
+			}
+
+			try
+			{
+				this.executor.execute(this::work);
+			}
+			catch(final RuntimeException e)
+			{
+				synchronized(this.pending)
+				{
+					this.activeWorkerCount--;
+				}
+				throw e;
+			}
+
+			return request.future;
+		}
+
+		private void work()
+		{
+			for(BulkList<Request> batch; (batch = this.nextBatch()) != null;)
+			{
+				// the not yet loaded instances, grouped by their loader. Typically, there is only one.
+				final HashTable<ObjectSwizzling, BulkList<Request>> groups = HashTable.New();
+				for(final Request request : batch)
+				{
+					groups.ensure(request.loader, l -> BulkList.New()).add(request);
+				}
+				groups.iterate(e -> this.load(e.key(), e.value()));
+			}
+		}
+
+		private BulkList<Request> nextBatch()
+		{
+			synchronized(this.pending)
+			{
+				if(this.queue.isEmpty())
+				{
+					this.activeWorkerCount--;
+					return null;
+				}
+
+				final BulkList<Request> batch = BulkList.New(Math.min(this.queue.size(), this.batchSize));
+				while(batch.size() < this.batchSize && !this.queue.isEmpty())
+				{
+					batch.add(this.queue.poll());
+				}
+
+				return batch;
+			}
+		}
+
+		private void load(final ObjectSwizzling loader, final BulkList<Request> requests)
+		{
+			final long[] objectIds = new long[X.checkArrayRange(requests.size())];
+			requests.iterateIndexed((r, i) -> objectIds[(int)i] = r.objectId);
+
+			logger.debug("Prefetching {} lazy references", objectIds.length);
+
+			Object[]  instances = null;
+			Throwable failure   = null;
+			try
+			{
+				instances = loader.getObjects(objectIds);
+			}
+			catch(final Throwable t)
+			{
+				// the failure is passed to every waiting request, the worker itself continues.
+				failure = t;
+			}
+
+			synchronized(this.pending)
+			{
+				for(final Request request : requests)
+				{
+					this.pending.remove(request);
+				}
+			}
+
+			// completing outside of the lock since dependent actions run in the completing thread.
+			int i = 0;
+			for(final Request request : requests)
+			{
+				if(failure == null)
+				{
+					request.future.complete(instances[i++]);
+				}
+				else
+				{
+					request.future.completeExceptionally(failure);
+				}
+			}
+		}
+
+	}
+
+
+
+	final class Request
+	{
+		///////////////////////////////////////////////////////////////////////////
+		// instance fields //
+		////////////////////
+
+		final ObjectSwizzling           loader  ;
+		final long                      objectId;
+		final CompletableFuture<Object> future  ;
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// constructors //
+		/////////////////
+
+		Request(final ObjectSwizzling loader, final long objectId)
+		{
+			super();
+			this.loader   = loader                 ;
+			this.objectId = objectId               ;
+			this.future   = new CompletableFuture<>();
+		}
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// methods //
+		////////////
+
+		@Override
+		public final int hashCode()
+		{
+			return Long.hashCode(this.objectId) ^ System.identityHashCode(this.loader);
+		}
+
+		@Override
+		public final boolean equals(final Object other)
+		{
+			return other instanceof Request
+				&& ((Request)other).objectId == this.objectId
+				&& ((Request)other).loader   == this.loader
+			;
+		}
+
+	}
+
+}
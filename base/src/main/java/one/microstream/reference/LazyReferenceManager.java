@@ -20,11 +20,25 @@ package one.microstream.reference;
  * #L%
  */
 
+import static one.microstream.math.XMath.positive;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.MemoryUsage;
+import java.lang.ref.ReferenceQueue;
 import java.lang.ref.WeakReference;
+import java.util.ArrayList;
 import java.util.function.Consumer;
 
+import javax.management.ListenerNotFoundException;
+import javax.management.NotificationEmitter;
+import javax.management.NotificationListener;
+
 import org.slf4j.Logger;
 
+import one.microstream.hashing.XHashing;
 import one.microstream.memory.MemoryStatistics;
 import one.microstream.reference.Lazy.Check;
 import one.microstream.reference.Lazy.Checker;
@@ -168,7 +182,87 @@ public interface LazyReferenceManager
 		final _longReference    nanoTimeBudgetProvider
 	)
 	{
-		return new Default(checker, milliTimeCheckIntervalProvider, nanoTimeBudgetProvider);
+		return New(checker, milliTimeCheckIntervalProvider, nanoTimeBudgetProvider, Default.defaultShardCount());
+	}
+	
+	/**
+	 * Creates a new {@link LazyReferenceManager} with the passed number of shards. Lazy references are registered
+	 * in the shard of the registering thread, so that registering threads hardly ever contend. Each cleanup
+	 * cycle checks the shards one after another with an even share of the time budget.
+	 * 
+	 * @param checker the checker to decide about clearing lazy references
+	 * @param milliTimeCheckIntervalProvider the interval in milliseconds between two cleanup cycles
+	 * @param nanoTimeBudgetProvider the time budget in nanoseconds of a cleanup cycle
+	 * @param shardCount the number of shards, padded to a power of two
+	 * @return a new {@link LazyReferenceManager}
+	 */
+	public static LazyReferenceManager New(
+		final Checker           checker                       ,
+		final _longReference    milliTimeCheckIntervalProvider,
+		final _longReference    nanoTimeBudgetProvider        ,
+		final int               shardCount
+	)
+	{
+		return new Default(
+			checker                           ,
+			milliTimeCheckIntervalProvider    ,
+			nanoTimeBudgetProvider            ,
+			XHashing.padHashLength(positive(shardCount))
+		);
+	}
+	
+	/**
+	 * Creates a new {@link LazyReferenceManager} that clears lazy references only under memory pressure,
+	 * see {@link PressureDriven}.
+	 * 
+	 * @return a new pressure-driven {@link LazyReferenceManager}
+	 */
+	public static LazyReferenceManager NewPressureDriven()
+	{
+		return NewPressureDriven(PressureDriven.DEFAULT_MEMORY_QUOTA);
+	}
+	
+	/**
+	 * Creates a new {@link LazyReferenceManager} that clears lazy references only under memory pressure,
+	 * see {@link PressureDriven}.
+	 * 
+	 * @param memoryQuota the quota of the maximum heap memory that may be used before references are cleared
+	 * @return a new pressure-driven {@link LazyReferenceManager}
+	 */
+	public static LazyReferenceManager NewPressureDriven(final double memoryQuota)
+	{
+		return NewPressureDriven(
+			memoryQuota,
+			PressureDriven.DEFAULT_BUCKET_SPAN_MS,
+			PressureDriven.DEFAULT_MAX_BUCKET_COUNT
+		);
+	}
+	
+	/**
+	 * Creates a new {@link LazyReferenceManager} that clears lazy references only under memory pressure,
+	 * see {@link PressureDriven}.
+	 * 
+	 * @param memoryQuota the quota of the maximum heap memory that may be used before references are cleared
+	 * @param milliBucketSpan the time span in milliseconds references are grouped by for their clearing order
+	 * @param maxBucketCount the maximum number of groups, the oldest ones are merged when it is exceeded
+	 * @return a new pressure-driven {@link LazyReferenceManager}
+	 */
+	public static LazyReferenceManager NewPressureDriven(
+		final double memoryQuota    ,
+		final long   milliBucketSpan,
+		final int    maxBucketCount
+	)
+	{
+		if(memoryQuota <= 0.0 || memoryQuota > 1.0)
+		{
+			throw new IllegalArgumentException("Memory quota must be in the range ]0.0; 1.0].");
+		}
+		
+		return new PressureDriven(
+			memoryQuota              ,
+			positive(milliBucketSpan),
+			positive(maxBucketCount)
+		);
 	}
 
 	public final class Default implements LazyReferenceManager
@@ -184,6 +278,12 @@ public interface LazyReferenceManager
 		// defaults mean to check every second with a budget of 1 MS (0.1% thread activity)
 		        static final long    DEFAULT_CHECK_INTERVAL_MS = 1_000        ;
 		        static final long    DEFAULT_TIME_BUDGET_NS    =     1_000_000;
+		
+		public static int defaultShardCount()
+		{
+			// more shards than registering threads don't reduce contention any further.
+			return XHashing.padHashLength(Runtime.getRuntime().availableProcessors());
+		}
 
 
 
@@ -194,13 +294,15 @@ public interface LazyReferenceManager
 		private final    Checker        checker                       ;
 		private final    _longReference millitimeCheckIntervalProvider;
 		private final    _longReference nanoTimeBudgetProvider        ;
-		private final    Entry          head   = new Entry(null)      ;
-		private          Entry          tail   = this.head            ;
-		private          Entry          cursor = this.head            ; // current "last" entry for checking
+		private final    Shard[]        shards                        ;
+		private final    int            shardMask                     ;
+		
+		// held by cleanup cycles and iterations only, never by registering.
+		private final    Object         cleanUpLock = new Object()    ;
+		private          int            shardCursor                   ; // next shard to be checked
 		
-		private boolean         running        ;
-		private ControllerEntry headController ;
-		private long            controllerCount;
+		private final ControllerChain controllers = new ControllerChain();
+		private       boolean         running    ;
 		
 		
 		
@@ -211,37 +313,26 @@ public interface LazyReferenceManager
 		Default(
 			final Checker        checker               ,
 			final _longReference checkIntervalProvider ,
-			final _longReference nanoTimeBudgetProvider
+			final _longReference nanoTimeBudgetProvider,
+			final int            shardCount
 		)
 		{
 			super();
 			this.checker                        = checker               ;
 			this.millitimeCheckIntervalProvider = checkIntervalProvider ;
 			this.nanoTimeBudgetProvider         = nanoTimeBudgetProvider;
+			this.shards                         = new Shard[shardCount] ;
+			this.shardMask                      = shardCount - 1        ;
+			
+			for(int i = 0; i < shardCount; i++)
+			{
+				this.shards[i] = new Shard();
+			}
 		}
 		
 		private synchronized boolean mayRun()
 		{
-			if(this.headController == null)
-			{
-				// if no external controller is or was present, the LRM controls itself on its own.
-				return this.controllerCount == 0;
-			}
-			
-			// check for orphaned head controller and consolidate to next non-orphaned one (or null!)
-			final LazyReferenceManager.Controller ac;
-			if((ac = this.headController.get()) == null)
-			{
-				this.headController = this.headController.consolidateSelf();
-				
-				// mus call recursively in case null is returned or GC cleared a weak reference in the mean time.
-				return this.mayRun();
-			}
-			
-			return ac.mayRun()
-				? true
-				: this.headController.checkChain()
-			;
+			return this.controllers.mayRun();
 		}
 		
 		// NOT threadsafe! Must be secured by accessing outer LRM methods
@@ -334,12 +425,8 @@ public interface LazyReferenceManager
 			
 			final long timeBudgetBound = XTime.calculateNanoTimeBudgetBound(nanoTimeBudget);
 
-			final Entry currentTail;
-
 			/*
-			 * This local synchronized block is crucial to prevent deadlocks!
-			 * The reference manager thread may never keep a lock on the manager instance and then require
-			 * a lock on a lazy reference in order to complete its cleanup cycle.
+			 * The lock on the manager instance may never be held while requiring a lock on a lazy reference.
 			 * Consider the following scenario:
 			 * - application thread locks lazy instance #1 to load its content.
 			 * - manager thread locks the manager instance for the whole check cycle, starts checking.
@@ -347,70 +434,43 @@ public interface LazyReferenceManager
 			 * - manager thread wants to check LI#1 for timeout.
 			 * - So app.thread holds LI#1 lock, requires mgr.lock, mgr.thread holds mgr.lock, requires LI#1 lock
 			 * => deadlock (happened in productive use, although very rare)
-			 * The solution to prevent this is:
-			 * The lock on the manager instance is only held for a very short time without requiring any additional lock
-			 * internally to leave the lock again, only to consistently query the current tail entry.
-			 * The rest of the algorithm does not interfere with any other thread, so it can be done without lock.
-			 *
-			 * Of course, it is important that no other method calling this method keeps the mgr.lock for the whole
-			 * check cycle, otherwise the deadlock can still occur (i.e. no synchronized method!).
-			 * Happened in productive use after fixing this method :(.
+			 * 
+			 * Hence the check cycle only holds the cleanup lock, which registering never requires.
+			 * Registering only locks the buffer of a shard for appending an entry, the check cycle only locks
+			 * it for taking over the buffered entries. So registering and checking never contend.
 			 */
-			synchronized(this)
-			{
-				currentTail = this.tail;
-			}
-
-			Entry last, e = (last = this.cursor).nextLazyManagerEntry;
-
-			// special case check initially, there is only the head with no next entry
-			if(e == null)
-			{
-				return;
-			}
-		
-			checker.beginCheckCycle();
-
-			cleanUp:
-			do // do at least one check, no matter what
+			synchronized(this.cleanUpLock)
 			{
-				// keep strong reference to avoid intermediate garbage collection
-				final Lazy<?> ref = e.get();
-
-				// check for orphan entry
-				if(ref != null)
+				boolean hasEntries = false;
+				for(final Shard shard : this.shards)
 				{
-					// leave checking logic completely to checker (also for lock atomicity reasons)
-					checker.check(ref);
+					hasEntries |= shard.takeOverBuffer();
 				}
-				else if(e != currentTail)
+				
+				// special case check initially, there are only the heads with no next entry
+				if(!hasEntries)
 				{
-					// remove orphan entry (never remove current tail entry for list consistency reasons)
-					e = last.nextLazyManagerEntry = e.nextLazyManagerEntry;
-					continue;
+					return;
 				}
-
-				if(e == currentTail)
+				
+				checker.beginCheckCycle();
+				
+				final int shardCount = this.shards.length;
+				for(int i = 0; i < shardCount; i++)
 				{
-					/*
-					 * if the iteration reached the current tail entry, the cursor gets reset (outside the loop)
-					 * and the iteration gets aborted. Rationale behind that:
-					 * It might be that there have been added new entry to the chain while the iteration was
-					 * executed. However, these entries are newly created, hence will hardly timeout right away.
-					 * The oldest entries near the head are much more likely for that, so it is efficient to restart.
-					 */
-					last = this.head;
-					break cleanUp;
+					final long now = System.nanoTime();
+					if(i > 0 && now >= timeBudgetBound)
+					{
+						break;
+					}
+					
+					// the remaining budget is split evenly among the remaining shards, so unused budget is passed on.
+					this.shards[this.shardCursor].cleanUp(now + (timeBudgetBound - now) / (shardCount - i), checker);
+					this.shardCursor = this.shardCursor + 1 & this.shardMask;
 				}
 
-				e = (last = e).nextLazyManagerEntry;
+				checker.endCheckCycle();
 			}
-			while(System.nanoTime() < timeBudgetBound);
-
-			// remember last checked entry for next cleanup run. Cursor field is strictly only used by one thread.
-			this.cursor = last;
-
-			checker.endCheckCycle();
 		}
 
 		final void cleanUpBudgeted()
@@ -428,10 +488,10 @@ public interface LazyReferenceManager
 		////////////
 
 		@Override
-		public synchronized void register(final Lazy<?> lazyReference)
+		public void register(final Lazy<?> lazyReference)
 		{
 			// uniqueness of references is guaranteed by calling this method only exactely once per reference instance
-			this.tail = this.tail.nextLazyManagerEntry = new Entry(lazyReference);
+			this.shards[(int)Thread.currentThread().getId() & this.shardMask].register(new Entry(lazyReference));
 		}
 		
 
@@ -505,32 +565,7 @@ public interface LazyReferenceManager
 			final LazyReferenceManager.Controller controller
 		)
 		{
-			if(controller == null)
-			{
-				return this;
-			}
-			
-			// either set as head instance or scroll to the end and add as tail instance.
-			if(this.headController == null)
-			{
-				this.headController = new ControllerEntry(controller);
-				this.controllerCount++;
-				
-				return this;
-			}
-			
-			ControllerEntry current = this.headController;
-			while(current.next != null)
-			{
-				// no need for orphan removal logic here as the checking logic already does that on every check
-				if(current.get() == controller)
-				{
-					return this;
-				}
-				current = current.next;
-			}
-			current.next = new ControllerEntry(controller);
-			this.controllerCount++;
+			this.controllers.add(controller);
 			
 			return this;
 		}
@@ -540,41 +575,13 @@ public interface LazyReferenceManager
 			final LazyReferenceManager.Controller controller
 		)
 		{
-			// head entry special case
-			if(this.headController != null && this.headController.get() == controller)
-			{
-				// adding logic ensures there can be at the most one entry, so one match suffices to end the loop.
-				this.headController = this.headController.next;
-				this.controllerCount--;
-				this.stopIfNoControllers();
-				return true;
-			}
-			
-			if(this.headController == null)
+			if(!this.controllers.remove(controller))
 			{
-				// no (more) controllers present, hence passed controller not found.
 				return false;
 			}
+			this.stopIfNoControllers();
 			
-			// normal case loop starting with a non-null, non-matching head entry
-			ControllerEntry last = this.headController;
-			for(ControllerEntry e; (e = last.next) != null; last = e)
-			{
-				// no need for orphan removal logic here as the checking logic already does that on every check
-				if(e.get() == controller)
-				{
-					// remove chain element by replacing the reference to it by that to its next.
-					last.next = e.next;
-					this.controllerCount--;
-					
-					// adding logic ensures there can be at the most one entry, so one match suffices to end the loop.
-					this.stopIfNoControllers();
-					return true;
-				}
-			}
-			
-			// passed controller not found
-			return false;
+			return true;
 		}
 
 		/**
@@ -583,7 +590,7 @@ public interface LazyReferenceManager
 		 */
 		private void stopIfNoControllers()
 		{
-			if (this.controllerCount == 0)
+			if(this.controllers.isEmpty())
 			{
 				this.stop();
 			}
@@ -594,29 +601,128 @@ public interface LazyReferenceManager
 			final P iterator
 		)
 		{
-			for(ControllerEntry acc = this.headController; acc != null; acc = acc.next)
+			return this.controllers.iterate(iterator);
+		}
+
+		@Override
+		public <P extends Consumer<? super Lazy<?>>> P iterate(final P iterator)
+		{
+			synchronized(this.cleanUpLock)
 			{
-				final LazyReferenceManager.Controller ac;
-				if((ac = acc.get()) != null)
+				for(final Shard shard : this.shards)
 				{
-					iterator.accept(ac);
+					shard.takeOverBuffer();
+					for(Entry e = shard.head; (e = e.nextLazyManagerEntry) != null;)
+					{
+						final Lazy<?> ref = e.get();
+						if(ref != null)
+						{
+							iterator.accept(ref);
+						}
+					}
 				}
 			}
 			return iterator;
 		}
-
-		@Override
-		public synchronized <P extends Consumer<? super Lazy<?>>> P iterate(final P iterator)
+		
+		
+		static final class Shard
 		{
-			for(Entry e = this.head; (e = e.nextLazyManagerEntry) != null;)
+			// registering side, guarded by the shard instance.
+			private Entry bufferHead;
+			private Entry bufferTail;
+			
+			// checking side, guarded by the manager's cleanup lock.
+			final   Entry head   = new Entry(null);
+			        Entry tail   = this.head      ;
+			        Entry cursor = this.head      ; // current "last" entry for checking
+			
+			final synchronized void register(final Entry entry)
 			{
-				final Lazy<?> ref = e.get();
-				if(ref != null)
+				if(this.bufferTail == null)
 				{
-					iterator.accept(ref);
+					this.bufferHead = entry;
 				}
+				else
+				{
+					this.bufferTail.nextLazyManagerEntry = entry;
+				}
+				this.bufferTail = entry;
 			}
-			return iterator;
+			
+			/**
+			 * Appends the buffered entries to the checked entries.
+			 * 
+			 * @return whether there are entries to be checked.
+			 */
+			final boolean takeOverBuffer()
+			{
+				final Entry first, last;
+				synchronized(this)
+				{
+					first = this.bufferHead;
+					last  = this.bufferTail;
+					this.bufferHead = this.bufferTail = null;
+				}
+				if(first != null)
+				{
+					this.tail.nextLazyManagerEntry = first;
+					this.tail = last;
+				}
+				
+				return this.head.nextLazyManagerEntry != null;
+			}
+			
+			final void cleanUp(final long timeBudgetBound, final Checker checker)
+			{
+				Entry last, e = (last = this.cursor).nextLazyManagerEntry;
+				
+				// special case check initially, there is only the head with no next entry
+				if(e == null)
+				{
+					this.cursor = this.head;
+					return;
+				}
+
+				cleanUp:
+				do // do at least one check, no matter what
+				{
+					// keep strong reference to avoid intermediate garbage collection
+					final Lazy<?> ref = e.get();
+
+					// check for orphan entry
+					if(ref != null)
+					{
+						// leave checking logic completely to checker (also for lock atomicity reasons)
+						checker.check(ref);
+					}
+					else if(e != this.tail)
+					{
+						// remove orphan entry (never remove tail entry for list consistency reasons)
+						e = last.nextLazyManagerEntry = e.nextLazyManagerEntry;
+						continue;
+					}
+
+					if(e == this.tail)
+					{
+						/*
+						 * if the iteration reached the tail entry, the cursor gets reset (outside the loop)
+						 * and the iteration gets aborted. Rationale behind that:
+						 * Entries added later are newly created, hence will hardly timeout right away.
+						 * The oldest entries near the head are much more likely for that, so it is efficient to restart.
+						 */
+						last = this.head;
+						break cleanUp;
+					}
+
+					e = (last = e).nextLazyManagerEntry;
+				}
+				while(System.nanoTime() < timeBudgetBound);
+
+				// remember last checked entry for next cleanup run.
+				this.cursor = last;
+			}
+			
 		}
 
 
@@ -694,11 +800,891 @@ public interface LazyReferenceManager
 				super(referent);
 			}
 
+			public Entry(final Lazy<?> referent, final ReferenceQueue<? super Lazy<?>> queue)
+			{
+				super(referent, queue);
+			}
+
 		}
 
 	}
 
 	
+	/**
+	 * A {@link LazyReferenceManager} that clears lazy references only under memory pressure instead of periodically
+	 * checking all of them.
+	 * <p>
+	 * The registered references are kept in approximate least-recently-used order: in buckets covering a certain time
+	 * span each, ordered by time ("clock buckets"). A reference is added to the newest bucket when registered and
+	 * only moved to a newer one when its bucket is processed and it has been touched in the meantime.
+	 * <p>
+	 * While running, the manager is notified by every garbage collection and by the heap memory pools exceeding
+	 * their usage threshold. If the used heap memory exceeds the memory quota, only as many references as required
+	 * to get back below the quota are cleared, oldest first. The number is estimated from the exceeding amount
+	 * of memory, the next garbage collection shows if more references have to be cleared.
+	 * Without memory pressure, nothing is checked at all.
+	 * <p>
+	 * Note that the usage thresholds of the heap memory pools are set on {@link #start()} if they are not already set,
+	 * and reset on {@link #stop()}.
+	 */
+	public final class PressureDriven implements LazyReferenceManager
+	{
+		///////////////////////////////////////////////////////////////////////////
+		// constants //
+		//////////////
+
+		final static Logger logger = Logging.getLogger(PressureDriven.class);
+		
+		private static final Clearer CLEARER = new Clearer();
+		
+		// the order decides, not the reference itself.
+		private static final Lazy.ClearingEvaluator ALWAYS = lazyReference -> true;
+		
+		        static final double DEFAULT_MEMORY_QUOTA     =   0.8;
+		        static final long   DEFAULT_BUCKET_SPAN_MS   = 1_000;
+		        static final int    DEFAULT_MAX_BUCKET_COUNT =    64;
+		
+		// clearing less than that per pass is not worth a pass.
+		private static final long   MINIMUM_CLEAR_COUNT      = 1_000;
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// instance fields //
+		////////////////////
+
+		private final double                        memoryQuota    ;
+		private final long                          milliBucketSpan;
+		private final int                           maxBucketCount ;
+		private final ReferenceQueue<Lazy<?>>       orphans         = new ReferenceQueue<>();
+		private final ArrayList<MemoryPoolMXBean>   thresholdPools  = new ArrayList<>()     ;
+		private final NotificationListener          listener        = (n, h) -> this.signal();
+		private final ControllerChain               controllers     = new ControllerChain() ;
+		
+		// serializes the passes over the buckets. Never held by a thread that holds the lock on this instance.
+		private final Object                        passLock        = new Object()          ;
+		
+		private final Object                        signalLock      = new Object()          ;
+		private       boolean                       signalled      ;
+		
+		private       Bucket                        oldest         ;
+		private       Bucket                        newest         ;
+		private       int                           bucketCount    ;
+		private       long                          entryCount     ;
+		private       long                          orphanCount    ;
+		private       boolean                       running        ;
+		private volatile PressureCleanupThread      thread         ;
+		
+		
+		
+		///////////////////////////////////////////////////////////////////////////
+		// constructors //
+		/////////////////
+
+		PressureDriven(
+			final double memoryQuota    ,
+			final long   milliBucketSpan,
+			final int    maxBucketCount
+		)
+		{
+			super();
+			this.memoryQuota     = memoryQuota    ;
+			this.milliBucketSpan = milliBucketSpan;
+			this.maxBucketCount  = maxBucketCount ;
+		}
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// methods //
+		////////////
+
+		@Override
+		public final void register(final Lazy<?> lazyReference)
+		{
+			final boolean compactionRequired;
+			synchronized(this)
+			{
+				this.ensureNewestBucket(System.currentTimeMillis()).add(new Default.Entry(lazyReference, this.orphans));
+				this.entryCount++;
+				
+				while(this.orphans.poll() != null)
+				{
+					this.orphanCount++;
+				}
+				compactionRequired = this.isCompactionRequired();
+			}
+			
+			// the lock on this instance may not be held while signalling.
+			if(compactionRequired)
+			{
+				this.signal();
+			}
+		}
+
+		@Override
+		public final synchronized LazyReferenceManager registerAll(final LazyReferenceManager other)
+		{
+			if(other == this)
+			{
+				throw new IllegalArgumentException(
+					"Other " + LazyReferenceManager.class.getSimpleName() + " may not be this."
+				);
+			}
+			
+			other.iterate(lr ->
+				this.register(lr)
+			);
+			
+			other.iterateControllers(ac ->
+				this.addController(ac)
+			);
+			
+			return this;
+		}
+		
+		private boolean isCompactionRequired()
+		{
+			// orphans are only removed by passes, so they are removed in one go if they become too many.
+			return this.orphanCount > this.entryCount >>> 1 && this.entryCount >= MINIMUM_CLEAR_COUNT;
+		}
+		
+		private Bucket ensureNewestBucket(final long timeMs)
+		{
+			if(this.newest == null || timeMs - this.newest.startMs >= this.milliBucketSpan)
+			{
+				final Bucket bucket = new Bucket(timeMs);
+				if(this.newest == null)
+				{
+					this.oldest = bucket;
+				}
+				else
+				{
+					this.newest.next = bucket;
+				}
+				this.newest = bucket;
+				this.bucketCount++;
+				this.mergeExcessBuckets();
+			}
+			
+			return this.newest;
+		}
+		
+		private void mergeExcessBuckets()
+		{
+			// the two oldest buckets are merged, so the order gets coarser for the oldest references only.
+			while(this.bucketCount > this.maxBucketCount)
+			{
+				final Bucket merged = this.oldest;
+				this.oldest = merged.next;
+				this.oldest.prepend(merged);
+				this.bucketCount--;
+			}
+		}
+		
+		private synchronized void file(final Default.Entry entry, final long lastTouched)
+		{
+			if(lastTouched >= this.newestStartMs())
+			{
+				this.ensureNewestBucket(System.currentTimeMillis()).add(entry);
+				return;
+			}
+			
+			Bucket bucket = this.oldest;
+			while(bucket.next != null && bucket.next.startMs <= lastTouched)
+			{
+				bucket = bucket.next;
+			}
+			bucket.add(entry);
+		}
+		
+		private long newestStartMs()
+		{
+			return this.newest == null
+				? Long.MIN_VALUE
+				: this.newest.startMs
+			;
+		}
+		
+		private synchronized Bucket detachOldest()
+		{
+			final Bucket bucket;
+			if((bucket = this.oldest) == null)
+			{
+				return null;
+			}
+			if((this.oldest = bucket.next) == null)
+			{
+				this.newest = null;
+			}
+			bucket.next = null;
+			this.bucketCount--;
+			
+			return bucket;
+		}
+		
+		private synchronized Bucket detachAll()
+		{
+			final Bucket chain = this.oldest;
+			this.oldest      = null;
+			this.newest      = null;
+			this.bucketCount = 0   ;
+			
+			while(this.orphans.poll() != null)
+			{
+				// the detached entries are checked anyway
+			}
+			this.orphanCount = 0;
+			
+			return chain;
+		}
+		
+		private synchronized void reattach(final Bucket chain, final long removedEntryCount)
+		{
+			this.entryCount -= removedEntryCount;
+			
+			// all buckets created in the meantime are newer, so the detached ones are put in front of them.
+			Bucket first = null, last = null;
+			int count = 0;
+			for(Bucket bucket = chain, next; bucket != null; bucket = next)
+			{
+				next = bucket.next;
+				bucket.next = null;
+				if(bucket.head == null)
+				{
+					continue;
+				}
+				if(last == null)
+				{
+					first = bucket;
+				}
+				else
+				{
+					last.next = bucket;
+				}
+				last = bucket;
+				count++;
+			}
+			if(first == null)
+			{
+				return;
+			}
+			
+			if((last.next = this.oldest) == null)
+			{
+				this.newest = last;
+			}
+			this.oldest = first;
+			this.bucketCount += count;
+			this.mergeExcessBuckets();
+		}
+
+		private synchronized long calculateClearCount(final MemoryUsage usage)
+		{
+			final long limit = this.calculateMemoryLimit(usage);
+			if(usage.getUsed() <= limit)
+			{
+				return 0;
+			}
+			
+			// estimation assuming the memory to be evenly distributed among the references.
+			final double excessQuota = (double)(usage.getUsed() - limit) / usage.getUsed();
+			
+			return Math.max(MINIMUM_CLEAR_COUNT, (long)((this.entryCount - this.orphanCount) * excessQuota));
+		}
+		
+		private long calculateMemoryLimit(final MemoryUsage usage)
+		{
+			// max might be undefined, committed heap is guaranteed.
+			return (long)((usage.getMax() > 0 ? usage.getMax() : usage.getCommitted()) * this.memoryQuota);
+		}
+		
+		final void relievePressure(final long nanoTimeBudget)
+		{
+			final long timeBudgetBound = XTime.calculateNanoTimeBudgetBound(nanoTimeBudget);
+			
+			synchronized(this.passLock)
+			{
+				final boolean compactionRequired;
+				synchronized(this)
+				{
+					compactionRequired = this.isCompactionRequired();
+				}
+				if(compactionRequired)
+				{
+					this.compact();
+				}
+				
+				final long clearCount;
+				if((clearCount = this.calculateClearCount(ManagementFactory.getMemoryMXBean().getHeapMemoryUsage())) > 0)
+				{
+					this.clearOldest(clearCount, timeBudgetBound);
+				}
+			}
+		}
+		
+		private void clearOldest(final long clearCount, final long timeBudgetBound)
+		{
+			logger.debug("Memory pressure, clearing up to {} lazy references", clearCount);
+			
+			// refiled entries may not be processed again, so every entry is processed at the most once per pass.
+			long remainingCount;
+			synchronized(this)
+			{
+				remainingCount = this.entryCount;
+			}
+			
+			long clearedCount = 0, orphanCount = 0;
+			for(Bucket bucket; clearedCount < clearCount && remainingCount > 0 && (bucket = this.detachOldest()) != null;)
+			{
+				// references touched since the bucket's time span are not cleared, but filed according to that.
+				final long boundMs;
+				synchronized(this)
+				{
+					boundMs = this.oldest == null
+						? Long.MAX_VALUE
+						: this.oldest.startMs
+					;
+				}
+				
+				Default.Entry e = bucket.head;
+				while(e != null && clearedCount < clearCount && remainingCount-- > 0 && System.nanoTime() < timeBudgetBound)
+				{
+					final Default.Entry next = e.nextLazyManagerEntry;
+					e.nextLazyManagerEntry = null;
+					
+					final Lazy<?> ref;
+					if((ref = e.get()) == null)
+					{
+						orphanCount++;
+					}
+					else
+					{
+						final long lastTouched = ref.lastTouched();
+						if(lastTouched < boundMs)
+						{
+							if(ref.clear(ALWAYS))
+							{
+								clearedCount++;
+							}
+							// cleared or not clearable, the reference goes to the end of the line.
+							this.file(e, Long.MAX_VALUE);
+						}
+						else
+						{
+							this.file(e, lastTouched);
+						}
+					}
+					e = next;
+				}
+				
+				if(e != null)
+				{
+					// pass ended prematurely, the rest of the bucket remains the oldest.
+					bucket.head = e;
+					this.reattach(bucket, 0);
+					break;
+				}
+			}
+			
+			synchronized(this)
+			{
+				this.entryCount  -= orphanCount;
+				this.orphanCount  = Math.max(0, this.orphanCount - orphanCount);
+			}
+			
+			logger.debug("Cleared {} lazy references", clearedCount);
+		}
+		
+		private void compact()
+		{
+			final Bucket chain = this.detachAll();
+			long removedCount = 0;
+			for(Bucket bucket = chain; bucket != null; bucket = bucket.next)
+			{
+				removedCount += bucket.removeOrphans();
+			}
+			this.reattach(chain, removedCount);
+			
+			logger.debug("Removed {} orphan lazy reference entries", removedCount);
+		}
+
+		@Override
+		public void cleanUp(final long nanoTimeBudget)
+		{
+			this.relievePressure(nanoTimeBudget);
+		}
+		
+		@Override
+		public void cleanUp(final long nanoTimeBudget, final Lazy.Checker checker)
+		{
+			final long timeBudgetBound = XTime.calculateNanoTimeBudgetBound(nanoTimeBudget);
+			
+			synchronized(this.passLock)
+			{
+				final Bucket chain = this.detachAll();
+				long removedCount = 0;
+				
+				checker.beginCheckCycle();
+				check:
+				for(Bucket bucket = chain; bucket != null; bucket = bucket.next)
+				{
+					removedCount += bucket.removeOrphans();
+					for(Default.Entry e = bucket.head; e != null; e = e.nextLazyManagerEntry)
+					{
+						if(System.nanoTime() >= timeBudgetBound)
+						{
+							break check;
+						}
+						
+						// keep strong reference to avoid intermediate garbage collection
+						final Lazy<?> ref;
+						if((ref = e.get()) != null)
+						{
+							checker.check(ref);
+						}
+					}
+				}
+				checker.endCheckCycle();
+				
+				this.reattach(chain, removedCount);
+			}
+		}
+
+		@Override
+		public void clear()
+		{
+			this.cleanUp(Long.MAX_VALUE, CLEARER);
+		}
+
+		@Override
+		public final synchronized boolean isRunning()
+		{
+			return this.running && this.controllers.mayRun();
+		}
+
+		@Override
+		public synchronized LazyReferenceManager start()
+		{
+			// check for already running condition to avoid starting more than more thread
+			if(!this.running && this.controllers.mayRun())
+			{
+				this.running = true;
+				this.thread  = new PressureCleanupThread(this);
+				this.thread.start();
+				this.addListeners();
+			}
+			
+			return this;
+		}
+
+		@Override
+		public synchronized LazyReferenceManager stop()
+		{
+			if(this.running)
+			{
+				this.removeListeners();
+				this.running = false;
+				this.thread  = null ;
+				this.signal();
+			}
+			
+			return this;
+		}
+		
+		private void addListeners()
+		{
+			for(final GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans())
+			{
+				if(collector instanceof NotificationEmitter)
+				{
+					((NotificationEmitter)collector).addNotificationListener(this.listener, null, null);
+				}
+			}
+			
+			// usage thresholds report fast growing memory usage before the next garbage collection does.
+			for(final MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans())
+			{
+				final long max;
+				if(pool.getType() != MemoryType.HEAP
+					|| !pool.isUsageThresholdSupported()
+					|| pool.getUsageThreshold() != 0
+					|| (max = pool.getUsage().getMax()) <= 0
+				)
+				{
+					continue;
+				}
+				pool.setUsageThreshold((long)(max * this.memoryQuota));
+				this.thresholdPools.add(pool);
+			}
+			((NotificationEmitter)ManagementFactory.getMemoryMXBean()).addNotificationListener(this.listener, null, null);
+		}
+		
+		private void removeListeners()
+		{
+			for(final MemoryPoolMXBean pool : this.thresholdPools)
+			{
+				pool.setUsageThreshold(0);
+			}
+			this.thresholdPools.clear();
+			
+			final ArrayList<Object> emitters = new ArrayList<>(ManagementFactory.getGarbageCollectorMXBeans());
+			emitters.add(ManagementFactory.getMemoryMXBean());
+			for(final Object emitter : emitters)
+			{
+				if(!(emitter instanceof NotificationEmitter))
+				{
+					continue;
+				}
+				try
+				{
+					((NotificationEmitter)emitter).removeNotificationListener(this.listener);
+				}
+				catch(final ListenerNotFoundException e)
+				{
+					// not added in the first place, nothing to remove
+				}
+			}
+		}
+		
+		final void signal()
+		{
+			synchronized(this.signalLock)
+			{
+				this.signalled = true;
+				this.signalLock.notifyAll();
+			}
+		}
+		
+		final boolean awaitSignal(final PressureCleanupThread thread)
+		{
+			synchronized(this.signalLock)
+			{
+				while(!this.signalled && this.thread == thread)
+				{
+					try
+					{
+						this.signalLock.wait();
+					}
+					catch(final InterruptedException e)
+					{
+						// only stopping ends the waiting
+					}
+				}
+				this.signalled = false;
+			}
+			
+			return this.thread == thread;
+		}
+		
+		@Override
+		public final synchronized LazyReferenceManager addController(
+			final LazyReferenceManager.Controller controller
+		)
+		{
+			this.controllers.add(controller);
+			
+			return this;
+		}
+
+		@Override
+		public final synchronized boolean removeController(
+			final LazyReferenceManager.Controller controller
+		)
+		{
+			if(!this.controllers.remove(controller))
+			{
+				return false;
+			}
+			if(this.controllers.isEmpty())
+			{
+				this.stop();
+			}
+			
+			return true;
+		}
+
+		@Override
+		public <P extends Consumer<? super LazyReferenceManager.Controller>> P iterateControllers(
+			final P iterator
+		)
+		{
+			return this.controllers.iterate(iterator);
+		}
+
+		@Override
+		public <P extends Consumer<? super Lazy<?>>> P iterate(final P iterator)
+		{
+			synchronized(this.passLock)
+			{
+				synchronized(this)
+				{
+					for(Bucket bucket = this.oldest; bucket != null; bucket = bucket.next)
+					{
+						for(Default.Entry e = bucket.head; e != null; e = e.nextLazyManagerEntry)
+						{
+							final Lazy<?> ref = e.get();
+							if(ref != null)
+							{
+								iterator.accept(ref);
+							}
+						}
+					}
+				}
+			}
+			
+			return iterator;
+		}
+		
+		
+		static final class Bucket
+		{
+			long          startMs;
+			Default.Entry head   ;
+			Default.Entry tail   ;
+			Bucket        next   ;
+			
+			Bucket(final long startMs)
+			{
+				super();
+				this.startMs = startMs;
+			}
+			
+			final void add(final Default.Entry entry)
+			{
+				if(this.tail == null)
+				{
+					this.head = entry;
+				}
+				else
+				{
+					this.tail.nextLazyManagerEntry = entry;
+				}
+				this.tail = entry;
+			}
+			
+			final void prepend(final Bucket older)
+			{
+				this.startMs = older.startMs;
+				if(older.head == null)
+				{
+					return;
+				}
+				if(this.head == null)
+				{
+					this.tail = older.tail;
+				}
+				else
+				{
+					older.tail.nextLazyManagerEntry = this.head;
+				}
+				this.head = older.head;
+			}
+			
+			final long removeOrphans()
+			{
+				long removedCount = 0;
+				Default.Entry last = null;
+				for(Default.Entry e = this.head; e != null; e = e.nextLazyManagerEntry)
+				{
+					if(e.get() != null)
+					{
+						last = e;
+						continue;
+					}
+					if(last == null)
+					{
+						this.head = e.nextLazyManagerEntry;
+					}
+					else
+					{
+						last.nextLazyManagerEntry = e.nextLazyManagerEntry;
+					}
+					removedCount++;
+				}
+				this.tail = last;
+				
+				return removedCount;
+			}
+			
+		}
+		
+		
+		static final class PressureCleanupThread extends Thread
+		{
+			private final PressureDriven parent;
+
+			PressureCleanupThread(final PressureDriven parent)
+			{
+				super(LazyReferenceManager.class.getSimpleName() + '@' + System.identityHashCode(parent));
+				this.parent = parent;
+				
+				// waits for notifications only, so there is no reason to keep the JVM running.
+				this.setDaemon(true);
+			}
+
+			@Override
+			public void run()
+			{
+				logger.debug("LazyReferenceManager started");
+				
+				while(this.parent.awaitSignal(this))
+				{
+					try
+					{
+						if(this.parent.isRunning())
+						{
+							this.parent.relievePressure(Long.MAX_VALUE);
+						}
+					}
+					catch(final Exception e)
+					{
+						/*
+						 * Thread may not die on any exception, just continue waiting
+						 * as long as it is not stopped
+						 */
+						logger.error("Relieving memory pressure failed", e);
+					}
+				}
+				
+				logger.debug("LazyReferenceManager stopped");
+			}
+		}
+		
+	}
+	
+	/**
+	 * The chain of {@link Controller}s of a {@link LazyReferenceManager}, see {@link #addController(Controller)}.
+	 * The controllers are referenced weakly.
+	 * <p>
+	 * NOT threadsafe! Must be secured by accessing outer LRM methods
+	 */
+	static final class ControllerChain
+	{
+		///////////////////////////////////////////////////////////////////////////
+		// instance fields //
+		////////////////////
+		
+		private Default.ControllerEntry head ;
+		private long                    count;
+		
+		
+		
+		///////////////////////////////////////////////////////////////////////////
+		// methods //
+		////////////
+		
+		final boolean mayRun()
+		{
+			if(this.head == null)
+			{
+				// if no external controller is or was present, the LRM controls itself on its own.
+				return this.count == 0;
+			}
+			
+			// check for orphaned head controller and consolidate to next non-orphaned one (or null!)
+			final LazyReferenceManager.Controller ac;
+			if((ac = this.head.get()) == null)
+			{
+				this.head = this.head.consolidateSelf();
+				
+				// mus call recursively in case null is returned or GC cleared a weak reference in the mean time.
+				return this.mayRun();
+			}
+			
+			return ac.mayRun()
+				? true
+				: this.head.checkChain()
+			;
+		}
+		
+		final boolean isEmpty()
+		{
+			return this.count == 0;
+		}
+		
+		final void add(final LazyReferenceManager.Controller controller)
+		{
+			if(controller == null)
+			{
+				return;
+			}
+			
+			// either set as head instance or scroll to the end and add as tail instance.
+			if(this.head == null)
+			{
+				this.head = new Default.ControllerEntry(controller);
+				this.count++;
+				
+				return;
+			}
+			
+			Default.ControllerEntry current = this.head;
+			while(current.next != null)
+			{
+				// no need for orphan removal logic here as the checking logic already does that on every check
+				if(current.get() == controller)
+				{
+					return;
+				}
+				current = current.next;
+			}
+			current.next = new Default.ControllerEntry(controller);
+			this.count++;
+		}
+		
+		final boolean remove(final LazyReferenceManager.Controller controller)
+		{
+			// head entry special case
+			if(this.head != null && this.head.get() == controller)
+			{
+				// adding logic ensures there can be at the most one entry, so one match suffices to end the loop.
+				this.head = this.head.next;
+				this.count--;
+				return true;
+			}
+			
+			if(this.head == null)
+			{
+				// no (more) controllers present, hence passed controller not found.
+				return false;
+			}
+			
+			// normal case loop starting with a non-null, non-matching head entry
+			Default.ControllerEntry last = this.head;
+			for(Default.ControllerEntry e; (e = last.next) != null; last = e)
+			{
+				// no need for orphan removal logic here as the checking logic already does that on every check
+				if(e.get() == controller)
+				{
+					// remove chain element by replacing the reference to it by that to its next.
+					last.next = e.next;
+					this.count--;
+					
+					// adding logic ensures there can be at the most one entry, so one match suffices to end the loop.
+					return true;
+				}
+			}
+			
+			// passed controller not found
+			return false;
+		}
+		
+		final <P extends Consumer<? super LazyReferenceManager.Controller>> P iterate(final P iterator)
+		{
+			for(Default.ControllerEntry acc = this.head; acc != null; acc = acc.next)
+			{
+				final LazyReferenceManager.Controller ac;
+				if((ac = acc.get()) != null)
+				{
+					iterator.accept(ac);
+				}
+			}
+			return iterator;
+		}
+		
+	}
+	
 	@FunctionalInterface
 	public interface Controller
 	{
@@ -32,4 +32,27 @@ public interface ObjectSwizzling
 	 * @return the instance associated with the passed {@literal objectId}.
 	 */
 	public Object getObject(long objectId);
+	
+	/**
+	 * Retrieves the instances associated with the passed {@literal objectIds}, see {@link #getObject(long)}.
+	 * The returned array contains the instance for each passed {@literal objectId} at the same index.
+	 * <p>
+	 * The default implementation retrieves the instances one by one. Implementations backed by a storage should
+	 * override it to retrieve all missing instances in one loading pass.
+	 * 
+	 * @param objectIds the {@literal objectIds} defining which instances to return.
+	 * 
+	 * @return the instances associated with the passed {@literal objectIds}.
+	 */
+	public default Object[] getObjects(final long... objectIds)
+	{
+		final Object[] instances = new Object[objectIds.length];
+		for(int i = 0; i < objectIds.length; i++)
+		{
+			instances[i] = this.getObject(objectIds[i]);
+		}
+		
+		return instances;
+	}
+	
 }
@@ -23,6 +23,8 @@ package one.microstream.util.cql;
 import static one.microstream.X.coalesce;
 
 import java.util.Comparator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 import java.util.function.Function;
@@ -30,6 +32,8 @@ import java.util.function.Predicate;
 import java.util.function.Supplier;
 
 import one.microstream.X;
+import one.microstream.branching.ThrowBreak;
+import one.microstream.collections.AbstractSimpleArrayCollection;
 import one.microstream.collections.BulkList;
 import one.microstream.collections.EqHashEnum;
 import one.microstream.collections.EqHashTable;
@@ -37,9 +41,13 @@ import one.microstream.collections.HashEnum;
 import one.microstream.collections.HashTable;
 import one.microstream.collections.LimitList;
 import one.microstream.collections.XSort;
+import one.microstream.collections.XUtilsCollection;
+import one.microstream.collections.indexing.IndexPredicate;
+import one.microstream.collections.indexing.IndexedCollection;
 import one.microstream.collections.interfaces.Sized;
 import one.microstream.collections.sorting.Sortable;
 import one.microstream.collections.sorting.SortableProcedure;
+import one.microstream.collections.types.XGettingSequence;
 import one.microstream.collections.types.XIterable;
 import one.microstream.collections.types.XSequence;
 import one.microstream.functional.Aggregate_doubleMin;
@@ -233,6 +241,35 @@ public final class CQL
 		return coalesce(source, X.empty());
 	}
 
+	/**
+	 * Replaces the passed source by the elements an index looks up for the passed selector, if the selector
+	 * is an {@link IndexPredicate} of an index of the source. Otherwise, the source is returned unchanged.
+	 * <p>
+	 * The looked up elements still have to be tested by the selector, as it may combine the index predicate
+	 * with other predicates. Note that the looked up elements are in the order of the index, not in the order of
+	 * the source, which affects skip and limit of unordered queries.
+	 *
+	 * @param <I> the input type
+	 * @param source the source elements
+	 * @param selector the selecting predicate, may be {@code null}
+	 * @return the elements to be queried
+	 */
+	@SuppressWarnings("unchecked")
+	public static <I> XIterable<? extends I> planSource(
+		final XIterable<? extends I> source  ,
+		final Predicate<? super I>   selector
+	)
+	{
+		if(selector instanceof IndexPredicate<?>
+			&& source instanceof IndexedCollection<?>
+			&& ((IndexedCollection<?>)source).isIndexedBy(((IndexPredicate<?>)selector).index())
+		)
+		{
+			return (XIterable<? extends I>)((IndexPredicate<?>)selector).lookup();
+		}
+		return source;
+	}
+
 	public static <E> XSequence<E> prepareTargetCollection(final XIterable<?> source)
 	{
 		// best effort to choose a suitable generic buffer type
@@ -362,7 +399,7 @@ public final class CQL
 	)
 	{
 		executeQuery(
-			source,
+			planSource(source, selector),
 			prepareSourceIterator(skip, limit, selector, target)
 		);
 		return target;
@@ -391,8 +428,9 @@ public final class CQL
 		final Comparator<? super I>  order
 	)
 	{
-		final Aggregator<I, R> collector = resultor.prepareCollector(source);
-		executeQuery(source, skip, limit, selector, collector, order);
+		final XIterable<? extends I> elements  = planSource(source, selector);
+		final Aggregator<I, R>       collector = resultor.prepareCollector(elements);
+		executeQuery(elements, skip, limit, selector, collector, order);
 		return collector.yield();
 	}
 
@@ -406,8 +444,9 @@ public final class CQL
 		final Comparator<? super O>  order
 	)
 	{
-		final Aggregator<O, R> collector = resultor.prepareCollector(source);
-		executeQuery(source, skip, limit, selector, projector, collector, order);
+		final XIterable<? extends I> elements  = planSource(source, selector);
+		final Aggregator<O, R>       collector = resultor.prepareCollector(elements);
+		executeQuery(elements, skip, limit, selector, projector, collector, order);
 		return collector.yield();
 	}
 
@@ -422,7 +461,7 @@ public final class CQL
 	)
 	{
 		executeQuery(
-			source,
+			planSource(source, selector),
 			prepareSourceIterator(skip, limit, selector , projector, target)
 		);
 		SortableProcedure.sortIfApplicable(target, order);
@@ -431,6 +470,243 @@ public final class CQL
 
 
 
+	///////////////////////////////////////////////////////////////////////////
+	// parallel executing //
+	///////////////////////
+
+	/**
+	 * The minimum number of source elements per range of a parallel query execution. Smaller sources are
+	 * executed sequentially, as distributing them would cost more than it gains.
+	 *
+	 * @return the minimum parallel range length.
+	 */
+	public static int minimumParallelRangeLength()
+	{
+		return 4096;
+	}
+
+	/**
+	 * Executes the passed query parts like {@link #executeQuery(XIterable, Long, Long, Predicate, Function,
+	 * CqlResultor, Comparator)}, but evaluates selection and projection in parallel, see
+	 * {@link #executeQueryParallel(XIterable, Long, Long, Predicate, Function, Consumer, Comparator, ForkJoinPool)}.
+	 *
+	 * @param <I> the input type
+	 * @param <O> the output type
+	 * @param <R> the result type
+	 * @param source the source elements
+	 * @param skip the number of selected elements to skip, may be {@code null}
+	 * @param limit the maximum number of selected elements, may be {@code null}
+	 * @param selector the selecting predicate, may be {@code null}
+	 * @param projector the projecting function, {@code null} meaning identity (requires input type = output type)
+	 * @param resultor the resultor providing the result aggregator
+	 * @param order the order of the result, may be {@code null}
+	 * @param pool the pool to evaluate the source ranges in
+	 * @return the result
+	 */
+	public static <I, O, R> R executeQueryParallel(
+		final XIterable<? extends I> source   ,
+		final Long                   skip     ,
+		final Long                   limit    ,
+		final Predicate<? super I>   selector ,
+		final Function<? super I, O> projector,
+		final CqlResultor<O, R>      resultor ,
+		final Comparator<? super O>  order    ,
+		final ForkJoinPool           pool
+	)
+	{
+		final XIterable<? extends I> elements  = planSource(source, selector);
+		final Aggregator<O, R>       collector = resultor.prepareCollector(elements);
+		executeQueryParallel(elements, skip, limit, selector, projector, collector, order, pool);
+		return collector.yield();
+	}
+
+	/**
+	 * Executes the passed query parts with the same result as {@link #executeQuery(XIterable, Long, Long, Predicate,
+	 * Function, Consumer, Comparator)}, but splits the source into index ranges that are evaluated
+	 * (selected and projected) in parallel by the passed pool.
+	 * <p>
+	 * The results of the ranges are passed to the target in source order, so skip and limit select the same
+	 * elements as in sequential execution and a non-commutative target (e.g. a list or a custom aggregation)
+	 * yields the same result. Ordering is applied to the target afterwards, like in sequential execution.
+	 * With a limit, every range stops as soon as it has selected enough elements and ranges that are not needed
+	 * any more are not evaluated at all.
+	 * <p>
+	 * Array-backed sources (e.g. {@link BulkList}) are split without copying, all other sources are copied
+	 * into an array-backed buffer once.
+	 *
+	 * @param <I> the input type
+	 * @param <O> the output type
+	 * @param <P> the target type
+	 * @param source the source elements
+	 * @param skip the number of selected elements to skip, may be {@code null}
+	 * @param limit the maximum number of selected elements, may be {@code null}
+	 * @param selector the selecting predicate, may be {@code null}
+	 * @param projector the projecting function, {@code null} meaning identity (requires input type = output type)
+	 * @param target the target to pass the resulting elements to
+	 * @param order the order of the result, may be {@code null}
+	 * @param pool the pool to evaluate the source ranges in
+	 * @return the passed target
+	 */
+	public static <I, O, P extends Consumer<O>> P executeQueryParallel(
+		final XIterable<? extends I> source   ,
+		final Long                   skip     ,
+		final Long                   limit    ,
+		final Predicate<? super I>   selector ,
+		final Function<? super I, O> projector,
+		final P                      target   ,
+		final Comparator<? super O>  order    ,
+		final ForkJoinPool           pool
+	)
+	{
+		final XGettingSequence<? extends I> elements   = prepareRangeSource(planSource(source, selector));
+		final long                          size       = elements.size();
+		final long                          skipCount  = isSkip(skip) ? skip : 0;
+		final long                          limitCount = isLimit(limit) ? limit : Long.MAX_VALUE;
+
+		final int rangeCount = (int)Math.min(size / minimumParallelRangeLength(), pool.getParallelism() * 4L);
+		if(rangeCount <= 1)
+		{
+			executeQuery(elements, skip, limit, selector, coalesceProjector(projector), target, null);
+		}
+		else
+		{
+			// no range ever has to select more elements than the whole query.
+			final long rangeSelectionMaximum = limitCount == Long.MAX_VALUE ? Long.MAX_VALUE : skipCount + limitCount;
+			executeRangesParallel(
+				elements,
+				createRangeTasks(elements, size, rangeCount, rangeSelectionMaximum, selector, projector, pool),
+				skipCount,
+				limitCount,
+				target
+			);
+		}
+
+		SortableProcedure.sortIfApplicable(target, order);
+		return target;
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <I> XGettingSequence<? extends I> prepareRangeSource(final XIterable<? extends I> source)
+	{
+		if(source instanceof IndexedCollection<?>)
+		{
+			return ((IndexedCollection<? extends I>)source).view();
+		}
+		if(source instanceof AbstractSimpleArrayCollection<?> && source instanceof XGettingSequence<?>)
+		{
+			return (XGettingSequence<? extends I>)source;
+		}
+
+		final BulkList<I> buffer = source instanceof Sized
+			? BulkList.New(((Sized)source).size())
+			: BulkList.New()
+		;
+		source.iterate(buffer);
+
+		return buffer;
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <I, O> Function<? super I, O> coalesceProjector(final Function<? super I, O> projector)
+	{
+		return projector != null
+			? projector
+			: e -> (O)e
+		;
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <I, O> ForkJoinTask<BulkList<O>>[] createRangeTasks(
+		final XGettingSequence<? extends I> elements             ,
+		final long                          size                 ,
+		final int                           rangeCount           ,
+		final long                          rangeSelectionMaximum,
+		final Predicate<? super I>          selector             ,
+		final Function<? super I, O>        projector            ,
+		final ForkJoinPool                  pool
+	)
+	{
+		final Function<? super I, O>      effectiveProjector = coalesceProjector(projector);
+		final ForkJoinTask<BulkList<O>>[] tasks              = new ForkJoinTask[rangeCount];
+		final long                        rangeLength        = (size + rangeCount - 1) / rangeCount;
+
+		for(int r = 0; r < rangeCount; r++)
+		{
+			final long offset = r * rangeLength;
+			final long length = Math.min(rangeLength, size - offset);
+			tasks[r] = pool.submit(() ->
+			{
+				final BulkList<O> rangeResult = BulkList.New();
+				XUtilsCollection.rngIterate(elements, offset, length, (final I e) ->
+				{
+					if(selector != null && !selector.test(e))
+					{
+						return;
+					}
+					rangeResult.add(effectiveProjector.apply(e));
+					if(rangeResult.size() >= rangeSelectionMaximum)
+					{
+						throw X.BREAK();
+					}
+				});
+				return rangeResult;
+			});
+		}
+
+		return tasks;
+	}
+
+	private static <O> void executeRangesParallel(
+		final XGettingSequence<?>         elements  ,
+		final ForkJoinTask<BulkList<O>>[] tasks     ,
+		final long                        skipCount ,
+		final long                        limitCount,
+		final Consumer<? super O>         target
+	)
+	{
+		long toSkip = skipCount ;
+		long toPass = limitCount;
+		int  r      = 0         ;
+		try
+		{
+			// range results are passed in source order, so the result is the same as in sequential execution.
+			for(; r < tasks.length && toPass > 0; r++)
+			{
+				final BulkList<O> rangeResult = tasks[r].join();
+				tasks[r] = null; // allow the range result to be collected early
+
+				final long rangeSize = rangeResult.size();
+				if(toSkip >= rangeSize)
+				{
+					toSkip -= rangeSize;
+					continue;
+				}
+				for(long i = toSkip; i < rangeSize && toPass > 0; i++, toPass--)
+				{
+					target.accept(rangeResult.at(i));
+				}
+				toSkip = 0;
+			}
+		}
+		catch(final ThrowBreak b)
+		{
+			// abort iteration, the same way a sequential iteration is aborted by the target
+		}
+		finally
+		{
+			// ranges that are not needed (any more) are not evaluated
+			for(; r < tasks.length; r++)
+			{
+				if(tasks[r] != null)
+				{
+					tasks[r].cancel(false);
+				}
+			}
+		}
+	}
+
+
+
 	///////////////////////////////////////////////////////////////////////////
 	// Resultor constructors //
 	//////////////////////////
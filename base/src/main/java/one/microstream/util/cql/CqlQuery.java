@@ -23,10 +23,13 @@ package one.microstream.util.cql;
 import static one.microstream.X.notNull;
 
 import java.util.Comparator;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import one.microstream.collections.ArrayCollector;
 import one.microstream.collections.types.XIterable;
@@ -230,6 +233,66 @@ public interface CqlQuery<I, O, R>
 		);
 	}
 
+	/**
+	 * Executes this query like {@link #execute()}, but evaluates selection and projection for ranges
+	 * of the source in parallel in the common {@link ForkJoinPool}.
+	 *
+	 * @return the result of the query
+	 *
+	 * @see CQL#executeQueryParallel(XIterable, Long, Long, Predicate, Function, CqlResultor, Comparator, ForkJoinPool)
+	 */
+	public default R executeParallel()
+	{
+		return this.executeParallel(ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Executes this query like {@link #execute()}, but evaluates selection and projection for ranges
+	 * of the source in parallel in the passed {@link ForkJoinPool}.
+	 *
+	 * @param pool the pool to evaluate the source ranges in
+	 * @return the result of the query
+	 *
+	 * @see CQL#executeQueryParallel(XIterable, Long, Long, Predicate, Function, CqlResultor, Comparator, ForkJoinPool)
+	 */
+	public default R executeParallel(final ForkJoinPool pool)
+	{
+		return CQL.executeQueryParallel(
+			CQL.prepareSource(this.getSource()),
+			this.getSkip()                     ,
+			this.getLimit()                    ,
+			this.getSelector()                 ,
+			this.getProjector()                ,
+			this.getResultor()                 ,
+			this.getOrder()                    ,
+			notNull(pool)
+		);
+	}
+
+	/**
+	 * Returns a {@link Stream} of the elements this query selects and projects, ignoring its resultor.
+	 * The query is evaluated lazily while the stream is consumed, so short-circuiting operations like
+	 * {@link Stream#findFirst()} as well as skip and limit of the query stop scanning the source early.
+	 *
+	 * @return a lazily evaluated stream of the query's elements
+	 *
+	 * @see CqlSpliterator
+	 */
+	public default Stream<O> stream()
+	{
+		return StreamSupport.stream(
+			CqlSpliterator.New(
+				this.getSource()   ,
+				this.getSkip()     ,
+				this.getLimit()    ,
+				this.getSelector() ,
+				this.getProjector(),
+				this.getOrder()
+			),
+			false
+		);
+	}
+
 	public default <P extends Consumer<O>> P executeInto(final P target)
 	{
 		return this.executeInto(CQL.prepareSource(this.getSource()), target);
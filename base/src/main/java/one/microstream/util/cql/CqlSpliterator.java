@@ -0,0 +1,225 @@
+package one.microstream.util.cql;
+
+/*-
+ * #%L
+ * microstream-base
+ * %%
+ * Copyright (C) 2019 - 2022 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ * 
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ * 
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import one.microstream.collections.BulkList;
+import one.microstream.collections.types.XIterable;
+
+
+/**
+ * {@link Spliterator} lazily evaluating a query's selection, skip, limit and projection while it is advanced.
+ * <p>
+ * Source elements are only pulled as far as the consumer of the spliterator advances it, so short-circuiting
+ * stream operations and limited queries stop scanning the source early. Ordered queries have to know all
+ * selected elements before the first one can be passed, so they collect and sort their result window once,
+ * on the first advance.
+ *
+ * @param <I> the input type
+ * @param <O> the output type
+ */
+public final class CqlSpliterator<I, O> implements Spliterator<O>
+{
+	///////////////////////////////////////////////////////////////////////////
+	// static methods //
+	///////////////////
+
+	public static <I, O> CqlSpliterator<I, O> New(
+		final XIterable<? extends I> source   ,
+		final Long                   skip     ,
+		final Long                   limit    ,
+		final Predicate<? super I>   selector ,
+		final Function<? super I, O> projector,
+		final Comparator<? super O>  order
+	)
+	{
+		return new CqlSpliterator<I, O>(
+			CQL.planSource(CQL.prepareSource(source), selector),
+			CQL.isSkip(skip)   ? skip  : 0             ,
+			CQL.isLimit(limit) ? limit : Long.MAX_VALUE,
+			selector,
+			projector,
+			order
+		);
+	}
+
+
+
+	///////////////////////////////////////////////////////////////////////////
+	// instance fields //
+	////////////////////
+
+	private final XIterable<? extends I> source   ;
+	private final Predicate<? super I>   selector ;
+	private final Function<? super I, O> projector;
+	private final Comparator<? super O>  order    ;
+
+	private long                  toSkip  ;
+	private long                  toPass  ;
+	private Iterator<? extends I> iterator;
+	private Iterator<O>           ordered ;
+
+
+
+	///////////////////////////////////////////////////////////////////////////
+	// constructors //
+	/////////////////
+
+	CqlSpliterator(
+		final XIterable<? extends I> source   ,
+		final long                   skip     ,
+		final long                   limit    ,
+		final Predicate<? super I>   selector ,
+		final Function<? super I, O> projector,
+		final Comparator<? super O>  order
+	)
+	{
+		super();
+		this.source    = source   ;
+		this.toSkip    = skip     ;
+		this.toPass    = limit    ;
+		this.selector  = selector ;
+		this.projector = projector;
+		this.order     = order    ;
+	}
+
+
+
+	///////////////////////////////////////////////////////////////////////////
+	// methods //
+	////////////
+
+	@SuppressWarnings("unchecked")
+	private Iterator<? extends I> sourceIterator()
+	{
+		if(this.iterator == null)
+		{
+			// non-iterable sources can only be iterated completely, so they have to be buffered.
+			this.iterator = this.source instanceof Iterable<?>
+				? ((Iterable<? extends I>)this.source).iterator()
+				: this.source.iterate(BulkList.<I>New()).iterator()
+			;
+		}
+		return this.iterator;
+	}
+
+	/**
+	 * Pulls source elements until the next element to be passed is found and passes it to the passed action.
+	 *
+	 * @param action the action to pass the projected element to
+	 * @return whether an element was found.
+	 */
+	private boolean advanceSelected(final Consumer<? super O> action)
+	{
+		if(this.toPass <= 0)
+		{
+			return false;
+		}
+
+		final Iterator<? extends I> iterator = this.sourceIterator();
+		while(iterator.hasNext())
+		{
+			final I element = iterator.next();
+			if(this.selector != null && !this.selector.test(element))
+			{
+				continue;
+			}
+			if(this.toSkip > 0)
+			{
+				this.toSkip--;
+				continue;
+			}
+			this.toPass--;
+			action.accept(this.project(element));
+			return true;
+		}
+
+		this.toPass = 0;
+		return false;
+	}
+
+	@SuppressWarnings("unchecked")
+	private O project(final I element)
+	{
+		return this.projector != null
+			? this.projector.apply(element)
+			: (O)element
+		;
+	}
+
+	private Iterator<O> orderedIterator()
+	{
+		if(this.ordered == null)
+		{
+			final BulkList<O> window = BulkList.New();
+			while(this.advanceSelected(window))
+			{
+				// collect the complete result window
+			}
+			window.sort(this.order);
+			this.ordered = window.iterator();
+		}
+		return this.ordered;
+	}
+
+	@Override
+	public boolean tryAdvance(final Consumer<? super O> action)
+	{
+		if(this.order == null)
+		{
+			return this.advanceSelected(action);
+		}
+
+		final Iterator<O> ordered = this.orderedIterator();
+		if(!ordered.hasNext())
+		{
+			return false;
+		}
+		action.accept(ordered.next());
+		return true;
+	}
+
+	@Override
+	public Spliterator<O> trySplit()
+	{
+		// skip and limit are defined over the source order, so the elements are passed sequentially.
+		return null;
+	}
+
+	@Override
+	public long estimateSize()
+	{
+		return this.toPass;
+	}
+
+	@Override
+	public int characteristics()
+	{
+		return Spliterator.ORDERED;
+	}
+
+}
@@ -0,0 +1,721 @@
+package one.microstream.persistence.binary.codegen;
+
+/*-
+ * #%L
+ * microstream-codegen-typehandler
+ * %%
+ * Copyright (C) 2019 - 2022 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ * 
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ * 
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.tools.Diagnostic.Kind;
+import javax.tools.JavaFileObject;
+
+import one.microstream.chars.VarString;
+import one.microstream.exceptions.IORuntimeException;
+import one.microstream.persistence.binary.types.GenerateBinaryTypeHandler;
+
+
+/**
+ * Generates the source code of the {@link one.microstream.persistence.binary.types.BinaryTypeHandler}
+ * for a class annotated with {@link GenerateBinaryTypeHandler}.
+ */
+class TypeHandlerGenerator
+{
+	private final static String HANDLER_PREFIX   = "BinaryHandler";
+	private final static String OBJECT_TYPE_NAME = Object.class.getName();
+	private final static long   REFERENCE_LENGTH = Long.BYTES;
+	
+	final ProcessingEnvironment      processingEnv;
+	final TypeElement                typeElement  ;
+	final String                     packageName  ;
+	final String                     typeName     ;
+	final String                     handledType  ;
+	
+	private final List<PersistentField> fields = new ArrayList<>();
+	private final VarString             source = VarString.New();
+	
+	TypeHandlerGenerator(
+		final ProcessingEnvironment processingEnv,
+		final TypeElement           typeElement
+	)
+	{
+		super();
+		
+		this.processingEnv = processingEnv;
+		this.typeElement   = typeElement;
+		this.packageName   = processingEnv.getElementUtils().getPackageOf(typeElement).getQualifiedName().toString();
+		this.typeName      = HANDLER_PREFIX.concat(flatSimpleName(typeElement));
+		this.handledType   = typeElement.getQualifiedName().toString();
+	}
+	
+	private static String flatSimpleName(final TypeElement typeElement)
+	{
+		// nested types are named after all enclosing types, e.g. BinaryHandlerOuterInner
+		final Element enclosing = typeElement.getEnclosingElement();
+		return enclosing instanceof TypeElement
+			? flatSimpleName((TypeElement)enclosing).concat(typeElement.getSimpleName().toString())
+			: typeElement.getSimpleName().toString()
+		;
+	}
+	
+	final String qualifiedTypeName()
+	{
+		return this.packageName.isEmpty()
+			? this.typeName
+			: this.packageName + "." + this.typeName
+		;
+	}
+	
+	final boolean generateType()
+	{
+		if(!this.validateType() || !this.collectFields())
+		{
+			return false;
+		}
+		
+		this.processingEnv.getMessager().printMessage(Kind.NOTE,
+			VarString.New("Generating ").add(this.qualifiedTypeName()).toString());
+		
+		this.generateCode();
+		
+		this.writeFile();
+		
+		return true;
+	}
+	
+	private boolean validateType()
+	{
+		if(this.typeElement.getModifiers().contains(Modifier.ABSTRACT))
+		{
+			return this.error("Abstract classes can't be instantiated by a type handler.", this.typeElement);
+		}
+		if(this.typeElement.getNestingKind() == NestingKind.MEMBER
+			&& !this.typeElement.getModifiers().contains(Modifier.STATIC))
+		{
+			return this.error("Inner classes are not supported, only static nested classes.", this.typeElement);
+		}
+		if(this.typeElement.getNestingKind() == NestingKind.LOCAL
+			|| this.typeElement.getNestingKind() == NestingKind.ANONYMOUS)
+		{
+			return this.error("Local and anonymous classes are not supported.", this.typeElement);
+		}
+		if(!this.isAccessible(this.typeElement))
+		{
+			return this.error("The class must be accessible from its package.", this.typeElement);
+		}
+		
+		return true;
+	}
+	
+	/*
+	 * The persistent order is the one of the reflective handling: all reference fields first, then all primitive
+	 * fields, each in declared order starting with the fields of the highest super class.
+	 */
+	private boolean collectFields()
+	{
+		final List<TypeElement> hierarchy = new ArrayList<>();
+		for(TypeElement t = this.typeElement; t != null; t = this.superClass(t))
+		{
+			hierarchy.add(0, t);
+		}
+		
+		final List<PersistentField> references = new ArrayList<>();
+		final List<PersistentField> primitives = new ArrayList<>();
+		for(final TypeElement declaringClass : hierarchy)
+		{
+			for(final Element element : declaringClass.getEnclosedElements())
+			{
+				if(element.getKind() != ElementKind.FIELD
+					|| element.getModifiers().contains(Modifier.STATIC)
+					|| element.getModifiers().contains(Modifier.TRANSIENT)
+				)
+				{
+					continue;
+				}
+				
+				final VariableElement field = (VariableElement)element;
+				final TypeKind        kind  = field.asType().getKind();
+				if(kind == TypeKind.ERROR)
+				{
+					return this.error("Unresolvable field type.", field);
+				}
+				
+				(kind.isPrimitive() ? primitives : references).add(new PersistentField(declaringClass, field));
+			}
+		}
+		
+		long offset = 0;
+		for(final PersistentField field : references)
+		{
+			this.fields.add(field.locate(offset));
+			offset += REFERENCE_LENGTH;
+		}
+		for(final PersistentField field : primitives)
+		{
+			final long length = primitiveLength(field.type.getKind());
+			this.fields.add(field.locate(offset));
+			offset += length;
+		}
+		
+		// field names can be shadowed in a class hierarchy, so the handle constant names must be disambiguated.
+		final Set<String> names = new HashSet<>();
+		for(final PersistentField field : this.fields)
+		{
+			field.constantName = names.add(field.name)
+				? field.name
+				: field.name + "_" + this.fields.indexOf(field)
+			;
+		}
+		
+		return true;
+	}
+	
+	private TypeElement superClass(final TypeElement type)
+	{
+		final TypeMirror superType = type.getSuperclass();
+		if(superType.getKind() != TypeKind.DECLARED)
+		{
+			return null;
+		}
+		
+		final TypeElement superClass = (TypeElement)((DeclaredType)superType).asElement();
+		return OBJECT_TYPE_NAME.equals(superClass.getQualifiedName().toString())
+			? null
+			: superClass
+		;
+	}
+	
+	private static long primitiveLength(final TypeKind kind)
+	{
+		switch(kind)
+		{
+			case BOOLEAN:
+			case BYTE   : return Byte.BYTES;
+			case SHORT  :
+			case CHAR   : return Short.BYTES;
+			case INT    :
+			case FLOAT  : return Integer.BYTES;
+			case LONG   :
+			case DOUBLE : return Long.BYTES;
+			default     : throw new IllegalArgumentException(kind.toString());
+		}
+	}
+	
+	private boolean isAccessible(final TypeElement type)
+	{
+		for(Element e = type; e instanceof TypeElement; e = e.getEnclosingElement())
+		{
+			if(e.getModifiers().contains(Modifier.PRIVATE))
+			{
+				return false;
+			}
+			if(!e.getModifiers().contains(Modifier.PUBLIC) && !this.isSamePackage(e))
+			{
+				return false;
+			}
+		}
+		
+		return true;
+	}
+	
+	private boolean isAccessible(final TypeMirror type)
+	{
+		switch(type.getKind())
+		{
+			case ARRAY:
+			{
+				return this.isAccessible(((ArrayType)type).getComponentType());
+			}
+			case DECLARED:
+			{
+				return this.isAccessible((TypeElement)((DeclaredType)type).asElement());
+			}
+			default:
+			{
+				return type.getKind().isPrimitive();
+			}
+		}
+	}
+	
+	private boolean isSamePackage(final Element element)
+	{
+		return this.packageName.equals(
+			this.processingEnv.getElementUtils().getPackageOf(element).getQualifiedName().toString()
+		);
+	}
+	
+	private boolean error(final String message, final Element element)
+	{
+		this.processingEnv.getMessager().printMessage(Kind.ERROR,
+			GenerateBinaryTypeHandler.class.getSimpleName() + ": " + message, element);
+		
+		return false;
+	}
+	
+	
+	
+	final class PersistentField
+	{
+		final TypeElement     declaringClass;
+		final VariableElement element       ;
+		final TypeMirror      type          ;
+		final String          name          ;
+		final boolean         isReference   ;
+		final boolean         directRead    ;
+		final boolean         directWrite   ;
+		      long            offset        ;
+		      String          constantName  ;
+		
+		PersistentField(final TypeElement declaringClass, final VariableElement element)
+		{
+			super();
+			this.declaringClass = declaringClass;
+			this.element        = element;
+			this.type           = element.asType();
+			this.name           = element.getSimpleName().toString();
+			this.isReference    = !this.type.getKind().isPrimitive();
+			
+			// direct field access requires the field and its declaring class to be accessible from the handler.
+			this.directRead     = !element.getModifiers().contains(Modifier.PRIVATE)
+				&& TypeHandlerGenerator.this.isSamePackage(declaringClass)
+				&& TypeHandlerGenerator.this.isAccessible(declaringClass)
+			;
+			this.directWrite    = this.directRead
+				&& !element.getModifiers().contains(Modifier.FINAL)
+				&& (!this.isReference || TypeHandlerGenerator.this.isAccessible(this.erasure()))
+			;
+		}
+		
+		final PersistentField locate(final long offset)
+		{
+			this.offset = offset;
+			return this;
+		}
+		
+		final TypeMirror erasure()
+		{
+			return TypeHandlerGenerator.this.processingEnv.getTypeUtils().erasure(this.type);
+		}
+		
+		final boolean usesHandles()
+		{
+			return !this.directRead || !this.directWrite;
+		}
+		
+		final String instanceExpression()
+		{
+			// shadowed fields of super classes are accessed via a cast to the declaring class
+			return this.declaringClass == TypeHandlerGenerator.this.typeElement
+				? "instance"
+				: "((" + this.declaringClass.getQualifiedName() + ")instance)"
+			;
+		}
+		
+		final String readExpression()
+		{
+			if(this.directRead)
+			{
+				return this.instanceExpression() + "." + this.name;
+			}
+			
+			return this.isReference
+				? "GET_" + this.constantName + ".invoke(instance)"
+				: "(" + this.type.getKind().name().toLowerCase() + ")GET_" + this.constantName + ".invoke(instance)"
+			;
+		}
+		
+		final String writeStatement(final String valueExpression)
+		{
+			if(this.directWrite)
+			{
+				return this.instanceExpression() + "." + this.name + " = "
+					+ (this.isReference ? "(" + this.erasure() + ")" : "")
+					+ valueExpression + ";"
+				;
+			}
+			
+			return "SET_" + this.constantName + ".invoke(instance, " + valueExpression + ");";
+		}
+		
+		final String binaryTypeName()
+		{
+			return this.isReference
+				? "long"
+				: this.type.getKind().name().toLowerCase()
+			;
+		}
+		
+	}
+	
+	
+	
+	///////////////////////////////////////////////////////////////////////////
+	// code generation //
+	////////////////////
+	
+	private String classExpression(final TypeElement type)
+	{
+		if(this.isAccessible(type))
+		{
+			return type.getQualifiedName() + ".class";
+		}
+		
+		// inaccessible super classes are reached via the accessible handled class
+		final VarString vs = VarString.New(this.handledType).add(".class");
+		for(TypeElement t = this.superClass(this.typeElement); t != null; t = this.superClass(t))
+		{
+			vs.add(".getSuperclass()");
+			if(t == type)
+			{
+				break;
+			}
+		}
+		
+		return vs.toString();
+	}
+	
+	private boolean usesHandles()
+	{
+		return this.fields.stream().anyMatch(PersistentField::usesHandles);
+	}
+	
+	private boolean hasReferences()
+	{
+		return this.fields.stream().anyMatch(f -> f.isReference);
+	}
+	
+	void generateCode()
+	{
+		final boolean generic = !this.typeElement.getTypeParameters().isEmpty();
+		
+		this.add("package ").add(this.packageName).add(";").newline().newline();
+		if(this.usesHandles())
+		{
+			this.add("import java.lang.invoke.MethodHandle;").newline().newline();
+		}
+		this.add("import one.microstream.memory.XMemory;").newline();
+		this.add("import one.microstream.persistence.binary.internal.AbstractBinaryHandlerGenerated;").newline();
+		this.add("import one.microstream.persistence.binary.types.Binary;").newline();
+		this.add("import one.microstream.persistence.types.PersistenceFunction;").newline();
+		this.add("import one.microstream.persistence.types.PersistenceLoadHandler;").newline();
+		this.add("import one.microstream.persistence.types.PersistenceReferenceLoader;").newline();
+		this.add("import one.microstream.persistence.types.PersistenceStoreHandler;").newline();
+		this.newline().newline();
+		
+		this.add("/**").newline()
+			.add(" * Type handler for {@link ").add(this.handledType).add("}, generated by the processing of ")
+			.add("{@link one.microstream.persistence.binary.types.GenerateBinaryTypeHandler}.").newline()
+			.add(" */").newline();
+		if(generic)
+		{
+			this.add("@SuppressWarnings({\"rawtypes\", \"unchecked\"})").newline();
+		}
+		this.add("public final class ").add(this.typeName)
+			.add(" extends AbstractBinaryHandlerGenerated<").add(this.handledType).add(">").newline()
+			.add("{").newline();
+		
+		this.generateHandleConstants();
+		this.generateConstructor(generic);
+		this.generateStore();
+		this.generateCreate();
+		this.generateUpdateState();
+		this.generateIterateInstanceReferences();
+		this.generateIterateLoadableReferences();
+		
+		this.add("}").newline();
+	}
+	
+	private void generateHandleConstants()
+	{
+		if(!this.usesHandles())
+		{
+			return;
+		}
+		
+		for(final PersistentField field : this.fields)
+		{
+			if(!field.directRead)
+			{
+				this.tab().add("private static final MethodHandle GET_").add(field.constantName)
+					.add(" = getter(").add(this.classExpression(field.declaringClass))
+					.add(", \"").add(field.name).add("\");").newline();
+			}
+			if(!field.directWrite)
+			{
+				this.tab().add("private static final MethodHandle SET_").add(field.constantName)
+					.add(" = setter(").add(this.classExpression(field.declaringClass))
+					.add(", \"").add(field.name).add("\");").newline();
+			}
+		}
+		this.newline().newline().newline();
+	}
+	
+	private void generateConstructor(final boolean generic)
+	{
+		this.tab().add("public ").add(this.typeName).add("()").newline()
+			.tab().add("{").newline()
+			.tab(2).add("super(").newline()
+			.tab(3).add(generic ? "(Class)" : "").add(this.handledType).add(".class,").newline()
+			.tab(3).add("CustomFields(");
+		for(int i = 0; i < this.fields.size(); i++)
+		{
+			final PersistentField field = this.fields.get(i);
+			this.newline().tab(4).add("DeclaredField(").add(this.classExpression(field.declaringClass))
+				.add(", \"").add(field.name).add("\")").add(i < this.fields.size() - 1 ? "," : "");
+		}
+		this.newline().tab(3).add(")").newline()
+			.tab(2).add(");").newline()
+			.tab().add("}").newline()
+			.newline().newline().newline();
+	}
+	
+	private void openHandleTry(final boolean usesHandles)
+	{
+		if(usesHandles)
+		{
+			this.tab(2).add("try").newline().tab(2).add("{").newline();
+		}
+	}
+	
+	private void closeHandleTry(final boolean usesHandles)
+	{
+		if(usesHandles)
+		{
+			this.tab(2).add("}").newline()
+				.tab(2).add("catch(final Throwable t)").newline()
+				.tab(2).add("{").newline()
+				.tab(3).add("throw accessFailure(t);").newline()
+				.tab(2).add("}").newline();
+		}
+	}
+	
+	private int bodyIndentation(final boolean usesHandles)
+	{
+		return usesHandles ? 3 : 2;
+	}
+	
+	private void generateStore()
+	{
+		final boolean usesHandles = this.fields.stream().anyMatch(f -> !f.directRead);
+		final int     indentation = this.bodyIndentation(usesHandles);
+		
+		this.tab().add("@Override").newline()
+			.tab().add("public final void store(").newline();
+		this.generateParameters(
+			"Binary"                         , "data"    ,
+			this.handledType                 , "instance",
+			"long"                           , "objectId",
+			"PersistenceStoreHandler<Binary>", "handler"
+		);
+		this.tab().add(")").newline()
+			.tab().add("{").newline()
+			.tab(2).add("this.storeEntityHeader(data, objectId);").newline();
+		this.openHandleTry(usesHandles);
+		for(final PersistentField field : this.fields)
+		{
+			this.tab(indentation).add("data.store_").add(field.binaryTypeName()).add("(").add(field.offset).add(", ")
+				.add(field.isReference ? "handler.apply(" + field.readExpression() + ")" : field.readExpression())
+				.add(");").newline();
+		}
+		this.closeHandleTry(usesHandles);
+		this.tab().add("}").newline().newline();
+	}
+	
+	private void generateParameters(final String... typesAndNames)
+	{
+		// aligned like hand written code: types and names padded to the longest one each
+		int typeLength = 0, nameLength = 0;
+		for(int i = 0; i < typesAndNames.length; i += 2)
+		{
+			typeLength = Math.max(typeLength, typesAndNames[i].length());
+			nameLength = Math.max(nameLength, typesAndNames[i + 1].length());
+		}
+		for(int i = 0; i < typesAndNames.length; i += 2)
+		{
+			this.tab(2).add("final ").add(pad(typesAndNames[i], typeLength)).add(" ");
+			if(i < typesAndNames.length - 2)
+			{
+				this.add(pad(typesAndNames[i + 1], nameLength)).add(",");
+			}
+			else
+			{
+				this.add(typesAndNames[i + 1]);
+			}
+			this.newline();
+		}
+	}
+	
+	private static String pad(final String s, final int length)
+	{
+		return VarString.New().padRight(s, length, ' ').toString();
+	}
+	
+	private void generateCreate()
+	{
+		this.tab().add("@Override").newline()
+			.tab().add("public final ").add(this.handledType)
+			.add(" create(final Binary data, final PersistenceLoadHandler handler)").newline()
+			.tab().add("{").newline()
+			// blank instantiation like the generic handler, so no constructor logic is executed.
+			.tab(2).add("return XMemory.instantiateBlank(").add(this.handledType).add(".class);").newline()
+			.tab().add("}").newline().newline();
+	}
+	
+	private void generateUpdateState()
+	{
+		final boolean usesHandles = this.fields.stream().anyMatch(f -> !f.directWrite);
+		final int     indentation = this.bodyIndentation(usesHandles);
+		
+		if(this.fields.stream().anyMatch(f -> f.isReference && f.directWrite))
+		{
+			// erased casts for generically typed fields
+			this.tab().add("@SuppressWarnings(\"unchecked\")").newline();
+		}
+		this.tab().add("@Override").newline()
+			.tab().add("public final void updateState(").newline();
+		this.generateParameters(
+			"Binary"                , "data"    ,
+			this.handledType        , "instance",
+			"PersistenceLoadHandler", "handler"
+		);
+		this.tab().add(")").newline()
+			.tab().add("{").newline();
+		this.openHandleTry(usesHandles);
+		for(final PersistentField field : this.fields)
+		{
+			final String value = "data.read_" + field.binaryTypeName() + "(" + field.offset + ")";
+			this.tab(indentation).add(field.writeStatement(
+				field.isReference ? "handler.lookupObject(" + value + ")" : value
+			)).newline();
+		}
+		this.closeHandleTry(usesHandles);
+		this.tab().add("}").newline().newline();
+	}
+	
+	private void generateIterateInstanceReferences()
+	{
+		if(!this.hasReferences())
+		{
+			return;
+		}
+		
+		final boolean usesHandles = this.fields.stream().anyMatch(f -> f.isReference && !f.directRead);
+		final int     indentation = this.bodyIndentation(usesHandles);
+		
+		this.tab().add("@Override").newline()
+			.tab().add("public final void iterateInstanceReferences(final ").add(this.handledType)
+			.add(" instance, final PersistenceFunction iterator)").newline()
+			.tab().add("{").newline();
+		this.openHandleTry(usesHandles);
+		for(final PersistentField field : this.fields)
+		{
+			if(field.isReference)
+			{
+				this.tab(indentation).add("iterator.apply(").add(field.readExpression()).add(");").newline();
+			}
+		}
+		this.closeHandleTry(usesHandles);
+		this.tab().add("}").newline().newline();
+	}
+	
+	private void generateIterateLoadableReferences()
+	{
+		this.tab().add("@Override").newline()
+			.tab().add("public final void iterateLoadableReferences(")
+			.add("final Binary data, final PersistenceReferenceLoader iterator)").newline()
+			.tab().add("{").newline();
+		if(!this.hasReferences())
+		{
+			this.tab(2).add("// no references").newline();
+		}
+		for(final PersistentField field : this.fields)
+		{
+			if(field.isReference)
+			{
+				this.tab(2).add("iterator.acceptObjectId(data.read_long(").add(field.offset).add("));").newline();
+			}
+		}
+		this.tab().add("}").newline().newline();
+	}
+	
+	TypeHandlerGenerator add(final String code)
+	{
+		this.source.add(code);
+		return this;
+	}
+	
+	TypeHandlerGenerator add(final long value)
+	{
+		this.source.add(value);
+		return this;
+	}
+	
+	TypeHandlerGenerator tab()
+	{
+		this.source.tab();
+		return this;
+	}
+	
+	TypeHandlerGenerator tab(final int amount)
+	{
+		this.source.tab(amount);
+		return this;
+	}
+	
+	TypeHandlerGenerator newline()
+	{
+		this.source.add(System.lineSeparator());
+		return this;
+	}
+	
+	private void writeFile()
+	{
+		try
+		{
+			final JavaFileObject file = this.processingEnv.getFiler().createSourceFile(
+				this.qualifiedTypeName(),
+				this.typeElement
+			);
+			try(Writer writer = file.openWriter())
+			{
+				writer.write(this.source.toString());
+			}
+		}
+		catch(final IOException e)
+		{
+			throw new IORuntimeException(e);
+		}
+	}
+}
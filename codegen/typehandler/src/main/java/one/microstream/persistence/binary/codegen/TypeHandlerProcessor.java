@@ -0,0 +1,163 @@
+package one.microstream.persistence.binary.codegen;
+
+/*-
+ * #%L
+ * microstream-codegen-typehandler
+ * %%
+ * Copyright (C) 2019 - 2022 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ * 
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ * 
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.util.Collections;
+import java.util.Set;
+import java.util.TreeSet;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.TypeElement;
+import javax.tools.Diagnostic.Kind;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+
+import one.microstream.exceptions.IORuntimeException;
+import one.microstream.persistence.binary.types.BinaryTypeHandler;
+import one.microstream.persistence.binary.types.GenerateBinaryTypeHandler;
+
+
+/**
+ * Annotation processor generating a {@link BinaryTypeHandler} for every class annotated with
+ * {@link GenerateBinaryTypeHandler} and listing the generated handlers as service implementations
+ * of {@link BinaryTypeHandler}, so that they are registered automatically.
+ */
+@SuppressWarnings("exports")
+public class TypeHandlerProcessor extends AbstractProcessor
+{
+	private final static String SERVICE_FILE = "META-INF/services/" + BinaryTypeHandler.class.getName();
+	
+	private final Set<String>   generatedHandlers = new TreeSet<>();
+	
+	public TypeHandlerProcessor()
+	{
+		super();
+	}
+	
+	@Override
+	public SourceVersion getSupportedSourceVersion()
+	{
+		return SourceVersion.latestSupported();
+	}
+	
+	@Override
+	public Set<String> getSupportedAnnotationTypes()
+	{
+		return Collections.singleton(GenerateBinaryTypeHandler.class.getName());
+	}
+	
+	@Override
+	public boolean process(final Set<? extends TypeElement> annotations, final RoundEnvironment roundEnv)
+	{
+		if(roundEnv.processingOver())
+		{
+			if(!this.generatedHandlers.isEmpty())
+			{
+				this.writeServiceFile();
+			}
+			return false;
+		}
+		
+		for(final Element element : roundEnv.getElementsAnnotatedWith(GenerateBinaryTypeHandler.class))
+		{
+			if(element.getKind() != ElementKind.CLASS)
+			{
+				this.processingEnv.getMessager().printMessage(Kind.ERROR,
+					GenerateBinaryTypeHandler.class.getSimpleName() + " is only applicable to classes.", element
+				);
+				continue;
+			}
+			
+			final TypeHandlerGenerator generator = new TypeHandlerGenerator(this.processingEnv, (TypeElement)element);
+			if(generator.generateType())
+			{
+				this.generatedHandlers.add(generator.qualifiedTypeName());
+			}
+		}
+		
+		return true;
+	}
+	
+	private void writeServiceFile()
+	{
+		// handlers generated by previous (incremental) compilations are kept.
+		this.readExistingServiceFile();
+		
+		try
+		{
+			final FileObject file = this.processingEnv.getFiler().createResource(
+				StandardLocation.CLASS_OUTPUT, "", SERVICE_FILE
+			);
+			try(Writer writer = file.openWriter())
+			{
+				for(final String handler : this.generatedHandlers)
+				{
+					writer.write(handler);
+					writer.write(System.lineSeparator());
+				}
+			}
+		}
+		catch(final IOException e)
+		{
+			throw new IORuntimeException(e);
+		}
+	}
+	
+	private void readExistingServiceFile()
+	{
+		try
+		{
+			final FileObject file = this.processingEnv.getFiler().getResource(
+				StandardLocation.CLASS_OUTPUT, "", SERVICE_FILE
+			);
+			try(
+				Reader         reader         = file.openReader(true);
+				BufferedReader bufferedReader = new BufferedReader(reader)
+			)
+			{
+				bufferedReader.lines()
+					.map(String::trim)
+					.filter(line -> !line.isEmpty() && !line.startsWith("#"))
+					.filter(this::isExistingType)
+					.forEach(this.generatedHandlers::add)
+				;
+			}
+		}
+		catch(final IOException | IllegalArgumentException e)
+		{
+			// no existing service file, nothing to keep.
+		}
+	}
+	
+	private boolean isExistingType(final String qualifiedName)
+	{
+		return this.processingEnv.getElementUtils().getTypeElement(qualifiedName) != null;
+	}
+	
+}
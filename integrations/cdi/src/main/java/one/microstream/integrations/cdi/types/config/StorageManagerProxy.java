@@ -3,6 +3,7 @@ package one.microstream.integrations.cdi.types.config;
 import java.nio.ByteBuffer;
 import java.util.Optional;
 import java.util.function.Predicate;
+import java.util.stream.Stream;
 
 import javax.enterprise.inject.spi.CDI;
 
@@ -47,6 +48,7 @@ import one.microstream.storage.types.StorageEntityCacheEvaluator;
 import one.microstream.storage.types.StorageEntityTypeExportFileProvider;
 import one.microstream.storage.types.StorageEntityTypeExportStatistics;
 import one.microstream.storage.types.StorageEntityTypeHandler;
+import one.microstream.storage.types.StorageEntityTypeStatistics;
 import one.microstream.storage.types.StorageLiveFileProvider;
 import one.microstream.storage.types.StorageManager;
 import one.microstream.storage.types.StorageRawFileStatistics;
@@ -252,6 +254,24 @@ public class StorageManagerProxy implements StorageManager
         return this.getStorageManager().createStorageStatistics();
     }
 
+    @Override
+    public StorageEntityTypeStatistics createEntityTypeStatistics()
+    {
+        return this.getStorageManager().createEntityTypeStatistics();
+    }
+
+    @Override
+    public <T> Stream<T> streamInstances(final Class<T> type, final int batchSize)
+    {
+        return this.getStorageManager().streamInstances(type, batchSize);
+    }
+
+    @Override
+    public Object[] getExistingObjects(final long... objectIds)
+    {
+        return this.getStorageManager().getExistingObjects(objectIds);
+    }
+
     @Override
     public void exportChannels(final StorageLiveFileProvider fileProvider, final boolean performGarbageCollection)
     {
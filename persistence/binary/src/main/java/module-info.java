@@ -39,6 +39,9 @@ module microstream.persistence.binary
 	exports one.microstream.persistence.binary.util;
 	exports one.microstream.persistence.binary.one.microstream.collections;
 	exports one.microstream.persistence.binary.one.microstream.collections.lazy;
+	exports one.microstream.persistence.binary.one.microstream.collections.indexing;
+	
+	uses one.microstream.persistence.binary.types.BinaryTypeHandler;
 	
 	requires transitive microstream.persistence;
 	requires java.sql;
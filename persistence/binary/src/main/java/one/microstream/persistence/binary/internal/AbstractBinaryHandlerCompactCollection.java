@@ -0,0 +1,230 @@
+package one.microstream.persistence.binary.internal;
+
+/*-
+ * #%L
+ * microstream-persistence-binary
+ * %%
+ * Copyright (C) 2019 - 2022 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+import one.microstream.X;
+import one.microstream.collections.XArrays;
+import one.microstream.collections.types.XGettingSequence;
+import one.microstream.persistence.binary.types.Binary;
+import one.microstream.persistence.exceptions.PersistenceException;
+import one.microstream.persistence.types.PersistenceLoadHandler;
+import one.microstream.persistence.types.PersistenceReferenceLoader;
+import one.microstream.persistence.types.PersistenceStoreHandler;
+import one.microstream.persistence.types.PersistenceTypeDefinitionMemberFieldGeneric;
+
+
+/**
+ * Common logic of the handlers that persist the elements of a collection as a compact reference list,
+ * see {@link Binary#storeCompactReferenceList(long, long[])}.
+ * <p>
+ * The binary layout is the fixed length fields defined by the implementation, followed by the compact
+ * reference list of the elements.
+ *
+ * @param <T> the handled collection type.
+ */
+public abstract class AbstractBinaryHandlerCompactCollection<T>
+extends AbstractBinaryHandlerCustomCollection<T>
+{
+	///////////////////////////////////////////////////////////////////////////
+	// static methods //
+	///////////////////
+
+	public static final XGettingSequence<? extends PersistenceTypeDefinitionMemberFieldGeneric> CompactFields(
+		final PersistenceTypeDefinitionMemberFieldGeneric... preHeaderFields
+	)
+	{
+		return CustomFields(
+			XArrays.add(
+				preHeaderFields,
+				references("elements")
+			)
+		);
+	}
+
+	private static long preHeaderLength(final PersistenceTypeDefinitionMemberFieldGeneric[] preHeaderFields)
+	{
+		long length = 0;
+		for(final PersistenceTypeDefinitionMemberFieldGeneric field : preHeaderFields)
+		{
+			if(field.isVariableLength())
+			{
+				throw new PersistenceException(
+					"Variable length field " + field.name() + " before the elements."
+				);
+			}
+			length += field.persistentMaximumLength();
+		}
+
+		return length;
+	}
+
+
+
+	///////////////////////////////////////////////////////////////////////////
+	// instance fields //
+	////////////////////
+
+	private final int  elementWidth        ;
+	private final long binaryOffsetElements;
+
+
+
+	///////////////////////////////////////////////////////////////////////////
+	// constructors //
+	/////////////////
+
+	protected AbstractBinaryHandlerCompactCollection(
+		final Class<T>                                       type           ,
+		final int                                            elementWidth   ,
+		final PersistenceTypeDefinitionMemberFieldGeneric... preHeaderFields
+	)
+	{
+		super(type, CompactFields(preHeaderFields));
+		this.elementWidth         = elementWidth;
+		this.binaryOffsetElements = preHeaderLength(preHeaderFields);
+	}
+
+
+
+	///////////////////////////////////////////////////////////////////////////
+	// methods //
+	////////////
+
+	protected final int getElementCount(final Binary data)
+	{
+		final int slotCount = X.checkArrayRange(data.getCompactReferenceListElementCount(this.binaryOffsetElements));
+		if(slotCount % this.elementWidth != 0)
+		{
+			throw new PersistenceException(
+				"Inconsistent compact collection: " + slotCount + " references for element width " + this.elementWidth
+			);
+		}
+
+		return slotCount / this.elementWidth;
+	}
+
+	/**
+	 * Collects the elements of the passed collection in iteration order, each element occupying
+	 * the handler's element width of consecutive slots.
+	 *
+	 * @param instance the collection to be stored.
+	 * @return a new array containing exactly the elements' slots.
+	 */
+	protected abstract Object[] collectElements(T instance);
+
+	/**
+	 * Stores the fixed length values that precede the elements. Does nothing by default.
+	 *
+	 * @param data the data to store to.
+	 * @param instance the collection to be stored.
+	 * @param handler the store handler to resolve references.
+	 */
+	protected void storePreHeader(
+		final Binary                          data    ,
+		final T                               instance,
+		final PersistenceStoreHandler<Binary> handler
+	)
+	{
+		// no pre header by default
+	}
+
+	/**
+	 * Clears the passed collection and updates its state from the fixed length values that precede
+	 * the elements.
+	 *
+	 * @param data the data to read from.
+	 * @param instance the collection to be updated.
+	 * @param handler the load handler to resolve references.
+	 */
+	protected abstract void resetState(Binary data, T instance, PersistenceLoadHandler handler);
+
+	/**
+	 * Adds the passed elements to the passed empty collection.
+	 *
+	 * @param instance the collection to be populated.
+	 * @param elements the elements' slots.
+	 * @param elementCount the number of elements.
+	 */
+	protected abstract void populate(T instance, Object[] elements, int elementCount);
+
+	/**
+	 * Reports the references of the fixed length values that precede the elements. Does nothing by default.
+	 *
+	 * @param data the data to read from.
+	 * @param iterator the iterator to report the object ids to.
+	 */
+	protected void iteratePreHeaderReferences(final Binary data, final PersistenceReferenceLoader iterator)
+	{
+		// no pre header by default
+	}
+
+	@Override
+	public final void store(
+		final Binary                          data    ,
+		final T                               instance,
+		final long                            objectId,
+		final PersistenceStoreHandler<Binary> handler
+	)
+	{
+		final Object[] elements  = this.collectElements(instance);
+		final long[]   objectIds = new long[elements.length];
+		for(int i = 0; i < elements.length; i++)
+		{
+			objectIds[i] = handler.apply(elements[i]);
+		}
+
+		data.storeEntityHeader(
+			this.binaryOffsetElements + Binary.calculateCompactReferenceListTotalBinaryLength(objectIds),
+			this.typeId(),
+			objectId
+		);
+		this.storePreHeader(data, instance, handler);
+		data.storeCompactReferenceList(this.binaryOffsetElements, objectIds);
+	}
+
+	@Override
+	public final void updateState(final Binary data, final T instance, final PersistenceLoadHandler handler)
+	{
+		this.resetState(data, instance, handler);
+
+		final Object[] elements = new Object[this.getElementCount(data) * this.elementWidth];
+		data.collectCompactReferenceList(this.binaryOffsetElements, handler, elements);
+
+		// the elements are only complete (e.g. hashable) after all instances have been updated.
+		data.registerHelper(instance, elements);
+	}
+
+	@Override
+	public final void complete(final Binary data, final T instance, final PersistenceLoadHandler handler)
+	{
+		final Object[] elements = (Object[])data.getHelper(instance);
+
+		this.populate(instance, elements, elements.length / this.elementWidth);
+	}
+
+	@Override
+	public final void iterateLoadableReferences(final Binary data, final PersistenceReferenceLoader iterator)
+	{
+		this.iteratePreHeaderReferences(data, iterator);
+		data.iterateCompactReferenceList(this.binaryOffsetElements, iterator);
+	}
+
+}
@@ -107,6 +107,15 @@ extends BinaryTypeHandler.Abstract<T>
 		);
 	}
 
+	public static final PersistenceTypeDefinitionMemberFieldGeneric references(final String name)
+	{
+		return PersistenceTypeDefinitionMemberFieldGenericVariableLength.References(
+			name,
+			Binary.binaryListMinimumLength(),
+			Binary.binaryListMaximumLength()
+		);
+	}
+
 	public static final XImmutableSequence<PersistenceTypeDefinitionMemberFieldGeneric>
 	CustomFields(final PersistenceTypeDefinitionMemberFieldGeneric... customFields)
 	{
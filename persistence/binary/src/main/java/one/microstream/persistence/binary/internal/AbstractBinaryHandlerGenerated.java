@@ -0,0 +1,220 @@
+package one.microstream.persistence.binary.internal;
+
+/*-
+ * #%L
+ * microstream-persistence-binary
+ * %%
+ * Copyright (C) 2019 - 2022 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Field;
+import java.util.function.Consumer;
+
+import one.microstream.collections.types.XGettingSequence;
+import one.microstream.persistence.binary.types.Binary;
+import one.microstream.persistence.binary.types.GenerateBinaryTypeHandler;
+import one.microstream.persistence.exceptions.PersistenceException;
+import one.microstream.persistence.types.PersistenceTypeDefinitionMember;
+import one.microstream.persistence.types.PersistenceTypeDefinitionMemberFieldGeneric;
+import one.microstream.persistence.types.PersistenceTypeDefinitionMemberFieldGenericSimple;
+import one.microstream.reflect.XReflect;
+
+
+/**
+ * Common logic of the type handlers that are generated for classes annotated with
+ * {@link GenerateBinaryTypeHandler}.
+ * <p>
+ * Generated handlers define the same members in the same persistent order as the generic reflective handler:
+ * all reference fields first, then all primitive fields, each in declared order starting with the fields of
+ * the highest super class. Hence, the type definition does not change if a handler is generated for a class
+ * with existing persistent data.
+ * <p>
+ * Fields that can't be accessed directly from the generated code, e.g. private or final fields, are accessed via
+ * {@link MethodHandle}s held in static final fields, which the JIT treats as constants.
+ *
+ * @param <T> the handled type
+ */
+public abstract class AbstractBinaryHandlerGenerated<T> extends AbstractBinaryHandlerCustom<T>
+{
+	///////////////////////////////////////////////////////////////////////////
+	// static methods //
+	///////////////////
+
+	/**
+	 * Creates the member definition for the passed class' declared instance field of the passed name.
+	 * The field's type is resolved reflectively, since it might not be accessible from the generated code.
+	 *
+	 * @param declaringClass the class declaring the field.
+	 * @param name the field's name.
+	 * @return the member definition, qualified by the declaring class like for reflectively handled fields.
+	 */
+	public static final PersistenceTypeDefinitionMemberFieldGenericSimple DeclaredField(
+		final Class<?> declaringClass,
+		final String   name
+	)
+	{
+		return CustomField(
+			XReflect.getDeclaredField(declaringClass, name).getType(),
+			declaringClass.getName(),
+			name
+		);
+	}
+
+	/**
+	 * Creates a {@link MethodHandle} reading the passed class' declared instance field of the passed name.
+	 * The handle's type is {@code (declaringClass)fieldType}.
+	 *
+	 * @param declaringClass the class declaring the field.
+	 * @param name the field's name.
+	 * @return a getter {@link MethodHandle} for the field.
+	 */
+	public static final MethodHandle getter(final Class<?> declaringClass, final String name)
+	{
+		try
+		{
+			return MethodHandles.lookup().unreflectGetter(accessibleField(declaringClass, name));
+		}
+		catch(final IllegalAccessException e)
+		{
+			throw new PersistenceException(e);
+		}
+	}
+
+	/**
+	 * Creates a {@link MethodHandle} writing the passed class' declared instance field of the passed name,
+	 * even if it is final. The handle's type is {@code (declaringClass, fieldType)void}.
+	 *
+	 * @param declaringClass the class declaring the field.
+	 * @param name the field's name.
+	 * @return a setter {@link MethodHandle} for the field.
+	 */
+	public static final MethodHandle setter(final Class<?> declaringClass, final String name)
+	{
+		try
+		{
+			return MethodHandles.lookup().unreflectSetter(accessibleField(declaringClass, name));
+		}
+		catch(final IllegalAccessException e)
+		{
+			throw new PersistenceException(e);
+		}
+	}
+
+	private static Field accessibleField(final Class<?> declaringClass, final String name)
+	{
+		// accessible instance fields can be written by an unreflected setter even if they are final.
+		return XReflect.setAccessible(XReflect.getDeclaredField(declaringClass, name));
+	}
+
+	/**
+	 * Converts a {@link Throwable} caught around invoked field access {@link MethodHandle}s to an unchecked exception.
+	 *
+	 * @param cause the thrown {@link Throwable}.
+	 * @return the passed {@link RuntimeException} or a {@link PersistenceException} wrapping a checked one.
+	 */
+	public static final RuntimeException accessFailure(final Throwable cause)
+	{
+		if(cause instanceof Error)
+		{
+			throw (Error)cause;
+		}
+		if(cause instanceof RuntimeException)
+		{
+			return (RuntimeException)cause;
+		}
+
+		return new PersistenceException(cause);
+	}
+
+
+
+	///////////////////////////////////////////////////////////////////////////
+	// instance fields //
+	////////////////////
+
+	private final boolean hasReferences      ;
+	private final long    binaryContentLength;
+
+
+
+	///////////////////////////////////////////////////////////////////////////
+	// constructors //
+	/////////////////
+
+	protected AbstractBinaryHandlerGenerated(
+		final Class<T>                                                                type   ,
+		final XGettingSequence<? extends PersistenceTypeDefinitionMemberFieldGeneric> members
+	)
+	{
+		super(type, members);
+		this.hasReferences       = members.containsSearched(PersistenceTypeDefinitionMemberFieldGeneric::isReference);
+		this.binaryContentLength = this.membersPersistedLengthMaximum();
+	}
+
+
+
+	///////////////////////////////////////////////////////////////////////////
+	// methods //
+	////////////
+
+	/**
+	 * Returns the fixed binary length of the entities' content, which is the sum of the members' lengths.
+	 *
+	 * @return the binary content length.
+	 */
+	protected final long binaryContentLength()
+	{
+		return this.binaryContentLength;
+	}
+
+	protected final void storeEntityHeader(final Binary data, final long objectId)
+	{
+		data.storeEntityHeader(this.binaryContentLength, this.typeId(), objectId);
+	}
+
+	@Override
+	public <C extends Consumer<? super Class<?>>> C iterateMemberTypes(final C logic)
+	{
+		// the same as for reflectively handled types
+		for(final PersistenceTypeDefinitionMember member : this.instanceMembers())
+		{
+			logic.accept(member.type());
+		}
+
+		return logic;
+	}
+
+	@Override
+	public final boolean hasPersistedReferences()
+	{
+		return this.hasReferences;
+	}
+
+	@Override
+	public final boolean hasPersistedVariableLength()
+	{
+		return false;
+	}
+
+	@Override
+	public final boolean hasVaryingPersistedLengthInstances()
+	{
+		return false;
+	}
+
+}
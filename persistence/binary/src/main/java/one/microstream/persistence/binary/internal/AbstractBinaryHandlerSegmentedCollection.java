@@ -0,0 +1,263 @@
+package one.microstream.persistence.binary.internal;
+
+/*-
+ * #%L
+ * microstream-persistence-binary
+ * %%
+ * Copyright (C) 2019 - 2022 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+import static one.microstream.X.notNull;
+
+import one.microstream.X;
+import one.microstream.collections.XArrays;
+import one.microstream.collections.types.XGettingSequence;
+import one.microstream.persistence.binary.types.Binary;
+import one.microstream.persistence.binary.types.BinaryCollectionSegment;
+import one.microstream.persistence.binary.types.BinaryCollectionSegmentation;
+import one.microstream.persistence.exceptions.PersistenceException;
+import one.microstream.persistence.types.PersistenceLoadHandler;
+import one.microstream.persistence.types.PersistenceReferenceLoader;
+import one.microstream.persistence.types.PersistenceStoreHandler;
+import one.microstream.persistence.types.PersistenceTypeDefinitionMemberFieldGeneric;
+
+
+/**
+ * Common logic of the handlers that persist a collection as a spine entity referencing
+ * {@link BinaryCollectionSegment}s, see {@link BinaryCollectionSegmentation}.
+ * <p>
+ * The spine's binary layout is the fixed length fields defined by the implementation, followed by
+ * the element count and the list of segment references.
+ *
+ * @param <T> the handled collection type.
+ */
+public abstract class AbstractBinaryHandlerSegmentedCollection<T>
+extends AbstractBinaryHandlerCustomCollection<T>
+{
+	///////////////////////////////////////////////////////////////////////////
+	// static methods //
+	///////////////////
+
+	public static final XGettingSequence<? extends PersistenceTypeDefinitionMemberFieldGeneric> SegmentedFields(
+		final PersistenceTypeDefinitionMemberFieldGeneric... preHeaderFields
+	)
+	{
+		return CustomFields(
+			XArrays.add(
+				preHeaderFields,
+				CustomField(long.class, "size"),
+				Complex("segments",
+					CustomField(BinaryCollectionSegment.class, "segment")
+				)
+			)
+		);
+	}
+
+
+
+	///////////////////////////////////////////////////////////////////////////
+	// instance fields //
+	////////////////////
+
+	private final BinaryCollectionSegmentation segmentation            ;
+	private final int                          elementWidth            ;
+	private final long                         binaryOffsetElementCount;
+	private final long                         binaryOffsetSegments    ;
+
+
+
+	///////////////////////////////////////////////////////////////////////////
+	// constructors //
+	/////////////////
+
+	protected AbstractBinaryHandlerSegmentedCollection(
+		final Class<T>                                     type           ,
+		final BinaryCollectionSegmentation                 segmentation   ,
+		final int                                          elementWidth   ,
+		final PersistenceTypeDefinitionMemberFieldGeneric... preHeaderFields
+	)
+	{
+		super(type, SegmentedFields(preHeaderFields));
+		this.segmentation             = notNull(segmentation);
+		this.elementWidth             = elementWidth;
+		this.binaryOffsetElementCount = preHeaderLength(preHeaderFields);
+		this.binaryOffsetSegments     = this.binaryOffsetElementCount + Long.BYTES;
+	}
+
+	private static long preHeaderLength(final PersistenceTypeDefinitionMemberFieldGeneric[] preHeaderFields)
+	{
+		long length = 0;
+		for(final PersistenceTypeDefinitionMemberFieldGeneric field : preHeaderFields)
+		{
+			if(field.isVariableLength())
+			{
+				throw new PersistenceException(
+					"Variable length field " + field.name() + " before the segments."
+				);
+			}
+			length += field.persistentMaximumLength();
+		}
+
+		return length;
+	}
+
+
+
+	///////////////////////////////////////////////////////////////////////////
+	// methods //
+	////////////
+
+	public final BinaryCollectionSegmentation segmentation()
+	{
+		return this.segmentation;
+	}
+
+	protected final int getElementCount(final Binary data)
+	{
+		return X.checkArrayRange(data.read_long(this.binaryOffsetElementCount));
+	}
+
+	/**
+	 * Collects the elements of the passed collection in iteration order, each element occupying
+	 * the handler's element width of consecutive slots.
+	 *
+	 * @param instance the collection to be stored.
+	 * @return a new array containing exactly the elements' slots.
+	 */
+	protected abstract Object[] collectElements(T instance);
+
+	/**
+	 * Stores the fixed length values that precede the element count. Does nothing by default.
+	 *
+	 * @param data the data to store to.
+	 * @param instance the collection to be stored.
+	 * @param handler the store handler to resolve references.
+	 */
+	protected void storePreHeader(
+		final Binary                          data    ,
+		final T                               instance,
+		final PersistenceStoreHandler<Binary> handler
+	)
+	{
+		// no pre header by default
+	}
+
+	/**
+	 * Clears the passed collection and updates its state from the fixed length values that precede
+	 * the element count.
+	 *
+	 * @param data the data to read from.
+	 * @param instance the collection to be updated.
+	 * @param handler the load handler to resolve references.
+	 */
+	protected abstract void resetState(Binary data, T instance, PersistenceLoadHandler handler);
+
+	/**
+	 * Adds the passed elements to the passed empty collection.
+	 *
+	 * @param instance the collection to be populated.
+	 * @param elements the elements' slots.
+	 * @param elementCount the number of elements.
+	 */
+	protected abstract void populate(T instance, Object[] elements, int elementCount);
+
+	/**
+	 * Reports the references of the fixed length values that precede the element count. Does nothing by default.
+	 *
+	 * @param data the data to read from.
+	 * @param iterator the iterator to report the object ids to.
+	 */
+	protected void iteratePreHeaderReferences(final Binary data, final PersistenceReferenceLoader iterator)
+	{
+		// no pre header by default
+	}
+
+	@Override
+	public final void store(
+		final Binary                          data    ,
+		final T                               instance,
+		final long                            objectId,
+		final PersistenceStoreHandler<Binary> handler
+	)
+	{
+		final Object[] elements     = this.collectElements(instance);
+		final int      elementCount = elements.length / this.elementWidth;
+
+		final BinaryCollectionSegment[] segments = this.segmentation.segment(
+			instance         ,
+			elements         ,
+			elementCount     ,
+			this.elementWidth
+		);
+
+		data.storeEntityHeader(
+			this.binaryOffsetSegments + Binary.calculateReferenceListTotalBinaryLength(segments.length),
+			this.typeId(),
+			objectId
+		);
+		this.storePreHeader(data, instance, handler);
+		data.store_long(this.binaryOffsetElementCount, elementCount);
+
+		// unchanged segments are already registered and are therefore skipped by lazy storing.
+		data.storeReferencesAsList(this.binaryOffsetSegments, handler, segments, 0, segments.length);
+	}
+
+	@Override
+	public final void updateState(final Binary data, final T instance, final PersistenceLoadHandler handler)
+	{
+		this.resetState(data, instance, handler);
+
+		final BinaryCollectionSegment[] segments = new BinaryCollectionSegment[
+			X.checkArrayRange(data.getListElementCountReferences(this.binaryOffsetSegments))
+		];
+		data.collectElementsIntoArray(this.binaryOffsetSegments, handler, segments);
+
+		// the segments' elements are only complete after all instances have been updated.
+		data.registerHelper(instance, segments);
+	}
+
+	@Override
+	public final void complete(final Binary data, final T instance, final PersistenceLoadHandler handler)
+	{
+		final BinaryCollectionSegment[] segments = (BinaryCollectionSegment[])data.getHelper(instance);
+
+		final int elementCount = this.getElementCount(data);
+		final Object[] elements = new Object[elementCount * this.elementWidth];
+		int offset = 0;
+		for(final BinaryCollectionSegment segment : segments)
+		{
+			offset = segment.copyTo(elements, offset);
+		}
+		if(offset != elements.length)
+		{
+			throw new PersistenceException(
+				"Inconsistent segmented collection: " + elementCount + " elements but "
+				+ offset / this.elementWidth + " elements in segments."
+			);
+		}
+
+		this.populate(instance, elements, elementCount);
+		this.segmentation.register(instance, segments);
+	}
+
+	@Override
+	public final void iterateLoadableReferences(final Binary data, final PersistenceReferenceLoader iterator)
+	{
+		this.iteratePreHeaderReferences(data, iterator);
+		data.iterateListElementReferences(this.binaryOffsetSegments, iterator);
+	}
+
+}
@@ -25,6 +25,15 @@ import one.microstream.persistence.binary.types.Binary;
 import one.microstream.persistence.types.PersistenceLoadHandler;
 import one.microstream.persistence.types.PersistenceStoreHandler;
 
+/**
+ * Handler for {@link String}. By default, strings are stored with two bytes per char.
+ * <p>
+ * A handler created via {@link #NewCompact()} stores strings that consist of Latin-1 characters only with one byte
+ * per char. Both formats share the same type definition and are always loaded transparently, so the compact
+ * handler can be enabled for existing data by registering it as a custom type handler, e.g.
+ * {@code foundation.registerCustomTypeHandler(BinaryHandlerString.NewCompact())}.
+ * Switching back to the default handler is possible as well, since it can load both formats, too.
+ */
 public final class BinaryHandlerString extends AbstractBinaryHandlerCustomValueVariableLength<String, String>
 {
 	///////////////////////////////////////////////////////////////////////////
@@ -33,16 +42,29 @@ public final class BinaryHandlerString extends AbstractBinaryHandlerCustomValueV
 	
 	public static BinaryHandlerString New()
 	{
-		return new BinaryHandlerString();
+		return new BinaryHandlerString(false);
+	}
+	
+	public static BinaryHandlerString NewCompact()
+	{
+		return new BinaryHandlerString(true);
 	}
 	
 	
 	
+	///////////////////////////////////////////////////////////////////////////
+	// instance fields //
+	////////////////////
+	
+	private final boolean compact;
+	
+	
+	
 	///////////////////////////////////////////////////////////////////////////
 	// constructors //
 	/////////////////
 
-	BinaryHandlerString()
+	BinaryHandlerString(final boolean compact)
 	{
 		super(
 			String.class,
@@ -50,6 +72,18 @@ public final class BinaryHandlerString extends AbstractBinaryHandlerCustomValueV
 				chars("value")
 			)
 		);
+		this.compact = compact;
+	}
+
+
+
+	///////////////////////////////////////////////////////////////////////////
+	// methods //
+	////////////
+	
+	public final boolean isCompact()
+	{
+		return this.compact;
 	}
 
 
@@ -66,7 +100,14 @@ public final class BinaryHandlerString extends AbstractBinaryHandlerCustomValueV
 		final PersistenceStoreHandler<Binary> handler
 	)
 	{
-		data.storeStringSingleValue(this.typeId(), objectId, instance);
+		if(this.compact)
+		{
+			data.storeStringSingleValueCompact(this.typeId(), objectId, instance);
+		}
+		else
+		{
+			data.storeStringSingleValue(this.typeId(), objectId, instance);
+		}
 	}
 
 	@Override
@@ -0,0 +1,201 @@
+package one.microstream.persistence.binary.one.microstream.collections;
+
+/*-
+ * #%L
+ * microstream-persistence-binary
+ * %%
+ * Copyright (C) 2019 - 2022 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+import one.microstream.X;
+import one.microstream.collections.EqHashTable;
+import one.microstream.hashing.HashEqualator;
+import one.microstream.persistence.binary.internal.AbstractBinaryHandlerCompactCollection;
+import one.microstream.persistence.binary.types.Binary;
+import one.microstream.persistence.types.Persistence;
+import one.microstream.persistence.types.PersistenceFunction;
+import one.microstream.persistence.types.PersistenceLoadHandler;
+import one.microstream.persistence.types.PersistenceReferenceLoader;
+import one.microstream.persistence.types.PersistenceStoreHandler;
+import one.microstream.typing.KeyValue;
+
+
+/**
+ * Handler for {@link EqHashTable} that stores the keys and values as a compact reference list,
+ * see {@link Binary#storeCompactReferenceList(long, long[])}.
+ * Replaces {@link BinaryHandlerEqHashTable} if compact references are active.
+ */
+public final class BinaryHandlerCompactEqHashTable
+extends AbstractBinaryHandlerCompactCollection<EqHashTable<?, ?>>
+{
+	///////////////////////////////////////////////////////////////////////////
+	// constants //
+	//////////////
+
+	static final long
+		BINARY_OFFSET_EQUALATOR    =                                                        0,
+		BINARY_OFFSET_KEYS         = BINARY_OFFSET_EQUALATOR    + Binary.objectIdByteLength(),
+		BINARY_OFFSET_VALUES       = BINARY_OFFSET_KEYS         + Binary.objectIdByteLength(),
+		BINARY_OFFSET_HASH_DENSITY = BINARY_OFFSET_VALUES       + Binary.objectIdByteLength()
+	;
+
+
+
+	///////////////////////////////////////////////////////////////////////////
+	// static methods //
+	///////////////////
+
+	@SuppressWarnings({"unchecked",  "rawtypes"})
+	private static Class<EqHashTable<?, ?>> handledType()
+	{
+		// no idea how to get ".class" to work otherwise
+		return (Class)EqHashTable.class;
+	}
+
+	public static BinaryHandlerCompactEqHashTable New()
+	{
+		return new BinaryHandlerCompactEqHashTable();
+	}
+
+
+
+	///////////////////////////////////////////////////////////////////////////
+	// constructors //
+	/////////////////
+
+	BinaryHandlerCompactEqHashTable()
+	{
+		// binary layout definition
+		super(
+			handledType(),
+			2            ,
+			CustomField(HashEqualator.class, "hashEqualator"),
+			CustomField(EqHashTable.Keys.class, "keys"),
+			CustomField(EqHashTable.Values.class, "values"),
+			CustomField(float.class, "hashDensity")
+		);
+	}
+
+
+
+	///////////////////////////////////////////////////////////////////////////
+	// methods //
+	////////////
+
+	@Override
+	protected final Object[] collectElements(final EqHashTable<?, ?> instance)
+	{
+		final Object[] elements = new Object[X.checkArrayRange(instance.size() * 2)];
+		int i = 0;
+		for(final KeyValue<?, ?> entry : instance)
+		{
+			elements[i++] = entry.key();
+			elements[i++] = entry.value();
+		}
+
+		return elements;
+	}
+
+	@Override
+	protected final void storePreHeader(
+		final Binary                          data    ,
+		final EqHashTable<?, ?>               instance,
+		final PersistenceStoreHandler<Binary> handler
+	)
+	{
+		data.store_long(
+			BINARY_OFFSET_EQUALATOR,
+			handler.apply(instance.hashEquality())
+		);
+		data.store_long(
+			BINARY_OFFSET_KEYS,
+			handler.apply(instance.keys())
+		);
+		data.store_long(
+			BINARY_OFFSET_VALUES,
+			handler.apply(instance.values())
+		);
+		data.store_float(
+			BINARY_OFFSET_HASH_DENSITY,
+			instance.hashDensity()
+		);
+	}
+
+	@Override
+	public final EqHashTable<?, ?> create(final Binary data, final PersistenceLoadHandler handler)
+	{
+		return EqHashTable.NewCustom(
+			this.getElementCount(data),
+			data.read_float(BINARY_OFFSET_HASH_DENSITY)
+		);
+	}
+
+	@Override
+	protected final void resetState(
+		final Binary                 data    ,
+		final EqHashTable<?, ?>      instance,
+		final PersistenceLoadHandler handler
+	)
+	{
+		// must clear to ensure consistency
+		instance.clear();
+
+		XCollectionsInternals.setHashEqualator(
+			instance,
+			(HashEqualator<?>)handler.lookupObject(data.read_long(BINARY_OFFSET_EQUALATOR))
+		);
+		XCollectionsInternals.setKeys(
+			instance,
+			(EqHashTable<?, ?>.Keys)handler.lookupObject(data.read_long(BINARY_OFFSET_KEYS))
+		);
+		XCollectionsInternals.setValues(
+			instance,
+			(EqHashTable<?, ?>.Values)handler.lookupObject(data.read_long(BINARY_OFFSET_VALUES))
+		);
+		// note: hashDensity has already been set at creation time (shallow primitive value)
+	}
+
+	@Override
+	protected final void populate(final EqHashTable<?, ?> instance, final Object[] elements, final int elementCount)
+	{
+		for(int i = 0; i < elements.length; i += 2)
+		{
+			XCollectionsInternals.internalCollectUnhashed(instance, elements[i], elements[i + 1]);
+		}
+		XCollectionsInternals.setSize(instance, elementCount);
+
+		// rehash all previously unhashed collected elements
+		instance.rehash();
+	}
+
+	@Override
+	protected final void iteratePreHeaderReferences(final Binary data, final PersistenceReferenceLoader iterator)
+	{
+		iterator.acceptObjectId(data.read_long(BINARY_OFFSET_EQUALATOR));
+		iterator.acceptObjectId(data.read_long(BINARY_OFFSET_KEYS));
+		iterator.acceptObjectId(data.read_long(BINARY_OFFSET_VALUES));
+	}
+
+	@Override
+	public final void iterateInstanceReferences(final EqHashTable<?, ?> instance, final PersistenceFunction iterator)
+	{
+		iterator.apply(instance.equality());
+		iterator.apply(instance.keys());
+		iterator.apply(instance.values());
+		Persistence.iterateReferences(iterator, instance);
+	}
+
+}
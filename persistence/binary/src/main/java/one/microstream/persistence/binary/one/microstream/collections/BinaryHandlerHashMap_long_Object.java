@@ -0,0 +1,145 @@
+package one.microstream.persistence.binary.one.microstream.collections;
+
+/*-
+ * #%L
+ * microstream-persistence-binary
+ * %%
+ * Copyright (C) 2019 - 2022 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ * 
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ * 
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+import one.microstream.X;
+import one.microstream.collections.HashMap_long_Object;
+import one.microstream.persistence.binary.internal.AbstractBinaryHandlerCustomCollection;
+import one.microstream.persistence.binary.types.Binary;
+import one.microstream.persistence.types.PersistenceFunction;
+import one.microstream.persistence.types.PersistenceLoadHandler;
+import one.microstream.persistence.types.PersistenceReferenceLoader;
+import one.microstream.persistence.types.PersistenceStoreHandler;
+
+
+/**
+ * Handler for {@link HashMap_long_Object} that stores all values as one contiguous reference list
+ * followed by all keys as one contiguous <code>long</code> list. The hash table itself is not persisted
+ * but rebuilt on loading.
+ */
+public final class BinaryHandlerHashMap_long_Object
+extends AbstractBinaryHandlerCustomCollection<HashMap_long_Object<?>>
+{
+	///////////////////////////////////////////////////////////////////////////
+	// constants //
+	//////////////
+
+	static final long BINARY_OFFSET_VALUES = 0; // references first to ease reference-only loading
+
+
+
+	///////////////////////////////////////////////////////////////////////////
+	// static methods //
+	///////////////////
+
+	@SuppressWarnings({"unchecked",  "rawtypes"})
+	private static Class<HashMap_long_Object<?>> handledType()
+	{
+		// no idea how to get ".class" to work otherwise
+		return (Class)HashMap_long_Object.class;
+	}
+
+	public static BinaryHandlerHashMap_long_Object New()
+	{
+		return new BinaryHandlerHashMap_long_Object();
+	}
+
+
+
+	///////////////////////////////////////////////////////////////////////////
+	// constructors //
+	/////////////////
+
+	BinaryHandlerHashMap_long_Object()
+	{
+		super(
+			handledType(),
+			CustomFields(
+				Complex("values",
+					CustomField(Object.class, "value")
+				),
+				Complex("keys",
+					CustomField(long.class, "key")
+				)
+			)
+		);
+	}
+
+
+
+	///////////////////////////////////////////////////////////////////////////
+	// methods //
+	////////////
+
+	@Override
+	public final void store(
+		final Binary                          data    ,
+		final HashMap_long_Object<?>          instance,
+		final long                            objectId,
+		final PersistenceStoreHandler<Binary> handler
+	)
+	{
+		final Object[] values = instance.toValueArray();
+		final long[]   keys   = instance.toKeyArray()  ;
+
+		final long valuesListLength = Binary.calculateReferenceListTotalBinaryLength(values.length);
+		data.storeEntityHeader(
+			valuesListLength + Binary.toBinaryListTotalByteLength((long)keys.length * Long.BYTES),
+			this.typeId(),
+			objectId
+		);
+		data.storeReferencesAsList(BINARY_OFFSET_VALUES, handler, values, 0, values.length);
+		data.store_longsAsList(valuesListLength, keys);
+	}
+
+	@Override
+	public final HashMap_long_Object<?> create(final Binary data, final PersistenceLoadHandler handler)
+	{
+		return HashMap_long_Object.New();
+	}
+
+	@Override
+	public final void updateState(
+		final Binary                 data    ,
+		final HashMap_long_Object<?> instance,
+		final PersistenceLoadHandler handler
+	)
+	{
+		final Object[] values = new Object[X.checkArrayRange(data.getListElementCountReferences(BINARY_OFFSET_VALUES))];
+		data.collectElementsIntoArray(BINARY_OFFSET_VALUES, handler, values);
+
+		instance.clear();
+		instance.putAll(data.build_longs(data.getBinaryListTotalByteLength(BINARY_OFFSET_VALUES)), values);
+	}
+
+	@Override
+	public final void iterateInstanceReferences(final HashMap_long_Object<?> instance, final PersistenceFunction iterator)
+	{
+		instance.iterate((key, value) -> iterator.apply(value));
+	}
+
+	@Override
+	public final void iterateLoadableReferences(final Binary data, final PersistenceReferenceLoader iterator)
+	{
+		data.iterateListElementReferences(BINARY_OFFSET_VALUES, iterator);
+	}
+
+}
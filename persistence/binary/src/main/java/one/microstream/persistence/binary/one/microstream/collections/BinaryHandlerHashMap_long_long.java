@@ -0,0 +1,109 @@
+package one.microstream.persistence.binary.one.microstream.collections;
+
+/*-
+ * #%L
+ * microstream-persistence-binary
+ * %%
+ * Copyright (C) 2019 - 2022 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ * 
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ * 
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+import one.microstream.collections.HashMap_long_long;
+import one.microstream.persistence.binary.internal.AbstractBinaryHandlerCustomNonReferentialVariableLength;
+import one.microstream.persistence.binary.types.Binary;
+import one.microstream.persistence.types.PersistenceLoadHandler;
+import one.microstream.persistence.types.PersistenceStoreHandler;
+
+
+/**
+ * Handler for {@link HashMap_long_long} that stores all keys and all values as two contiguous
+ * <code>long</code> lists. The hash table itself is not persisted but rebuilt on loading.
+ */
+public final class BinaryHandlerHashMap_long_long
+extends AbstractBinaryHandlerCustomNonReferentialVariableLength<HashMap_long_long>
+{
+	///////////////////////////////////////////////////////////////////////////
+	// static methods //
+	///////////////////
+
+	public static BinaryHandlerHashMap_long_long New()
+	{
+		return new BinaryHandlerHashMap_long_long();
+	}
+
+
+
+	///////////////////////////////////////////////////////////////////////////
+	// constructors //
+	/////////////////
+
+	BinaryHandlerHashMap_long_long()
+	{
+		super(
+			HashMap_long_long.class,
+			CustomFields(
+				Complex("keys",
+					CustomField(long.class, "key")
+				),
+				Complex("values",
+					CustomField(long.class, "value")
+				)
+			)
+		);
+	}
+
+
+
+	///////////////////////////////////////////////////////////////////////////
+	// methods //
+	////////////
+
+	@Override
+	public final void store(
+		final Binary                          data    ,
+		final HashMap_long_long               instance,
+		final long                            objectId,
+		final PersistenceStoreHandler<Binary> handler
+	)
+	{
+		final long[] keys   = instance.toKeyArray()  ;
+		final long[] values = instance.toValueArray();
+
+		data.storeEntityHeader(
+			2 * Binary.toBinaryListTotalByteLength((long)keys.length * Long.BYTES),
+			this.typeId(),
+			objectId
+		);
+		data.store_longsAsList(data.store_longsAsList(0, keys), values);
+	}
+
+	@Override
+	public final HashMap_long_long create(final Binary data, final PersistenceLoadHandler handler)
+	{
+		return HashMap_long_long.New();
+	}
+
+	@Override
+	public final void updateState(
+		final Binary                 data    ,
+		final HashMap_long_long      instance,
+		final PersistenceLoadHandler handler
+	)
+	{
+		instance.clear();
+		instance.putAll(data.build_longs(0), data.build_longs(data.getBinaryListTotalByteLength(0)));
+	}
+
+}
@@ -0,0 +1,95 @@
+package one.microstream.persistence.binary.one.microstream.collections;
+
+/*-
+ * #%L
+ * microstream-persistence-binary
+ * %%
+ * Copyright (C) 2019 - 2022 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ * 
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ * 
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+import one.microstream.collections.HashSet_long;
+import one.microstream.persistence.binary.internal.AbstractBinaryHandlerCustomNonReferentialVariableLength;
+import one.microstream.persistence.binary.types.Binary;
+import one.microstream.persistence.types.PersistenceLoadHandler;
+import one.microstream.persistence.types.PersistenceStoreHandler;
+
+
+/**
+ * Handler for {@link HashSet_long} that stores all elements as one contiguous <code>long</code> list.
+ * The hash table itself is not persisted but rebuilt on loading, so the binary form does not depend
+ * on the hashing implementation.
+ */
+public final class BinaryHandlerHashSet_long
+extends AbstractBinaryHandlerCustomNonReferentialVariableLength<HashSet_long>
+{
+	///////////////////////////////////////////////////////////////////////////
+	// static methods //
+	///////////////////
+
+	public static BinaryHandlerHashSet_long New()
+	{
+		return new BinaryHandlerHashSet_long();
+	}
+
+
+
+	///////////////////////////////////////////////////////////////////////////
+	// constructors //
+	/////////////////
+
+	BinaryHandlerHashSet_long()
+	{
+		super(
+			HashSet_long.class,
+			CustomFields(
+				Complex("elements",
+					CustomField(long.class, "element")
+				)
+			)
+		);
+	}
+
+
+
+	///////////////////////////////////////////////////////////////////////////
+	// methods //
+	////////////
+
+	@Override
+	public final void store(
+		final Binary                          data    ,
+		final HashSet_long                    instance,
+		final long                            objectId,
+		final PersistenceStoreHandler<Binary> handler
+	)
+	{
+		data.store_longs(this.typeId(), objectId, instance.toArray());
+	}
+
+	@Override
+	public final HashSet_long create(final Binary data, final PersistenceLoadHandler handler)
+	{
+		return HashSet_long.New();
+	}
+
+	@Override
+	public final void updateState(final Binary data, final HashSet_long instance, final PersistenceLoadHandler handler)
+	{
+		instance.clear();
+		instance.addAll(data.build_longs());
+	}
+
+}
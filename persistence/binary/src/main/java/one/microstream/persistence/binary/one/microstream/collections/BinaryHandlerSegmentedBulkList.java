@@ -0,0 +1,113 @@
+package one.microstream.persistence.binary.one.microstream.collections;
+
+/*-
+ * #%L
+ * microstream-persistence-binary
+ * %%
+ * Copyright (C) 2019 - 2022 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+import static one.microstream.X.notNull;
+
+import one.microstream.collections.BulkList;
+import one.microstream.persistence.binary.internal.AbstractBinaryHandlerSegmentedCollection;
+import one.microstream.persistence.binary.types.Binary;
+import one.microstream.persistence.binary.types.BinaryCollectionSegmentation;
+import one.microstream.persistence.types.Persistence;
+import one.microstream.persistence.types.PersistenceFunction;
+import one.microstream.persistence.types.PersistenceLoadHandler;
+
+
+/**
+ * Segmented handler for {@link BulkList}, see {@link BinaryCollectionSegmentation}.
+ * Replaces {@link BinaryHandlerBulkList} if the segmented mode is active.
+ */
+public final class BinaryHandlerSegmentedBulkList
+extends AbstractBinaryHandlerSegmentedCollection<BulkList<?>>
+{
+	///////////////////////////////////////////////////////////////////////////
+	// static methods //
+	///////////////////
+
+	@SuppressWarnings({"unchecked",  "rawtypes"})
+	private static Class<BulkList<?>> handledType()
+	{
+		// no idea how to get ".class" to work otherwise
+		return (Class)BulkList.class;
+	}
+
+	public static BinaryHandlerSegmentedBulkList New(final BinaryCollectionSegmentation segmentation)
+	{
+		return new BinaryHandlerSegmentedBulkList(
+			notNull(segmentation)
+		);
+	}
+
+
+
+	///////////////////////////////////////////////////////////////////////////
+	// constructors //
+	/////////////////
+
+	BinaryHandlerSegmentedBulkList(final BinaryCollectionSegmentation segmentation)
+	{
+		super(handledType(), segmentation, 1);
+	}
+
+
+
+	///////////////////////////////////////////////////////////////////////////
+	// methods //
+	////////////
+
+	@Override
+	protected final Object[] collectElements(final BulkList<?> instance)
+	{
+		return instance.toArray();
+	}
+
+	@Override
+	public final BulkList<?> create(final Binary data, final PersistenceLoadHandler handler)
+	{
+		return BulkList.New(this.getElementCount(data));
+	}
+
+	@Override
+	protected final void resetState(
+		final Binary                 data    ,
+		final BulkList<?>            instance,
+		final PersistenceLoadHandler handler
+	)
+	{
+		// must clear to avoid memory leaks due to residual references beyond the new size in existing instances.
+		instance.clear();
+	}
+
+	@Override
+	protected final void populate(final BulkList<?> instance, final Object[] elements, final int elementCount)
+	{
+		instance.ensureCapacity(elementCount);
+		System.arraycopy(elements, 0, XCollectionsInternals.getData(instance), 0, elementCount);
+		XCollectionsInternals.setSize(instance, elementCount);
+	}
+
+	@Override
+	public final void iterateInstanceReferences(final BulkList<?> instance, final PersistenceFunction iterator)
+	{
+		Persistence.iterateReferences(iterator, XCollectionsInternals.getData(instance), 0, instance.intSize());
+	}
+
+}
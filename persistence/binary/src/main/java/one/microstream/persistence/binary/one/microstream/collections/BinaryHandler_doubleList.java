@@ -0,0 +1,99 @@
+package one.microstream.persistence.binary.one.microstream.collections;
+
+/*-
+ * #%L
+ * microstream-persistence-binary
+ * %%
+ * Copyright (C) 2019 - 2022 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ * 
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ * 
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+import java.util.Arrays;
+
+import one.microstream.collections._doubleList;
+import one.microstream.persistence.binary.internal.AbstractBinaryHandlerCustomNonReferentialVariableLength;
+import one.microstream.persistence.binary.types.Binary;
+import one.microstream.persistence.types.PersistenceLoadHandler;
+import one.microstream.persistence.types.PersistenceStoreHandler;
+
+
+/**
+ * Handler for {@link _doubleList} that stores all elements as one contiguous <code>double</code> list
+ * and loads them with a single bulk copy.
+ */
+public final class BinaryHandler_doubleList
+extends AbstractBinaryHandlerCustomNonReferentialVariableLength<_doubleList>
+{
+	///////////////////////////////////////////////////////////////////////////
+	// static methods //
+	///////////////////
+
+	public static BinaryHandler_doubleList New()
+	{
+		return new BinaryHandler_doubleList();
+	}
+
+
+
+	///////////////////////////////////////////////////////////////////////////
+	// constructors //
+	/////////////////
+
+	BinaryHandler_doubleList()
+	{
+		super(
+			_doubleList.class,
+			CustomFields(
+				Complex("elements",
+					CustomField(double.class, "element")
+				)
+			)
+		);
+	}
+
+
+
+	///////////////////////////////////////////////////////////////////////////
+	// methods //
+	////////////
+
+	@Override
+	public final void store(
+		final Binary                          data    ,
+		final _doubleList                     instance,
+		final long                            objectId,
+		final PersistenceStoreHandler<Binary> handler
+	)
+	{
+		final double[] elements = XCollectionsInternals.getData(instance);
+		final int      size     = XCollectionsInternals.getSize(instance);
+
+		// the storage array is written as a whole, so only surplus capacity requires a trimmed copy.
+		data.store_doubles(this.typeId(), objectId, size == elements.length ? elements : Arrays.copyOf(elements, size));
+	}
+
+	@Override
+	public final _doubleList create(final Binary data, final PersistenceLoadHandler handler)
+	{
+		return _doubleList.New();
+	}
+
+	@Override
+	public final void updateState(final Binary data, final _doubleList instance, final PersistenceLoadHandler handler)
+	{
+		XCollectionsInternals.setData(instance, data.build_doubles());
+	}
+
+}
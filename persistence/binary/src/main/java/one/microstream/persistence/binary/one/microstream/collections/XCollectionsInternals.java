@@ -33,13 +33,16 @@ import one.microstream.collections.EqConstHashTable;
 import one.microstream.collections.EqHashEnum;
 import one.microstream.collections.EqHashTable;
 import one.microstream.collections.FixedList;
+import one.microstream.collections.FlatEqHashTable;
 import one.microstream.collections.HashEnum;
 import one.microstream.collections.HashTable;
 import one.microstream.collections.LimitList;
 import one.microstream.collections.Singleton;
+import one.microstream.collections._doubleList;
+import one.microstream.collections._intList;
+import one.microstream.collections._longList;
 import one.microstream.hashing.HashEqualator;
 import one.microstream.memory.XMemory;
-import one.microstream.memory.sun.JdkInternals;
 import one.microstream.reflect.XReflect;
 
 final class XCollectionsInternals
@@ -60,13 +63,22 @@ final class XCollectionsInternals
 		OFFSET_EqHashTable_keys          = getFieldOffset(EqHashTable     .class, "keys"         ),
 		OFFSET_EqHashTable_values        = getFieldOffset(EqHashTable     .class, "values"       ),
 		OFFSET_FixedList_data            = getFieldOffset(FixedList       .class, "data"         ),
+		OFFSET_FlatEqHashTable_hashEqualator = getFieldOffset(FlatEqHashTable.class, "hashEqualator"),
+		OFFSET_FlatEqHashTable_keys          = getFieldOffset(FlatEqHashTable.class, "keys"         ),
+		OFFSET_FlatEqHashTable_values        = getFieldOffset(FlatEqHashTable.class, "values"       ),
 		OFFSET_HashEnum_size             = getFieldOffset(HashEnum        .class, "size"         ),
 		OFFSET_HashTable_size            = getFieldOffset(EqHashTable     .class, "size"         ),
 		OFFSET_HashTable_keys            = getFieldOffset(EqHashTable     .class, "keys"         ),
 		OFFSET_HashTable_values          = getFieldOffset(EqHashTable     .class, "values"       ),
 		OFFSET_LimitList_data            = getFieldOffset(LimitList       .class, "data"         ),
 		OFFSET_LimitList_size            = getFieldOffset(LimitList       .class, "size"         ),
-		OFFSET_Singleton_element         = getFieldOffset(Singleton       .class, "element"      )
+		OFFSET_Singleton_element         = getFieldOffset(Singleton       .class, "element"      ),
+		OFFSET__intList_data             = getFieldOffset(_intList        .class, "data"         ),
+		OFFSET__intList_size             = getFieldOffset(_intList        .class, "size"         ),
+		OFFSET__longList_data            = getFieldOffset(_longList       .class, "data"         ),
+		OFFSET__longList_size            = getFieldOffset(_longList       .class, "size"         ),
+		OFFSET__doubleList_data          = getFieldOffset(_doubleList     .class, "data"         ),
+		OFFSET__doubleList_size          = getFieldOffset(_doubleList     .class, "size"         )
 	;
 	private static final Method
 		METHOD_ConstHashEnum_internalAdd = getDeclaredMethod(ConstHashEnum.class, "internalAdd", Object.class)
@@ -92,6 +104,9 @@ final class XCollectionsInternals
 	private static final Method
 		METHOD_EqHashTable_internalCollectUnhashed = getDeclaredMethod(EqHashTable.class, "internalCollectUnhashed", Object.class, Object.class)
 	;
+	private static final Method
+		METHOD_FlatEqHashTable_internalCollectUnhashed = getDeclaredMethod(FlatEqHashTable.class, "internalCollectUnhashed", Object.class, Object.class)
+	;
 	private static final Method
 		METHOD_HashTable_internalAdd = getDeclaredMethod(HashTable.class, "internalAdd", Object.class, Object.class)
 	;
@@ -108,7 +123,7 @@ final class XCollectionsInternals
 				{
 					if(field.getName().equals(declaredFieldName))
 					{
-						return JdkInternals.VM().objectFieldOffset(field);
+						return XMemory.objectFieldOffset(field);
 					}
 				}
 			}
@@ -205,6 +220,21 @@ final class XCollectionsInternals
 		XMemory.setObject(instance, OFFSET_EqHashTable_values, values);
 	}
 	
+	public static void setHashEqualator(final FlatEqHashTable<?, ?> instance, final HashEqualator<?> hashEqualator)
+	{
+		XMemory.setObject(instance, OFFSET_FlatEqHashTable_hashEqualator, hashEqualator);
+	}
+	
+	public static void setKeys(final FlatEqHashTable<?, ?> instance, final FlatEqHashTable<?, ?>.Keys keys)
+	{
+		XMemory.setObject(instance, OFFSET_FlatEqHashTable_keys, keys);
+	}
+	
+	public static void setValues(final FlatEqHashTable<?, ?> instance, final FlatEqHashTable<?, ?>.Values values)
+	{
+		XMemory.setObject(instance, OFFSET_FlatEqHashTable_values, values);
+	}
+	
 	public static void setSize(final HashEnum<?> instance, final int size)
 	{
 		XMemory.set_int(instance, OFFSET_HashEnum_size, size);
@@ -230,6 +260,54 @@ final class XCollectionsInternals
 		XMemory.setObject(instance, OFFSET_Singleton_element, element);
 	}
 	
+	public static int[] getData(final _intList instance)
+	{
+		return (int[])XMemory.getObject(instance, OFFSET__intList_data);
+	}
+	
+	public static long[] getData(final _longList instance)
+	{
+		return (long[])XMemory.getObject(instance, OFFSET__longList_data);
+	}
+	
+	public static double[] getData(final _doubleList instance)
+	{
+		return (double[])XMemory.getObject(instance, OFFSET__doubleList_data);
+	}
+	
+	public static int getSize(final _intList instance)
+	{
+		return XMemory.get_int(instance, OFFSET__intList_size);
+	}
+	
+	public static int getSize(final _longList instance)
+	{
+		return XMemory.get_int(instance, OFFSET__longList_size);
+	}
+	
+	public static int getSize(final _doubleList instance)
+	{
+		return XMemory.get_int(instance, OFFSET__doubleList_size);
+	}
+	
+	public static void setData(final _intList instance, final int[] data)
+	{
+		XMemory.setObject(instance, OFFSET__intList_data, data);
+		XMemory.set_int(instance, OFFSET__intList_size, data.length);
+	}
+	
+	public static void setData(final _longList instance, final long[] data)
+	{
+		XMemory.setObject(instance, OFFSET__longList_data, data);
+		XMemory.set_int(instance, OFFSET__longList_size, data.length);
+	}
+	
+	public static void setData(final _doubleList instance, final double[] data)
+	{
+		XMemory.setObject(instance, OFFSET__doubleList_data, data);
+		XMemory.set_int(instance, OFFSET__doubleList_size, data.length);
+	}
+	
 	public static void internalAdd(final ConstHashEnum<?> instance, final Object item)
 	{
 		XReflect.invoke(METHOD_ConstHashEnum_internalAdd, instance, item);
@@ -270,6 +348,11 @@ final class XCollectionsInternals
 		XReflect.invoke(METHOD_EqHashTable_internalCollectUnhashed, instance, key, value);
 	}
 	
+	public static void internalCollectUnhashed(final FlatEqHashTable<?, ?> instance, final Object key, final Object value)
+	{
+		XReflect.invoke(METHOD_FlatEqHashTable_internalCollectUnhashed, instance, key, value);
+	}
+	
 	public static void internalAdd(final HashTable<?, ?> instance, final Object key, final Object value)
 	{
 		XReflect.invoke(METHOD_HashTable_internalAdd, instance, key, value);
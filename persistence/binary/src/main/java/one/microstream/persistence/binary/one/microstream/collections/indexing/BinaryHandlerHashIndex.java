@@ -0,0 +1,176 @@
+package one.microstream.persistence.binary.one.microstream.collections.indexing;
+
+/*-
+ * #%L
+ * microstream-persistence-binary
+ * %%
+ * Copyright (C) 2019 - 2022 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ * 
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ * 
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+import java.util.function.Function;
+
+import one.microstream.collections.EqHashTable;
+import one.microstream.collections.indexing.HashIndex;
+import one.microstream.collections.indexing.IndexedCollection;
+import one.microstream.hashing.HashEqualator;
+import one.microstream.memory.XMemory;
+import one.microstream.persistence.binary.internal.AbstractBinaryHandlerCustom;
+import one.microstream.persistence.binary.types.Binary;
+import one.microstream.persistence.types.PersistenceFunction;
+import one.microstream.persistence.types.PersistenceLoadHandler;
+import one.microstream.persistence.types.PersistenceReferenceLoader;
+import one.microstream.persistence.types.PersistenceStoreHandler;
+import one.microstream.reflect.XReflect;
+
+
+/**
+ * Handler for {@link HashIndex} that only stores the index's definition, i.e. the key extractor and the key hash
+ * equality. The indexed elements are not persisted, the owning {@link IndexedCollection} indexes its elements
+ * again on loading.
+ */
+public final class BinaryHandlerHashIndex
+extends AbstractBinaryHandlerCustom<HashIndex<?, ?>>
+{
+	///////////////////////////////////////////////////////////////////////////
+	// constants //
+	//////////////
+
+	static final long
+		BINARY_OFFSET_KEY_EXTRACTOR =                                                             0,
+		BINARY_OFFSET_HASH_EQUALITY = BINARY_OFFSET_KEY_EXTRACTOR + Binary.referenceBinaryLength(1),
+		BINARY_LENGTH               = BINARY_OFFSET_HASH_EQUALITY + Binary.referenceBinaryLength(1)
+	;
+
+	private static final long
+		OFFSET_keyExtractor = getFieldOffset(HashIndex.class, "keyExtractor"),
+		OFFSET_table        = getFieldOffset(HashIndex.class, "table"       )
+	;
+
+
+
+	///////////////////////////////////////////////////////////////////////////
+	// static methods //
+	///////////////////
+
+	@SuppressWarnings({"unchecked",  "rawtypes"})
+	private static Class<HashIndex<?, ?>> handledType()
+	{
+		// no idea how to get ".class" to work otherwise
+		return (Class)HashIndex.class;
+	}
+
+	private static long getFieldOffset(final Class<?> type, final String declaredFieldName)
+	{
+		return XMemory.objectFieldOffset(XReflect.getAnyField(type, declaredFieldName));
+	}
+
+	public static BinaryHandlerHashIndex New()
+	{
+		return new BinaryHandlerHashIndex();
+	}
+
+
+
+	///////////////////////////////////////////////////////////////////////////
+	// constructors //
+	/////////////////
+
+	BinaryHandlerHashIndex()
+	{
+		super(
+			handledType(),
+			CustomFields(
+				CustomField(Function.class     , "keyExtractor"),
+				CustomField(HashEqualator.class, "hashEquality")
+			)
+		);
+	}
+
+
+
+	///////////////////////////////////////////////////////////////////////////
+	// methods //
+	////////////
+
+	@Override
+	public final boolean hasVaryingPersistedLengthInstances()
+	{
+		return false;
+	}
+
+	@Override
+	public final boolean hasPersistedReferences()
+	{
+		return true;
+	}
+
+	@Override
+	public final boolean hasPersistedVariableLength()
+	{
+		return false;
+	}
+
+	@Override
+	public final void store(
+		final Binary                          data    ,
+		final HashIndex<?, ?>                 instance,
+		final long                            objectId,
+		final PersistenceStoreHandler<Binary> handler
+	)
+	{
+		data.storeEntityHeader(BINARY_LENGTH, this.typeId(), objectId);
+		data.store_long(BINARY_OFFSET_KEY_EXTRACTOR, handler.apply(instance.keyExtractor()));
+		data.store_long(BINARY_OFFSET_HASH_EQUALITY, handler.apply(instance.hashEquality()));
+	}
+
+	@Override
+	public final HashIndex<?, ?> create(final Binary data, final PersistenceLoadHandler handler)
+	{
+		// key extractor and hash equality can only be set as soon as they are loaded.
+		return XMemory.instantiateBlank(HashIndex.class);
+	}
+
+	@Override
+	public final void updateState(
+		final Binary                 data    ,
+		final HashIndex<?, ?>        instance,
+		final PersistenceLoadHandler handler
+	)
+	{
+		XMemory.setObject(instance, OFFSET_keyExtractor, handler.lookupObject(data.read_long(BINARY_OFFSET_KEY_EXTRACTOR)));
+		XMemory.setObject(instance, OFFSET_table, EqHashTable.New(
+			(HashEqualator<?>)handler.lookupObject(data.read_long(BINARY_OFFSET_HASH_EQUALITY))
+		));
+
+		// the elements are indexed by the owning indexed collection.
+		instance.elementsCleared();
+	}
+
+	@Override
+	public final void iterateInstanceReferences(final HashIndex<?, ?> instance, final PersistenceFunction iterator)
+	{
+		iterator.apply(instance.keyExtractor());
+		iterator.apply(instance.hashEquality());
+	}
+
+	@Override
+	public final void iterateLoadableReferences(final Binary data, final PersistenceReferenceLoader iterator)
+	{
+		iterator.acceptObjectId(data.read_long(BINARY_OFFSET_KEY_EXTRACTOR));
+		iterator.acceptObjectId(data.read_long(BINARY_OFFSET_HASH_EQUALITY));
+	}
+
+}
@@ -0,0 +1,194 @@
+package one.microstream.persistence.binary.one.microstream.collections.indexing;
+
+/*-
+ * #%L
+ * microstream-persistence-binary
+ * %%
+ * Copyright (C) 2019 - 2022 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ * 
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ * 
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+import one.microstream.X;
+import one.microstream.collections.BulkList;
+import one.microstream.collections.indexing.IndexedCollection;
+import one.microstream.collections.indexing.XIndex;
+import one.microstream.memory.XMemory;
+import one.microstream.persistence.binary.internal.AbstractBinaryHandlerCustomCollection;
+import one.microstream.persistence.binary.types.Binary;
+import one.microstream.persistence.types.PersistenceFunction;
+import one.microstream.persistence.types.PersistenceLoadHandler;
+import one.microstream.persistence.types.PersistenceReferenceLoader;
+import one.microstream.persistence.types.PersistenceStoreHandler;
+import one.microstream.reflect.XReflect;
+
+
+/**
+ * Handler for {@link IndexedCollection} that stores references to the backing list of elements and to the indices.
+ * <p>
+ * The backing list is not accessible from outside, so it is stored eagerly along with the indexed collection
+ * if its elements have been changed since the last store. The indices only persist their definitions, so they
+ * never have to be stored again. On loading, every index is rebuilt from the loaded elements.
+ */
+public final class BinaryHandlerIndexedCollection
+extends AbstractBinaryHandlerCustomCollection<IndexedCollection<?>>
+{
+	///////////////////////////////////////////////////////////////////////////
+	// constants //
+	//////////////
+
+	static final long
+		BINARY_OFFSET_ELEMENTS =                                                        0,
+		BINARY_OFFSET_INDICES  = BINARY_OFFSET_ELEMENTS + Binary.referenceBinaryLength(1)
+	;
+
+	private static final long
+		OFFSET_elements = getFieldOffset(IndexedCollection.class, "elements"),
+		OFFSET_indices  = getFieldOffset(IndexedCollection.class, "indices" ),
+		OFFSET_changed  = getFieldOffset(IndexedCollection.class, "changed" )
+	;
+
+
+
+	///////////////////////////////////////////////////////////////////////////
+	// static methods //
+	///////////////////
+
+	@SuppressWarnings({"unchecked",  "rawtypes"})
+	private static Class<IndexedCollection<?>> handledType()
+	{
+		// no idea how to get ".class" to work otherwise
+		return (Class)IndexedCollection.class;
+	}
+
+	private static long getFieldOffset(final Class<?> type, final String declaredFieldName)
+	{
+		return XMemory.objectFieldOffset(XReflect.getAnyField(type, declaredFieldName));
+	}
+
+	public static BinaryHandlerIndexedCollection New()
+	{
+		return new BinaryHandlerIndexedCollection();
+	}
+
+
+
+	///////////////////////////////////////////////////////////////////////////
+	// constructors //
+	/////////////////
+
+	BinaryHandlerIndexedCollection()
+	{
+		super(
+			handledType(),
+			CustomFields(
+				CustomField(BulkList.class, "elements"),
+				Complex("indices",
+					CustomField(Object.class, "index")
+				)
+			)
+		);
+	}
+
+
+
+	///////////////////////////////////////////////////////////////////////////
+	// methods //
+	////////////
+
+	@Override
+	public final void store(
+		final Binary                          data    ,
+		final IndexedCollection<?>            instance,
+		final long                            objectId,
+		final PersistenceStoreHandler<Binary> handler
+	)
+	{
+		final Object[] indices  = instance.indices().toArray();
+		final Object   elements = XMemory.getObject(instance, OFFSET_elements);
+
+		// the backing list cannot be stored by the application, so it is stored along with its changes.
+		final long elementsObjectId;
+		if(XMemory.get_boolean(instance, OFFSET_changed))
+		{
+			elementsObjectId = handler.applyEager(elements);
+			XMemory.set_boolean(instance, OFFSET_changed, false);
+		}
+		else
+		{
+			elementsObjectId = handler.apply(elements);
+		}
+
+		data.storeEntityHeader(
+			BINARY_OFFSET_INDICES + Binary.calculateReferenceListTotalBinaryLength(indices.length),
+			this.typeId(),
+			objectId
+		);
+		data.store_long(BINARY_OFFSET_ELEMENTS, elementsObjectId);
+		data.storeReferencesAsList(BINARY_OFFSET_INDICES, handler, indices, 0, indices.length);
+	}
+
+	@Override
+	public final IndexedCollection<?> create(final Binary data, final PersistenceLoadHandler handler)
+	{
+		// elements and indices can only be set as soon as they are loaded.
+		return XMemory.instantiateBlank(IndexedCollection.class);
+	}
+
+	@Override
+	public final void updateState(
+		final Binary                 data    ,
+		final IndexedCollection<?>   instance,
+		final PersistenceLoadHandler handler
+	)
+	{
+		final Object[] indices = new Object[X.checkArrayRange(data.getListElementCountReferences(BINARY_OFFSET_INDICES))];
+		data.collectElementsIntoArray(BINARY_OFFSET_INDICES, handler, indices);
+
+		XMemory.setObject(instance, OFFSET_elements, handler.lookupObject(data.read_long(BINARY_OFFSET_ELEMENTS)));
+		XMemory.setObject(instance, OFFSET_indices , BulkList.New(indices));
+		XMemory.set_boolean(instance, OFFSET_changed, false);
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public final void complete(
+		final Binary                 data    ,
+		final IndexedCollection<?>   instance,
+		final PersistenceLoadHandler handler
+	)
+	{
+		// keys can only be extracted from the elements after their states have been loaded.
+		final BulkList<Object> elements = (BulkList<Object>)XMemory.getObject(instance, OFFSET_elements);
+		for(final XIndex<?, ?> index : instance.indices())
+		{
+			((XIndex<?, Object>)index).rebuild(elements);
+		}
+	}
+
+	@Override
+	public final void iterateInstanceReferences(final IndexedCollection<?> instance, final PersistenceFunction iterator)
+	{
+		iterator.apply(XMemory.getObject(instance, OFFSET_elements));
+		instance.indices().iterate(iterator::apply);
+	}
+
+	@Override
+	public final void iterateLoadableReferences(final Binary data, final PersistenceReferenceLoader iterator)
+	{
+		iterator.acceptObjectId(data.read_long(BINARY_OFFSET_ELEMENTS));
+		data.iterateListElementReferences(BINARY_OFFSET_INDICES, iterator);
+	}
+
+}
@@ -28,6 +28,7 @@ import one.microstream.collections.lazy.LazySegmentUnloader;
 import one.microstream.memory.XMemory;
 import one.microstream.persistence.binary.internal.AbstractBinaryHandlerCustomCollection;
 import one.microstream.persistence.binary.types.Binary;
+import one.microstream.persistence.binary.types.BinaryLegacyTypeHandlerWrapper;
 import one.microstream.persistence.types.PersistenceFunction;
 import one.microstream.persistence.types.PersistenceLoadHandler;
 import one.microstream.persistence.types.PersistenceReferenceLoader;
@@ -59,12 +60,14 @@ public final class BinaryHandlerLazyHashMap extends AbstractBinaryHandlerCustomC
 	private static final Method
 	METHOD_Segment_getData          = getDeclaredMethod(LazyHashMap.Segment.class, "getLazyData"),
 	METHOD_Segment_getLazy          = getDeclaredMethod(LazyHashMap.Segment.class, "getLazy"),
+	METHOD_Segment_getFilter        = getDeclaredMethod(LazyHashMap.Segment.class, "getFilter"),
 	METHOD_Segement_cleanDirtyFlag  = getDeclaredMethod(LazyHashMap.Segment.class, "cleanModified"),
-	METHOD_LazyHashMap_addSegment   = getDeclaredMethod(LazyHashMap.class, "addSegment", int.class, int.class, int.class, Object.class)
+	METHOD_LazyHashMap_addSegment   = getDeclaredMethod(LazyHashMap.class, "addSegment", int.class, int.class, int.class, Object.class, long[].class)
 	;
 	
 	private static final long BINARY_MAP_FIELDS_LENGTH = Integer.BYTES + Integer.BYTES + Binary.referenceBinaryLength(1);
-	private static final long BINARY_SEGMENT_LENGTH = Integer.BYTES + Integer.BYTES + Integer.BYTES + Binary.referenceBinaryLength(1);
+	private static final long BINARY_SEGMENT_LENGTH_UNFILTERED = Integer.BYTES + Integer.BYTES + Integer.BYTES + Binary.referenceBinaryLength(1);
+	private static final long BINARY_SEGMENT_LENGTH = BINARY_SEGMENT_LENGTH_UNFILTERED + Binary.referenceBinaryLength(1);
 	
 	///////////////////////////////////////////////////////////////////////////
 	// static methods //
@@ -79,18 +82,58 @@ public final class BinaryHandlerLazyHashMap extends AbstractBinaryHandlerCustomC
 	
 	public static BinaryHandlerLazyHashMap New()
 	{
-		return new BinaryHandlerLazyHashMap();
+		return new BinaryHandlerLazyHashMap(true);
 	}
-		
+	
+	/**
+	 * Creates a handler for the previous format without the segments' bloom filters.
+	 * It is only required to read data stored in that format, see {@link BinaryLegacyTypeHandlerWrapper}.
+	 * 
+	 * @return a handler for the format without filters.
+	 */
+	public static BinaryHandlerLazyHashMap NewUnfiltered()
+	{
+		return new BinaryHandlerLazyHashMap(false);
+	}
+	
+	
+	
+	///////////////////////////////////////////////////////////////////////////
+	// instance fields //
+	////////////////////
+	
+	private final boolean filtered           ;
+	private final long    binarySegmentLength;
+	
+	
+	
 	///////////////////////////////////////////////////////////////////////////
 	// constructors //
 	/////////////////
 	
 	public BinaryHandlerLazyHashMap()
+	{
+		this(true);
+	}
+	
+	BinaryHandlerLazyHashMap(final boolean filtered)
 	{
 		super(
 			handledType(),
-			CustomFields(
+			filtered
+			? CustomFields(
+				CustomField(int.class,                 "maxSegmentSize"),
+				CustomField(int.class,                 "size"          ),
+				CustomField(LazySegmentUnloader.class, "unloader"      ),
+				Complex("segments",
+					CustomField(int.class , "min" ),
+					CustomField(int.class , "max" ),
+					CustomField(int.class , "size"),
+					CustomField(LazyHashMap.LazyHashMapSegmentEntryList.class, "data"),
+					CustomField(long[].class, "filter")
+				)
+			)
+			: CustomFields(
 				CustomField(int.class,                 "maxSegmentSize"),
 				CustomField(int.class,                 "size"          ),
 				CustomField(LazySegmentUnloader.class, "unloader"      ),
@@ -102,6 +145,11 @@ public final class BinaryHandlerLazyHashMap extends AbstractBinaryHandlerCustomC
 				)
 			)
 		);
+		this.filtered            = filtered;
+		this.binarySegmentLength = filtered
+			? BINARY_SEGMENT_LENGTH
+			: BINARY_SEGMENT_LENGTH_UNFILTERED
+		;
 	}
 
 	
@@ -133,7 +181,7 @@ public final class BinaryHandlerLazyHashMap extends AbstractBinaryHandlerCustomC
 		XMemory.setObject(instance, OFFSET_ArrayList_unloader, unloader);
 		
 		//cast from long to int is OK because the list can't have more then max int elements.
-		final int segmentCount = (int)data.getBinaryListElementCountValidating(BINARY_OFFSET_SEGMENTS, BINARY_SEGMENT_LENGTH);
+		final int segmentCount = (int)data.getBinaryListElementCountValidating(BINARY_OFFSET_SEGMENTS, this.binarySegmentLength);
 		
 		long elementsDataOffset = Binary.toBinaryListElementsOffset(BINARY_OFFSET_SEGMENTS);
 		
@@ -152,7 +200,15 @@ public final class BinaryHandlerLazyHashMap extends AbstractBinaryHandlerCustomC
 			elementsDataOffset += Binary.referenceBinaryLength(1);
 			
 			final Object ref = handler.lookupObject(refId);
-			XReflect.invoke(METHOD_LazyHashMap_addSegment, instance, min, max, segmentSize, ref);
+			
+			// segments without a filter build it when they are loaded the next time.
+			long[] filter = null;
+			if(this.filtered)
+			{
+				filter = (long[])handler.lookupObject(data.read_long(elementsDataOffset));
+				elementsDataOffset += Binary.referenceBinaryLength(1);
+			}
+			XReflect.invoke(METHOD_LazyHashMap_addSegment, instance, min, max, segmentSize, ref, filter);
 		}
 	}
 
@@ -191,8 +247,14 @@ public final class BinaryHandlerLazyHashMap extends AbstractBinaryHandlerCustomC
 						
 			data.store_long(elementsDataOffset, handler.apply(XReflect.invoke(METHOD_Segment_getLazy, segment)));
 			elementsDataOffset += Binary.referenceBinaryLength(1);
+			
+			// the filter changes along with the segment's data, so it has to be stored whenever the data is.
+			final boolean storeData = segment.isLoaded() && segment.isModified();
+			final Object  filter    = XReflect.invoke(METHOD_Segment_getFilter, segment);
+			data.store_long(elementsDataOffset, storeData ? handler.applyEager(filter) : handler.apply(filter));
+			elementsDataOffset += Binary.referenceBinaryLength(1);
 									
-			if(segment.isLoaded() && segment.isModified())
+			if(storeData)
 			{
 				handler.applyEager(XReflect.invoke(METHOD_Segment_getData, segment));
 				XReflect.invoke(METHOD_Segement_cleanDirtyFlag, segment);
@@ -209,7 +271,7 @@ public final class BinaryHandlerLazyHashMap extends AbstractBinaryHandlerCustomC
 	@Override
 	public void iterateLoadableReferences(final Binary data, final PersistenceReferenceLoader iterator)
 	{
-		Binary.iterateListStructureCompositeElements(data, BINARY_OFFSET_SEGMENTS, 12, 1, 0, iterator);
+		Binary.iterateListStructureCompositeElements(data, BINARY_OFFSET_SEGMENTS, 12, this.filtered ? 2 : 1, 0, iterator);
 		iterator.acceptObjectId(data.read_long(BINARY_OFFSET_UNLOADER));
 	}
 		
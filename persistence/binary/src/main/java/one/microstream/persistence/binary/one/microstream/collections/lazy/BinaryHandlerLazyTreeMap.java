@@ -0,0 +1,177 @@
+package one.microstream.persistence.binary.one.microstream.collections.lazy;
+
+/*-
+ * #%L
+ * MicroStream Persistence Binary
+ * %%
+ * Copyright (C) 2019 - 2023 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ * 
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ * 
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+import java.lang.reflect.Method;
+import java.util.Comparator;
+import java.util.function.Consumer;
+
+import one.microstream.collections.lazy.LazySegmentUnloader;
+import one.microstream.collections.lazy.LazyTreeMap;
+import one.microstream.memory.XMemory;
+import one.microstream.persistence.binary.internal.AbstractBinaryHandlerCustom;
+import one.microstream.persistence.binary.types.Binary;
+import one.microstream.persistence.types.PersistenceLoadHandler;
+import one.microstream.persistence.types.PersistenceReferenceLoader;
+import one.microstream.persistence.types.PersistenceStoreHandler;
+import one.microstream.reference.Lazy;
+import one.microstream.reflect.XReflect;
+
+public final class BinaryHandlerLazyTreeMap extends AbstractBinaryHandlerCustom<LazyTreeMap<?,?>>
+{
+	///////////////////////////////////////////////////////////////////////////
+	// constants //
+	//////////////
+	
+	static final long
+	BINARY_OFFSET_MAXNODESIZE       =                                                           0,
+	BINARY_OFFSET_SIZE              = BINARY_OFFSET_MAXNODESIZE  + Integer.BYTES                  ,
+	BINARY_OFFSET_COMPARATOR        = BINARY_OFFSET_SIZE         + Integer.BYTES                  ,
+	BINARY_OFFSET_UNLOADER          = BINARY_OFFSET_COMPARATOR   + Binary.referenceBinaryLength(1),
+	BINARY_OFFSET_ROOT              = BINARY_OFFSET_UNLOADER     + Binary.referenceBinaryLength(1),
+	BINARY_LENGTH                   = BINARY_OFFSET_ROOT         + Binary.referenceBinaryLength(1)
+	;
+	
+	private static final long
+	OFFSET_MaxNodeSize              = getFieldOffset(LazyTreeMap.class, "maxNodeSize"),
+	OFFSET_Size                     = getFieldOffset(LazyTreeMap.class, "size"       ),
+	OFFSET_Comparator               = getFieldOffset(LazyTreeMap.class, "comparator" ),
+	OFFSET_Unloader                 = getFieldOffset(LazyTreeMap.class, "unloader"   )
+	;
+	
+	private static final Method
+	METHOD_LazyTreeMap_getRoot            = getDeclaredMethod(LazyTreeMap.class, "getRoot"),
+	METHOD_LazyTreeMap_setRoot            = getDeclaredMethod(LazyTreeMap.class, "setRoot", Object.class),
+	METHOD_LazyTreeMap_storeModifiedNodes = getDeclaredMethod(LazyTreeMap.class, "storeModifiedNodes", Consumer.class)
+	;
+	
+	///////////////////////////////////////////////////////////////////////////
+	// static methods //
+	///////////////////
+	
+	@SuppressWarnings({"unchecked",  "rawtypes"})
+	private static Class<LazyTreeMap<?,?>> handledType()
+	{
+		// no idea how to get ".class" to work otherwise
+		return (Class)LazyTreeMap.class;
+	}
+	
+	public static BinaryHandlerLazyTreeMap New()
+	{
+		return new BinaryHandlerLazyTreeMap();
+	}
+	
+	
+	
+	///////////////////////////////////////////////////////////////////////////
+	// constructors //
+	/////////////////
+	
+	public BinaryHandlerLazyTreeMap()
+	{
+		super(
+			handledType(),
+			CustomFields(
+				CustomField(int.class,                 "maxNodeSize"),
+				CustomField(int.class,                 "size"       ),
+				CustomField(Comparator.class,          "comparator" ),
+				CustomField(LazySegmentUnloader.class, "unloader"   ),
+				CustomField(Lazy.class,                "root"       )
+			)
+		);
+	}
+	
+	
+	
+	///////////////////////////////////////////////////////////////////////////
+	// methods //
+	////////////
+	
+	@Override
+	public boolean hasPersistedReferences()
+	{
+		return true;
+	}
+	
+	@Override
+	public boolean hasVaryingPersistedLengthInstances()
+	{
+		return false;
+	}
+	
+	@Override
+	public LazyTreeMap<?, ?> create(final Binary data, final PersistenceLoadHandler handler)
+	{
+		return new LazyTreeMap<>();
+	}
+
+	@Override
+	public void updateState(final Binary data, final LazyTreeMap<?, ?> instance, final PersistenceLoadHandler handler)
+	{
+		instance.verifyLoader(handler.getObjectRetriever());
+		instance.link(handler.getObjectRetriever());
+		instance.clear();
+		
+		XMemory.set_int(instance, OFFSET_MaxNodeSize, data.read_int(BINARY_OFFSET_MAXNODESIZE));
+		XMemory.set_int(instance, OFFSET_Size, data.read_int(BINARY_OFFSET_SIZE));
+		XMemory.setObject(instance, OFFSET_Comparator, handler.lookupObject(data.read_long(BINARY_OFFSET_COMPARATOR)));
+		XMemory.setObject(instance, OFFSET_Unloader, handler.lookupObject(data.read_long(BINARY_OFFSET_UNLOADER)));
+		
+		// the size has been set directly, the root is set last since clearing resets the size.
+		XReflect.invoke(METHOD_LazyTreeMap_setRoot, instance, handler.lookupObject(data.read_long(BINARY_OFFSET_ROOT)));
+	}
+
+	@Override
+	public void store(final Binary data, final LazyTreeMap<?, ?> instance, final long objectId, final PersistenceStoreHandler<Binary> handler)
+	{
+		instance.verifyLoader(handler.getObjectRetriever());
+		instance.link(handler.getObjectRetriever());
+		
+		// only the modified nodes are stored, the others are already stored and referenced by their lazy references.
+		final Consumer<Object> storer = handler::applyEager;
+		XReflect.invoke(METHOD_LazyTreeMap_storeModifiedNodes, instance, storer);
+		
+		data.storeEntityHeader(BINARY_LENGTH, this.typeId(), objectId);
+		data.store_int(BINARY_OFFSET_MAXNODESIZE, instance.getMaxNodeSize());
+		data.store_int(BINARY_OFFSET_SIZE, instance.size());
+		data.store_long(BINARY_OFFSET_COMPARATOR, handler.apply(XMemory.getObject(instance, OFFSET_Comparator)));
+		data.store_long(BINARY_OFFSET_UNLOADER, handler.apply(XMemory.getObject(instance, OFFSET_Unloader)));
+		data.store_long(BINARY_OFFSET_ROOT, handler.apply(XReflect.invoke(METHOD_LazyTreeMap_getRoot, instance)));
+	}
+
+	@Override
+	public void iterateLoadableReferences(final Binary data, final PersistenceReferenceLoader iterator)
+	{
+		iterator.acceptObjectId(data.read_long(BINARY_OFFSET_COMPARATOR));
+		iterator.acceptObjectId(data.read_long(BINARY_OFFSET_UNLOADER));
+		iterator.acceptObjectId(data.read_long(BINARY_OFFSET_ROOT));
+	}
+		
+	private static final long getFieldOffset(final Class<?> type, final String declaredFieldName)
+	{
+		return XMemory.objectFieldOffset(XReflect.getAnyField(type, declaredFieldName));
+	}
+	
+	private static final Method getDeclaredMethod(final Class<?> c, final String name, final Class<?>... parameterTypes)
+	{
+		return XReflect.setAccessible(XReflect.getDeclaredMethod(c, name, parameterTypes));
+	}
+}
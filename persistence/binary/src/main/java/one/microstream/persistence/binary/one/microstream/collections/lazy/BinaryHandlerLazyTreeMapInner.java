@@ -0,0 +1,163 @@
+package one.microstream.persistence.binary.one.microstream.collections.lazy;
+
+/*-
+ * #%L
+ * MicroStream Persistence Binary
+ * %%
+ * Copyright (C) 2019 - 2023 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ * 
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ * 
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+import one.microstream.X;
+import one.microstream.collections.lazy.LazyTreeMap;
+import one.microstream.memory.XMemory;
+import one.microstream.persistence.binary.internal.AbstractBinaryHandlerCustomCollection;
+import one.microstream.persistence.binary.types.Binary;
+import one.microstream.persistence.types.PersistenceFunction;
+import one.microstream.persistence.types.PersistenceLoadHandler;
+import one.microstream.persistence.types.PersistenceReferenceLoader;
+import one.microstream.persistence.types.PersistenceStoreHandler;
+import one.microstream.reference.Lazy;
+import one.microstream.reflect.XReflect;
+
+public final class BinaryHandlerLazyTreeMapInner extends AbstractBinaryHandlerCustomCollection<LazyTreeMap.Inner>
+{
+	///////////////////////////////////////////////////////////////////////////
+	// constants //
+	//////////////
+	
+	static final long ENTRY_LENGTH = Binary.referenceBinaryLength(2);
+	
+	static final long
+	BINARY_OFFSET_FIRST_CHILD = 0,
+	BINARY_OFFSET_ENTRIES     = BINARY_OFFSET_FIRST_CHILD + Binary.referenceBinaryLength(1)
+	;
+	
+	private static final long OFFSET_Node_modified = XMemory.objectFieldOffset(
+		XReflect.getAnyField(LazyTreeMap.Node.class, "modified")
+	);
+	
+	///////////////////////////////////////////////////////////////////////////
+	// static methods //
+	///////////////////
+	
+	public static BinaryHandlerLazyTreeMapInner New()
+	{
+		return new BinaryHandlerLazyTreeMapInner();
+	}
+	
+	
+	
+	///////////////////////////////////////////////////////////////////////////
+	// constructors //
+	/////////////////
+	
+	public BinaryHandlerLazyTreeMapInner()
+	{
+		super(
+			LazyTreeMap.Inner.class,
+			CustomFields(
+				CustomField(Lazy.class, "firstChild"),
+				Complex("entries",
+					CustomField(Object.class, "key"  ),
+					CustomField(Lazy.class  , "child")
+				)
+			)
+		);
+	}
+	
+	
+	
+	///////////////////////////////////////////////////////////////////////////
+	// methods //
+	////////////
+
+	@Override
+	public void iterateLoadableReferences(final Binary data, final PersistenceReferenceLoader iterator)
+	{
+		// only the lazy references to the children are loaded, not the children themselves.
+		iterator.acceptObjectId(data.read_long(BINARY_OFFSET_FIRST_CHILD));
+		Binary.iterateListStructureCompositeElements(data, BINARY_OFFSET_ENTRIES, 0, 2, 0, iterator);
+	}
+	
+	@Override
+	public void iterateInstanceReferences(final LazyTreeMap.Inner instance, final PersistenceFunction iterator)
+	{
+		iterator.apply(instance.childAt(0));
+		for(int i = 0; i < instance.size(); i++)
+		{
+			iterator.apply(instance.keyAt(i));
+			iterator.apply(instance.childAt(i + 1));
+		}
+	}
+	
+	@Override
+	public void updateState(final Binary data, final LazyTreeMap.Inner instance, final PersistenceLoadHandler handler)
+	{
+		instance.setFirstChild(handler.lookupObject(data.read_long(BINARY_OFFSET_FIRST_CHILD)));
+		
+		final int elementCount = this.getElementCount(data);
+		long offset = Binary.toBinaryListElementsOffset(BINARY_OFFSET_ENTRIES);
+		for(int i = 0; i < elementCount; i++)
+		{
+			final Object key = handler.lookupObject(data.read_long(offset));
+			offset += Binary.referenceBinaryLength(1);
+			final Object child = handler.lookupObject(data.read_long(offset));
+			offset += Binary.referenceBinaryLength(1);
+			
+			instance.addChild(key, child);
+		}
+		
+		// the loaded state equals the stored state
+		XMemory.set_boolean(instance, OFFSET_Node_modified, false);
+	}
+
+	@Override
+	public void store(final Binary data, final LazyTreeMap.Inner instance, final long objectId, final PersistenceStoreHandler<Binary> handler)
+	{
+		final long elementsCount = instance.size();
+		
+		data.storeEntityHeader(
+			BINARY_OFFSET_ENTRIES + Binary.toBinaryListTotalByteLength(ENTRY_LENGTH * elementsCount),
+			this.typeId(),
+			objectId
+		);
+		
+		// new children's lazy references are stored along, already stored ones are only referenced.
+		data.store_long(BINARY_OFFSET_FIRST_CHILD, handler.apply(instance.childAt(0)));
+		data.storeListHeader(BINARY_OFFSET_ENTRIES, ENTRY_LENGTH * elementsCount, elementsCount);
+		
+		long offset = Binary.toBinaryListElementsOffset(BINARY_OFFSET_ENTRIES);
+		for(int i = 0; i < elementsCount; i++)
+		{
+			data.store_long(offset, handler.apply(instance.keyAt(i)));
+			offset += Binary.referenceBinaryLength(1);
+			data.store_long(offset, handler.apply(instance.childAt(i + 1)));
+			offset += Binary.referenceBinaryLength(1);
+		}
+	}
+
+	@Override
+	public LazyTreeMap.Inner create(final Binary data, final PersistenceLoadHandler handler)
+	{
+		return new LazyTreeMap.Inner(this.getElementCount(data));
+	}
+
+	private int getElementCount(final Binary data)
+	{
+		return X.checkArrayRange(data.getBinaryListElementCountValidating(BINARY_OFFSET_ENTRIES, ENTRY_LENGTH));
+	}
+	
+}
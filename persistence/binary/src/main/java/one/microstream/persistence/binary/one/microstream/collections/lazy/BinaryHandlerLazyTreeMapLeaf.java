@@ -0,0 +1,153 @@
+package one.microstream.persistence.binary.one.microstream.collections.lazy;
+
+/*-
+ * #%L
+ * MicroStream Persistence Binary
+ * %%
+ * Copyright (C) 2019 - 2023 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ * 
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ * 
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+import one.microstream.X;
+import one.microstream.collections.lazy.LazyTreeMap;
+import one.microstream.memory.XMemory;
+import one.microstream.persistence.binary.internal.AbstractBinaryHandlerCustomCollection;
+import one.microstream.persistence.binary.types.Binary;
+import one.microstream.persistence.types.PersistenceFunction;
+import one.microstream.persistence.types.PersistenceLoadHandler;
+import one.microstream.persistence.types.PersistenceReferenceLoader;
+import one.microstream.persistence.types.PersistenceStoreHandler;
+import one.microstream.reflect.XReflect;
+
+public final class BinaryHandlerLazyTreeMapLeaf extends AbstractBinaryHandlerCustomCollection<LazyTreeMap.Leaf>
+{
+	///////////////////////////////////////////////////////////////////////////
+	// constants //
+	//////////////
+	
+	static final long ENTRY_LENGTH = Binary.referenceBinaryLength(2);
+	
+	static final long BINARY_OFFSET_ENTRIES = 0;
+	
+	private static final long OFFSET_Node_modified = XMemory.objectFieldOffset(
+		XReflect.getAnyField(LazyTreeMap.Node.class, "modified")
+	);
+	
+	///////////////////////////////////////////////////////////////////////////
+	// static methods //
+	///////////////////
+	
+	public static BinaryHandlerLazyTreeMapLeaf New()
+	{
+		return new BinaryHandlerLazyTreeMapLeaf();
+	}
+	
+	
+	
+	///////////////////////////////////////////////////////////////////////////
+	// constructors //
+	/////////////////
+	
+	public BinaryHandlerLazyTreeMapLeaf()
+	{
+		super(
+			LazyTreeMap.Leaf.class,
+			CustomFields(
+				Complex("entries",
+					CustomField(Object.class, "key"  ),
+					CustomField(Object.class, "value")
+				)
+			)
+		);
+	}
+	
+	
+	
+	///////////////////////////////////////////////////////////////////////////
+	// methods //
+	////////////
+
+	@Override
+	public void iterateLoadableReferences(final Binary data, final PersistenceReferenceLoader iterator)
+	{
+		Binary.iterateListStructureCompositeElements(data, BINARY_OFFSET_ENTRIES, 0, 2, 0, iterator);
+	}
+	
+	@Override
+	public void iterateInstanceReferences(final LazyTreeMap.Leaf instance, final PersistenceFunction iterator)
+	{
+		for(int i = 0; i < instance.size(); i++)
+		{
+			iterator.apply(instance.keyAt(i));
+			iterator.apply(instance.valueAt(i));
+		}
+	}
+	
+	@Override
+	public void updateState(final Binary data, final LazyTreeMap.Leaf instance, final PersistenceLoadHandler handler)
+	{
+		instance.reset();
+		
+		final int elementCount = this.getElementCount(data);
+		long offset = Binary.toBinaryListElementsOffset(BINARY_OFFSET_ENTRIES);
+		for(int i = 0; i < elementCount; i++)
+		{
+			final Object key = handler.lookupObject(data.read_long(offset));
+			offset += Binary.referenceBinaryLength(1);
+			final Object value = handler.lookupObject(data.read_long(offset));
+			offset += Binary.referenceBinaryLength(1);
+			
+			instance.addEntry(key, value);
+		}
+		
+		// the loaded state equals the stored state
+		XMemory.set_boolean(instance, OFFSET_Node_modified, false);
+	}
+
+	@Override
+	public void store(final Binary data, final LazyTreeMap.Leaf instance, final long objectId, final PersistenceStoreHandler<Binary> handler)
+	{
+		final long elementsCount = instance.size();
+		
+		data.storeEntityHeader(
+			BINARY_OFFSET_ENTRIES + Binary.toBinaryListTotalByteLength(ENTRY_LENGTH * elementsCount),
+			this.typeId(),
+			objectId
+		);
+		
+		data.storeListHeader(BINARY_OFFSET_ENTRIES, ENTRY_LENGTH * elementsCount, elementsCount);
+		
+		long offset = Binary.toBinaryListElementsOffset(BINARY_OFFSET_ENTRIES);
+		for(int i = 0; i < elementsCount; i++)
+		{
+			data.store_long(offset, handler.apply(instance.keyAt(i)));
+			offset += Binary.referenceBinaryLength(1);
+			data.store_long(offset, handler.apply(instance.valueAt(i)));
+			offset += Binary.referenceBinaryLength(1);
+		}
+	}
+
+	@Override
+	public LazyTreeMap.Leaf create(final Binary data, final PersistenceLoadHandler handler)
+	{
+		return new LazyTreeMap.Leaf(this.getElementCount(data));
+	}
+
+	private int getElementCount(final Binary data)
+	{
+		return X.checkArrayRange(data.getBinaryListElementCountValidating(BINARY_OFFSET_ENTRIES, ENTRY_LENGTH));
+	}
+	
+}
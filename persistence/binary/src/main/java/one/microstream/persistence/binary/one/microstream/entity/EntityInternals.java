@@ -26,7 +26,6 @@ import one.microstream.collections.EqHashTable;
 import one.microstream.entity.EntityLayerVersioning;
 import one.microstream.entity.EntityVersionContext;
 import one.microstream.memory.XMemory;
-import one.microstream.memory.sun.JdkInternals;
 
 final class EntityInternals
 {
@@ -48,7 +47,7 @@ final class EntityInternals
 				{
 					if(field.getName().equals(declaredFieldName))
 					{
-						return JdkInternals.VM().objectFieldOffset(field);
+						return XMemory.objectFieldOffset(field);
 					}
 				}
 			}
@@ -25,6 +25,7 @@ import static one.microstream.X.mayNull;
 import static one.microstream.X.notNull;
 
 import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.util.Iterator;
 import java.util.Map;
 import java.util.Set;
@@ -273,6 +274,90 @@ public abstract class Binary implements Chunk
 	{
 		return toBinaryListTotalByteLength(count << 1);  // header plus 2 bytes per char
 	}
+	
+	public static long calculateBinaryLengthCharsCompact(final long count)
+	{
+		return toBinaryListTotalByteLength(count);  // header plus 1 byte per char
+	}
+	
+	/**
+	 * Checks if the elements of a char list are stored in the compact format of one byte per (Latin-1) char
+	 * instead of two bytes per char. Since the list header contains both the binary length and the element count,
+	 * the format is implicit and existing data does not need any marker. The empty list is identical in both formats.
+	 * 
+	 * @param elementsBinaryLength the binary length of the list's elements, excluding the list header.
+	 * @param elementCount the list's element count.
+	 * @return whether the list's elements are stored with one byte per char.
+	 */
+	public static boolean isCompactCharsList(final long elementsBinaryLength, final long elementCount)
+	{
+		return elementsBinaryLength == elementCount && elementCount != 0;
+	}
+	
+	/**
+	 * Calculates the total binary length of a compact reference list containing the passed object ids,
+	 * see {@link #storeCompactReferenceList(long, long[])}.
+	 * 
+	 * @param objectIds the object ids to be stored.
+	 * @return the total binary length including the list header.
+	 */
+	public static long calculateCompactReferenceListTotalBinaryLength(final long[] objectIds)
+	{
+		long length   = 0;
+		long previous = 0;
+		for(final long objectId : objectIds)
+		{
+			length += compactReferenceByteLength(objectId - previous);
+			previous = objectId;
+		}
+		
+		return toBinaryListTotalByteLength(length);
+	}
+	
+	static int compactReferenceByteLength(final long delta)
+	{
+		// 7 bits per byte of the zig-zag encoded value, but at least one byte
+		return Math.max(1, (Long.SIZE - Long.numberOfLeadingZeros(delta << 1 ^ delta >> 63) + 6) / 7);
+	}
+	
+	/**
+	 * Iterates the object ids of the compact reference list elements in the passed address range.
+	 * Every object id is encoded as the zig-zag varint encoded difference to its preceding object id
+	 * (or to 0 for the first one), so references to object ids that are close to each other, e.g. the elements of
+	 * a collection that have been stored together, mostly occupy one or two bytes instead of eight.
+	 * Since the encoding consists of single bytes, it is independent of the byte order.
+	 * 
+	 * @param elementsAddress the address of the first encoded element.
+	 * @param boundAddress the bounding address of the list.
+	 * @param iterator the {@link PersistenceObjectIdAcceptor} to be called with every object id.
+	 * @return the bounding address.
+	 */
+	public static long iterateCompactReferences(
+		final long                        elementsAddress,
+		final long                        boundAddress   ,
+		final PersistenceObjectIdAcceptor iterator
+	)
+	{
+		long objectId = 0;
+		for(long a = elementsAddress; a < boundAddress;)
+		{
+			long value = 0;
+			int  shift = 0;
+			byte b;
+			do
+			{
+				b = XMemory.get_byte(a++);
+				value |= (long)(b & 0x7F) << shift;
+				shift += 7;
+			}
+			while(b < 0 && a < boundAddress);
+			
+			objectId += value >>> 1 ^ -(value & 1);
+			iterator.acceptObjectId(objectId);
+		}
+		
+		return boundAddress;
+	}
 		
 	
 	
@@ -850,6 +935,114 @@ public abstract class Binary implements Chunk
 		return listElementCount;
 	}
 	
+	/**
+	 * Stores the passed object ids as a compact reference list at the passed offset.
+	 * The list's required length can be calculated via {@link #calculateCompactReferenceListTotalBinaryLength(long[])}.
+	 * See {@link #iterateCompactReferences(long, long, PersistenceObjectIdAcceptor)} for the encoding.
+	 * 
+	 * @param listOffset the offset of the list.
+	 * @param objectIds the object ids to be stored.
+	 */
+	public final void storeCompactReferenceList(final long listOffset, final long[] objectIds)
+	{
+		final long elementsAddress = toBinaryListElementsOffset(this.address + listOffset);
+
+		long address  = elementsAddress;
+		long previous = 0;
+		for(final long objectId : objectIds)
+		{
+			final long delta = objectId - previous;
+			previous = objectId;
+			
+			long value = delta << 1 ^ delta >> 63;
+			while((value & ~0x7FL) != 0)
+			{
+				this.set_byteToAddress(address++, (byte)(value | 0x80));
+				value >>>= 7;
+			}
+			this.set_byteToAddress(address++, (byte)value);
+		}
+		
+		this.storeListHeader(listOffset, address - elementsAddress, objectIds.length);
+	}
+	
+	public final long getCompactReferenceListElementCount(final long listOffset)
+	{
+		final long listTotalByteLength = this.getBinaryListTotalByteLength(listOffset);
+		final long listElementCount    = this.getBinaryListElementCountUnvalidating(listOffset);
+		
+		// every reference occupies at least one byte. Prevents "Array Bombs", lists with fake element count.
+		if(listElementCount < 0 || listElementCount > toBinaryListContentByteLength(listTotalByteLength))
+		{
+			throw new BinaryPersistenceExceptionInvalidListElements(
+				this.getBuildItemTotalLength(),
+				this.getBuildItemObjectId(),
+				this.getBuildItemTypeId(),
+				listOffset,
+				listTotalByteLength,
+				listElementCount,
+				Byte.BYTES
+			);
+		}
+		
+		return listElementCount;
+	}
+	
+	public final void iterateCompactReferenceList(
+		final long                        listOffset,
+		final PersistenceObjectIdAcceptor iterator
+	)
+	{
+		final long listAddress = this.loadItemEntityContentAddress() + listOffset;
+		
+		iterateCompactReferences(
+			toBinaryListElementsOffset(listAddress),
+			listAddress + this.getBinaryListTotalByteLength(listOffset),
+			iterator
+		);
+	}
+	
+	/**
+	 * Resolves the references of the compact reference list at the passed offset into the passed array.
+	 * 
+	 * @param listOffset the offset of the list.
+	 * @param handler the {@link PersistenceLoadHandler} to resolve the object ids.
+	 * @param target the array to be filled, must be at least as long as the list's element count.
+	 * @return the list's element count.
+	 */
+	public final int collectCompactReferenceList(
+		final long                   listOffset,
+		final PersistenceLoadHandler handler   ,
+		final Object[]               target
+	)
+	{
+		final int      elementCount = X.checkArrayRange(this.getCompactReferenceListElementCount(listOffset));
+		final long[]   objectIds    = new long[elementCount];
+		final int[]    index        = new int[1];
+		
+		this.iterateCompactReferenceList(listOffset, objectId ->
+		{
+			if(index[0] < elementCount)
+			{
+				objectIds[index[0]] = objectId;
+			}
+			index[0]++;
+		});
+		if(index[0] != elementCount)
+		{
+			throw new BinaryPersistenceException(
+				"Inconsistent element count: specified " + elementCount + " vs. iterated " + index[0]
+			);
+		}
+		
+		for(int i = 0; i < elementCount; i++)
+		{
+			target[i] = handler.lookupObject(objectIds[i]);
+		}
+		
+		return elementCount;
+	}
+	
 	public final void iterateListElementReferences(
 		final long                        listOffset,
 		final PersistenceObjectIdAcceptor iterator
@@ -1146,6 +1339,34 @@ public abstract class Binary implements Chunk
 		this.storeCharsAsList(0, chars, offset, length);
 	}
 	
+	/**
+	 * Stores the passed {@link String} like {@link #storeStringSingleValue(long, long, String)}, but with
+	 * one byte per char if all of its chars are in the Latin-1 range.
+	 * The string is loaded transparently by {@link #buildString(long)}.
+	 * 
+	 * @param typeId the type id of the entity.
+	 * @param objectId the object id of the entity.
+	 * @param string the {@link String} to be stored.
+	 */
+	public final void storeStringSingleValueCompact(
+		final long   typeId  ,
+		final long   objectId,
+		final String string
+	)
+	{
+		if(!XChars.isLatin1(string))
+		{
+			this.storeStringSingleValue(typeId, objectId, string);
+			return;
+		}
+		
+		// for a string with a compact internal representation, this is a plain copy of its internal bytes.
+		final byte[] bytes = string.getBytes(StandardCharsets.ISO_8859_1);
+		this.storeEntityHeader(calculateBinaryLengthCharsCompact(bytes.length), typeId, objectId);
+		this.storeListHeader(0, bytes.length, bytes.length);
+		this.store_bytesToAddress(toBinaryListElementsOffset(this.address), bytes);
+	}
+	
 	public final void storeStringValue(
 		final long   binaryOffset,
 		final String string
@@ -1407,9 +1628,23 @@ public abstract class Binary implements Chunk
 	
 	public final String buildString(final long offset)
 	{
+		if(this.isCompactCharsList(offset))
+		{
+			// the JDK stores a string created from Latin-1 bytes compactly, so the bytes are only copied once.
+			return new String(this.build_bytes(offset), StandardCharsets.ISO_8859_1);
+		}
+		
 		// since Java 9, there is no sane way to build a string without copying the loaded data multiple times.
 		return String.valueOf(this.build_chars(offset));
 	}
+	
+	public final boolean isCompactCharsList(final long listOffset)
+	{
+		return isCompactCharsList(
+			toBinaryListContentByteLength(this.getBinaryListTotalByteLength(listOffset)),
+			this.getBinaryListElementCountUnvalidating(listOffset)
+		);
+	}
 
 	
 	public final byte[] create_bytes()
@@ -1540,6 +1775,11 @@ public abstract class Binary implements Chunk
 
 	public final char[] build_chars(final long listOffset)
 	{
+		if(this.isCompactCharsList(listOffset))
+		{
+			return this.buildString(listOffset).toCharArray();
+		}
+		
 		// (01.02.2019 TM)FIXME: priv#70: offset validation
 		final char[] array = this.create_chars(listOffset);
 		this.unvalidatingUpdate_chars(listOffset, array);
@@ -1704,6 +1944,19 @@ public abstract class Binary implements Chunk
 
 		return elementsDataAddress + elementsBinaryLength;
 	}
+
+	/**
+	 * Stores the passed array as one contiguous list at the passed offset of an already written entity header
+	 * and returns the offset behind the list, e.g. for storing several primitive lists in one entity.
+	 */
+	public final long store_longsAsList(final long memoryOffset, final long[] array)
+	{
+		final long elementsBinaryLength = (long)array.length * Long.BYTES;
+		this.storeListHeader(memoryOffset, elementsBinaryLength, array.length);
+		this.store_longsToAddress(this.address + memoryOffset + LIST_OFFSET_ELEMENTS, array);
+
+		return memoryOffset + toBinaryListTotalByteLength(elementsBinaryLength);
+	}
 			
 	public final void copyMemory(
 		final ByteBuffer          directByteBuffer,
@@ -0,0 +1,89 @@
+package one.microstream.persistence.binary.types;
+
+/*-
+ * #%L
+ * microstream-persistence-binary
+ * %%
+ * Copyright (C) 2019 - 2022 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+/**
+ * Immutable snapshot of a consecutive range of a collection's elements that is persisted as an entity of its own
+ * by the segmented collection handlers of {@link BinaryCollectionSegmentation}.
+ * <p>
+ * For maps, the elements are the keys and values of the entries in alternating order.
+ * <p>
+ * Instances are never modified after they have been persisted, a changed range of elements always
+ * results in a new instance. This way, an unchanged segment is never written again by a lazy storer.
+ *
+ */
+public final class BinaryCollectionSegment
+{
+	///////////////////////////////////////////////////////////////////////////
+	// instance fields //
+	////////////////////
+
+	Object[] elements;
+
+
+
+	///////////////////////////////////////////////////////////////////////////
+	// constructors //
+	/////////////////
+
+	BinaryCollectionSegment(final Object[] elements)
+	{
+		super();
+		this.elements = elements;
+	}
+
+
+
+	///////////////////////////////////////////////////////////////////////////
+	// methods //
+	////////////
+
+	/**
+	 * @return the number of elements of this segment.
+	 */
+	public final int length()
+	{
+		return this.elements.length;
+	}
+
+	/**
+	 * @param index the index of the element.
+	 * @return the element at the passed index.
+	 */
+	public final Object get(final int index)
+	{
+		return this.elements[index];
+	}
+
+	/**
+	 * Copies the elements of this segment to the passed array.
+	 *
+	 * @param target the array to copy the elements to.
+	 * @param offset the index in the target array to copy the first element to.
+	 * @return the index in the target array after the last copied element.
+	 */
+	public final int copyTo(final Object[] target, final int offset)
+	{
+		System.arraycopy(this.elements, 0, target, offset, this.elements.length);
+		return offset + this.elements.length;
+	}
+
+}
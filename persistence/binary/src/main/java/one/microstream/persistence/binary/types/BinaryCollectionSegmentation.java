@@ -0,0 +1,495 @@
+package one.microstream.persistence.binary.types;
+
+/*-
+ * #%L
+ * microstream-persistence-binary
+ * %%
+ * Copyright (C) 2019 - 2022 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+import static one.microstream.math.XMath.positive;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Arrays;
+
+/**
+ * Segmented handling mode for large collections.
+ * <p>
+ * If set in the {@link BinaryPersistenceFoundation}, {@link one.microstream.collections.BulkList} and
+ * {@link one.microstream.collections.EqHashTable} instances are persisted as a "spine" entity that references
+ * {@link BinaryCollectionSegment}s of at most {@link #segmentLength()} elements (or entries for maps) each,
+ * instead of one entity containing all elements.
+ * <p>
+ * The segments of every stored or loaded collection are kept. When the collection is stored again, its current
+ * elements are matched against these segments by identity. Unchanged segments are reused, only the changed ranges
+ * become new segments. So storing a collection with a lazy storer writes only the new segments and the spine,
+ * e.g. one segment and the spine for a single added element, instead of all elements.
+ * <p>
+ * Notes:
+ * <ul>
+ * <li>The kept segments reference the elements of the collection at the time it was last stored or loaded,
+ * so removed elements are only released from memory after the collection has been stored again.</li>
+ * <li>Segments follow the collection's iteration order, so inserting or removing elements only changes
+ * the segments around the affected positions.</li>
+ * <li>JDK collections have fixed type ids and binary formats and are not affected. For large JDK-compatible
+ * collections, see the segmented {@link one.microstream.collections.lazy.LazyHashMap} and
+ * {@link one.microstream.collections.lazy.LazyArrayList}.</li>
+ * <li>Data persisted by the default handlers stays readable, the previous format is registered as a legacy type.
+ * Switching the segmented mode off again is not supported for a storage that contains segmented collections.</li>
+ * </ul>
+ *
+ */
+public interface BinaryCollectionSegmentation
+{
+	/**
+	 * @return the maximum number of elements (or entries for maps) per segment.
+	 */
+	public int segmentLength();
+
+	/**
+	 * Splits the passed elements of the passed collection into segments, reusing the collection's previous
+	 * segments for all unchanged element ranges, and keeps the resulting segments for the next call.
+	 *
+	 * @param collection the collection instance that is stored.
+	 * @param elements the collection's elements, each occupying {@code elementWidth} consecutive slots.
+	 * @param elementCount the number of elements.
+	 * @param elementWidth the number of slots per element, e.g. 2 for a key and a value.
+	 * @return the segments to be referenced by the collection's spine entity.
+	 */
+	public BinaryCollectionSegment[] segment(
+		Object   collection  ,
+		Object[] elements    ,
+		int      elementCount,
+		int      elementWidth
+	);
+
+	/**
+	 * Keeps the passed segments of the passed loaded collection for the next {@link #segment} call.
+	 *
+	 * @param collection the loaded collection instance.
+	 * @param segments the collection's loaded segments.
+	 */
+	public void register(Object collection, BinaryCollectionSegment[] segments);
+
+	/**
+	 * @return the number of collections whose segments are currently kept.
+	 */
+	public int trackedCollectionCount();
+
+
+
+	public interface Defaults
+	{
+		public static int defaultSegmentLength()
+		{
+			return 1024;
+		}
+	}
+
+
+
+	public static BinaryCollectionSegmentation New()
+	{
+		return New(Defaults.defaultSegmentLength());
+	}
+
+	public static BinaryCollectionSegmentation New(final int segmentLength)
+	{
+		return new BinaryCollectionSegmentation.Default(
+			positive(segmentLength)
+		);
+	}
+
+	public final class Default implements BinaryCollectionSegmentation
+	{
+		///////////////////////////////////////////////////////////////////////////
+		// constants //
+		//////////////
+
+		// bounds the matching effort for elements that start many segments, e.g. null in a list.
+		private static final int MAX_MATCH_CANDIDATES = 8;
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// instance fields //
+		////////////////////
+
+		private final int segmentLength;
+
+		// weak identity table, since neither equality nor strong references to the collections are acceptable.
+		private final ReferenceQueue<Object> queue = new ReferenceQueue<>();
+		private       Entry[]                table = new Entry[64];
+		private       int                    size ;
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// constructors //
+		/////////////////
+
+		Default(final int segmentLength)
+		{
+			super();
+			this.segmentLength = segmentLength;
+		}
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// methods //
+		////////////
+
+		@Override
+		public final int segmentLength()
+		{
+			return this.segmentLength;
+		}
+
+		@Override
+		public final BinaryCollectionSegment[] segment(
+			final Object   collection  ,
+			final Object[] elements    ,
+			final int      elementCount,
+			final int      elementWidth
+		)
+		{
+			// the matching is done outside the lock, segments are immutable.
+			final BinaryCollectionSegment[] segments = new Segmenter(
+				this.lookup(collection),
+				elements               ,
+				elementWidth           ,
+				this.segmentLength
+			)
+			.segment(elementCount);
+
+			this.register(collection, segments);
+
+			return segments;
+		}
+
+		@Override
+		public final synchronized void register(final Object collection, final BinaryCollectionSegment[] segments)
+		{
+			this.expungeStaleEntries();
+
+			final int hash = System.identityHashCode(collection);
+			for(Entry e = this.table[hash & this.table.length - 1]; e != null; e = e.next)
+			{
+				if(e.get() == collection)
+				{
+					e.segments = segments;
+					return;
+				}
+			}
+
+			if(this.size >= this.table.length)
+			{
+				this.rebuild(this.table.length << 1);
+			}
+			final int index = hash & this.table.length - 1;
+			this.table[index] = new Entry(collection, hash, segments, this.table[index], this.queue);
+			this.size++;
+		}
+
+		@Override
+		public final synchronized int trackedCollectionCount()
+		{
+			this.expungeStaleEntries();
+
+			return this.size;
+		}
+
+		private synchronized BinaryCollectionSegment[] lookup(final Object collection)
+		{
+			this.expungeStaleEntries();
+
+			final int hash = System.identityHashCode(collection);
+			for(Entry e = this.table[hash & this.table.length - 1]; e != null; e = e.next)
+			{
+				if(e.get() == collection)
+				{
+					return e.segments;
+				}
+			}
+
+			return null;
+		}
+
+		private void expungeStaleEntries()
+		{
+			for(Object ref; (ref = this.queue.poll()) != null;)
+			{
+				final Entry stale = (Entry)ref;
+				final int   index = stale.hash & this.table.length - 1;
+				if(this.table[index] == stale)
+				{
+					this.table[index] = stale.next;
+					this.size--;
+					continue;
+				}
+				for(Entry e = this.table[index]; e != null; e = e.next)
+				{
+					if(e.next == stale)
+					{
+						e.next = stale.next;
+						this.size--;
+						break;
+					}
+				}
+			}
+		}
+
+		private void rebuild(final int capacity)
+		{
+			final Entry[] newTable = new Entry[capacity];
+			for(Entry e : this.table)
+			{
+				while(e != null)
+				{
+					final Entry next = e.next;
+					final int index = e.hash & capacity - 1;
+					e.next = newTable[index];
+					newTable[index] = e;
+					e = next;
+				}
+			}
+			this.table = newTable;
+		}
+
+
+
+		static final class Entry extends WeakReference<Object>
+		{
+			final int                       hash    ;
+			      BinaryCollectionSegment[] segments;
+			      Entry                     next    ;
+
+			Entry(
+				final Object                    collection,
+				final int                       hash      ,
+				final BinaryCollectionSegment[] segments  ,
+				final Entry                     next      ,
+				final ReferenceQueue<Object>    queue
+			)
+			{
+				super(collection, queue);
+				this.hash     = hash    ;
+				this.segments = segments;
+				this.next     = next    ;
+			}
+
+		}
+
+
+
+		/**
+		 * Walks the elements once. Wherever a previous segment matches the elements at the current position,
+		 * it is reused. All other elements are collected into new segments, which are merged with their
+		 * neighbors as long as the merged segment does not exceed the segment length.
+		 */
+		static final class Segmenter
+		{
+			///////////////////////////////////////////////////////////////////////////
+			// instance fields //
+			////////////////////
+
+			private final BinaryCollectionSegment[] previous     ;
+			private final Object[]                  elements     ;
+			private final int                       elementWidth ;
+			private final int                       segmentLength;
+
+			// chained index of the previous segments by the identity of their first slot.
+			private final int[] heads, nexts;
+
+			// resulting ranges of elements, a null segment means a new segment has to be created.
+			private int[]                     starts   = new int[16];
+			private int[]                     bounds   = new int[16];
+			private BinaryCollectionSegment[] segments = new BinaryCollectionSegment[16];
+			private int                       count   ;
+
+
+
+			///////////////////////////////////////////////////////////////////////////
+			// constructors //
+			/////////////////
+
+			Segmenter(
+				final BinaryCollectionSegment[] previous     ,
+				final Object[]                  elements     ,
+				final int                       elementWidth ,
+				final int                       segmentLength
+			)
+			{
+				super();
+				this.previous      = previous == null ? new BinaryCollectionSegment[0] : previous;
+				this.elements      = elements     ;
+				this.elementWidth  = elementWidth ;
+				this.segmentLength = segmentLength;
+
+				this.heads = new int[Integer.highestOneBit(Math.max(1, this.previous.length)) << 1];
+				this.nexts = new int[this.previous.length];
+				Arrays.fill(this.heads, -1);
+				for(int i = this.previous.length; i --> 0;)
+				{
+					if(this.previous[i].elements.length == 0)
+					{
+						continue;
+					}
+					final int index = hash(this.previous[i].elements[0]) & this.heads.length - 1;
+					this.nexts[i]     = this.heads[index];
+					this.heads[index] = i;
+				}
+			}
+
+
+
+			///////////////////////////////////////////////////////////////////////////
+			// methods //
+			////////////
+
+			private static int hash(final Object slot)
+			{
+				final int h = System.identityHashCode(slot) * 0x9E3779B9;
+				return h ^ h >>> 16;
+			}
+
+			final BinaryCollectionSegment[] segment(final int elementCount)
+			{
+				int pending = 0;
+				for(int e = 0; e < elementCount;)
+				{
+					final BinaryCollectionSegment match = this.match(e, elementCount);
+					if(match != null)
+					{
+						this.add(pending, e, null);
+						pending = e += match.elements.length / this.elementWidth;
+						this.add(e - match.elements.length / this.elementWidth, e, match);
+					}
+					else if(++e - pending == this.segmentLength)
+					{
+						this.add(pending, e, null);
+						pending = e;
+					}
+				}
+				this.add(pending, elementCount, null);
+
+				return this.yield();
+			}
+
+			private BinaryCollectionSegment match(final int element, final int elementCount)
+			{
+				final Object[] elements = this.elements;
+				final int      offset   = element * this.elementWidth;
+				final Object   first    = elements[offset];
+				final int      index    = hash(first) & this.heads.length - 1;
+
+				for(int i = this.heads[index], prev = -1, c = 0; i >= 0 && c < MAX_MATCH_CANDIDATES; prev = i, i = this.nexts[i])
+				{
+					final Object[] slots = this.previous[i].elements;
+					if(slots[0] != first)
+					{
+						continue;
+					}
+					c++;
+					if(slots.length > (elementCount - element) * this.elementWidth || !matches(slots, elements, offset))
+					{
+						continue;
+					}
+
+					// a segment can only be reused once.
+					if(prev < 0)
+					{
+						this.heads[index] = this.nexts[i];
+					}
+					else
+					{
+						this.nexts[prev] = this.nexts[i];
+					}
+
+					return this.previous[i];
+				}
+
+				return null;
+			}
+
+			private static boolean matches(final Object[] slots, final Object[] elements, final int offset)
+			{
+				for(int s = 0; s < slots.length; s++)
+				{
+					if(slots[s] != elements[offset + s])
+					{
+						return false;
+					}
+				}
+
+				return true;
+			}
+
+			private void add(final int start, final int bound, final BinaryCollectionSegment segment)
+			{
+				if(start == bound)
+				{
+					return;
+				}
+
+				// a new range is merged with its predecessor if the result is not too long.
+				if(this.count > 0
+					&& (segment == null || this.segments[this.count - 1] == null)
+					&& bound - this.starts[this.count - 1] <= this.segmentLength
+				)
+				{
+					this.bounds  [this.count - 1] = bound;
+					this.segments[this.count - 1] = null ;
+					return;
+				}
+
+				if(this.count == this.starts.length)
+				{
+					this.starts   = Arrays.copyOf(this.starts  , this.count << 1);
+					this.bounds   = Arrays.copyOf(this.bounds  , this.count << 1);
+					this.segments = Arrays.copyOf(this.segments, this.count << 1);
+				}
+				this.starts  [this.count] = start  ;
+				this.bounds  [this.count] = bound  ;
+				this.segments[this.count] = segment;
+				this.count++;
+			}
+
+			private BinaryCollectionSegment[] yield()
+			{
+				final BinaryCollectionSegment[] result = new BinaryCollectionSegment[this.count];
+				for(int i = 0; i < this.count; i++)
+				{
+					result[i] = this.segments[i] != null
+						? this.segments[i]
+						: new BinaryCollectionSegment(Arrays.copyOfRange(
+							this.elements,
+							this.starts[i] * this.elementWidth,
+							this.bounds[i] * this.elementWidth
+						))
+					;
+				}
+
+				return result;
+			}
+
+		}
+
+	}
+
+}
@@ -0,0 +1,553 @@
+package one.microstream.persistence.binary.types;
+
+/*-
+ * #%L
+ * microstream-persistence-binary
+ * %%
+ * Copyright (C) 2019 - 2022 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+import static one.microstream.math.XMath.positive;
+
+import java.util.Arrays;
+
+import one.microstream.functional._longPredicate;
+import one.microstream.math.XMath;
+import one.microstream.memory.XMemory;
+
+/**
+ * Side table of 64-bit fingerprints of the persisted entity data per object id, used to skip writing entities
+ * whose serialized form has not changed since they were last written or loaded.
+ * <p>
+ * If set in the {@link BinaryPersistenceFoundation}, every storer removes the entities whose fingerprint matches
+ * the registered one from its chunks right before writing them and registers the fingerprints of the written
+ * entities once the writing succeeded. Every loader registers the fingerprints of the entities it reads,
+ * unless their object ids are already known.
+ * <p>
+ * Entities that are written by more than one storer at the same time are not registered at all,
+ * since the order in which the storers' data arrives in the storage is unknown.
+ * <p>
+ * The number of registered fingerprints is bounded by a maximum capacity. Once it is reached, the fingerprints
+ * that have not been used by a storer since the previous eviction are dropped, so their entities are simply
+ * written again the next time they are stored. If no fingerprint can be dropped because all of them are currently
+ * being written, further entities are written without being registered.
+ * <p>
+ * A matching fingerprint means that the entity is not written again, so it must not outlive the storage's copy
+ * of the entity. Whenever the storage's garbage collection sweeps, all fingerprints of object ids that are not
+ * live in the object registry any more are dropped via {@link #retainObjectIds(_longPredicate)}, as only those
+ * entities can be deleted by it.
+ *
+ */
+public interface BinaryEntityFingerprints
+{
+	/**
+	 * Removes all entities from the passed completed chunks whose fingerprint matches the registered one.
+	 *
+	 * @param chunks the {@link ChunksBuffer#complete()}d chunks to be written.
+	 * @return the {@link Update} to be completed after the writing.
+	 */
+	public Update removeUnchangedEntities(ChunksBuffer[] chunks);
+
+	/**
+	 * Registers the fingerprint of the loaded entity with the passed object id if there is none registered, yet.
+	 *
+	 * @param entityAddress the memory address of the entity, i.e. of its header.
+	 * @param entityTotalLength the entity's total length, including its header.
+	 * @param objectId the entity's object id.
+	 */
+	public void seedEntity(long entityAddress, long entityTotalLength, long objectId);
+
+	/**
+	 * Drops the fingerprints of all object ids that are not selected by the passed predicate,
+	 * except for the ones of entities that are currently being written.
+	 *
+	 * @param objectIdsSelector the predicate selecting the object ids whose fingerprints are kept.
+	 */
+	public void retainObjectIds(_longPredicate objectIdsSelector);
+
+	/**
+	 * @return the number of object ids known to this instance.
+	 */
+	public long size();
+
+	/**
+	 * @return the number of entities that have been checked before writing them.
+	 */
+	public long checkedEntityCount();
+
+	/**
+	 * @return the number of entities that have not been written because they were unchanged.
+	 */
+	public long skippedEntityCount();
+
+	/**
+	 * @return the number of bytes that have not been written because their entities were unchanged.
+	 */
+	public long skippedByteCount();
+
+
+
+	/**
+	 * The fingerprints of the entities of a storer's data that are about to be written.
+	 */
+	public interface Update
+	{
+		/**
+		 * Registers the fingerprints if the data has been written successfully.
+		 *
+		 * @param successful whether the data has been written successfully.
+		 */
+		public void complete(boolean successful);
+		
+		
+		
+		public final class Default implements Update
+		{
+			///////////////////////////////////////////////////////////////////////////
+			// instance fields //
+			////////////////////
+
+			private final BinaryEntityFingerprints.Default parent;
+
+			private long[] objectIds    = new long[64];
+			private long[] fingerprints = new long[64];
+			private int    count       ;
+
+
+
+			///////////////////////////////////////////////////////////////////////////
+			// constructors //
+			/////////////////
+
+			Default(final BinaryEntityFingerprints.Default parent)
+			{
+				super();
+				this.parent = parent;
+			}
+
+
+
+			///////////////////////////////////////////////////////////////////////////
+			// methods //
+			////////////
+
+			final void add(final long objectId, final long fingerprint)
+			{
+				if(this.count == this.objectIds.length)
+				{
+					this.objectIds    = Arrays.copyOf(this.objectIds   , this.count << 1);
+					this.fingerprints = Arrays.copyOf(this.fingerprints, this.count << 1);
+				}
+				this.objectIds   [this.count] = objectId   ;
+				this.fingerprints[this.count] = fingerprint;
+				this.count++;
+			}
+
+			@Override
+			public final void complete(final boolean successful)
+			{
+				this.parent.complete(this.objectIds, this.fingerprints, this.count, successful);
+
+				// completing more than once must not count the writers down again.
+				this.count = 0;
+			}
+
+		}
+		
+	}
+
+
+
+	/**
+	 * Calculates the fingerprint of the passed memory range.
+	 *
+	 * @param address the start address.
+	 * @param length the number of bytes.
+	 * @return the 64-bit fingerprint.
+	 */
+	public static long fingerprint(final long address, final long length)
+	{
+		// multiply-rotate mixing of every 8 bytes and MurmurHash3's 64 bit finalizer.
+		final long bound8 = address + (length & ~7L);
+		final long bound  = address + length;
+
+		long h = 0x9E3779B97F4A7C15L ^ length, a = address;
+		for(; a < bound8; a += Long.BYTES)
+		{
+			h = Long.rotateLeft(h ^ XMemory.get_long(a) * 0xC2B2AE3D27D4EB4FL, 31) * 0x9E3779B97F4A7C15L;
+		}
+		for(; a < bound; a++)
+		{
+			h = (h ^ XMemory.get_byte(a)) * 0x165667B19E3779F9L;
+		}
+
+		h = (h ^ h >>> 33) * 0xFF51AFD7ED558CCDL;
+		h = (h ^ h >>> 33) * 0xC4CEB9FE1A85EC53L;
+
+		return h ^ h >>> 33;
+	}
+
+
+
+	public interface Defaults
+	{
+		public static int defaultInitialCapacity()
+		{
+			return 1024;
+		}
+
+		public static int defaultMaximumCapacity()
+		{
+			// about 3 million fingerprints, taking 80 MB
+			return 1 << 22;
+		}
+	}
+
+
+
+	public static BinaryEntityFingerprints New()
+	{
+		return New(Defaults.defaultInitialCapacity());
+	}
+
+	public static BinaryEntityFingerprints New(final int initialCapacity)
+	{
+		return New(initialCapacity, Math.max(initialCapacity, Defaults.defaultMaximumCapacity()));
+	}
+
+	public static BinaryEntityFingerprints New(final int initialCapacity, final int maximumCapacity)
+	{
+		final int capacity = XMath.pow2BoundCapped(positive(initialCapacity));
+
+		return new BinaryEntityFingerprints.Default(
+			capacity,
+			Math.max(capacity, XMath.pow2BoundCapped(positive(maximumCapacity)))
+		);
+	}
+
+	public final class Default implements BinaryEntityFingerprints
+	{
+		///////////////////////////////////////////////////////////////////////////
+		// constants //
+		//////////////
+
+		/*
+		 * An entry's state is the number of storers currently writing the entity plus flags.
+		 * Only an entry with state 0 (apart from the referenced flag) has a valid fingerprint.
+		 * The referenced flag marks entries used by a storer since the last eviction.
+		 */
+		private static final int
+			STATE_VALID     = 0          ,
+			STATE_INVALID   = 0x4000_0000,
+			STATE_CONFLICT  = 0x2000_0000,
+			FLAG_REFERENCED = 0x1000_0000,
+			MASK_WRITERS    = 0x0FFF_FFFF
+		;
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// instance fields //
+		////////////////////
+
+		private final int maximumCapacity;
+
+		// open addressing with linear probing, 0 is never a persisted entity's object id.
+		private long[]  objectIds   ;
+		private long[]  fingerprints;
+		private int[]   states      ;
+		private int     hashRange   ;
+		private int     size        ;
+		private boolean full        ;
+
+		private long checkedEntityCount;
+		private long skippedEntityCount;
+		private long skippedByteCount  ;
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// constructors //
+		/////////////////
+
+		Default(final int capacity, final int maximumCapacity)
+		{
+			super();
+			this.maximumCapacity = maximumCapacity;
+			this.allocate(capacity);
+		}
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// methods //
+		////////////
+
+		private void allocate(final int capacity)
+		{
+			this.objectIds    = new long[capacity];
+			this.fingerprints = new long[capacity];
+			this.states       = new int[capacity];
+			this.hashRange    = capacity - 1;
+		}
+
+		private static int hash(final long objectId)
+		{
+			// object ids are mostly sequential, so spread them to avoid long probing sequences.
+			final long h = objectId * 0x9E3779B97F4A7C15L;
+			return (int)(h ^ h >>> 32);
+		}
+
+		private int lookupIndex(final long objectId)
+		{
+			for(int i = hash(objectId) & this.hashRange; ; i = i + 1 & this.hashRange)
+			{
+				if(this.objectIds[i] == objectId)
+				{
+					return i;
+				}
+				if(this.objectIds[i] == 0)
+				{
+					return -1;
+				}
+			}
+		}
+
+		private int insertIndex(final long objectId, final int initialState)
+		{
+			// load factor 0.75
+			if(this.size >= this.objectIds.length - (this.objectIds.length >>> 2) && (this.full || !this.makeRoom()))
+			{
+				return -1;
+			}
+
+			int i = hash(objectId) & this.hashRange;
+			while(this.objectIds[i] != 0)
+			{
+				i = i + 1 & this.hashRange;
+			}
+			this.size++;
+			this.objectIds[i] = objectId;
+			this.states[i]    = initialState;
+
+			return i;
+		}
+
+		private boolean makeRoom()
+		{
+			if(this.objectIds.length < this.maximumCapacity)
+			{
+				this.rebuild(this.objectIds.length << 1, false, null);
+				return true;
+			}
+
+			// second chance for referenced entries, unless that leaves less than half of the capacity free.
+			this.rebuild(this.objectIds.length, true, null);
+			if(this.size > this.objectIds.length >>> 1)
+			{
+				this.rebuild(this.objectIds.length, true, null);
+			}
+
+			/*
+			 * Entries being written cannot be evicted, as their writers still have to complete them.
+			 * If too few entries are left to be evicted, no further entries are added until the next completion,
+			 * instead of evicting again for every single entry.
+			 */
+			this.full = this.size > this.objectIds.length >>> 1;
+
+			return !this.full;
+		}
+
+		private void rebuild(final int capacity, final boolean evict, final _longPredicate retained)
+		{
+			final long[] objectIds    = this.objectIds   ;
+			final long[] fingerprints = this.fingerprints;
+			final int[]  states       = this.states      ;
+
+			this.allocate(capacity);
+			this.size = 0;
+			for(int o = 0; o < objectIds.length; o++)
+			{
+				if(objectIds[o] == 0)
+				{
+					continue;
+				}
+
+				int state = states[o];
+				if(retained != null && (state & MASK_WRITERS) == 0 && !retained.test(objectIds[o]))
+				{
+					continue;
+				}
+				if(evict)
+				{
+					if((state & (FLAG_REFERENCED | MASK_WRITERS)) == 0)
+					{
+						continue;
+					}
+					state &= ~FLAG_REFERENCED;
+				}
+
+				int i = hash(objectIds[o]) & this.hashRange;
+				while(this.objectIds[i] != 0)
+				{
+					i = i + 1 & this.hashRange;
+				}
+				this.objectIds[i]    = objectIds[o];
+				this.fingerprints[i] = fingerprints[o];
+				this.states[i]       = state;
+				this.size++;
+			}
+		}
+
+		final synchronized boolean claim(
+			final long           objectId         ,
+			final long           fingerprint      ,
+			final long           entityTotalLength,
+			final Update.Default update
+		)
+		{
+			this.checkedEntityCount++;
+
+			int i = this.lookupIndex(objectId);
+			if(i < 0 && (i = this.insertIndex(objectId, STATE_INVALID)) < 0)
+			{
+				// no room left, so the entity is simply written without keeping track of it.
+				return true;
+			}
+
+			final int state = this.states[i];
+			if((state & ~FLAG_REFERENCED) == STATE_VALID && this.fingerprints[i] == fingerprint)
+			{
+				this.states[i] = FLAG_REFERENCED;
+				this.skippedEntityCount++;
+				this.skippedByteCount += entityTotalLength;
+				return false;
+			}
+
+			// a second concurrent writer makes the entity's final content unknown. Otherwise, it starts out fresh.
+			this.states[i] = (state & MASK_WRITERS) != 0
+				? (state | STATE_CONFLICT) + 1
+				: FLAG_REFERENCED | 1
+			;
+			update.add(objectId, fingerprint);
+
+			return true;
+		}
+
+		final synchronized void complete(
+			final long[]  objectIds   ,
+			final long[]  fingerprints,
+			final int     count       ,
+			final boolean successful
+		)
+		{
+			// completed entries can be evicted again.
+			this.full = false;
+			for(int c = 0; c < count; c++)
+			{
+				// entries being written are never evicted, so every claimed entry is still present.
+				final int i = this.lookupIndex(objectIds[c]);
+				final int state = this.states[i];
+				final int writers = (state & MASK_WRITERS) - 1;
+				if(writers != 0)
+				{
+					// a failed writer leaves the content unknown as well.
+					this.states[i] = (state & (STATE_CONFLICT | FLAG_REFERENCED)) | writers
+						| (successful ? 0 : STATE_CONFLICT)
+					;
+				}
+				else if(successful && (state & STATE_CONFLICT) == 0)
+				{
+					this.fingerprints[i] = fingerprints[c];
+					this.states[i]       = STATE_VALID | state & FLAG_REFERENCED;
+				}
+				else
+				{
+					this.states[i] = STATE_INVALID | state & FLAG_REFERENCED;
+				}
+			}
+		}
+
+		@Override
+		public final Update removeUnchangedEntities(final ChunksBuffer[] chunks)
+		{
+			final Update.Default update = new Update.Default(this);
+			for(final ChunksBuffer chunk : chunks)
+			{
+				chunk.removeEntities((address, length, objectId) ->
+				{
+					// hashing is done outside the lock
+					return this.claim(objectId, fingerprint(address, length), length, update);
+				});
+			}
+
+			return update;
+		}
+
+		@Override
+		public final void seedEntity(final long entityAddress, final long entityTotalLength, final long objectId)
+		{
+			final long fingerprint = fingerprint(entityAddress, entityTotalLength);
+			synchronized(this)
+			{
+				// known entries are either valid already or are being written, so the loaded data might be outdated.
+				if(this.lookupIndex(objectId) >= 0)
+				{
+					return;
+				}
+
+				final int i = this.insertIndex(objectId, STATE_VALID);
+				if(i >= 0)
+				{
+					this.fingerprints[i] = fingerprint;
+				}
+			}
+		}
+
+		@Override
+		public final synchronized void retainObjectIds(final _longPredicate objectIdsSelector)
+		{
+			this.rebuild(this.objectIds.length, false, objectIdsSelector);
+			this.full = false;
+		}
+
+		@Override
+		public final synchronized long size()
+		{
+			return this.size;
+		}
+
+		@Override
+		public final synchronized long checkedEntityCount()
+		{
+			return this.checkedEntityCount;
+		}
+
+		@Override
+		public final synchronized long skippedEntityCount()
+		{
+			return this.skippedEntityCount;
+		}
+
+		@Override
+		public final synchronized long skippedByteCount()
+		{
+			return this.skippedByteCount;
+		}
+
+	}
+
+}
@@ -0,0 +1,187 @@
+package one.microstream.persistence.binary.types;
+
+/*-
+ * #%L
+ * microstream-persistence-binary
+ * %%
+ * Copyright (C) 2019 - 2022 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+import one.microstream.X;
+import one.microstream.persistence.binary.internal.AbstractBinaryHandlerCustomCollection;
+import one.microstream.persistence.types.Persistence;
+import one.microstream.persistence.types.PersistenceFunction;
+import one.microstream.persistence.types.PersistenceLoadHandler;
+import one.microstream.persistence.types.PersistenceReferenceLoader;
+import one.microstream.persistence.types.PersistenceStoreHandler;
+
+
+public final class BinaryHandlerCollectionSegment
+extends AbstractBinaryHandlerCustomCollection<BinaryCollectionSegment>
+{
+	///////////////////////////////////////////////////////////////////////////
+	// constants //
+	//////////////
+
+	static final long BINARY_OFFSET_ELEMENTS = 0;
+
+
+
+	///////////////////////////////////////////////////////////////////////////
+	// static methods //
+	///////////////////
+
+	public static BinaryHandlerCollectionSegment New()
+	{
+		return new BinaryHandlerCollectionSegment(false);
+	}
+
+	/**
+	 * Creates a handler that stores the segment's elements as a compact reference list,
+	 * see {@link Binary#storeCompactReferenceList(long, long[])}.
+	 *
+	 * @return a new handler for the compact format.
+	 */
+	public static BinaryHandlerCollectionSegment NewCompact()
+	{
+		return new BinaryHandlerCollectionSegment(true);
+	}
+
+
+
+	///////////////////////////////////////////////////////////////////////////
+	// instance fields //
+	////////////////////
+
+	private final boolean compact;
+
+
+
+	///////////////////////////////////////////////////////////////////////////
+	// constructors //
+	/////////////////
+
+	BinaryHandlerCollectionSegment(final boolean compact)
+	{
+		super(
+			BinaryCollectionSegment.class,
+			compact
+				? CustomFields(references("elements"))
+				: SimpleArrayFields()
+		);
+		this.compact = compact;
+	}
+
+
+
+	///////////////////////////////////////////////////////////////////////////
+	// methods //
+	////////////
+
+	private int getElementCount(final Binary data)
+	{
+		return X.checkArrayRange(this.compact
+			? data.getCompactReferenceListElementCount(BINARY_OFFSET_ELEMENTS)
+			: data.getListElementCountReferences(BINARY_OFFSET_ELEMENTS)
+		);
+	}
+
+	@Override
+	public final void store(
+		final Binary                          data    ,
+		final BinaryCollectionSegment         instance,
+		final long                            objectId,
+		final PersistenceStoreHandler<Binary> handler
+	)
+	{
+		if(!this.compact)
+		{
+			data.storeReferences(
+				this.typeId()         ,
+				objectId              ,
+				BINARY_OFFSET_ELEMENTS,
+				handler               ,
+				instance.elements
+			);
+			return;
+		}
+
+		final long[] objectIds = new long[instance.elements.length];
+		for(int i = 0; i < objectIds.length; i++)
+		{
+			objectIds[i] = handler.apply(instance.elements[i]);
+		}
+		data.storeEntityHeader(
+			BINARY_OFFSET_ELEMENTS + Binary.calculateCompactReferenceListTotalBinaryLength(objectIds),
+			this.typeId(),
+			objectId
+		);
+		data.storeCompactReferenceList(BINARY_OFFSET_ELEMENTS, objectIds);
+	}
+
+	@Override
+	public final BinaryCollectionSegment create(final Binary data, final PersistenceLoadHandler handler)
+	{
+		return new BinaryCollectionSegment(new Object[this.getElementCount(data)]);
+	}
+
+	@Override
+	public final void updateState(
+		final Binary                  data    ,
+		final BinaryCollectionSegment instance,
+		final PersistenceLoadHandler  handler
+	)
+	{
+		final int elementCount = this.getElementCount(data);
+		if(instance.elements.length != elementCount)
+		{
+			instance.elements = new Object[elementCount];
+		}
+
+		// all elements are collected here, the segmented collection handlers populate their instances on completion.
+		if(this.compact)
+		{
+			data.collectCompactReferenceList(BINARY_OFFSET_ELEMENTS, handler, instance.elements);
+		}
+		else
+		{
+			data.collectElementsIntoArray(BINARY_OFFSET_ELEMENTS, handler, instance.elements);
+		}
+	}
+
+	@Override
+	public final void iterateInstanceReferences(
+		final BinaryCollectionSegment instance,
+		final PersistenceFunction     iterator
+	)
+	{
+		Persistence.iterateReferences(iterator, instance.elements, 0, instance.elements.length);
+	}
+
+	@Override
+	public final void iterateLoadableReferences(final Binary data, final PersistenceReferenceLoader iterator)
+	{
+		if(this.compact)
+		{
+			data.iterateCompactReferenceList(BINARY_OFFSET_ELEMENTS, iterator);
+		}
+		else
+		{
+			data.iterateListElementReferences(BINARY_OFFSET_ELEMENTS, iterator);
+		}
+	}
+
+}
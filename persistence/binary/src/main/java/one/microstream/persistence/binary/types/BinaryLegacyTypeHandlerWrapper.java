@@ -0,0 +1,132 @@
+package one.microstream.persistence.binary.types;
+
+/*-
+ * #%L
+ * microstream-persistence-binary
+ * %%
+ * Copyright (C) 2019 - 2022 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+import static one.microstream.X.notNull;
+
+import java.util.function.Consumer;
+
+import one.microstream.persistence.types.PersistenceFunction;
+import one.microstream.persistence.types.PersistenceLoadHandler;
+import one.microstream.persistence.types.PersistenceReferenceLoader;
+
+/**
+ * Legacy type handler that reads data of a previous binary format with a handler for that format, e.g. the
+ * default handler of a type that has been replaced by a custom handler with a different binary format.
+ * <p>
+ * An instance is registered as a custom legacy type handler and is matched to the legacy type by structure.
+ *
+ * @param <T> the handled type.
+ */
+public final class BinaryLegacyTypeHandlerWrapper<T> extends BinaryLegacyTypeHandler.AbstractCustom<T>
+{
+	///////////////////////////////////////////////////////////////////////////
+	// static methods //
+	///////////////////
+
+	public static <T> BinaryLegacyTypeHandlerWrapper<T> New(final BinaryTypeHandler<T> previousFormatHandler)
+	{
+		return new BinaryLegacyTypeHandlerWrapper<>(
+			notNull(previousFormatHandler)
+		);
+	}
+
+
+
+	///////////////////////////////////////////////////////////////////////////
+	// instance fields //
+	////////////////////
+
+	private final BinaryTypeHandler<T> previousFormatHandler;
+
+
+
+	///////////////////////////////////////////////////////////////////////////
+	// constructors //
+	/////////////////
+
+	BinaryLegacyTypeHandlerWrapper(final BinaryTypeHandler<T> previousFormatHandler)
+	{
+		super(previousFormatHandler.type(), previousFormatHandler.instanceMembers());
+		this.previousFormatHandler = previousFormatHandler;
+	}
+
+
+
+	///////////////////////////////////////////////////////////////////////////
+	// methods //
+	////////////
+
+	@Override
+	public final boolean hasPersistedReferences()
+	{
+		return this.previousFormatHandler.hasPersistedReferences();
+	}
+
+	@Override
+	public final boolean hasPersistedVariableLength()
+	{
+		return this.previousFormatHandler.hasPersistedVariableLength();
+	}
+
+	@Override
+	public final boolean hasVaryingPersistedLengthInstances()
+	{
+		return this.previousFormatHandler.hasVaryingPersistedLengthInstances();
+	}
+
+	@Override
+	public final T create(final Binary data, final PersistenceLoadHandler handler)
+	{
+		return this.previousFormatHandler.create(data, handler);
+	}
+
+	@Override
+	public final void updateState(final Binary data, final T instance, final PersistenceLoadHandler handler)
+	{
+		this.previousFormatHandler.updateState(data, instance, handler);
+	}
+
+	@Override
+	public final void complete(final Binary data, final T instance, final PersistenceLoadHandler handler)
+	{
+		this.previousFormatHandler.complete(data, instance, handler);
+	}
+
+	@Override
+	public final void iterateInstanceReferences(final T instance, final PersistenceFunction iterator)
+	{
+		this.previousFormatHandler.iterateInstanceReferences(instance, iterator);
+	}
+
+	@Override
+	public final void iterateLoadableReferences(final Binary data, final PersistenceReferenceLoader iterator)
+	{
+		this.previousFormatHandler.iterateLoadableReferences(data, iterator);
+	}
+
+	@Override
+	public final <C extends Consumer<? super Class<?>>> C iterateMemberTypes(final C logic)
+	{
+		return this.previousFormatHandler.iterateMemberTypes(logic);
+	}
+
+}
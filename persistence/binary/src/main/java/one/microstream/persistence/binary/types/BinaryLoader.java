@@ -80,7 +80,8 @@ public interface BinaryLoader extends PersistenceLoader, PersistenceLoadHandler
 			notNull(persister),
 			notNull(sourceSupplier),
 			notNull(loadItems),
-			switchByteOrder
+			switchByteOrder,
+			null
 		);
 	}
 
@@ -107,6 +108,7 @@ public interface BinaryLoader extends PersistenceLoader, PersistenceLoadHandler
 		private final PersistenceSourceSupplier<Binary>    sourceSupplier   ;
 		private final LoadItemsChain                       loadItems        ;
 		private final boolean                              switchByteOrder  ;
+		private final BinaryEntityFingerprints             fingerprints     ;
 		
 		private final BulkList<XGettingCollection<? extends Binary>> anchor = new BulkList<>();
 		
@@ -137,7 +139,8 @@ public interface BinaryLoader extends PersistenceLoader, PersistenceLoadHandler
 			final Persister                            persister      ,
 			final PersistenceSourceSupplier<Binary>    sourceSupplier ,
 			final LoadItemsChain                       loadItems      ,
-			final boolean                              switchByteOrder
+			final boolean                              switchByteOrder,
+			final BinaryEntityFingerprints             fingerprints
 		)
 		{
 			super();
@@ -147,6 +150,7 @@ public interface BinaryLoader extends PersistenceLoader, PersistenceLoadHandler
 			this.sourceSupplier    = sourceSupplier ;
 			this.loadItems         = loadItems      ;
 			this.switchByteOrder   = switchByteOrder;
+			this.fingerprints      = fingerprints   ;
 		}
 
 
@@ -164,6 +168,11 @@ public interface BinaryLoader extends PersistenceLoader, PersistenceLoadHandler
 		@Override
 		public void readBinaryEntities(final ByteBuffer entitiesData)
 		{
+			if(this.fingerprints != null)
+			{
+				this.seedFingerprints(entitiesData);
+			}
+			
 			if(this.switchByteOrder)
 			{
 				this.internalReadBinaryEntitiesByteReversing(entitiesData);
@@ -202,6 +211,30 @@ public interface BinaryLoader extends PersistenceLoader, PersistenceLoadHandler
 			}
 		}
 		
+		private void seedFingerprints(final ByteBuffer entitiesData)
+		{
+			final long startAddress = XMemory.getDirectByteBufferAddress(entitiesData);
+			final long boundAddress = startAddress + entitiesData.limit();
+			
+			for(long address = startAddress, length; address < boundAddress; address += length)
+			{
+				if(this.switchByteOrder)
+				{
+					length = Long.reverseBytes(Binary.getEntityLengthRawValue(address));
+					this.fingerprints.seedEntity(
+						address,
+						length,
+						Long.reverseBytes(Binary.getEntityObjectIdRawValue(address))
+					);
+				}
+				else
+				{
+					length = Binary.getEntityLengthRawValue(address);
+					this.fingerprints.seedEntity(address, length, Binary.getEntityObjectIdRawValue(address));
+				}
+			}
+		}
+		
 		// at some point, a nasty cast from ? to Object is necessary. Safety guaranteed by logic.
 		@SuppressWarnings("unchecked")
 		private static PersistenceTypeHandler<Binary, Object> damnTypeErasure(
@@ -929,7 +962,8 @@ public interface BinaryLoader extends PersistenceLoader, PersistenceLoadHandler
 		// instance fields //
 		////////////////////
 		
-		private final boolean switchByteOrder;
+		private final boolean                  switchByteOrder;
+		private final BinaryEntityFingerprints fingerprints   ;
 		
 		
 		
@@ -938,9 +972,15 @@ public interface BinaryLoader extends PersistenceLoader, PersistenceLoadHandler
 		/////////////////
 		
 		CreatorSimple(final boolean switchByteOrder)
+		{
+			this(switchByteOrder, null);
+		}
+		
+		CreatorSimple(final boolean switchByteOrder, final BinaryEntityFingerprints fingerprints)
 		{
 			super();
 			this.switchByteOrder = switchByteOrder;
+			this.fingerprints    = fingerprints   ;
 		}
 
 
@@ -963,7 +1003,8 @@ public interface BinaryLoader extends PersistenceLoader, PersistenceLoadHandler
 				persister,
 				source,
 				new LoadItemsChain.Simple(),
-				this.switchByteOrder
+				this.switchByteOrder,
+				this.fingerprints
 			);
 		}
 
@@ -979,6 +1020,7 @@ public interface BinaryLoader extends PersistenceLoader, PersistenceLoadHandler
 
 		private final boolean                    switchByteOrder     ;
 		private final BinaryChannelCountProvider channelCountProvider;
+		private final BinaryEntityFingerprints   fingerprints        ;
 
 
 
@@ -990,10 +1032,20 @@ public interface BinaryLoader extends PersistenceLoader, PersistenceLoadHandler
 			final BinaryChannelCountProvider channelCountProvider,
 			final boolean                    switchByteOrder
 		)
+		{
+			this(channelCountProvider, switchByteOrder, null);
+		}
+
+		public CreatorChannelHashing(
+			final BinaryChannelCountProvider channelCountProvider,
+			final boolean                    switchByteOrder     ,
+			final BinaryEntityFingerprints   fingerprints
+		)
 		{
 			super();
 			this.switchByteOrder      = switchByteOrder     ;
 			this.channelCountProvider = channelCountProvider;
+			this.fingerprints         = fingerprints        ;
 		}
 
 
@@ -1016,7 +1068,8 @@ public interface BinaryLoader extends PersistenceLoader, PersistenceLoadHandler
 				persister,
 				sourceSupplier,
 				new LoadItemsChain.ChannelHashing(this.channelCountProvider.getChannelCount()),
-				this.switchByteOrder
+				this.switchByteOrder,
+				this.fingerprints
 			);
 		}
 
@@ -24,8 +24,10 @@ import java.lang.reflect.Field;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.Optional;
+import java.util.ServiceLoader;
 
 import one.microstream.afs.types.AFile;
+import one.microstream.collections.BulkList;
 import one.microstream.collections.ConstList;
 import one.microstream.collections.types.XGettingCollection;
 import one.microstream.collections.types.XGettingSequence;
@@ -103,6 +105,8 @@ import one.microstream.persistence.binary.java.util.concurrent.BinaryHandlerConc
 import one.microstream.persistence.binary.java.util.concurrent.BinaryHandlerConcurrentSkipListSet;
 import one.microstream.persistence.binary.java.util.regex.BinaryHandlerPattern;
 import one.microstream.persistence.binary.one.microstream.collections.BinaryHandlerBulkList;
+import one.microstream.persistence.binary.one.microstream.collections.BinaryHandlerCompactBulkList;
+import one.microstream.persistence.binary.one.microstream.collections.BinaryHandlerCompactEqHashTable;
 import one.microstream.persistence.binary.one.microstream.collections.BinaryHandlerConstHashEnum;
 import one.microstream.persistence.binary.one.microstream.collections.BinaryHandlerConstHashTable;
 import one.microstream.persistence.binary.one.microstream.collections.BinaryHandlerConstList;
@@ -112,14 +116,30 @@ import one.microstream.persistence.binary.one.microstream.collections.BinaryHand
 import one.microstream.persistence.binary.one.microstream.collections.BinaryHandlerEqHashEnum;
 import one.microstream.persistence.binary.one.microstream.collections.BinaryHandlerEqHashTable;
 import one.microstream.persistence.binary.one.microstream.collections.BinaryHandlerFixedList;
+import one.microstream.persistence.binary.one.microstream.collections.BinaryHandlerFlatEqHashTable;
+import one.microstream.persistence.binary.one.microstream.collections.BinaryHandlerFlatHashEnum;
 import one.microstream.persistence.binary.one.microstream.collections.BinaryHandlerHashEnum;
+import one.microstream.persistence.binary.one.microstream.collections.BinaryHandlerHashMap_long_Object;
+import one.microstream.persistence.binary.one.microstream.collections.BinaryHandlerHashMap_long_long;
+import one.microstream.persistence.binary.one.microstream.collections.BinaryHandlerHashSet_long;
 import one.microstream.persistence.binary.one.microstream.collections.BinaryHandlerHashTable;
 import one.microstream.persistence.binary.one.microstream.collections.BinaryHandlerLimitList;
+import one.microstream.persistence.binary.one.microstream.collections.BinaryHandlerSegmentedBulkList;
+import one.microstream.persistence.binary.one.microstream.collections.BinaryHandlerSegmentedEqHashTable;
 import one.microstream.persistence.binary.one.microstream.collections.BinaryHandlerSingleton;
+import one.microstream.persistence.binary.one.microstream.collections.BinaryHandler_doubleList;
+import one.microstream.persistence.binary.one.microstream.collections.BinaryHandler_intList;
+import one.microstream.persistence.binary.one.microstream.collections.BinaryHandler_longList;
+import one.microstream.persistence.binary.one.microstream.collections.indexing.BinaryHandlerHashIndex;
+import one.microstream.persistence.binary.one.microstream.collections.indexing.BinaryHandlerIndexedCollection;
+import one.microstream.persistence.binary.one.microstream.collections.indexing.BinaryHandlerSortedIndex;
 import one.microstream.persistence.binary.one.microstream.collections.lazy.BinaryHandlerLazyArrayList;
 import one.microstream.persistence.binary.one.microstream.collections.lazy.BinaryHandlerLazyHashMap;
 import one.microstream.persistence.binary.one.microstream.collections.lazy.BinaryHandlerLazyHashMapSegmentEntryList;
 import one.microstream.persistence.binary.one.microstream.collections.lazy.BinaryHandlerLazyHashSet;
+import one.microstream.persistence.binary.one.microstream.collections.lazy.BinaryHandlerLazyTreeMap;
+import one.microstream.persistence.binary.one.microstream.collections.lazy.BinaryHandlerLazyTreeMapInner;
+import one.microstream.persistence.binary.one.microstream.collections.lazy.BinaryHandlerLazyTreeMapLeaf;
 import one.microstream.persistence.binary.one.microstream.reference.BinaryHandlerLazyDefault;
 import one.microstream.persistence.binary.one.microstream.reference.BinaryHandlerControlledLazy;
 import one.microstream.persistence.binary.one.microstream.util.BinaryHandlerSubstituterDefault;
@@ -127,6 +147,7 @@ import one.microstream.persistence.internal.PersistenceTypeDictionaryFileHandler
 import one.microstream.persistence.types.Persistence;
 import one.microstream.persistence.types.PersistenceCustomTypeHandlerRegistry;
 import one.microstream.persistence.types.PersistenceFunction;
+import one.microstream.persistence.types.PersistenceLegacyTypeHandler;
 import one.microstream.persistence.types.PersistenceSizedArrayLengthController;
 import one.microstream.persistence.types.PersistenceTypeDictionary;
 import one.microstream.persistence.types.PersistenceTypeHandler;
@@ -158,6 +179,42 @@ public final class BinaryPersistence extends Persistence
 		final PersistenceTypeHandlerCreator<Binary>                           typeHandlerCreator,
 		final XGettingCollection<? extends PersistenceTypeHandler<Binary, ?>> customHandlers
 	)
+	{
+		return createDefaultCustomTypeHandlerRegistry(
+			typeHandlerManager,
+			controller        ,
+			typeHandlerCreator,
+			customHandlers    ,
+			null
+		);
+	}
+
+	public static final PersistenceCustomTypeHandlerRegistry<Binary> createDefaultCustomTypeHandlerRegistry(
+		final Referencing<PersistenceTypeHandlerManager<Binary>>              typeHandlerManager,
+		final PersistenceSizedArrayLengthController                           controller        ,
+		final PersistenceTypeHandlerCreator<Binary>                           typeHandlerCreator,
+		final XGettingCollection<? extends PersistenceTypeHandler<Binary, ?>> customHandlers    ,
+		final BinaryCollectionSegmentation                                    segmentation
+	)
+	{
+		return createDefaultCustomTypeHandlerRegistry(
+			typeHandlerManager,
+			controller        ,
+			typeHandlerCreator,
+			customHandlers    ,
+			segmentation      ,
+			false
+		);
+	}
+
+	public static final PersistenceCustomTypeHandlerRegistry<Binary> createDefaultCustomTypeHandlerRegistry(
+		final Referencing<PersistenceTypeHandlerManager<Binary>>              typeHandlerManager,
+		final PersistenceSizedArrayLengthController                           controller        ,
+		final PersistenceTypeHandlerCreator<Binary>                           typeHandlerCreator,
+		final XGettingCollection<? extends PersistenceTypeHandler<Binary, ?>> customHandlers    ,
+		final BinaryCollectionSegmentation                                    segmentation      ,
+		final boolean                                                         compactReferences
+	)
 	{
 		/* (16.10.2019 TM)NOTE:
 		 * Native handlers are split into value and referencing types since plugins that handle references
@@ -177,12 +234,58 @@ public final class BinaryPersistence extends Persistence
 			.registerTypeHandlers(nativeHandlersReferencingTypes)
 			.registerTypeHandlers(defaultCustomHandlers(controller))
 			.registerTypeHandlers(lazyCollectionsHandlers())
+		;
+		defaultCustomTypeHandlerRegistry.registerLegacyTypeHandlers(lazyCollectionsLegacyHandlers());
+		if(segmentation != null)
+		{
+			// the replaced handlers' format is kept readable as a legacy type.
+			defaultCustomTypeHandlerRegistry
+				.registerTypeHandlers(segmentedCollectionsHandlers(segmentation, compactReferences))
+				.registerLegacyTypeHandlers(segmentedCollectionsLegacyHandlers(controller))
+			;
+			if(compactReferences)
+			{
+				defaultCustomTypeHandlerRegistry.registerLegacyTypeHandler(
+					BinaryLegacyTypeHandlerWrapper.New(BinaryHandlerCollectionSegment.New())
+				);
+			}
+		}
+		else if(compactReferences)
+		{
+			// the previous format of the replaced handlers is the same as for the segmented handlers.
+			defaultCustomTypeHandlerRegistry
+				.registerTypeHandlers(compactCollectionsHandlers())
+				.registerLegacyTypeHandlers(segmentedCollectionsLegacyHandlers(controller))
+			;
+		}
+		defaultCustomTypeHandlerRegistry
+			.registerTypeHandlers(generatedTypeHandlers())
 			.registerTypeHandlers(customHandlers)
 		;
 
 		return defaultCustomTypeHandlerRegistry;
 	}
 
+	/**
+	 * Loads the type handlers that have been generated at compile time for classes annotated with
+	 * {@link GenerateBinaryTypeHandler}. The annotation processor lists them as {@link BinaryTypeHandler}
+	 * service implementations, so they are found by the {@link ServiceLoader} of the current thread's
+	 * context class loader. Explicitly registered custom type handlers take precedence.
+	 *
+	 * @return the generated type handlers.
+	 */
+	@SuppressWarnings("rawtypes")
+	public static final XGettingSequence<? extends PersistenceTypeHandler<Binary, ?>> generatedTypeHandlers()
+	{
+		final BulkList<BinaryTypeHandler<?>> generatedTypeHandlers = BulkList.New();
+		for(final BinaryTypeHandler handler : ServiceLoader.load(BinaryTypeHandler.class))
+		{
+			generatedTypeHandlers.add(handler);
+		}
+
+		return generatedTypeHandlers;
+	}
+
 	static final void initializeNativeTypeId(
 		final PersistenceTypeHandler<Binary, ?> typeHandler       ,
 		final PersistenceTypeIdLookup           nativeTypeIdLookup
@@ -372,12 +475,22 @@ public final class BinaryPersistence extends Persistence
 			BinaryHandlerConstHashTable.New()       ,
 			BinaryHandlerEqHashTable.New()          ,
 			BinaryHandlerEqConstHashTable.New()     ,
+			BinaryHandlerFlatHashEnum.New()         ,
+			BinaryHandlerFlatEqHashTable.New()      ,
 			BinaryHandlerSingleton.New()            ,
+			BinaryHandler_intList.New()             ,
+			BinaryHandler_longList.New()            ,
+			BinaryHandler_doubleList.New()          ,
+			BinaryHandlerHashSet_long.New()         ,
+			BinaryHandlerHashMap_long_long.New()    ,
+			BinaryHandlerHashMap_long_Object.New()  ,
+			BinaryHandlerIndexedCollection.New()    ,
+			BinaryHandlerHashIndex.New()            ,
+			BinaryHandlerSortedIndex.New()          ,
 			BinaryHandlerSubstituterDefault.New()
 			/* (29.10.2013 TM)TODO: more MicroStream default custom handlers
 			 * - VarString
 			 * - VarByte
-			 * - _intList etc.
 			 */
 		);
 
@@ -392,11 +505,70 @@ public final class BinaryPersistence extends Persistence
 			BinaryHandlerLazyHashMap.New(),
 			BinaryHandlerLazyHashMapSegmentEntryList.New(),
 			BinaryHandlerLazyHashSet.New(),
+			BinaryHandlerLazyTreeMap.New(),
+			BinaryHandlerLazyTreeMapLeaf.New(),
+			BinaryHandlerLazyTreeMapInner.New(),
 			BinaryHandlerControlledLazy.New()
 		);
 		
 		return lazyCollectionsHandlers;
 	}
+	
+	public static final XGettingSequence<? extends PersistenceLegacyTypeHandler<Binary, ?>> lazyCollectionsLegacyHandlers()
+	{
+		// LazyHashMap data stored before the segments got bloom filters.
+		final ConstList<? extends PersistenceLegacyTypeHandler<Binary, ?>> lazyCollectionsLegacyHandlers = ConstList.New(
+			BinaryLegacyTypeHandlerWrapper.New(BinaryHandlerLazyHashMap.NewUnfiltered())
+		);
+		
+		return lazyCollectionsLegacyHandlers;
+	}
+
+	public static final XGettingSequence<? extends PersistenceTypeHandler<Binary, ?>> segmentedCollectionsHandlers(
+		final BinaryCollectionSegmentation segmentation
+	)
+	{
+		return segmentedCollectionsHandlers(segmentation, false);
+	}
+
+	public static final XGettingSequence<? extends PersistenceTypeHandler<Binary, ?>> segmentedCollectionsHandlers(
+		final BinaryCollectionSegmentation segmentation     ,
+		final boolean                      compactReferences
+	)
+	{
+		final ConstList<? extends PersistenceTypeHandler<Binary, ?>> segmentedCollectionsHandlers = ConstList.New(
+			compactReferences
+				? BinaryHandlerCollectionSegment.NewCompact()
+				: BinaryHandlerCollectionSegment.New()       ,
+			BinaryHandlerSegmentedBulkList.New(segmentation) ,
+			BinaryHandlerSegmentedEqHashTable.New(segmentation)
+		);
+
+		return segmentedCollectionsHandlers;
+	}
+
+	public static final XGettingSequence<? extends PersistenceTypeHandler<Binary, ?>> compactCollectionsHandlers()
+	{
+		final ConstList<? extends PersistenceTypeHandler<Binary, ?>> compactCollectionsHandlers = ConstList.New(
+			BinaryHandlerCompactBulkList.New(),
+			BinaryHandlerCompactEqHashTable.New()
+		);
+
+		return compactCollectionsHandlers;
+	}
+
+	public static final XGettingSequence<? extends PersistenceLegacyTypeHandler<Binary, ?>>
+	segmentedCollectionsLegacyHandlers(final PersistenceSizedArrayLengthController controller)
+	{
+		final ConstList<? extends PersistenceLegacyTypeHandler<Binary, ?>> segmentedCollectionsLegacyHandlers =
+			ConstList.New(
+				BinaryLegacyTypeHandlerWrapper.New(BinaryHandlerBulkList.New(controller)),
+				BinaryLegacyTypeHandlerWrapper.New(BinaryHandlerEqHashTable.New())
+			)
+		;
+
+		return segmentedCollectionsLegacyHandlers;
+	}
 
 	public static final long resolveFieldBinaryLength(final Class<?> fieldType)
 	{
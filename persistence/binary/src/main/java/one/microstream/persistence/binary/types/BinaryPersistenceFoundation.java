@@ -53,6 +53,44 @@ extends PersistenceFoundation<Binary, F>
 	public BinaryValueTranslatorMappingProvider getValueTranslatorMappingProvider();
 	
 	public BinaryValueTranslatorProvider getValueTranslatorProvider();
+	
+	/**
+	 * Returns the configuration of the parallel serialization of large graphs by the created storers
+	 * or {@literal null} if graphs are always stored serially, which is the default.
+	 * 
+	 * @return the currently set {@link BinaryStorerParallelism} or {@literal null}.
+	 * 
+	 * @see BinaryStorerParallelism
+	 */
+	public BinaryStorerParallelism getStorerParallelism();
+	
+	/**
+	 * Returns the fingerprints of the persisted entities that are used to skip writing unchanged entities
+	 * or {@literal null} if all stored entities are always written, which is the default.
+	 * 
+	 * @return the currently set {@link BinaryEntityFingerprints} or {@literal null}.
+	 * 
+	 * @see BinaryEntityFingerprints
+	 */
+	public BinaryEntityFingerprints getEntityFingerprints();
+	
+	/**
+	 * Returns the segmented handling mode for large collections or {@literal null} if collections are
+	 * persisted as one entity each, which is the default.
+	 * 
+	 * @return the currently set {@link BinaryCollectionSegmentation} or {@literal null}.
+	 * 
+	 * @see BinaryCollectionSegmentation
+	 */
+	public BinaryCollectionSegmentation getCollectionSegmentation();
+	
+	/**
+	 * Returns whether the reference lists of collections are persisted in the compact format of variable length
+	 * object id deltas instead of fixed length object ids. The default is {@literal false}.
+	 * 
+	 * @return whether compact reference lists are written.
+	 */
+	public boolean isCompactReferences();
 			
 	
 	
@@ -72,6 +110,61 @@ extends PersistenceFoundation<Binary, F>
 		BinaryValueTranslatorMappingProvider valueTranslatorMappingProvider
 	);
 	
+	/**
+	 * Sets the configuration of the parallel serialization of large graphs by the created storers.
+	 * {@literal null} means that graphs are always stored serially.
+	 * 
+	 * @param storerParallelism the {@link BinaryStorerParallelism} to be used or {@literal null}.
+	 * 
+	 * @return {@literal this} to allow method chaining.
+	 * 
+	 * @see BinaryStorerParallelism
+	 */
+	public F setStorerParallelism(
+		BinaryStorerParallelism storerParallelism
+	);
+	
+	/**
+	 * Sets the fingerprints of the persisted entities that are used to skip writing unchanged entities.
+	 * {@literal null} means that all stored entities are always written.
+	 * 
+	 * @param entityFingerprints the {@link BinaryEntityFingerprints} to be used or {@literal null}.
+	 * 
+	 * @return {@literal this} to allow method chaining.
+	 * 
+	 * @see BinaryEntityFingerprints
+	 */
+	public F setEntityFingerprints(
+		BinaryEntityFingerprints entityFingerprints
+	);
+	
+	/**
+	 * Sets the segmented handling mode for large collections.
+	 * {@literal null} means that collections are persisted as one entity each.
+	 * 
+	 * @param collectionSegmentation the {@link BinaryCollectionSegmentation} to be used or {@literal null}.
+	 * 
+	 * @return {@literal this} to allow method chaining.
+	 * 
+	 * @see BinaryCollectionSegmentation
+	 */
+	public F setCollectionSegmentation(
+		BinaryCollectionSegmentation collectionSegmentation
+	);
+	
+	/**
+	 * Sets whether the reference lists of collections are persisted in the compact format of variable length
+	 * object id deltas. Data written in the fixed length format remains readable in both modes, but data written
+	 * in the compact format can only be read with compact references switched on.
+	 * 
+	 * @param compactReferences whether compact reference lists are written.
+	 * 
+	 * @return {@literal this} to allow method chaining.
+	 */
+	public F setCompactReferences(
+		boolean compactReferences
+	);
+	
 	@Override
 	public PersistenceManager<Binary> createPersistenceManager();
 
@@ -94,6 +187,10 @@ extends PersistenceFoundation<Binary, F>
 		private XEnum<BinaryValueTranslatorKeyBuilder> translatorKeyBuilders  ;
 		private BinaryValueTranslatorMappingProvider   valueTranslatorMapping ;
 		private BinaryValueTranslatorProvider          valueTranslatorProvider;
+		private BinaryStorerParallelism                storerParallelism      ;
+		private BinaryEntityFingerprints               entityFingerprints     ;
+		private BinaryCollectionSegmentation           collectionSegmentation ;
+		private boolean                                compactReferences      ;
 		
 		
 		
@@ -168,6 +265,33 @@ extends PersistenceFoundation<Binary, F>
 			return this.valueTranslatorProvider;
 		}
 		
+		@Override
+		public BinaryStorerParallelism getStorerParallelism()
+		{
+			// intentionally no ensuring, null means storing serially.
+			return this.storerParallelism;
+		}
+		
+		@Override
+		public BinaryEntityFingerprints getEntityFingerprints()
+		{
+			// intentionally no ensuring, null means writing all entities.
+			return this.entityFingerprints;
+		}
+		
+		@Override
+		public BinaryCollectionSegmentation getCollectionSegmentation()
+		{
+			// intentionally no ensuring, null means not segmenting collections.
+			return this.collectionSegmentation;
+		}
+		
+		@Override
+		public boolean isCompactReferences()
+		{
+			return this.compactReferences;
+		}
+		
 		
 		
 		///////////////////////////////////////////////////////////////////////////
@@ -202,6 +326,34 @@ extends PersistenceFoundation<Binary, F>
 			return this.$();
 		}
 		
+		@Override
+		public F setStorerParallelism(final BinaryStorerParallelism storerParallelism)
+		{
+			this.storerParallelism = storerParallelism;
+			return this.$();
+		}
+		
+		@Override
+		public F setEntityFingerprints(final BinaryEntityFingerprints entityFingerprints)
+		{
+			this.entityFingerprints = entityFingerprints;
+			return this.$();
+		}
+		
+		@Override
+		public F setCollectionSegmentation(final BinaryCollectionSegmentation collectionSegmentation)
+		{
+			this.collectionSegmentation = collectionSegmentation;
+			return this.$();
+		}
+		
+		@Override
+		public F setCompactReferences(final boolean compactReferences)
+		{
+			this.compactReferences = compactReferences;
+			return this.$();
+		}
+		
 	
 
 		///////////////////////////////////////////////////////////////////////////
@@ -213,7 +365,9 @@ extends PersistenceFoundation<Binary, F>
 		{
 			return BinaryStorer.Creator(
 				() -> 1,
-				this.isByteOrderMismatch()
+				this.isByteOrderMismatch(),
+				this.getStorerParallelism(),
+				this.getEntityFingerprints()
 			);
 		}
 
@@ -221,7 +375,8 @@ extends PersistenceFoundation<Binary, F>
 		protected BinaryLoader.Creator ensureBuilderCreator()
 		{
 			return new BinaryLoader.CreatorSimple(
-				this.isByteOrderMismatch()
+				this.isByteOrderMismatch(),
+				this.getEntityFingerprints()
 			);
 		}
 
@@ -250,7 +405,9 @@ extends PersistenceFoundation<Binary, F>
 					rthm,
 					f.getSizedArrayLengthController(),
 					f.getTypeHandlerCreator(),
-					f.customTypeHandlers().values()
+					f.customTypeHandlers().values(),
+					foundation.getCollectionSegmentation(),
+					foundation.isCompactReferences()
 				);
 			};
 		}
@@ -31,6 +31,7 @@ import one.microstream.persistence.types.PersistenceObjectIdAcceptor;
 import one.microstream.persistence.types.PersistenceTypeDescriptionMember;
 import one.microstream.persistence.types.PersistenceTypeDescriptionMemberFieldGenericComplex;
 import one.microstream.persistence.types.PersistenceTypeDescriptionMemberFieldGenericVariableLength;
+import one.microstream.persistence.types.PersistenceTypeDictionary;
 import one.microstream.reflect.XReflect;
 
 
@@ -761,6 +762,59 @@ public interface BinaryReferenceTraverser
 
 		};
 
+		static final BinaryReferenceTraverser COMPACT_REFERENCES = new BinaryReferenceTraverser()
+		{
+			@Override
+			public final long apply(final long address, final PersistenceObjectIdAcceptor iterator)
+			{
+				return Binary.iterateCompactReferences(
+					Binary.toBinaryListElementsOffset(address),
+					address + XMemory.get_long(Binary.toBinaryListByteLengthOffset(address)),
+					iterator
+				);
+			}
+
+			@Override
+			public boolean isVariableLength()
+			{
+				return true;
+			}
+
+			@Override
+			public boolean hasReferences()
+			{
+				return true;
+			}
+
+		};
+
+		static final BinaryReferenceTraverser COMPACT_REFERENCES_REVERSED = new BinaryReferenceTraverser()
+		{
+			@Override
+			public final long apply(final long address, final PersistenceObjectIdAcceptor iterator)
+			{
+				// only the list header has to be reversed, the encoded references are single bytes
+				return Binary.iterateCompactReferences(
+					Binary.toBinaryListElementsOffset(address),
+					address + Long.reverseBytes(XMemory.get_long(Binary.toBinaryListByteLengthOffset(address))),
+					iterator
+				);
+			}
+
+			@Override
+			public boolean isVariableLength()
+			{
+				return true;
+			}
+
+			@Override
+			public boolean hasReferences()
+			{
+				return true;
+			}
+
+		};
+
 		static final BinaryReferenceTraverser skippingTraverser(final int length)
 		{
 			switch(length)
@@ -988,6 +1042,14 @@ public interface BinaryReferenceTraverser
 						)
 					);
 				}
+				else if(PersistenceTypeDictionary.isCompactReferencesType(member.typeName()))
+				{
+					this.traversers.add(
+						this.switchByteOrder
+							? Static.COMPACT_REFERENCES_REVERSED
+							: Static.COMPACT_REFERENCES
+					);
+				}
 				else if(member.hasReferences())
 				{
 					throw new BinaryPersistenceException(
@@ -21,14 +21,21 @@ package one.microstream.persistence.binary.types;
  */
 
 import static java.lang.System.identityHashCode;
+import static one.microstream.X.mayNull;
 import static one.microstream.X.notNull;
 import static one.microstream.chars.XChars.systemString;
 import static one.microstream.persistence.types.PersistenceLogging.STORER_CONTEXT;
 import static one.microstream.util.logging.Logging.LazyArg;
 import static one.microstream.util.logging.Logging.LazyArgInContext;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
 import org.slf4j.Logger;
 
+import one.microstream.collections.BulkList;
+import one.microstream.collections.types.XGettingEnum;
 import one.microstream.hashing.XHashing;
 import one.microstream.math.XMath;
 import one.microstream.persistence.types.PersistenceAcceptor;
@@ -104,6 +111,12 @@ public interface BinaryStorer extends PersistenceStorer
 		private final BufferSizeProviderIncremental bufferSizeProvider;
 		private final int                           chunksHashRange   ;
 		
+		// optional, null means always storing serially
+		private final BinaryStorerParallelism parallelism;
+		
+		// optional, null means always writing all entities
+		private final BinaryEntityFingerprints fingerprints;
+		
 		// cannot be final since every commit needs to pass an independent instance.
 		private ChunksBuffer[] chunks;
 		
@@ -146,7 +159,9 @@ public interface BinaryStorer extends PersistenceStorer
 			final PersistenceTarget<Binary>             target            ,
 			final BufferSizeProviderIncremental         bufferSizeProvider,
 			final int                                   channelCount      ,
-			final boolean                               switchByteOrder
+			final boolean                               switchByteOrder   ,
+			final BinaryStorerParallelism               parallelism       ,
+			final BinaryEntityFingerprints              fingerprints
 		)
 		{
 			super();
@@ -157,6 +172,8 @@ public interface BinaryStorer extends PersistenceStorer
 			this.bufferSizeProvider = notNull(bufferSizeProvider);
 			this.chunksHashRange    =         channelCount - 1   ;
 			this.switchByteOrder    =         switchByteOrder    ;
+			this.parallelism        = mayNull(parallelism)       ;
+			this.fingerprints       = mayNull(fingerprints)      ;
 			
 			this.defaultInitialize();
 		}
@@ -274,7 +291,12 @@ public interface BinaryStorer extends PersistenceStorer
 			 * or ultimately by the garbage collector (or by some tailored additional logic)
 			 */
 			
-			final ChunksBuffer[] chunks = this.chunks = new ChunksBuffer[this.chunksHashRange + 1];
+			this.chunks = this.createChunksBuffers();
+		}
+		
+		final ChunksBuffer[] createChunksBuffers()
+		{
+			final ChunksBuffer[] chunks = new ChunksBuffer[this.chunksHashRange + 1];
 			for(int i = 0; i < chunks.length; i++)
 			{
 				chunks[i] = this.switchByteOrder
@@ -282,6 +304,8 @@ public interface BinaryStorer extends PersistenceStorer
 					: ChunksBuffer.New(chunks, this.bufferSizeProvider)
 				;
 			}
+			
+			return chunks;
 		}
 
 		@Override
@@ -426,6 +450,12 @@ public interface BinaryStorer extends PersistenceStorer
 			// initial registration. After that, storing adds via recursion the graph and processing items iteratively.
 			rootOid = this.registerGuaranteed(notNull(root));
 
+			if(this.parallelism != null)
+			{
+				this.storeItemsParallel(this.tail);
+				return rootOid;
+			}
+
 			// process and collect required instances uniquely in item chain (graph recursion transformed to iteration)
 			for(Item item = this.tail; item != null; item = item.next)
 			{
@@ -435,7 +465,153 @@ public interface BinaryStorer extends PersistenceStorer
 
 			return rootOid;
 		}
-		
+
+		private void storeItemsParallel(final Item first)
+		{
+			final int minimumItemCount = this.parallelism.minimumItemCount();
+
+			// small graphs are stored serially right away, only large graphs are worth the discovery overhead.
+			Item item = first;
+			for(int i = 0; item != null && i < minimumItemCount; item = item.next, i++)
+			{
+				this.storeItem(item);
+			}
+
+			while(item != null)
+			{
+				final Item last = this.discoverItems(item);
+				this.storeItemsBatched(item, last);
+
+				// instances that have not been discovered have been registered by serially stored batches.
+				item = last.next;
+			}
+		}
+
+		private Item discoverItems(final Item first)
+		{
+			logger.debug("Discovering graph starting at {}", first.oid);
+
+			/*
+			 * Registers all instances reachable via the reported references in the same order as storing them
+			 * serially would, so the assigned OIDs are deterministic. The registered items get appended to the chain.
+			 */
+			Item last = first;
+			for(Item item = first; item != null; item = item.next)
+			{
+				item.typeHandler.iterateInstanceReferences(item.instance, this);
+				last = item;
+			}
+
+			return last;
+		}
+
+		private void storeItemsBatched(final Item first, final Item last)
+		{
+			final ForkJoinPool        pool           = this.parallelism.pool();
+			final int                 batchItemCount = this.parallelism.batchItemCount();
+			final BulkList<ItemBatch> batches        = BulkList.New();
+
+			// the batches must not be started before the chain is complete since they look up OIDs without locking.
+			int count = 0;
+			for(Item batchFirst = first, item = first; ; item = item.next)
+			{
+				if(++count == batchItemCount || item == last)
+				{
+					batches.add(new ItemBatch(this, batchFirst, item));
+					if(item == last)
+					{
+						break;
+					}
+					batchFirst = item.next;
+					count = 0;
+				}
+			}
+
+			logger.debug("Storing {} batches in parallel starting at {}", batches.size(), first.oid);
+
+			for(final ItemBatch batch : batches)
+			{
+				pool.execute(batch);
+			}
+
+			/*
+			 * Batches are appended in order as soon as they are done until a batch has to be stored serially.
+			 * Since that registers new instances, all remaining batches have to be done before.
+			 */
+			final long batchCount = batches.size();
+			long i = 0;
+			for(ItemBatch batch; i < batchCount && (batch = batches.at(i)).joinSuccessfully(); i++)
+			{
+				batch.appendTo(this.chunks);
+			}
+			for(long j = i + 1; j < batchCount; j++)
+			{
+				batches.at(j).join();
+			}
+			for(ItemBatch batch; i < batchCount; i++)
+			{
+				if((batch = batches.at(i)).isDiscarded())
+				{
+					batch.storeSerially();
+				}
+				else
+				{
+					batch.appendTo(this.chunks);
+				}
+			}
+		}
+
+		final long unsynchLookupOid(final Object object)
+		{
+			// only valid while the storing thread does not modify the items, i.e. while waiting for batches.
+			for(Item e = this.hashSlots[identityHashCode(object) & this.hashRange]; e != null; e = e.link)
+			{
+				if(e.instance == object)
+				{
+					return e.oid;
+				}
+			}
+
+			return Swizzling.notFoundId();
+		}
+
+		/**
+		 * Looks up the object id for the passed instance for storing it as a reference in a parallel batch.
+		 * Instances that have not been discovered beforehand cannot be registered concurrently without
+		 * compromising the deterministic OID order, so they cause the batch to be discarded.
+		 */
+		final long lookupBatchReferenceOid(final Object instance, final boolean eager)
+		{
+			if(instance == null)
+			{
+				return Swizzling.nullId();
+			}
+
+			final long objectIdLocal;
+			if(Swizzling.isFoundId(objectIdLocal = this.unsynchLookupOid(instance)))
+			{
+				// returning 0 is a valid case: an instance registered to be skipped by using the null-OID.
+				return objectIdLocal;
+			}
+
+			if(!eager)
+			{
+				final long objectIdGlobal;
+				if(Swizzling.isFoundId(objectIdGlobal = this.objectManager.lookupObjectId(instance)))
+				{
+					// already persisted instances are not stored again by the lazy logic, see #apply.
+					return objectIdGlobal;
+				}
+			}
+
+			throw ItemBatch.UNDISCOVERED;
+		}
+
+		boolean isEager()
+		{
+			return false;
+		}
+
 		protected final void storeItem(final Item item)
 		{
 			logger.debug(
@@ -510,20 +686,35 @@ public interface BinaryStorer extends PersistenceStorer
 				// must validate here, too, in case the WriteController disabled writing during the storer's existence.
 				this.target.validateIsStoringEnabled();
 				
-				final Binary writeData;
+				final Binary                 writeData;
+				final ChunksBuffer[]         chunks   ;
+				final XGettingEnum<Class<?>> rootTypes;
 				synchronized(this.head)
 				{
+					// captured before the check to only clear the pending roots that are stored with this commit.
+					rootTypes = this.typeManager.pendingRootTypes();
 					this.typeManager.checkForPendingRootInstances();
 					this.typeManager.checkForPendingRootsStoring(this);
 					writeData = this.synchComplete();
+					chunks    = this.chunks;
 				}
 				
-				// very costly IO-operation does not need to occupy the lock
-				this.target.write(writeData);
+				final BinaryEntityFingerprints.Update fingerprintsUpdate = this.removeUnchangedEntities(chunks);
+				try
+				{
+					// very costly IO-operation does not need to occupy the lock
+					this.target.write(writeData);
+				}
+				catch(final RuntimeException | Error e)
+				{
+					completeFingerprints(fingerprintsUpdate, false);
+					throw e;
+				}
+				completeFingerprints(fingerprintsUpdate, true);
 				
 				synchronized(this.head)
 				{
-					this.typeManager.clearStorePendingRoots();
+					this.typeManager.clearStorePendingRoots(rootTypes);
 					this.objectManager.mergeEntries(this);
 				}
 			}
@@ -534,6 +725,86 @@ public interface BinaryStorer extends PersistenceStorer
 			// not used (yet?)
 			return null;
 		}
+
+		@Override
+		public final CompletableFuture<Object> commitAsync()
+		{
+			logger.debug(
+				"Committing {} object(s) asynchronously",
+				LazyArg(this::size)   // use lazy here, #size() locks
+			);
+			
+			// isEmpty locks internally
+			if(this.isEmpty())
+			{
+				this.clear();
+				return CompletableFuture.completedFuture(null);
+			}
+			
+			// must validate here, too, in case the WriteController disabled writing during the storer's existence.
+			this.target.validateIsStoringEnabled();
+			
+			final Binary                 writeData;
+			final ChunksBuffer[]         chunks   ;
+			final PendingCommit          pending  ;
+			final XGettingEnum<Class<?>> rootTypes;
+			synchronized(this.head)
+			{
+				// roots registered while the commit is being written must remain pending, see below.
+				rootTypes = this.typeManager.pendingRootTypes();
+				this.typeManager.checkForPendingRootInstances();
+				this.typeManager.checkForPendingRootsStoring(this);
+				writeData = this.synchComplete();
+				chunks    = this.chunks;
+				
+				// the collected items are handed over to the pending commit, clearing creates a new item chain.
+				pending = new PendingCommit(this.objectManager, this.head.next, this.hashSlots, this.hashRange);
+			}
+			
+			/*
+			 * Until the pending commit's entries are merged into the registry, they must be known to all storers
+			 * (including this one for its next data) to not assign new object ids to already stored instances.
+			 */
+			this.objectManager.registerLocalRegistry(pending);
+			this.clear();
+			
+			final BinaryEntityFingerprints.Update fingerprintsUpdate = this.removeUnchangedEntities(chunks);
+			
+			return this.target.writeAsync(writeData)
+				.whenComplete((v, e) -> completeFingerprints(fingerprintsUpdate, e == null))
+				.thenApply(v ->
+				{
+					this.typeManager.clearStorePendingRoots(rootTypes);
+					pending.merge();
+					
+					logger.debug("Asynchronous commit finished successfully");
+					
+					// not used (yet?)
+					return (Object)null;
+				})
+				.whenComplete((r, e) -> pending.retire())
+			;
+		}
+		
+		private BinaryEntityFingerprints.Update removeUnchangedEntities(final ChunksBuffer[] chunks)
+		{
+			// the chunks are not accessible by other threads any more, so the lock is not needed for hashing.
+			return this.fingerprints == null
+				? null
+				: this.fingerprints.removeUnchangedEntities(chunks)
+			;
+		}
+		
+		private static void completeFingerprints(
+			final BinaryEntityFingerprints.Update fingerprintsUpdate,
+			final boolean                         successful
+		)
+		{
+			if(fingerprintsUpdate != null)
+			{
+				fingerprintsUpdate.complete(successful);
+			}
+		}
 		
 		public final long lookupOid(final Object object)
 		{
@@ -552,7 +823,7 @@ public interface BinaryStorer extends PersistenceStorer
 			}
 		}
 		
-		private static boolean isSkipItem(final Item item)
+		static boolean isSkipItem(final Item item)
 		{
 			return item.typeHandler == null;
 		}
@@ -768,7 +1039,9 @@ public interface BinaryStorer extends PersistenceStorer
 			final PersistenceTarget<Binary>             target            ,
 			final BufferSizeProviderIncremental         bufferSizeProvider,
 			final int                                   channelCount      ,
-			final boolean                               switchByteOrder
+			final boolean                               switchByteOrder   ,
+			final BinaryStorerParallelism               parallelism       ,
+			final BinaryEntityFingerprints              fingerprints
 		)
 		{
 			super(
@@ -778,7 +1051,9 @@ public interface BinaryStorer extends PersistenceStorer
 				target            ,
 				bufferSizeProvider,
 				channelCount      ,
-				switchByteOrder
+				switchByteOrder   ,
+				parallelism       ,
+				fingerprints
 			);
 		}
 		
@@ -795,6 +1070,12 @@ public interface BinaryStorer extends PersistenceStorer
 			return this.applyEager(instance);
 		}
 		
+		@Override
+		final boolean isEager()
+		{
+			return true;
+		}
+		
 		@Override
 		public <T> void registerLazyOptional(
 			final long                              objectId       ,
@@ -818,6 +1099,302 @@ public interface BinaryStorer extends PersistenceStorer
 		
 	}
 
+	/**
+	 * The collected items of an asynchronous commit that is still being written. Acts as a local registry of its own
+	 * until its entries are merged into the global registry (or discarded if the writing failed).
+	 */
+	static final class PendingCommit implements PersistenceLocalObjectIdRegistry<Binary>
+	{
+		///////////////////////////////////////////////////////////////////////////
+		// instance fields //
+		////////////////////
+
+		private final PersistenceObjectManager<Binary> objectManager;
+		private final Item                             first        ;
+		private final int                              hashRange    ;
+		private       Item[]                           hashSlots    ;
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// constructors //
+		/////////////////
+
+		PendingCommit(
+			final PersistenceObjectManager<Binary> objectManager,
+			final Item                             first        ,
+			final Item[]                           hashSlots    ,
+			final int                              hashRange
+		)
+		{
+			super();
+			this.objectManager = objectManager;
+			this.first         = first        ;
+			this.hashSlots     = hashSlots    ;
+			this.hashRange     = hashRange    ;
+		}
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// methods //
+		////////////
+
+		final void merge()
+		{
+			this.objectManager.mergeEntries(this);
+		}
+
+		final synchronized void retire()
+		{
+			// merged or failed, either way, the entries may not be offered to other storers any longer.
+			this.hashSlots = null;
+		}
+
+		@Override
+		public final PersistenceObjectManager<Binary> parentObjectManager()
+		{
+			return this.objectManager;
+		}
+
+		@Override
+		public final synchronized <T> long lookupObjectId(
+			final T                                    object           ,
+			final PersistenceObjectIdRequestor<Binary> objectIdRequestor,
+			final PersistenceTypeHandler<Binary, T>    optionalHandler
+		)
+		{
+			if(this.hashSlots == null)
+			{
+				return Swizzling.notFoundId();
+			}
+			
+			for(Item e = this.hashSlots[identityHashCode(object) & this.hashRange]; e != null; e = e.link)
+			{
+				if(e.instance == object)
+				{
+					if(Default.isSkipItem(e))
+					{
+						break;
+					}
+					
+					// see BinaryStorer.Default#lookupObjectId
+					objectIdRequestor.registerGuaranteed(e.oid, object, optionalHandler);
+					return e.oid;
+				}
+			}
+			
+			return Swizzling.notFoundId();
+		}
+
+		@Override
+		public final synchronized void iterateMergeableEntries(final PersistenceAcceptor iterator)
+		{
+			if(this.hashSlots == null)
+			{
+				return;
+			}
+			
+			for(Item e = this.first; e != null; e = e.next)
+			{
+				if(Default.isSkipItem(e))
+				{
+					continue;
+				}
+				iterator.accept(e.oid, e.instance);
+			}
+		}
+
+		@Override
+		public final <T> void registerGuaranteed(
+			final long                              objectId       ,
+			final T                                 instance       ,
+			final PersistenceTypeHandler<Binary, T> optionalHandler
+		)
+		{
+			// a pending commit is never used to request object ids, so it can't receive any.
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public final <T> void registerLazyOptional(
+			final long                              objectId       ,
+			final T                                 instance       ,
+			final PersistenceTypeHandler<Binary, T> optionalHandler
+		)
+		{
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public final <T> void registerEagerOptional(
+			final long                              objectId       ,
+			final T                                 instance       ,
+			final PersistenceTypeHandler<Binary, T> optionalHandler
+		)
+		{
+			throw new UnsupportedOperationException();
+		}
+
+	}
+
+	/**
+	 * A range of consecutive discovered items that is serialized by a pool thread into its own channel buffers.
+	 */
+	static final class ItemBatch extends RecursiveAction implements PersistenceStoreHandler<Binary>
+	{
+		///////////////////////////////////////////////////////////////////////////
+		// constants //
+		//////////////
+		
+		// thrown to abort a batch as soon as it encounters an undiscovered instance, hence without stack trace.
+		static final RuntimeException UNDISCOVERED = new RuntimeException("Undiscovered instance", null, false, false)
+		{
+			// only the identity matters
+		};
+		
+		
+		
+		///////////////////////////////////////////////////////////////////////////
+		// instance fields //
+		////////////////////
+
+		private final Default        storer   ;
+		private final Item           first    ;
+		private final Item           last     ;
+		private       ChunksBuffer[] chunks   ;
+		private       boolean        discarded;
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// constructors //
+		/////////////////
+
+		ItemBatch(
+			final Default storer,
+			final Item    first ,
+			final Item    last
+		)
+		{
+			super();
+			this.storer = storer;
+			this.first  = first ;
+			this.last   = last  ;
+		}
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// methods //
+		////////////
+
+		@Override
+		protected final void compute()
+		{
+			final ChunksBuffer[] chunks = this.chunks = this.storer.createChunksBuffers();
+			final int         hashRange = chunks.length - 1;
+			
+			try
+			{
+				for(Item item = this.first; ; item = item.next)
+				{
+					item.typeHandler.store(chunks[(int)(item.oid & hashRange)], item.instance, item.oid, this);
+					if(item == this.last)
+					{
+						break;
+					}
+				}
+				for(final ChunksBuffer chunk : chunks)
+				{
+					chunk.complete();
+				}
+			}
+			catch(final Throwable t)
+			{
+				/*
+				 * Undiscovered instances as well as any actual problem are left to serially storing the batch
+				 * on the calling thread, which either registers the instances or reports the problem properly.
+				 */
+				this.discard();
+			}
+		}
+		
+		private void discard()
+		{
+			for(final ChunksBuffer chunk : this.chunks)
+			{
+				chunk.release();
+			}
+			this.chunks    = null;
+			this.discarded = true;
+		}
+		
+		final boolean joinSuccessfully()
+		{
+			this.join();
+			
+			return !this.discarded;
+		}
+		
+		final boolean isDiscarded()
+		{
+			return this.discarded;
+		}
+		
+		final void appendTo(final ChunksBuffer[] chunks)
+		{
+			for(int i = 0; i < chunks.length; i++)
+			{
+				chunks[i].appendCompleted(this.chunks[i]);
+			}
+			this.chunks = null;
+		}
+		
+		final void storeSerially()
+		{
+			for(Item item = this.first; ; item = item.next)
+			{
+				this.storer.storeItem(item);
+				if(item == this.last)
+				{
+					break;
+				}
+			}
+		}
+		
+		@Override
+		public final <T> long apply(final T instance)
+		{
+			return this.storer.lookupBatchReferenceOid(instance, this.storer.isEager());
+		}
+		
+		@Override
+		public final <T> long apply(final T instance, final PersistenceTypeHandler<Binary, T> localTypeHandler)
+		{
+			return this.storer.lookupBatchReferenceOid(instance, false);
+		}
+		
+		@Override
+		public final <T> long applyEager(final T instance)
+		{
+			return this.storer.lookupBatchReferenceOid(instance, true);
+		}
+		
+		@Override
+		public final <T> long applyEager(final T instance, final PersistenceTypeHandler<Binary, T> localTypeHandler)
+		{
+			return this.storer.lookupBatchReferenceOid(instance, true);
+		}
+		
+		@Override
+		public final ObjectSwizzling getObjectRetriever()
+		{
+			return this.storer.getObjectRetriever();
+		}
+
+	}
+
 	static final class Item
 	{
 		final PersistenceTypeHandler<Binary, Object> typeHandler;
@@ -845,10 +1422,51 @@ public interface BinaryStorer extends PersistenceStorer
 		final BinaryChannelCountProvider channelCountProvider,
 		final boolean                    switchByteOrder
 	)
+	{
+		return Creator(channelCountProvider, switchByteOrder, null, null);
+	}
+	
+	/**
+	 * Creates a {@link BinaryStorer.Creator} whose storers serialize large graphs in parallel
+	 * as configured by the passed {@link BinaryStorerParallelism}.
+	 * 
+	 * @param channelCountProvider the provider of the channel count
+	 * @param switchByteOrder whether the byte order has to be switched
+	 * @param parallelism the parallel storing configuration or {@literal null} to always store serially
+	 * @return a new {@link BinaryStorer.Creator} instance
+	 */
+	public static BinaryStorer.Creator Creator(
+		final BinaryChannelCountProvider channelCountProvider,
+		final boolean                    switchByteOrder     ,
+		final BinaryStorerParallelism    parallelism
+	)
+	{
+		return Creator(channelCountProvider, switchByteOrder, parallelism, null);
+	}
+	
+	/**
+	 * Creates a {@link BinaryStorer.Creator} whose storers serialize large graphs in parallel
+	 * as configured by the passed {@link BinaryStorerParallelism} and do not write unchanged entities
+	 * as determined by the passed {@link BinaryEntityFingerprints}.
+	 * 
+	 * @param channelCountProvider the provider of the channel count
+	 * @param switchByteOrder whether the byte order has to be switched
+	 * @param parallelism the parallel storing configuration or {@literal null} to always store serially
+	 * @param fingerprints the entity fingerprints or {@literal null} to always write all entities
+	 * @return a new {@link BinaryStorer.Creator} instance
+	 */
+	public static BinaryStorer.Creator Creator(
+		final BinaryChannelCountProvider channelCountProvider,
+		final boolean                    switchByteOrder     ,
+		final BinaryStorerParallelism    parallelism         ,
+		final BinaryEntityFingerprints   fingerprints
+	)
 	{
 		return new BinaryStorer.Creator.Default(
 			notNull(channelCountProvider),
-			        switchByteOrder
+			        switchByteOrder      ,
+			mayNull(parallelism)         ,
+			mayNull(fingerprints)
 		);
 	}
 		
@@ -895,6 +1513,8 @@ public interface BinaryStorer extends PersistenceStorer
 
 			private final BinaryChannelCountProvider channelCountProvider;
 			private final boolean                    switchByteOrder     ;
+			private final BinaryStorerParallelism    parallelism         ;
+			private final BinaryEntityFingerprints   fingerprints        ;
 
 
 
@@ -906,10 +1526,22 @@ public interface BinaryStorer extends PersistenceStorer
 				final BinaryChannelCountProvider channelCountProvider,
 				final boolean                    switchByteOrder
 			)
+			{
+				this(channelCountProvider, switchByteOrder, null, null);
+			}
+
+			protected Abstract(
+				final BinaryChannelCountProvider channelCountProvider,
+				final boolean                    switchByteOrder     ,
+				final BinaryStorerParallelism    parallelism         ,
+				final BinaryEntityFingerprints   fingerprints
+			)
 			{
 				super();
 				this.channelCountProvider = channelCountProvider;
 				this.switchByteOrder      = switchByteOrder     ;
+				this.parallelism          = parallelism         ;
+				this.fingerprints         = fingerprints        ;
 			}
 
 			
@@ -927,6 +1559,16 @@ public interface BinaryStorer extends PersistenceStorer
 			{
 				return this.switchByteOrder;
 			}
+			
+			protected BinaryStorerParallelism parallelism()
+			{
+				return this.parallelism;
+			}
+			
+			protected BinaryEntityFingerprints fingerprints()
+			{
+				return this.fingerprints;
+			}
 
 		}
 		
@@ -934,10 +1576,12 @@ public interface BinaryStorer extends PersistenceStorer
 		{
 			Default(
 				final BinaryChannelCountProvider channelCountProvider,
-				final boolean                    switchByteOrder
+				final boolean                    switchByteOrder     ,
+				final BinaryStorerParallelism    parallelism         ,
+				final BinaryEntityFingerprints   fingerprints
 			)
 			{
-				super(channelCountProvider, switchByteOrder);
+				super(channelCountProvider, switchByteOrder, parallelism, fingerprints);
 			}
 
 			@Override
@@ -958,7 +1602,9 @@ public interface BinaryStorer extends PersistenceStorer
 					target                ,
 					bufferSizeProvider    ,
 					this.channelCount()   ,
-					this.switchByteOrder()
+					this.switchByteOrder(),
+					this.parallelism()    ,
+					this.fingerprints()
 				);
 				objectManager.registerLocalRegistry(storer);
 				
@@ -982,7 +1628,9 @@ public interface BinaryStorer extends PersistenceStorer
 					target                ,
 					bufferSizeProvider    ,
 					this.channelCount()   ,
-					this.switchByteOrder()
+					this.switchByteOrder(),
+					this.parallelism()    ,
+					this.fingerprints()
 				);
 				objectManager.registerLocalRegistry(storer);
 				
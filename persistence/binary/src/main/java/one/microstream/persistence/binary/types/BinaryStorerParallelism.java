@@ -0,0 +1,171 @@
+package one.microstream.persistence.binary.types;
+
+/*-
+ * #%L
+ * microstream-persistence-binary
+ * %%
+ * Copyright (C) 2019 - 2022 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+import static one.microstream.X.notNull;
+import static one.microstream.math.XMath.positive;
+
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Configuration of the parallel serialization mode of {@link BinaryStorer}.
+ * <p>
+ * If a storer is created with an instance of this type, large graphs are stored in two phases:
+ * <ul>
+ * <li>The graph is discovered on the calling thread via
+ * {@link one.microstream.persistence.types.PersistenceTypeHandler#iterateInstanceReferences}, so object ids
+ * are assigned in the same order as by a serial storer.</li>
+ * <li>The discovered items are split into batches of consecutive items that are serialized in parallel
+ * on the {@link #pool()}, each batch into its own per-channel buffers. The batch buffers are then appended
+ * to the storer's channel chunks in batch order, so the order of the entities inside a channel
+ * is deterministic as well.</li>
+ * </ul>
+ * A batch that encounters a reference to an instance that has not been discovered (e.g. because a custom
+ * type handler does not report its references) is discarded and serialized again serially in its place.
+ * <p>
+ * Note that type handlers are required to be thread-safe, which is already the case for storers
+ * used concurrently by multiple threads.
+ *
+ */
+public interface BinaryStorerParallelism
+{
+	/**
+	 * @return the pool to serialize the batches on.
+	 */
+	public ForkJoinPool pool();
+
+	/**
+	 * @return the minimum number of discovered items for a graph to be serialized in parallel.
+	 * Smaller graphs are serialized serially since distributing them would cost more than it gains.
+	 */
+	public int minimumItemCount();
+
+	/**
+	 * @return the number of consecutive items that are serialized by one task.
+	 */
+	public int batchItemCount();
+
+
+
+	public interface Defaults
+	{
+		public static ForkJoinPool defaultPool()
+		{
+			return ForkJoinPool.commonPool();
+		}
+
+		public static int defaultMinimumItemCount()
+		{
+			return 8192;
+		}
+
+		public static int defaultBatchItemCount()
+		{
+			return 1024;
+		}
+	}
+
+
+
+	public static BinaryStorerParallelism New()
+	{
+		return New(
+			Defaults.defaultPool()
+		);
+	}
+
+	public static BinaryStorerParallelism New(final ForkJoinPool pool)
+	{
+		return New(
+			pool                              ,
+			Defaults.defaultMinimumItemCount(),
+			Defaults.defaultBatchItemCount()
+		);
+	}
+
+	public static BinaryStorerParallelism New(
+		final ForkJoinPool pool            ,
+		final int          minimumItemCount,
+		final int          batchItemCount
+	)
+	{
+		return new BinaryStorerParallelism.Default(
+			notNull (pool)            ,
+			positive(minimumItemCount),
+			positive(batchItemCount)
+		);
+	}
+
+	public final class Default implements BinaryStorerParallelism
+	{
+		///////////////////////////////////////////////////////////////////////////
+		// instance fields //
+		////////////////////
+
+		private final ForkJoinPool pool            ;
+		private final int          minimumItemCount;
+		private final int          batchItemCount  ;
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// constructors //
+		/////////////////
+
+		Default(
+			final ForkJoinPool pool            ,
+			final int          minimumItemCount,
+			final int          batchItemCount
+		)
+		{
+			super();
+			this.pool             = pool            ;
+			this.minimumItemCount = minimumItemCount;
+			this.batchItemCount   = batchItemCount  ;
+		}
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// methods //
+		////////////
+
+		@Override
+		public final ForkJoinPool pool()
+		{
+			return this.pool;
+		}
+
+		@Override
+		public final int minimumItemCount()
+		{
+			return this.minimumItemCount;
+		}
+
+		@Override
+		public final int batchItemCount()
+		{
+			return this.batchItemCount;
+		}
+
+	}
+
+}
@@ -212,6 +212,90 @@ public class ChunksBuffer extends Binary implements MemoryRangeReader
 		this.currentAddress += length;
 	}
 
+	/**
+	 * Appends the content of the passed completed instance to this instance and releases the passed instance.
+	 *
+	 * @param completedChunks a {@link #complete()}d instance containing valid entity data.
+	 */
+	public final void appendCompleted(final ChunksBuffer completedChunks)
+	{
+		for(final ByteBuffer buffer : completedChunks.buffers())
+		{
+			// buffer is already flipped
+			this.readMemory(XMemory.getDirectByteBufferAddress(buffer), buffer.limit());
+		}
+		completedChunks.release();
+	}
+
+	/**
+	 * Removes all entities that are not retained by the passed filter from this {@link #complete()}d instance
+	 * by moving the retained entities together.
+	 *
+	 * @param filter the filter deciding which entities to retain.
+	 * @return the number of removed bytes.
+	 */
+	public final long removeEntities(final EntityFilter filter)
+	{
+		if(this.currentBuffer != null)
+		{
+			throw new IllegalStateException("Incomplete chunks");
+		}
+
+		long removedLength = 0;
+		for(int i = 0; i <= this.currentBuffersIndex; i++)
+		{
+			// buffer is already flipped. Entities never span multiple buffers.
+			final ByteBuffer buffer       = this.buffers[i];
+			final long       startAddress = XMemory.getDirectByteBufferAddress(buffer);
+			final long       boundAddress = startAddress + buffer.limit();
+
+			long targetAddress = startAddress;
+			for(long address = startAddress, length; address < boundAddress; address += length)
+			{
+				length = this.get_longFromAddress(address);
+				if(!filter.isRetained(address, length, this.getEntityObjectId(address)))
+				{
+					continue;
+				}
+				if(targetAddress != address)
+				{
+					// moving to a lower address, so overlapping ranges are copied correctly.
+					XMemory.copyRange(address, targetAddress, length);
+				}
+				targetAddress += length;
+			}
+
+			removedLength += boundAddress - targetAddress;
+			buffer.limit(X.checkArrayRange(targetAddress - startAddress));
+		}
+		this.totalLength -= removedLength;
+
+		return removedLength;
+	}
+
+	private long getEntityObjectId(final long entityAddress)
+	{
+		return this.isSwitchedByteOrder()
+			? Long.reverseBytes(Binary.getEntityObjectIdRawValue(entityAddress))
+			: Binary.getEntityObjectIdRawValue(entityAddress)
+		;
+	}
+
+	/**
+	 * Deallocates all buffers of this instance, rendering it unusable.
+	 */
+	public final void release()
+	{
+		final ByteBuffer[] buffers = this.buffers;
+		for(int i = this.currentBuffersIndex; i >= 0; i--)
+		{
+			XMemory.deallocateDirectByteBuffer(buffers[i]);
+			buffers[i] = null;
+		}
+		this.currentBuffersIndex = 0;
+		this.currentBuffer       = null;
+	}
+
 	@Override
 	public final void storeEntityHeader(
 		final long entityContentLength,
@@ -360,5 +444,19 @@ public class ChunksBuffer extends Binary implements MemoryRangeReader
 			this.buffers[i].reset();
 		}
 	}
-				
+	
+	
+	
+	@FunctionalInterface
+	public interface EntityFilter
+	{
+		/**
+		 * @param entityAddress the memory address of the entity, i.e. of its header.
+		 * @param entityTotalLength the entity's total length, including its header.
+		 * @param objectId the entity's object id.
+		 * @return whether the entity shall be retained.
+		 */
+		public boolean isRetained(long entityAddress, long entityTotalLength, long objectId);
+	}
+
 }
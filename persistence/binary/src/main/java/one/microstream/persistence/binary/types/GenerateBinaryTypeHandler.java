@@ -0,0 +1,53 @@
+package one.microstream.persistence.binary.types;
+
+/*-
+ * #%L
+ * microstream-persistence-binary
+ * %%
+ * Copyright (C) 2019 - 2022 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import one.microstream.persistence.binary.internal.AbstractBinaryHandlerGenerated;
+
+
+/**
+ * Marker annotation for classes for which the type handler annotation processor
+ * (microstream-codegen-typehandler) generates a {@link BinaryTypeHandler} at compile time.
+ * <p>
+ * The generated handler is named "BinaryHandler" + the simple class name, is placed in the annotated class'
+ * package and reads and writes the persistent fields in straight-line code at fixed offsets
+ * instead of going through the generic reflective handling, see {@link AbstractBinaryHandlerGenerated}.
+ * Generated handlers are registered automatically via the {@link java.util.ServiceLoader} mechanism,
+ * see {@link BinaryPersistence#generatedTypeHandlers()}.
+ * <p>
+ * The binary format is the same as the one of the generic handler, so the annotation can be added to and removed
+ * from classes with already existing persistent data. Note that a custom
+ * {@link one.microstream.persistence.types.PersistenceEagerStoringFieldEvaluator} is not considered by
+ * generated handlers.
+ */
+@Documented
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface GenerateBinaryTypeHandler
+{
+	// Marker annotation
+}
@@ -0,0 +1,1136 @@
+package one.microstream.persistence.internal;
+
+/*-
+ * #%L
+ * microstream-persistence
+ * %%
+ * Copyright (C) 2019 - 2022 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+import static one.microstream.X.KeyValue;
+
+import java.lang.ref.WeakReference;
+import java.util.Arrays;
+
+import one.microstream.collections.EqHashTable;
+import one.microstream.collections.Set_long;
+import one.microstream.collections.XSort;
+import one.microstream.collections.types.XGettingTable;
+import one.microstream.hashing.HashStatisticsBucketBased;
+import one.microstream.hashing.XHashing;
+import one.microstream.persistence.exceptions.PersistenceExceptionConsistency;
+import one.microstream.persistence.exceptions.PersistenceExceptionConsistencyObject;
+import one.microstream.persistence.exceptions.PersistenceExceptionConsistencyObjectId;
+import one.microstream.persistence.exceptions.PersistenceExceptionImproperObjectId;
+import one.microstream.persistence.types.ObjectIdsProcessor;
+import one.microstream.persistence.types.PersistenceAcceptor;
+import one.microstream.persistence.types.PersistenceFunction;
+import one.microstream.persistence.types.PersistenceObjectRegistry;
+import one.microstream.persistence.types.PersistenceTypeHandler;
+import one.microstream.persistence.types.PersistenceTypeHandlerLookup;
+import one.microstream.reference.Swizzling;
+import one.microstream.typing.KeyValue;
+
+/**
+ * A {@link PersistenceObjectRegistry} implementation optimized for a low memory footprint and a low
+ * reference processing load for the JVM's garbage collector.
+ * <p>
+ * Instead of entry instances in hash chains, the entries are stored in primitive arrays with open addressing:
+ * an objectId table with the referenced objects in a parallel array, and an index table to look up the slot
+ * of an object.
+ * <p>
+ * Newly registered objects are referenced weakly, like in {@link DefaultObjectRegistry}.
+ * {@link #trackReachable(PersistenceTypeHandlerLookup, Object...)} walks the object graph from the passed roots
+ * and references every reached registered object strongly instead, dropping its {@link WeakReference}.
+ * The walk does not pass lazy references, so lazily loaded subgraphs stay weakly referenced and can be
+ * cleared as usual. Strongly referenced objects that are no longer reached by a later walk are referenced
+ * weakly again.
+ * <p>
+ * Note that a strongly referenced object that has been removed from the object graph is kept in the registry
+ * (and thus in the storage, see {@link #processLiveObjectIds(ObjectIdsProcessor)}) until the next walk.
+ * <p>
+ * Bytes per entry (with COOPS, default hash density):
+ * every table slot occupies 17 bytes, so an entry occupies 23 to 45 bytes depending on the current fill ratio,
+ * plus 32 bytes for the {@link WeakReference} of a weakly referenced object.
+ * Every entry in {@link DefaultObjectRegistry} occupies 56 bytes plus the reference processing of its
+ * {@link WeakReference} by the garbage collector.
+ */
+public final class CompactObjectRegistry implements PersistenceObjectRegistry
+{
+	///////////////////////////////////////////////////////////////////////////
+	// constants //
+	//////////////
+
+	public static final float defaultHashDensity()
+	{
+		return DefaultObjectRegistry.defaultHashDensity();
+	}
+
+	/**
+	 * Open addressing requires free slots, so the hash density is mapped to a maximum fill ratio
+	 * of the tables: hash density 1.0 (and above) means 75% filled slots, lower values mean proportionally less.
+	 *
+	 * @return the maximum fill ratio for a hash density of 1.0.
+	 */
+	public static final float maximumFillRatio()
+	{
+		return 0.75f;
+	}
+
+	static final int minimumHashLength()
+	{
+		return 8;
+	}
+
+	static final byte maximumEpoch()
+	{
+		return Byte.MAX_VALUE;
+	}
+
+
+
+	///////////////////////////////////////////////////////////////////////////
+	// static methods //
+	///////////////////
+
+	static final int hash(final Object object)
+	{
+		return System.identityHashCode(object);
+	}
+
+	private static float fillRatio(final float hashDensity)
+	{
+		return Math.min(hashDensity, 1.0f) * maximumFillRatio();
+	}
+
+	private static int calculateRequiredHashLength(final long minimumCapacity, final float hashDensity)
+	{
+		return Math.max(minimumHashLength(), XHashing.padHashLength((long)(minimumCapacity / fillRatio(hashDensity))));
+	}
+
+	private static Object resolve(final Object reference)
+	{
+		return reference instanceof Weak
+			? ((Weak)reference).get()
+			: reference
+		;
+	}
+
+
+
+	///////////////////////////////////////////////////////////////////////////
+	// static constructors //
+	////////////////////////
+
+	public static CompactObjectRegistry New()
+	{
+		return New(defaultHashDensity());
+	}
+
+	public static CompactObjectRegistry New(final long minimumCapacity)
+	{
+		return New(defaultHashDensity(), minimumCapacity);
+	}
+
+	public static CompactObjectRegistry New(final float hashDensity)
+	{
+		return New(hashDensity, 1);
+	}
+
+	/**
+	 * @param hashDensity reasonable values are within [0.5; 1.0], see {@link #maximumFillRatio()}.
+	 * @param minimumCapacity the initial minimum capacity
+	 * @return the newly created {@link CompactObjectRegistry}
+	 */
+	public static CompactObjectRegistry New(
+		final float hashDensity    ,
+		final long  minimumCapacity
+	)
+	{
+		return new CompactObjectRegistry()
+			.synchSetConfiguration(
+				DefaultObjectRegistry.validateHashDensity(hashDensity),
+				DefaultObjectRegistry.validateCapacity(minimumCapacity)
+			)
+			.synchReset()
+		;
+	}
+
+
+
+	///////////////////////////////////////////////////////////////////////////
+	// instance fields //
+	////////////////////
+
+	/*
+	 * Note:
+	 * Same as for DefaultObjectRegistry, this is just an internal lock to keep things consistent on a technical
+	 * level. The registry instance itself may not be locked by any method.
+	 */
+	private final Object mutex = new Object();
+
+	// prevents concurrent reachability walks from interfering with each other's marks.
+	private final Object walkLock = new Object();
+
+	private long[]   objectIds ; // open addressing by objectId, 0 (the null id) marks a free slot.
+	private Object[] references; // the slots' objects, either referenced strongly or via a Weak instance.
+	private byte[]   marks     ; // the epoch of the last reachability walk that reached the slot's object.
+	private int[]    refTable  ; // open addressing by object, slot index + 1 or 0 for a free slot.
+	private int      shift     ; // 64 - log2(hash length) for multiplicative hashing.
+	private long     size      ; // occupied objectId slots, including orphans.
+	private long     refCount  ; // occupied object slots, including outdated ones.
+	private long     capacity  ; // upper rebuild threshold.
+	private float    hashDensity;
+	private long     minCapacity;
+	private byte     epoch      ;
+
+	private final EqHashTable<Long, Object> constants = EqHashTable.New();
+
+
+
+	///////////////////////////////////////////////////////////////////////////
+	// constructors //
+	/////////////////
+
+	CompactObjectRegistry()
+	{
+		super();
+	}
+
+
+
+	///////////////////////////////////////////////////////////////////////////
+	// methods //
+	////////////
+
+	/* note on naming:
+	 *
+	 * All instance methods not starting with "synch~" must protect their logic
+	 * by using a synchronized block synchronizing on the mutex instance.
+	 * All instance methods starting with "synch~" must be called either inside such a block
+	 * or by another method prefixed "synch~".
+	 */
+
+	final CompactObjectRegistry synchSetConfiguration(
+		final float hashDensity    ,
+		final long  minimumCapacity
+	)
+	{
+		this.hashDensity = hashDensity;
+		this.minCapacity = minimumCapacity;
+
+		return this;
+	}
+
+	final CompactObjectRegistry synchReset()
+	{
+		this.synchSetTables(calculateRequiredHashLength(this.minCapacity, this.hashDensity));
+		return this;
+	}
+
+	private void synchSetTables(final int hashLength)
+	{
+		this.objectIds  = new long[hashLength];
+		this.references = new Object[hashLength];
+		this.marks      = new byte[hashLength];
+		this.refTable   = new int[hashLength];
+		this.shift      = Long.SIZE - Integer.numberOfTrailingZeros(hashLength);
+		this.size       = 0;
+		this.refCount   = 0;
+		this.synchUpdateCapacity();
+	}
+
+	private void synchUpdateCapacity()
+	{
+		this.capacity = (long)(this.objectIds.length * fillRatio(this.hashDensity));
+	}
+
+	private int oidIndex(final long objectId)
+	{
+		return (int)(objectId * 0x9E3779B97F4A7C15L >>> this.shift);
+	}
+
+	private int refIndex(final int refHash)
+	{
+		return (int)((refHash & 0xFFFFFFFFL) * 0x9E3779B97F4A7C15L >>> this.shift);
+	}
+
+	/**
+	 * @return the slot of the passed objectId or the complement of the free slot to put it into.
+	 */
+	private int synchObjectIdSlot(final long objectId)
+	{
+		final long[] objectIds = this.objectIds;
+		final int    range     = objectIds.length - 1;
+		for(int i = this.oidIndex(objectId);; i = i + 1 & range)
+		{
+			if(objectIds[i] == objectId)
+			{
+				return i;
+			}
+			if(objectIds[i] == 0)
+			{
+				return ~i;
+			}
+		}
+	}
+
+	/**
+	 * @return the slot of the passed object or -1 if it is not registered.
+	 */
+	private int synchObjectSlot(final Object object)
+	{
+		final int[] refTable = this.refTable;
+		final int   range    = refTable.length - 1;
+		for(int i = this.refIndex(hash(object));; i = i + 1 & range)
+		{
+			final int slot = refTable[i] - 1;
+			if(slot < 0)
+			{
+				return -1;
+			}
+			// outdated slots of replaced orphans can never match, since the resolved object must be the same.
+			final Object reference = this.references[slot];
+			if(reference == object || reference instanceof Weak && ((Weak)reference).get() == object)
+			{
+				return slot;
+			}
+		}
+	}
+
+	private void synchPutRefSlot(final Object object, final int slot)
+	{
+		final int[] refTable = this.refTable;
+		final int   range    = refTable.length - 1;
+		int i = this.refIndex(hash(object));
+		while(refTable[i] != 0)
+		{
+			i = i + 1 & range;
+		}
+		refTable[i] = slot + 1;
+		this.refCount++;
+	}
+
+	@Override
+	public final CompactObjectRegistry Clone()
+	{
+		synchronized(this.mutex)
+		{
+			return CompactObjectRegistry.New(this.hashDensity, this.minCapacity);
+		}
+	}
+
+	@Override
+	public final int hashRange()
+	{
+		synchronized(this.mutex)
+		{
+			return this.objectIds.length;
+		}
+	}
+
+	@Override
+	public final float hashDensity()
+	{
+		synchronized(this.mutex)
+		{
+			return this.hashDensity;
+		}
+	}
+
+	@Override
+	public final long minimumCapacity()
+	{
+		synchronized(this.mutex)
+		{
+			return this.minCapacity;
+		}
+	}
+
+	@Override
+	public final long capacity()
+	{
+		synchronized(this.mutex)
+		{
+			return this.capacity;
+		}
+	}
+
+	@Override
+	public final long size()
+	{
+		synchronized(this.mutex)
+		{
+			return this.size;
+		}
+	}
+
+	@Override
+	public final boolean isEmpty()
+	{
+		synchronized(this.mutex)
+		{
+			return this.size == 0;
+		}
+	}
+
+	@Override
+	public final boolean setHashDensity(final float hashDensity)
+	{
+		return this.setConfiguration(hashDensity, this.minimumCapacity());
+	}
+
+	@Override
+	public final boolean setMinimumCapacity(final long minimumCapacity)
+	{
+		return this.setConfiguration(this.hashDensity(), minimumCapacity);
+	}
+
+	@Override
+	public final boolean setConfiguration(
+		final float hashDensity    ,
+		final long  minimumCapacity
+	)
+	{
+		synchronized(this.mutex)
+		{
+			// both values are checked before modifying any state
+			DefaultObjectRegistry.validateHashDensity(hashDensity);
+			DefaultObjectRegistry.validateCapacity(minimumCapacity);
+
+			this.synchSetConfiguration(hashDensity, minimumCapacity);
+			this.synchUpdateCapacity();
+
+			return this.ensureCapacity(Math.max(minimumCapacity, this.size));
+		}
+	}
+
+	@Override
+	public final boolean ensureCapacity(final long desiredCapacity)
+	{
+		synchronized(this.mutex)
+		{
+			DefaultObjectRegistry.validateCapacity(desiredCapacity);
+			final int requiredHashLength = calculateRequiredHashLength(desiredCapacity, this.hashDensity);
+			if(requiredHashLength > this.objectIds.length)
+			{
+				this.synchRebuild(requiredHashLength);
+				return true;
+			}
+
+			return false;
+		}
+	}
+
+	@Override
+	public final boolean containsObjectId(final long objectId)
+	{
+		synchronized(this.mutex)
+		{
+			return this.synchObjectIdSlot(objectId) >= 0;
+		}
+	}
+
+	@Override
+	public final long lookupObjectId(final Object object)
+	{
+		synchronized(this.mutex)
+		{
+			if(object == null)
+			{
+				throw new NullPointerException();
+			}
+			return this.synchLookupObjectId(object);
+		}
+	}
+
+	private long synchLookupObjectId(final Object object)
+	{
+		final int slot = this.synchObjectSlot(object);
+
+		return slot < 0
+			? Swizzling.notFoundId()
+			: this.objectIds[slot]
+		;
+	}
+
+	@Override
+	public final Object lookupObject(final long objectId)
+	{
+		synchronized(this.mutex)
+		{
+			return this.synchLookupObject(objectId);
+		}
+	}
+
+	private Object synchLookupObject(final long objectId)
+	{
+		final int slot = this.synchObjectIdSlot(objectId);
+
+		return slot < 0
+			? null
+			: resolve(this.references[slot])
+		;
+	}
+
+	@Override
+	public final boolean isValid(final long objectId, final Object object)
+	{
+		synchronized(this.mutex)
+		{
+			return this.synchInternalValidate(objectId, object, false);
+		}
+	}
+
+	@Override
+	public final void validate(final long objectId, final Object object)
+	{
+		synchronized(this.mutex)
+		{
+			this.synchInternalValidate(objectId, object, true);
+		}
+	}
+
+	private boolean synchInternalValidate(final long objectId, final Object object, final boolean throwException)
+	{
+		if(object == null)
+		{
+			throw new NullPointerException();
+		}
+
+		final long registeredObjectId = this.synchLookupObjectId(object);
+		if(registeredObjectId == objectId)
+		{
+			// already registered entry
+			return true;
+		}
+
+		if(Swizzling.isNotFoundId(registeredObjectId))
+		{
+			final Object registeredObject = this.synchLookupObject(objectId);
+			if(registeredObject == null)
+			{
+				// consistently not registered object
+				return true;
+			}
+
+			if(!throwException)
+			{
+				return false;
+			}
+			if(registeredObject == object)
+			{
+				throw new PersistenceExceptionConsistency("Inconsistent object registry for objectId " + objectId);
+			}
+			throw new PersistenceExceptionConsistencyObject(objectId, registeredObject, object);
+		}
+
+		if(!throwException)
+		{
+			return false;
+		}
+		throw new PersistenceExceptionConsistencyObjectId(object, registeredObjectId, objectId);
+	}
+
+	private static void validateRegistration(final long objectId, final Object object)
+	{
+		if(object == null)
+		{
+			throw new NullPointerException();
+		}
+		if(Swizzling.isNotProperId(objectId))
+		{
+			throw new PersistenceExceptionImproperObjectId();
+		}
+	}
+
+	@Override
+	public final boolean registerObject(final long objectId, final Object object)
+	{
+		validateRegistration(objectId, object);
+		synchronized(this.mutex)
+		{
+			return this.synchRegister(objectId, object, false, false) == null;
+		}
+	}
+
+	@Override
+	public final Object optionalRegisterObject(final long objectId, final Object object)
+	{
+		validateRegistration(objectId, object);
+		synchronized(this.mutex)
+		{
+			final Object registered = this.synchRegister(objectId, object, true, false);
+
+			return registered != null
+				? registered
+				: object
+			;
+		}
+	}
+
+	@Override
+	public final boolean registerConstant(final long objectId, final Object constant)
+	{
+		validateRegistration(objectId, constant);
+		synchronized(this.mutex)
+		{
+			if(this.synchRegister(objectId, constant, false, true) != null)
+			{
+				return false;
+			}
+			this.constants.add(objectId, constant);
+
+			return true;
+		}
+	}
+
+	/**
+	 * @return the already registered object for the passed objectId or {@code null} if the passed object
+	 *         has been registered.
+	 */
+	private Object synchRegister(
+		final long    objectId,
+		final Object  object  ,
+		final boolean optional,
+		final boolean strong
+	)
+	{
+		int slot = this.synchObjectIdSlot(objectId);
+		if(slot >= 0)
+		{
+			final Object registered = resolve(this.references[slot]);
+			if(registered != null)
+			{
+				if(registered == object || optional)
+				{
+					return registered;
+				}
+				throw new PersistenceExceptionConsistencyObject(objectId, registered, object);
+			}
+			// orphan slot is reused, its outdated object slot can never match and is dropped by the next rebuild.
+		}
+		else
+		{
+			slot = ~slot;
+		}
+
+		final long registeredObjectId = this.synchLookupObjectId(object);
+		if(Swizzling.isFoundId(registeredObjectId))
+		{
+			throw new PersistenceExceptionConsistencyObjectId(object, registeredObjectId, objectId);
+		}
+
+		if(this.objectIds[slot] == 0)
+		{
+			this.objectIds[slot] = objectId;
+			this.size++;
+		}
+		this.references[slot] = strong ? object : new Weak(object);
+		this.marks[slot] = 0;
+		this.synchPutRefSlot(object, slot);
+
+		if(this.size > this.capacity || this.refCount > this.capacity)
+		{
+			// rebuilding drops orphans and outdated object slots, so a larger table might not even be necessary.
+			this.synchRebuild(this.synchCountLive() > this.capacity >>> 1
+				? this.objectIds.length << 1
+				: this.objectIds.length
+			);
+		}
+
+		return null;
+	}
+
+	private long synchCountLive()
+	{
+		final Object[] references = this.references;
+
+		long count = 0;
+		for(int i = 0; i < references.length; i++)
+		{
+			if(references[i] != null && resolve(references[i]) != null)
+			{
+				count++;
+			}
+		}
+
+		return count;
+	}
+
+	@Override
+	public final <A extends PersistenceAcceptor> A iterateEntries(final A acceptor)
+	{
+		synchronized(this.mutex)
+		{
+			final long[]   objectIds  = this.objectIds ;
+			final Object[] references = this.references;
+			for(int i = 0; i < objectIds.length; i++)
+			{
+				if(objectIds[i] != 0)
+				{
+					acceptor.accept(objectIds[i], resolve(references[i]));
+				}
+			}
+
+			return acceptor;
+		}
+	}
+
+	// rebuilding and consolidation //
+
+	@Override
+	public final boolean consolidate()
+	{
+		synchronized(this.mutex)
+		{
+			final long liveCount = this.synchCountLive();
+			if(liveCount == this.size && liveCount == this.refCount
+				&& calculateRequiredHashLength(Math.max(liveCount, this.minCapacity), this.hashDensity)
+				== this.objectIds.length
+			)
+			{
+				// no orphans, no outdated object slots, no resizing: nothing to do.
+				return false;
+			}
+
+			this.synchRebuild(calculateRequiredHashLength(Math.max(liveCount, this.minCapacity), this.hashDensity));
+
+			return true;
+		}
+	}
+
+	private void synchRebuild(final int hashLength)
+	{
+		final long[]   oldObjectIds  = this.objectIds ;
+		final Object[] oldReferences = this.references;
+		final byte[]   oldMarks      = this.marks     ;
+
+		this.synchSetTables(Math.max(hashLength, calculateRequiredHashLength(this.minCapacity, this.hashDensity)));
+
+		final long[]   objectIds  = this.objectIds ;
+		final Object[] references = this.references;
+		final byte[]   marks      = this.marks     ;
+		for(int i = 0; i < oldObjectIds.length; i++)
+		{
+			final Object object;
+			if(oldObjectIds[i] == 0 || (object = resolve(oldReferences[i])) == null)
+			{
+				// orphans are dropped
+				continue;
+			}
+
+			final int slot = ~this.synchObjectIdSlot(oldObjectIds[i]);
+			objectIds [slot] = oldObjectIds [i];
+			references[slot] = oldReferences[i];
+			marks     [slot] = oldMarks     [i];
+			this.size++;
+			this.synchPutRefSlot(object, slot);
+		}
+	}
+
+	// reachability tracking //
+
+	/**
+	 * Walks the object graph from the passed roots via the references reported by the type handlers'
+	 * {@link PersistenceTypeHandler#iterateInstanceReferences(Object, PersistenceFunction)} and references
+	 * every reached registered object strongly. Strongly referenced objects that are not reached anymore are
+	 * referenced weakly again.
+	 * <p>
+	 * Unregistered objects and lazy references are not passed, objects only reachable via them stay weakly
+	 * referenced. The registry is only locked per reached object, so the walk can run concurrently to storing
+	 * and loading. Objects registered during the walk are referenced weakly.
+	 *
+	 * @param typeHandlerLookup the lookup to determine the type handler of every reached object.
+	 * @param roots the objects to start the walk from, typically the persistent root instance.
+	 * @return the number of strongly referenced objects after the walk.
+	 */
+	public final long trackReachable(final PersistenceTypeHandlerLookup<?> typeHandlerLookup, final Object... roots)
+	{
+		synchronized(this.walkLock)
+		{
+			final byte epoch;
+			synchronized(this.mutex)
+			{
+				epoch = this.synchNextEpoch();
+				for(final KeyValue<Long, Object> constant : this.constants)
+				{
+					this.synchMark(constant.value(), epoch);
+				}
+			}
+
+			final Walk walk = new Walk(this, typeHandlerLookup, epoch);
+			for(final Object root : roots)
+			{
+				walk.apply(root);
+			}
+			walk.run();
+
+			synchronized(this.mutex)
+			{
+				return this.synchDemoteUnmarked(epoch);
+			}
+		}
+	}
+
+	private byte synchNextEpoch()
+	{
+		if(this.epoch == maximumEpoch())
+		{
+			// wrapping around requires to forget all marks, otherwise stale marks would count as reached.
+			Arrays.fill(this.marks, (byte)0);
+			this.epoch = 0;
+		}
+
+		return ++this.epoch;
+	}
+
+	/**
+	 * Marks the passed objects and moves the newly marked ones to the front of the passed array.
+	 *
+	 * @return the number of newly marked objects.
+	 */
+	final int markAll(final Object[] objects, final int count, final byte epoch)
+	{
+		synchronized(this.mutex)
+		{
+			int markedCount = 0;
+			for(int i = 0; i < count; i++)
+			{
+				if(this.synchMark(objects[i], epoch))
+				{
+					objects[markedCount++] = objects[i];
+				}
+			}
+
+			return markedCount;
+		}
+	}
+
+	private boolean synchMark(final Object object, final byte epoch)
+	{
+		final int slot = this.synchObjectSlot(object);
+		if(slot < 0 || this.marks[slot] == epoch)
+		{
+			return false;
+		}
+
+		this.marks[slot]      = epoch;
+		this.references[slot] = object;
+
+		return true;
+	}
+
+	private long synchDemoteUnmarked(final byte epoch)
+	{
+		final Object[] references = this.references;
+		final byte[]   marks      = this.marks     ;
+
+		long strongCount = 0;
+		for(int i = 0; i < references.length; i++)
+		{
+			if(references[i] == null || references[i] instanceof Weak)
+			{
+				continue;
+			}
+			if(marks[i] == epoch)
+			{
+				strongCount++;
+			}
+			else
+			{
+				references[i] = new Weak(references[i]);
+			}
+		}
+
+		return strongCount;
+	}
+
+	// clearing //
+
+	@Override
+	public final void clear()
+	{
+		synchronized(this.mutex)
+		{
+			this.synchClear();
+			this.synchReregisterConstants();
+		}
+	}
+
+	@Override
+	public final void clearAll()
+	{
+		synchronized(this.mutex)
+		{
+			this.synchClear();
+		}
+	}
+
+	private void synchClear()
+	{
+		Arrays.fill(this.objectIds , 0L);
+		Arrays.fill(this.references, null);
+		Arrays.fill(this.marks     , (byte)0);
+		Arrays.fill(this.refTable  , 0);
+		this.size     = 0;
+		this.refCount = 0;
+	}
+
+	@Override
+	public final void truncate()
+	{
+		synchronized(this.mutex)
+		{
+			this.synchReset();
+			this.synchReregisterConstants();
+		}
+	}
+
+	@Override
+	public final void truncateAll()
+	{
+		synchronized(this.mutex)
+		{
+			this.synchReset();
+		}
+	}
+
+	private void synchReregisterConstants()
+	{
+		for(final KeyValue<Long, Object> constant : this.constants)
+		{
+			// NOT registerConstant() at this point!
+			this.synchRegister(constant.key(), constant.value(), false, true);
+		}
+	}
+
+	@Override
+	public boolean processLiveObjectIds(final ObjectIdsProcessor processor)
+	{
+		synchronized(this.mutex)
+		{
+			processor.processObjectIdsByFilter(this::synchIsLiveObjectId);
+			return true;
+		}
+	}
+
+	final boolean synchIsLiveObjectId(final long objectId)
+	{
+		return this.synchObjectIdSlot(objectId) >= 0;
+	}
+
+	@Override
+	public Set_long selectLiveObjectIds(final Set_long objectIdsBaseSet)
+	{
+		synchronized(this.mutex)
+		{
+			return objectIdsBaseSet.filter(this::synchIsLiveObjectId);
+		}
+	}
+
+	// HashStatistics //
+
+	/**
+	 * Open addressing has no buckets, so the "bucket length" of an entry is its probing length
+	 * (the distance from its hash index plus one).
+	 */
+	@Override
+	public final XGettingTable<String, HashStatisticsBucketBased> createHashStatistics()
+	{
+		synchronized(this.mutex)
+		{
+			final long[] objectIdProbes = new long[this.objectIds.length];
+			final long[] objectProbes   = new long[this.refTable.length];
+			final int    range          = this.objectIds.length - 1;
+			for(int i = 0; i < this.objectIds.length; i++)
+			{
+				if(this.objectIds[i] != 0)
+				{
+					objectIdProbes[i] = (i - this.oidIndex(this.objectIds[i]) & range) + 1;
+				}
+				final int slot = this.refTable[i] - 1;
+				final Object object;
+				if(slot >= 0 && (object = resolve(this.references[slot])) != null)
+				{
+					objectProbes[i] = (i - this.refIndex(hash(object)) & range) + 1;
+				}
+			}
+
+			return EqHashTable.New(
+				KeyValue("PerObjectIds", this.synchCreateHashStatistics(objectIdProbes)),
+				KeyValue("PerObjects"  , this.synchCreateHashStatistics(objectProbes  ))
+			);
+		}
+	}
+
+	private HashStatisticsBucketBased synchCreateHashStatistics(final long[] probeLengths)
+	{
+		final EqHashTable<Long, Long> distributionTable = EqHashTable.New();
+		for(final long probeLength : probeLengths)
+		{
+			final Long count = distributionTable.get(probeLength);
+			distributionTable.put(probeLength, count == null ? 1L : count + 1L);
+		}
+
+		distributionTable.keys().sort(XSort::compare);
+		final long highest = distributionTable.last().key();
+		for(long l = 0; l < highest; l++)
+		{
+			distributionTable.add(l, 0L);
+		}
+		distributionTable.keys().sort(XSort::compare);
+
+		return HashStatisticsBucketBased.New(
+			probeLengths.length,
+			this.size          ,
+			this.hashDensity   ,
+			highest            ,
+			distributionTable
+		);
+	}
+
+
+
+	///////////////////////////////////////////////////////////////////////////
+	// member types //
+	/////////////////
+
+	/**
+	 * Dedicated type to tell weakly referenced objects apart from strongly referenced {@link WeakReference}s.
+	 */
+	static final class Weak extends WeakReference<Object>
+	{
+		Weak(final Object referent)
+		{
+			super(referent);
+		}
+
+	}
+
+	static final class Walk implements PersistenceFunction
+	{
+		///////////////////////////////////////////////////////////////////////////
+		// instance fields //
+		////////////////////
+
+		private final CompactObjectRegistry           registry         ;
+		private final PersistenceTypeHandlerLookup<?> typeHandlerLookup;
+		private final byte                            epoch            ;
+		private final Object[]                        pending          ;
+		private       int                             pendingSize      ;
+		private       Object[]                        stack            ;
+		private       int                             stackSize        ;
+		private       Class<?>                        lastType         ;
+		private       PersistenceTypeHandler<?, ?>    lastHandler      ;
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// constructors //
+		/////////////////
+
+		Walk(
+			final CompactObjectRegistry           registry         ,
+			final PersistenceTypeHandlerLookup<?> typeHandlerLookup,
+			final byte                            epoch
+		)
+		{
+			super();
+			this.registry          = registry         ;
+			this.typeHandlerLookup = typeHandlerLookup;
+			this.epoch             = epoch            ;
+			this.pending           = new Object[1024] ;
+			this.stack             = new Object[1024] ;
+		}
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// methods //
+		////////////
+
+		@Override
+		public final <T> long apply(final T instance)
+		{
+			// references are marked in batches to lock the registry only once per batch.
+			if(instance != null)
+			{
+				this.pending[this.pendingSize++] = instance;
+				if(this.pendingSize == this.pending.length)
+				{
+					this.flushPending();
+				}
+			}
+
+			return Swizzling.nullId();
+		}
+
+		private void flushPending()
+		{
+			// only registered objects are passed, each one once per walk.
+			final int markedCount = this.registry.markAll(this.pending, this.pendingSize, this.epoch);
+			if(this.stackSize + markedCount > this.stack.length)
+			{
+				this.stack = Arrays.copyOf(this.stack, Math.max(this.stack.length << 1, this.stackSize + markedCount));
+			}
+			System.arraycopy(this.pending, 0, this.stack, this.stackSize, markedCount);
+			this.stackSize += markedCount;
+
+			Arrays.fill(this.pending, 0, this.pendingSize, null);
+			this.pendingSize = 0;
+		}
+
+		final void run()
+		{
+			while(true)
+			{
+				if(this.stackSize == 0)
+				{
+					if(this.pendingSize == 0)
+					{
+						return;
+					}
+					this.flushPending();
+					continue;
+				}
+
+				final Object instance = this.stack[--this.stackSize];
+				this.stack[this.stackSize] = null;
+				this.iterateReferences(instance);
+			}
+		}
+
+		@SuppressWarnings("unchecked")
+		private <T> void iterateReferences(final T instance)
+		{
+			// object graphs mostly consist of long runs of instances of the same type, so caching the last one helps.
+			if(instance.getClass() != this.lastType)
+			{
+				this.lastHandler = this.typeHandlerLookup.lookupTypeHandler(instance);
+				this.lastType    = instance.getClass();
+			}
+
+			final PersistenceTypeHandler<?, ? super T> handler = (PersistenceTypeHandler<?, ? super T>)this.lastHandler;
+			if(handler != null)
+			{
+				handler.iterateInstanceReferences(instance, this);
+			}
+		}
+
+	}
+
+}
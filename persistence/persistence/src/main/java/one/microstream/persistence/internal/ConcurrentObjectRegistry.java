@@ -0,0 +1,1076 @@
+package one.microstream.persistence.internal;
+
+/*-
+ * #%L
+ * microstream-persistence
+ * %%
+ * Copyright (C) 2019 - 2022 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+import static one.microstream.X.KeyValue;
+
+import java.lang.ref.WeakReference;
+import java.util.function.Supplier;
+
+import one.microstream.collections.EqHashTable;
+import one.microstream.collections.Set_long;
+import one.microstream.collections.XSort;
+import one.microstream.collections.types.XGettingTable;
+import one.microstream.hashing.HashStatisticsBucketBased;
+import one.microstream.hashing.XHashing;
+import one.microstream.math.XMath;
+import one.microstream.persistence.exceptions.PersistenceExceptionConsistency;
+import one.microstream.persistence.exceptions.PersistenceExceptionConsistencyObject;
+import one.microstream.persistence.exceptions.PersistenceExceptionConsistencyObjectId;
+import one.microstream.persistence.exceptions.PersistenceExceptionImproperObjectId;
+import one.microstream.persistence.types.ObjectIdsProcessor;
+import one.microstream.persistence.types.PersistenceAcceptor;
+import one.microstream.persistence.types.PersistenceObjectRegistry;
+import one.microstream.reference.Swizzling;
+import one.microstream.typing.KeyValue;
+
+/**
+ * A {@link PersistenceObjectRegistry} implementation for highly concurrent usage.
+ * <p>
+ * The entries are distributed over a fixed number of segments, each segment having its own lock and its own
+ * hash tables. Lookups do not lock at all, they read an immutable snapshot of the hash chains of the
+ * responsible segment. Registering locks at most two segments (the one responsible for the objectId and the
+ * one responsible for the object), so registrations in different segments run in parallel.
+ * <p>
+ * Rebuilding a segment's hash tables only blocks the registrations in that segment. Orphan entries (whose
+ * objects have been collected) are removed incrementally from every hash chain a registration passes through
+ * and segment by segment by {@link #consolidate()}.
+ * <p>
+ * Compared to {@link DefaultObjectRegistry}, every entry occupies two additional small chain nodes.
+ */
+public final class ConcurrentObjectRegistry implements PersistenceObjectRegistry
+{
+	///////////////////////////////////////////////////////////////////////////
+	// constants //
+	//////////////
+
+	public static final float defaultHashDensity()
+	{
+		return DefaultObjectRegistry.defaultHashDensity();
+	}
+
+	public static final int defaultSegmentCount()
+	{
+		// enough segments to make it unlikely that two threads register in the same segment at the same time.
+		return XHashing.padHashLength(Math.max(16, Runtime.getRuntime().availableProcessors() * 4));
+	}
+
+	public static final int maximumSegmentCount()
+	{
+		// the segment index is derived from the upper 16 bits of the spread hash value.
+		return 1 << 16;
+	}
+
+
+
+	///////////////////////////////////////////////////////////////////////////
+	// static methods //
+	///////////////////
+
+	static final int hash(final Object object)
+	{
+		return System.identityHashCode(object);
+	}
+
+	private static int spread(final int hash)
+	{
+		// golden ratio multiplication, so that the segment index does not correlate with the bucket index.
+		return hash * 0x9E3779B9 >>> 16;
+	}
+
+	private static int calculateRequiredHashLength(final long minimumCapacity, final float hashDensity)
+	{
+		return XHashing.padHashLength((long)(minimumCapacity / hashDensity));
+	}
+
+	private static long calculateCapacity(final int hashLength, final float hashDensity)
+	{
+		return hashLength >= XMath.highestPowerOf2_int()
+			? Long.MAX_VALUE
+			: (long)(hashLength * hashDensity)
+		;
+	}
+
+	private static int validateSegmentCount(final int segmentCount)
+	{
+		if(segmentCount <= 0 || segmentCount > maximumSegmentCount() || Integer.bitCount(segmentCount) != 1)
+		{
+			throw new IllegalArgumentException(
+				"Segment count must be a power of 2 in [1; " + maximumSegmentCount() + "]: " + segmentCount
+			);
+		}
+
+		return segmentCount;
+	}
+
+
+
+	///////////////////////////////////////////////////////////////////////////
+	// static constructors //
+	////////////////////////
+
+	public static ConcurrentObjectRegistry New()
+	{
+		return New(defaultHashDensity());
+	}
+
+	public static ConcurrentObjectRegistry New(final long minimumCapacity)
+	{
+		return New(defaultHashDensity(), minimumCapacity);
+	}
+
+	public static ConcurrentObjectRegistry New(final float hashDensity)
+	{
+		return New(hashDensity, 1);
+	}
+
+	public static ConcurrentObjectRegistry New(
+		final float hashDensity    ,
+		final long  minimumCapacity
+	)
+	{
+		return New(hashDensity, minimumCapacity, defaultSegmentCount());
+	}
+
+	/**
+	 * @param hashDensity reasonable values are within [0.75; 2.00].
+	 * @param minimumCapacity the initial minimum capacity
+	 * @param segmentCount the number of independently locked segments, must be a power of 2.
+	 * @return the newly created {@link ConcurrentObjectRegistry}
+	 */
+	public static ConcurrentObjectRegistry New(
+		final float hashDensity    ,
+		final long  minimumCapacity,
+		final int   segmentCount
+	)
+	{
+		return new ConcurrentObjectRegistry(
+			DefaultObjectRegistry.validateHashDensity(hashDensity),
+			DefaultObjectRegistry.validateCapacity(minimumCapacity),
+			validateSegmentCount(segmentCount)
+		);
+	}
+
+
+
+	///////////////////////////////////////////////////////////////////////////
+	// instance fields //
+	////////////////////
+
+	/*
+	 * Note:
+	 * As with DefaultObjectRegistry, the segment locks do NOT replace locking the whole registry over a not to
+	 * be "disrupted" process like loading (See BinaryLoader#get). They only keep things consistent on a
+	 * technical level, hence no method may lock the registry instance itself.
+	 */
+	private final Segment[] segments   ;
+	private final int       segmentMask;
+
+	private volatile float hashDensity;
+	private volatile long  minCapacity;
+
+	// constants are registered rarely, so a simple table guarded by itself suffices.
+	private final EqHashTable<Long, Object> constants = EqHashTable.New();
+
+
+
+	///////////////////////////////////////////////////////////////////////////
+	// constructors //
+	/////////////////
+
+	ConcurrentObjectRegistry(
+		final float hashDensity    ,
+		final long  minimumCapacity,
+		final int   segmentCount
+	)
+	{
+		super();
+		this.hashDensity = hashDensity;
+		this.minCapacity = minimumCapacity;
+		this.segmentMask = segmentCount - 1;
+		this.segments    = new Segment[segmentCount];
+
+		final int hashLength = calculateRequiredHashLength(this.segmentMinimumCapacity(), hashDensity);
+		for(int i = 0; i < segmentCount; i++)
+		{
+			this.segments[i] = new Segment(i, hashLength, hashDensity);
+		}
+	}
+
+
+
+	///////////////////////////////////////////////////////////////////////////
+	// methods //
+	////////////
+
+	/* note on naming:
+	 *
+	 * All methods starting with "synch~" must be called while holding the lock of the segment(s) they modify.
+	 * All other methods either only read the segments' hash tables or lock the segments themselves.
+	 */
+
+	private Segment segmentForObjectId(final long objectId)
+	{
+		return this.segments[spread((int)(objectId ^ objectId >>> 32)) & this.segmentMask];
+	}
+
+	private Segment segmentForRefHash(final int refHash)
+	{
+		return this.segments[spread(refHash) & this.segmentMask];
+	}
+
+	private long segmentMinimumCapacity()
+	{
+		return Math.max(1, this.minCapacity / this.segments.length);
+	}
+
+	private <T> T lockAll(final Supplier<T> logic)
+	{
+		return this.lockAll(0, logic);
+	}
+
+	private <T> T lockAll(final int index, final Supplier<T> logic)
+	{
+		if(index == this.segments.length)
+		{
+			return logic.get();
+		}
+
+		// always locking in index order prevents deadlocks with registering threads.
+		synchronized(this.segments[index])
+		{
+			return this.lockAll(index + 1, logic);
+		}
+	}
+
+	@Override
+	public final ConcurrentObjectRegistry Clone()
+	{
+		return ConcurrentObjectRegistry.New(this.hashDensity, this.minCapacity, this.segments.length);
+	}
+
+	@Override
+	public final int hashRange()
+	{
+		long hashLength = 0;
+		for(final Segment segment : this.segments)
+		{
+			hashLength += segment.oidTable.length;
+		}
+
+		return (int)Math.min(hashLength, Integer.MAX_VALUE);
+	}
+
+	@Override
+	public final float hashDensity()
+	{
+		return this.hashDensity;
+	}
+
+	@Override
+	public final long minimumCapacity()
+	{
+		return this.minCapacity;
+	}
+
+	@Override
+	public final long capacity()
+	{
+		long capacity = 0;
+		for(final Segment segment : this.segments)
+		{
+			if((capacity += segment.capacity) < 0)
+			{
+				return Long.MAX_VALUE;
+			}
+		}
+
+		return capacity;
+	}
+
+	@Override
+	public final long size()
+	{
+		long size = 0;
+		for(final Segment segment : this.segments)
+		{
+			size += segment.size;
+		}
+
+		return size;
+	}
+
+	@Override
+	public final boolean isEmpty()
+	{
+		for(final Segment segment : this.segments)
+		{
+			if(segment.size != 0)
+			{
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	@Override
+	public final boolean setHashDensity(final float hashDensity)
+	{
+		return this.setConfiguration(hashDensity, this.minCapacity);
+	}
+
+	@Override
+	public final boolean setMinimumCapacity(final long minimumCapacity)
+	{
+		return this.setConfiguration(this.hashDensity, minimumCapacity);
+	}
+
+	@Override
+	public final boolean setConfiguration(
+		final float hashDensity    ,
+		final long  minimumCapacity
+	)
+	{
+		// both values are checked before modifying any state
+		DefaultObjectRegistry.validateHashDensity(hashDensity);
+		DefaultObjectRegistry.validateCapacity(minimumCapacity);
+
+		this.hashDensity = hashDensity;
+		this.minCapacity = minimumCapacity;
+
+		for(final Segment segment : this.segments)
+		{
+			synchronized(segment)
+			{
+				segment.synchSetHashDensity(hashDensity);
+			}
+		}
+
+		return this.ensureCapacity(minimumCapacity);
+	}
+
+	@Override
+	public final boolean ensureCapacity(final long desiredCapacity)
+	{
+		DefaultObjectRegistry.validateCapacity(desiredCapacity);
+
+		final long segmentCapacity = Math.max(1, (desiredCapacity + this.segments.length - 1) / this.segments.length);
+
+		boolean rebuilt = false;
+		for(final Segment segment : this.segments)
+		{
+			synchronized(segment)
+			{
+				rebuilt |= segment.synchEnsureCapacity(segmentCapacity);
+			}
+		}
+
+		return rebuilt;
+	}
+
+	@Override
+	public final boolean containsObjectId(final long objectId)
+	{
+		final Node[] table = this.segmentForObjectId(objectId).oidTable;
+		for(Node n = table[(int)objectId & table.length - 1]; n != null; n = n.next)
+		{
+			if(n.entry.objectId == objectId)
+			{
+				return true;
+			}
+		}
+
+		return false;
+	}
+
+	@Override
+	public final long lookupObjectId(final Object object)
+	{
+		if(object == null)
+		{
+			throw new NullPointerException();
+		}
+
+		final int refHash = hash(object);
+		return lookupObjectId(this.segmentForRefHash(refHash).refTable, object, refHash);
+	}
+
+	static long lookupObjectId(final Node[] refTable, final Object object, final int refHash)
+	{
+		for(Node n = refTable[refHash & refTable.length - 1]; n != null; n = n.next)
+		{
+			if(n.entry.get() == object)
+			{
+				return n.entry.objectId;
+			}
+		}
+
+		return Swizzling.notFoundId();
+	}
+
+	@Override
+	public final Object lookupObject(final long objectId)
+	{
+		return lookupObject(this.segmentForObjectId(objectId).oidTable, objectId);
+	}
+
+	static Object lookupObject(final Node[] oidTable, final long objectId)
+	{
+		for(Node n = oidTable[(int)objectId & oidTable.length - 1]; n != null; n = n.next)
+		{
+			if(n.entry.objectId == objectId)
+			{
+				return n.entry.get();
+			}
+		}
+
+		return null;
+	}
+
+	@Override
+	public final boolean isValid(final long objectId, final Object object)
+	{
+		return this.internalValidate(objectId, object, false);
+	}
+
+	@Override
+	public final void validate(final long objectId, final Object object)
+	{
+		this.internalValidate(objectId, object, true);
+	}
+
+	private boolean internalValidate(final long objectId, final Object object, final boolean throwException)
+	{
+		final long registeredObjectId = this.lookupObjectId(object);
+		if(registeredObjectId == objectId)
+		{
+			// already registered entry
+			return true;
+		}
+
+		if(Swizzling.isNotFoundId(registeredObjectId))
+		{
+			final Object registeredObject = this.lookupObject(objectId);
+			if(registeredObject == null)
+			{
+				// consistently not registered object
+				return true;
+			}
+
+			if(!throwException)
+			{
+				return false;
+			}
+			if(registeredObject == object)
+			{
+				throw new PersistenceExceptionConsistency("Inconsistent object registry for objectId " + objectId);
+			}
+			throw new PersistenceExceptionConsistencyObject(objectId, registeredObject, object);
+		}
+
+		if(!throwException)
+		{
+			return false;
+		}
+		throw new PersistenceExceptionConsistencyObjectId(object, registeredObjectId, objectId);
+	}
+
+	private static void validateRegistration(final long objectId, final Object object)
+	{
+		if(object == null)
+		{
+			throw new NullPointerException();
+		}
+		if(Swizzling.isNotProperId(objectId))
+		{
+			throw new PersistenceExceptionImproperObjectId();
+		}
+	}
+
+	@Override
+	public final boolean registerObject(final long objectId, final Object object)
+	{
+		validateRegistration(objectId, object);
+
+		return this.register(objectId, object, false) == null;
+	}
+
+	@Override
+	public final Object optionalRegisterObject(final long objectId, final Object object)
+	{
+		validateRegistration(objectId, object);
+
+		final Object registered = this.register(objectId, object, true);
+
+		return registered != null
+			? registered
+			: object
+		;
+	}
+
+	/**
+	 * @return the already registered object for the passed objectId or {@code null} if the passed object
+	 *         has been registered.
+	 */
+	private Object register(final long objectId, final Object object, final boolean optional)
+	{
+		final int     refHash    = hash(object);
+		final Segment oidSegment = this.segmentForObjectId(objectId);
+		final Segment refSegment = this.segmentForRefHash(refHash);
+
+		// always locking in index order prevents deadlocks. Locking the same segment twice is harmless.
+		final boolean oidFirst = oidSegment.index <= refSegment.index;
+		synchronized(oidFirst ? oidSegment : refSegment)
+		{
+			synchronized(oidFirst ? refSegment : oidSegment)
+			{
+				return synchRegister(oidSegment, refSegment, objectId, object, refHash, optional);
+			}
+		}
+	}
+
+	private static Object synchRegister(
+		final Segment oidSegment,
+		final Segment refSegment,
+		final long    objectId  ,
+		final Object  object    ,
+		final int     refHash   ,
+		final boolean optional
+	)
+	{
+		final Object registered = oidSegment.synchSweepLookupObject(objectId);
+		if(registered != null)
+		{
+			if(registered == object || optional)
+			{
+				return registered;
+			}
+			throw new PersistenceExceptionConsistencyObject(objectId, registered, object);
+		}
+
+		final long registeredObjectId = refSegment.synchSweepLookupObjectId(object, refHash);
+		if(Swizzling.isFoundId(registeredObjectId))
+		{
+			throw new PersistenceExceptionConsistencyObjectId(object, registeredObjectId, objectId);
+		}
+
+		final Entry entry = new Entry(objectId, object, refHash);
+		oidSegment.synchAddOid(entry);
+		refSegment.synchAddRef(entry);
+
+		return null;
+	}
+
+	@Override
+	public final boolean registerConstant(final long objectId, final Object constant)
+	{
+		synchronized(this.constants)
+		{
+			if(!this.registerObject(objectId, constant))
+			{
+				return false;
+			}
+			this.constants.add(objectId, constant);
+
+			return true;
+		}
+	}
+
+	@Override
+	public final <A extends PersistenceAcceptor> A iterateEntries(final A acceptor)
+	{
+		// every segment's hash table is an immutable snapshot, so no locking is required.
+		for(final Segment segment : this.segments)
+		{
+			for(final Node head : segment.oidTable)
+			{
+				for(Node n = head; n != null; n = n.next)
+				{
+					acceptor.accept(n.entry.objectId, n.entry.get());
+				}
+			}
+		}
+
+		return acceptor;
+	}
+
+	// rebuilding and consolidation //
+
+	@Override
+	public final boolean consolidate()
+	{
+		final long segmentMinimumCapacity = this.segmentMinimumCapacity();
+
+		// one segment at a time, so the other segments stay available for registering.
+		boolean rebuilt = false;
+		for(final Segment segment : this.segments)
+		{
+			synchronized(segment)
+			{
+				rebuilt |= segment.synchConsolidate(segmentMinimumCapacity);
+			}
+		}
+
+		return rebuilt;
+	}
+
+	// clearing //
+
+	@Override
+	public final void clear()
+	{
+		synchronized(this.constants)
+		{
+			this.lockAll(() ->
+			{
+				this.synchClear(false);
+				this.synchReregisterConstants();
+				return null;
+			});
+		}
+	}
+
+	@Override
+	public final void clearAll()
+	{
+		this.lockAll(() ->
+		{
+			this.synchClear(false);
+			return null;
+		});
+	}
+
+	@Override
+	public final void truncate()
+	{
+		synchronized(this.constants)
+		{
+			this.lockAll(() ->
+			{
+				this.synchClear(true);
+				this.synchReregisterConstants();
+				return null;
+			});
+		}
+	}
+
+	@Override
+	public final void truncateAll()
+	{
+		this.lockAll(() ->
+		{
+			this.synchClear(true);
+			return null;
+		});
+	}
+
+	private void synchClear(final boolean truncate)
+	{
+		final long segmentMinimumCapacity = this.segmentMinimumCapacity();
+		for(final Segment segment : this.segments)
+		{
+			segment.synchClear(truncate, segmentMinimumCapacity);
+		}
+	}
+
+	private void synchReregisterConstants()
+	{
+		for(final KeyValue<Long, Object> constant : this.constants)
+		{
+			// NOT registerConstant() at this point!
+			this.registerObject(constant.key(), constant.value());
+		}
+	}
+
+	@Override
+	public boolean processLiveObjectIds(final ObjectIdsProcessor processor)
+	{
+		/*
+		 * Like DefaultObjectRegistry, no registering may happen while the live objectIds are processed.
+		 * Lookups are not affected by this.
+		 */
+		return this.lockAll(() ->
+		{
+			processor.processObjectIdsByFilter(this::containsObjectId);
+			return true;
+		});
+	}
+
+	@Override
+	public Set_long selectLiveObjectIds(final Set_long objectIdsBaseSet)
+	{
+		return this.lockAll(() ->
+			objectIdsBaseSet.filter(this::containsObjectId)
+		);
+	}
+
+	// HashStatistics //
+
+	@Override
+	public final XGettingTable<String, HashStatisticsBucketBased> createHashStatistics()
+	{
+		return this.lockAll(() ->
+			EqHashTable.New(
+				KeyValue("PerObjectIds", this.synchCreateHashStatistics(true )),
+				KeyValue("PerObjects"  , this.synchCreateHashStatistics(false))
+			)
+		);
+	}
+
+	private HashStatisticsBucketBased synchCreateHashStatistics(final boolean byObjectId)
+	{
+		final EqHashTable<Long, Long> distributionTable = EqHashTable.New();
+
+		long hashLength = 0;
+		for(final Segment segment : this.segments)
+		{
+			final Node[] table = byObjectId
+				? segment.oidTable
+				: segment.refTable
+			;
+			for(final Node head : table)
+			{
+				long bucketLength = 0;
+				for(Node n = head; n != null; n = n.next)
+				{
+					if(n.entry.get() != null)
+					{
+						bucketLength++;
+					}
+				}
+				final Long count = distributionTable.get(bucketLength);
+				distributionTable.put(bucketLength, count == null ? 1L : count + 1L);
+			}
+			hashLength += table.length;
+		}
+
+		distributionTable.keys().sort(XSort::compare);
+		final long highest = distributionTable.last().key();
+		for(long l = 0; l < highest; l++)
+		{
+			distributionTable.add(l, 0L);
+		}
+		distributionTable.keys().sort(XSort::compare);
+
+		return HashStatisticsBucketBased.New(
+			hashLength      ,
+			this.size()     ,
+			this.hashDensity,
+			highest         ,
+			distributionTable
+		);
+	}
+
+
+
+	///////////////////////////////////////////////////////////////////////////
+	// member types //
+	/////////////////
+
+	static final class Entry extends WeakReference<Object>
+	{
+		final long objectId;
+		final int  refHash ;
+
+		Entry(final long objectId, final Object referent, final int refHash)
+		{
+			super(referent);
+			this.objectId = objectId;
+			this.refHash  = refHash ;
+		}
+
+	}
+
+	/**
+	 * Immutable hash chain node. Modifying a hash chain means replacing the nodes in front of the modified
+	 * position, so lock-free readers always see a consistent chain.
+	 */
+	static final class Node
+	{
+		final Entry entry;
+		final Node  next ;
+
+		Node(final Entry entry, final Node next)
+		{
+			super();
+			this.entry = entry;
+			this.next  = next ;
+		}
+
+	}
+
+	static final class Segment
+	{
+		///////////////////////////////////////////////////////////////////////////
+		// instance fields //
+		////////////////////
+
+		/*
+		 * Both tables are only modified under the segment's lock. Every modification is completed by writing the
+		 * table field again, which safely publishes the modified buckets to the lock-free readers.
+		 */
+		volatile Node[] oidTable;
+		volatile Node[] refTable;
+
+		// size is the number of entries by objectId, refCount the (possibly deviating) number of entries by object.
+		volatile long  size       ;
+		         long  refCount   ;
+		volatile long  capacity   ;
+		         long  refCapacity;
+		         float hashDensity;
+
+		final int index;
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// constructors //
+		/////////////////
+
+		Segment(final int index, final int hashLength, final float hashDensity)
+		{
+			super();
+			this.index       = index;
+			this.hashDensity = hashDensity;
+			this.oidTable    = new Node[hashLength];
+			this.refTable    = new Node[hashLength];
+			this.capacity    = calculateCapacity(hashLength, hashDensity);
+			this.refCapacity = this.capacity;
+		}
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// methods //
+		////////////
+
+		final void synchSetHashDensity(final float hashDensity)
+		{
+			this.hashDensity = hashDensity;
+			this.capacity    = calculateCapacity(this.oidTable.length, hashDensity);
+			this.refCapacity = calculateCapacity(this.refTable.length, hashDensity);
+		}
+
+		final Object synchSweepLookupObject(final long objectId)
+		{
+			final Node[] table = this.oidTable;
+			final int    index = (int)objectId & table.length - 1;
+			final int    swept = sweep(table, index);
+			if(swept != 0)
+			{
+				this.size    -= swept;
+				this.oidTable = table;
+			}
+
+			return lookupObject(table, objectId);
+		}
+
+		final long synchSweepLookupObjectId(final Object object, final int refHash)
+		{
+			final Node[] table = this.refTable;
+			final int    index = refHash & table.length - 1;
+			final int    swept = sweep(table, index);
+			if(swept != 0)
+			{
+				this.refCount -= swept;
+				this.refTable  = table;
+			}
+
+			return lookupObjectId(table, object, refHash);
+		}
+
+		final void synchAddOid(final Entry entry)
+		{
+			final Node[] table = this.oidTable;
+			final int    index = (int)entry.objectId & table.length - 1;
+			table[index] = new Node(entry, table[index]);
+			this.oidTable = table;
+
+			if(++this.size > this.capacity)
+			{
+				this.synchRebuildOidTable(this.oidTable.length << 1);
+			}
+		}
+
+		final void synchAddRef(final Entry entry)
+		{
+			final Node[] table = this.refTable;
+			final int    index = entry.refHash & table.length - 1;
+			table[index] = new Node(entry, table[index]);
+			this.refTable = table;
+
+			if(++this.refCount > this.refCapacity)
+			{
+				this.synchRebuildRefTable(this.refTable.length << 1);
+			}
+		}
+
+		final boolean synchEnsureCapacity(final long desiredCapacity)
+		{
+			final int requiredHashLength = calculateRequiredHashLength(desiredCapacity, this.hashDensity);
+
+			boolean rebuilt = false;
+			if(requiredHashLength > this.oidTable.length)
+			{
+				this.synchRebuildOidTable(requiredHashLength);
+				rebuilt = true;
+			}
+			if(requiredHashLength > this.refTable.length)
+			{
+				this.synchRebuildRefTable(requiredHashLength);
+				rebuilt = true;
+			}
+
+			return rebuilt;
+		}
+
+		final boolean synchConsolidate(final long minimumCapacity)
+		{
+			final int oidHashLength = this.oidTable.length;
+			final int refHashLength = this.refTable.length;
+
+			// orphans are dropped first, then the tables are shrunk if the remaining entries allow it.
+			this.synchRebuildOidTable(oidHashLength);
+			this.synchRebuildRefTable(refHashLength);
+
+			final int requiredHashLength = calculateRequiredHashLength(
+				Math.max(Math.max(this.size, this.refCount), minimumCapacity),
+				this.hashDensity
+			);
+
+			boolean rebuilt = false;
+			if(requiredHashLength != oidHashLength)
+			{
+				this.synchRebuildOidTable(requiredHashLength);
+				rebuilt = true;
+			}
+			if(requiredHashLength != refHashLength)
+			{
+				this.synchRebuildRefTable(requiredHashLength);
+				rebuilt = true;
+			}
+
+			return rebuilt;
+		}
+
+		final void synchClear(final boolean truncate, final long minimumCapacity)
+		{
+			final int hashLength = truncate
+				? calculateRequiredHashLength(minimumCapacity, this.hashDensity)
+				: this.oidTable.length
+			;
+
+			// new tables instead of nulling the buckets, so the old ones stay a consistent snapshot.
+			this.size     = 0;
+			this.refCount = 0;
+			this.oidTable = new Node[hashLength];
+			this.refTable = new Node[truncate ? hashLength : this.refTable.length];
+			this.synchSetHashDensity(this.hashDensity);
+		}
+
+		private void synchRebuildOidTable(final int hashLength)
+		{
+			final Node[] table = new Node[hashLength];
+			this.size     = rebuild(this.oidTable, table, true);
+			this.oidTable = table;
+			this.capacity = calculateCapacity(hashLength, this.hashDensity);
+		}
+
+		private void synchRebuildRefTable(final int hashLength)
+		{
+			final Node[] table = new Node[hashLength];
+			this.refCount    = rebuild(this.refTable, table, false);
+			this.refTable    = table;
+			this.refCapacity = calculateCapacity(hashLength, this.hashDensity);
+		}
+
+		/**
+		 * Removes all orphan entries from the passed bucket. The nodes behind the last orphan are reused.
+		 *
+		 * @return the number of removed orphans.
+		 */
+		private static int sweep(final Node[] table, final int index)
+		{
+			Node lastOrphan = null;
+			for(Node n = table[index]; n != null; n = n.next)
+			{
+				if(n.entry.get() == null)
+				{
+					lastOrphan = n;
+				}
+			}
+			if(lastOrphan == null)
+			{
+				return 0;
+			}
+
+			// entries might become orphans meanwhile, so the removed ones are counted in the rebuilding pass.
+			int  orphanCount = 1;
+			Node head        = lastOrphan.next;
+			for(Node n = table[index]; n != lastOrphan; n = n.next)
+			{
+				if(n.entry.get() != null)
+				{
+					head = new Node(n.entry, head);
+				}
+				else
+				{
+					orphanCount++;
+				}
+			}
+			table[index] = head;
+
+			return orphanCount;
+		}
+
+		/**
+		 * Fills the passed new table with new nodes for all live entries of the passed old table.
+		 * The old table is not modified and stays a consistent snapshot for lock-free readers.
+		 *
+		 * @return the number of live entries.
+		 */
+		private static long rebuild(final Node[] oldTable, final Node[] newTable, final boolean byObjectId)
+		{
+			final int hashRange = newTable.length - 1;
+
+			long count = 0;
+			for(final Node head : oldTable)
+			{
+				for(Node n = head; n != null; n = n.next)
+				{
+					if(n.entry.get() == null)
+					{
+						continue;
+					}
+
+					final int index = (byObjectId ? (int)n.entry.objectId : n.entry.refHash) & hashRange;
+					newTable[index] = new Node(n.entry, newTable[index]);
+					count++;
+				}
+			}
+
+			return count;
+		}
+
+	}
+
+}
@@ -0,0 +1,287 @@
+package one.microstream.persistence.internal;
+
+/*-
+ * #%L
+ * microstream-persistence
+ * %%
+ * Copyright (C) 2019 - 2022 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+import static one.microstream.X.notNull;
+
+import one.microstream.collections.Set_long;
+import one.microstream.collections.types.XGettingTable;
+import one.microstream.hashing.HashStatistics;
+import one.microstream.persistence.types.ObjectIdsProcessor;
+import one.microstream.persistence.types.PersistenceAcceptor;
+import one.microstream.persistence.types.PersistenceObjectRegistry;
+import one.microstream.reference.Swizzling;
+
+/**
+ * A {@link PersistenceObjectRegistry} implementation layered on top of a parent registry for loading detached
+ * instances: lookups consult the own (local) entries first and then the parent registry, but registrations
+ * only ever go into the local entries.
+ * <p>
+ * A loader using such a registry reuses all instances already known to the parent registry (e.g. constants or
+ * instances that are already loaded), but every instance it creates stays unknown to the parent registry and
+ * can become garbage as soon as the loaded instances are no longer referenced by the application.
+ * <p>
+ * All querying and maintenance methods except lookups refer to the local entries only.
+ */
+public final class DetachedObjectRegistry implements PersistenceObjectRegistry
+{
+	///////////////////////////////////////////////////////////////////////////
+	// static constructors //
+	////////////////////////
+
+	/**
+	 * Creates a new {@link DetachedObjectRegistry} whose local entries are held by an empty
+	 * {@link PersistenceObjectRegistry#Clone() clone} of the passed parent registry.
+	 * 
+	 * @param parent the registry to be consulted for lookups that cannot be resolved locally.
+	 * 
+	 * @return a new {@link DetachedObjectRegistry}.
+	 */
+	public static DetachedObjectRegistry New(final PersistenceObjectRegistry parent)
+	{
+		return New(parent, parent.Clone());
+	}
+
+	public static DetachedObjectRegistry New(
+		final PersistenceObjectRegistry parent,
+		final PersistenceObjectRegistry local
+	)
+	{
+		return new DetachedObjectRegistry(
+			notNull(parent),
+			notNull(local)
+		);
+	}
+
+
+
+	///////////////////////////////////////////////////////////////////////////
+	// instance fields //
+	////////////////////
+
+	private final PersistenceObjectRegistry parent;
+	private final PersistenceObjectRegistry local ;
+
+
+
+	///////////////////////////////////////////////////////////////////////////
+	// constructors //
+	/////////////////
+
+	DetachedObjectRegistry(final PersistenceObjectRegistry parent, final PersistenceObjectRegistry local)
+	{
+		super();
+		this.parent = parent;
+		this.local  = local ;
+	}
+
+
+
+	///////////////////////////////////////////////////////////////////////////
+	// methods //
+	////////////
+
+	public final PersistenceObjectRegistry parent()
+	{
+		return this.parent;
+	}
+
+	@Override
+	public final DetachedObjectRegistry Clone()
+	{
+		return new DetachedObjectRegistry(this.parent, this.local.Clone());
+	}
+
+	@Override
+	public final long lookupObjectId(final Object object)
+	{
+		final long objectId;
+		if(Swizzling.isFoundId(objectId = this.local.lookupObjectId(object)))
+		{
+			return objectId;
+		}
+		
+		return this.parent.lookupObjectId(object);
+	}
+
+	@Override
+	public final Object lookupObject(final long objectId)
+	{
+		final Object object;
+		if((object = this.local.lookupObject(objectId)) != null)
+		{
+			return object;
+		}
+		
+		return this.parent.lookupObject(objectId);
+	}
+
+	@Override
+	public final boolean containsObjectId(final long objectId)
+	{
+		return this.local.containsObjectId(objectId) || this.parent.containsObjectId(objectId);
+	}
+
+	@Override
+	public final boolean isValid(final long objectId, final Object object)
+	{
+		return this.local.isValid(objectId, object);
+	}
+
+	@Override
+	public final void validate(final long objectId, final Object object)
+	{
+		this.local.validate(objectId, object);
+	}
+
+	@Override
+	public final <A extends PersistenceAcceptor> A iterateEntries(final A acceptor)
+	{
+		return this.local.iterateEntries(acceptor);
+	}
+
+	@Override
+	public final long size()
+	{
+		return this.local.size();
+	}
+
+	@Override
+	public final boolean isEmpty()
+	{
+		return this.local.isEmpty();
+	}
+
+	@Override
+	public final int hashRange()
+	{
+		return this.local.hashRange();
+	}
+
+	@Override
+	public final float hashDensity()
+	{
+		return this.local.hashDensity();
+	}
+
+	@Override
+	public final long minimumCapacity()
+	{
+		return this.local.minimumCapacity();
+	}
+
+	@Override
+	public final long capacity()
+	{
+		return this.local.capacity();
+	}
+
+	@Override
+	public final boolean setHashDensity(final float hashDensity)
+	{
+		return this.local.setHashDensity(hashDensity);
+	}
+
+	@Override
+	public final boolean setMinimumCapacity(final long minimumCapacity)
+	{
+		return this.local.setMinimumCapacity(minimumCapacity);
+	}
+
+	@Override
+	public final boolean setConfiguration(final float hashDensity, final long minimumCapacity)
+	{
+		return this.local.setConfiguration(hashDensity, minimumCapacity);
+	}
+
+	@Override
+	public final boolean ensureCapacity(final long capacity)
+	{
+		return this.local.ensureCapacity(capacity);
+	}
+
+	@Override
+	public final boolean registerObject(final long objectId, final Object object)
+	{
+		return this.local.registerObject(objectId, object);
+	}
+
+	@Override
+	public final Object optionalRegisterObject(final long objectId, final Object object)
+	{
+		return this.local.optionalRegisterObject(objectId, object);
+	}
+
+	@Override
+	public final boolean registerConstant(final long objectId, final Object constant)
+	{
+		return this.local.registerConstant(objectId, constant);
+	}
+
+	@Override
+	public final boolean consolidate()
+	{
+		return this.local.consolidate();
+	}
+
+	@Override
+	public final void clear()
+	{
+		this.local.clear();
+	}
+
+	@Override
+	public final void clearAll()
+	{
+		this.local.clearAll();
+	}
+
+	@Override
+	public final void truncate()
+	{
+		this.local.truncate();
+	}
+
+	@Override
+	public final void truncateAll()
+	{
+		this.local.truncateAll();
+	}
+
+	@Override
+	public final XGettingTable<String, ? extends HashStatistics> createHashStatistics()
+	{
+		return this.local.createHashStatistics();
+	}
+
+	@Override
+	public final boolean processLiveObjectIds(final ObjectIdsProcessor processor)
+	{
+		return this.local.processLiveObjectIds(processor);
+	}
+
+	@Override
+	public final Set_long selectLiveObjectIds(final Set_long objectIdsBaseSet)
+	{
+		return this.local.selectLiveObjectIds(objectIdsBaseSet);
+	}
+
+}
@@ -102,6 +102,8 @@ extends Cloneable<PersistenceFoundation<D, F>>,
 	public PersistenceSource<D> getPersistenceSource();
 	
 	public PersistenceObjectRegistry getObjectRegistry();
+	
+	public PersistenceObjectRegistry.Creator getObjectRegistryCreator();
 
 	public PersistenceObjectManager<D> getObjectManager();
 	
@@ -230,6 +232,16 @@ extends Cloneable<PersistenceFoundation<D, F>>,
 	
 	public F setObjectRegistry(PersistenceObjectRegistry objectRegistry);
 	
+	/**
+	 * Sets the logic to create the object registry if none is set explicitly via
+	 * {@link #setObjectRegistry(PersistenceObjectRegistry)}, e.g. {@link PersistenceObjectRegistry.Creator#Concurrent()}
+	 * for heavily concurrent storing and loading. The Java constants are registered in the created registry.
+	 * 
+	 * @param objectRegistryCreator the object registry creator
+	 * @return this
+	 */
+	public F setObjectRegistryCreator(PersistenceObjectRegistry.Creator objectRegistryCreator);
+	
 	public F setTypeRegistry(PersistenceTypeRegistry typeRegistry);
 
 	public F setInstanceDispatcher(InstanceDispatcherLogic instanceDispatcher);
@@ -447,6 +459,7 @@ extends Cloneable<PersistenceFoundation<D, F>>,
 		private PersistenceTypeIdProvider                      tidProvider                     ;
 		private PersistenceTypeRegistry                        typeRegistry                    ;
 		private PersistenceObjectRegistry                      objectRegistry                  ;
+		private PersistenceObjectRegistry.Creator              objectRegistryCreator           ;
 		private PersistenceTypeHandlerManager<D>               typeHandlerManager              ;
 		private PersistenceContextDispatcher<D>                contextDispatcher               ;
 		private PersistenceStorer.Creator<D>                   storerCreator                   ;
@@ -689,6 +702,17 @@ extends Cloneable<PersistenceFoundation<D, F>>,
 			return this.objectRegistry;
 		}
 		
+		@Override
+		public PersistenceObjectRegistry.Creator getObjectRegistryCreator()
+		{
+			if(this.objectRegistryCreator == null)
+			{
+				this.objectRegistryCreator = this.dispatch(this.ensureObjectRegistryCreator());
+			}
+			
+			return this.objectRegistryCreator;
+		}
+		
 		@Override
 		public PersistenceTypeRegistry getTypeRegistry()
 		{
@@ -1525,6 +1549,15 @@ extends Cloneable<PersistenceFoundation<D, F>>,
 			return this.$();
 		}
 		
+		@Override
+		public F setObjectRegistryCreator(
+			final PersistenceObjectRegistry.Creator objectRegistryCreator
+		)
+		{
+			this.objectRegistryCreator = objectRegistryCreator;
+			return this.$();
+		}
+		
 		@Override
 		public F setTypeRegistry(final PersistenceTypeRegistry typeRegistry)
 		{
@@ -2040,11 +2073,16 @@ extends Cloneable<PersistenceFoundation<D, F>>,
 
 		protected PersistenceObjectRegistry ensureObjectRegistry()
 		{
-			final PersistenceObjectRegistry registry = PersistenceObjectRegistry.New();
+			final PersistenceObjectRegistry registry = this.getObjectRegistryCreator().createObjectRegistry();
 			Persistence.registerJavaConstants(registry);
 			
 			return registry;
 		}
+		
+		protected PersistenceObjectRegistry.Creator ensureObjectRegistryCreator()
+		{
+			return PersistenceObjectRegistry.Creator.Default();
+		}
 
 		protected PersistenceTypeRegistry ensureTypeRegistry()
 		{
@@ -24,9 +24,11 @@ import static one.microstream.X.mayNull;
 import static one.microstream.X.notNull;
 
 import java.nio.ByteOrder;
+import java.util.Arrays;
 import java.util.function.Consumer;
 
 import one.microstream.X;
+import one.microstream.persistence.internal.DetachedObjectRegistry;
 import one.microstream.util.BufferSizeProviderIncremental;
 
 
@@ -53,6 +55,34 @@ ByteOrderTargeting<PersistenceManager<D>>
 	
 	public PersistenceLoader createLoader();
 	
+	/**
+	 * Creates a {@link PersistenceLoader} that builds detached instances from the passed source:
+	 * instances already known to this manager's {@link #objectRegistry()} are reused, but every instance
+	 * created by the loader is only registered in a loader-local registry. So the loaded instances are never
+	 * returned by other loading calls and become garbage as soon as the application stops referencing them.
+	 * <p>
+	 * Note that storing a detached instance is not reasonable, as it would be handled as a new instance.
+	 * 
+	 * @param source the source to read the entity data from.
+	 * 
+	 * @return a new {@link PersistenceLoader} building detached instances.
+	 */
+	public PersistenceLoader createDetachedLoader(PersistenceSource<D> source);
+	
+	/**
+	 * Like {@link #getObjects(long...)}, but the instances that are not yet known to this manager's
+	 * {@link #objectRegistry()} are loaded from the passed source instead of this manager's {@link #source()}.
+	 * Unlike with {@link #createDetachedLoader(PersistenceSource)}, the loaded instances are registered globally.
+	 * <p>
+	 * Every objectId the passed source does not provide any data for resolves to {@literal null}.
+	 * 
+	 * @param source the source to read the entity data from.
+	 * @param objectIds the objectIds of the instances to be retrieved.
+	 * 
+	 * @return the instances associated with the passed {@literal objectIds}.
+	 */
+	public Object[] getObjects(PersistenceSource<D> source, long... objectIds);
+	
 	public PersistenceRegisterer createRegisterer();
 
 	public void updateMetadata(PersistenceTypeDictionary typeDictionary, long highestTypeId, long highestObjectId);
@@ -416,15 +446,83 @@ ByteOrderTargeting<PersistenceManager<D>>
 			}
 			return this.createLoader().getObject(objectId);
 		}
+		
+		@Override
+		public final Object[] getObjects(final long... objectIds)
+		{
+			return this.getObjects(this, objectIds);
+		}
+		
+		@Override
+		public final Object[] getObjects(final PersistenceSource<D> source, final long... objectIds)
+		{
+			return this.getObjects(PersistenceSourceSupplier.New(this, source), objectIds);
+		}
+		
+		private Object[] getObjects(final PersistenceSourceSupplier<D> sourceSupplier, final long[] objectIds)
+		{
+			final Object[] instances = new Object[objectIds.length];
+			
+			// cached instances are taken directly, only the missing ones are loaded in one loading pass.
+			long[] missingObjectIds = null;
+			int    missingCount     = 0   ;
+			for(int i = 0; i < objectIds.length; i++)
+			{
+				if((instances[i] = this.objectManager.lookupObject(objectIds[i])) != null)
+				{
+					continue;
+				}
+				if(missingObjectIds == null)
+				{
+					missingObjectIds = new long[objectIds.length - i];
+				}
+				missingObjectIds[missingCount++] = objectIds[i];
+			}
+			if(missingObjectIds == null)
+			{
+				return instances;
+			}
+			
+			final Object[] loaded = this.createLoader(sourceSupplier).getObjects(
+				missingCount == missingObjectIds.length
+					? missingObjectIds
+					: Arrays.copyOf(missingObjectIds, missingCount)
+			);
+			for(int i = 0, l = 0; i < objectIds.length; i++)
+			{
+				if(instances[i] == null)
+				{
+					instances[i] = loaded[l++];
+				}
+			}
+			
+			return instances;
+		}
 
 		@Override
 		public final PersistenceLoader createLoader()
+		{
+			return this.createLoader(this);
+		}
+		
+		private PersistenceLoader createLoader(final PersistenceSourceSupplier<D> sourceSupplier)
 		{
 			return this.loaderCreator.createLoader(
 				this.contextDispatcher.dispatchTypeHandlerLookup(this.typeHandlerManager),
 				this.contextDispatcher.dispatchObjectRegistry(this.objectRegistry),
 				this.getEffectivePersister(),
-				this
+				sourceSupplier
+			);
+		}
+
+		@Override
+		public final PersistenceLoader createDetachedLoader(final PersistenceSource<D> source)
+		{
+			return this.loaderCreator.createLoader(
+				this.contextDispatcher.dispatchTypeHandlerLookup(this.typeHandlerManager),
+				DetachedObjectRegistry.New(this.contextDispatcher.dispatchObjectRegistry(this.objectRegistry)),
+				this.getEffectivePersister(),
+				PersistenceSourceSupplier.New(this, source)
 			);
 		}
 
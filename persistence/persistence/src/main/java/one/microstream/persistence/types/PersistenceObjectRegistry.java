@@ -24,6 +24,8 @@ import one.microstream.collections.Set_long;
 
 import one.microstream.collections.types.XGettingTable;
 import one.microstream.hashing.HashStatistics;
+import one.microstream.persistence.internal.CompactObjectRegistry;
+import one.microstream.persistence.internal.ConcurrentObjectRegistry;
 import one.microstream.persistence.internal.DefaultObjectRegistry;
 import one.microstream.util.Cloneable;
 
@@ -180,4 +182,52 @@ public interface PersistenceObjectRegistry extends PersistenceSwizzlingLookup, C
 		return DefaultObjectRegistry.New();
 	}
 	
+	/**
+	 * Creates a registry with lock-free lookups and segment-wise locked registering, see
+	 * {@link ConcurrentObjectRegistry}. Preferable if many threads store and load at the same time.
+	 * 
+	 * @return a new {@link ConcurrentObjectRegistry}
+	 */
+	public static ConcurrentObjectRegistry NewConcurrent()
+	{
+		return ConcurrentObjectRegistry.New();
+	}
+	
+	/**
+	 * Creates a registry with a low memory footprint per entry that can reference reachable objects strongly
+	 * instead of via a {@link java.lang.ref.WeakReference} each, see {@link CompactObjectRegistry}.
+	 * 
+	 * @return a new {@link CompactObjectRegistry}
+	 */
+	public static CompactObjectRegistry NewCompact()
+	{
+		return CompactObjectRegistry.New();
+	}
+	
+	
+	
+	@FunctionalInterface
+	public interface Creator
+	{
+		public PersistenceObjectRegistry createObjectRegistry();
+		
+		
+		
+		public static Creator Default()
+		{
+			return PersistenceObjectRegistry::New;
+		}
+		
+		public static Creator Concurrent()
+		{
+			return PersistenceObjectRegistry::NewConcurrent;
+		}
+		
+		public static Creator Compact()
+		{
+			return PersistenceObjectRegistry::NewCompact;
+		}
+		
+	}
+	
 }
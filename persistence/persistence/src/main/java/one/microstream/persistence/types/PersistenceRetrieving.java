@@ -48,7 +48,59 @@ public interface PersistenceRetrieving extends ObjectSwizzling
 	public Object getObject(long objectId);
 
 	public <C extends Consumer<Object>> C collect(C collector, long... objectIds);
+	
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * All instances are retrieved by one {@link #collect(Consumer, long...)} call, meaning one loading pass
+	 * for all instances that are not yet present.
+	 */
+	@Override
+	public default Object[] getObjects(final long... objectIds)
+	{
+		return this.collect(new IndexedCollector(objectIds.length), objectIds).instances;
+	}
 
 //	public <T, C extends Collector<? super T>> C collectByType(C collector, Class<T> type);
+	
+	
+	
+	/**
+	 * Collects the instances in the order of their object ids passed to {@link #collect(Consumer, long...)}.
+	 */
+	final class IndexedCollector implements Consumer<Object>
+	{
+		///////////////////////////////////////////////////////////////////////////
+		// instance fields //
+		////////////////////
+		
+		final Object[] instances;
+		      int      index    ;
+		
+		
+		
+		///////////////////////////////////////////////////////////////////////////
+		// constructors //
+		/////////////////
+		
+		IndexedCollector(final int length)
+		{
+			super();
+			this.instances = new Object[length];
+		}
+		
+		
+		
+		///////////////////////////////////////////////////////////////////////////
+		// methods //
+		////////////
+		
+		@Override
+		public final void accept(final Object instance)
+		{
+			this.instances[this.index++] = instance;
+		}
+		
+	}
 
 }
@@ -20,6 +20,8 @@ package one.microstream.persistence.types;
  * #L%
  */
 
+import static one.microstream.X.notNull;
+
 import one.microstream.reference.ObjectSwizzling;
 
 public interface PersistenceSourceSupplier<D> extends ObjectSwizzling
@@ -28,4 +30,70 @@ public interface PersistenceSourceSupplier<D> extends ObjectSwizzling
 	public Object getObject(long objectId);
 
 	public PersistenceSource<D> source();
+	
+	
+	
+	/**
+	 * Creates a {@link PersistenceSourceSupplier} that supplies the passed source and delegates
+	 * object retrieval to the passed {@link ObjectSwizzling} instance.
+	 * 
+	 * @param <D> the data type
+	 * @param objectRetriever the logic to retrieve objects by objectId.
+	 * @param source the source to be supplied.
+	 * 
+	 * @return a new {@link PersistenceSourceSupplier}.
+	 */
+	public static <D> PersistenceSourceSupplier<D> New(
+		final ObjectSwizzling      objectRetriever,
+		final PersistenceSource<D> source
+	)
+	{
+		return new PersistenceSourceSupplier.Default<>(
+			notNull(objectRetriever),
+			notNull(source)
+		);
+	}
+	
+	public final class Default<D> implements PersistenceSourceSupplier<D>
+	{
+		///////////////////////////////////////////////////////////////////////////
+		// instance fields //
+		////////////////////
+		
+		private final ObjectSwizzling      objectRetriever;
+		private final PersistenceSource<D> source         ;
+		
+		
+		
+		///////////////////////////////////////////////////////////////////////////
+		// constructors //
+		/////////////////
+		
+		Default(final ObjectSwizzling objectRetriever, final PersistenceSource<D> source)
+		{
+			super();
+			this.objectRetriever = objectRetriever;
+			this.source          = source         ;
+		}
+		
+		
+		
+		///////////////////////////////////////////////////////////////////////////
+		// methods //
+		////////////
+		
+		@Override
+		public final Object getObject(final long objectId)
+		{
+			return this.objectRetriever.getObject(objectId);
+		}
+		
+		@Override
+		public final PersistenceSource<D> source()
+		{
+			return this.source;
+		}
+		
+	}
+	
 }
@@ -20,6 +20,8 @@ package one.microstream.persistence.types;
  * #L%
  */
 
+import java.util.concurrent.CompletableFuture;
+
 /**
  * A {@link one.microstream.persistence.types.PersistenceStorer PersistenceStorer} implementation that allows
  * switching between the supplied {@code PersistenceStorer} instance and a
@@ -121,6 +123,12 @@ public class PersistenceStorerDeactivatable implements PersistenceStorer {
 		return this.actual.commit();
 	}
 
+	@Override
+	public CompletableFuture<Object> commitAsync()
+	{
+		return this.actual.commitAsync();
+	}
+
 	@Override
 	public PersistenceStorer ensureCapacity(final long desiredCapacity)
 	{
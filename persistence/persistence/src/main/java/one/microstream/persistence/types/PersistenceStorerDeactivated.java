@@ -20,6 +20,8 @@ package one.microstream.persistence.types;
  * #L%
  */
 
+import java.util.concurrent.CompletableFuture;
+
 import one.microstream.persistence.exceptions.PersistenceExceptionStorerDeactivated;
 
 /**
@@ -51,6 +53,12 @@ public class PersistenceStorerDeactivated implements PersistenceStorer
 		throw new PersistenceExceptionStorerDeactivated();
 	}
 
+	@Override
+	public CompletableFuture<Object> commitAsync()
+	{
+		throw new PersistenceExceptionStorerDeactivated();
+	}
+
 	@Override
 	public void clear()
 	{
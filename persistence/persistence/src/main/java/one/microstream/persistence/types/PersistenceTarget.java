@@ -20,12 +20,43 @@ package one.microstream.persistence.types;
  * #L%
  */
 
+import java.util.concurrent.CompletableFuture;
+
 import one.microstream.persistence.exceptions.PersistenceExceptionTransfer;
 
 public interface PersistenceTarget<D> extends PersistenceWriteController
 {
 	public void write(D data) throws PersistenceExceptionTransfer;
 	
+	/**
+	 * Writes the passed data like {@link #write(Object)}, but does not necessarily wait for the writing to be
+	 * completed. The returned {@link CompletableFuture} is completed once the data has been written or
+	 * exceptionally if the writing failed. The passed data may not be modified until then.
+	 * <p>
+	 * Data passed by consecutive calls of the same thread must be written in the order of the calls.
+	 * <p>
+	 * The default implementation simply writes synchronously and returns an already completed future.
+	 * 
+	 * @param data the data to be written.
+	 * 
+	 * @return a {@link CompletableFuture} that is completed once the passed data has been written.
+	 */
+	public default CompletableFuture<Void> writeAsync(final D data)
+	{
+		final CompletableFuture<Void> future = new CompletableFuture<>();
+		try
+		{
+			this.write(data);
+			future.complete(null);
+		}
+		catch(final Throwable t)
+		{
+			future.completeExceptionally(t);
+		}
+		
+		return future;
+	}
+	
 	/**
 	 * Prepare to write to this target. E.g. open a defined file.
 	 * 
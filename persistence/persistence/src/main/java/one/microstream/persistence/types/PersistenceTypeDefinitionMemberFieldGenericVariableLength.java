@@ -68,11 +68,14 @@ extends PersistenceTypeDefinitionMemberFieldGeneric, PersistenceTypeDescriptionM
 		final long   persistentMaximumLength
 	)
 	{
+		// the compact reference list is the only non-complex variable length type with references
+		final boolean hasReferences = PersistenceTypeDictionary.isCompactReferencesType(typeName);
+		
 		return new PersistenceTypeDefinitionMemberFieldGenericVariableLength.Default(
 			 notNull(typeName)               ,
 			 mayNull(qualifier)              ,
 			 notNull(name)                   ,
-			         false                   ,
+			         hasReferences           ,
 			positive(persistentMinimumLength),
 			positive(persistentMaximumLength)
 		);
@@ -108,6 +111,21 @@ extends PersistenceTypeDefinitionMemberFieldGeneric, PersistenceTypeDescriptionM
 		);
 	}
 
+	public static PersistenceTypeDefinitionMemberFieldGenericVariableLength.Default References(
+		final String name                   ,
+		final long   persistentMinimumLength,
+		final long   persistentMaximumLength
+	)
+	{
+		return New(
+			PersistenceTypeDictionary.Symbols.TYPE_REFERENCES,
+			null                   ,
+			name                   ,
+			persistentMinimumLength,
+			persistentMaximumLength
+		);
+	}
+	
 	public static PersistenceTypeDefinitionMemberFieldGenericVariableLength.Default Chars(
 		final String name                   ,
 		final long   persistentMinimumLength,
@@ -177,7 +195,7 @@ extends PersistenceTypeDefinitionMemberFieldGeneric, PersistenceTypeDescriptionM
 				this.typeName(),
 				qualifier,
 				name,
-				this.isReference(),
+				this.hasReferences(),
 				this.persistentMinimumLength(),
 				this.persistentMaximumLength()
 			);
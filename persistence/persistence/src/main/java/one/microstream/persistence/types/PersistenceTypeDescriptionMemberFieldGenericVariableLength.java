@@ -86,11 +86,14 @@ extends PersistenceTypeDescriptionMemberFieldGeneric
 		final long   persistentMaximumLength
 	)
 	{
+		// the compact reference list is the only non-complex variable length type with references
+		final boolean hasReferences = PersistenceTypeDictionary.isCompactReferencesType(typeName);
+		
 		return new PersistenceTypeDescriptionMemberFieldGenericVariableLength.Default(
 			 notNull(typeName),
 			 mayNull(qualifier),
 			 notNull(name),
-			         false,
+			         hasReferences,
 			positive(persistentMinimumLength),
 			positive(persistentMaximumLength)
 		);
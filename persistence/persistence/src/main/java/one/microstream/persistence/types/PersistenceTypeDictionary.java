@@ -482,6 +482,7 @@ public interface PersistenceTypeDictionary
 		{
 			case Symbols.TYPE_BYTES:
 			case Symbols.TYPE_CHARS:
+			case Symbols.TYPE_REFERENCES:
 			case Symbols.TYPE_COMPLEX:
 			{
 					return true;
@@ -548,10 +549,24 @@ public interface PersistenceTypeDictionary
 	{
 		return Symbols.TYPE_BYTES.equals(typeName)
 			|| Symbols.TYPE_CHARS.equals(typeName)
+			|| isCompactReferencesType(typeName)
 			|| isInlinedComplexType(typeName)
 		;
 	}
 
+	/**
+	 * Checks if the passed type name denotes a list of references in a compact, variable length encoding
+	 * instead of a list of fixed length object ids. Such a member is the only non-complex variable length
+	 * member that has references.
+	 *
+	 * @param typeName the type name of a member.
+	 * @return whether the type name denotes a compact reference list.
+	 */
+	public static boolean isCompactReferencesType(final String typeName)
+	{
+		return Symbols.TYPE_REFERENCES.equals(typeName);
+	}
+
 
 
 	public class Symbols
@@ -571,12 +586,14 @@ public interface PersistenceTypeDictionary
 		protected static final transient String KEYWORD_ENUM                     = XReflect.typename_enum();
 		protected static final transient String TYPE_CHARS                       = "[char]"   ;
 		protected static final transient String TYPE_BYTES                       = "[byte]"   ;
+		protected static final transient String TYPE_REFERENCES                  = "[refs]"   ;
 		protected static final transient String TYPE_COMPLEX                     = "[list]"   ;
 
 		protected static final transient char[] ARRAY_KEYWORD_PRIMITIVE          = KEYWORD_PRIMITIVE.toCharArray();
 		protected static final transient char[] ARRAY_KEYWORD_ENUM               = KEYWORD_ENUM     .toCharArray();
 		protected static final transient char[] ARRAY_TYPE_CHARS                 = TYPE_CHARS       .toCharArray();
 		protected static final transient char[] ARRAY_TYPE_BYTES                 = TYPE_BYTES       .toCharArray();
+		protected static final transient char[] ARRAY_TYPE_REFERENCES            = TYPE_REFERENCES  .toCharArray();
 		protected static final transient char[] ARRAY_TYPE_COMPLEX               = TYPE_COMPLEX     .toCharArray();
 
 		public static final String typeChars()
@@ -589,6 +606,11 @@ public interface PersistenceTypeDictionary
 			return TYPE_BYTES;
 		}
 
+		public static final String typeReferences()
+		{
+			return TYPE_REFERENCES;
+		}
+
 		public static final String typeComplex()
 		{
 			return TYPE_COMPLEX;
@@ -171,6 +171,7 @@ public interface PersistenceTypeDictionaryParser
 		{
 			return equalsCharSequence(input, iStart, iBound, ARRAY_TYPE_BYTES)
 				|| equalsCharSequence(input, iStart, iBound, ARRAY_TYPE_CHARS)
+				|| equalsCharSequence(input, iStart, iBound, ARRAY_TYPE_REFERENCES)
 			;
 		}
 
@@ -27,6 +27,7 @@ import java.util.function.Consumer;
 
 import org.slf4j.Logger;
 
+import one.microstream.X;
 import one.microstream.collections.EqHashTable;
 import one.microstream.collections.HashEnum;
 import one.microstream.collections.HashTable;
@@ -105,6 +106,24 @@ public interface PersistenceTypeHandlerManager<D> extends PersistenceTypeManager
 	
 	public void clearStorePendingRoots();
 	
+	/**
+	 * Returns the types whose enum constants are currently pending to be registered and stored as roots.
+	 * To only clear what has actually been stored, this has to be called before the pending roots are checked
+	 * for storing and the result has to be passed to {@link #clearStorePendingRoots(XGettingCollection)}
+	 * once the storing has been completed.
+	 * 
+	 * @return a snapshot of the pending enum root types
+	 */
+	public XGettingEnum<Class<?>> pendingRootTypes();
+	
+	/**
+	 * Clears the pending roots of the passed types only, keeping the ones that have been registered
+	 * after {@link #pendingRootTypes()} has been called, e.g. while an asynchronous commit was being written.
+	 * 
+	 * @param storedRootTypes the types whose pending roots have been stored
+	 */
+	public void clearStorePendingRoots(XGettingCollection<? extends Class<?>> storedRootTypes);
+	
 	public default String deriveEnumRootIdentifier(final PersistenceTypeHandler<?, ?> typeHandler)
 	{
 		return Persistence.deriveEnumRootIdentifier(typeHandler);
@@ -764,7 +783,9 @@ public interface PersistenceTypeHandlerManager<D> extends PersistenceTypeManager
 					if(enumRootEntry != null)
 					{
 						this.validateEnumInstances(enumRootEntry, typeHandler);
-						return;
+						
+						// entries of stored but not yet cleared types may still be pending, so the others must be checked.
+						continue;
 					}
 					
 					final Object[] enumRootEntries = this.collectEnumConstants(typeHandler);
@@ -834,6 +855,38 @@ public interface PersistenceTypeHandlerManager<D> extends PersistenceTypeManager
 			// pendingEnumConstantRootStoringHandlers is stored by synching logic
 			this.pendingStoreRoot = null;
 		}
+		
+		@Override
+		public XGettingEnum<Class<?>> pendingRootTypes()
+		{
+			if(this.pendingEnumConstantRootStoringHandlers.isEmpty())
+			{
+				return X.empty();
+			}
+			
+			synchronized(this.typeHandlerRegistry)
+			{
+				return HashEnum.New(this.pendingEnumConstantRootStoringHandlers.keys());
+			}
+		}
+		
+		@Override
+		public void clearStorePendingRoots(final XGettingCollection<? extends Class<?>> storedRootTypes)
+		{
+			synchronized(this.typeHandlerRegistry)
+			{
+				for(final Class<?> storedRootType : storedRootTypes)
+				{
+					this.pendingEnumConstantRootStoringHandlers.removeFor(storedRootType);
+				}
+				
+				// roots registered meanwhile are merged into the pending store root again by the next check.
+				if(this.pendingEnumConstantRootStoringHandlers.isEmpty())
+				{
+					this.pendingStoreRoot = null;
+				}
+			}
+		}
 				
 		private void registerEnumContantRoots(final PersistenceTypeHandler<D, ?> typeHandler)
 		{
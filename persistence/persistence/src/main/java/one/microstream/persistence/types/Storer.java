@@ -20,6 +20,8 @@ package one.microstream.persistence.types;
  * #L%
  */
 
+import java.util.concurrent.CompletableFuture;
+
 /**
  * A type extending the simple {@link PersistenceStoring} to enable stateful store handling.
  * This can be used to do what is generally called "transactions": preprocess data to be stored and then store
@@ -42,6 +44,36 @@ public interface Storer extends PersistenceStoring
 	 */
 	public Object commit();
 
+	/**
+	 * Ends the data collection process like {@link #commit()}, but does not wait for the collected data to be
+	 * persisted. Instead, the returned {@link CompletableFuture} is completed once the data has been persisted
+	 * (or exceptionally if persisting it failed) and this {@link Storer} instance can immediately be used to collect
+	 * the next data. This allows the collecting of the next data to overlap with the persisting of the previous.
+	 * <p>
+	 * The all-or-nothing semantics of {@link #commit()} apply for every single asynchronous commit.
+	 * Asynchronous commits issued by the same thread are persisted in the order they were issued. Instances stored
+	 * by a pending commit are known to all other storers with their assigned object ids right away, but are only
+	 * registered in the object registry once their commit has completed successfully.
+	 * <p>
+	 * The default implementation simply commits synchronously and returns an already completed future.
+	 *
+	 * @return a {@link CompletableFuture} that is completed once the collected data has been persisted.
+	 */
+	public default CompletableFuture<Object> commitAsync()
+	{
+		final CompletableFuture<Object> future = new CompletableFuture<>();
+		try
+		{
+			future.complete(this.commit());
+		}
+		catch(final Throwable t)
+		{
+			future.completeExceptionally(t);
+		}
+		
+		return future;
+	}
+
 	/**
 	 * Clears all internal state regarding collected data and/or registered skips.
 	 */
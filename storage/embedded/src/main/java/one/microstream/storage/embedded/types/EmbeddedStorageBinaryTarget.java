@@ -21,11 +21,19 @@ package one.microstream.storage.embedded.types;
  */
 
 import static one.microstream.X.notNull;
+import static one.microstream.math.XMath.positive;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 import one.microstream.persistence.binary.types.Binary;
 import one.microstream.persistence.exceptions.PersistenceExceptionTransfer;
 import one.microstream.persistence.types.PersistenceTarget;
 import one.microstream.storage.types.StorageRequestAcceptor;
+import one.microstream.storage.types.StorageRequestTask;
 import one.microstream.storage.types.StorageWriteController;
 
 public interface EmbeddedStorageBinaryTarget extends PersistenceTarget<Binary>
@@ -33,16 +41,48 @@ public interface EmbeddedStorageBinaryTarget extends PersistenceTarget<Binary>
 	@Override
 	public void write(Binary data) throws PersistenceExceptionTransfer;
 
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * The data is enqueued to be stored on the calling thread, so stores are processed in the order of the calls.
+	 * Waiting for the completion is done by a separate thread that completes the returned future. If the maximum
+	 * number of asynchronous stores is already in flight, the calling thread waits until one of them completes.
+	 * <p>
+	 * Note that dependent actions of the returned future that are not executed asynchronously are executed by that
+	 * separate thread. They must hence not wait for other asynchronous stores.
+	 */
+	@Override
+	public CompletableFuture<Void> writeAsync(Binary data);
+
 
 	
+	public interface Defaults
+	{
+		public static int defaultMaximumInFlightStores()
+		{
+			// enough to keep the storage busy while the next data is serialized, few enough to bound the memory.
+			return 16;
+		}
+	}
+	
 	public static EmbeddedStorageBinaryTarget New(
 		final StorageRequestAcceptor requestAcceptor,
 		final StorageWriteController writeController
 	)
+	{
+		return New(requestAcceptor, writeController, Defaults.defaultMaximumInFlightStores());
+	}
+	
+	public static EmbeddedStorageBinaryTarget New(
+		final StorageRequestAcceptor requestAcceptor         ,
+		final StorageWriteController writeController         ,
+		final int                    maximumInFlightStores
+	)
 	{
 		return new EmbeddedStorageBinaryTarget.Default(
-			notNull(requestAcceptor),
-			notNull(writeController)
+			notNull (requestAcceptor)      ,
+			notNull (writeController)      ,
+			positive(maximumInFlightStores)
 		);
 	}
 
@@ -52,8 +92,12 @@ public interface EmbeddedStorageBinaryTarget extends PersistenceTarget<Binary>
 		// instance fields //
 		////////////////////
 
-		private final StorageRequestAcceptor requestAcceptor;
-		private final StorageWriteController writeController;
+		private final StorageRequestAcceptor requestAcceptor ;
+		private final StorageWriteController writeController ;
+		private final Semaphore              inFlightStores  ;
+		
+		// created lazily since asynchronous storing is rarely used
+		private ThreadPoolExecutor completionExecutor;
 
 
 
@@ -62,13 +106,15 @@ public interface EmbeddedStorageBinaryTarget extends PersistenceTarget<Binary>
 		/////////////////
 
 		Default(
-			final StorageRequestAcceptor requestAcceptor,
-			final StorageWriteController writeController
+			final StorageRequestAcceptor requestAcceptor      ,
+			final StorageWriteController writeController      ,
+			final int                    maximumInFlightStores
 		)
 		{
 			super();
 			this.requestAcceptor = requestAcceptor;
 			this.writeController = writeController;
+			this.inFlightStores  = new Semaphore(maximumInFlightStores, true);
 		}
 
 
@@ -91,6 +137,79 @@ public interface EmbeddedStorageBinaryTarget extends PersistenceTarget<Binary>
 			}
 		}
 		
+		@Override
+		public final CompletableFuture<Void> writeAsync(final Binary data)
+		{
+			final CompletableFuture<Void> future = new CompletableFuture<>();
+			try
+			{
+				this.writeController.validateIsWritable();
+				this.inFlightStores.acquire();
+				
+				final StorageRequestTask task;
+				try
+				{
+					task = this.requestAcceptor.enqueueStoreData(data);
+				}
+				catch(final Exception e)
+				{
+					this.inFlightStores.release();
+					throw e;
+				}
+				
+				this.completionExecutor().execute(() ->
+					this.awaitCompletion(task, future)
+				);
+			}
+			catch(final Exception e)
+			{
+				future.completeExceptionally(new PersistenceExceptionTransfer(e));
+			}
+			
+			return future;
+		}
+		
+		private void awaitCompletion(final StorageRequestTask task, final CompletableFuture<Void> future)
+		{
+			/*
+			 * Tasks are completed in the order they have been enqueued, so waiting on them one after the other
+			 * by a single thread completes the futures in the same order.
+			 * The permit is released before completing the future to allow dependent actions to store again.
+			 */
+			try
+			{
+				task.waitOnCompletion();
+				this.inFlightStores.release();
+				future.complete(null);
+			}
+			catch(final Throwable t)
+			{
+				this.inFlightStores.release();
+				future.completeExceptionally(new PersistenceExceptionTransfer(t));
+			}
+		}
+		
+		private synchronized ThreadPoolExecutor completionExecutor()
+		{
+			if(this.completionExecutor == null)
+			{
+				// a single thread that terminates when idle, so no explicit shutdown is required.
+				this.completionExecutor = new ThreadPoolExecutor(
+					1, 1, 1, TimeUnit.SECONDS,
+					new LinkedBlockingQueue<>(),
+					r ->
+					{
+						final Thread thread = new Thread(r, EmbeddedStorageBinaryTarget.class.getSimpleName() + "-Completion");
+						thread.setDaemon(true);
+						return thread;
+					}
+				);
+				this.completionExecutor.allowCoreThreadTimeOut(true);
+			}
+			
+			return this.completionExecutor;
+		}
+		
 		@Override
 		public final void validateIsWritable()
 		{
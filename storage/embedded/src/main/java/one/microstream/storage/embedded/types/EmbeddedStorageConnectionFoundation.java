@@ -266,7 +266,8 @@ extends BinaryPersistenceFoundation<F>
 		{
 			return new BinaryLoader.CreatorChannelHashing(
 				this.getStorageSystem().operationController().channelCountProvider(),
-				this.isByteOrderMismatch()
+				this.isByteOrderMismatch(),
+				this.getEntityFingerprints()
 			);
 		}
 
@@ -275,7 +276,9 @@ extends BinaryPersistenceFoundation<F>
 		{
 			return BinaryStorer.Creator(
 				this.getStorageSystem().channelCountProvider(),
-				this.isByteOrderMismatch()
+				this.isByteOrderMismatch(),
+				this.getStorerParallelism(),
+				this.getEntityFingerprints()
 			);
 		}
 
@@ -332,6 +335,10 @@ extends BinaryPersistenceFoundation<F>
 
 			// reference explicitly the PM's object registry, just to be safe
 			this.getObjectRegistryCallback().initializeObjectRegistry(pm.objectRegistry());
+			if(this.getEntityFingerprints() != null)
+			{
+				this.getObjectRegistryCallback().initializeEntityFingerprints(this.getEntityFingerprints());
+			}
 			// note: using more than 1 connection might cause consistency problems for the Storage GC using the callback
 
 			return pm;
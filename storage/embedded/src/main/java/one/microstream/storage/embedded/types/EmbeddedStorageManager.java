@@ -25,6 +25,7 @@ import static one.microstream.X.notNull;
 import java.nio.ByteBuffer;
 import java.util.Arrays;
 import java.util.function.Predicate;
+import java.util.stream.Stream;
 
 import org.slf4j.Logger;
 
@@ -53,6 +54,7 @@ import one.microstream.storage.types.StorageEntityCacheEvaluator;
 import one.microstream.storage.types.StorageEntityTypeExportFileProvider;
 import one.microstream.storage.types.StorageEntityTypeExportStatistics;
 import one.microstream.storage.types.StorageEntityTypeHandler;
+import one.microstream.storage.types.StorageEntityTypeStatistics;
 import one.microstream.storage.types.StorageIdAnalysis;
 import one.microstream.storage.types.StorageKillable;
 import one.microstream.storage.types.StorageLiveFileProvider;
@@ -530,6 +532,24 @@ public interface EmbeddedStorageManager extends StorageManager
 			return this.singletonConnection().createStorageStatistics();
 		}
 
+		@Override
+		public final StorageEntityTypeStatistics createEntityTypeStatistics()
+		{
+			return this.singletonConnection().createEntityTypeStatistics();
+		}
+
+		@Override
+		public final <T> Stream<T> streamInstances(final Class<T> type, final int batchSize)
+		{
+			return this.singletonConnection().streamInstances(type, batchSize);
+		}
+
+		@Override
+		public final Object[] getExistingObjects(final long... objectIds)
+		{
+			return this.singletonConnection().getExistingObjects(objectIds);
+		}
+
 		@Override
 		public final void exportChannels(
 			final StorageLiveFileProvider fileProvider             ,
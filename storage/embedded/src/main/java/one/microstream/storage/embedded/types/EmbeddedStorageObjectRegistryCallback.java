@@ -20,6 +20,9 @@ package one.microstream.storage.embedded.types;
  * #L%
  */
 
+import one.microstream.collections.Set_long;
+import one.microstream.functional._longPredicate;
+import one.microstream.persistence.binary.types.BinaryEntityFingerprints;
 import one.microstream.persistence.types.ObjectIdsProcessor;
 import one.microstream.persistence.types.ObjectIdsSelector;
 import one.microstream.persistence.types.PersistenceObjectRegistry;
@@ -28,6 +31,14 @@ public interface EmbeddedStorageObjectRegistryCallback extends ObjectIdsSelector
 {
 	public void initializeObjectRegistry(PersistenceObjectRegistry objectRegistry);
 
+	/**
+	 * Sets the entity fingerprints whose entries have to be dropped for all object ids the storage's
+	 * garbage collection might delete, i.e. the ones that are not live in the object registry.
+	 * 
+	 * @param entityFingerprints the {@link BinaryEntityFingerprints} used by the storers.
+	 */
+	public void initializeEntityFingerprints(BinaryEntityFingerprints entityFingerprints);
+
 
 
 	public static EmbeddedStorageObjectRegistryCallback New()
@@ -41,7 +52,8 @@ public interface EmbeddedStorageObjectRegistryCallback extends ObjectIdsSelector
 		// instance fields //
 		////////////////////
 
-		private PersistenceObjectRegistry objectRegistry;
+		private PersistenceObjectRegistry objectRegistry    ;
+		private BinaryEntityFingerprints  entityFingerprints;
 
 
 
@@ -77,6 +89,12 @@ public interface EmbeddedStorageObjectRegistryCallback extends ObjectIdsSelector
 			this.objectRegistry = objectRegistry;
 		}
 
+		@Override
+		public synchronized void initializeEntityFingerprints(final BinaryEntityFingerprints entityFingerprints)
+		{
+			this.entityFingerprints = entityFingerprints;
+		}
+
 		@Override
 		public synchronized boolean processSelected(final ObjectIdsProcessor processor)
 		{
@@ -88,7 +106,65 @@ public interface EmbeddedStorageObjectRegistryCallback extends ObjectIdsSelector
 			}
 
 			// efficient for embedded mode, but server mode should use #selectLiveObjectIds instead.
-			return this.objectRegistry.processLiveObjectIds(processor);
+			return this.objectRegistry.processLiveObjectIds(
+				this.entityFingerprints == null
+					? processor
+					: new FingerprintsInvalidator(processor, this.entityFingerprints)
+			);
+		}
+
+
+
+		/**
+		 * Drops the fingerprints of all object ids that are not live any more along with the storage's sweep,
+		 * so that an entity deleted by it can never be skipped as unchanged when it is stored again.
+		 */
+		static final class FingerprintsInvalidator implements ObjectIdsProcessor
+		{
+			///////////////////////////////////////////////////////////////////////////
+			// instance fields //
+			////////////////////
+
+			private final ObjectIdsProcessor       processor         ;
+			private final BinaryEntityFingerprints entityFingerprints;
+
+
+
+			///////////////////////////////////////////////////////////////////////////
+			// constructors //
+			/////////////////
+
+			FingerprintsInvalidator(
+				final ObjectIdsProcessor       processor         ,
+				final BinaryEntityFingerprints entityFingerprints
+			)
+			{
+				super();
+				this.processor          = processor         ;
+				this.entityFingerprints = entityFingerprints;
+			}
+
+
+
+			///////////////////////////////////////////////////////////////////////////
+			// methods //
+			////////////
+
+			@Override
+			public void processObjectIdsByFilter(final _longPredicate objectIdsSelector)
+			{
+				this.processor.processObjectIdsByFilter(objectIdsSelector);
+
+				// called while the object registry is locked, so no object id can become live in between.
+				this.entityFingerprints.retainObjectIds(objectIdsSelector);
+			}
+
+			@Override
+			public Set_long provideObjectIdsBaseSet()
+			{
+				return this.processor.provideObjectIdsBaseSet();
+			}
+
 		}
 
 	}
@@ -115,6 +115,11 @@ public interface ValueReader
 			return deriveComplexVariableLengthValueReader(member);
 		}
 
+		if(member.typeName().contentEquals(Symbols.typeReferences()))
+		{
+			return new ValueReaderCompactReferenceList(member);
+		}
+
 		throw new one.microstream.meta.NotImplementedYetError();
 
 	}
@@ -0,0 +1,58 @@
+package one.microstream.storage.restadapter.types;
+
+/*-
+ * #%L
+ * microstream-storage-restadapter
+ * %%
+ * Copyright (C) 2019 - 2022 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ * 
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ * 
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+import one.microstream.collections.BulkList;
+import one.microstream.persistence.binary.types.Binary;
+import one.microstream.persistence.types.PersistenceTypeDefinitionMember;
+
+public class ValueReaderCompactReferenceList extends ValueReaderVariableLength
+{
+	///////////////////////////////////////////////////////////////////////////
+	// constructors //
+	/////////////////
+
+	public ValueReaderCompactReferenceList(final PersistenceTypeDefinitionMember typeDefinition)
+	{
+		super(typeDefinition);
+	}
+
+	///////////////////////////////////////////////////////////////////////////
+	// methods //
+	////////////
+
+	@Override
+	public Object readValue(final Binary binary, final long offset)
+	{
+		final BulkList<ObjectReferenceWrapper> references = BulkList.New();
+		binary.iterateCompactReferenceList(offset, objectId ->
+			references.add(new ObjectReferenceWrapper(objectId))
+		);
+
+		return references.toArray(ObjectReferenceWrapper.class);
+	}
+
+	@Override
+	public long getBinarySize(final Binary binary, final long offset)
+	{
+		return binary.getBinaryListTotalByteLength(offset);
+	}
+
+}
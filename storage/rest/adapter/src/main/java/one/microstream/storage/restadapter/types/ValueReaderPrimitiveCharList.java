@@ -46,6 +46,17 @@ public class ValueReaderPrimitiveCharList extends ValueReaderVariableLength
 		final int elementCount = (int) binary.getBinaryListElementCountUnvalidating(offset);
 
 		final Object[] values = new Object[elementCount];
+		if(binary.isCompactCharsList(offset))
+		{
+			// Latin-1 chars stored with one byte per char
+			for(int i = 0; i < elementCount; i++)
+			{
+				values[i] = (char)(binary.read_byte(listOffset) & 0xFF);
+				listOffset += Byte.BYTES;
+			}
+			return values;
+		}
+		
 		for(int i = 0; i < elementCount; i++)
 		{
 			values[i] = binary.read_char(listOffset);
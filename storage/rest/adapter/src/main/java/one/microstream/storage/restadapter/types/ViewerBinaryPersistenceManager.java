@@ -211,6 +211,18 @@ public interface ViewerBinaryPersistenceManager extends PersistenceManager<Binar
 			return this.persistenceManager.createLoader();
 		}
 
+		@Override
+		public PersistenceLoader createDetachedLoader(final PersistenceSource<Binary> source)
+		{
+			return this.persistenceManager.createDetachedLoader(source);
+		}
+
+		@Override
+		public Object[] getObjects(final PersistenceSource<Binary> source, final long... objectIds)
+		{
+			return this.persistenceManager.getObjects(source, objectIds);
+		}
+
 		@Override
 		public PersistenceStorer createLazyStorer()
 		{
@@ -25,6 +25,7 @@ import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 
 import one.microstream.collections.EqHashTable;
+import one.microstream.collections.types.XGettingCollection;
 import one.microstream.collections.types.XGettingEnum;
 import one.microstream.collections.types.XGettingSequence;
 import one.microstream.collections.types.XGettingTable;
@@ -318,6 +319,18 @@ public class ViewerBinaryTypeHandlerManager implements PersistenceTypeHandlerMan
 		throw new UnsupportedOperationException();
 	}
 
+	@Override
+	public XGettingEnum<Class<?>> pendingRootTypes()
+	{
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public void clearStorePendingRoots(final XGettingCollection<? extends Class<?>> storedRootTypes)
+	{
+		throw new UnsupportedOperationException();
+	}
+
 	@Override
 	public PersistenceTypeHandlerManager<Binary> get()
 	{
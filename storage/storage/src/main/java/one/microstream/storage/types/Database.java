@@ -165,6 +165,14 @@ public interface Database extends DatabasePart, Persister
 			return storage.getObject(objectId);
 		}
 		
+		@Override
+		public final Object[] getObjects(final long... objectIds)
+		{
+			final StorageManager storage = this.guaranteeActiveStorage();
+
+			return storage.getObjects(objectIds);
+		}
+		
 		@Override
 		public final long store(final Object instance)
 		{
@@ -20,6 +20,7 @@ package one.microstream.storage.types;
  * #L%
  */
 
+import static one.microstream.X.mayNull;
 import static one.microstream.X.notNull;
 import static one.microstream.math.XMath.notNegative;
 
@@ -57,6 +58,27 @@ public interface StorageChannel extends Runnable, StorageChannelResetablePart, S
 
 	public ChunksBuffer collectLoadByTids(ChunksBuffer[] channelChunks, PersistenceIdSet loadTids);
 
+	/**
+	 * Collects the objectIds of all entities of the passed type ids in the order of their storage position,
+	 * i.e. ordered by data file and by position inside a data file.
+	 * 
+	 * @param tids the type ids of the entities to be collected.
+	 * 
+	 * @return the objectIds of all entities of the passed type ids in storage order.
+	 */
+	public long[] collectObjectIdsByTids(PersistenceIdSet tids);
+
+	/**
+	 * Like {@link #collectLoadByOids(ChunksBuffer[], PersistenceIdSet)}, but objectIds without an entity
+	 * (e.g. entities that have been deleted in the meantime) are skipped instead of being a consistency error.
+	 * 
+	 * @param channelChunks the loading chunks of all channels.
+	 * @param loadOids the objectIds of the entities to be loaded, if existing.
+	 * 
+	 * @return the loaded data of all existing entities.
+	 */
+	public ChunksBuffer collectLoadExistingByOids(ChunksBuffer[] channelChunks, PersistenceIdSet loadOids);
+
 	public KeyValue<ByteBuffer[], long[]> storeEntities(long timestamp, Chunk chunkData);
 
 	public void rollbackChunkStorage();
@@ -96,6 +118,8 @@ public interface StorageChannel extends Runnable, StorageChannelResetablePart, S
 
 	public StorageRawFileStatistics.ChannelStatistics createRawFileStatistics();
 
+	public StorageEntityTypeStatistics.ChannelStatistics createEntityTypeStatistics();
+
 	public StorageIdAnalysis initializeStorage(
 		long             taskTimestamp           ,
 		long             consistentStoreTimestamp,
@@ -129,6 +153,7 @@ public interface StorageChannel extends Runnable, StorageChannelResetablePart, S
 		private final StorageEntityCache.Default    entityCache              ;
 		private final boolean                       switchByteOrder          ;
 		private final BufferSizeProviderIncremental loadingBufferSizeProvider;
+		private final StorageHotSet                 hotSet                   ;
 		private final StorageEventLogger            eventLogger              ;
 
 		private final HousekeepingTask[] housekeepingTasks;
@@ -166,6 +191,7 @@ public interface StorageChannel extends Runnable, StorageChannelResetablePart, S
 			final boolean                       switchByteOrder          ,
 			final BufferSizeProviderIncremental loadingBufferSizeProvider,
 			final StorageFileManager.Default    fileManager              ,
+			final StorageHotSet                 hotSet                   ,
 			final StorageEventLogger            eventLogger
 		)
 		{
@@ -179,6 +205,7 @@ public interface StorageChannel extends Runnable, StorageChannelResetablePart, S
 			this.entityCache               =     notNull(entityCache)              ;
 			this.housekeepingController    =     notNull(housekeepingController)   ;
 			this.loadingBufferSizeProvider =     notNull(loadingBufferSizeProvider);
+			this.hotSet                    =     mayNull(hotSet)                   ;
 			this.eventLogger               =     notNull(eventLogger)              ;
 			this.switchByteOrder           =             switchByteOrder           ;
 			
@@ -195,14 +222,33 @@ public interface StorageChannel extends Runnable, StorageChannelResetablePart, S
 		private HousekeepingTask[] defineHouseKeepingTasks()
 		{
 			final BulkList<HousekeepingTask> tasks = BulkList.New();
+			if(this.fileManager.isReplica())
+			{
+				// a replica only applies the writer's changes. Garbage is removed by the writer's file deletions.
+				tasks.add(this::houseKeepingTailTransactions);
+				tasks.add(this::houseKeepingEntityCacheCheck);
+				this.addHotSetHouseKeeping(tasks);
+				
+				return tasks.toArray(HousekeepingTask.class);
+			}
+			
 			tasks.add(this::houseKeepingCheckFileCleanup);
 			tasks.add(this::houseKeepingGarbageCollection);
 			tasks.add(this::houseKeepingEntityCacheCheck);
+			this.addHotSetHouseKeeping(tasks);
 			// (16.06.2020 TM)TODO: priv#49: housekeeping task that closes data files after a timeout.
 
 			return tasks.toArray(HousekeepingTask.class);
 		}
 
+		private void addHotSetHouseKeeping(final BulkList<HousekeepingTask> tasks)
+		{
+			if(this.hotSet != null)
+			{
+				tasks.add(this::houseKeepingHotSet);
+			}
+		}
+
 		private int getCurrentHouseKeepingIndexAndAdvance()
 		{
 			if(this.nextHouseKeepingIndex >= this.housekeepingTasks.length)
@@ -373,6 +419,17 @@ public interface StorageChannel extends Runnable, StorageChannelResetablePart, S
 			return this.housekeepingBroker.performFileCleanupCheck(this, nanoTimeBudget);
 		}
 
+		final boolean houseKeepingTailTransactions()
+		{
+			final long nanoTimeBudget = this.calculateSpecificHousekeepingTimeBudget(
+				this.housekeepingController.fileCheckTimeBudgetNs()
+			);
+			
+			logger.trace("StorageChannel#{} tailing transactions", this.channelIndex);
+			
+			return this.fileManager.tailTransactions(XTime.calculateNanoTimeBudgetBound(nanoTimeBudget));
+		}
+
 		final boolean houseKeepingGarbageCollection()
 		{
 			final long nanoTimeBudget = this.calculateSpecificHousekeepingTimeBudget(
@@ -391,6 +448,23 @@ public interface StorageChannel extends Runnable, StorageChannelResetablePart, S
 			return this.housekeepingBroker.performEntityCacheCheck(this, nanoTimeBudget);
 		}
 
+		final boolean houseKeepingHotSet()
+		{
+			if(!this.hotSet.isWarmingUp())
+			{
+				this.hotSet.checkRecording();
+				return true;
+			}
+			
+			final long nanoTimeBudget = this.calculateSpecificHousekeepingTimeBudget(
+				this.housekeepingController.liveCheckTimeBudgetNs()
+			);
+			
+			logger.trace("StorageChannel#{} performing incremental hot set warm-up", this.channelIndex);
+			
+			return this.hotSet.incrementalWarmUp(XTime.calculateNanoTimeBudgetBound(nanoTimeBudget));
+		}
+
 		private void work() throws InterruptedException
 		{
 			logger.debug("StorageChannel#{} started", this.channelIndex);
@@ -615,6 +689,60 @@ public interface StorageChannel extends Runnable, StorageChannelResetablePart, S
 			return chunks.complete();
 		}
 
+		@Override
+		public final long[] collectObjectIdsByTids(final PersistenceIdSet tids)
+		{
+			final BulkList<StorageEntity.Default> entities = BulkList.New();
+			tids.iterate(tid ->
+			{
+				final StorageEntityType.Default type;
+				if((type = this.entityCache.getType(tid)) == null)
+				{
+					// it can very well be that a channel does not have a certain type at all. That is no error
+					return;
+				}
+				entities.ensureFreeCapacity(type.entityCount());
+				for(StorageEntity.Default entity = type.head; (entity = entity.typeNext) != null;)
+				{
+					entities.add(entity);
+				}
+			});
+
+			// storage order means as few file switches and as much sequential reading as possible for later loading
+			entities.sort((e1, e2) ->
+			{
+				final int fileOrder = Long.compare(e1.typeInFile.file.number(), e2.typeInFile.file.number());
+				return fileOrder != 0
+					? fileOrder
+					: Integer.compare(e1.storagePosition, e2.storagePosition)
+				;
+			});
+
+			final long[] objectIds = new long[X.checkArrayRange(entities.size())];
+			int i = 0;
+			for(final StorageEntity.Default entity : entities)
+			{
+				objectIds[i++] = entity.objectId;
+			}
+			
+			return objectIds;
+		}
+
+		@Override
+		public final ChunksBuffer collectLoadExistingByOids(
+			final ChunksBuffer[]   resultArray,
+			final PersistenceIdSet loadOids
+		)
+		{
+			final ChunksBuffer chunks = this.createLoadingChunksBuffer(resultArray);
+			if(!loadOids.isEmpty())
+			{
+				loadOids.iterate(new EntityCollectorExistingByOid(this.entityCache, chunks));
+			}
+			
+			return chunks.complete();
+		}
+
 		@Override
 		public final void exportData(final StorageLiveFileProvider fileProvider)
 		{
@@ -716,6 +844,12 @@ public interface StorageChannel extends Runnable, StorageChannelResetablePart, S
 			return this.fileManager.createRawFileStatistics();
 		}
 
+		@Override
+		public final StorageEntityTypeStatistics.ChannelStatistics createEntityTypeStatistics()
+		{
+			return this.entityCache.createTypeStatistics();
+		}
+
 		@Override
 		public final void rollbackChunkStorage()
 		{
@@ -831,6 +965,54 @@ public interface StorageChannel extends Runnable, StorageChannelResetablePart, S
 
 	}
 
+	/**
+	 * Querying counterpart of {@link EntityCollectorByOid}: objectIds without an entity yield nothing.
+	 */
+	public final class EntityCollectorExistingByOid implements _longProcedure
+	{
+		///////////////////////////////////////////////////////////////////////////
+		// instance fields //
+		////////////////////
+
+		private final StorageEntityCache.Default entityCache  ;
+		private final ChunksBuffer               dataCollector;
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// constructors //
+		/////////////////
+
+		public EntityCollectorExistingByOid(
+			final StorageEntityCache.Default entityCache  ,
+			final ChunksBuffer               dataCollector
+		)
+		{
+			super();
+			this.entityCache   = entityCache  ;
+			this.dataCollector = dataCollector;
+		}
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// methods //
+		////////////
+
+		@Override
+		public final void accept(final long objectId)
+		{
+			final StorageEntity.Default entry;
+			if((entry = this.entityCache.getEntry(objectId)) == null)
+			{
+				return;
+			}
+			entry.copyCachedData(this.dataCollector);
+			this.entityCache.checkForCacheClear(entry, System.currentTimeMillis());
+		}
+
+	}
+
 	public final class EntityCollectorByTid implements _longProcedure
 	{
 		///////////////////////////////////////////////////////////////////////////
@@ -49,6 +49,8 @@ public interface StorageChannelsCreator
 		StorageObjectIdMarkQueue.Creator           oidMarkQueueCreator          ,
 		StorageEntityMarkMonitor.Creator           entityMarkMonitorCreator     ,
 		StorageBackupHandler                       backupHandler                ,
+		StorageReplica                             replica                      ,
+		StorageHotSetSetup                         hotSetSetup                  ,
 		StorageEventLogger                         eventLogger                  ,
 		ObjectIdsSelector                          liveObjectIdChecker          ,
 		Referencing<PersistenceLiveStorerRegistry> refStorerRegistry            ,
@@ -85,6 +87,8 @@ public interface StorageChannelsCreator
 			final StorageObjectIdMarkQueue.Creator           oidMarkQueueCreator          ,
 			final StorageEntityMarkMonitor.Creator           entityMarkMonitorCreator     ,
 			final StorageBackupHandler                       backupHandler                ,
+			final StorageReplica                             replica                      ,
+			final StorageHotSetSetup                         hotSetSetup                  ,
 			final StorageEventLogger                         eventLogger                  ,
 			final ObjectIdsSelector                          liveObjectIdChecker          ,
 			final Referencing<PersistenceLiveStorerRegistry> refStorerRegistry            ,
@@ -144,12 +148,19 @@ public interface StorageChannelsCreator
 					writeController                 ,
 					writerProvider.provideWriter(i) ,
 					readingDefaultBufferSizeProvider,
-					backupHandler
+					backupHandler                   ,
+					replica
 				);
 
 				// required to resolve the initializer cyclic dependency
 				entityCache.initializeStorageManager(fileManager);
 
+				// optional recording and warm-up of the channel's most recently used entities
+				final StorageHotSet hotSet = hotSetSetup == null
+					? null
+					: StorageHotSet.New(i, hotSetSetup, liveFileProvider, entityCache, writeController)
+				;
+
 				// everything bundled together in a "channel".
 				channels[i] = new StorageChannel.Default(
 					i                        ,
@@ -162,6 +173,7 @@ public interface StorageChannelsCreator
 					switchByteOrder          ,
 					loadingBufferSizeProvider,
 					fileManager              ,
+					hotSet                   ,
 					eventLogger
 				);
 
@@ -24,6 +24,8 @@ import static one.microstream.X.notNull;
 
 import java.nio.ByteBuffer;
 import java.util.function.Predicate;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import one.microstream.afs.types.ADirectory;
 import one.microstream.afs.types.AFile;
@@ -253,6 +255,53 @@ public interface StorageConnection extends Persister
 	 */
 	public StorageRawFileStatistics createStorageStatistics();
 
+	/**
+	 * Creates a {@link StorageEntityTypeStatistics} instance containing per-type statistics like entity count,
+	 * live and cached data length or the store rate of every type in the storage.
+	 * <p>
+	 * The statistics are maintained incrementally by the storage, so creating them does not require
+	 * scanning any files or entities.
+	 * 
+	 * @return a {@link StorageEntityTypeStatistics} instance based on the current state.
+	 */
+	public StorageEntityTypeStatistics createEntityTypeStatistics();
+
+	/**
+	 * Streams all persisted instances of the passed type and its subtypes, without loading them into the
+	 * application's object graph.
+	 * <p>
+	 * The instances are loaded batch by batch, every batch's entity data being collected by all channels in
+	 * parallel, in the order of the entities' storage positions. Instances that are already loaded are handed out
+	 * as they are, all others are built as detached instances: they are not registered in the object registry
+	 * and become garbage as soon as they are no longer referenced. So heap usage is bounded by the batch size,
+	 * apart from the queried objectIds of all the type's entities.
+	 * Note that an instance that is not loaded yet but referenced by instances of several batches is built
+	 * once per batch.
+	 * <p>
+	 * Entities that are deleted while the stream is processed are skipped. Detached instances are meant to be read
+	 * only, storing one would store it as a new entity.
+	 * 
+	 * @param <T> the type of the instances.
+	 * @param type the type whose persisted instances shall be streamed.
+	 * @param batchSize the number of entities to be loaded at once.
+	 * 
+	 * @return a sequential {@link Stream} of all persisted instances of the passed type.
+	 * 
+	 * @see StorageInstanceSpliterator
+	 */
+	public <T> Stream<T> streamInstances(Class<T> type, int batchSize);
+
+	/**
+	 * Like {@link #getObjects(long...)}, but objectIds of entities that do not exist (anymore), e.g. because they
+	 * have been deleted by the storage's garbage collection in the meantime, resolve to {@literal null} instead of
+	 * causing a consistency error.
+	 * 
+	 * @param objectIds the objectIds of the instances to be retrieved.
+	 * 
+	 * @return the instances associated with the passed {@literal objectIds} or {@literal null} for missing entities.
+	 */
+	public Object[] getExistingObjects(long... objectIds);
+
 	/* (28.06.2013 TM)TODO: post-sweep-task queue?
 	 * even more practical then or additional to the above would be to have a post-sweep task queue
 	 * that gets executed automatically after a sweep is completed.
@@ -454,6 +503,15 @@ public interface StorageConnection extends Persister
 	{
 		return this.persistenceManager().getObject(objectId);
 	}
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public default Object[] getObjects(final long... objectIds)
+	{
+		return this.persistenceManager().getObjects(objectIds);
+	}
 
 
 	
@@ -578,6 +636,51 @@ public interface StorageConnection extends Persister
 			}
 		}
 
+		@Override
+		public StorageEntityTypeStatistics createEntityTypeStatistics()
+		{
+			try
+			{
+				return this.connectionRequestAcceptor.createEntityTypeStatistics();
+			}
+			catch(final InterruptedException e)
+			{
+				// thread interrupted, task aborted, return
+				return null;
+			}
+		}
+
+		@Override
+		public <T> Stream<T> streamInstances(final Class<T> type, final int batchSize)
+		{
+			try
+			{
+				return StreamSupport.stream(
+					StorageInstanceSpliterator.New(
+						this.persistenceManager       ,
+						this.connectionRequestAcceptor,
+						type                          ,
+						batchSize
+					),
+					false
+				);
+			}
+			catch(final InterruptedException e)
+			{
+				// thread interrupted, task aborted, return
+				return null;
+			}
+		}
+
+		@Override
+		public Object[] getExistingObjects(final long... objectIds)
+		{
+			return this.persistenceManager.getObjects(
+				new StorageInstanceSpliterator.ExistingEntitiesSource(this.connectionRequestAcceptor),
+				objectIds
+			);
+		}
+
 		@Override
 		public void exportChannels(final StorageLiveFileProvider fileProvider, final boolean performGarbageCollection)
 		{
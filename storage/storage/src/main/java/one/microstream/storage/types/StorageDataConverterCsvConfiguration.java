@@ -83,6 +83,10 @@ public interface StorageDataConverterCsvConfiguration
 			Defaults.transientEntry(double .class                                                   ),
 			Defaults.mappedEntry   (PersistenceTypeDictionary.Symbols.typeChars()  , typeNameChars  ),
 			Defaults.mappedEntry   (PersistenceTypeDictionary.Symbols.typeBytes()  , typeNameBinary ),
+			Defaults.mappedEntry   (
+				PersistenceTypeDictionary.Symbols.typeReferences(),
+				PersistenceTypeDictionary.Symbols.typeReferences()
+			),
 			Defaults.mappedEntry   (PersistenceTypeDictionary.Symbols.typeComplex(), typeNameComplex)
 		);
 		return map;
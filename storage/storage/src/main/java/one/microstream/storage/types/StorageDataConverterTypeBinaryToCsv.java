@@ -335,6 +335,7 @@ public interface StorageDataConverterTypeBinaryToCsv
 			map.add(double .class.getName()                      , this.createValueWriter_double() );
 			map.add(PersistenceTypeDictionary.Symbols.typeChars(), this.createValueWriter_chars()  );
 			map.add(PersistenceTypeDictionary.Symbols.typeBytes(), this.createValueWriter_bytes()  );
+			map.add(PersistenceTypeDictionary.Symbols.typeReferences(), this.createValueWriterCompactReferences());
 			// note: [list] cannot be registered here as it is composed dynamically complex
 			return map.immure();
 		}
@@ -872,7 +873,7 @@ public interface StorageDataConverterTypeBinaryToCsv
 		}
 
 
-		final void write_chars(final long readStart, final long readBound) throws IOException
+		final void write_chars(final long readStart, final long readBound, final int charByteSize) throws IOException
 		{
 			// ensure one char size for the closing literal delimiter
 			final long          flushBound       = this.flushBound      ;
@@ -882,9 +883,13 @@ public interface StorageDataConverterTypeBinaryToCsv
 
 			this.write(literalDelimiter);
 			long address = this.writeAddress;
-			for(long readAddress = readStart; readAddress < readBound; readAddress += STRING_BYTE_SIZE_CHAR)
+			for(long readAddress = readStart; readAddress < readBound; readAddress += charByteSize)
 			{
-				final char c = XMemory.get_char(readAddress);
+				// compact (Latin-1) char lists occupy one byte per char, see Binary#storeStringSingleValueCompact
+				final char c = charByteSize == STRING_BYTE_SIZE_CHAR
+					? XMemory.get_char(readAddress)
+					: (char)(XMemory.get_byte(readAddress) & 0xFF)
+				;
 				if(c == literalDelimiter || c == escaper || escapeHandler.needsEscaping(c))
 				{
 					// escaping case: write escaper, advance address, then handle the actual character
@@ -1057,10 +1062,17 @@ public interface StorageDataConverterTypeBinaryToCsv
 				public long writeValue(final long valueReadAddress) throws IOException
 				{
 					final long bound = valueReadAddress + XMemory.get_long(Binary.toBinaryListByteLengthOffset(valueReadAddress));
+					final long start = Binary.toBinaryListElementsOffset(valueReadAddress);
 					
 					UTF8.this.write_chars(
-						Binary.toBinaryListElementsOffset(valueReadAddress),
-						bound
+						start,
+						bound,
+						Binary.isCompactCharsList(
+							bound - start,
+							XMemory.get_long(Binary.toBinaryListElementCountOffset(valueReadAddress))
+						)
+							? Byte.BYTES
+							: STRING_BYTE_SIZE_CHAR
 					);
 					
 					return bound;
@@ -1087,6 +1099,49 @@ public interface StorageDataConverterTypeBinaryToCsv
 			};
 		}
 
+		final ValueWriter createValueWriterCompactReferences()
+		{
+			return new ValueWriter()
+			{
+				@Override
+				public long writeValue(final long valueReadAddress) throws IOException
+				{
+					final long   bound     = valueReadAddress + XMemory.get_long(Binary.toBinaryListByteLengthOffset(valueReadAddress));
+					final long[] objectIds = new long[X.checkArrayRange(
+						XMemory.get_long(Binary.toBinaryListElementCountOffset(valueReadAddress))
+					)];
+					
+					// compact references are written as a plain list of object ids, see Binary#iterateCompactReferences
+					final int[] index = new int[1];
+					Binary.iterateCompactReferences(Binary.toBinaryListElementsOffset(valueReadAddress), bound, objectId ->
+					{
+						if(index[0] < objectIds.length)
+						{
+							objectIds[index[0]] = objectId;
+						}
+						index[0]++;
+					});
+					if(index[0] != objectIds.length)
+					{
+						throw new StorageException(
+							"Inconsistent compact reference list: " + objectIds.length
+							+ " elements but " + index[0] + " references."
+						);
+					}
+					
+					UTF8.this.write(UTF8.this.listStarter);
+					for(final long objectId : objectIds)
+					{
+						UTF8.this.writeReference(objectId);
+						UTF8.this.write(UTF8.this.listSeparator);
+					}
+					UTF8.this.closeComplexLiteral(objectIds.length);
+					
+					return bound;
+				}
+			};
+		}
+
 		interface ValueWriter
 		{
 			public long writeValue(long valueReadAddress) throws IOException;
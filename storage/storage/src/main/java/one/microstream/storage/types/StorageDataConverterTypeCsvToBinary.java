@@ -237,6 +237,7 @@ public interface StorageDataConverterTypeCsvToBinary<S>
 		      PersistenceTypeDefinition               currentType                    ;
 		      long                                    currentTypeEntityInitLength    ;
 		      ValueHandler[]                          valueHandler                   ;
+		      long                                    previousCompactReference       ;
 
 		/*
 		 * current buffer address and value setting has to be done manually because they
@@ -343,7 +344,8 @@ public interface StorageDataConverterTypeCsvToBinary<S>
 				X.KeyValue(long[]   .class.getName()                    , this::parseArray_long   ),
 				X.KeyValue(double[] .class.getName()                    , this::parseArray_double ),
 				X.KeyValue(PersistenceTypeDictionary.Symbols.typeChars(), this::parseChars        ),
-				X.KeyValue(PersistenceTypeDictionary.Symbols.typeBytes(), this::parseBytes        )
+				X.KeyValue(PersistenceTypeDictionary.Symbols.typeBytes(), this::parseBytes        ),
+				X.KeyValue(PersistenceTypeDictionary.Symbols.typeReferences(), this::parseCompactReferences)
 			);
 		}
 
@@ -670,6 +672,55 @@ public interface StorageDataConverterTypeCsvToBinary<S>
 			return i;
 		}
 
+		final int parseCompactReferences(
+			final char[] data      ,
+			final int    offset    ,
+			final int    bound     ,
+			final char   separator ,
+			final char   terminator
+		)
+		{
+			// the deltas of the compact encoding are chained over the list, see Binary#iterateCompactReferences
+			this.previousCompactReference = 0;
+			return this.parseComplexListSingleField(
+				data, offset, bound, separator, terminator, this::parseCompactReference
+			);
+		}
+
+		final int parseCompactReference(
+			final char[] data      ,
+			final int    offset    ,
+			final int    bound     ,
+			final char   separator ,
+			final char   terminator
+		)
+		{
+			int i = offset;
+			while(i < bound && data[i] != separator && data[i] != terminator)
+			{
+				i++;
+			}
+			int j = i - 1;
+			while(data[j] <= ' ')
+			{
+				j--;
+			}
+			final long objectId = XChars.parse_longDecimal(data, offset, j - offset + 1);
+			final long delta    = objectId - this.previousCompactReference;
+			this.previousCompactReference = objectId;
+			
+			// zig-zag varint encoding: 7 bits per byte, the highest bit marks a following byte.
+			long value = delta << 1 ^ delta >> 63;
+			while((value & ~0x7FL) != 0)
+			{
+				this.write_byte((byte)(value | 0x80));
+				value >>>= 7;
+			}
+			this.write_byte((byte)value);
+			
+			return i;
+		}
+
 		// 0 is decimal ASCII 48. So 48 has to be subtracted from the digit's ASCII value to get the decimal value.
 		private static final int ASCII_OFFSET_HEX_TO_DEC_DIGIT = 48;
 		
@@ -510,6 +510,24 @@ public interface StorageEntity
 			this.lastTouched = (int)(System.currentTimeMillis() - TOUCHED_START_OFFSET >>> TOUCHED_SHIFT_COUNT);
 		}
 
+		final void touch(final long timeMs)
+		{
+			// times before the offset (e.g. restored from a previous process) are clamped to the earliest possible value.
+			this.lastTouched = (int)(Math.max(timeMs - TOUCHED_START_OFFSET, 0) >>> TOUCHED_SHIFT_COUNT);
+		}
+
+		final boolean isTouched()
+		{
+			// initial "touched in eternity" value, see constructor.
+			return this.lastTouched != Integer.MAX_VALUE;
+		}
+
+		final void warmUp(final long lastTouchedMs)
+		{
+			this.ensureCachedFullData();
+			this.touch(lastTouchedMs);
+		}
+
 		@Override
 		public final long lastTouched()
 		{
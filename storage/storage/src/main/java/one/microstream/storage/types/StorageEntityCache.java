@@ -26,11 +26,13 @@ import static one.microstream.math.XMath.notNegative;
 import static one.microstream.math.XMath.positive;
 
 import java.nio.ByteBuffer;
+import java.util.function.Consumer;
 
 import org.slf4j.Logger;
 
 import one.microstream.X;
 import one.microstream.collections.EqHashEnum;
+import one.microstream.collections.EqHashTable;
 import one.microstream.collections.Set_long;
 import one.microstream.functional.ThrowingProcedure;
 import one.microstream.functional._longPredicate;
@@ -494,7 +496,7 @@ public interface StorageEntityCache<E extends StorageEntity> extends StorageChan
 		{
 			if(entry.isLive())
 			{
-				this.modifyUsedCacheSize(-entry.clearCache());
+				this.modifyUsedCacheSize(entry, -entry.clearCache());
 			}
 		}
 
@@ -1071,22 +1073,141 @@ public interface StorageEntityCache<E extends StorageEntity> extends StorageChan
 			final long storageBackset    = chunkStoragePosition - chunkStartAddress;
 			final long chunkBoundAddress = chunkStartAddress    + chunkLength      ;
 
+			// one timestamp for the whole chunk suffices for the type statistics' store rate.
+			final long storeTime = System.currentTimeMillis();
+
 			// chunk's entities are iterated, put into the cache and have their current storage positions set/updated
 			for(long adr = chunkStartAddress; adr < chunkBoundAddress; adr += Binary.getEntityLengthRawValue(adr))
 			{
 				final StorageEntity.Default entity = this.putEntity(adr);
+				final int oldLength = entity.length;
 				this.markEntityForChangedData(entity);
 				entity.updateStorageInformation(
 					X.checkArrayRange(Binary.getEntityLengthRawValue(adr)),
 					validateStoragePosition(entity, storageBackset + adr)
 				);
 				file.appendEntry(entity);
+				entity.typeInFile.type.registerStore(oldLength, entity.length, storeTime);
+			}
+		}
+
+		final void putReplicatedEntities(
+			final ByteBuffer                  chunk               ,
+			final long                        chunkStoragePosition,
+			final StorageLiveDataFile.Default file
+		)
+		{
+			/* This logic is a copy from #internalPutEntities without the GC marking.
+			 * A replica never runs the garbage collection, so there is no marking state that had to be kept
+			 * consistent and the mark queue would only fill up without ever being processed.
+			 */
+			final long chunkStartAddress = XMemory.getDirectByteBufferAddress(chunk);
+			final long storageBackset    = chunkStoragePosition - chunkStartAddress;
+			final long chunkBoundAddress = chunkStartAddress    + chunk.limit()    ;
+			final long storeTime         = System.currentTimeMillis();
+
+			for(long adr = chunkStartAddress; adr < chunkBoundAddress; adr += Binary.getEntityLengthRawValue(adr))
+			{
+				final StorageEntity.Default entity = this.putEntity(adr);
+				final int oldLength = entity.length;
+				entity.updateStorageInformation(
+					X.checkArrayRange(Binary.getEntityLengthRawValue(adr)),
+					validateStoragePosition(entity, storageBackset + adr)
+				);
+				file.appendEntry(entity);
+				entity.typeInFile.type.registerStore(oldLength, entity.length, storeTime);
+			}
+		}
+		
+		final void deleteReplicatedEntities(
+			final StorageLiveDataFile.Default file                ,
+			final long                        storagePositionBound
+		)
+		{
+			// collect the affected types first to only iterate the types that actually have entities in the file.
+			final EqHashEnum<StorageEntityType.Default> types = EqHashEnum.New();
+			for(StorageEntity.Default entity = file.head; (entity = entity.fileNext) != file.tail;)
+			{
+				if(entity.storagePosition >= storagePositionBound)
+				{
+					types.add(entity.typeInFile.type);
+				}
+			}
+			
+			final StorageEntityType.Default.EntityDeleter deleter = new StorageEntityType.Default.EntityDeleter()
+			{
+				@Override
+				public boolean test(final StorageEntity.Default entity)
+				{
+					return entity.typeInFile.file == file && entity.storagePosition >= storagePositionBound;
+				}
+				
+				@Override
+				public void delete(
+					final StorageEntity.Default     entity        ,
+					final StorageEntityType.Default type          ,
+					final StorageEntity.Default     previousInType
+				)
+				{
+					StorageEntityCache.Default.this.deleteEntity(entity, type, previousInType);
+				}
+			};
+			
+			for(final StorageEntityType.Default type : types)
+			{
+				type.removeAll(deleter);
 			}
 		}
 
-		final void modifyUsedCacheSize(final long cacheChange)
+		final void iterateCachedEntities(final Consumer<? super StorageEntity.Default> procedure)
+		{
+			final StorageEntityType.Default typeHead = this.typeHead;
+			for(StorageEntityType.Default type = typeHead; (type = type.next) != typeHead;)
+			{
+				type.iterateEntities(e ->
+				{
+					if(e.isLive() && e.isTouched())
+					{
+						procedure.accept(e);
+					}
+				});
+			}
+		}
+
+		/**
+		 * Loads the passed entity's data into the cache and marks it as last touched at the passed time.
+		 * If the entity cache evaluator deems the loaded data as having to be cleared right away (e.g. because the
+		 * cache is full), the data is cleared again and {@literal false} is returned.
+		 */
+		final boolean warmUpEntity(final StorageEntity.Default entity, final long lastTouchedMs)
+		{
+			entity.warmUp(lastTouchedMs);
+			if(this.entityCacheEvaluator.clearEntityCache(this.usedCacheSize, System.currentTimeMillis(), entity))
+			{
+				this.ensureNoCachedData(entity);
+				return false;
+			}
+
+			return true;
+		}
+
+		final void modifyUsedCacheSize(final StorageEntity.Default entity, final long cacheChange)
 		{
 			this.usedCacheSize += cacheChange;
+			entity.typeInFile.type.modifyCachedDataLength(cacheChange);
+		}
+		
+		final StorageEntityTypeStatistics.ChannelStatistics createTypeStatistics()
+		{
+			final EqHashTable<Long, StorageEntityTypeStatistics.TypeStatistics> typeStatistics = EqHashTable.New();
+			
+			final StorageEntityType.Default typeHead = this.typeHead;
+			for(StorageEntityType.Default type = typeHead; (type = type.next) != typeHead;)
+			{
+				typeStatistics.add(type.typeId, type.createStatistics());
+			}
+			
+			return StorageEntityTypeStatistics.ChannelStatistics.New(this.channelIndex, typeStatistics);
 		}
 
 
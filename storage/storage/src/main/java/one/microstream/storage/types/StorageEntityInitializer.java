@@ -155,12 +155,13 @@ public interface StorageEntityInitializer<D extends StorageLiveDataFile>
 				
 				entity.updateStorageInformation(XTypes.to_int(entityLength), entityOffsets[i]);
 				file.prependEntry(entity);
+				entity.typeInFile.type.updateEntityLength(0, entityLength);
 				totalFileContentLength += entityLength;
 				
 				if(entityCacheEvaluator.initiallyCacheEntity(entityCache.cacheSize(), initializationTime, entity))
 				{
 					entity.putCacheData(entityAddress, entityLength);
-					entityCache.modifyUsedCacheSize(entityLength);
+					entityCache.modifyUsedCacheSize(entity, entityLength);
 				}
 			}
 
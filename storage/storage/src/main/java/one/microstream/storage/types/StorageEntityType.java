@@ -34,6 +34,18 @@ public interface StorageEntityType<E extends StorageEntity>
 
 	public long entityCount();
 	
+	/**
+	 * @return the summed up total length of all entities of this type, including their headers.
+	 */
+	public long liveDataLength();
+	
+	/**
+	 * @return the number of bytes currently occupied in the entity cache by entities of this type.
+	 */
+	public long cachedDataLength();
+	
+	public StorageEntityTypeStatistics.TypeStatistics createStatistics();
+	
 	public default boolean isEmpty()
 	{
 		return this.entityCount() == 0;
@@ -67,6 +79,14 @@ public interface StorageEntityType<E extends StorageEntity>
 
 
 
+		///////////////////////////////////////////////////////////////////////////
+		// constants //
+		//////////////
+
+		private static final long MS_PER_MINUTE = 60_000L;
+
+
+
 		///////////////////////////////////////////////////////////////////////////
 		// instance fields //
 		////////////////////
@@ -78,6 +98,17 @@ public interface StorageEntityType<E extends StorageEntity>
 		private final long                     simpleReferenceDataCount;
 		
 		private       long                     entityCount             ;
+		
+		// statistics, maintained incrementally by the channel thread. See StorageEntityTypeStatistics.
+		private       long                     liveDataLength          ;
+		private       long                     cachedDataLength        ;
+		private       long                     maxEntityLength         ;
+		private       boolean                  maxEntityLengthStale    ;
+		private final long[]                   lengthHistogram          = new long[StorageEntityTypeStatistics.TypeStatistics.HISTOGRAM_BUCKET_COUNT];
+		private       long                     storeMinute             ;
+		private       long                     storeMinuteCount        ;
+		private       long                     previousStoreMinuteCount;
+		
 		StorageEntityType.Default              hashNext                ;
 		StorageEntityType.Default              next                    ;
 		        final TypeInFile               dummy                    = new TypeInFile(this, null, null);
@@ -147,6 +178,94 @@ public interface StorageEntityType<E extends StorageEntity>
 
 			// decrement entity count (strictly only once per remove as guaranteed by check above)
 			this.entityCount--;
+			
+			this.updateEntityLength(entry.length, 0);
+		}
+		
+		/**
+		 * Updates the length statistics for an entity whose length changed from {@code oldLength} to
+		 * {@code newLength}. A length of 0 denotes a not (yet / anymore) existing entity.
+		 */
+		final void updateEntityLength(final long oldLength, final long newLength)
+		{
+			if(oldLength > 0)
+			{
+				this.liveDataLength -= oldLength;
+				this.lengthHistogram[StorageEntityTypeStatistics.TypeStatistics.histogramBucketIndex(oldLength)]--;
+				if(oldLength == this.maxEntityLength && newLength < oldLength)
+				{
+					// the longest entity might be gone. Recomputed lazily, as deletions must not iterate the type.
+					this.maxEntityLengthStale = true;
+				}
+			}
+			if(newLength > 0)
+			{
+				this.liveDataLength += newLength;
+				this.lengthHistogram[StorageEntityTypeStatistics.TypeStatistics.histogramBucketIndex(newLength)]++;
+				if(newLength > this.maxEntityLength)
+				{
+					// a stale max entity length is still an upper bound, so exceeding it yields the exact value again.
+					this.maxEntityLength      = newLength;
+					this.maxEntityLengthStale = false;
+				}
+			}
+		}
+		
+		final long maxEntityLength()
+		{
+			if(this.maxEntityLengthStale)
+			{
+				long maxEntityLength = 0;
+				for(StorageEntity.Default entity = this.head; (entity = entity.typeNext) != null;)
+				{
+					if(entity.length > maxEntityLength)
+					{
+						maxEntityLength = entity.length;
+					}
+				}
+				this.maxEntityLength      = maxEntityLength;
+				this.maxEntityLengthStale = false;
+			}
+			
+			return this.maxEntityLength;
+		}
+		
+		final void registerStore(final long oldLength, final long newLength, final long timeMs)
+		{
+			this.updateEntityLength(oldLength, newLength);
+			
+			final long minute = timeMs / MS_PER_MINUTE;
+			if(minute != this.storeMinute)
+			{
+				// a gap of more than one minute means the previous minute had no stores at all.
+				this.previousStoreMinuteCount = minute == this.storeMinute + 1 ? this.storeMinuteCount : 0;
+				this.storeMinuteCount         = 0;
+				this.storeMinute              = minute;
+			}
+			this.storeMinuteCount++;
+		}
+		
+		final void modifyCachedDataLength(final long cacheChange)
+		{
+			this.cachedDataLength += cacheChange;
+		}
+		
+		final long storesPerMinute(final long timeMs)
+		{
+			final long minute = timeMs / MS_PER_MINUTE;
+			if(minute == this.storeMinute)
+			{
+				// sliding window estimate: the previous minute's count is weighted by the window part it still covers.
+				final double elapsedRatio = (double)(timeMs % MS_PER_MINUTE) / MS_PER_MINUTE;
+				return this.storeMinuteCount + (long)(this.previousStoreMinuteCount * (1.0 - elapsedRatio));
+			}
+			if(minute == this.storeMinute + 1)
+			{
+				final double elapsedRatio = (double)(timeMs % MS_PER_MINUTE) / MS_PER_MINUTE;
+				return (long)(this.storeMinuteCount * (1.0 - elapsedRatio));
+			}
+			
+			return 0;
 		}
 
 		@Override
@@ -186,6 +305,33 @@ public interface StorageEntityType<E extends StorageEntity>
 			return this.entityCount;
 		}
 
+		@Override
+		public final long liveDataLength()
+		{
+			return this.liveDataLength;
+		}
+		
+		@Override
+		public final long cachedDataLength()
+		{
+			return this.cachedDataLength;
+		}
+		
+		@Override
+		public final StorageEntityTypeStatistics.TypeStatistics createStatistics()
+		{
+			return StorageEntityTypeStatistics.TypeStatistics.New(
+				this.typeId                                    ,
+				this.typeHandler.typeName()                    ,
+				this.entityCount                               ,
+				this.liveDataLength                            ,
+				this.cachedDataLength                          ,
+				this.maxEntityLength()                         ,
+				this.lengthHistogram.clone()                   ,
+				this.storesPerMinute(System.currentTimeMillis())
+			);
+		}
+
 		@Override
 		public final boolean hasReferences()
 		{
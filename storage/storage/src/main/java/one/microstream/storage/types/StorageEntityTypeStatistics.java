@@ -0,0 +1,456 @@
+package one.microstream.storage.types;
+
+/*-
+ * #%L
+ * microstream-storage
+ * %%
+ * Copyright (C) 2019 - 2022 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ * 
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ * 
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+import static one.microstream.X.notNull;
+
+import java.util.Date;
+
+import one.microstream.chars.VarString;
+import one.microstream.collections.EqHashTable;
+import one.microstream.collections.types.XGettingTable;
+
+/**
+ * Per-type statistics about the entities managed by the storage, aggregated over all channels.
+ * <p>
+ * In contrast to {@link StorageRawFileStatistics}, the values are not collected by walking the storage files,
+ * but are maintained incrementally by every channel's {@link StorageEntityType} instances whenever entities are
+ * stored, deleted, loaded into or cleared from the entity cache. Creating an instance hence costs only
+ * O(types) per channel.
+ * 
+ * @see StorageConnection#createEntityTypeStatistics()
+ */
+public interface StorageEntityTypeStatistics
+{
+	public Date creationTime();
+
+	public int channelCount();
+
+	/**
+	 * @return the statistics of every type, summed up over all channels.
+	 */
+	public XGettingTable<Long, ? extends TypeStatistics> typeStatistics();
+
+	public XGettingTable<Integer, ? extends ChannelStatistics> channelStatistics();
+
+
+
+	public static StorageEntityTypeStatistics New(
+		final Date                                                creationTime     ,
+		final XGettingTable<Integer, ? extends ChannelStatistics> channelStatistics
+	)
+	{
+		return new StorageEntityTypeStatistics.Default(
+			notNull(creationTime)                      ,
+			notNull(channelStatistics)                 ,
+			TypeStatistics.merge(channelStatistics.values())
+		);
+	}
+
+	public final class Default implements StorageEntityTypeStatistics
+	{
+		///////////////////////////////////////////////////////////////////////////
+		// instance fields //
+		////////////////////
+
+		final Date                                                creationTime     ;
+		final XGettingTable<Integer, ? extends ChannelStatistics> channelStatistics;
+		final XGettingTable<Long, ? extends TypeStatistics>       typeStatistics   ;
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// constructors //
+		/////////////////
+
+		Default(
+			final Date                                                creationTime     ,
+			final XGettingTable<Integer, ? extends ChannelStatistics> channelStatistics,
+			final XGettingTable<Long, ? extends TypeStatistics>       typeStatistics
+		)
+		{
+			super();
+			this.creationTime      = creationTime     ;
+			this.channelStatistics = channelStatistics;
+			this.typeStatistics    = typeStatistics   ;
+		}
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// methods //
+		////////////
+
+		@Override
+		public final Date creationTime()
+		{
+			return this.creationTime;
+		}
+
+		@Override
+		public final int channelCount()
+		{
+			return (int)this.channelStatistics.size();
+		}
+
+		@Override
+		public final XGettingTable<Long, ? extends TypeStatistics> typeStatistics()
+		{
+			return this.typeStatistics;
+		}
+
+		@Override
+		public final XGettingTable<Integer, ? extends ChannelStatistics> channelStatistics()
+		{
+			return this.channelStatistics;
+		}
+
+		public final VarString assembleString(final VarString vs)
+		{
+			vs
+			.add("Storage Entity Type Statistics " + this.creationTime()).lf()
+			.tab().add("channel count:\t" + this.channelCount()).lf()
+			.tab().add("type count:\t"    + this.typeStatistics.size()).lf()
+			;
+			for(final TypeStatistics ts : this.typeStatistics.values())
+			{
+				vs
+				.lf()
+				.add(ts.typeName()).add(" (").add(ts.typeId()).add(")").lf()
+				.tab().add("entity count:\t"          + ts.entityCount()        ).lf()
+				.tab().add("live data length:\t"      + ts.liveDataLength()     ).lf()
+				.tab().add("cached data length:\t"    + ts.cachedDataLength()   ).lf()
+				.tab().add("average entity length:\t" + ts.averageEntityLength()).lf()
+				.tab().add("max entity length:\t"     + ts.maxEntityLength()    ).lf()
+				.tab().add("stores per minute:\t"     + ts.storesPerMinute()    ).lf()
+				;
+			}
+
+			return vs;
+		}
+
+		@Override
+		public final String toString()
+		{
+			return this.assembleString(VarString.New()).toString();
+		}
+
+	}
+
+
+
+	public interface ChannelStatistics
+	{
+		public int channelIndex();
+
+		public XGettingTable<Long, ? extends TypeStatistics> typeStatistics();
+
+
+
+		public static ChannelStatistics New(
+			final int                                           channelIndex  ,
+			final XGettingTable<Long, ? extends TypeStatistics> typeStatistics
+		)
+		{
+			return new ChannelStatistics.Default(
+				        channelIndex   ,
+				notNull(typeStatistics)
+			);
+		}
+
+		public final class Default implements ChannelStatistics
+		{
+			///////////////////////////////////////////////////////////////////////////
+			// instance fields //
+			////////////////////
+
+			final int                                           channelIndex  ;
+			final XGettingTable<Long, ? extends TypeStatistics> typeStatistics;
+
+
+
+			///////////////////////////////////////////////////////////////////////////
+			// constructors //
+			/////////////////
+
+			Default(
+				final int                                           channelIndex  ,
+				final XGettingTable<Long, ? extends TypeStatistics> typeStatistics
+			)
+			{
+				super();
+				this.channelIndex   = channelIndex  ;
+				this.typeStatistics = typeStatistics;
+			}
+
+
+
+			///////////////////////////////////////////////////////////////////////////
+			// methods //
+			////////////
+
+			@Override
+			public final int channelIndex()
+			{
+				return this.channelIndex;
+			}
+
+			@Override
+			public final XGettingTable<Long, ? extends TypeStatistics> typeStatistics()
+			{
+				return this.typeStatistics;
+			}
+
+		}
+
+	}
+
+
+
+	public interface TypeStatistics
+	{
+		/**
+		 * The number of buckets of the entity length histogram. Bucket i counts the entities whose total length
+		 * (including the header) is in the range [2^i; 2^(i+1)[.
+		 */
+		public int HISTOGRAM_BUCKET_COUNT = Integer.SIZE;
+
+		public long typeId();
+
+		public String typeName();
+
+		public long entityCount();
+
+		/**
+		 * @return the summed up total length of all entities of the type, including their headers.
+		 */
+		public long liveDataLength();
+
+		/**
+		 * @return the number of bytes currently occupied in the entity cache by entities of the type.
+		 */
+		public long cachedDataLength();
+
+		public long averageEntityLength();
+
+		/**
+		 * @return the maximum entity length ever registered for the type since the storage has been started.
+		 */
+		public long maxEntityLength();
+
+		/**
+		 * @return a copy of the entity length histogram. See {@link #HISTOGRAM_BUCKET_COUNT}.
+		 */
+		public long[] entityLengthHistogram();
+
+		/**
+		 * @return the number of stored entities of the type, estimated for a sliding window of one minute.
+		 */
+		public long storesPerMinute();
+
+
+
+		public static int histogramBucketIndex(final long entityLength)
+		{
+			// 0-length cannot occur for proper entities, but is mapped to the first bucket for robustness.
+			return entityLength <= 0
+				? 0
+				: Long.SIZE - 1 - Long.numberOfLeadingZeros(entityLength)
+			;
+		}
+
+		public static TypeStatistics New(
+			final long   typeId               ,
+			final String typeName             ,
+			final long   entityCount          ,
+			final long   liveDataLength       ,
+			final long   cachedDataLength     ,
+			final long   maxEntityLength      ,
+			final long[] entityLengthHistogram,
+			final long   storesPerMinute
+		)
+		{
+			return new TypeStatistics.Default(
+				        typeId               ,
+				notNull(typeName)            ,
+				        entityCount          ,
+				        liveDataLength       ,
+				        cachedDataLength     ,
+				        maxEntityLength      ,
+				notNull(entityLengthHistogram),
+				        storesPerMinute
+			);
+		}
+
+		public static EqHashTable<Long, TypeStatistics> merge(
+			final Iterable<? extends ChannelStatistics> channelStatistics
+		)
+		{
+			final EqHashTable<Long, TypeStatistics> merged = EqHashTable.New();
+			for(final ChannelStatistics cs : channelStatistics)
+			{
+				for(final TypeStatistics ts : cs.typeStatistics().values())
+				{
+					final TypeStatistics existing = merged.get(ts.typeId());
+					merged.put(ts.typeId(), existing == null ? ts : merge(existing, ts));
+				}
+			}
+			
+			return merged;
+		}
+
+		public static TypeStatistics merge(final TypeStatistics s1, final TypeStatistics s2)
+		{
+			final long[] histogram  = s1.entityLengthHistogram();
+			final long[] histogram2 = s2.entityLengthHistogram();
+			for(int i = 0; i < histogram.length; i++)
+			{
+				histogram[i] += histogram2[i];
+			}
+
+			return new TypeStatistics.Default(
+				s1.typeId()                                    ,
+				s1.typeName()                                  ,
+				s1.entityCount()      + s2.entityCount()       ,
+				s1.liveDataLength()   + s2.liveDataLength()    ,
+				s1.cachedDataLength() + s2.cachedDataLength()  ,
+				Math.max(s1.maxEntityLength(), s2.maxEntityLength()),
+				histogram                                      ,
+				s1.storesPerMinute()  + s2.storesPerMinute()
+			);
+		}
+
+		public final class Default implements TypeStatistics
+		{
+			///////////////////////////////////////////////////////////////////////////
+			// instance fields //
+			////////////////////
+
+			final long   typeId               ;
+			final String typeName             ;
+			final long   entityCount          ;
+			final long   liveDataLength       ;
+			final long   cachedDataLength     ;
+			final long   maxEntityLength      ;
+			final long[] entityLengthHistogram;
+			final long   storesPerMinute      ;
+
+
+
+			///////////////////////////////////////////////////////////////////////////
+			// constructors //
+			/////////////////
+
+			Default(
+				final long   typeId               ,
+				final String typeName             ,
+				final long   entityCount          ,
+				final long   liveDataLength       ,
+				final long   cachedDataLength     ,
+				final long   maxEntityLength      ,
+				final long[] entityLengthHistogram,
+				final long   storesPerMinute
+			)
+			{
+				super();
+				this.typeId                = typeId               ;
+				this.typeName              = typeName             ;
+				this.entityCount           = entityCount          ;
+				this.liveDataLength        = liveDataLength       ;
+				this.cachedDataLength      = cachedDataLength     ;
+				this.maxEntityLength       = maxEntityLength      ;
+				this.entityLengthHistogram = entityLengthHistogram;
+				this.storesPerMinute       = storesPerMinute      ;
+			}
+
+
+
+			///////////////////////////////////////////////////////////////////////////
+			// methods //
+			////////////
+
+			@Override
+			public final long typeId()
+			{
+				return this.typeId;
+			}
+
+			@Override
+			public final String typeName()
+			{
+				return this.typeName;
+			}
+
+			@Override
+			public final long entityCount()
+			{
+				return this.entityCount;
+			}
+
+			@Override
+			public final long liveDataLength()
+			{
+				return this.liveDataLength;
+			}
+
+			@Override
+			public final long cachedDataLength()
+			{
+				return this.cachedDataLength;
+			}
+
+			@Override
+			public final long averageEntityLength()
+			{
+				return this.entityCount == 0 ? 0 : this.liveDataLength / this.entityCount;
+			}
+
+			@Override
+			public final long maxEntityLength()
+			{
+				return this.maxEntityLength;
+			}
+
+			@Override
+			public final long[] entityLengthHistogram()
+			{
+				return this.entityLengthHistogram.clone();
+			}
+
+			@Override
+			public final long storesPerMinute()
+			{
+				return this.storesPerMinute;
+			}
+
+			@Override
+			public String toString()
+			{
+				return this.typeName + " (" + this.typeId + "): " + this.entityCount + " entities, "
+					+ this.liveDataLength + " live bytes, " + this.cachedDataLength + " cached bytes"
+				;
+			}
+
+		}
+
+	}
+
+}
@@ -40,8 +40,10 @@ import one.microstream.collections.XSort;
 import one.microstream.collections.types.XGettingSequence;
 import one.microstream.exceptions.MultiCauseException;
 import one.microstream.memory.XMemory;
+import one.microstream.persistence.binary.types.Binary;
 import one.microstream.storage.exceptions.StorageException;
 import one.microstream.storage.exceptions.StorageExceptionConsistency;
+import one.microstream.storage.exceptions.StorageExceptionInitialization;
 import one.microstream.storage.exceptions.StorageExceptionIoReading;
 import one.microstream.storage.exceptions.StorageExceptionIoWriting;
 import one.microstream.storage.exceptions.StorageExceptionIoWritingChunk;
@@ -99,6 +101,16 @@ public interface StorageFileManager extends StorageChannelResetablePart, Disposa
 	public boolean incrementalFileCleanupCheck(long nanoTimeBudgetBound);
 
 	public boolean issuedFileCleanupCheck(long nanoTimeBudgetBound);
+	
+	/**
+	 * Applies the transactions entries that have been appended to the transactions file by another process since
+	 * the last call. Only applicable in replica mode, see {@link StorageReplica}.
+	 * 
+	 * @param nanoTimeBudgetBound the {@link System#nanoTime()} value until which the tailing may run.
+	 * 
+	 * @return whether all available entries have been applied within the time budget.
+	 */
+	public boolean tailTransactions(long nanoTimeBudgetBound);
 
 	public void exportData(StorageLiveFileProvider fileProvider);
 
@@ -159,6 +171,7 @@ public interface StorageFileManager extends StorageChannelResetablePart, Disposa
 		private final StorageWriteController               writeController              ;
 		private final StorageFileWriter                    writer                       ;
 		private final StorageBackupHandler                 backupHandler                ;
+		private final StorageReplica                       replica                      ;
 		
 		// to avoid permanent lambda instantiation
 		private final Consumer<? super StorageLiveDataFile.Default> deleter        = this::deleteFile       ;
@@ -207,6 +220,9 @@ public interface StorageFileManager extends StorageChannelResetablePart, Disposa
 		// cleared by clearStandardByteBuffer() / reset().
 		private final ByteBuffer standardByteBuffer;
 		
+		// only present in replica mode. Filled anew for every tailing read.
+		private final ByteBuffer replicaEntriesBuffer;
+		
 		
 		// state 3.0: mutable fields. Must be cleared on reset.
 		
@@ -227,6 +243,14 @@ public interface StorageFileManager extends StorageChannelResetablePart, Disposa
 
 		// cleared and nulled by clearRegisteredFiles() / reset()
 		private StorageLiveDataFile.Default headFile;
+		
+		
+		// state 3.2: replica tailing state. Cleared by clearReplicaState() / reset()
+		
+		private long    replicaTransactionsPosition;
+		private long    replicaLatestStoreTimestamp;
+		private long    replicaPassStart           ;
+		private boolean replicaSuspended           ;
 
 
 
@@ -244,7 +268,8 @@ public interface StorageFileManager extends StorageChannelResetablePart, Disposa
 			final StorageWriteController               writeController              ,
 			final StorageFileWriter                    writer                       ,
 			final BufferSizeProvider                   standardBufferSizeProvider   ,
-			final StorageBackupHandler                 backupHandler
+			final StorageBackupHandler                 backupHandler                ,
+			final StorageReplica                       replica
 		)
 		{
 			super();
@@ -257,10 +282,15 @@ public interface StorageFileManager extends StorageChannelResetablePart, Disposa
 			this.writeController               =     notNull(writeController)              ;
 			this.writer                        =     notNull(writer)                       ;
 			this.backupHandler                 =     mayNull(backupHandler)                ;
+			this.replica                       =     mayNull(replica)                      ;
 			
 			this.standardByteBuffer = XMemory.allocateDirectNative(
 				standardBufferSizeProvider.provideBufferSize()
 			);
+			this.replicaEntriesBuffer = replica == null
+				? null
+				: XMemory.allocateDirectNative(standardBufferSizeProvider.provideBufferSize())
+			;
 		}
 
 
@@ -280,6 +310,11 @@ public interface StorageFileManager extends StorageChannelResetablePart, Disposa
 		{
 			return this.writeController.isFileCleanupEnabled();
 		}
+		
+		final boolean isReplica()
+		{
+			return this.replica != null;
+		}
 
 		final <L extends Consumer<StorageEntity.Default>> L iterateEntities(final L logic)
 		{
@@ -674,7 +709,7 @@ public interface StorageFileManager extends StorageChannelResetablePart, Disposa
 		)
 		{
 			entity.putCacheData(address, length);
-			this.entityCache.modifyUsedCacheSize(cacheChange);
+			this.entityCache.modifyUsedCacheSize(entity, cacheChange);
 		}
 
 		@Override
@@ -684,6 +719,9 @@ public interface StorageFileManager extends StorageChannelResetablePart, Disposa
 			{
 				throw new StorageExceptionIoReading(this.channelIndex() + " already initialized");
 			}
+			
+			// in replica mode, reading the storage is the first tailing pass
+			this.replicaPassStart = System.nanoTime();
 
 			final StorageTransactionsAnalysis      transactionsAnalysis = this.readTransactionsFile();
 			final EqHashTable<Long, StorageDataInventoryFile> dataFiles = EqHashTable.New();
@@ -714,6 +752,8 @@ public interface StorageFileManager extends StorageChannelResetablePart, Disposa
 			try
 			{
 				final EntryAggregator aggregator = file.processBy(new EntryAggregator(this.channelIndex()));
+				this.replicaTransactionsPosition = aggregator.processedLength();
+				
 				return aggregator.yield(file);
 			}
 			catch(final Exception e)
@@ -792,6 +832,11 @@ public interface StorageFileManager extends StorageChannelResetablePart, Disposa
 				
 				if(remainingFileEntry.isEmpty())
 				{
+					if(this.isReplica())
+					{
+						// a replica may not create files. The missing empty file has no content to replicate anyway.
+						continue;
+					}
 					this.supplementedMissingEmptyFile(
 						supplementedMissingEmptyFiles,
 						remainingFileEntry.fileNumber()
@@ -860,7 +905,13 @@ public interface StorageFileManager extends StorageChannelResetablePart, Disposa
 				isEmpty = effectiveStorageInventory.dataFiles().isEmpty();
 
 				final StorageIdAnalysis idAnalysis;
-				if(isEmpty)
+				if(isEmpty && this.isReplica())
+				{
+					throw new StorageExceptionInitialization(
+						"Replica channel " + this.channelIndex() + " found no data files to be replicated."
+					);
+				}
+				else if(isEmpty)
 				{
 					// initialize if there are no files at all (create first file, ensure transactions file)
 					this.initializeForNoFiles(taskTimestamp, effectiveStorageInventory);
@@ -888,6 +939,11 @@ public interface StorageFileManager extends StorageChannelResetablePart, Disposa
 
 				this.restartFileCleanupCursor();
 				
+				if(this.isReplica())
+				{
+					this.replica.registerPass(this.channelIndex(), this.replicaPassStart, this.replicaLatestStoreTimestamp);
+				}
+				
 				return idAnalysis;
 			}
 			catch(final RuntimeException e)
@@ -974,7 +1030,9 @@ public interface StorageFileManager extends StorageChannelResetablePart, Disposa
 			// validate and determine length of last file before any file is processed to recognize errors early
 			final long lastFileLength = unregisteredEmptyLastFileNumber >= 0
 				? 0
-				: this.determineLastFileLength(consistentStoreTimestamp, storageInventory)
+				: this.isReplica()
+					? this.determineReplicaLastFileLength(storageInventory)
+					: this.determineLastFileLength(consistentStoreTimestamp, storageInventory)
 			;
 
 			// register items (gaps and entities, with latest version of each entity replacing all previous)
@@ -987,6 +1045,14 @@ public interface StorageFileManager extends StorageChannelResetablePart, Disposa
 
 			// validate entities (only the latest versions) before potential transaction file derivation
 			final StorageIdAnalysis idAnalysis = this.entityCache.validateEntities();
+			
+			if(this.isReplica())
+			{
+				// a replica neither derives nor writes the transactions file and never truncates or creates files.
+				this.setTransactionsFile(storageInventory.transactionsFileAnalysis().transactionsFile());
+				
+				return idAnalysis;
+			}
 
 			// ensure transactions file before handling last file as truncation needs to write in it
 			this.ensureTransactionsFile(taskTimestamp, storageInventory, unregisteredEmptyLastFileNumber);
@@ -1033,6 +1099,26 @@ public interface StorageFileManager extends StorageChannelResetablePart, Disposa
 			}
 		}
 								
+		private long determineReplicaLastFileLength(final StorageInventory storageInventory)
+		{
+			final StorageTransactionsAnalysis tFileAnalysis = storageInventory.transactionsFileAnalysis();
+			if(tFileAnalysis == null || tFileAnalysis.isEmpty())
+			{
+				throw new StorageExceptionInitialization(
+					"Replica channel " + this.channelIndex() + " requires an existing transactions file."
+				);
+			}
+			
+			/*
+			 * A replica cannot roll back anything. Every store with a transactions entry is regarded as complete,
+			 * even if the writer is in the middle of writing the store's entries in the other channels.
+			 * The replica's caught up timestamp accounts for that.
+			 */
+			this.replicaLatestStoreTimestamp = tFileAnalysis.headFileLatestTimestamp();
+			
+			return tFileAnalysis.headFileLatestLength();
+		}
+		
 		private void initializeForNoFiles(final long taskTimestamp, final StorageInventory storageInventory)
 		{
 			// ensure translations file BEFORE adding the first file as it writes a transactions entry
@@ -1250,6 +1336,16 @@ public interface StorageFileManager extends StorageChannelResetablePart, Disposa
 			
 			// at this point, it is either 0 already or it won't matter since everything has been cleared.
 			this.pendingFileDeletes = 0;
+			
+			this.clearReplicaState();
+		}
+		
+		final void clearReplicaState()
+		{
+			this.replicaTransactionsPosition = 0;
+			this.replicaLatestStoreTimestamp = 0;
+			this.replicaPassStart            = 0;
+			this.replicaSuspended            = false;
 		}
 		
 		/**
@@ -1268,6 +1364,10 @@ public interface StorageFileManager extends StorageChannelResetablePart, Disposa
 			XMemory.deallocateDirectByteBuffer(this.entryBufferFileDeletion);
 			XMemory.deallocateDirectByteBuffer(this.entryBufferFileTruncation);
 			XMemory.deallocateDirectByteBuffer(this.standardByteBuffer);
+			if(this.replicaEntriesBuffer != null)
+			{
+				XMemory.deallocateDirectByteBuffer(this.replicaEntriesBuffer);
+			}
 		}
 
 		final void handleLastFile(
@@ -1363,6 +1463,271 @@ public interface StorageFileManager extends StorageChannelResetablePart, Disposa
 		{
 			return this.internalCheckForCleanup(nanoTimeBudgetBound, this.dataFileEvaluator);
 		}
+		
+		@Override
+		public final boolean tailTransactions(final long nanoTimeBudgetBound)
+		{
+			// no transactions file means not initialized (yet) or already reset by a shutdown.
+			if(!this.isReplica() || this.replicaSuspended || this.fileTransactions == null)
+			{
+				return true;
+			}
+			
+			// every entry that is present at this point in time will be applied if the pass completes.
+			final long passStart = System.nanoTime();
+			
+			final ByteBuffer buffer  = this.replicaEntriesBuffer;
+			final long       address = XMemory.getDirectByteBufferAddress(buffer);
+			
+			while(System.nanoTime() < nanoTimeBudgetBound)
+			{
+				final long availableLength = this.fileTransactions.size() - this.replicaTransactionsPosition;
+				if(availableLength <= 0)
+				{
+					this.replica.registerPass(this.channelIndex(), passStart, this.replicaLatestStoreTimestamp);
+					return true;
+				}
+				
+				buffer.clear();
+				if(availableLength < buffer.capacity())
+				{
+					buffer.limit((int)availableLength);
+				}
+				this.fileTransactions.readBytes(buffer, this.replicaTransactionsPosition);
+				
+				final long appliedLength = this.applyTransactionsEntries(address, buffer.limit());
+				if(this.replicaSuspended)
+				{
+					return true;
+				}
+				if(appliedLength == 0)
+				{
+					// only an incomplete trailing entry that is still being written. Complete for now.
+					this.replica.registerPass(this.channelIndex(), passStart, this.replicaLatestStoreTimestamp);
+					return true;
+				}
+				this.replicaTransactionsPosition += appliedLength;
+			}
+			
+			return false;
+		}
+		
+		private long applyTransactionsEntries(final long startAddress, final long length)
+		{
+			final long boundAddress = startAddress + length;
+			
+			long address = startAddress;
+			while(address < boundAddress)
+			{
+				final int entryLength = StorageTransactionsAnalysis.Logic.getEntryLength(address);
+				if(entryLength == 0)
+				{
+					throw new StorageException("Zero length transactions entry in channel " + this.channelIndex());
+				}
+				if(Math.abs(entryLength) > boundAddress - address)
+				{
+					// incomplete entry, to be applied in the next read
+					break;
+				}
+				
+				// gaps (negative length) are simply skipped
+				if(entryLength > 0 && !this.applyTransactionsEntry(address))
+				{
+					this.replicaSuspended = true;
+					break;
+				}
+				address += Math.abs(entryLength);
+			}
+			
+			return address - startAddress;
+		}
+		
+		private boolean applyTransactionsEntry(final long address)
+		{
+			switch(StorageTransactionsAnalysis.Logic.getEntryType(address))
+			{
+				case StorageTransactionsAnalysis.Logic.TYPE_FILE_CREATION:
+				{
+					this.replicateFileCreation(StorageTransactionsAnalysis.Logic.getFileNumber(address));
+					return true;
+				}
+				case StorageTransactionsAnalysis.Logic.TYPE_STORE:
+				{
+					final boolean success = this.replicateHeadFileContent(
+						StorageTransactionsAnalysis.Logic.getFileLength(address)
+					);
+					this.replicaLatestStoreTimestamp = StorageTransactionsAnalysis.Logic.getEntryTimestamp(address);
+					return success;
+				}
+				case StorageTransactionsAnalysis.Logic.TYPE_TRANSFER:
+				{
+					// the transferred entities are simply registered anew at their new position in the head file.
+					return this.replicateHeadFileContent(StorageTransactionsAnalysis.Logic.getFileLength(address));
+				}
+				case StorageTransactionsAnalysis.Logic.TYPE_FILE_TRUNCATION:
+				{
+					this.replicateFileTruncation(
+						StorageTransactionsAnalysis.Logic.getFileNumber(address),
+						StorageTransactionsAnalysis.Logic.getFileLength(address)
+					);
+					return true;
+				}
+				case StorageTransactionsAnalysis.Logic.TYPE_FILE_DELETION:
+				{
+					return this.replicateFileDeletion(StorageTransactionsAnalysis.Logic.getFileNumber(address));
+				}
+				default:
+				{
+					throw new StorageException(
+						"Unknown transactions entry type: " + StorageTransactionsAnalysis.Logic.getEntryType(address)
+					);
+				}
+			}
+		}
+		
+		private void replicateFileCreation(final long fileNumber)
+		{
+			if(fileNumber <= this.headFile.number())
+			{
+				// already registered during initialization (unregistered empty last file special case)
+				return;
+			}
+			
+			final AFile file = this.fileProvider.provideDataFile(this.channelIndex(), fileNumber);
+			this.registerStorageHeadFile(this.createLiveDataFile(file, this.channelIndex(), fileNumber));
+		}
+		
+		private boolean replicateHeadFileContent(final long headFileNewLength)
+		{
+			final StorageLiveDataFile.Default headFile = this.headFile;
+			final long                        oldLength = headFile.totalLength();
+			if(headFileNewLength <= oldLength)
+			{
+				// already registered during initialization
+				return true;
+			}
+			
+			final ByteBuffer buffer = this.buffer(X.checkArrayRange(headFileNewLength - oldLength));
+			try
+			{
+				try
+				{
+					headFile.readBytes(buffer, oldLength);
+				}
+				catch(final StorageExceptionIoReading e)
+				{
+					if(headFile.exists())
+					{
+						throw e;
+					}
+					
+					/*
+					 * The replica lags behind and the writer's file cleanup has already deleted the file.
+					 * Its live entities are registered by the subsequent transfer entries, the rest is garbage.
+					 */
+					headFile.registerGapLength(headFileNewLength - oldLength);
+					
+					return true;
+				}
+				if(!this.validateReplicatedEntities(buffer))
+				{
+					return false;
+				}
+				this.entityCache.putReplicatedEntities(buffer, oldLength, headFile);
+				headFile.increaseContentLength(headFileNewLength - oldLength);
+				
+				return true;
+			}
+			finally
+			{
+				this.clearBuffer(buffer);
+			}
+		}
+		
+		private boolean validateReplicatedEntities(final ByteBuffer buffer)
+		{
+			final long startAddress = XMemory.getDirectByteBufferAddress(buffer);
+			final long boundAddress = startAddress + buffer.limit();
+			
+			for(long adr = startAddress; adr < boundAddress; adr += Binary.getEntityLengthRawValue(adr))
+			{
+				final long entityLength = Binary.getEntityLengthRawValue(adr);
+				if(entityLength <= 0 || entityLength > boundAddress - adr)
+				{
+					this.replica.registerInconsistency(this.channelIndex(),
+						"Invalid entity length " + entityLength + " in file " + this.headFile.number()
+						+ ". Replication is suspended."
+					);
+					return false;
+				}
+				
+				final long typeId = Binary.getEntityTypeIdRawValue(adr);
+				if(this.entityCache.typeDictionary().lookupTypeHandler(typeId) == null)
+				{
+					this.replica.registerInconsistency(this.channelIndex(),
+						"Unknown type id " + typeId + ", probably registered by the writer after the replica has"
+						+ " been started. Replication is suspended until the replica is restarted."
+					);
+					return false;
+				}
+			}
+			
+			return true;
+		}
+		
+		private void replicateFileTruncation(final long fileNumber, final long newLength)
+		{
+			final StorageLiveDataFile.Default headFile = this.headFile;
+			if(fileNumber != headFile.number() || newLength >= headFile.totalLength())
+			{
+				// truncation of content that has never been registered by the replica
+				return;
+			}
+			
+			this.entityCache.deleteReplicatedEntities(headFile, newLength);
+			headFile.truncateTotalLength(newLength);
+			
+			this.replica.registerInconsistency(this.channelIndex(),
+				"Rolled back store in file " + fileNumber + ": the previous versions of the rolled back entities"
+				+ " are unavailable until the replica is restarted."
+			);
+		}
+		
+		private boolean replicateFileDeletion(final long fileNumber)
+		{
+			final StorageLiveDataFile.Default headFile = this.headFile;
+			
+			StorageLiveDataFile.Default file = headFile;
+			while((file = file.next) != headFile)
+			{
+				if(file.number() != fileNumber)
+				{
+					continue;
+				}
+				
+				// all live entities have been transferred, the remaining ones are garbage collected by the writer.
+				this.entityCache.deleteReplicatedEntities(file, 0);
+				if(this.fileCleanupCursor == file)
+				{
+					this.fileCleanupCursor = file.next;
+				}
+				file.detach();
+				file.unregisterUsageClosing(this, null);
+				
+				return true;
+			}
+			
+			if(headFile.number() == fileNumber)
+			{
+				this.replica.registerInconsistency(this.channelIndex(),
+					"Deletion of the current head file " + fileNumber + ". Replication is suspended."
+				);
+				return false;
+			}
+			
+			// file is not registered (e.g. already deleted on initialization)
+			return true;
+		}
 
 		private void deletePendingFile(final StorageLiveDataFile.Default file)
 		{
@@ -50,6 +50,16 @@ public interface StorageFileNameProvider
 
 	public String provideTransactionsFileName(int channelIndex);
 	
+	public default String hotSetFileType()
+	{
+		return Defaults.defaultHotSetFileSuffix();
+	}
+	
+	public default String provideHotSetFileName(final int channelIndex)
+	{
+		return Defaults.defaultHotSetFilePrefix() + channelIndex;
+	}
+	
 	/* (18.06.2020 TM)TODO: remove parsing from filename provider.
 	 * So far, the meta information of a file are parsed from its file name.
 	 * This is dangerous since renaming a file would affect (= destroy) the storage data order and consistency.
@@ -94,6 +104,16 @@ public interface StorageFileNameProvider
 			return "sft"; // "storage file transactions"
 		}
 		
+		public static String defaultHotSetFilePrefix()
+		{
+			return "hotset_";
+		}
+		
+		public static String defaultHotSetFileSuffix()
+		{
+			return "shs"; // "storage hot set"
+		}
+		
 		public static String defaultRescuedFileSuffix()
 		{
 			return "bak"; // "backup" - although admittedly, that might be a bit confusing with the BackupFile concept.
@@ -513,6 +513,16 @@ public interface StorageFileProvider extends PersistenceTypeDictionaryIoHandler.
 			return file;
 		}
 
+		public AFile provideHotSetFile(final int channelIndex)
+		{
+			final ADirectory channelDirectory = this.provideChannelDirectory(channelIndex);
+			final String     hotSetFileName   = this.fileNameProvider.provideHotSetFileName(channelIndex);
+			final String     hotSetFileType   = this.fileNameProvider.hotSetFileType();
+			final AFile      file             = channelDirectory.ensureFile(hotSetFileName, hotSetFileType);
+			
+			return file;
+		}
+
 		public AFile provideLockFile()
 		{
 			final AFile file = this.baseDirectory.ensureFile(this.fileNameProvider.lockFileName());
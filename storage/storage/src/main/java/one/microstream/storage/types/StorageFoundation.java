@@ -22,6 +22,7 @@ package one.microstream.storage.types;
 
 import java.nio.ByteOrder;
 
+import one.microstream.afs.types.WriteController;
 import one.microstream.exceptions.MissingFoundationPartException;
 import one.microstream.persistence.binary.types.BinaryEntityRawDataIterator;
 import one.microstream.persistence.types.ObjectIdsSelector;
@@ -487,6 +488,26 @@ public interface StorageFoundation<F extends StorageFoundation<?>> extends Insta
 	 */
 	public StorageLockFileManager.Creator getLockFileManagerCreator();
 	
+	/**
+	 * Returns the currently set {@link StorageReplica} instance.
+	 * <p>
+	 * If no instance is set, the storage is started as a regular (writing) storage, otherwise as a read-only
+	 * replica that tails the storage files written by another process. See {@link StorageReplica}.
+	 * 
+	 * @return the currently set instance or {@literal null}.
+	 */
+	public StorageReplica getReplica();
+	
+	/**
+	 * Returns the currently set {@link StorageHotSetSetup} instance.
+	 * <p>
+	 * If no instance is set, no hot set is recorded and no cache warm-up is performed on startup.
+	 * See {@link StorageHotSet}.
+	 * 
+	 * @return the currently set instance or {@literal null}.
+	 */
+	public StorageHotSetSetup getHotSetSetup();
+	
 	/**
 	 * Returns the currently set {@link StorageExceptionHandler} instance.
 	 * <p>
@@ -799,6 +820,26 @@ public interface StorageFoundation<F extends StorageFoundation<?>> extends Insta
 	 */
 	public F setLockFileManagerCreator(StorageLockFileManager.Creator lockFileManagerCreator);
 	
+	/**
+	 * Sets the {@link StorageReplica} instance to be used for the assembly.
+	 * Setting an instance starts the storage as a read-only replica, see {@link StorageReplica}.
+	 * 
+	 * @param replica the instance to be used.
+	 * 
+	 * @return {@literal this} to allow method chaining.
+	 */
+	public F setReplica(StorageReplica replica);
+	
+	/**
+	 * Sets the {@link StorageHotSetSetup} instance to be used for the assembly.
+	 * Setting an instance enables the hot set recording and cache warm-up, see {@link StorageHotSet}.
+	 * 
+	 * @param hotSetSetup the instance to be used.
+	 * 
+	 * @return {@literal this} to allow method chaining.
+	 */
+	public F setHotSetSetup(StorageHotSetSetup hotSetSetup);
+	
 	/**
 	 * Sets the {@link StorageExceptionHandler} instance to be used for the assembly.
 	 * 
@@ -886,6 +927,8 @@ public interface StorageFoundation<F extends StorageFoundation<?>> extends Insta
 		private StorageLockFileSetup                     lockFileSetup                ;
 		private StorageLockFileSetup.Provider            lockFileSetupProvider        ;
 		private StorageLockFileManager.Creator           lockFileManagerCreator       ;
+		private StorageReplica                           replica                      ;
+		private StorageHotSetSetup                       hotSetSetup                  ;
 		private StorageExceptionHandler                  exceptionHandler             ;
 		private StorageEventLogger                       eventLogger                  ;
 		private StorageWriteController                   writeController              ;
@@ -1114,6 +1157,12 @@ public interface StorageFoundation<F extends StorageFoundation<?>> extends Insta
 		
 		protected StorageWriteController ensureWriteController()
 		{
+			if(this.getReplica() != null)
+			{
+				// a replica may never write into the files written by another process.
+				return StorageWriteController.Wrap(WriteController.Disabled());
+			}
+			
 			return StorageWriteController.Wrap(
 				this.getConfiguration().fileProvider().fileSystem()
 			);
@@ -1440,6 +1489,20 @@ public interface StorageFoundation<F extends StorageFoundation<?>> extends Insta
 			}
 			return this.lockFileManagerCreator;
 		}
+		
+		@Override
+		public StorageReplica getReplica()
+		{
+			// intentionally no ensuring since a storage is not a replica by default
+			return this.replica;
+		}
+		
+		@Override
+		public StorageHotSetSetup getHotSetSetup()
+		{
+			// intentionally no ensuring since hot set handling is optional
+			return this.hotSetSetup;
+		}
 
 		@Override
 		public StorageExceptionHandler getExceptionHandler()
@@ -1766,6 +1829,20 @@ public interface StorageFoundation<F extends StorageFoundation<?>> extends Insta
 			this.lockFileManagerCreator = lockFileManagerCreator;
 			return this.$();
 		}
+		
+		@Override
+		public F setReplica(final StorageReplica replica)
+		{
+			this.replica = replica;
+			return this.$();
+		}
+		
+		@Override
+		public F setHotSetSetup(final StorageHotSetSetup hotSetSetup)
+		{
+			this.hotSetSetup = hotSetSetup;
+			return this.$();
+		}
 
 		@Override
 		public F setExceptionHandler(final StorageExceptionHandler exceptionHandler)
@@ -1869,7 +1946,9 @@ public interface StorageFoundation<F extends StorageFoundation<?>> extends Insta
 				this.getEventLogger()                  ,
 				this.getLiveObjectIdChecker()          ,
 				this.getLiveStorerRegistryReference()  ,
-				this.getStorageStructureValidator()
+				this.getStorageStructureValidator()    ,
+				this.getReplica()                      ,
+				this.getHotSetSetup()
 			);
 		}
 
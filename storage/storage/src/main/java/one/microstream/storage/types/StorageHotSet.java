@@ -0,0 +1,547 @@
+package one.microstream.storage.types;
+
+/*-
+ * #%L
+ * microstream-storage
+ * %%
+ * Copyright (C) 2019 - 2022 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+import static one.microstream.X.notNull;
+import static one.microstream.math.XMath.notNegative;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Comparator;
+
+import org.slf4j.Logger;
+
+import one.microstream.afs.types.AFS;
+import one.microstream.afs.types.AFile;
+import one.microstream.collections.BulkList;
+import one.microstream.memory.XMemory;
+import one.microstream.util.logging.Logging;
+
+/**
+ * A channel's hot set: the object ids of the channel's most recently used cached entities, periodically recorded to
+ * the channel's hot set file and loaded back into the cache on startup, see {@link StorageHotSetSetup}.
+ * <p>
+ * The hot set file consists of a header of the recording time and the entry count, followed by one entry of
+ * object id and last touch time per entity, ordered by recency (most recent first). All values are 8 byte longs.
+ * <p>
+ * The warm-up loads the recorded entities in the order of their storage position to keep the reading as sequential
+ * as possible. It is executed incrementally as part of the channel's housekeeping, so regular requests are
+ * served while it is in progress. Entities that have been deleted since the recording are skipped. The warm-up
+ * stops as soon as the entity cache evaluator deems the loaded data as having to be cleared, i.e. once the cache
+ * is full.
+ *
+ */
+public interface StorageHotSet
+{
+	public int channelIndex();
+
+	/**
+	 * @return whether the warm-up has not been completed, yet.
+	 */
+	public boolean isWarmingUp();
+
+	/**
+	 * Loads the next recorded entities into the cache until the passed time bound or the setup's load budget per
+	 * cycle is reached.
+	 *
+	 * @param nanoTimeBudgetBound the {@link System#nanoTime()} value at which the warm-up has to be interrupted.
+	 *
+	 * @return whether the warm-up has been completed.
+	 */
+	public boolean incrementalWarmUp(long nanoTimeBudgetBound);
+
+	/**
+	 * Records the current hot set if the setup's recording interval has elapsed since the last recording.
+	 *
+	 * @return whether the hot set has been recorded.
+	 */
+	public boolean checkRecording();
+
+	/**
+	 * Records the current hot set to the channel's hot set file.
+	 */
+	public void record();
+
+
+
+	/**
+	 * Pseudo-constructor method to create a new {@link StorageHotSet} instance.
+	 *
+	 * @param channelIndex the index of the channel owning the hot set.
+	 * @param setup the hot set configuration.
+	 * @param fileProvider the file provider to provide the channel's hot set file.
+	 * @param entityCache the channel's entity cache.
+	 * @param writeController the write controller to check if the hot set file may be written.
+	 *
+	 * @return a new {@link StorageHotSet} instance.
+	 */
+	public static StorageHotSet.Default New(
+		final int                        channelIndex   ,
+		final StorageHotSetSetup         setup          ,
+		final StorageLiveFileProvider    fileProvider   ,
+		final StorageEntityCache.Default entityCache    ,
+		final StorageWriteController     writeController
+	)
+	{
+		return new StorageHotSet.Default(
+			notNegative(channelIndex)   ,
+			notNull    (setup)          ,
+			notNull    (fileProvider)   ,
+			notNull    (entityCache)    ,
+			notNull    (writeController)
+		);
+	}
+
+	public final class Default implements StorageHotSet
+	{
+		private final static Logger logger = Logging.getLogger(StorageHotSet.class);
+
+		static final int    HEADER_LENGTH         = 2 * Long.BYTES;
+		static final int    ENTRY_LENGTH          = 2 * Long.BYTES;
+		static final String TEMP_FILE_TYPE_SUFFIX = "_tmp"        ;
+
+		///////////////////////////////////////////////////////////////////////////
+		// instance fields //
+		////////////////////
+
+		private final int                        channelIndex   ;
+		private final StorageHotSetSetup         setup          ;
+		private final StorageLiveFileProvider    fileProvider   ;
+		private final StorageEntityCache.Default entityCache    ;
+		private final StorageWriteController     writeController;
+
+		private boolean        warmingUp       ;
+		private WarmUpEntry[]  warmUpEntries   ;
+		private int            warmUpCursor    ;
+		private long           warmUpLoadedSize;
+		private long           nextRecordingMs ;
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// constructors //
+		/////////////////
+
+		Default(
+			final int                        channelIndex   ,
+			final StorageHotSetSetup         setup          ,
+			final StorageLiveFileProvider    fileProvider   ,
+			final StorageEntityCache.Default entityCache    ,
+			final StorageWriteController     writeController
+		)
+		{
+			super();
+			this.channelIndex    = channelIndex   ;
+			this.setup           = setup          ;
+			this.fileProvider    = fileProvider   ;
+			this.entityCache     = entityCache    ;
+			this.writeController = writeController;
+			this.warmingUp       = setup.isWarmUpEnabled();
+			this.nextRecordingMs = System.currentTimeMillis() + setup.recordingInterval();
+		}
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// methods //
+		////////////
+
+		@Override
+		public final int channelIndex()
+		{
+			return this.channelIndex;
+		}
+
+		@Override
+		public final boolean isWarmingUp()
+		{
+			return this.warmingUp;
+		}
+
+		@Override
+		public final boolean incrementalWarmUp(final long nanoTimeBudgetBound)
+		{
+			if(!this.warmingUp)
+			{
+				return true;
+			}
+
+			if(this.warmUpEntries == null)
+			{
+				this.warmUpEntries = this.readHotSet();
+				logger.debug(
+					"StorageChannel#{} starting warm-up of {} hot set entities",
+					this.channelIndex,
+					this.warmUpEntries.length
+				);
+			}
+
+			final WarmUpEntry[] entries = this.warmUpEntries;
+			final long          budget  = this.setup.warmUpLoadBudget();
+
+			long loadedSize = 0;
+			while(this.warmUpCursor < entries.length)
+			{
+				final WarmUpEntry entry = entries[this.warmUpCursor++];
+				if(entry.entity.isDeleted() || entry.entity.isLive())
+				{
+					continue;
+				}
+
+				if(!this.entityCache.warmUpEntity(entry.entity, entry.lastTouchedMs))
+				{
+					// cache is full (or the entity too old to be cached), loading more entities would be pointless.
+					this.warmUpCursor = entries.length;
+					break;
+				}
+
+				loadedSize += entry.entity.dataLength();
+				if(loadedSize >= budget || System.nanoTime() >= nanoTimeBudgetBound)
+				{
+					break;
+				}
+			}
+			this.warmUpLoadedSize += loadedSize;
+
+			if(this.warmUpCursor < entries.length)
+			{
+				return false;
+			}
+
+			logger.debug(
+				"StorageChannel#{} completed warm-up, loaded {} bytes",
+				this.channelIndex,
+				this.warmUpLoadedSize
+			);
+
+			this.warmingUp     = false;
+			this.warmUpEntries = null;
+
+			return true;
+		}
+
+		private WarmUpEntry[] readHotSet()
+		{
+			final AFile file = this.fileProvider.provideHotSetFile(this.channelIndex);
+
+			WarmUpEntry[] entries = this.readHotSet(file);
+			if(entries == null)
+			{
+				// an interrupted replacement leaves the new hot set in the temporary file only, see #writeHotSetFile.
+				entries = this.readHotSet(temporaryFile(file));
+			}
+
+			return entries != null
+				? entries
+				: new WarmUpEntry[0]
+			;
+		}
+
+		private static AFile temporaryFile(final AFile file)
+		{
+			return file.parent().ensureFile(file.name(), file.type() + TEMP_FILE_TYPE_SUFFIX);
+		}
+
+		private WarmUpEntry[] readHotSet(final AFile file)
+		{
+			if(!file.exists())
+			{
+				return null;
+			}
+
+			final ByteBuffer buffer;
+			try
+			{
+				buffer = AFS.apply(file, f -> f.readBytes());
+			}
+			catch(final Exception e)
+			{
+				// the hot set is merely an optimization, so a broken file must never prevent the storage from running.
+				logger.warn("StorageChannel#{} could not read hot set file {}", this.channelIndex, file, e);
+				return null;
+			}
+
+			try
+			{
+				return this.resolveHotSet(buffer, file);
+			}
+			finally
+			{
+				XMemory.deallocateDirectByteBuffer(buffer);
+			}
+		}
+
+		private WarmUpEntry[] resolveHotSet(final ByteBuffer buffer, final AFile file)
+		{
+			final long address = XMemory.getDirectByteBufferAddress(buffer);
+			final long length  = buffer.limit();
+			if(length < HEADER_LENGTH)
+			{
+				logger.warn("StorageChannel#{} ignoring incomplete hot set file {}", this.channelIndex, file);
+				return null;
+			}
+
+			final long recordingMs = XMemory.get_long(address);
+			final long entryCount  = XMemory.get_long(address + Long.BYTES);
+			if(entryCount < 0 || length != HEADER_LENGTH + entryCount * ENTRY_LENGTH)
+			{
+				logger.warn("StorageChannel#{} ignoring inconsistent hot set file {}", this.channelIndex, file);
+				return null;
+			}
+
+			// shift the recorded times to now to preserve the entities' recency relative to each other.
+			final long timeShift = System.currentTimeMillis() - recordingMs;
+
+			final BulkList<WarmUpEntry> entries = BulkList.New(entryCount);
+			final long bound = address + length;
+			for(long a = address + HEADER_LENGTH; a < bound; a += ENTRY_LENGTH)
+			{
+				final StorageEntity.Default entity = this.entityCache.getEntry(XMemory.get_long(a));
+				if(entity == null || entity.isDeleted())
+				{
+					continue;
+				}
+				entries.add(new WarmUpEntry(entity, XMemory.get_long(a + Long.BYTES) + timeShift));
+			}
+
+			final WarmUpEntry[] array = entries.toArray(WarmUpEntry.class);
+			Arrays.sort(array, WarmUpEntry.STORAGE_ORDER);
+
+			return array;
+		}
+
+		@Override
+		public final boolean checkRecording()
+		{
+			if(this.setup.recordingInterval() == 0 || !this.writeController.isWritable())
+			{
+				return false;
+			}
+
+			final long now = System.currentTimeMillis();
+			if(now < this.nextRecordingMs)
+			{
+				return false;
+			}
+			this.nextRecordingMs = now + this.setup.recordingInterval();
+
+			this.record();
+
+			return true;
+		}
+
+		@Override
+		public final void record()
+		{
+			// only the most recent entities are kept while iterating, so recording neither sorts nor copies the cache.
+			final RecencyHeap heap = new RecencyHeap(this.setup.maximumEntityCount());
+			this.entityCache.iterateCachedEntities(heap::offer);
+			heap.sortMostRecentFirst();
+
+			final int  entryCount = heap.size;
+			final long length     = HEADER_LENGTH + (long)entryCount * ENTRY_LENGTH;
+
+			final ByteBuffer buffer  = XMemory.allocateDirectNative(length);
+			final long       address = XMemory.getDirectByteBufferAddress(buffer);
+			try
+			{
+				XMemory.set_long(address, System.currentTimeMillis());
+				XMemory.set_long(address + Long.BYTES, entryCount);
+
+				long a = address + HEADER_LENGTH;
+				for(int i = 0; i < entryCount; i++, a += ENTRY_LENGTH)
+				{
+					XMemory.set_long(a, heap.objectIds[i]);
+					XMemory.set_long(a + Long.BYTES, heap.lastTouched[i]);
+				}
+
+				this.writeHotSetFile(buffer);
+
+				logger.debug(
+					"StorageChannel#{} recorded hot set of {} entities",
+					this.channelIndex,
+					entryCount
+				);
+			}
+			catch(final Exception e)
+			{
+				// see reading: a failed recording must never disrupt the storage.
+				logger.warn("StorageChannel#{} could not record hot set", this.channelIndex, e);
+			}
+			finally
+			{
+				XMemory.deallocateDirectByteBuffer(buffer);
+			}
+		}
+
+		private void writeHotSetFile(final ByteBuffer buffer)
+		{
+			final AFile file     = this.fileProvider.provideHotSetFile(this.channelIndex);
+			final AFile tempFile = temporaryFile(file);
+
+			// the complete hot set is written to a temporary file first, so an interrupted write never leaves a torn file.
+			AFS.executeWriting(tempFile, wf ->
+			{
+				wf.ensureExists();
+				wf.truncate(0);
+				wf.writeBytes(buffer);
+			});
+
+			/*
+			 * Moving does not replace an existing file, so the old hot set has to be deleted first.
+			 * Replacing it this way is not atomic, but the reading falls back to the complete temporary file
+			 * if the hot set file is missing or incomplete.
+			 */
+			AFS.executeWriting(file, wf ->
+			{
+				wf.delete();
+				AFS.executeWriting(tempFile, wt ->
+				{
+					wt.moveTo(wf);
+				});
+			});
+		}
+
+		/**
+		 * Bounded min-heap of the object ids and last touch times of the most recently touched entities,
+		 * the least recent of them at its root.
+		 */
+		static final class RecencyHeap
+		{
+			private static final int INITIAL_CAPACITY = 1024;
+
+			final int maximumSize;
+
+			long[] objectIds  ;
+			long[] lastTouched;
+			int    size       ;
+
+			RecencyHeap(final int maximumSize)
+			{
+				super();
+				this.maximumSize = maximumSize;
+				this.objectIds   = new long[Math.min(maximumSize, INITIAL_CAPACITY)];
+				this.lastTouched = new long[this.objectIds.length];
+			}
+
+			final void offer(final StorageEntity.Default entity)
+			{
+				final long touched = entity.lastTouched();
+				if(this.size < this.maximumSize)
+				{
+					if(this.size == this.objectIds.length)
+					{
+						final int capacity = (int)Math.min((long)this.size * 2, this.maximumSize);
+						this.objectIds   = Arrays.copyOf(this.objectIds  , capacity);
+						this.lastTouched = Arrays.copyOf(this.lastTouched, capacity);
+					}
+					this.siftUp(this.size++, entity.objectId(), touched);
+				}
+				else if(touched > this.lastTouched[0])
+				{
+					this.siftDown(0, this.size, entity.objectId(), touched);
+				}
+			}
+
+			private void siftUp(final int index, final long objectId, final long touched)
+			{
+				int i = index;
+				while(i > 0)
+				{
+					final int parent = i - 1 >>> 1;
+					if(this.lastTouched[parent] <= touched)
+					{
+						break;
+					}
+					this.set(i, this.objectIds[parent], this.lastTouched[parent]);
+					i = parent;
+				}
+				this.set(i, objectId, touched);
+			}
+
+			private void siftDown(final int index, final int bound, final long objectId, final long touched)
+			{
+				int i = index;
+				for(int child; (child = 2 * i + 1) < bound; i = child)
+				{
+					if(child + 1 < bound && this.lastTouched[child + 1] < this.lastTouched[child])
+					{
+						child++;
+					}
+					if(touched <= this.lastTouched[child])
+					{
+						break;
+					}
+					this.set(i, this.objectIds[child], this.lastTouched[child]);
+				}
+				this.set(i, objectId, touched);
+			}
+
+			private void set(final int index, final long objectId, final long touched)
+			{
+				this.objectIds[index]   = objectId;
+				this.lastTouched[index] = touched ;
+			}
+
+			/**
+			 * Sorts the heap's entries in place by moving the least recent one to the end repeatedly.
+			 * The heap is unusable afterwards.
+			 */
+			final void sortMostRecentFirst()
+			{
+				for(int end = this.size - 1; end > 0; end--)
+				{
+					final long objectId = this.objectIds[end]  ;
+					final long touched  = this.lastTouched[end];
+					this.set(end, this.objectIds[0], this.lastTouched[0]);
+					this.siftDown(0, end, objectId, touched);
+				}
+			}
+
+		}
+
+		static final class WarmUpEntry
+		{
+			static final Comparator<WarmUpEntry> STORAGE_ORDER = (w1, w2) ->
+			{
+				final int fileOrder = Long.compare(w1.entity.storageFile().number(), w2.entity.storageFile().number());
+
+				return fileOrder != 0
+					? fileOrder
+					: Long.compare(w1.entity.storagePosition(), w2.entity.storagePosition())
+				;
+			};
+
+			final StorageEntity.Default entity       ;
+			final long                  lastTouchedMs;
+
+			WarmUpEntry(final StorageEntity.Default entity, final long lastTouchedMs)
+			{
+				super();
+				this.entity        = entity       ;
+				this.lastTouchedMs = lastTouchedMs;
+			}
+
+		}
+
+	}
+
+}
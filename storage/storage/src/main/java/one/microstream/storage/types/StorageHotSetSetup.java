@@ -0,0 +1,190 @@
+package one.microstream.storage.types;
+
+/*-
+ * #%L
+ * microstream-storage
+ * %%
+ * Copyright (C) 2019 - 2022 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+import static one.microstream.math.XMath.notNegative;
+import static one.microstream.math.XMath.positive;
+
+/**
+ * Configuration of the hot set handling of a storage, see {@link StorageHotSet}.
+ * <p>
+ * If an instance of this type is set in the {@link StorageFoundation}, every channel periodically records
+ * the object ids of its most recently used cached entities to a small "hot set" file in its channel directory.
+ * On the next startup, the recorded entities are loaded back into the cache in the background as part of the
+ * channels' housekeeping, so that the first requests after a restart do not have to load them one by one.
+ *
+ */
+public interface StorageHotSetSetup
+{
+	/**
+	 * @return the interval in milliseconds in which the hot set is recorded. 0 means the hot set is never recorded.
+	 */
+	public long recordingInterval();
+
+	/**
+	 * @return the maximum number of entities that are recorded per channel.
+	 */
+	public int maximumEntityCount();
+
+	/**
+	 * @return whether the recorded hot set is loaded into the cache on startup.
+	 */
+	public boolean isWarmUpEnabled();
+
+	/**
+	 * @return the maximum number of bytes loaded per housekeeping cycle during the warm-up.
+	 */
+	public long warmUpLoadBudget();
+
+
+
+	public interface Defaults
+	{
+		public static long defaultRecordingInterval()
+		{
+			// default of 1 minute. Recording is cheap, but there is no point in doing it more often.
+			return 60_000L;
+		}
+
+		public static int defaultMaximumEntityCount()
+		{
+			// 100k entities result in a hot set file of 1.6 MB per channel.
+			return 100_000;
+		}
+
+		public static boolean defaultWarmUpEnabled()
+		{
+			return true;
+		}
+
+		public static long defaultWarmUpLoadBudget()
+		{
+			// default of 16 MB per housekeeping cycle
+			return 16L * 1024L * 1024L;
+		}
+	}
+
+
+	/**
+	 * Pseudo-constructor method to create a new {@link StorageHotSetSetup} instance
+	 * using the values provided by {@link Defaults}.
+	 *
+	 * @return a new {@link StorageHotSetSetup} instance.
+	 */
+	public static StorageHotSetSetup New()
+	{
+		return New(
+			Defaults.defaultRecordingInterval() ,
+			Defaults.defaultMaximumEntityCount(),
+			Defaults.defaultWarmUpEnabled()     ,
+			Defaults.defaultWarmUpLoadBudget()
+		);
+	}
+
+	/**
+	 * Pseudo-constructor method to create a new {@link StorageHotSetSetup} instance.
+	 *
+	 * @param recordingInterval see {@link #recordingInterval()}.
+	 * @param maximumEntityCount see {@link #maximumEntityCount()}.
+	 * @param warmUpEnabled see {@link #isWarmUpEnabled()}.
+	 * @param warmUpLoadBudget see {@link #warmUpLoadBudget()}.
+	 *
+	 * @return a new {@link StorageHotSetSetup} instance.
+	 */
+	public static StorageHotSetSetup New(
+		final long    recordingInterval ,
+		final int     maximumEntityCount,
+		final boolean warmUpEnabled     ,
+		final long    warmUpLoadBudget
+	)
+	{
+		return new StorageHotSetSetup.Default(
+			notNegative(recordingInterval) ,
+			positive   (maximumEntityCount),
+			warmUpEnabled                  ,
+			positive   (warmUpLoadBudget)
+		);
+	}
+
+	public final class Default implements StorageHotSetSetup
+	{
+		///////////////////////////////////////////////////////////////////////////
+		// instance fields //
+		////////////////////
+
+		private final long    recordingInterval ;
+		private final int     maximumEntityCount;
+		private final boolean warmUpEnabled     ;
+		private final long    warmUpLoadBudget  ;
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// constructors //
+		/////////////////
+
+		Default(
+			final long    recordingInterval ,
+			final int     maximumEntityCount,
+			final boolean warmUpEnabled     ,
+			final long    warmUpLoadBudget
+		)
+		{
+			super();
+			this.recordingInterval  = recordingInterval ;
+			this.maximumEntityCount = maximumEntityCount;
+			this.warmUpEnabled      = warmUpEnabled     ;
+			this.warmUpLoadBudget   = warmUpLoadBudget  ;
+		}
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// methods //
+		////////////
+
+		@Override
+		public final long recordingInterval()
+		{
+			return this.recordingInterval;
+		}
+
+		@Override
+		public final int maximumEntityCount()
+		{
+			return this.maximumEntityCount;
+		}
+
+		@Override
+		public final boolean isWarmUpEnabled()
+		{
+			return this.warmUpEnabled;
+		}
+
+		@Override
+		public final long warmUpLoadBudget()
+		{
+			return this.warmUpLoadBudget;
+		}
+
+	}
+
+}
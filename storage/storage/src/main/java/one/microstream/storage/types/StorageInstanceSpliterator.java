@@ -0,0 +1,303 @@
+package one.microstream.storage.types;
+
+/*-
+ * #%L
+ * microstream-storage
+ * %%
+ * Copyright (C) 2019 - 2022 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ * 
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ * 
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+import static one.microstream.X.notNull;
+import static one.microstream.math.XMath.positive;
+
+import java.util.Arrays;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+
+import one.microstream.collections.ArrayView;
+import one.microstream.collections.BulkList;
+import one.microstream.collections.types.XGettingCollection;
+import one.microstream.persistence.binary.types.Binary;
+import one.microstream.persistence.exceptions.PersistenceExceptionTransfer;
+import one.microstream.persistence.types.PersistenceIdSet;
+import one.microstream.persistence.types.PersistenceManager;
+import one.microstream.persistence.types.PersistenceSource;
+import one.microstream.persistence.types.PersistenceTypeDefinition;
+
+
+/**
+ * {@link Spliterator} handing out all persisted instances of a certain type (including its subtypes) batch by batch,
+ * see {@link StorageConnection#streamInstances(Class, int)}.
+ * <p>
+ * Initially, only the objectIds of all entities of the type are queried from the channels, each channel's objectIds
+ * in the order of the entities' storage positions. Each batch takes the next objectIds of every channel in turn,
+ * so every batch's data is collected by all channels in parallel.<br>
+ * Instances that are already registered in the {@link PersistenceManager}'s object registry are handed out as they
+ * are. All others are built by a {@link PersistenceManager#createDetachedLoader(PersistenceSource) detached loader},
+ * so they are never registered globally and become garbage as soon as they are no longer referenced.
+ * Entities that have been deleted since the objectIds were queried are skipped.
+ * <p>
+ * Apart from the objectIds (8 bytes per entity), heap usage is bounded by the batch size.
+ *
+ * @param <T> the type of the handed out instances.
+ */
+public final class StorageInstanceSpliterator<T> extends Spliterators.AbstractSpliterator<T>
+{
+	///////////////////////////////////////////////////////////////////////////
+	// static methods //
+	///////////////////
+	
+	static PersistenceIdSet collectTypeIds(final PersistenceManager<Binary> persistenceManager, final Class<?> type)
+	{
+		final PersistenceIdSet.Default typeIds = new PersistenceIdSet.Default();
+		
+		// legacy type definitions are included, as their entities are loaded as instances of their current type.
+		for(final PersistenceTypeDefinition typeDefinition : persistenceManager.typeDictionary().allTypeDefinitions().values())
+		{
+			if(typeDefinition.type() != null && type.isAssignableFrom(typeDefinition.type()))
+			{
+				typeIds.accept(typeDefinition.typeId());
+			}
+		}
+		
+		return typeIds;
+	}
+	
+	private static long sum(final long[][] objectIds)
+	{
+		long sum = 0;
+		for(final long[] channelObjectIds : objectIds)
+		{
+			sum += channelObjectIds.length;
+		}
+		
+		return sum;
+	}
+	
+	public static <T> StorageInstanceSpliterator<T> New(
+		final PersistenceManager<Binary> persistenceManager,
+		final StorageRequestAcceptor     requestAcceptor   ,
+		final Class<T>                   type              ,
+		final int                        batchSize
+	)
+		throws InterruptedException
+	{
+		notNull(type);
+		positive(batchSize);
+		
+		final long[][] objectIds = requestAcceptor.queryObjectIdsByTypeIds(
+			collectTypeIds(notNull(persistenceManager), type)
+		);
+		
+		return new StorageInstanceSpliterator<>(
+			persistenceManager     ,
+			notNull(requestAcceptor),
+			type                   ,
+			batchSize              ,
+			objectIds
+		);
+	}
+	
+	
+	
+	///////////////////////////////////////////////////////////////////////////
+	// instance fields //
+	////////////////////
+	
+	private final PersistenceManager<Binary> persistenceManager;
+	private final PersistenceSource<Binary>  source            ;
+	private final Class<T>                   type              ;
+	private final int                        batchSize         ;
+	private final long[][]                   objectIds         ;
+	private final int[]                      channelPositions  ;
+	private final BulkList<T>                batch             ;
+	private       int                        batchPosition     ;
+	
+	
+	
+	///////////////////////////////////////////////////////////////////////////
+	// constructors //
+	/////////////////
+	
+	StorageInstanceSpliterator(
+		final PersistenceManager<Binary> persistenceManager,
+		final StorageRequestAcceptor     requestAcceptor   ,
+		final Class<T>                   type              ,
+		final int                        batchSize         ,
+		final long[][]                   objectIds
+	)
+	{
+		super(sum(objectIds), Spliterator.NONNULL);
+		this.persistenceManager = persistenceManager                         ;
+		this.source             = new ExistingEntitiesSource(requestAcceptor);
+		this.type               = type                                       ;
+		this.batchSize          = batchSize                                  ;
+		this.objectIds          = objectIds                                  ;
+		this.channelPositions   = new int[objectIds.length]                  ;
+		this.batch              = BulkList.New(batchSize)                    ;
+	}
+	
+	
+	
+	///////////////////////////////////////////////////////////////////////////
+	// methods //
+	////////////
+	
+	@Override
+	public final boolean tryAdvance(final Consumer<? super T> action)
+	{
+		while(this.batchPosition >= this.batch.intSize())
+		{
+			if(!this.loadNextBatch())
+			{
+				return false;
+			}
+		}
+		
+		action.accept(this.batch.at(this.batchPosition++));
+		
+		return true;
+	}
+	
+	private long[] nextBatchObjectIds()
+	{
+		final long[][] objectIds = this.objectIds          ;
+		final int[]    positions = this.channelPositions   ;
+		final long[]   batch     = new long[this.batchSize];
+		
+		int size = 0;
+		for(boolean taken = true; taken && size < batch.length;)
+		{
+			taken = false;
+			for(int c = 0; c < objectIds.length && size < batch.length; c++)
+			{
+				if(positions[c] < objectIds[c].length)
+				{
+					batch[size++] = objectIds[c][positions[c]++];
+					taken = true;
+				}
+			}
+		}
+		
+		return size == batch.length
+			? batch
+			: Arrays.copyOf(batch, size)
+		;
+	}
+	
+	private boolean loadNextBatch()
+	{
+		this.batch.clear();
+		this.batchPosition = 0;
+		
+		final long[] batchObjectIds = this.nextBatchObjectIds();
+		if(batchObjectIds.length == 0)
+		{
+			return false;
+		}
+		
+		// instances known to the object registry are used as they are instead of being updated with stored data.
+		final long[] loadObjectIds = new long[batchObjectIds.length];
+		int loadCount = 0;
+		for(final long objectId : batchObjectIds)
+		{
+			final Object instance = this.persistenceManager.lookupObject(objectId);
+			if(instance != null)
+			{
+				this.add(instance);
+			}
+			else
+			{
+				loadObjectIds[loadCount++] = objectId;
+			}
+		}
+		
+		if(loadCount > 0)
+		{
+			this.persistenceManager.createDetachedLoader(this.source).collect(
+				this::add,
+				loadCount == loadObjectIds.length
+					? loadObjectIds
+					: Arrays.copyOf(loadObjectIds, loadCount)
+			);
+		}
+		
+		return true;
+	}
+	
+	private void add(final Object instance)
+	{
+		// null means the entity has been deleted in the meantime.
+		if(instance != null)
+		{
+			this.batch.add(this.type.cast(instance));
+		}
+	}
+	
+	
+	
+	static final class ExistingEntitiesSource implements PersistenceSource<Binary>
+	{
+		///////////////////////////////////////////////////////////////////////////
+		// instance fields //
+		////////////////////
+		
+		private final StorageRequestAcceptor requestAcceptor;
+		
+		
+		
+		///////////////////////////////////////////////////////////////////////////
+		// constructors //
+		/////////////////
+		
+		ExistingEntitiesSource(final StorageRequestAcceptor requestAcceptor)
+		{
+			super();
+			this.requestAcceptor = requestAcceptor;
+		}
+		
+		
+		
+		///////////////////////////////////////////////////////////////////////////
+		// methods //
+		////////////
+		
+		@Override
+		public XGettingCollection<? extends Binary> read() throws PersistenceExceptionTransfer
+		{
+			// a detached loader only loads by objectIds, there is nothing to be read in general.
+			return null;
+		}
+		
+		@Override
+		public XGettingCollection<? extends Binary> readByObjectIds(final PersistenceIdSet[] oids)
+			throws PersistenceExceptionTransfer
+		{
+			try
+			{
+				// references to entities deleted in the meantime simply resolve to null.
+				return new ArrayView<>(this.requestAcceptor.queryExistingByObjectIds(oids));
+			}
+			catch(final InterruptedException e)
+			{
+				throw new PersistenceExceptionTransfer(e);
+			}
+		}
+		
+	}
+	
+}
@@ -245,6 +245,12 @@ extends StorageDataFile, StorageLiveChannelFile<StorageLiveDataFile>, StorageCre
 			this.fileDataLength  += byteCount;
 		}
 
+		final void truncateTotalLength(final long newTotalLength)
+		{
+			// the data length must have been reduced by removing the truncated entities beforehand.
+			this.fileTotalLength = newTotalLength;
+		}
+
 		public boolean executeIfUnsuedData(final Consumer<? super StorageLiveDataFile.Default> action)
 		{
 			// cheat :D
@@ -41,6 +41,8 @@ public interface StorageLiveFileProvider extends StorageFileProvider
 
 	public AFile provideTransactionsFile(int channelIndex);
 	
+	public AFile provideHotSetFile(int channelIndex);
+	
 	public AFile provideLockFile();
 	
 	
@@ -20,6 +20,8 @@ package one.microstream.storage.types;
  * #L%
  */
 
+import java.util.concurrent.CompletableFuture;
+
 import one.microstream.persistence.types.PersistenceObjectRegistry;
 import one.microstream.persistence.types.PersistenceRootsView;
 import one.microstream.persistence.types.Storer;
@@ -130,6 +132,40 @@ public interface StorageManager extends StorageController, StorageConnection, Da
 	 */
 	public PersistenceRootsView viewRoots();
 	
+	/**
+	 * Asynchronous variant of {@link #store(Object)}: the passed instance's graph is collected on the calling thread
+	 * as usual, but the calling thread does not wait for the collected data to be persisted.
+	 * See {@link Storer#commitAsync()} for details.
+	 * 
+	 * @param instance the root instance of the subgraph of required instances to be stored.
+	 * 
+	 * @return a {@link CompletableFuture} providing the object id representing the passed instance once the
+	 *         data has been persisted.
+	 */
+	public default CompletableFuture<Long> storeAsync(final Object instance)
+	{
+		final Storer storer   = this.createStorer();
+		final long   objectId = storer.store(instance);
+		
+		return storer.commitAsync().thenApply(r -> objectId);
+	}
+	
+	/**
+	 * Asynchronous variant of {@link #storeAll(Object...)}, see {@link #storeAsync(Object)}.
+	 * 
+	 * @param instances multiple root instances of the subgraphs of required instances to be stored.
+	 * 
+	 * @return a {@link CompletableFuture} providing the object ids representing the passed instances once the
+	 *         data has been persisted.
+	 */
+	public default CompletableFuture<long[]> storeAllAsync(final Object... instances)
+	{
+		final Storer storer    = this.createStorer();
+		final long[] objectIds = storer.storeAll(instances);
+		
+		return storer.commitAsync().thenApply(r -> objectIds);
+	}
+	
 	/**
 	 * Returns the {@link Database} instance this {@link StorageManager} is associated with.
 	 * See its description for details.
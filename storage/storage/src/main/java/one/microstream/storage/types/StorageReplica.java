@@ -0,0 +1,339 @@
+package one.microstream.storage.types;
+
+/*-
+ * #%L
+ * microstream-storage
+ * %%
+ * Copyright (C) 2019 - 2022 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+import static one.microstream.math.XMath.notNegative;
+
+import org.slf4j.Logger;
+
+import one.microstream.util.logging.Logging;
+
+/**
+ * Type that turns a storage into a read-only replica of a storage directory that is concurrently written by another
+ * process (the "writer").
+ * <p>
+ * If an instance of this type is set in the {@link StorageFoundation}, the storage does not modify any file, does not
+ * obtain the lock file and does not run the garbage collection or the file cleanup. Instead, every channel
+ * continuously tails its transactions file as part of its housekeeping and applies the writer's new entries:
+ * <ul>
+ * <li>stores and transfers register the newly appended entity records of the head file,</li>
+ * <li>file creations register the new head file,</li>
+ * <li>file deletions unregister all remaining (garbage) entities of the deleted file,</li>
+ * <li>file truncations (rolled back stores) unregister the truncated entities and mark the replica as
+ * inconsistent, as the previous versions of the rolled back entities cannot be restored without a restart.</li>
+ * </ul>
+ * The replication lag is hence bounded by the configured housekeeping interval.
+ * <p>
+ * Since store timestamps are assigned by the writer and are strictly monotonous across all channels, the replica can
+ * report up to which store timestamp its state is complete, see {@link #caughtUpTimestamp()}.
+ * <p>
+ * Note that the replica only tracks the storage level. Instances that have already been loaded into the
+ * replica's object graph are not updated, newly loaded instances (e.g. after a {@code Lazy} reference has been
+ * cleared) reflect the replicated state. Type definitions that are added by the writer after the replica has been
+ * started cannot be resolved, encountering one suspends the replication and marks the replica as inconsistent.
+ *
+ */
+public interface StorageReplica
+{
+	/**
+	 * @return the highest store timestamp that has been encountered by any channel so far.
+	 */
+	public long latestTimestamp();
+
+	/**
+	 * Returns the store timestamp up to which (inclusively) all stores of the writer have been completely applied
+	 * by all channels.
+	 *
+	 * @return the caught up store timestamp.
+	 */
+	public long caughtUpTimestamp();
+
+	/**
+	 * Queries if all stores of the writer up to the passed timestamp (inclusively) have been applied.
+	 *
+	 * @param storeTimestamp the store timestamp to be checked.
+	 *
+	 * @return whether the replica has caught up to the passed store timestamp.
+	 */
+	public default boolean isCaughtUpTo(final long storeTimestamp)
+	{
+		return this.caughtUpTimestamp() >= storeTimestamp;
+	}
+
+	/**
+	 * Waits until the replica has caught up to the passed store timestamp or until the passed timeout has elapsed.
+	 *
+	 * @param storeTimestamp the store timestamp to be waited for.
+	 * @param timeoutMs the maximum time to wait in milliseconds.
+	 *
+	 * @return whether the replica has caught up to the passed store timestamp.
+	 *
+	 * @throws InterruptedException if the waiting thread has been interrupted.
+	 */
+	public boolean awaitCaughtUpTo(long storeTimestamp, long timeoutMs) throws InterruptedException;
+
+	/**
+	 * @return whether the replicated state is guaranteed to be an exact image of the writer's state at
+	 *         {@link #caughtUpTimestamp()}.
+	 */
+	public boolean isConsistent();
+
+	/**
+	 * @return the description of the first encountered inconsistency or {@literal null} if there is none.
+	 */
+	public String inconsistency();
+
+	/**
+	 * Initializes the replica's state for the passed channel count. Called once by the storage system on startup.
+	 *
+	 * @param channelCount the storage's channel count.
+	 */
+	public void initialize(int channelCount);
+
+	/**
+	 * Registers a completed tailing pass of a channel, i.e. all transactions entries that were present in the
+	 * channel's transactions file at the passed pass start time have been applied.
+	 *
+	 * @param channelIndex the index of the channel that completed the pass.
+	 * @param passStartNanos the {@link System#nanoTime()} value at the start of the pass.
+	 * @param latestStoreTimestamp the channel's latest applied store timestamp.
+	 */
+	public void registerPass(int channelIndex, long passStartNanos, long latestStoreTimestamp);
+
+	/**
+	 * Registers an inconsistency of the replicated state that can only be resolved by restarting the replica.
+	 *
+	 * @param channelIndex the index of the channel that encountered the inconsistency.
+	 * @param reason a description of the inconsistency.
+	 */
+	public void registerInconsistency(int channelIndex, String reason);
+
+
+
+	public interface Defaults
+	{
+		/**
+		 * The time a store that has only been encountered in some channels is given to show up in the others
+		 * before it is regarded as complete. The writer writes all channels' entries of a store right after another,
+		 * so this is merely a safety margin.
+		 *
+		 * @return the default settle time in milliseconds.
+		 */
+		public static long defaultSettleTimeMs()
+		{
+			return 1_000L;
+		}
+	}
+
+
+	/**
+	 * Pseudo-constructor method to create a new {@link StorageReplica} instance
+	 * using {@link Defaults#defaultSettleTimeMs()}.
+	 *
+	 * @return a new {@link StorageReplica} instance.
+	 */
+	public static StorageReplica New()
+	{
+		return New(Defaults.defaultSettleTimeMs());
+	}
+
+	/**
+	 * Pseudo-constructor method to create a new {@link StorageReplica} instance.
+	 *
+	 * @param settleTimeMs see {@link Defaults#defaultSettleTimeMs()}.
+	 *
+	 * @return a new {@link StorageReplica} instance.
+	 */
+	public static StorageReplica New(final long settleTimeMs)
+	{
+		return new StorageReplica.Default(
+			Storage.millisecondsToNanoseconds(notNegative(settleTimeMs))
+		);
+	}
+
+	public final class Default implements StorageReplica
+	{
+		private final static Logger logger = Logging.getLogger(StorageReplica.class);
+
+		///////////////////////////////////////////////////////////////////////////
+		// instance fields //
+		////////////////////
+
+		private final long settleTimeNs;
+
+		private long[] channelLatestTimestamps;
+		private long[] channelPassStarts      ;
+
+		private long   latestTimestamp  ;
+		private long   latestSeenNanos  ;
+		private long   caughtUpTimestamp;
+		private String inconsistency    ;
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// constructors //
+		/////////////////
+
+		Default(final long settleTimeNs)
+		{
+			super();
+			this.settleTimeNs = settleTimeNs;
+		}
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// methods //
+		////////////
+
+		@Override
+		public synchronized long latestTimestamp()
+		{
+			return this.latestTimestamp;
+		}
+
+		@Override
+		public synchronized long caughtUpTimestamp()
+		{
+			return this.caughtUpTimestamp;
+		}
+
+		@Override
+		public synchronized boolean awaitCaughtUpTo(final long storeTimestamp, final long timeoutMs)
+			throws InterruptedException
+		{
+			final long deadline = System.currentTimeMillis() + timeoutMs;
+
+			long remaining;
+			while(this.caughtUpTimestamp < storeTimestamp && (remaining = deadline - System.currentTimeMillis()) > 0)
+			{
+				this.wait(remaining);
+			}
+
+			return this.caughtUpTimestamp >= storeTimestamp;
+		}
+
+		@Override
+		public synchronized boolean isConsistent()
+		{
+			return this.inconsistency == null;
+		}
+
+		@Override
+		public synchronized String inconsistency()
+		{
+			return this.inconsistency;
+		}
+
+		@Override
+		public synchronized void initialize(final int channelCount)
+		{
+			this.channelLatestTimestamps = new long[channelCount];
+			this.channelPassStarts       = new long[channelCount];
+			this.latestTimestamp         = 0;
+			this.caughtUpTimestamp       = 0;
+			this.inconsistency           = null;
+
+			// no pass can count as having started after this point in time before it has actually been registered.
+			this.latestSeenNanos = System.nanoTime();
+			for(int i = 0; i < channelCount; i++)
+			{
+				this.channelPassStarts[i] = this.latestSeenNanos;
+			}
+		}
+
+		@Override
+		public synchronized void registerPass(
+			final int  channelIndex        ,
+			final long passStartNanos      ,
+			final long latestStoreTimestamp
+		)
+		{
+			this.channelPassStarts[channelIndex] = passStartNanos;
+
+			if(latestStoreTimestamp > this.channelLatestTimestamps[channelIndex])
+			{
+				this.channelLatestTimestamps[channelIndex] = latestStoreTimestamp;
+			}
+
+			if(latestStoreTimestamp > this.latestTimestamp)
+			{
+				this.latestTimestamp = latestStoreTimestamp;
+				this.latestSeenNanos = System.nanoTime();
+			}
+
+			this.updateCaughtUpTimestamp();
+		}
+
+		private void updateCaughtUpTimestamp()
+		{
+			if(this.caughtUpTimestamp >= this.latestTimestamp)
+			{
+				return;
+			}
+
+			/*
+			 * The writer only begins a store after the previous one has been completed in all channels.
+			 * So once the latest store has been encountered in any channel, all earlier stores are complete in all
+			 * transactions files and are applied by every channel pass that started afterwards.
+			 * The latest store itself is complete once every channel has either encountered it or has not
+			 * encountered it within the settle time (i.e. the store contained no data for that channel).
+			 */
+			boolean isLatestComplete = true;
+			for(int i = 0; i < this.channelPassStarts.length; i++)
+			{
+				final long passDelay = this.channelPassStarts[i] - this.latestSeenNanos;
+				if(passDelay <= 0)
+				{
+					return;
+				}
+				if(this.channelLatestTimestamps[i] < this.latestTimestamp && passDelay < this.settleTimeNs)
+				{
+					isLatestComplete = false;
+				}
+			}
+
+			final long caughtUpTimestamp = isLatestComplete
+				? this.latestTimestamp
+				: this.latestTimestamp - 1
+			;
+			if(caughtUpTimestamp > this.caughtUpTimestamp)
+			{
+				this.caughtUpTimestamp = caughtUpTimestamp;
+				this.notifyAll();
+			}
+		}
+
+		@Override
+		public synchronized void registerInconsistency(final int channelIndex, final String reason)
+		{
+			logger.warn("StorageChannel#{} replica inconsistency: {}", channelIndex, reason);
+
+			if(this.inconsistency == null)
+			{
+				this.inconsistency = "StorageChannel#" + channelIndex + ": " + reason;
+			}
+		}
+
+	}
+
+}
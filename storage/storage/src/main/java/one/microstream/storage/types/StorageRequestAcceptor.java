@@ -38,6 +38,19 @@ public interface StorageRequestAcceptor
 
 	public void storeData(Binary data) throws StorageExceptionRequest, InterruptedException;
 
+	/**
+	 * Enqueues the passed data to be stored like {@link #storeData(Binary)}, but returns right away without
+	 * waiting for the storing to be completed. Enqueued stores are processed in the order they were enqueued.
+	 * 
+	 * @param data the data to be stored.
+	 * 
+	 * @return the enqueued task to wait on for completion, see {@link StorageRequestTask#waitOnCompletion()}.
+	 * 
+	 * @throws StorageExceptionRequest if the data is invalid.
+	 * @throws InterruptedException if the enqueuing thread has been interrupted.
+	 */
+	public StorageRequestTask enqueueStoreData(Binary data) throws StorageExceptionRequest, InterruptedException;
+
 	// querying //
 
 	public Binary queryByObjectIds(PersistenceIdSet[] loadOids) throws StorageExceptionRequest, InterruptedException;
@@ -52,6 +65,33 @@ public interface StorageRequestAcceptor
 	 */
 	public Binary queryByTypeIds(PersistenceIdSet loadTids) throws StorageExceptionRequest, InterruptedException;
 
+	/**
+	 * Queries the data of all entities of the passed objectIds that currently exist. In contrast to
+	 * {@link #queryByObjectIds(PersistenceIdSet[])}, objectIds without an entity are not an error but
+	 * simply yield no data.
+	 * 
+	 * @param loadOids the objectIds to be queried per channel.
+	 * 
+	 * @return the data of all existing entities.
+	 * 
+	 * @throws StorageExceptionRequest if a channel failed to process the request.
+	 * @throws InterruptedException if the waiting thread has been interrupted.
+	 */
+	public Binary queryExistingByObjectIds(PersistenceIdSet[] loadOids)
+		throws StorageExceptionRequest, InterruptedException;
+
+	/**
+	 * Queries the objectIds of all entities of the passed type ids, without loading any entity data.
+	 * 
+	 * @param tids the type ids whose entities' objectIds shall be queried.
+	 * 
+	 * @return the objectIds per channel, each in the order of the entities' storage positions.
+	 * 
+	 * @throws StorageExceptionRequest if a channel failed to process the request.
+	 * @throws InterruptedException if the waiting thread has been interrupted.
+	 */
+	public long[][] queryObjectIdsByTypeIds(PersistenceIdSet tids) throws StorageExceptionRequest, InterruptedException;
+
 	/* (23.06.2015 TM)TODO: queryTypeStatistics
 	 * how many entities per length in each type.
 	 * useful/important for:
@@ -104,6 +144,8 @@ public interface StorageRequestAcceptor
 
 	public StorageRawFileStatistics createStatistics() throws InterruptedException;
 
+	public StorageEntityTypeStatistics createEntityTypeStatistics() throws InterruptedException;
+
 
 
 	public interface Creator
@@ -171,13 +213,20 @@ public interface StorageRequestAcceptor
 
 		@Override
 		public final void storeData(final Binary data) throws InterruptedException
+		{
+			// note: enabled accepting tasks has to be checked prior to calling this method (external concern)
+			waitOnTask(this.enqueueStoreData(data));
+		}
+
+		@Override
+		public final StorageRequestTask enqueueStoreData(final Binary data) throws InterruptedException
 		{
 			// note: enabled accepting tasks has to be checked prior to calling this method (external concern)
 
 			// pre-validate on the caller site before creating and enqueuing a task (it may be a no-op)
 			this.prevalidatorDataChunk.validateDataChunk(data);
 
-			waitOnTask(this.taskBroker.enqueueStoreTask(data));
+			return this.taskBroker.enqueueStoreTask(data);
 		}
 
 		@Override
@@ -197,6 +246,20 @@ public interface StorageRequestAcceptor
 			return waitOnTask(this.taskBroker.enqueueLoadTaskByTids(loadTids)).result();
 		}
 
+		@Override
+		public Binary queryExistingByObjectIds(final PersistenceIdSet[] loadOids)
+			throws StorageExceptionRequest, InterruptedException
+		{
+			return waitOnTask(this.taskBroker.enqueueLoadTaskExistingByOids(loadOids)).result();
+		}
+
+		@Override
+		public long[][] queryObjectIdsByTypeIds(final PersistenceIdSet tids)
+			throws StorageExceptionRequest, InterruptedException
+		{
+			return waitOnTask(this.taskBroker.enqueueCollectObjectIdsByTidsTask(tids)).result();
+		}
+
 		@Override
 		public Binary recallRoots() throws StorageExceptionRequest, InterruptedException
 		{
@@ -252,6 +315,12 @@ public interface StorageRequestAcceptor
 			return waitOnTask(this.taskBroker.enqueueCreateRawFileStatisticsTask()).result();
 		}
 
+		@Override
+		public StorageEntityTypeStatistics createEntityTypeStatistics() throws InterruptedException
+		{
+			return waitOnTask(this.taskBroker.enqueueCreateEntityTypeStatisticsTask()).result();
+		}
+
 		@Override
 		public void importFiles(final XGettingEnum<AFile> importFiles) throws InterruptedException
 		{
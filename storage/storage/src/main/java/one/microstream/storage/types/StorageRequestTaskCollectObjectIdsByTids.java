@@ -0,0 +1,97 @@
+package one.microstream.storage.types;
+
+/*-
+ * #%L
+ * microstream-storage
+ * %%
+ * Copyright (C) 2019 - 2022 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ * 
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ * 
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+import one.microstream.persistence.types.PersistenceIdSet;
+import one.microstream.storage.exceptions.StorageExceptionRequest;
+
+public interface StorageRequestTaskCollectObjectIdsByTids extends StorageRequestTask
+{
+	/**
+	 * @return the objectIds of all entities of the requested types per channel, each in storage order.
+	 * 
+	 * @throws StorageExceptionRequest if a channel failed to collect its objectIds.
+	 */
+	public long[][] result() throws StorageExceptionRequest;
+
+
+
+	public final class Default extends StorageChannelTask.Abstract<long[]>
+	implements StorageRequestTaskCollectObjectIdsByTids
+	{
+		///////////////////////////////////////////////////////////////////////////
+		// instance fields //
+		////////////////////
+
+		private final PersistenceIdSet tidList;
+		private final long[][]         result ;
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// constructors //
+		/////////////////
+
+		Default(
+			final long                       timestamp   ,
+			final PersistenceIdSet           tidList     ,
+			final int                        channelCount,
+			final StorageOperationController controller
+		)
+		{
+			super(timestamp, channelCount, controller);
+			this.tidList = tidList;
+			this.result  = new long[channelCount][];
+		}
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// methods //
+		////////////
+
+		@Override
+		protected final long[] internalProcessBy(final StorageChannel channel)
+		{
+			return channel.collectObjectIdsByTids(this.tidList);
+		}
+
+		@Override
+		protected void complete(final StorageChannel channel, final long[] result) throws InterruptedException
+		{
+			this.result[channel.channelIndex()] = result;
+			this.incrementCompletionProgress();
+		}
+
+		@Override
+		public final long[][] result() throws StorageExceptionRequest
+		{
+			if(this.hasProblems())
+			{
+				throw new StorageExceptionRequest(this.problems());
+			}
+			
+			return this.result;
+		}
+
+	}
+
+}
@@ -0,0 +1,100 @@
+package one.microstream.storage.types;
+
+/*-
+ * #%L
+ * microstream-storage
+ * %%
+ * Copyright (C) 2019 - 2022 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ * 
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ * 
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+import java.util.Date;
+
+import one.microstream.collections.XUtilsCollection;
+import one.microstream.time.XTime;
+
+public interface StorageRequestTaskCreateEntityTypeStatistics extends StorageRequestTask
+{
+	public StorageEntityTypeStatistics result();
+
+
+
+	public final class Default
+	extends StorageChannelSynchronizingTask.AbstractCompletingTask<StorageEntityTypeStatistics.ChannelStatistics>
+	implements StorageRequestTaskCreateEntityTypeStatistics
+	{
+		///////////////////////////////////////////////////////////////////////////
+		// instance fields //
+		////////////////////
+
+		private final Date                                            creationTime  ;
+		private final StorageEntityTypeStatistics.ChannelStatistics[] channelResults;
+
+		private StorageEntityTypeStatistics result;
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// constructors //
+		/////////////////
+
+		Default(
+			final long                       timestamp   ,
+			final int                        channelCount,
+			final StorageOperationController controller
+		)
+		{
+			super(timestamp, channelCount, controller);
+			this.channelResults = new StorageEntityTypeStatistics.ChannelStatistics[channelCount];
+			this.creationTime = XTime.now();
+		}
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// methods //
+		////////////
+
+		@Override
+		protected final StorageEntityTypeStatistics.ChannelStatistics internalProcessBy(final StorageChannel channel)
+		{
+			return channel.createEntityTypeStatistics();
+		}
+
+		@Override
+		protected synchronized void succeed(
+			final StorageChannel                                channel,
+			final StorageEntityTypeStatistics.ChannelStatistics result
+		)
+		{
+			this.channelResults[channel.channelIndex()] = result;
+		}
+
+		@Override
+		public synchronized StorageEntityTypeStatistics result()
+		{
+			if(this.result == null)
+			{
+				this.result = StorageEntityTypeStatistics.New(
+					this.creationTime                            ,
+					XUtilsCollection.toTable(this.channelResults)
+				);
+			}
+			return this.result;
+		}
+
+	}
+	
+}
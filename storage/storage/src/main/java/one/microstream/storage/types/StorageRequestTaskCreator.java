@@ -58,6 +58,17 @@ public interface StorageRequestTaskCreator
 		StorageOperationController controller
 	);
 
+	public StorageRequestTaskLoadExistingByOids createLoadTaskExistingByOids(
+		PersistenceIdSet[]         loadOids  ,
+		StorageOperationController controller
+	);
+
+	public StorageRequestTaskCollectObjectIdsByTids createCollectObjectIdsByTidsTask(
+		PersistenceIdSet           tids        ,
+		int                        channelCount,
+		StorageOperationController controller
+	);
+
 	public default StorageRequestTaskExportEntitiesByType createExportTypesTask(
 		final int                                 channelCount      ,
 		final StorageEntityTypeExportFileProvider exportFileProvider,
@@ -85,6 +96,11 @@ public interface StorageRequestTaskCreator
 		StorageOperationController controller
 	);
 
+	public StorageRequestTaskCreateEntityTypeStatistics createCreateEntityTypeStatisticsTask(
+		int                        channelCount,
+		StorageOperationController controller
+	);
+
 	public StorageRequestTaskFileCheck createFullFileCheckTask(
 		int                        channelCount  ,
 		long                       nanoTimeBudget,
@@ -227,6 +243,34 @@ public interface StorageRequestTaskCreator
 			);
 		}
 
+		@Override
+		public StorageRequestTaskLoadExistingByOids createLoadTaskExistingByOids(
+			final PersistenceIdSet[]         loadOids           ,
+			final StorageOperationController operationController
+		)
+		{
+			return new StorageRequestTaskLoadExistingByOids.Default(
+				this.timestampProvider.currentNanoTimestamp(),
+				loadOids                                     ,
+				operationController
+			);
+		}
+
+		@Override
+		public StorageRequestTaskCollectObjectIdsByTids createCollectObjectIdsByTidsTask(
+			final PersistenceIdSet           tids               ,
+			final int                        channelCount       ,
+			final StorageOperationController operationController
+		)
+		{
+			return new StorageRequestTaskCollectObjectIdsByTids.Default(
+				this.timestampProvider.currentNanoTimestamp(),
+				tids                                         ,
+				channelCount                                 ,
+				operationController
+			);
+		}
+
 		@Override
 		public StorageRequestTaskExportEntitiesByType createExportTypesTask(
 			final int                                         channelCount       ,
@@ -272,6 +316,19 @@ public interface StorageRequestTaskCreator
 			);
 		}
 
+		@Override
+		public StorageRequestTaskCreateEntityTypeStatistics createCreateEntityTypeStatisticsTask(
+			final int                        channelCount       ,
+			final StorageOperationController operationController
+		)
+		{
+			return new StorageRequestTaskCreateEntityTypeStatistics.Default(
+				this.timestampProvider.currentNanoTimestamp(),
+				channelCount                                 ,
+				operationController
+			);
+		}
+
 		@Override
 		public StorageRequestTaskFileCheck createFullFileCheckTask(
 			final int                        channelCount       ,
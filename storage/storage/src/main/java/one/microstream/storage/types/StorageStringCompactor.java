@@ -0,0 +1,298 @@
+package one.microstream.storage.types;
+
+/*-
+ * #%L
+ * microstream-storage
+ * %%
+ * Copyright (C) 2019 - 2022 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+import static one.microstream.X.notNull;
+import static one.microstream.math.XMath.positive;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import one.microstream.afs.types.ADirectory;
+import one.microstream.afs.types.AFS;
+import one.microstream.afs.types.AFile;
+import one.microstream.afs.types.AWritableFile;
+import one.microstream.collections._longList;
+import one.microstream.memory.XMemory;
+import one.microstream.persistence.binary.java.lang.BinaryHandlerString;
+import one.microstream.persistence.binary.types.Binary;
+import one.microstream.persistence.types.Persistence;
+import one.microstream.persistence.types.PersistenceManager;
+import one.microstream.persistence.types.PersistenceStorer;
+
+
+/**
+ * Rewrites all {@link String} entities that are stored with two bytes per char but consist of Latin-1 characters
+ * only, so that they are stored in the compact format of one byte per char, see {@link BinaryHandlerString#NewCompact()}.
+ * <p>
+ * The rewrite is opt-in and only has an effect if the compact string handler is registered for the
+ * connection's persistence manager, otherwise the strings are written in the same format again.
+ * Since strings are immutable, every string entity can be rewritten with its object id at any time, so the compactor
+ * can run in the background (e.g. via {@link Thread}) while the storage is used.
+ * <p>
+ * The candidates are determined from an export of all string entities to the passed export directory,
+ * the export files are deleted afterwards.
+ */
+public interface StorageStringCompactor extends Runnable
+{
+	/**
+	 * Rewrites all string entities that can be stored in the compact format.
+	 *
+	 * @return the number of rewritten string entities.
+	 */
+	public long compact();
+
+	@Override
+	public default void run()
+	{
+		this.compact();
+	}
+
+
+
+	public interface Defaults
+	{
+		public static int defaultBatchSize()
+		{
+			// strings are small, so a commit per 10000 strings is a reasonable trade-off between overhead and memory
+			return 10_000;
+		}
+	}
+
+
+
+	public static StorageStringCompactor New(
+		final StorageConnection connection     ,
+		final ADirectory        exportDirectory
+	)
+	{
+		return New(connection, exportDirectory, Defaults.defaultBatchSize());
+	}
+
+	public static StorageStringCompactor New(
+		final StorageConnection connection     ,
+		final ADirectory        exportDirectory,
+		final int               batchSize
+	)
+	{
+		return new StorageStringCompactor.Default(
+			notNull(connection)     ,
+			notNull(exportDirectory),
+			positive(batchSize)
+		);
+	}
+
+	public final class Default implements StorageStringCompactor
+	{
+		///////////////////////////////////////////////////////////////////////////
+		// instance fields //
+		////////////////////
+
+		private final StorageConnection connection     ;
+		private final ADirectory        exportDirectory;
+		private final int               batchSize      ;
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// constructors //
+		/////////////////
+
+		Default(
+			final StorageConnection connection     ,
+			final ADirectory        exportDirectory,
+			final int               batchSize
+		)
+		{
+			super();
+			this.connection      = connection     ;
+			this.exportDirectory = exportDirectory;
+			this.batchSize       = batchSize      ;
+		}
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// methods //
+		////////////
+
+		@Override
+		public final long compact()
+		{
+			final long stringTypeId = Persistence.getNativeTypeId(String.class);
+
+			final StorageEntityTypeExportStatistics statistics = this.connection.exportTypes(
+				StorageEntityTypeExportFileProvider.New(this.exportDirectory),
+				type -> type.typeId() == stringTypeId
+			);
+
+			final CandidateCollector collector = new CandidateCollector();
+			try
+			{
+				for(final AFile file : statistics.files())
+				{
+					AFS.execute(file, rFile ->
+						StorageDataFileItemIterator.New(collector, collector).iterateStoredItems(rFile)
+					);
+				}
+			}
+			finally
+			{
+				collector.deallocate();
+				deleteExportFiles(statistics);
+			}
+
+			return this.rewrite(collector.objectIds.toArray());
+		}
+
+		private static void deleteExportFiles(final StorageEntityTypeExportStatistics statistics)
+		{
+			for(final AFile file : statistics.files())
+			{
+				AFS.executeWriting(file, AWritableFile::delete);
+			}
+		}
+
+		private long rewrite(final long[] objectIds)
+		{
+			final PersistenceManager<Binary> persistenceManager = this.connection.persistenceManager();
+
+			long count = 0;
+			for(int i = 0; i < objectIds.length; i += this.batchSize)
+			{
+				// strings deleted by the storage's garbage collection since the export are simply skipped.
+				final Object[] strings = this.connection.getExistingObjects(
+					Arrays.copyOfRange(objectIds, i, Math.min(i + this.batchSize, objectIds.length))
+				);
+
+				// the eager storer writes every string again with its object id.
+				final PersistenceStorer storer = persistenceManager.createEagerStorer();
+				for(final Object string : strings)
+				{
+					if(string != null)
+					{
+						storer.store(string);
+						count++;
+					}
+				}
+				storer.commit();
+			}
+
+			return count;
+		}
+
+	}
+
+
+
+	final class CandidateCollector
+	implements StorageDataFileItemIterator.ItemProcessor, StorageDataFileItemIterator.BufferProvider
+	{
+		///////////////////////////////////////////////////////////////////////////
+		// instance fields //
+		////////////////////
+
+		final _longList  objectIds;
+		      ByteBuffer buffer   ;
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// constructors //
+		/////////////////
+
+		CandidateCollector()
+		{
+			super();
+			this.objectIds = _longList.New();
+			this.buffer    = XMemory.allocateDirectNativeDefault();
+		}
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// methods //
+		////////////
+
+		final void deallocate()
+		{
+			XMemory.deallocateDirectByteBuffer(this.buffer);
+			this.buffer = null;
+		}
+
+		@Override
+		public final ByteBuffer provideInitialBuffer()
+		{
+			return this.buffer;
+		}
+
+		@Override
+		public final ByteBuffer provideBuffer(final ByteBuffer byteBuffer, final long nextEntityLength)
+		{
+			if(nextEntityLength > this.buffer.capacity())
+			{
+				XMemory.deallocateDirectByteBuffer(this.buffer);
+				this.buffer = XMemory.allocateDirectNative(nextEntityLength);
+			}
+			this.buffer.clear();
+
+			return this.buffer;
+		}
+
+		@Override
+		public final boolean accept(final long address, final long availableItemLength)
+		{
+			final long length = Binary.getEntityLengthRawValue(address);
+			if(length < 0)
+			{
+				// gap, exported files don't contain gaps, but skipping them doesn't hurt.
+				return true;
+			}
+			if(availableItemLength < length)
+			{
+				// the whole entity is required to check its chars
+				return false;
+			}
+
+			final long listAddress  = address + Binary.entityHeaderLength();
+			final long elementCount = XMemory.get_long(Binary.toBinaryListElementCountOffset(listAddress));
+			final long charsAddress = Binary.toBinaryListElementsOffset(listAddress);
+			if(elementCount == 0 || Binary.isCompactCharsList(address + length - charsAddress, elementCount))
+			{
+				return true;
+			}
+
+			final long charsBound = charsAddress + elementCount * Character.BYTES;
+			for(long a = charsAddress; a < charsBound; a += Character.BYTES)
+			{
+				if(XMemory.get_char(a) > 0xFF)
+				{
+					return true;
+				}
+			}
+			this.objectIds.add(Binary.getEntityObjectIdRawValue(address));
+
+			return true;
+		}
+
+	}
+
+}
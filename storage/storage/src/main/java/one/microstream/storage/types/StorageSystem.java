@@ -119,6 +119,8 @@ public interface StorageSystem extends StorageController
 		private final Referencing<PersistenceLiveStorerRegistry> refStorerRegistry             ;
 		private final boolean                                    switchByteOrder               ;
 		private final StorageStructureValidator                  storageStructureValidator     ;
+		private final StorageReplica                             replica                       ;
+		private final StorageHotSetSetup                         hotSetSetup                   ;
 		
 		// state flags //
 		private final AtomicBoolean    isStartingUp       = new AtomicBoolean();
@@ -173,7 +175,9 @@ public interface StorageSystem extends StorageController
 			final StorageEventLogger                         eventLogger                   ,
 			final ObjectIdsSelector                          liveObjectIdChecker           ,
 			final Referencing<PersistenceLiveStorerRegistry> refStorerRegistry             ,
-			final StorageStructureValidator                  storageStructureValidator
+			final StorageStructureValidator                  storageStructureValidator     ,
+			final StorageReplica                             replica                       ,
+			final StorageHotSetSetup                         hotSetSetup
 		)
 		{
 			super();
@@ -219,6 +223,8 @@ public interface StorageSystem extends StorageController
 			this.refStorerRegistry              = notNull(refStorerRegistry)                   ;
 			this.switchByteOrder                =         switchByteOrder                      ;
 			this.storageStructureValidator      = notNull(storageStructureValidator)           ;
+			this.replica                        = mayNull(replica)                             ;
+			this.hotSetSetup                    = mayNull(hotSetSetup)                         ;
 		}
 
 
@@ -385,6 +391,12 @@ public interface StorageSystem extends StorageController
 				return;
 			}
 			
+			if(this.replica != null)
+			{
+				// the lock file is owned by the writing process, a replica only reads.
+				return;
+			}
+			
 			final StorageLockFileManager lockFileManager = this.lockFileManagerCreator.createLockFileManager(
 				this.lockFileSetup,
 				this.operationController
@@ -466,6 +478,8 @@ public interface StorageSystem extends StorageController
 				this.oidMarkQueueCreator                   ,
 				this.entityMarkMonitorCreator              ,
 				this.provideBackupHandler()                ,
+				this.replica                               ,
+				this.hotSetSetup                           ,
 				this.eventLogger                           ,
 				this.liveObjectIdChecker                   ,
 				this.refStorerRegistry                     ,
@@ -511,6 +525,11 @@ public interface StorageSystem extends StorageController
 			final StorageChannelTaskInitialize task = this.taskbroker.issueChannelInitialization(
 				this.operationController
 			);
+			
+			if(this.replica != null)
+			{
+				this.replica.initialize(this.channelCount());
+			}
 			this.createChannels();
 
 			final StorageIdAnalysis idAnalysis = this.startThreads(task);
@@ -45,6 +45,12 @@ public interface StorageTaskBroker
 
 	public StorageRequestTaskLoadByOids enqueueLoadTaskByOids(PersistenceIdSet[] loadOids)
 		throws InterruptedException;
+
+	public StorageRequestTaskLoadExistingByOids enqueueLoadTaskExistingByOids(PersistenceIdSet[] loadOids)
+		throws InterruptedException;
+
+	public StorageRequestTaskCollectObjectIdsByTids enqueueCollectObjectIdsByTidsTask(PersistenceIdSet tids)
+		throws InterruptedException;
 	
 	public StorageRequestTaskStoreEntities enqueueStoreTask(Binary data)
 		throws InterruptedException;
@@ -80,6 +86,9 @@ public interface StorageTaskBroker
 	public StorageRequestTaskCreateStatistics enqueueCreateRawFileStatisticsTask()
 		throws InterruptedException;
 
+	public StorageRequestTaskCreateEntityTypeStatistics enqueueCreateEntityTypeStatisticsTask()
+		throws InterruptedException;
+
 	public StorageChannelTaskInitialize issueChannelInitialization(
 		StorageOperationController operationController
 	)
@@ -360,6 +369,17 @@ public interface StorageTaskBroker
 			return task;
 		}
 
+		@Override
+		public StorageRequestTaskCreateEntityTypeStatistics enqueueCreateEntityTypeStatisticsTask()
+			throws InterruptedException
+		{
+			final StorageRequestTaskCreateEntityTypeStatistics task =
+				this.taskCreator.createCreateEntityTypeStatisticsTask(this.channelCount, this.operationController)
+			;
+			this.enqueueTaskAndNotifyAll(task);
+			return task;
+		}
+
 
 		@Override
 		public final synchronized StorageRequestTaskExportEntitiesByType enqueueExportTypesTask(
@@ -446,6 +466,39 @@ public interface StorageTaskBroker
 			return task;
 		}
 
+		@Override
+		public final synchronized StorageRequestTaskLoadExistingByOids enqueueLoadTaskExistingByOids(
+			final PersistenceIdSet[] loadOids
+		)
+			throws InterruptedException
+		{
+			this.validateChannelCount(loadOids.length);
+			
+			// task creation must be called AFTER acquiring the lock to ensure temporal consistency in the task chain
+			final StorageRequestTaskLoadExistingByOids task = this.taskCreator.createLoadTaskExistingByOids(
+				loadOids                ,
+				this.operationController
+			);
+			this.enqueueTaskAndNotifyAll(task);
+			return task;
+		}
+
+		@Override
+		public final synchronized StorageRequestTaskCollectObjectIdsByTids enqueueCollectObjectIdsByTidsTask(
+			final PersistenceIdSet tids
+		)
+			throws InterruptedException
+		{
+			// task creation must be called AFTER acquiring the lock to ensure temporal consistency in the task chain
+			final StorageRequestTaskCollectObjectIdsByTids task = this.taskCreator.createCollectObjectIdsByTidsTask(
+				tids                    ,
+				this.channelCount       ,
+				this.operationController
+			);
+			this.enqueueTaskAndNotifyAll(task);
+			return task;
+		}
+
 		@Override
 		public final synchronized StorageChannelTaskInitialize issueChannelInitialization(
 			final StorageOperationController operationController
@@ -341,6 +341,11 @@ public interface StorageTransactionsAnalysis
 
 				// buffer is guaranteed to be filled exactely to its limit in any case
 				final long progress = processBufferedEntities(address, buffer.limit(), entryProcessor);
+				if(progress == 0)
+				{
+					// incomplete trailing entry (e.g. still being written by another process). Nothing more to process.
+					break;
+				}
 				currentFilePosition += progress;
 			}
 
@@ -677,6 +682,8 @@ public interface StorageTransactionsAnalysis
 		private long currentStoreTimestamp       ;
 
 		private long currentFileNumber            = -1;
+		
+		private long processedLength;
 
 
 
@@ -685,9 +692,28 @@ public interface StorageTransactionsAnalysis
 			super();
 			this.hashIndex = hashIndex;
 		}
+		
+		/**
+		 * @return the length of the leading part of the file that consists of complete entries (or gaps).
+		 */
+		public final long processedLength()
+		{
+			return this.processedLength;
+		}
 
 		@Override
 		public boolean accept(final long address, final long availableItemLength)
+		{
+			if(!this.handleEntry(address, availableItemLength))
+			{
+				return false;
+			}
+			this.processedLength += Math.abs(Logic.getEntryLength(address));
+			
+			return true;
+		}
+		
+		private boolean handleEntry(final long address, final long availableItemLength)
 		{
 			// check for and skip gaps / comments
 			if(availableItemLength < 0)